@@ -31,8 +31,14 @@ import com.zaxxer.hikari.HikariDataSource;
 
 import container.remote.EmbeddedApplication;
 import equinox.controller.MainScreen;
+import equinox.data.CompiledSpectrumCache;
+import equinox.data.EquivalentStressCache;
+import equinox.data.FlightCache;
+import equinox.data.GeometryCache;
 import equinox.data.ProgramArguments;
 import equinox.data.ProgramArguments.ArgumentType;
+import equinox.data.TaskScheduler;
+import equinox.data.TaskScheduler.Lane;
 import equinox.data.User;
 import equinox.data.WorkspacePaths;
 import equinox.data.ui.NotificationPanel;
@@ -70,7 +76,10 @@ public class Equinox extends EmbeddedApplication {
 	/** Database connection pool. */
 	public static HikariDataSource DBC_POOL;
 
-	/** Thread pools. */
+	/** Task scheduler. */
+	public static TaskScheduler SCHEDULER;
+
+	/** Thread pools. Fixed, single and sub task thread pools are the analysis, sequential and sub task lanes of the task scheduler. */
 	public static ExecutorService FIXED_THREADPOOL, SINGLE_THREADPOOL, SUBTASK_THREADPOOL, SCHEDULED_THREADPOOL, CACHED_THREADPOOL;
 
 	/** Workspace paths. */
@@ -82,6 +91,18 @@ public class Equinox extends EmbeddedApplication {
 	/** Program arguments. */
 	public static ProgramArguments ARGUMENTS;
 
+	/** Compiled spectrum cache (limited to quarter of maximum heap size). */
+	public static final CompiledSpectrumCache SPECTRUM_CACHE = new CompiledSpectrumCache(Runtime.getRuntime().maxMemory() / 4);
+
+	/** Typical flight cache (limited to sixteenth of maximum heap size). */
+	public static final FlightCache FLIGHT_CACHE = new FlightCache(Runtime.getRuntime().maxMemory() / 16);
+
+	/** A/C model geometry cache (limited to eighth of maximum heap size). */
+	public static final GeometryCache GEOMETRY_CACHE = new GeometryCache(Runtime.getRuntime().maxMemory() / 8);
+
+	/** A/C model equivalent stress cache (limited to sixteenth of maximum heap size). */
+	public static final EquivalentStressCache EQUIVALENT_STRESS_CACHE = new EquivalentStressCache(Runtime.getRuntime().maxMemory() / 16);
+
 	/** The primary stage of the application. */
 	private Stage stage_;
 
@@ -167,9 +188,10 @@ public class Equinox extends EmbeddedApplication {
 	public void start(Stage stage) throws Exception {
 
 		// create thread pools
-		FIXED_THREADPOOL = Executors.newFixedThreadPool(Integer.parseInt(ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_TASKS)));
-		SINGLE_THREADPOOL = Executors.newSingleThreadExecutor();
-		SUBTASK_THREADPOOL = Executors.newFixedThreadPool(Integer.parseInt(ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_SUBTASKS)));
+		SCHEDULER = new TaskScheduler(Integer.parseInt(ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_TASKS)), Integer.parseInt(ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_SUBTASKS)));
+		FIXED_THREADPOOL = SCHEDULER.getExecutor(Lane.ANALYSIS);
+		SINGLE_THREADPOOL = SCHEDULER.getExecutor(Lane.SEQUENTIAL);
+		SUBTASK_THREADPOOL = SCHEDULER.getExecutor(Lane.SUBTASK);
 		SCHEDULED_THREADPOOL = Executors.newSingleThreadScheduledExecutor();
 		CACHED_THREADPOOL = Executors.newCachedThreadPool();
 		LOGGER.info("Thread pools created.");
@@ -235,9 +257,8 @@ public class Equinox extends EmbeddedApplication {
 		mainScreen_.stop();
 
 		// shutdown thread pools
-		Utility.shutdownThreadExecutor(FIXED_THREADPOOL);
-		Utility.shutdownThreadExecutor(SINGLE_THREADPOOL);
-		Utility.shutdownThreadExecutor(SUBTASK_THREADPOOL);
+		LOGGER.info(SCHEDULER.getMetrics());
+		SCHEDULER.shutdown();
 		Utility.shutdownThreadExecutor(SCHEDULED_THREADPOOL);
 		Utility.shutdownThreadExecutor(CACHED_THREADPOOL);
 		LOGGER.info("Thread pools shutdown.");
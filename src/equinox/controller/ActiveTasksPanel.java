@@ -22,6 +22,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.ThreadPoolExecutor;
 
@@ -30,13 +31,17 @@ import org.controlsfx.control.PopOver.ArrowLocation;
 
 import equinox.Equinox;
 import equinox.data.EquinoxTheme;
+import equinox.data.TaskScheduler.Lane;
 import equinox.data.ui.HistoryItem;
+import equinox.task.DeleteTemporaryFiles;
 import equinox.task.InternalEquinoxTask;
 import equinox.task.InternalEquinoxTask.DirectoryOutputtingTask;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.InternalEquinoxTask.ShortRunningTask;
 import equinox.task.PluginTask;
 import equinox.task.SaveTask;
+import equinox.task.automation.ExecutionPlanner;
+import equinox.task.automation.PostProcessingTask;
 import equinox.utility.exception.IgnoredFailureException;
 import equinox.utility.exception.PermissionDeniedException;
 import javafx.application.Platform;
@@ -189,9 +194,81 @@ public class ActiveTasksPanel implements Initializable {
 	 * @return Returns a Future representing that task. The Future's get method will return null upon successful completion.
 	 */
 	public Future<?> runTaskSilently(InternalEquinoxTask<?> task, boolean isSequential) {
+
+		// planned task (executed by the execution planner when core budget allows)
+		ExecutionPlanner planner = task.getExecutionPlanner();
+		if (planner != null && planner.schedule(task, null))
+			return task;
+
+		// submit task
 		return submitTask(task, isSequential, false);
 	}
 
+	/**
+	 * Runs given task as a headless sub task of the given parent task. No task panel is created for the sub task and it is not added to active or queued task lists. The sub task's progress,
+	 * warnings and failures are tracked by the parent task, and the sub task is cancelled when the parent task is cancelled. This method is useful to execute large numbers of internal tasks from
+	 * within other tasks (i.e. not from FX application thread).
+	 *
+	 * @param task
+	 *            Task to be executed.
+	 * @param parent
+	 *            Parent task.
+	 * @param isSequential
+	 *            True if task should be executed within the sequential task queue.
+	 * @return Returns the sub task itself as a Future. Cancelling the Future cancels the sub task.
+	 */
+	public Future<?> runSubtask(InternalEquinoxTask<?> task, InternalEquinoxTask<?> parent, boolean isSequential) {
+
+		// planned task (executed by the execution planner when core budget allows)
+		ExecutionPlanner planner = task.getExecutionPlanner();
+		if (planner != null && planner.schedule(task, parent))
+			return task;
+
+		// set parent task
+		task.setParentTask(parent);
+
+		// execute task
+		getExecutor(task, isSequential, true).execute(task);
+
+		// return task
+		return task;
+	}
+
+	/**
+	 * Returns the task scheduler lane executor for the given task. Post processing tasks and temporary file deletions run in background lane, other short running tasks in interactive lane
+	 * (so that they never queue behind analyses), sequential tasks in sequential lane, headless sub tasks in sub task lane (so that they never queue behind their parent tasks) and all others in
+	 * analysis lane.
+	 *
+	 * @param task
+	 *            Task to be executed.
+	 * @param isSequential
+	 *            True if task should be executed within the sequential task queue.
+	 * @param isSubtask
+	 *            True if task is a headless sub task.
+	 * @return The executor for the given task.
+	 */
+	private static ExecutorService getExecutor(InternalEquinoxTask<?> task, boolean isSequential, boolean isSubtask) {
+
+		// sequential
+		if (isSequential)
+			return Equinox.SCHEDULER.getExecutor(Lane.SEQUENTIAL);
+
+		// background I/O task
+		if (task instanceof PostProcessingTask || task instanceof DeleteTemporaryFiles)
+			return Equinox.SCHEDULER.getExecutor(Lane.BACKGROUND);
+
+		// short running task
+		if (task instanceof ShortRunningTask)
+			return Equinox.SCHEDULER.getExecutor(Lane.INTERACTIVE);
+
+		// headless sub task
+		if (isSubtask)
+			return Equinox.SCHEDULER.getExecutor(Lane.SUBTASK);
+
+		// other
+		return Equinox.SCHEDULER.getExecutor(Lane.ANALYSIS);
+	}
+
 	/**
 	 * Submits given task for execution.
 	 *
@@ -265,17 +342,8 @@ public class ActiveTasksPanel implements Initializable {
 			}
 		}
 
-		// sequential
-		if (isSequential)
-			return Equinox.SINGLE_THREADPOOL.submit(task);
-
-		// short running task
-		else if (task instanceof ShortRunningTask)
-			return Equinox.CACHED_THREADPOOL.submit(task);
-
-		// other
-		else
-			return Equinox.FIXED_THREADPOOL.submit(task);
+		// submit task
+		return getExecutor(task, isSequential, false).submit(task);
 	}
 
 	/**
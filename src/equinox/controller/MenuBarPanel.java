@@ -55,6 +55,7 @@ import equinox.task.OpenWorkspace;
 import equinox.task.PreparePilotPointUpload;
 import equinox.task.ResetExchangeTable;
 import equinox.task.ResetWorkspace;
+import equinox.task.RestoreWorkspace;
 import equinox.task.RfortAnalysis;
 import equinox.task.RunInstructionSetOn;
 import equinox.task.SaveTask;
@@ -502,38 +503,21 @@ public class MenuBarPanel implements Initializable, ListChangeListener<ExchangeU
 	@FXML
 	private void onBackupWorkspaceClicked() {
 
-		// get notification pane
-		NotificationPanel np = owner_.getNotificationPane();
-
-		// setup notification title and message
-		String title = "Backup workspace";
-		String message = "Backup operation will temporarily lock the workspace. Do you want to continue?";
-
-		// show notification
-		np.showQuestion(title, message, "Yes", "No", event -> {
-
-			// get file chooser
-			FileChooser fileChooser = owner_.getFileChooser(FileType.ZIP.getExtensionFilter());
-
-			// show save dialog
-			String fileName = Utility.correctFileName(owner_.getOwner().getStage().getTitle().split(" - ")[1]);
-			fileChooser.setInitialFileName(fileName + FileType.EQX.getExtension() + FileType.ZIP.getExtension());
-			File selectedFile = fileChooser.showSaveDialog(owner_.getOwner().getStage());
+		// get directory chooser
+		DirectoryChooser dirChooser = owner_.getDirectoryChooser();
 
-			// no file selected
-			if (selectedFile == null)
-				return;
+		// show dialog
+		File selectedDir = dirChooser.showDialog(owner_.getOwner().getStage());
 
-			// set initial directory
-			owner_.setInitialDirectory(selectedFile);
+		// no directory selected
+		if (selectedDir == null || !selectedDir.exists())
+			return;
 
-			// append extension if necessary
-			File file = FileType.appendExtension(selectedFile, FileType.ZIP);
+		// set initial directory
+		owner_.setInitialDirectory(selectedDir);
 
-			// backup
-			owner_.getActiveTasksPanel().runTaskSequentially(new BackupWorkspace(file.toPath()));
-			np.hide();
-		}, event -> np.hide());
+		// backup
+		owner_.getActiveTasksPanel().runTaskSequentially(new BackupWorkspace(selectedDir.toPath()));
 	}
 
 	@FXML
@@ -941,6 +925,40 @@ public class MenuBarPanel implements Initializable, ListChangeListener<ExchangeU
 		}, event -> np.hide());
 	}
 
+	@FXML
+	private void onRestoreWorkspaceClicked() {
+
+		// get file chooser
+		FileChooser fileChooser = owner_.getFileChooser(FileType.SNAPSHOT.getExtensionFilter());
+
+		// show open dialog
+		File snapshot = fileChooser.showOpenDialog(owner_.getOwner().getStage());
+
+		// no file selected
+		if (snapshot == null)
+			return;
+
+		// set initial directory
+		owner_.setInitialDirectory(snapshot);
+
+		// get file chooser
+		fileChooser = owner_.getFileChooser(FileType.EQX.getExtensionFilter());
+
+		// show save dialog
+		fileChooser.setInitialFileName("restoredWorkspace" + FileType.EQX.getExtension());
+		File selectedFile = fileChooser.showSaveDialog(owner_.getOwner().getStage());
+
+		// no file selected
+		if (selectedFile == null)
+			return;
+
+		// append extension if necessary
+		File file = FileType.appendExtension(selectedFile, FileType.EQX);
+
+		// restore and open workspace
+		owner_.getActiveTasksPanel().runTasksSequentially(new RestoreWorkspace(snapshot.toPath(), file.toPath()), new OpenWorkspace(file.toPath(), null));
+	}
+
 	@FXML
 	private void onRFORTExtendedClicked() {
 		owner_.getInputPanel().showSubPanel(InputPanel.RFORT_EXTENDED_PANEL);
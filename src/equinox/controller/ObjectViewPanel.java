@@ -26,6 +26,7 @@ import equinox.data.ui.TableItem;
 import equinox.serverUtilities.ServerUtility;
 import equinox.task.Plot3DTask;
 import equinox.utility.Utility;
+import equinox.viewer.ElementMesh;
 import equinox.viewer.Equinox3DViewer;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -60,6 +61,9 @@ public class ObjectViewPanel implements InternalViewSubPanel {
 	/** Task run indicator. */
 	private volatile boolean taskRunning_ = false;
 
+	/** Colored element mesh on the canvas. */
+	private volatile ElementMesh elementMesh_;
+
 	@FXML
 	private VBox root_;
 
@@ -234,12 +238,39 @@ public class ObjectViewPanel implements InternalViewSubPanel {
 	 * Hides 3D viewer and clears canvas.
 	 */
 	public void clearCanvas() {
+		hideCanvas();
 		if (viewer_ != null) {
-			if (viewer_.isVisible()) {
-				viewer_.setVisible(false);
-			}
 			viewer_.clear();
 		}
+		elementMesh_ = null;
+	}
+
+	/**
+	 * Hides 3D viewer without clearing canvas.
+	 */
+	public void hideCanvas() {
+		if (viewer_ != null && viewer_.isVisible()) {
+			viewer_.setVisible(false);
+		}
+	}
+
+	/**
+	 * Returns the colored element mesh on the canvas.
+	 *
+	 * @return The colored element mesh on the canvas, or null if there is none.
+	 */
+	public ElementMesh getElementMesh() {
+		return elementMesh_;
+	}
+
+	/**
+	 * Sets the colored element mesh on the canvas. The mesh can be recolored by subsequent plot tasks without rebuilding it.
+	 *
+	 * @param elementMesh
+	 *            Colored element mesh on the canvas.
+	 */
+	public void setElementMesh(ElementMesh elementMesh) {
+		elementMesh_ = elementMesh;
 	}
 
 	/**
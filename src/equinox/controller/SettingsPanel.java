@@ -487,9 +487,10 @@ public class SettingsPanel implements InternalInputSubPanel {
 
 	@FXML
 	private void onAnalysisEngineSelected() {
-		boolean isInbuilt = analysisEngine_.getSelectionModel().getSelectedItem().equals(AnalysisEngine.INBUILT);
+		AnalysisEngine engine = analysisEngine_.getSelectionModel().getSelectedItem();
+		boolean isInbuilt = engine.equals(AnalysisEngine.INBUILT) || engine.equals(AnalysisEngine.JAVA);
 		fallback_.setDisable(isInbuilt);
-		boolean isIsami = analysisEngine_.getSelectionModel().getSelectedItem().equals(AnalysisEngine.ISAMI);
+		boolean isIsami = engine.equals(AnalysisEngine.ISAMI);
 		analysisEngineVersion_.setDisable(!isIsami);
 		analysisEngineSubVersion_.setDisable(!isIsami);
 		compression_.setDisable(!isIsami);
@@ -608,6 +609,8 @@ public class SettingsPanel implements InternalInputSubPanel {
 		arguments.put(ArgumentType.DATABASE_PAGE_CACHE_SIZE, cacheSize_.getValue().toString());
 		arguments.put(ArgumentType.MAX_VISIBLE_STFS_PER_SPECTRUM, visibleSTFs_.getValue().toString());
 		arguments.put(ArgumentType.COLOR_THEME, ((ToggleButton) theme_.getSelectedToggle()).getText());
+		arguments.put(ArgumentType.USE_PEAK_STORE, Equinox.ARGUMENTS.getArgument(ArgumentType.USE_PEAK_STORE));
+		arguments.put(ArgumentType.USE_BLOB_STORE, Equinox.ARGUMENTS.getArgument(ArgumentType.USE_BLOB_STORE));
 
 		// check for change
 		boolean changed = false;
@@ -0,0 +1,535 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class for A/C model equivalent stress table. The table holds the equivalent stresses of all missions and elements of an A/C model equivalent stress in primitive arrays grouped by element. Life
+ * factors and equivalent stress ratios are computed for all elements and missions in parallel with fork/join, and are kept for recently used basis missions.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 18:12:37
+ */
+public class AircraftEquivalentStressTable {
+
+	/** Value types. */
+	public static final int FATIGUE_LIFE_FACTOR = 0, PROPAGATION_LIFE_FACTOR = 1, FATIGUE_RATIO = 2, PROPAGATION_RATIO = 3;
+
+	/** Maximum number of computed value arrays to keep. */
+	private static final int MAX_VALUES = 8;
+
+	/** Minimum number of elements to be processed by a single fork/join task. */
+	private static final int MIN_TASK_ELEMENTS = 4096;
+
+	/** A/C model ID. */
+	private final int modelID_;
+
+	/** Equivalent stress name. */
+	private final String name_;
+
+	/** Mission names (at mission index). */
+	private final String[] missions_;
+
+	/** Element IDs in ascending order. */
+	private final int[] elementIDs_;
+
+	/** Start rows of elements (number of elements + 1). */
+	private final int[] rowStart_;
+
+	/** Mission indices of rows. */
+	private final int[] missionIndices_;
+
+	/** Equivalent stresses and material parameters of rows. */
+	private final double[] fatStresses_, propStresses_, fatP_, elberM_;
+
+	/** Computed values mapped to value type and basis mission index, in access order. */
+	private final LinkedHashMap<Integer, double[]> values_ = new LinkedHashMap<Integer, double[]>(16, 0.75f, true) {
+
+		/** Serial ID. */
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, double[]> eldest) {
+			return size() > MAX_VALUES;
+		}
+	};
+
+	/**
+	 * Creates A/C model equivalent stress table by reading the equivalent stresses from the database.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @param name
+	 *            Equivalent stress name.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public AircraftEquivalentStressTable(Connection connection, int modelID, String name) throws Exception {
+
+		// set inputs
+		modelID_ = modelID;
+		name_ = name;
+
+		// count rows
+		int numRows = 0;
+		String sql = "select count(eid) as num from ac_eq_stresses_" + modelID + " where name = ?";
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, name);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				if (resultSet.next()) {
+					numRows = resultSet.getInt("num");
+				}
+			}
+		}
+
+		// create columns
+		missionIndices_ = new int[numRows];
+		fatStresses_ = new double[numRows];
+		propStresses_ = new double[numRows];
+		fatP_ = new double[numRows];
+		elberM_ = new double[numRows];
+		int[] eids = new int[numRows];
+		HashMap<String, Integer> missions = new HashMap<>();
+		ArrayList<String> missionNames = new ArrayList<>();
+
+		// read rows
+		sql = "select mission, eid, fat_stress, prop_stress, fat_p, elber_m from ac_eq_stresses_" + modelID + " where name = ? order by eid";
+		int row = 0;
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setString(1, name);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next() && row < numRows) {
+					String mission = resultSet.getString("mission");
+					Integer index = missions.get(mission);
+					if (index == null) {
+						index = missionNames.size();
+						missions.put(mission, index);
+						missionNames.add(mission);
+					}
+					missionIndices_[row] = index;
+					eids[row] = resultSet.getInt("eid");
+					fatStresses_[row] = resultSet.getDouble("fat_stress");
+					propStresses_[row] = resultSet.getDouble("prop_stress");
+					fatP_[row] = resultSet.getDouble("fat_p");
+					elberM_[row] = resultSet.getDouble("elber_m");
+					row++;
+				}
+			}
+		}
+		missions_ = missionNames.toArray(new String[missionNames.size()]);
+
+		// group rows by element
+		int numElements = 0;
+		for (int i = 0; i < row; i++) {
+			if (i == 0 || eids[i] != eids[i - 1]) {
+				numElements++;
+			}
+		}
+		elementIDs_ = new int[numElements];
+		rowStart_ = new int[numElements + 1];
+		for (int i = 0, element = -1; i < row; i++) {
+			if (i == 0 || eids[i] != eids[i - 1]) {
+				element++;
+				elementIDs_[element] = eids[i];
+				rowStart_[element] = i;
+			}
+		}
+		rowStart_[numElements] = row;
+	}
+
+	/**
+	 * Returns A/C model ID.
+	 *
+	 * @return A/C model ID.
+	 */
+	public int getModelID() {
+		return modelID_;
+	}
+
+	/**
+	 * Returns equivalent stress name.
+	 *
+	 * @return Equivalent stress name.
+	 */
+	public String getName() {
+		return name_;
+	}
+
+	/**
+	 * Returns the number of elements.
+	 *
+	 * @return The number of elements.
+	 */
+	public int getNumberOfElements() {
+		return elementIDs_.length;
+	}
+
+	/**
+	 * Returns the ID of the element at the given index.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @return Element ID.
+	 */
+	public int getElementID(int index) {
+		return elementIDs_[index];
+	}
+
+	/**
+	 * Returns the first row of the element at the given index.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @return The first row of the element.
+	 */
+	public int getStartRow(int index) {
+		return rowStart_[index];
+	}
+
+	/**
+	 * Returns the row after the last row of the element at the given index.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @return The row after the last row of the element.
+	 */
+	public int getEndRow(int index) {
+		return rowStart_[index + 1];
+	}
+
+	/**
+	 * Returns the row of the given mission of the element at the given index.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @param mission
+	 *            Mission name.
+	 * @return The row of the mission, or -1 if the element has no equivalent stress for the mission.
+	 */
+	public int getRow(int index, String mission) {
+		int missionIndex = Arrays.asList(missions_).indexOf(mission);
+		return missionIndex < 0 ? -1 : getRow(index, missionIndex);
+	}
+
+	/**
+	 * Returns the mission of the given row.
+	 *
+	 * @param row
+	 *            Row.
+	 * @return Mission name.
+	 */
+	public String getMission(int row) {
+		return missions_[missionIndices_[row]];
+	}
+
+	/**
+	 * Returns the fatigue equivalent stress of the given row.
+	 *
+	 * @param row
+	 *            Row.
+	 * @return Fatigue equivalent stress.
+	 */
+	public double getFatigueStress(int row) {
+		return fatStresses_[row];
+	}
+
+	/**
+	 * Returns the propagation equivalent stress of the given row.
+	 *
+	 * @param row
+	 *            Row.
+	 * @return Propagation equivalent stress.
+	 */
+	public double getPropagationStress(int row) {
+		return propStresses_[row];
+	}
+
+	/**
+	 * Returns the fatigue material slope (p) of the given row.
+	 *
+	 * @param row
+	 *            Row.
+	 * @return Fatigue material slope (p).
+	 */
+	public double getFatigueP(int row) {
+		return fatP_[row];
+	}
+
+	/**
+	 * Returns the Elber constant (m) of the given row.
+	 *
+	 * @param row
+	 *            Row.
+	 * @return Elber constant (m).
+	 */
+	public double getElberM(int row) {
+		return elberM_[row];
+	}
+
+	/**
+	 * Returns the values of the given type for all rows, based on the given basis mission. Life factors are computed as <code>(basis stress / stress) ^ basis material parameter</code> and ratios as
+	 * <code>stress / basis stress</code>. Values of recently used basis missions are not recomputed.
+	 *
+	 * @param type
+	 *            Value type.
+	 * @param basisMission
+	 *            Basis mission.
+	 * @return Values of all rows, <code>NaN</code> for rows of elements without equivalent stress for the basis mission.
+	 */
+	public double[] getValues(int type, String basisMission) {
+
+		// get from computed values
+		int missionIndex = Arrays.asList(missions_).indexOf(basisMission);
+		Integer key = missionIndex * 4 + type;
+		synchronized (values_) {
+			double[] values = values_.get(key);
+			if (values != null)
+				return values;
+		}
+
+		// compute values
+		double[] values = new double[missionIndices_.length];
+		ForkJoinPool.commonPool().invoke(new ValueTask(type, missionIndex, values, 0, elementIDs_.length));
+
+		// add to computed values
+		synchronized (values_) {
+			values_.put(key, values);
+		}
+		return values;
+	}
+
+	/**
+	 * Selects the elements of the given type and element groups.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param geometry
+	 *            A/C model geometry.
+	 * @param elementType
+	 *            Element type.
+	 * @param groups
+	 *            Element group names, or empty list for all elements.
+	 * @return Selected elements (at element index).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public boolean[] select(Connection connection, ModelGeometry geometry, ElementTypeForStress elementType, ArrayList<String> groups) throws Exception {
+		boolean[] selectedElements = geometry.selectElements(connection, elementType, groups);
+		boolean[] selected = new boolean[elementIDs_.length];
+		for (int i = 0; i < elementIDs_.length; i++) {
+			int index = geometry.getElementIndex(elementIDs_[i]);
+			selected[i] = index >= 0 && selectedElements[index];
+		}
+		return selected;
+	}
+
+	/**
+	 * Returns the indices of the selected elements having equivalent stress for the given basis mission, sorted by basis equivalent stress.
+	 *
+	 * @param type
+	 *            Value type. Fatigue equivalent stresses are used for sorting fatigue values, and propagation equivalent stresses otherwise.
+	 * @param basisMission
+	 *            Basis mission.
+	 * @param selected
+	 *            Selected elements (at element index), or null if all elements are selected.
+	 * @param descending
+	 *            True to sort in descending order.
+	 * @return Sorted element indices.
+	 */
+	public int[] getSortedElements(int type, String basisMission, boolean[] selected, boolean descending) {
+
+		// get basis rows of selected elements
+		int missionIndex = Arrays.asList(missions_).indexOf(basisMission);
+		if (missionIndex < 0)
+			return new int[0];
+		ArrayList<Integer> elements = new ArrayList<>();
+		int[] basisRows = new int[elementIDs_.length];
+		for (int i = 0; i < elementIDs_.length; i++) {
+			if (selected != null && !selected[i]) {
+				continue;
+			}
+			basisRows[i] = getRow(i, missionIndex);
+			if (basisRows[i] >= 0) {
+				elements.add(i);
+			}
+		}
+
+		// sort by basis stress
+		double[] stresses = type == FATIGUE_LIFE_FACTOR || type == FATIGUE_RATIO ? fatStresses_ : propStresses_;
+		elements.sort((i1, i2) -> descending ? Double.compare(stresses[basisRows[i2]], stresses[basisRows[i1]]) : Double.compare(stresses[basisRows[i1]], stresses[basisRows[i2]]));
+
+		// return indices
+		int[] indices = new int[elements.size()];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = elements.get(i);
+		}
+		return indices;
+	}
+
+	/**
+	 * Returns the rows of the element at the given index, sorted by the given values.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @param values
+	 *            Values of all rows (see {@link #getValues(int, String)}).
+	 * @param descending
+	 *            True to sort in descending order.
+	 * @return Sorted rows.
+	 */
+	public int[] getSortedRows(int index, double[] values, boolean descending) {
+
+		// insertion sort (elements have few rows)
+		int start = rowStart_[index];
+		int[] rows = new int[rowStart_[index + 1] - start];
+		for (int i = 0; i < rows.length; i++) {
+			int row = start + i, j = i;
+			while (j > 0 && (descending ? Double.compare(values[rows[j - 1]], values[row]) < 0 : Double.compare(values[rows[j - 1]], values[row]) > 0)) {
+				rows[j] = rows[j - 1];
+				j--;
+			}
+			rows[j] = row;
+		}
+		return rows;
+	}
+
+	/**
+	 * Returns approximate size of the table in bytes (including the maximum number of computed value arrays).
+	 *
+	 * @return Approximate size of the table in bytes.
+	 */
+	public long getApproximateSize() {
+		return (36L + 8L * MAX_VALUES) * missionIndices_.length + 8L * elementIDs_.length;
+	}
+
+	/**
+	 * Returns the row of the given mission of the element at the given index.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @param missionIndex
+	 *            Mission index.
+	 * @return The row of the mission, or -1 if the element has no equivalent stress for the mission.
+	 */
+	private int getRow(int index, int missionIndex) {
+		for (int row = rowStart_[index]; row < rowStart_[index + 1]; row++) {
+			if (missionIndices_[row] == missionIndex)
+				return row;
+		}
+		return -1;
+	}
+
+	/**
+	 * Inner class for fork/join task computing values of a range of elements.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 18:31:02
+	 */
+	private class ValueTask extends RecursiveAction {
+
+		/** Serial ID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Value type, basis mission index and element index range (end is exclusive). */
+		private final int type_, missionIndex_, start_, end_;
+
+		/** Output values. */
+		private final double[] output_;
+
+		/**
+		 * Creates value task.
+		 *
+		 * @param type
+		 *            Value type.
+		 * @param missionIndex
+		 *            Basis mission index.
+		 * @param values
+		 *            Output values.
+		 * @param start
+		 *            Start element index.
+		 * @param end
+		 *            End element index (exclusive).
+		 */
+		ValueTask(int type, int missionIndex, double[] values, int start, int end) {
+			type_ = type;
+			missionIndex_ = missionIndex;
+			output_ = values;
+			start_ = start;
+			end_ = end;
+		}
+
+		@Override
+		protected void compute() {
+
+			// split range
+			if (end_ - start_ > MIN_TASK_ELEMENTS) {
+				int mid = (start_ + end_) >>> 1;
+				invokeAll(new ValueTask(type_, missionIndex_, output_, start_, mid), new ValueTask(type_, missionIndex_, output_, mid, end_));
+				return;
+			}
+
+			// loop over elements
+			for (int i = start_; i < end_; i++) {
+
+				// get basis row
+				int basis = missionIndex_ < 0 ? -1 : getRow(i, missionIndex_);
+
+				// loop over rows
+				for (int row = rowStart_[i]; row < rowStart_[i + 1]; row++) {
+
+					// no basis
+					if (basis < 0) {
+						output_[row] = Double.NaN;
+					}
+
+					// fatigue life factor
+					else if (type_ == FATIGUE_LIFE_FACTOR) {
+						output_[row] = Math.pow(fatStresses_[basis] / fatStresses_[row], fatP_[basis]);
+					}
+
+					// propagation life factor
+					else if (type_ == PROPAGATION_LIFE_FACTOR) {
+						output_[row] = Math.pow(propStresses_[basis] / propStresses_[row], elberM_[basis]);
+					}
+
+					// fatigue ratio
+					else if (type_ == FATIGUE_RATIO) {
+						output_[row] = fatStresses_[row] / fatStresses_[basis];
+					}
+
+					// propagation ratio
+					else if (type_ == PROPAGATION_RATIO) {
+						output_[row] = propStresses_[row] / propStresses_[basis];
+					}
+				}
+			}
+		}
+	}
+}
@@ -27,7 +27,7 @@ import equinox.plugin.FileType;
 public enum AnalysisEngine {
 
 	/** Analysis engine type. */
-	ISAMI("ISAMI Engine", FileType.HTML), SAFE("SAFE Engine", FileType.DOSSIER), INBUILT("Inbuilt Engine", FileType.DOSSIER);
+	ISAMI("ISAMI Engine", FileType.HTML), SAFE("SAFE Engine", FileType.DOSSIER), INBUILT("Inbuilt Engine", FileType.DOSSIER), JAVA("Java Engine", FileType.DOSSIER);
 
 	/** Name of analysis engine. */
 	private final String name_;
@@ -0,0 +1,424 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import equinox.plugin.FileType;
+
+/**
+ * Class for workspace backup repository. A backup repository is a directory containing deflate compressed workspace files named after the SHA-256 hash of their content (objects) and snapshot files
+ * listing the objects of each backup. Since objects are shared between snapshots, each backup stores only the files which have changed since the previous backups.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 10:14:36
+ */
+public class BackupRepository {
+
+	/** Name of objects directory within the repository. */
+	public static final String OBJECTS = "objects";
+
+	/** Name of snapshots directory within the repository. */
+	public static final String SNAPSHOTS = "snapshots";
+
+	/** Header of snapshot files. */
+	private static final String HEADER = "EQXSNAPSHOT1";
+
+	/** Buffer size. */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Lock guarding peak and blob store files of the workspace against deletion while a backup is taken. Deletions of store files share the read lock, whereas backups hold the write lock from the
+	 * database backup until the store files are copied, so that the snapshot never references deleted store files.
+	 */
+	public static final ReentrantReadWriteLock STORE_LOCK = new ReentrantReadWriteLock();
+
+	/** Root directory of the repository. */
+	private final Path root_;
+
+	/**
+	 * Creates backup repository.
+	 *
+	 * @param root
+	 *            Root directory of the repository.
+	 */
+	public BackupRepository(Path root) {
+		root_ = root;
+	}
+
+	/**
+	 * Creates backup repository for the given snapshot file.
+	 *
+	 * @param snapshot
+	 *            Snapshot file.
+	 * @return Backup repository of the snapshot.
+	 * @throws Exception
+	 *             If the snapshot is not within a backup repository.
+	 */
+	public static BackupRepository getRepository(Path snapshot) throws Exception {
+		Path snapshots = snapshot.toAbsolutePath().getParent();
+		if (snapshots == null || snapshots.getParent() == null || !SNAPSHOTS.equals(String.valueOf(snapshots.getFileName())))
+			throw new Exception("Snapshot '" + snapshot.getFileName() + "' is not within a backup repository.");
+		return new BackupRepository(snapshots.getParent());
+	}
+
+	/**
+	 * Returns the root directory of the repository.
+	 *
+	 * @return The root directory of the repository.
+	 */
+	public Path getRoot() {
+		return root_;
+	}
+
+	/**
+	 * Returns the latest snapshot of the repository.
+	 *
+	 * @return The latest snapshot, or null if the repository has no snapshots.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Path getLatestSnapshot() throws Exception {
+		Path snapshots = root_.resolve(SNAPSHOTS);
+		if (!Files.exists(snapshots))
+			return null;
+		Path latest = null;
+		try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(snapshots, "*" + FileType.SNAPSHOT.getExtension())) {
+			for (Path snapshot : dirStream) {
+				if (latest == null || snapshot.getFileName().toString().compareTo(latest.getFileName().toString()) > 0) {
+					latest = snapshot;
+				}
+			}
+		}
+		return latest;
+	}
+
+	/**
+	 * Reads and returns the entries of the given snapshot.
+	 *
+	 * @param snapshot
+	 *            Snapshot file.
+	 * @return Snapshot entries.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public ArrayList<Entry> readSnapshot(Path snapshot) throws Exception {
+		ArrayList<Entry> entries = new ArrayList<>();
+		try (BufferedReader reader = Files.newBufferedReader(snapshot, StandardCharsets.UTF_8)) {
+			if (!HEADER.equals(reader.readLine()))
+				throw new Exception("File '" + snapshot.getFileName() + "' is not a workspace snapshot.");
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] split = line.split("\t", 4);
+				if (split.length != 4)
+					throw new Exception("Invalid entry in workspace snapshot '" + snapshot.getFileName() + "': " + line);
+				entries.add(new Entry(split[3], split[0], Long.parseLong(split[1]), Long.parseLong(split[2])));
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Writes a new snapshot with the given entries. The snapshot file is first written to a temporary file and then moved into place, so that incomplete snapshots never appear in the repository.
+	 *
+	 * @param entries
+	 *            Snapshot entries.
+	 * @return The snapshot file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Path writeSnapshot(Iterable<Entry> entries) throws Exception {
+
+		// create snapshots directory
+		Path snapshots = root_.resolve(SNAPSHOTS);
+		Files.createDirectories(snapshots);
+
+		// write to temporary file
+		Path temp = Files.createTempFile(snapshots, "snapshot", ".tmp");
+		try {
+			try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				writer.write(HEADER);
+				writer.newLine();
+				for (Entry entry : entries) {
+					writer.write(entry.hash_ + "\t" + entry.size_ + "\t" + entry.lastModified_ + "\t" + entry.path_);
+					writer.newLine();
+				}
+			}
+
+			// move into place
+			String name = new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date());
+			Path snapshot = snapshots.resolve(name + FileType.SNAPSHOT.getExtension());
+			Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE);
+			return snapshot;
+		}
+
+		// delete temporary file
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Returns true if the repository contains the object with the given hash.
+	 *
+	 * @param hash
+	 *            Content hash.
+	 * @return True if the repository contains the object with the given hash.
+	 */
+	public boolean contains(String hash) {
+		return Files.exists(getObject(hash));
+	}
+
+	/**
+	 * Stores the given file as an object with the given hash. Nothing is done if the object already exists.
+	 *
+	 * @param file
+	 *            File to store.
+	 * @param hash
+	 *            Content hash of the file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public void store(Path file, String hash) throws Exception {
+
+		// already stored
+		Path object = getObject(hash);
+		if (Files.exists(object))
+			return;
+
+		// compress to temporary file
+		Files.createDirectories(object.getParent());
+		Path temp = Files.createTempFile(object.getParent(), "object", ".tmp");
+		try {
+			try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+				try (OutputStream out = new DeflaterOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE)) {
+					copy(in, out);
+				}
+			}
+
+			// move into place
+			try {
+				Files.move(temp, object, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (FileAlreadyExistsException e) {
+				// stored by another worker in the meantime
+			}
+		}
+
+		// delete temporary file
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Decompresses the object of the given entry to the given output file and verifies its content against the hash and size of the entry. If output file is null, the object is only verified.
+	 *
+	 * @param entry
+	 *            Snapshot entry.
+	 * @param output
+	 *            Output file, or null to only verify the object.
+	 * @throws Exception
+	 *             If the object is missing or its content doesn't match the entry.
+	 */
+	public void restore(Entry entry, Path output) throws Exception {
+
+		// get object
+		Path object = getObject(entry.hash_);
+		if (!Files.exists(object))
+			throw new Exception("Backup object of file '" + entry.path_ + "' could not be found.");
+
+		// decompress while computing hash
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		long size = 0L;
+		try (InputStream in = new DigestInputStream(new InflaterInputStream(new BufferedInputStream(Files.newInputStream(object))), digest)) {
+			if (output == null) {
+				size = copy(in, null);
+			}
+			else {
+				try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+					size = copy(in, out);
+				}
+			}
+		}
+
+		// verify content
+		if (size != entry.size_ || !toHex(digest.digest()).equals(entry.hash_))
+			throw new Exception("Backup object of file '" + entry.path_ + "' is corrupt.");
+	}
+
+	/**
+	 * Computes and returns the content hash of the given file.
+	 *
+	 * @param file
+	 *            File.
+	 * @return Content hash (hexadecimal SHA-256) of the file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static String hash(Path file) throws Exception {
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		try (InputStream in = new DigestInputStream(new BufferedInputStream(Files.newInputStream(file)), digest)) {
+			copy(in, null);
+		}
+		return toHex(digest.digest());
+	}
+
+	/**
+	 * Returns the object path for the given hash.
+	 *
+	 * @param hash
+	 *            Content hash.
+	 * @return The object path.
+	 */
+	private Path getObject(String hash) {
+		return root_.resolve(OBJECTS).resolve(hash.substring(0, 2)).resolve(hash);
+	}
+
+	/**
+	 * Returns hexadecimal representation of given bytes.
+	 *
+	 * @param bytes
+	 *            Bytes.
+	 * @return Hexadecimal representation.
+	 */
+	private static String toHex(byte[] bytes) {
+		StringBuilder builder = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			builder.append(String.format("%02x", b));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Copies given input stream to given output stream.
+	 *
+	 * @param in
+	 *            Input stream.
+	 * @param out
+	 *            Output stream, or null to only read the input stream.
+	 * @return Number of bytes copied.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static long copy(InputStream in, OutputStream out) throws Exception {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		long total = 0L;
+		int len;
+		while ((len = in.read(buffer)) != -1) {
+			if (out != null) {
+				out.write(buffer, 0, len);
+			}
+			total += len;
+		}
+		return total;
+	}
+
+	/**
+	 * Inner class for snapshot entry.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 10:14:36
+	 */
+	public static class Entry {
+
+		/** Relative path of the file within the workspace (with '/' separators). */
+		private final String path_;
+
+		/** Content hash. */
+		private final String hash_;
+
+		/** File size and last modified time. */
+		private final long size_, lastModified_;
+
+		/**
+		 * Creates snapshot entry.
+		 *
+		 * @param path
+		 *            Relative path of the file within the workspace (with '/' separators).
+		 * @param hash
+		 *            Content hash.
+		 * @param size
+		 *            File size.
+		 * @param lastModified
+		 *            Last modified time of the file.
+		 */
+		public Entry(String path, String hash, long size, long lastModified) {
+			path_ = path;
+			hash_ = hash;
+			size_ = size;
+			lastModified_ = lastModified;
+		}
+
+		/**
+		 * Returns relative path of the file within the workspace (with '/' separators).
+		 *
+		 * @return Relative path of the file within the workspace.
+		 */
+		public String getPath() {
+			return path_;
+		}
+
+		/**
+		 * Returns content hash.
+		 *
+		 * @return Content hash.
+		 */
+		public String getHash() {
+			return hash_;
+		}
+
+		/**
+		 * Returns file size.
+		 *
+		 * @return File size.
+		 */
+		public long getSize() {
+			return size_;
+		}
+
+		/**
+		 * Returns last modified time of the file.
+		 *
+		 * @return Last modified time of the file.
+		 */
+		public long getLastModified() {
+			return lastModified_;
+		}
+	}
+}
@@ -0,0 +1,530 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import equinox.Equinox;
+import equinox.data.ProgramArguments.ArgumentType;
+import equinox.plugin.FileType;
+import equinox.task.InternalEquinoxTask;
+import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.Utility;
+
+/**
+ * Class for content addressed blob store of archived input files. Archived spectrum files are kept deflate compressed within the workspace directory, named after the SHA-256 hash of their content,
+ * so that identical files shared by several spectra are stored only once. The <code>data</code> columns of the file tables then hold a small reference record (hash and file name) instead of a ZIP
+ * archive. The store is optional; files are archived into the store only if the <code>useBlobStore</code> program argument is set to <code>true</code>. Readers accept both reference records and ZIP
+ * archives, so that existing workspaces remain readable.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 01:58:12
+ */
+public class BlobStore {
+
+	/** Name of blob store directory within the workspace directory. */
+	public static final String DIRECTORY = "blobstore";
+
+	/** File tables whose <code>data</code> columns may hold references. */
+	private static final String[] TABLES = { "ana_files", "txt_files", "fls_files", "cvt_files", "xls_files" };
+
+	/** Header of reference records. */
+	private static final String HEADER = "EQXBLOB1";
+
+	/** Maximum length of reference records in bytes. */
+	private static final int MAX_REFERENCE_LENGTH = 1024;
+
+	/**
+	 * Hashes of blobs stored by running tasks, mapped to the storing tasks. These blobs are not yet referenced by committed file table rows, so they are kept until the storing task is completed.
+	 * Access to this map, the temporary files and moving or deleting blobs is synchronized on this map.
+	 */
+	private static final HashMap<TemporaryFileCreatingTask<?>, HashSet<String>> PENDING = new HashMap<>();
+
+	/** Temporary files of running stores. */
+	private static final HashSet<Path> TEMP_FILES = new HashSet<>();
+
+	/** Buffer size. */
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Returns true if the blob store is enabled for archiving new files.
+	 *
+	 * @return True if the blob store is enabled for archiving new files.
+	 */
+	public static boolean isEnabled() {
+		return Equinox.ARGUMENTS != null && Boolean.parseBoolean(Equinox.ARGUMENTS.getArgument(ArgumentType.USE_BLOB_STORE));
+	}
+
+	/**
+	 * Archives the given input file to the given archive file, which should then be stored in the <code>data</code> column of the file table. If the blob store is enabled, the input file is stored
+	 * in the blob store and the archive file is a reference record. Otherwise, the archive file is a ZIP archive of the input file. Stored blobs are kept until the given task is completed (see
+	 * {@link #release(TemporaryFileCreatingTask)}).
+	 *
+	 * @param inputFile
+	 *            Input file to archive.
+	 * @param archiveFile
+	 *            Path to archive file.
+	 * @param task
+	 *            The task calling this method.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static void archive(Path inputFile, Path archiveFile, TemporaryFileCreatingTask<?> task) throws Exception {
+
+		// blob store not enabled
+		if (!isEnabled()) {
+			Utility.zipFile(inputFile, archiveFile.toFile(), task);
+			return;
+		}
+
+		// get file name
+		Path fileName = inputFile.getFileName();
+		if (fileName == null)
+			throw new Exception("Cannot get file name.");
+
+		// store file
+		task.updateMessage("Archiving file '" + fileName.toString() + "'...");
+		String hash = store(inputFile, task);
+
+		// write reference
+		Files.write(archiveFile, (HEADER + "\n" + hash + "\n" + fileName.toString()).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Archives the given input file into the working directory of the given task, with the given executor. The archive file is named after the input file with <code>.zip</code> extension.
+	 *
+	 * @param inputFile
+	 *            Path to input file.
+	 * @param task
+	 *            The task calling this method.
+	 * @param executor
+	 *            Executor to archive the file. Can be null, in which case the file is archived on the calling thread.
+	 * @return Future representing the archive file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static Future<Path> archive(Path inputFile, TemporaryFileCreatingTask<?> task, ExecutorService executor) throws Exception {
+
+		// get file name
+		Path fileName = inputFile.getFileName();
+		if (fileName == null)
+			throw new Exception("Cannot get file name.");
+
+		// create archive job
+		Path archiveFile = task.getWorkingDirectory().resolve(fileName.toString() + FileType.ZIP.getExtension());
+		Callable<Path> job = () -> {
+			archive(inputFile, archiveFile, task);
+			return archiveFile;
+		};
+
+		// submit to executor
+		if (executor != null)
+			return executor.submit(job);
+
+		// archive on calling thread
+		FutureTask<Path> future = new FutureTask<>(job);
+		future.run();
+		return future;
+	}
+
+	/**
+	 * Waits for the given archive job to complete and returns the archive file.
+	 *
+	 * @param archive
+	 *            Archive job, as returned by {@link #archive(Path, TemporaryFileCreatingTask, ExecutorService)}.
+	 * @return The archive file.
+	 * @throws Exception
+	 *             If exception occurs during archiving the file.
+	 */
+	public static Path getArchive(Future<Path> archive) throws Exception {
+		try {
+			return archive.get();
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception)
+				throw (Exception) cause;
+			throw e;
+		}
+	}
+
+	/**
+	 * Extracts and returns the archived file of the given data BLOB. Referenced files are decompressed from the blob store directly into the output directory. ZIP archives are first copied to the
+	 * given ZIP file.
+	 *
+	 * @param blob
+	 *            Data BLOB.
+	 * @param zipFile
+	 *            Path to temporary ZIP file (used only if the BLOB holds a ZIP archive).
+	 * @param task
+	 *            Task which calls this method.
+	 * @param type
+	 *            The type of file to extract.
+	 * @param outputDir
+	 *            Output directory. If null is given, the working directory of the task will be used (if the task is not temporary file creating task, then a new working directory will be created).
+	 * @return The extracted file or null if the archived file is not of the given file type.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static Path extractFile(Blob blob, Path zipFile, InternalEquinoxTask<?> task, FileType type, Path outputDir) throws Exception {
+
+		// ZIP archive
+		String[] reference = getReference(blob);
+		if (reference == null) {
+			Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
+			return Utility.extractFileFromZIP(zipFile, task, type, outputDir);
+		}
+
+		// not of demanded file type
+		if (!reference[1].toUpperCase().endsWith(type.getExtension().toUpperCase()))
+			return null;
+
+		// get output directory
+		if (outputDir == null) {
+			if (task instanceof TemporaryFileCreatingTask<?>) {
+				outputDir = ((TemporaryFileCreatingTask<?>) task).getWorkingDirectory();
+			}
+			else {
+				outputDir = Utility.createWorkingDirectory("extractFile");
+			}
+		}
+
+		// decompress file
+		Path output = outputDir.resolve(reference[1]);
+		try (InputStream in = openStream(reference[0])) {
+			Files.copy(in, output, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return output;
+	}
+
+	/**
+	 * Writes the archived file of the given data BLOB to the given ZIP file.
+	 *
+	 * @param blob
+	 *            Data BLOB.
+	 * @param output
+	 *            Output ZIP file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static void writeZIP(Blob blob, Path output) throws Exception {
+
+		// ZIP archive
+		String[] reference = getReference(blob);
+		if (reference == null) {
+			Files.copy(blob.getBinaryStream(), output, StandardCopyOption.REPLACE_EXISTING);
+			return;
+		}
+
+		// stream referenced file into ZIP archive
+		try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+			zos.putNextEntry(new ZipEntry(reference[1]));
+			try (InputStream in = openStream(reference[0])) {
+				copy(in, zos);
+			}
+			zos.closeEntry();
+		}
+	}
+
+	/**
+	 * Sets the data column of the given file table row to the given archive. This is used by loaders which insert the file row (with an empty data BLOB) before the input file is archived.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param table
+	 *            File table name.
+	 * @param fileID
+	 *            File ID.
+	 * @param archiveFile
+	 *            Archive file (as written by {@link #archive(Path, Path, TemporaryFileCreatingTask)}).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static void setData(Connection connection, String table, int fileID, Path archiveFile) throws Exception {
+		String sql = "update " + table + " set data = ? where file_id = " + fileID;
+		try (PreparedStatement update = connection.prepareStatement(sql)) {
+			try (InputStream inputStream = Files.newInputStream(archiveFile)) {
+				update.setBlob(1, inputStream, archiveFile.toFile().length());
+				update.executeUpdate();
+			}
+		}
+	}
+
+	/**
+	 * Releases the blobs stored by the given task. This should be called once the task is completed, after the references to the blobs are either committed or rolled back.
+	 *
+	 * @param task
+	 *            The task which has stored the blobs.
+	 */
+	public static void release(TemporaryFileCreatingTask<?> task) {
+		synchronized (PENDING) {
+			PENDING.remove(task);
+		}
+	}
+
+	/**
+	 * Deletes blobs which are not referenced by any file table. Blobs of running tasks and temporary files of running stores are kept.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static void deleteUnreferenced(Connection connection) throws Exception {
+
+		// no store
+		Path directory = getDirectory();
+		if (!Files.exists(directory))
+			return;
+
+		// wait for running backup
+		BackupRepository.STORE_LOCK.readLock().lock();
+
+		try {
+
+			// collect referenced hashes
+			HashSet<String> referenced = new HashSet<>();
+			try (Statement statement = connection.createStatement()) {
+				for (String table : TABLES) {
+					try (ResultSet resultSet = statement.executeQuery("select data from " + table)) {
+						while (resultSet.next()) {
+							Blob blob = resultSet.getBlob("data");
+							String[] reference = getReference(blob);
+							if (reference != null) {
+								referenced.add(reference[0]);
+							}
+							blob.free();
+						}
+					}
+				}
+			}
+
+			// delete unreferenced blobs
+			deleteBlobs(directory, referenced);
+		}
+
+		// release lock
+		finally {
+			BackupRepository.STORE_LOCK.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes all blobs of the current workspace. Blobs of running tasks and temporary files of running stores are kept.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static void deleteAll() throws Exception {
+		Path directory = getDirectory();
+		if (!Files.exists(directory))
+			return;
+		BackupRepository.STORE_LOCK.readLock().lock();
+		try {
+			deleteBlobs(directory, new HashSet<String>());
+		}
+		finally {
+			BackupRepository.STORE_LOCK.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Deletes all files of the given blob store directory, except the given blobs, blobs of running tasks and temporary files of running stores.
+	 *
+	 * @param directory
+	 *            Blob store directory.
+	 * @param keep
+	 *            Hashes of blobs to keep.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void deleteBlobs(Path directory, HashSet<String> keep) throws Exception {
+		synchronized (PENDING) {
+
+			// add blobs of running tasks
+			for (HashSet<String> hashes : PENDING.values()) {
+				keep.addAll(hashes);
+			}
+
+			// delete files
+			try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(directory)) {
+				for (Path file : dirStream) {
+					Path fileName = file.getFileName();
+					if (fileName == null || keep.contains(fileName.toString()) || TEMP_FILES.contains(file)) {
+						continue;
+					}
+					Files.deleteIfExists(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stores the given file and returns its content hash. If a blob with the same content already exists, the file is not stored again. The blob is kept until the given task is released.
+	 *
+	 * @param file
+	 *            File to store.
+	 * @param task
+	 *            The task storing the file.
+	 * @return Content hash (hexadecimal SHA-256) of the file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static String store(Path file, TemporaryFileCreatingTask<?> task) throws Exception {
+
+		// create directory
+		Path directory = getDirectory();
+		Files.createDirectories(directory);
+
+		// compress to temporary file while computing hash
+		MessageDigest digest = MessageDigest.getInstance("SHA-256");
+		Path temp;
+		synchronized (PENDING) {
+			temp = Files.createTempFile(directory, "blob", ".tmp");
+			TEMP_FILES.add(temp);
+		}
+		try {
+			try (InputStream in = new DigestInputStream(new BufferedInputStream(Files.newInputStream(file)), digest)) {
+				try (OutputStream out = new DeflaterOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), new Deflater(Deflater.BEST_SPEED), BUFFER_SIZE)) {
+					copy(in, out);
+				}
+			}
+
+			// get hash
+			String hash = String.format("%064x", new BigInteger(1, digest.digest()));
+
+			// register blob and move into place (or keep existing blob with same content)
+			synchronized (PENDING) {
+				PENDING.computeIfAbsent(task, t -> new HashSet<>()).add(hash);
+				Path blob = directory.resolve(hash);
+				if (!Files.exists(blob)) {
+					try {
+						Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+					}
+					catch (FileAlreadyExistsException e) {
+						// stored by another task in the meantime
+					}
+				}
+			}
+			return hash;
+		}
+
+		// delete temporary file
+		finally {
+			synchronized (PENDING) {
+				Files.deleteIfExists(temp);
+				TEMP_FILES.remove(temp);
+			}
+		}
+	}
+
+	/**
+	 * Opens and returns input stream to decompressed content of the given blob.
+	 *
+	 * @param hash
+	 *            Content hash of blob.
+	 * @return Input stream to decompressed content.
+	 * @throws Exception
+	 *             If the blob does not exist.
+	 */
+	private static InputStream openStream(String hash) throws Exception {
+		Path blob = getDirectory().resolve(hash);
+		if (!Files.exists(blob))
+			throw new Exception("Archived file '" + hash + "' could not be found in blob store of the workspace.");
+		return new InflaterInputStream(new BufferedInputStream(Files.newInputStream(blob)), new Inflater(), BUFFER_SIZE);
+	}
+
+	/**
+	 * Returns the reference record of the given data BLOB.
+	 *
+	 * @param blob
+	 *            Data BLOB.
+	 * @return Array containing content hash and file name, or null if the BLOB holds a ZIP archive.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static String[] getReference(Blob blob) throws Exception {
+
+		// too long for a reference record
+		long length = blob.length();
+		if (length > MAX_REFERENCE_LENGTH || length < HEADER.length())
+			return null;
+
+		// parse record
+		String[] record = new String(blob.getBytes(1L, (int) length), StandardCharsets.UTF_8).split("\n");
+		if (record.length != 3 || !record[0].equals(HEADER))
+			return null;
+		return new String[] { record[1], record[2] };
+	}
+
+	/**
+	 * Copies given input stream to given output stream.
+	 *
+	 * @param in
+	 *            Input stream.
+	 * @param out
+	 *            Output stream.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void copy(InputStream in, OutputStream out) throws Exception {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int len;
+		while ((len = in.read(buffer)) != -1) {
+			out.write(buffer, 0, len);
+		}
+	}
+
+	/**
+	 * Returns the blob store directory of the current workspace.
+	 *
+	 * @return The blob store directory of the current workspace.
+	 */
+	private static Path getDirectory() {
+		return Equinox.WORKSPACE_PATHS.getCurrentPath().resolve(DIRECTORY);
+	}
+}
@@ -0,0 +1,665 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Class for compiled spectrum. Compiled spectrum contains the decoded ANA flights and peaks of a spectrum, where 14 digit class codes of the peaks are resolved to integer indices. 1g and increment
+ * load cases of the class codes are resolved from the TXT file to integer ISSY code slots. Stress sequences can be generated from the compiled spectrum without accessing the database.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 11:02:18
+ */
+public class CompiledSpectrum {
+
+	/** Number of increments of class codes. */
+	public static final int NUM_INCREMENTS = 5;
+
+	/** ANA and TXT file IDs. */
+	private final int anaFileID_, txtFileID_;
+
+	/** Number of flights, peaks, 1g codes, increments and class codes with resolved increments. */
+	private int numFlights_ = 0, numPeaks_ = 0, numOnegCodes_ = 0, numIncrements_ = 0, numResolvedCodes_ = 0;
+
+	/** Flight IDs, flight numbers and peak offsets of flights. */
+	private int[] flightIDs_ = new int[16], flightNums_ = new int[16], peakOffsets_ = new int[17];
+
+	/** Flight names and severities. */
+	private String[] flightNames_ = new String[16], severities_ = new String[16];
+
+	/** Flight validities and block sizes. */
+	private double[] validities_ = new double[16], blockSizes_ = new double[16];
+
+	/** Class code indices and ANA peak numbers of peaks. */
+	private int[] peakCodes_ = new int[1024], peakNums_ = new int[1024];
+
+	/** Delta-p and delta-t values of peaks. */
+	private double[] deltaP_ = new double[1024], deltaT_ = new double[1024];
+
+	/** Class codes, 1g codes and ISSY codes. */
+	private String[] classCodes_, onegCodes_ = new String[8], issyCodes_;
+
+	/** 1g code indices of class codes. */
+	private int[] classCodeOnegs_;
+
+	/** ISSY code slots of 1g codes. */
+	private int[] onegIssySlots_ = new int[8];
+
+	/** Events of 1g codes and increment load cases. */
+	private String[] onegEvents_ = new String[8], incrementEvents_ = new String[64];
+
+	/** Segments of 1g codes. */
+	private Segment[] segments_ = new Segment[8];
+
+	/** Increment offsets of class codes and ISSY code slots of increments. */
+	private int[] incrementOffsets_, incrementIssySlots_ = new int[64];
+
+	/** Factors of increments. */
+	private double[] incrementFactors_ = new double[64];
+
+	/** Class code indices, 1g code indices and ISSY code slots used during compilation. */
+	private HashMap<String, Integer> classCodeIndices_ = new HashMap<>(), onegCodeIndices_ = new HashMap<>(), issySlots_ = new HashMap<>();
+
+	/**
+	 * Creates compiled spectrum.
+	 *
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @param txtFileID
+	 *            TXT file ID.
+	 */
+	public CompiledSpectrum(int anaFileID, int txtFileID) {
+		anaFileID_ = anaFileID;
+		txtFileID_ = txtFileID;
+	}
+
+	/**
+	 * Adds flight to this spectrum. Peaks of the flight should be added right after this call.
+	 *
+	 * @param flightID
+	 *            ANA flight ID.
+	 * @param flightNum
+	 *            Flight number.
+	 * @param name
+	 *            Flight name.
+	 * @param severity
+	 *            Flight severity.
+	 * @param validity
+	 *            Flight validity.
+	 * @param blockSize
+	 *            Flight block size.
+	 */
+	public void addFlight(int flightID, int flightNum, String name, String severity, double validity, double blockSize) {
+
+		// grow arrays
+		if (numFlights_ == flightIDs_.length) {
+			int size = 2 * numFlights_;
+			flightIDs_ = Arrays.copyOf(flightIDs_, size);
+			flightNums_ = Arrays.copyOf(flightNums_, size);
+			peakOffsets_ = Arrays.copyOf(peakOffsets_, size + 1);
+			flightNames_ = Arrays.copyOf(flightNames_, size);
+			severities_ = Arrays.copyOf(severities_, size);
+			validities_ = Arrays.copyOf(validities_, size);
+			blockSizes_ = Arrays.copyOf(blockSizes_, size);
+		}
+
+		// add flight
+		flightIDs_[numFlights_] = flightID;
+		flightNums_[numFlights_] = flightNum;
+		flightNames_[numFlights_] = name;
+		severities_[numFlights_] = severity;
+		validities_[numFlights_] = validity;
+		blockSizes_[numFlights_] = blockSize;
+		peakOffsets_[numFlights_] = numPeaks_;
+		numFlights_++;
+		peakOffsets_[numFlights_] = numPeaks_;
+	}
+
+	/**
+	 * Adds peak to the last added flight.
+	 *
+	 * @param peakNum
+	 *            ANA peak number.
+	 * @param classCode
+	 *            14 digit class code.
+	 * @param deltaP
+	 *            Delta-p value.
+	 * @param deltaT
+	 *            Delta-t value.
+	 */
+	public void addPeak(int peakNum, String classCode, double deltaP, double deltaT) {
+
+		// grow arrays
+		if (numPeaks_ == peakCodes_.length) {
+			int size = 2 * numPeaks_;
+			peakCodes_ = Arrays.copyOf(peakCodes_, size);
+			peakNums_ = Arrays.copyOf(peakNums_, size);
+			deltaP_ = Arrays.copyOf(deltaP_, size);
+			deltaT_ = Arrays.copyOf(deltaT_, size);
+		}
+
+		// get class code index
+		Integer index = classCodeIndices_.get(classCode);
+		if (index == null) {
+			index = classCodeIndices_.size();
+			classCodeIndices_.put(classCode, index);
+		}
+
+		// add peak
+		peakCodes_[numPeaks_] = index;
+		peakNums_[numPeaks_] = peakNum;
+		deltaP_[numPeaks_] = deltaP;
+		deltaT_[numPeaks_] = deltaT;
+		numPeaks_++;
+		peakOffsets_[numFlights_] = numPeaks_;
+	}
+
+	/**
+	 * Returns class codes of the added peaks. This is called after all peaks are added, to resolve the load cases of the class codes.
+	 *
+	 * @return Class codes of the added peaks, ordered by class code index.
+	 */
+	public String[] getClassCodes() {
+		if (classCodes_ == null) {
+			classCodes_ = new String[classCodeIndices_.size()];
+			classCodeIndices_.forEach((code, index) -> classCodes_[index] = code);
+		}
+		return classCodes_;
+	}
+
+	/**
+	 * Sets 1g load case of the given 1g code. This is called after all peaks are added.
+	 *
+	 * @param onegCode
+	 *            4 digit 1g code.
+	 * @param issyCode
+	 *            ISSY code of the 1g load case. Can be null if the 1g code could not be found in the TXT file.
+	 * @param event
+	 *            Event (flight phase) of the 1g load case. Can be null.
+	 * @param segment
+	 *            Segment of the 1g load case.
+	 */
+	public void setOnegLoadcase(String onegCode, String issyCode, String event, Segment segment) {
+
+		// get 1g code index
+		Integer index = onegCodeIndices_.get(onegCode);
+		if (index == null) {
+
+			// grow arrays
+			if (numOnegCodes_ == onegCodes_.length) {
+				int size = 2 * numOnegCodes_;
+				onegCodes_ = Arrays.copyOf(onegCodes_, size);
+				onegIssySlots_ = Arrays.copyOf(onegIssySlots_, size);
+				onegEvents_ = Arrays.copyOf(onegEvents_, size);
+				segments_ = Arrays.copyOf(segments_, size);
+			}
+
+			// add 1g code
+			index = numOnegCodes_;
+			onegCodeIndices_.put(onegCode, index);
+			numOnegCodes_++;
+		}
+
+		// set load case
+		onegCodes_[index] = onegCode;
+		onegIssySlots_[index] = getIssySlot(issyCode);
+		onegEvents_[index] = event;
+		segments_[index] = segment;
+	}
+
+	/**
+	 * Adds increment load case to the class code being resolved. Class codes are resolved in class code index order, see {@link #completeClassCode()}.
+	 *
+	 * @param issyCode
+	 *            ISSY code of the increment load case.
+	 * @param event
+	 *            Event (flight phase) of the increment load case.
+	 * @param factor
+	 *            Increment factor.
+	 */
+	public void addIncrementLoadcase(String issyCode, String event, double factor) {
+
+		// grow arrays
+		if (numIncrements_ == incrementIssySlots_.length) {
+			int size = 2 * numIncrements_;
+			incrementIssySlots_ = Arrays.copyOf(incrementIssySlots_, size);
+			incrementFactors_ = Arrays.copyOf(incrementFactors_, size);
+			incrementEvents_ = Arrays.copyOf(incrementEvents_, size);
+		}
+
+		// add increment
+		incrementIssySlots_[numIncrements_] = getIssySlot(issyCode);
+		incrementEvents_[numIncrements_] = event;
+		incrementFactors_[numIncrements_] = factor;
+		numIncrements_++;
+	}
+
+	/**
+	 * Completes resolving increment load cases of the current class code and moves to the next class code.
+	 */
+	public void completeClassCode() {
+		if (incrementOffsets_ == null) {
+			incrementOffsets_ = new int[getClassCodes().length + 1];
+		}
+		numResolvedCodes_++;
+		incrementOffsets_[numResolvedCodes_] = numIncrements_;
+	}
+
+	/**
+	 * Completes compilation of this spectrum. All class codes should be resolved before this call. No flight, peak or load case can be added after this call.
+	 *
+	 * @throws Exception
+	 *             If not all class codes are resolved.
+	 */
+	public void compile() throws Exception {
+
+		// check class codes
+		int numCodes = getClassCodes().length;
+		if (numResolvedCodes_ != numCodes)
+			throw new Exception("Increments of " + (numCodes - numResolvedCodes_) + " class codes are not resolved.");
+		if (incrementOffsets_ == null) {
+			incrementOffsets_ = new int[1];
+		}
+
+		// set 1g codes of class codes
+		classCodeOnegs_ = new int[numCodes];
+		for (int i = 0; i < numCodes; i++) {
+			Integer oneg = onegCodeIndices_.get(classCodes_[i].substring(0, 4));
+			classCodeOnegs_[i] = oneg == null ? -1 : oneg;
+		}
+
+		// trim arrays
+		peakCodes_ = Arrays.copyOf(peakCodes_, numPeaks_);
+		peakNums_ = Arrays.copyOf(peakNums_, numPeaks_);
+		deltaP_ = Arrays.copyOf(deltaP_, numPeaks_);
+		deltaT_ = Arrays.copyOf(deltaT_, numPeaks_);
+		incrementIssySlots_ = Arrays.copyOf(incrementIssySlots_, numIncrements_);
+		incrementFactors_ = Arrays.copyOf(incrementFactors_, numIncrements_);
+		incrementEvents_ = Arrays.copyOf(incrementEvents_, numIncrements_);
+
+		// create ISSY codes
+		issyCodes_ = new String[issySlots_.size()];
+		issySlots_.forEach((code, slot) -> issyCodes_[slot] = code);
+
+		// release compilation mappings
+		classCodeIndices_ = null;
+		onegCodeIndices_ = null;
+		issySlots_ = null;
+	}
+
+	/**
+	 * Returns approximate memory size of this spectrum in bytes. This is used for bounding spectrum caches.
+	 *
+	 * @return Approximate memory size of this spectrum in bytes.
+	 */
+	public long getApproximateSize() {
+		long size = 24L * peakCodes_.length;
+		size += 80L * numFlights_;
+		size += 64L * (classCodes_ == null ? 0 : classCodes_.length);
+		size += 16L * incrementIssySlots_.length;
+		size += 56L * numOnegCodes_;
+		size += 48L * (issyCodes_ == null ? 0 : issyCodes_.length);
+		return size;
+	}
+
+	/**
+	 * Returns ANA file ID.
+	 *
+	 * @return ANA file ID.
+	 */
+	public int getANAFileID() {
+		return anaFileID_;
+	}
+
+	/**
+	 * Returns TXT file ID.
+	 *
+	 * @return TXT file ID.
+	 */
+	public int getTXTFileID() {
+		return txtFileID_;
+	}
+
+	/**
+	 * Returns number of flights.
+	 *
+	 * @return Number of flights.
+	 */
+	public int getNumberOfFlights() {
+		return numFlights_;
+	}
+
+	/**
+	 * Returns total number of peaks.
+	 *
+	 * @return Total number of peaks.
+	 */
+	public int getNumberOfPeaks() {
+		return numPeaks_;
+	}
+
+	/**
+	 * Returns ANA flight ID of the given flight.
+	 *
+	 * @param flight
+	 *            Flight index.
+	 * @return ANA flight ID.
+	 */
+	public int getFlightID(int flight) {
+		return flightIDs_[flight];
+	}
+
+	/**
+	 * Returns flight number of the given flight.
+	 *
+	 * @param flight
+	 *            Flight index.
+	 * @return Flight number.
+	 */
+	public int getFlightNumber(int flight) {
+		return flightNums_[flight];
+	}
+
+	/**
+	 * Returns name of the given flight.
+	 *
+	 * @param flight
+	 *            Flight index.
+	 * @return Flight name.
+	 */
+	public String getFlightName(int flight) {
+		return flightNames_[flight];
+	}
+
+	/**
+	 * Returns severity of the given flight.
+	 *
+	 * @param flight
+	 *            Flight index.
+	 * @return Flight severity.
+	 */
+	public String getSeverity(int flight) {
+		return severities_[flight];
+	}
+
+	/**
+	 * Returns validity of the given flight.
+	 *
+	 * @param flight
+	 *            Flight index.
+	 * @return Flight validity.
+	 */
+	public double getValidity(int flight) {
+		return validities_[flight];
+	}
+
+	/**
+	 * Returns block size of the given flight.
+	 *
+	 * @param flight
+	 *            Flight index.
+	 * @return Flight block size.
+	 */
+	public double getBlockSize(int flight) {
+		return blockSizes_[flight];
+	}
+
+	/**
+	 * Returns index of the first peak of the given flight.
+	 *
+	 * @param flight
+	 *            Flight index.
+	 * @return Index of the first peak of the flight.
+	 */
+	public int getFirstPeak(int flight) {
+		return peakOffsets_[flight];
+	}
+
+	/**
+	 * Returns number of peaks of the given flight.
+	 *
+	 * @param flight
+	 *            Flight index.
+	 * @return Number of peaks of the flight.
+	 */
+	public int getNumberOfPeaks(int flight) {
+		return peakOffsets_[flight + 1] - peakOffsets_[flight];
+	}
+
+	/**
+	 * Returns maximum number of peaks per flight.
+	 *
+	 * @return Maximum number of peaks per flight.
+	 */
+	public int getMaxPeaksPerFlight() {
+		int max = 0;
+		for (int i = 0; i < numFlights_; i++) {
+			max = Math.max(max, getNumberOfPeaks(i));
+		}
+		return max;
+	}
+
+	/**
+	 * Returns class code index of the given peak.
+	 *
+	 * @param peak
+	 *            Peak index.
+	 * @return Class code index.
+	 */
+	public int getClassCode(int peak) {
+		return peakCodes_[peak];
+	}
+
+	/**
+	 * Returns ANA peak number of the given peak.
+	 *
+	 * @param peak
+	 *            Peak index.
+	 * @return ANA peak number.
+	 */
+	public int getPeakNumber(int peak) {
+		return peakNums_[peak];
+	}
+
+	/**
+	 * Returns delta-p value of the given peak.
+	 *
+	 * @param peak
+	 *            Peak index.
+	 * @return Delta-p value.
+	 */
+	public double getDeltaP(int peak) {
+		return deltaP_[peak];
+	}
+
+	/**
+	 * Returns delta-t value of the given peak.
+	 *
+	 * @param peak
+	 *            Peak index.
+	 * @return Delta-t value.
+	 */
+	public double getDeltaT(int peak) {
+		return deltaT_[peak];
+	}
+
+	/**
+	 * Returns number of class codes.
+	 *
+	 * @return Number of class codes.
+	 */
+	public int getNumberOfClassCodes() {
+		return classCodes_.length;
+	}
+
+	/**
+	 * Returns 1g code index of the given class code, or -1 if 1g code could not be found in the TXT file.
+	 *
+	 * @param classCode
+	 *            Class code index.
+	 * @return 1g code index, or -1.
+	 */
+	public int getOnegCode(int classCode) {
+		return classCodeOnegs_[classCode];
+	}
+
+	/**
+	 * Returns number of 1g codes.
+	 *
+	 * @return Number of 1g codes.
+	 */
+	public int getNumberOfOnegCodes() {
+		return numOnegCodes_;
+	}
+
+	/**
+	 * Returns ISSY code slot of the given 1g code, or -1 if there is no 1g load case.
+	 *
+	 * @param onegCode
+	 *            1g code index.
+	 * @return ISSY code slot, or -1.
+	 */
+	public int getOnegIssySlot(int onegCode) {
+		return onegIssySlots_[onegCode];
+	}
+
+	/**
+	 * Returns event (flight phase) of the given 1g code, or null if there is no 1g load case.
+	 *
+	 * @param onegCode
+	 *            1g code index.
+	 * @return Event, or null.
+	 */
+	public String getOnegEvent(int onegCode) {
+		return onegEvents_[onegCode];
+	}
+
+	/**
+	 * Returns segment of the given 1g code.
+	 *
+	 * @param onegCode
+	 *            1g code index.
+	 * @return Segment.
+	 */
+	public Segment getSegment(int onegCode) {
+		return segments_[onegCode];
+	}
+
+	/**
+	 * Returns index of the first increment load case of the given class code.
+	 *
+	 * @param classCode
+	 *            Class code index.
+	 * @return Index of the first increment load case.
+	 */
+	public int getFirstIncrement(int classCode) {
+		return incrementOffsets_[classCode];
+	}
+
+	/**
+	 * Returns the index after the last increment load case of the given class code.
+	 *
+	 * @param classCode
+	 *            Class code index.
+	 * @return The index after the last increment load case.
+	 */
+	public int getEndIncrement(int classCode) {
+		return incrementOffsets_[classCode + 1];
+	}
+
+	/**
+	 * Returns total number of increment load cases of all class codes.
+	 *
+	 * @return Number of increment load cases.
+	 */
+	public int getNumberOfIncrements() {
+		return numIncrements_;
+	}
+
+	/**
+	 * Returns ISSY code slot of the given increment load case.
+	 *
+	 * @param increment
+	 *            Increment load case index.
+	 * @return ISSY code slot.
+	 */
+	public int getIncrementIssySlot(int increment) {
+		return incrementIssySlots_[increment];
+	}
+
+	/**
+	 * Returns factor of the given increment load case.
+	 *
+	 * @param increment
+	 *            Increment load case index.
+	 * @return Increment factor.
+	 */
+	public double getIncrementFactor(int increment) {
+		return incrementFactors_[increment];
+	}
+
+	/**
+	 * Returns event (flight phase) of the given increment load case.
+	 *
+	 * @param increment
+	 *            Increment load case index.
+	 * @return Event.
+	 */
+	public String getIncrementEvent(int increment) {
+		return incrementEvents_[increment];
+	}
+
+	/**
+	 * Returns ISSY code of the given ISSY code slot, or null for -1.
+	 *
+	 * @param slot
+	 *            ISSY code slot.
+	 * @return ISSY code, or null.
+	 */
+	public String getIssyCode(int slot) {
+		return slot == -1 ? null : issyCodes_[slot];
+	}
+
+	/**
+	 * Returns ISSY codes of this spectrum, ordered by ISSY code slot.
+	 *
+	 * @return ISSY codes.
+	 */
+	public String[] getIssyCodes() {
+		return issyCodes_;
+	}
+
+	/**
+	 * Returns ISSY code slot of the given ISSY code, or -1 if null is given. This is used during compilation.
+	 *
+	 * @param issyCode
+	 *            ISSY code.
+	 * @return ISSY code slot, or -1.
+	 */
+	private int getIssySlot(String issyCode) {
+		if (issyCode == null)
+			return -1;
+		Integer slot = issySlots_.get(issyCode);
+		if (slot == null) {
+			slot = issySlots_.size();
+			issySlots_.put(issyCode, slot);
+		}
+		return slot;
+	}
+}
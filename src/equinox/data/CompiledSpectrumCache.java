@@ -0,0 +1,330 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Class for compiled spectrum cache. The cache is shared by all running tasks. Spectra are keyed by ANA, TXT and conversion table file IDs and are reference counted. Spectra which are not in use are
+ * evicted in least recently used order when the total size of the cache exceeds its limit.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 14:12:36
+ */
+public class CompiledSpectrumCache {
+
+	/** Maximum size of cache in bytes. */
+	private final long maxSize_;
+
+	/** Cache entries in access order. */
+	private final LinkedHashMap<String, Entry> entries_ = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Current size of cache in bytes. */
+	private long size_ = 0L;
+
+	/** Cache statistics. */
+	private long hits_ = 0L, misses_ = 0L, evictions_ = 0L;
+
+	/**
+	 * Creates compiled spectrum cache.
+	 *
+	 * @param maxSize
+	 *            Maximum size of cache in bytes. Spectra in use are never evicted, even if this limit is exceeded.
+	 */
+	public CompiledSpectrumCache(long maxSize) {
+		maxSize_ = maxSize;
+	}
+
+	/**
+	 * Acquires the compiled spectrum with the given file IDs. If the spectrum is not in the cache, it is compiled with the given compiler. If another task is already compiling the same spectrum, this
+	 * call waits for it to complete. The returned lease must be closed when the spectrum is no longer used.
+	 *
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @param txtFileID
+	 *            TXT file ID.
+	 * @param convTableID
+	 *            Conversion table ID.
+	 * @param compiler
+	 *            Spectrum compiler. This is called only on cache miss. It can return null if the compilation is cancelled.
+	 * @return Spectrum lease. Spectrum of the lease is null if the compilation is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during compilation.
+	 */
+	public Lease acquire(int anaFileID, int txtFileID, int convTableID, Callable<CompiledSpectrum> compiler) throws Exception {
+
+		// create key
+		String key = anaFileID + "_" + txtFileID + "_" + convTableID;
+
+		// loop until spectrum is acquired
+		while (true) {
+
+			// get or create entry
+			Entry entry = null;
+			boolean compile = false;
+			synchronized (this) {
+				entry = entries_.get(key);
+				if (entry == null) {
+					entry = new Entry(key);
+					entries_.put(key, entry);
+					compile = true;
+					misses_++;
+				}
+				else {
+					hits_++;
+				}
+				entry.refCount_++;
+			}
+
+			// compile spectrum
+			if (compile) {
+				CompiledSpectrum spectrum = null;
+				try {
+					spectrum = compiler.call();
+				}
+				finally {
+					complete(entry, spectrum);
+				}
+				return new Lease(entry);
+			}
+
+			// wait for compilation of another task
+			entry.latch_.await();
+			if (entry.spectrum_ != null)
+				return new Lease(entry);
+
+			// compilation of other task failed (retry)
+			synchronized (this) {
+				entry.refCount_--;
+			}
+		}
+	}
+
+	/**
+	 * Removes the spectrum with the given file IDs from the cache. This should be called when the spectrum is deleted. Tasks holding a lease on the spectrum can still use it until the lease is
+	 * closed.
+	 *
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @param txtFileID
+	 *            TXT file ID.
+	 * @param convTableID
+	 *            Conversion table ID.
+	 */
+	synchronized public void remove(int anaFileID, int txtFileID, int convTableID) {
+		Entry entry = entries_.remove(anaFileID + "_" + txtFileID + "_" + convTableID);
+		if ((entry != null) && (entry.spectrum_ != null)) {
+			size_ -= entry.size_;
+			evictions_++;
+		}
+	}
+
+	/**
+	 * Removes all spectra which are not in use from the cache.
+	 */
+	synchronized public void clear() {
+		Iterator<Entry> iterator = entries_.values().iterator();
+		while (iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if ((entry.refCount_ == 0) && (entry.spectrum_ != null)) {
+				size_ -= entry.size_;
+				evictions_++;
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Returns number of cache hits.
+	 *
+	 * @return Number of cache hits.
+	 */
+	synchronized public long getHits() {
+		return hits_;
+	}
+
+	/**
+	 * Returns number of cache misses.
+	 *
+	 * @return Number of cache misses.
+	 */
+	synchronized public long getMisses() {
+		return misses_;
+	}
+
+	/**
+	 * Returns number of evicted spectra.
+	 *
+	 * @return Number of evicted spectra.
+	 */
+	synchronized public long getEvictions() {
+		return evictions_;
+	}
+
+	/**
+	 * Returns current size of cache in bytes.
+	 *
+	 * @return Current size of cache in bytes.
+	 */
+	synchronized public long getSize() {
+		return size_;
+	}
+
+	@Override
+	synchronized public String toString() {
+		return "Compiled spectrum cache (entries: " + entries_.size() + ", size: " + size_ / 1024 + "KB, hits: " + hits_ + ", misses: " + misses_ + ", evictions: " + evictions_ + ")";
+	}
+
+	/**
+	 * Completes compilation of the given entry.
+	 *
+	 * @param entry
+	 *            Cache entry.
+	 * @param spectrum
+	 *            Compiled spectrum. Null if compilation failed or cancelled.
+	 */
+	synchronized private void complete(Entry entry, CompiledSpectrum spectrum) {
+
+		// compilation failed
+		if (spectrum == null) {
+			entries_.remove(entry.key_, entry);
+		}
+
+		// spectrum removed during compilation (not cached)
+		else if (entries_.get(entry.key_) != entry) {
+			entry.spectrum_ = spectrum;
+		}
+
+		// compilation succeeded
+		else {
+			entry.spectrum_ = spectrum;
+			entry.size_ = spectrum.getApproximateSize();
+			size_ += entry.size_;
+			evict();
+		}
+
+		// notify waiting tasks
+		entry.latch_.countDown();
+	}
+
+	/**
+	 * Releases the given entry.
+	 *
+	 * @param entry
+	 *            Cache entry.
+	 */
+	synchronized private void release(Entry entry) {
+		entry.refCount_--;
+		evict();
+	}
+
+	/**
+	 * Evicts spectra which are not in use in least recently used order, until the cache size is within its limit.
+	 */
+	private void evict() {
+		Iterator<Entry> iterator = entries_.values().iterator();
+		while ((size_ > maxSize_) && iterator.hasNext()) {
+			Entry entry = iterator.next();
+			if ((entry.refCount_ == 0) && (entry.spectrum_ != null)) {
+				size_ -= entry.size_;
+				evictions_++;
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Class for compiled spectrum lease. Lease should be closed when the spectrum is no longer used.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 14:12:36
+	 */
+	public class Lease implements AutoCloseable {
+
+		/** Cache entry. */
+		private final Entry entry_;
+
+		/** True if the lease is closed. */
+		private boolean isClosed_ = false;
+
+		/**
+		 * Creates spectrum lease.
+		 *
+		 * @param entry
+		 *            Cache entry.
+		 */
+		private Lease(Entry entry) {
+			entry_ = entry;
+		}
+
+		/**
+		 * Returns the compiled spectrum, or null if the compilation is cancelled.
+		 *
+		 * @return The compiled spectrum, or null if the compilation is cancelled.
+		 */
+		public CompiledSpectrum getSpectrum() {
+			return entry_.spectrum_;
+		}
+
+		@Override
+		public void close() {
+			if (isClosed_)
+				return;
+			isClosed_ = true;
+			release(entry_);
+		}
+	}
+
+	/**
+	 * Inner class for cache entry.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 14:12:36
+	 */
+	private static class Entry {
+
+		/** Cache key. */
+		private final String key_;
+
+		/** Latch to wait for compilation. */
+		private final CountDownLatch latch_ = new CountDownLatch(1);
+
+		/** Compiled spectrum. */
+		private volatile CompiledSpectrum spectrum_;
+
+		/** Size of spectrum in bytes. */
+		private long size_ = 0L;
+
+		/** Number of leases. */
+		private int refCount_ = 0;
+
+		/**
+		 * Creates cache entry.
+		 *
+		 * @param key
+		 *            Cache key.
+		 */
+		public Entry(String key) {
+			key_ = key;
+		}
+	}
+}
@@ -26,7 +26,8 @@ public enum ElementStress {
 
 	/** Element stress type. */
 	SX("Normal stress X", "sx", "sx"), SY("Normal stress Y", "sy", "sy"), SXY("Shear stress XY", "sxy", "sxy"), MAX_PRINCIPAL(
-			"Maximum principal stress", getPrincipal(true), "maxprin"), MIN_PRINCIPAL("Minimum principal stress", getPrincipal(false), "minprin");
+			"Maximum principal stress", getPrincipal(true), "maxprin"), MIN_PRINCIPAL("Minimum principal stress", getPrincipal(false), "minprin"), VON_MISES("Von Mises stress",
+					getVonMises(), "vonmises"), MAX_ABS_PRINCIPAL("Maximum absolute principal stress", getMaxAbsPrincipal(), "absmaxprin");
 
 	/** Name of element stress. */
 	private final String name_, dbSelectString_, resultSetColName_;
@@ -74,6 +75,44 @@ public enum ElementStress {
 		return resultSetColName_;
 	}
 
+	/**
+	 * Returns true if this stress is derived from the in-plane stress components. Derived stresses are not defined for BEAM and ROD elements.
+	 *
+	 * @return True if this stress is derived from the in-plane stress components.
+	 */
+	public boolean isDerived() {
+		return ordinal() > SXY.ordinal();
+	}
+
+	/**
+	 * Computes this stress from the given stress components.
+	 *
+	 * @param sx
+	 *            Normal stress X.
+	 * @param sy
+	 *            Normal stress Y.
+	 * @param sxy
+	 *            Shear stress XY.
+	 * @return This stress.
+	 */
+	public double compute(double sx, double sy, double sxy) {
+		double a = 0.5 * (sx + sy);
+		double b = Math.sqrt(0.25 * (sx - sy) * (sx - sy) + sxy * sxy);
+		if (this.equals(SX))
+			return sx;
+		else if (this.equals(SY))
+			return sy;
+		else if (this.equals(SXY))
+			return sxy;
+		else if (this.equals(MAX_PRINCIPAL))
+			return a + b;
+		else if (this.equals(MIN_PRINCIPAL))
+			return a - b;
+		else if (this.equals(VON_MISES))
+			return Math.sqrt(sx * sx - sx * sy + sy * sy + 3.0 * sxy * sxy);
+		return Math.abs(a) + b;
+	}
+
 	@Override
 	public String toString() {
 		return name_;
@@ -96,4 +135,24 @@ public enum ElementStress {
 		String min = "minimum(" + sigma1 + ", " + sigma2 + ") as minprin";
 		return isMax ? max : min;
 	}
+
+	/**
+	 * Returns von Mises stress.
+	 *
+	 * @return Von Mises stress.
+	 */
+	private static String getVonMises() {
+		return "sqrt(sx * sx - sx * sy + sy * sy + 3.0 * sxy * sxy) as vonmises";
+	}
+
+	/**
+	 * Returns maximum absolute principal stress.
+	 *
+	 * @return Maximum absolute principal stress.
+	 */
+	private static String getMaxAbsPrincipal() {
+		String a = "abs(0.5 * (sx + sy))";
+		String b = "sqrt(power(0.5 * (sx - sy), 2.0) + power(sxy, 2.0))";
+		return a + " + " + b + " as absmaxprin";
+	}
 }
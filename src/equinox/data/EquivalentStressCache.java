@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.sql.Connection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+/**
+ * Class for A/C model equivalent stress cache. The cache is shared by all life factor and equivalent stress ratio tasks. Equivalent stress tables are read from the database on first access with a
+ * single query, and are evicted in least recently used order when the total size of the cache exceeds its limit.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 18:44:20
+ */
+public class EquivalentStressCache {
+
+	/** Maximum size of cache in bytes. */
+	private final long maxSize_;
+
+	/** Equivalent stress tables mapped to A/C model IDs and equivalent stress names in access order. */
+	private final LinkedHashMap<String, AircraftEquivalentStressTable> tables_ = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Current size of cache in bytes. */
+	private long size_ = 0L;
+
+	/** Cache statistics. */
+	private long hits_ = 0L, misses_ = 0L, evictions_ = 0L;
+
+	/**
+	 * Creates A/C model equivalent stress cache.
+	 *
+	 * @param maxSize
+	 *            Maximum size of cache in bytes.
+	 */
+	public EquivalentStressCache(long maxSize) {
+		maxSize_ = maxSize;
+	}
+
+	/**
+	 * Returns the table of the given A/C model equivalent stress. The table is read from the database on first access.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @param name
+	 *            Equivalent stress name.
+	 * @return The table of the given A/C model equivalent stress.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public AircraftEquivalentStressTable get(Connection connection, int modelID, String name) throws Exception {
+
+		// get from cache
+		String key = getKey(modelID, name);
+		synchronized (this) {
+			AircraftEquivalentStressTable table = tables_.get(key);
+			if (table != null) {
+				hits_++;
+				return table;
+			}
+			misses_++;
+		}
+
+		// read table
+		AircraftEquivalentStressTable table = new AircraftEquivalentStressTable(connection, modelID, name);
+
+		// add to cache
+		synchronized (this) {
+			AircraftEquivalentStressTable existing = tables_.putIfAbsent(key, table);
+			if (existing != null)
+				return existing;
+			size_ += table.getApproximateSize();
+			evict(key);
+			return table;
+		}
+	}
+
+	/**
+	 * Removes all equivalent stress tables of the given A/C model from the cache. This should be called when an equivalent stress of the A/C model is deleted or renamed, or when the A/C model is
+	 * deleted.
+	 *
+	 * @param modelID
+	 *            A/C model ID.
+	 */
+	synchronized public void remove(int modelID) {
+		Iterator<AircraftEquivalentStressTable> iterator = tables_.values().iterator();
+		while (iterator.hasNext()) {
+			AircraftEquivalentStressTable table = iterator.next();
+			if (table.getModelID() == modelID) {
+				size_ -= table.getApproximateSize();
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all equivalent stress tables from the cache. This should be called when the workspace is changed or reset.
+	 */
+	synchronized public void clear() {
+		tables_.clear();
+		size_ = 0L;
+	}
+
+	@Override
+	synchronized public String toString() {
+		return "A/C model equivalent stress cache (tables: " + tables_.size() + ", size: " + size_ / 1024 + "KB, hits: " + hits_ + ", misses: " + misses_ + ", evictions: " + evictions_ + ")";
+	}
+
+	/**
+	 * Evicts equivalent stress tables in least recently used order, until the cache size is within its limit. The table with the given key is never evicted.
+	 *
+	 * @param key
+	 *            Key of the table to keep.
+	 */
+	private void evict(String key) {
+		Iterator<Entry<String, AircraftEquivalentStressTable>> iterator = tables_.entrySet().iterator();
+		while ((size_ > maxSize_) && iterator.hasNext()) {
+			Entry<String, AircraftEquivalentStressTable> entry = iterator.next();
+			if (entry.getKey().equals(key)) {
+				continue;
+			}
+			size_ -= entry.getValue().getApproximateSize();
+			evictions_++;
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Returns the cache key of the given A/C model equivalent stress.
+	 *
+	 * @param modelID
+	 *            A/C model ID.
+	 * @param name
+	 *            Equivalent stress name.
+	 * @return Cache key.
+	 */
+	private static String getKey(int modelID, String name) {
+		return modelID + "/" + name;
+	}
+}
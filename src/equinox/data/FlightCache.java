@@ -0,0 +1,418 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import equinox.data.PeakStore.Column;
+import equinox.data.fileType.Flight;
+
+/**
+ * Class for typical flight cache. The cache is shared by all running tasks. It holds the flight indices of stress sequences and the decoded peaks of recently used typical flights. Peaks are read
+ * from the peak store when available, otherwise from the database in a single ordered query per flight. Decoded flights are evicted in least recently used order when the total size of the cache
+ * exceeds its limit.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 00:41:27
+ */
+public class FlightCache {
+
+	/** Stress columns of decoded flights. */
+	private static final Column[] STRESS_COLUMNS = { Column.PEAK_VAL, Column.ONEG_STRESS, Column.INC_STRESS, Column.DP_STRESS, Column.DT_STRESS };
+
+	/** Maximum size of cache in bytes. */
+	private final long maxSize_;
+
+	/** Flight indices mapped to stress sequence IDs. */
+	private final HashMap<Integer, FlightIndex> indices_ = new HashMap<>();
+
+	/** Decoded flights in access order. */
+	private final LinkedHashMap<Long, Peaks> flights_ = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Current size of cache in bytes. */
+	private long size_ = 0L;
+
+	/** Cache statistics. */
+	private long hits_ = 0L, misses_ = 0L, evictions_ = 0L;
+
+	/**
+	 * Creates typical flight cache.
+	 *
+	 * @param maxSize
+	 *            Maximum size of cache in bytes.
+	 */
+	public FlightCache(long maxSize) {
+		maxSize_ = maxSize;
+	}
+
+	/**
+	 * Returns the flight index of the given stress sequence. The index is built from the database on first access.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param sthID
+	 *            Stress sequence ID.
+	 * @return The flight index of the given stress sequence.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public FlightIndex getIndex(Connection connection, int sthID) throws Exception {
+
+		// get from cache
+		synchronized (this) {
+			FlightIndex index = indices_.get(sthID);
+			if (index != null)
+				return index;
+		}
+
+		// build index
+		FlightIndex index = new FlightIndex(connection, sthID);
+
+		// add to cache
+		synchronized (this) {
+			FlightIndex existing = indices_.putIfAbsent(sthID, index);
+			if (existing != null)
+				return existing;
+			size_ += index.getApproximateSize();
+			evict();
+			return index;
+		}
+	}
+
+	/**
+	 * Returns the decoded peaks of the given typical flight.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param flight
+	 *            Typical flight.
+	 * @return The decoded peaks of the given typical flight.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Peaks getPeaks(Connection connection, Flight flight) throws Exception {
+		return getPeaks(connection, flight.getParentItem().getParentItem().getID(), flight.getID());
+	}
+
+	/**
+	 * Returns the decoded peaks of the given typical flight.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param sthID
+	 *            Stress sequence ID.
+	 * @param flightID
+	 *            Flight ID.
+	 * @return The decoded peaks of the given typical flight.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Peaks getPeaks(Connection connection, int sthID, int flightID) throws Exception {
+
+		// get from cache
+		Long key = ((long) sthID << 32) | (flightID & 0xffffffffL);
+		synchronized (this) {
+			Peaks peaks = flights_.get(key);
+			if (peaks != null) {
+				hits_++;
+				return peaks;
+			}
+			misses_++;
+		}
+
+		// decode flight
+		Peaks peaks = readFromPeakStore(sthID, flightID);
+		if (peaks == null) {
+			peaks = readFromDatabase(connection, sthID, flightID);
+		}
+
+		// add to cache
+		synchronized (this) {
+			Peaks existing = flights_.putIfAbsent(key, peaks);
+			if (existing != null)
+				return existing;
+			size_ += peaks.getApproximateSize();
+			evict();
+			return peaks;
+		}
+	}
+
+	/**
+	 * Removes the flight index and decoded flights of the given stress sequence from the cache. This should be called when the stress sequence is deleted.
+	 *
+	 * @param sthID
+	 *            Stress sequence ID.
+	 */
+	synchronized public void remove(int sthID) {
+
+		// remove index
+		FlightIndex index = indices_.remove(sthID);
+		if (index != null) {
+			size_ -= index.getApproximateSize();
+		}
+
+		// remove decoded flights
+		Iterator<Entry<Long, Peaks>> iterator = flights_.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Entry<Long, Peaks> entry = iterator.next();
+			if ((int) (entry.getKey() >>> 32) == sthID) {
+				size_ -= entry.getValue().getApproximateSize();
+				iterator.remove();
+			}
+		}
+	}
+
+	/**
+	 * Removes all flight indices and decoded flights from the cache. This should be called when the workspace is changed or reset.
+	 */
+	synchronized public void clear() {
+		indices_.clear();
+		flights_.clear();
+		size_ = 0L;
+	}
+
+	/**
+	 * Returns the number of decoded flights in the cache.
+	 *
+	 * @return The number of decoded flights in the cache.
+	 */
+	synchronized int getNumberOfFlights() {
+		return flights_.size();
+	}
+
+	@Override
+	synchronized public String toString() {
+		return "Typical flight cache (indices: " + indices_.size() + ", flights: " + flights_.size() + ", size: " + size_ / 1024 + "KB, hits: " + hits_ + ", misses: " + misses_ + ", evictions: " + evictions_ + ")";
+	}
+
+	/**
+	 * Evicts decoded flights in least recently used order, until the cache size is within its limit.
+	 */
+	private void evict() {
+		Iterator<Peaks> iterator = flights_.values().iterator();
+		while ((size_ > maxSize_) && iterator.hasNext()) {
+			size_ -= iterator.next().getApproximateSize();
+			evictions_++;
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Reads peaks of the given flight from the peak store.
+	 *
+	 * @param sthID
+	 *            Stress sequence ID.
+	 * @param flightID
+	 *            Flight ID.
+	 * @return Decoded peaks, or null if the peak store has no segment for the flight.
+	 */
+	private static Peaks readFromPeakStore(int sthID, int flightID) {
+
+		// open peak store segment
+		try (PeakStore.Reader peakStore = PeakStore.openSTH(sthID)) {
+
+			// no segment for flight
+			if (peakStore == null || peakStore.getNumberOfPeaks(flightID) < 0)
+				return null;
+
+			// read columns
+			Peaks peaks = new Peaks(peakStore.getInts(flightID, Column.PEAK_NUM));
+			for (int i = 0; i < STRESS_COLUMNS.length; i++) {
+				peaks.stresses_[i] = peakStore.getDoubles(flightID, STRESS_COLUMNS[i]);
+			}
+			peaks.segmentNums_ = peakStore.getInts(flightID, Column.SEGMENT_NUM);
+			int[] segments = peakStore.getInts(flightID, Column.SEGMENT);
+			for (int i = 0; i < segments.length; i++) {
+				peaks.segments_[i] = peakStore.getString(segments[i]);
+			}
+			return peaks;
+		}
+	}
+
+	/**
+	 * Reads peaks of the given flight from the database.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param sthID
+	 *            Stress sequence ID.
+	 * @param flightID
+	 *            Flight ID.
+	 * @return Decoded peaks.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static Peaks readFromDatabase(Connection connection, int sthID, int flightID) throws Exception {
+
+		// create query
+		String sql = "select peak_num, segment, segment_num";
+		for (Column column : STRESS_COLUMNS) {
+			sql += ", " + column.name().toLowerCase();
+		}
+		sql += " from sth_peaks_" + sthID + " where flight_id = ? order by peak_num";
+
+		// execute query
+		int numPeaks = 0, capacity = 256;
+		int[] peakNums = new int[capacity], segmentNums = new int[capacity];
+		double[][] stresses = new double[STRESS_COLUMNS.length][capacity];
+		String[] segments = new String[capacity];
+		HashMap<String, String> names = new HashMap<>();
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setInt(1, flightID);
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+
+					// grow arrays
+					if (numPeaks == capacity) {
+						capacity *= 2;
+						peakNums = Arrays.copyOf(peakNums, capacity);
+						segmentNums = Arrays.copyOf(segmentNums, capacity);
+						segments = Arrays.copyOf(segments, capacity);
+						for (int i = 0; i < stresses.length; i++) {
+							stresses[i] = Arrays.copyOf(stresses[i], capacity);
+						}
+					}
+
+					// add peak (segment names are shared)
+					peakNums[numPeaks] = resultSet.getInt("peak_num");
+					segmentNums[numPeaks] = resultSet.getInt("segment_num");
+					String segment = resultSet.getString("segment");
+					segments[numPeaks] = segment == null ? null : names.computeIfAbsent(segment, s -> s);
+					for (int i = 0; i < STRESS_COLUMNS.length; i++) {
+						stresses[i][numPeaks] = resultSet.getDouble(STRESS_COLUMNS[i].name().toLowerCase());
+					}
+					numPeaks++;
+				}
+			}
+		}
+
+		// create peaks
+		Peaks peaks = new Peaks(Arrays.copyOf(peakNums, numPeaks));
+		peaks.segmentNums_ = Arrays.copyOf(segmentNums, numPeaks);
+		System.arraycopy(segments, 0, peaks.segments_, 0, numPeaks);
+		for (int i = 0; i < stresses.length; i++) {
+			peaks.stresses_[i] = Arrays.copyOf(stresses[i], numPeaks);
+		}
+		return peaks;
+	}
+
+	/**
+	 * Inner class for decoded peaks of a typical flight. Peaks are in ascending peak number order. Arrays returned by this class are shared and must not be modified.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 00:41:27
+	 */
+	public static class Peaks {
+
+		/** Peak numbers. */
+		private final int[] peakNums_;
+
+		/** Stress columns. */
+		private final double[][] stresses_ = new double[STRESS_COLUMNS.length][];
+
+		/** Segment names. */
+		private final String[] segments_;
+
+		/** Segment numbers. */
+		private int[] segmentNums_;
+
+		/**
+		 * Creates decoded peaks.
+		 *
+		 * @param peakNums
+		 *            Peak numbers.
+		 */
+		private Peaks(int[] peakNums) {
+			peakNums_ = peakNums;
+			segments_ = new String[peakNums.length];
+		}
+
+		/**
+		 * Returns number of peaks.
+		 *
+		 * @return Number of peaks.
+		 */
+		public int getNumberOfPeaks() {
+			return peakNums_.length;
+		}
+
+		/**
+		 * Returns peak numbers.
+		 *
+		 * @return Peak numbers.
+		 */
+		public int[] getPeakNumbers() {
+			return peakNums_;
+		}
+
+		/**
+		 * Returns the values of the given stress column.
+		 *
+		 * @param column
+		 *            Stress column (total, 1g, increment, delta-p or delta-t stress).
+		 * @return The values of the given stress column.
+		 * @throws IllegalArgumentException
+		 *             If the column is not a stress column.
+		 */
+		public double[] getStresses(Column column) {
+			for (int i = 0; i < STRESS_COLUMNS.length; i++) {
+				if (STRESS_COLUMNS[i].equals(column))
+					return stresses_[i];
+			}
+			throw new IllegalArgumentException("Column '" + column + "' is not a stress column.");
+		}
+
+		/**
+		 * Returns segment name of the given peak.
+		 *
+		 * @param index
+		 *            Peak index.
+		 * @return Segment name.
+		 */
+		public String getSegment(int index) {
+			return segments_[index];
+		}
+
+		/**
+		 * Returns segment number of the given peak.
+		 *
+		 * @param index
+		 *            Peak index.
+		 * @return Segment number.
+		 */
+		public int getSegmentNumber(int index) {
+			return segmentNums_[index];
+		}
+
+		/**
+		 * Returns approximate size of the decoded peaks in bytes.
+		 *
+		 * @return Approximate size of the decoded peaks in bytes.
+		 */
+		private long getApproximateSize() {
+			return 64L + peakNums_.length * (8L + 4L + 4L + 8L * STRESS_COLUMNS.length);
+		}
+	}
+}
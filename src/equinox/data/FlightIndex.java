@@ -0,0 +1,268 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Class for typical flight index of a stress sequence. The index holds the position (peak offset and number of peaks) and the precomputed statistics of all typical flights of the sequence in flight
+ * number order, so that flight selection (such as longest, highest occurring or highest stress flight) is a lookup instead of a database query.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 00:41:27
+ */
+public class FlightIndex {
+
+	/**
+	 * Enumeration for typical flight attribute. Attribute names are the same as the columns of STH flights table.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 00:41:27
+	 */
+	public enum Attribute {
+
+		/** Attribute. */
+		NUM_PEAKS, VALIDITY, MAX_VAL, MIN_VAL, MAX_1G, MIN_1G, MAX_INC, MIN_INC, MAX_DP, MIN_DP, MAX_DT, MIN_DT;
+
+		/**
+		 * Returns the column name of the attribute in STH flights table.
+		 *
+		 * @return The column name of the attribute in STH flights table.
+		 */
+		public String getColumnName() {
+			return name().toLowerCase();
+		}
+	}
+
+	/** Stress sequence ID. */
+	private final int sthID_;
+
+	/** Index entries in flight number order. */
+	private final ArrayList<Entry> entries_ = new ArrayList<>();
+
+	/** Mapping between flight IDs and index entries. */
+	private final HashMap<Integer, Entry> flights_ = new HashMap<>();
+
+	/** Total number of peaks of the sequence. */
+	private long numPeaks_ = 0L;
+
+	/**
+	 * Creates typical flight index by reading the flights of the given stress sequence from the database.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param sthID
+	 *            Stress sequence ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public FlightIndex(Connection connection, int sthID) throws Exception {
+
+		// set sequence ID
+		sthID_ = sthID;
+
+		// create query
+		String sql = "select flight_id, name";
+		for (Attribute attribute : Attribute.values()) {
+			sql += ", " + attribute.getColumnName();
+		}
+		sql += " from sth_flights where file_id = " + sthID + " order by flight_num";
+
+		// execute query
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery(sql)) {
+				while (resultSet.next()) {
+
+					// create entry
+					Entry entry = new Entry(resultSet.getInt("flight_id"), resultSet.getString("name"), numPeaks_);
+					for (Attribute attribute : Attribute.values()) {
+						double value = resultSet.getDouble(attribute.getColumnName());
+						entry.attributes_[attribute.ordinal()] = resultSet.wasNull() ? Double.NaN : value;
+					}
+
+					// add entry
+					entries_.add(entry);
+					flights_.put(entry.flightID_, entry);
+					numPeaks_ += entry.getNumberOfPeaks();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns stress sequence ID.
+	 *
+	 * @return Stress sequence ID.
+	 */
+	public int getSequenceID() {
+		return sthID_;
+	}
+
+	/**
+	 * Returns index entries in flight number order.
+	 *
+	 * @return Index entries in flight number order.
+	 */
+	public List<Entry> getEntries() {
+		return Collections.unmodifiableList(entries_);
+	}
+
+	/**
+	 * Returns the index entry of the given flight.
+	 *
+	 * @param flightID
+	 *            Flight ID.
+	 * @return The index entry of the given flight, or null if the flight is not in the sequence.
+	 */
+	public Entry getEntry(int flightID) {
+		return flights_.get(flightID);
+	}
+
+	/**
+	 * Returns the total number of peaks of the sequence.
+	 *
+	 * @return The total number of peaks of the sequence.
+	 */
+	public long getNumberOfPeaks() {
+		return numPeaks_;
+	}
+
+	/**
+	 * Returns the flight with the maximum or minimum value of the given attribute. Flights without a value for the attribute are ignored. In case of equal values, the flight with the lowest flight
+	 * number is returned.
+	 *
+	 * @param attribute
+	 *            Flight attribute.
+	 * @param isMax
+	 *            True to return the flight with the maximum value, false for minimum.
+	 * @return The selected flight entry, or null if no flight has a value for the attribute.
+	 */
+	public Entry select(Attribute attribute, boolean isMax) {
+		Entry selected = null;
+		for (Entry entry : entries_) {
+			double value = entry.getAttribute(attribute);
+			if (Double.isNaN(value)) {
+				continue;
+			}
+			if ((selected == null) || (isMax ? value > selected.getAttribute(attribute) : value < selected.getAttribute(attribute))) {
+				selected = entry;
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Returns approximate size of the index in bytes.
+	 *
+	 * @return Approximate size of the index in bytes.
+	 */
+	public long getApproximateSize() {
+		return entries_.size() * (64L + 8L * Attribute.values().length);
+	}
+
+	/**
+	 * Inner class for typical flight index entry.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 00:41:27
+	 */
+	public static class Entry {
+
+		/** Flight ID. */
+		private final int flightID_;
+
+		/** Flight name. */
+		private final String name_;
+
+		/** Offset of the first peak of the flight within the sequence. */
+		private final long offset_;
+
+		/** Attribute values (NaN if not available). */
+		private final double[] attributes_ = new double[Attribute.values().length];
+
+		/**
+		 * Creates typical flight index entry.
+		 *
+		 * @param flightID
+		 *            Flight ID.
+		 * @param name
+		 *            Flight name.
+		 * @param offset
+		 *            Offset of the first peak of the flight within the sequence.
+		 */
+		private Entry(int flightID, String name, long offset) {
+			flightID_ = flightID;
+			name_ = name;
+			offset_ = offset;
+		}
+
+		/**
+		 * Returns flight ID.
+		 *
+		 * @return Flight ID.
+		 */
+		public int getFlightID() {
+			return flightID_;
+		}
+
+		/**
+		 * Returns flight name.
+		 *
+		 * @return Flight name.
+		 */
+		public String getName() {
+			return name_;
+		}
+
+		/**
+		 * Returns the offset of the first peak of the flight within the sequence.
+		 *
+		 * @return The offset of the first peak of the flight within the sequence.
+		 */
+		public long getOffset() {
+			return offset_;
+		}
+
+		/**
+		 * Returns number of peaks of the flight.
+		 *
+		 * @return Number of peaks of the flight.
+		 */
+		public int getNumberOfPeaks() {
+			return (int) attributes_[Attribute.NUM_PEAKS.ordinal()];
+		}
+
+		/**
+		 * Returns the value of the given attribute.
+		 *
+		 * @param attribute
+		 *            Flight attribute.
+		 * @return The value of the given attribute, or NaN if not available.
+		 */
+		public double getAttribute(Attribute attribute) {
+			return attributes_[attribute.ordinal()];
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.sql.Connection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Class for A/C model geometry cache. The cache is shared by all 3D plotting tasks. Geometries are built from the database on first access with a single scan of the grids and elements tables, and
+ * are evicted in least recently used order when the total size of the cache exceeds its limit.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 12:06:44
+ */
+public class GeometryCache {
+
+	/** Maximum size of cache in bytes. */
+	private final long maxSize_;
+
+	/** Geometries mapped to A/C model IDs in access order. */
+	private final LinkedHashMap<Integer, ModelGeometry> geometries_ = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Current size of cache in bytes. */
+	private long size_ = 0L;
+
+	/** Cache statistics. */
+	private long hits_ = 0L, misses_ = 0L, evictions_ = 0L;
+
+	/**
+	 * Creates A/C model geometry cache.
+	 *
+	 * @param maxSize
+	 *            Maximum size of cache in bytes.
+	 */
+	public GeometryCache(long maxSize) {
+		maxSize_ = maxSize;
+	}
+
+	/**
+	 * Returns the geometry of the given A/C model. The geometry is built from the database on first access.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @return The geometry of the given A/C model.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public ModelGeometry get(Connection connection, int modelID) throws Exception {
+
+		// get from cache
+		synchronized (this) {
+			ModelGeometry geometry = geometries_.get(modelID);
+			if (geometry != null) {
+				hits_++;
+				return geometry;
+			}
+			misses_++;
+		}
+
+		// build geometry
+		ModelGeometry geometry = new ModelGeometry(connection, modelID);
+
+		// add to cache
+		synchronized (this) {
+			ModelGeometry existing = geometries_.putIfAbsent(modelID, geometry);
+			if (existing != null)
+				return existing;
+			size_ += geometry.getApproximateSize();
+			evict(modelID);
+			return geometry;
+		}
+	}
+
+	/**
+	 * Removes the geometry of the given A/C model from the cache. This should be called when the A/C model is deleted.
+	 *
+	 * @param modelID
+	 *            A/C model ID.
+	 */
+	synchronized public void remove(int modelID) {
+		ModelGeometry geometry = geometries_.remove(modelID);
+		if (geometry != null) {
+			size_ -= geometry.getApproximateSize();
+		}
+	}
+
+	/**
+	 * Removes all geometries from the cache. This should be called when the workspace is changed or reset.
+	 */
+	synchronized public void clear() {
+		geometries_.clear();
+		size_ = 0L;
+	}
+
+	@Override
+	synchronized public String toString() {
+		return "A/C model geometry cache (models: " + geometries_.size() + ", size: " + size_ / 1024 + "KB, hits: " + hits_ + ", misses: " + misses_ + ", evictions: " + evictions_ + ")";
+	}
+
+	/**
+	 * Evicts geometries in least recently used order, until the cache size is within its limit. The geometry of the given model is never evicted.
+	 *
+	 * @param modelID
+	 *            A/C model ID of the geometry to keep.
+	 */
+	private void evict(int modelID) {
+		Iterator<ModelGeometry> iterator = geometries_.values().iterator();
+		while ((size_ > maxSize_) && iterator.hasNext()) {
+			ModelGeometry geometry = iterator.next();
+			if (geometry.getModelID() == modelID) {
+				continue;
+			}
+			size_ -= geometry.getApproximateSize();
+			evictions_++;
+			iterator.remove();
+		}
+	}
+}
@@ -0,0 +1,676 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.logging.Level;
+
+import equinox.Equinox;
+
+/**
+ * Class for A/C model load case stress cube. The cube holds all element stress components (see {@link ElementStress}) of all load cases of an A/C model, including the derived components. It is
+ * built from the <code>LOAD_CASES_&lt;id&gt;</code> table with a single scan and stored in one file per model within the workspace directory. Each load case is a slab of single precision
+ * component columns followed by the indices of the elements with the highest and lowest values of each component. Slabs are memory mapped, so that load cases can be compared and sorted without
+ * querying the database. Elements are in the order of the A/C model geometry. Stresses of elements without a stress for a load case, and derived stresses of BEAM and ROD elements are
+ * <code>NaN</code>.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 20:14:51
+ */
+public class LoadCaseStressCube {
+
+	/** Name of stress cube directory within the workspace directory. */
+	public static final String DIRECTORY = "stresscubes";
+
+	/** Number of highest and lowest element indices kept per load case and stress component. */
+	public static final int TOP_K = 256;
+
+	/** Cube file header constants. */
+	private static final int MAGIC = 0x45514C43, VERSION = 1;
+
+	/** Number of stress components. */
+	private static final int NUM_COMPONENTS = ElementStress.values().length;
+
+	/** Open cubes mapped to A/C model IDs. */
+	private static final HashMap<Integer, LoadCaseStressCube> CUBES = new HashMap<>();
+
+	/** A/C model ID. */
+	private final int modelID_;
+
+	/** Element IDs in ascending order. */
+	private final int[] elementIDs_;
+
+	/** Load case IDs in ascending order. */
+	private final int[] loadCaseIDs_;
+
+	/** Mapped load case slabs (at load case index). */
+	private final MappedByteBuffer[] slabs_;
+
+	/**
+	 * Returns the stress cube of the given A/C model. The cube is built from the database if it doesn't exist or if it doesn't contain all of the given load cases.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @param loadCaseIDs
+	 *            IDs of load cases to be contained in the cube.
+	 * @return The stress cube of the given A/C model.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static LoadCaseStressCube get(Connection connection, int modelID, int... loadCaseIDs) throws Exception {
+
+		// get open cube
+		LoadCaseStressCube cube = null;
+		synchronized (CUBES) {
+			cube = CUBES.get(modelID);
+		}
+
+		// open cube file
+		Path file = getFile(modelID);
+		if (cube == null && Files.exists(file)) {
+			try {
+				cube = new LoadCaseStressCube(file, modelID);
+			}
+			catch (Exception e) {
+				Equinox.LOGGER.log(Level.WARNING, "Cannot open load case stress cube '" + file.toString() + "'.", e);
+			}
+		}
+
+		// build cube (if not found or missing load cases)
+		if (cube == null || !cube.hasLoadCases(loadCaseIDs)) {
+			build(connection, modelID, file);
+			cube = new LoadCaseStressCube(file, modelID);
+		}
+
+		// add to open cubes
+		synchronized (CUBES) {
+			CUBES.put(modelID, cube);
+		}
+		return cube;
+	}
+
+	/**
+	 * Deletes the stress cube of the given A/C model (if any). This should be called when load cases of the A/C model are deleted, or when the A/C model is deleted.
+	 *
+	 * @param modelID
+	 *            A/C model ID.
+	 */
+	public static void delete(int modelID) {
+		synchronized (CUBES) {
+			CUBES.remove(modelID);
+		}
+		delete(getFile(modelID));
+	}
+
+	/**
+	 * Deletes all stress cubes of the current workspace. This should be called when the workspace is reset.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static void deleteAll() throws Exception {
+		clear();
+		Path directory = getDirectory();
+		if (!Files.exists(directory))
+			return;
+		try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(directory)) {
+			for (Path file : dirStream) {
+				delete(file);
+			}
+		}
+	}
+
+	/**
+	 * Closes all open stress cubes. This should be called when the workspace is changed.
+	 */
+	public static void clear() {
+		synchronized (CUBES) {
+			CUBES.clear();
+		}
+	}
+
+	/**
+	 * Opens stress cube.
+	 *
+	 * @param file
+	 *            Cube file.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private LoadCaseStressCube(Path file, int modelID) throws Exception {
+
+		// set model ID
+		modelID_ = modelID;
+
+		// read header, element and load case IDs
+		long headerSize = 0L;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != NUM_COMPONENTS || in.readInt() != TOP_K)
+				throw new Exception("Invalid load case stress cube.");
+			elementIDs_ = new int[in.readInt()];
+			loadCaseIDs_ = new int[in.readInt()];
+			for (int i = 0; i < elementIDs_.length; i++) {
+				elementIDs_[i] = in.readInt();
+			}
+			for (int i = 0; i < loadCaseIDs_.length; i++) {
+				loadCaseIDs_[i] = in.readInt();
+			}
+			headerSize = 24L + 4L * elementIDs_.length + 4L * loadCaseIDs_.length;
+		}
+
+		// map slabs
+		long slabSize = getSlabSize(elementIDs_.length);
+		slabs_ = new MappedByteBuffer[loadCaseIDs_.length];
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() != headerSize + slabSize * loadCaseIDs_.length)
+				throw new Exception("Invalid load case stress cube size.");
+			for (int i = 0; i < slabs_.length; i++) {
+				slabs_[i] = channel.map(FileChannel.MapMode.READ_ONLY, headerSize + slabSize * i, slabSize);
+			}
+		}
+	}
+
+	/**
+	 * Returns A/C model ID.
+	 *
+	 * @return A/C model ID.
+	 */
+	public int getModelID() {
+		return modelID_;
+	}
+
+	/**
+	 * Returns the number of elements.
+	 *
+	 * @return The number of elements.
+	 */
+	public int getNumberOfElements() {
+		return elementIDs_.length;
+	}
+
+	/**
+	 * Returns the ID of the element at the given index.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @return Element ID.
+	 */
+	public int getElementID(int index) {
+		return elementIDs_[index];
+	}
+
+	/**
+	 * Returns the index of the given element.
+	 *
+	 * @param eid
+	 *            Element ID.
+	 * @return The index of the given element, or a negative value if the element is not in the cube.
+	 */
+	public int getElementIndex(int eid) {
+		return Arrays.binarySearch(elementIDs_, eid);
+	}
+
+	/**
+	 * Returns the index of the given load case.
+	 *
+	 * @param loadCaseID
+	 *            Load case ID.
+	 * @return The index of the given load case, or a negative value if the load case is not in the cube.
+	 */
+	public int getLoadCaseIndex(int loadCaseID) {
+		return Arrays.binarySearch(loadCaseIDs_, loadCaseID);
+	}
+
+	/**
+	 * Returns the given stress of the given element for the given load case.
+	 *
+	 * @param loadCase
+	 *            Load case index.
+	 * @param component
+	 *            Stress component.
+	 * @param element
+	 *            Element index.
+	 * @return The stress, or <code>NaN</code> if the element has no such stress for the load case.
+	 */
+	public double getStress(int loadCase, ElementStress component, int element) {
+		return slabs_[loadCase].getFloat(4 * (component.ordinal() * elementIDs_.length + element));
+	}
+
+	/**
+	 * Returns the given stress of all elements for the given load case.
+	 *
+	 * @param loadCase
+	 *            Load case index.
+	 * @param component
+	 *            Stress component.
+	 * @return The stresses (at element index).
+	 */
+	public float[] getStresses(int loadCase, ElementStress component) {
+		float[] stresses = new float[elementIDs_.length];
+		ByteBuffer buffer = slabs_[loadCase].duplicate();
+		buffer.position(4 * component.ordinal() * elementIDs_.length);
+		buffer.asFloatBuffer().get(stresses);
+		return stresses;
+	}
+
+	/**
+	 * Returns the indices of the elements with the highest or lowest values of the given stress for the given load case. At most {@link #TOP_K} indices are returned; if less are returned, these
+	 * are all the elements having the stress.
+	 *
+	 * @param loadCase
+	 *            Load case index.
+	 * @param component
+	 *            Stress component.
+	 * @param highest
+	 *            True for the highest values (in descending order), false for the lowest values (in ascending order).
+	 * @return Element indices.
+	 */
+	public int[] getTopElements(int loadCase, ElementStress component, boolean highest) {
+		ByteBuffer buffer = slabs_[loadCase].duplicate();
+		buffer.position(4 * (NUM_COMPONENTS * elementIDs_.length + (2 * component.ordinal() + (highest ? 0 : 1)) * TOP_K));
+		int[] indices = new int[TOP_K];
+		buffer.asIntBuffer().get(indices);
+		int count = 0;
+		while (count < TOP_K && indices[count] >= 0) {
+			count++;
+		}
+		return count == TOP_K ? indices : Arrays.copyOf(indices, count);
+	}
+
+	/**
+	 * Returns true if the cube contains all of the given load cases.
+	 *
+	 * @param loadCaseIDs
+	 *            Load case IDs.
+	 * @return True if the cube contains all of the given load cases.
+	 */
+	private boolean hasLoadCases(int[] loadCaseIDs) {
+		for (int loadCaseID : loadCaseIDs) {
+			if (getLoadCaseIndex(loadCaseID) < 0)
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Builds the stress cube of the given A/C model from the database.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @param file
+	 *            Cube file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void build(Connection connection, int modelID, Path file) throws Exception {
+
+		// get elements and 1D elements from model geometry
+		ModelGeometry geometry = Equinox.GEOMETRY_CACHE.get(connection, modelID);
+		int numElements = geometry.getNumberOfElements();
+		boolean[] is1D = new boolean[numElements];
+		for (int i = 0; i < numElements; i++) {
+			String type = geometry.getElementType(i);
+			is1D[i] = ElementType.BEAM.equals(type) || ElementType.ROD.equals(type);
+		}
+
+		// create slabs file
+		Files.createDirectories(file.getParent());
+		Path slabs = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".slabs");
+		Path temp = null;
+		try {
+
+			// get load case IDs
+			ArrayList<Integer> ids = new ArrayList<>();
+			try (Statement statement = connection.createStatement()) {
+				try (ResultSet resultSet = statement.executeQuery("select lc_id from load_case_names_" + modelID + " order by lc_id")) {
+					while (resultSet.next()) {
+						ids.add(resultSet.getInt("lc_id"));
+					}
+				}
+			}
+			int[] loadCaseIDs = new int[ids.size()];
+			for (int i = 0; i < loadCaseIDs.length; i++) {
+				loadCaseIDs[i] = ids.get(i);
+			}
+
+			// write slabs (load cases without stresses are written with NaN stresses)
+			try (FileChannel out = FileChannel.open(slabs, StandardOpenOption.WRITE)) {
+				ByteBuffer buffer = ByteBuffer.allocate((int) getSlabSize(numElements));
+				float[][] stresses = new float[NUM_COMPONENTS][numElements];
+				int loadCase = -1;
+				try (Statement statement = connection.createStatement()) {
+					try (ResultSet resultSet = statement.executeQuery("select lc_id, eid, sx, sy, sxy from load_cases_" + modelID + " order by lc_id")) {
+						while (resultSet.next()) {
+
+							// get load case index
+							int index = Arrays.binarySearch(loadCaseIDs, resultSet.getInt("lc_id"));
+							if (index < 0) {
+								continue;
+							}
+
+							// new load case
+							if (index != loadCase) {
+								if (loadCase >= 0) {
+									writeSlab(stresses, is1D, buffer, out);
+								}
+								for (float[] column : stresses) {
+									Arrays.fill(column, Float.NaN);
+								}
+								for (loadCase++; loadCase < index; loadCase++) {
+									writeSlab(stresses, is1D, buffer, out);
+								}
+							}
+
+							// set stress components
+							int element = geometry.getElementIndex(resultSet.getInt("eid"));
+							if (element >= 0) {
+								stresses[ElementStress.SX.ordinal()][element] = (float) resultSet.getDouble("sx");
+								stresses[ElementStress.SY.ordinal()][element] = (float) resultSet.getDouble("sy");
+								stresses[ElementStress.SXY.ordinal()][element] = (float) resultSet.getDouble("sxy");
+							}
+						}
+					}
+				}
+
+				// write last and remaining load cases
+				if (loadCase >= 0) {
+					writeSlab(stresses, is1D, buffer, out);
+				}
+				for (float[] column : stresses) {
+					Arrays.fill(column, Float.NaN);
+				}
+				for (loadCase++; loadCase < loadCaseIDs.length; loadCase++) {
+					writeSlab(stresses, is1D, buffer, out);
+				}
+			}
+
+			// write header, element and load case IDs
+			temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeInt(NUM_COMPONENTS);
+				out.writeInt(TOP_K);
+				out.writeInt(numElements);
+				out.writeInt(loadCaseIDs.length);
+				for (int i = 0; i < numElements; i++) {
+					out.writeInt(geometry.getElementID(i));
+				}
+				for (int loadCaseID : loadCaseIDs) {
+					out.writeInt(loadCaseID);
+				}
+			}
+
+			// append slabs
+			try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+				try (FileChannel in = FileChannel.open(slabs, StandardOpenOption.READ)) {
+					long position = 0L, size = in.size();
+					while (position < size) {
+						position += in.transferTo(position, size - position, out);
+					}
+				}
+			}
+
+			// replace cube file
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			delete(slabs);
+			if (temp != null) {
+				delete(temp);
+			}
+		}
+	}
+
+	/**
+	 * Computes derived stress components and highest/lowest element indices of a load case, and writes the slab.
+	 *
+	 * @param stresses
+	 *            Stress components of the load case (at component ordinal and element index). Only the in-plane components are set on entry.
+	 * @param is1D
+	 *            True for BEAM and ROD elements (at element index).
+	 * @param buffer
+	 *            Slab buffer.
+	 * @param out
+	 *            Output channel.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void writeSlab(float[][] stresses, boolean[] is1D, ByteBuffer buffer, FileChannel out) throws Exception {
+
+		// compute derived components
+		ElementStress[] components = ElementStress.values();
+		float[] sx = stresses[ElementStress.SX.ordinal()], sy = stresses[ElementStress.SY.ordinal()], sxy = stresses[ElementStress.SXY.ordinal()];
+		for (int i = 0; i < sx.length; i++) {
+			boolean undefined = is1D[i] || Float.isNaN(sx[i]);
+			for (ElementStress component : components) {
+				if (component.isDerived()) {
+					stresses[component.ordinal()][i] = undefined ? Float.NaN : (float) component.compute(sx[i], sy[i], sxy[i]);
+				}
+			}
+		}
+
+		// write components
+		buffer.clear();
+		for (float[] column : stresses) {
+			buffer.asFloatBuffer().put(column);
+			buffer.position(buffer.position() + 4 * column.length);
+		}
+
+		// write highest and lowest element indices
+		for (float[] column : stresses) {
+			writeTopElements(column, true, buffer);
+			writeTopElements(column, false, buffer);
+		}
+
+		// write slab
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			out.write(buffer);
+		}
+	}
+
+	/**
+	 * Selects the indices of the elements with the highest or lowest values, and writes them to the given buffer in descending (for highest) or ascending (for lowest) order of values. Unused
+	 * entries are written as -1.
+	 *
+	 * @param values
+	 *            Values (at element index).
+	 * @param highest
+	 *            True for highest values, false for lowest values.
+	 * @param buffer
+	 *            Slab buffer.
+	 */
+	private static void writeTopElements(float[] values, boolean highest, ByteBuffer buffer) {
+
+		// select with heap (root is the worst of the selected elements)
+		int[] heap = new int[TOP_K];
+		int size = 0;
+		for (int i = 0; i < values.length; i++) {
+			if (Float.isNaN(values[i])) {
+				continue;
+			}
+			if (size < TOP_K) {
+				heap[size] = i;
+				siftUp(heap, size, values, highest);
+				size++;
+			}
+			else if (isBetter(values, i, heap[0], highest)) {
+				heap[0] = i;
+				siftDown(heap, size, values, highest);
+			}
+		}
+
+		// sort selected elements (best first)
+		int[] sorted = new int[TOP_K];
+		Arrays.fill(sorted, -1);
+		for (int i = size - 1; i >= 0; i--) {
+			sorted[i] = heap[0];
+			heap[0] = heap[i];
+			siftDown(heap, i, values, highest);
+		}
+
+		// write
+		for (int index : sorted) {
+			buffer.putInt(index);
+		}
+	}
+
+	/**
+	 * Returns true if the value of the first element is better than the value of the second element. Ties are broken by element index.
+	 *
+	 * @param values
+	 *            Values.
+	 * @param i1
+	 *            First element index.
+	 * @param i2
+	 *            Second element index.
+	 * @param highest
+	 *            True if higher values are better.
+	 * @return True if the value of the first element is better than the value of the second element.
+	 */
+	private static boolean isBetter(float[] values, int i1, int i2, boolean highest) {
+		int comparison = Float.compare(values[i1], values[i2]);
+		if (comparison == 0)
+			return i1 < i2;
+		return highest ? comparison > 0 : comparison < 0;
+	}
+
+	/**
+	 * Moves the heap entry at the given position up, until the heap order is restored.
+	 *
+	 * @param heap
+	 *            Heap of element indices.
+	 * @param position
+	 *            Position of the entry.
+	 * @param values
+	 *            Values.
+	 * @param highest
+	 *            True if higher values are better.
+	 */
+	private static void siftUp(int[] heap, int position, float[] values, boolean highest) {
+		while (position > 0) {
+			int parent = (position - 1) / 2;
+			if (!isBetter(values, heap[parent], heap[position], highest))
+				return;
+			int entry = heap[parent];
+			heap[parent] = heap[position];
+			heap[position] = entry;
+			position = parent;
+		}
+	}
+
+	/**
+	 * Moves the root entry of the heap down, until the heap order is restored.
+	 *
+	 * @param heap
+	 *            Heap of element indices.
+	 * @param size
+	 *            Size of the heap.
+	 * @param values
+	 *            Values.
+	 * @param highest
+	 *            True if higher values are better.
+	 */
+	private static void siftDown(int[] heap, int size, float[] values, boolean highest) {
+		int position = 0;
+		while (true) {
+			int worst = position, left = 2 * position + 1, right = left + 1;
+			if (left < size && isBetter(values, heap[worst], heap[left], highest)) {
+				worst = left;
+			}
+			if (right < size && isBetter(values, heap[worst], heap[right], highest)) {
+				worst = right;
+			}
+			if (worst == position)
+				return;
+			int entry = heap[worst];
+			heap[worst] = heap[position];
+			heap[position] = entry;
+			position = worst;
+		}
+	}
+
+	/**
+	 * Returns the size of a load case slab in bytes.
+	 *
+	 * @param numElements
+	 *            Number of elements.
+	 * @return The size of a load case slab in bytes.
+	 */
+	private static long getSlabSize(int numElements) {
+		return 4L * NUM_COMPONENTS * numElements + 8L * NUM_COMPONENTS * TOP_K;
+	}
+
+	/**
+	 * Returns the stress cube directory of the current workspace.
+	 *
+	 * @return The stress cube directory of the current workspace.
+	 */
+	private static Path getDirectory() {
+		return Equinox.WORKSPACE_PATHS.getCurrentPath().resolve(DIRECTORY);
+	}
+
+	/**
+	 * Returns path to cube file of the given A/C model.
+	 *
+	 * @param modelID
+	 *            A/C model ID.
+	 * @return Path to cube file.
+	 */
+	private static Path getFile(int modelID) {
+		return getDirectory().resolve("model_" + modelID + ".eqc");
+	}
+
+	/**
+	 * Deletes given file. Mapped cubes may not be deletable on some platforms until they are garbage collected; such files are deleted on exit.
+	 *
+	 * @param file
+	 *            File to delete.
+	 */
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (Exception e) {
+			file.toFile().deleteOnExit();
+		}
+	}
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Class for A/C model geometry. The geometry holds grid coordinates and element connectivities of an A/C model in primitive arrays sorted by grid and element IDs, so that the coordinates of element
+ * grids can be looked up without querying the database.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 12:06:44
+ */
+public class ModelGeometry {
+
+	/** Supported element types. Element type codes are indices of this array. */
+	private static final String[] TYPES = { ElementType.QUAD, ElementType.TRIA, ElementType.BEAM, ElementType.ROD, ElementType.SHEAR };
+
+	/** Number of grids of element types. */
+	private static final int[] NUM_GRIDS = { 4, 3, 2, 2, 4 };
+
+	/** Maximum number of grids of an element. */
+	private static final int MAX_GRIDS = 4;
+
+	/** A/C model ID. */
+	private final int modelID_;
+
+	/** Grid IDs in ascending order. */
+	private final int[] gridIDs_;
+
+	/** Grid coordinates (x, y, z) in grid ID order. */
+	private final double[] coords_;
+
+	/** Element IDs in ascending order. */
+	private final int[] elementIDs_;
+
+	/** Element type codes in element ID order (-1 for unsupported types). */
+	private final byte[] elementTypes_;
+
+	/** Element grid IDs in element ID order (4 per element, 0 if not used). */
+	private final int[] connectivity_;
+
+	/** Spatial index (built on first access). */
+	private ModelSpatialIndex spatialIndex_;
+
+	/**
+	 * Creates A/C model geometry by reading the grids and elements of the given model from the database.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param modelID
+	 *            A/C model ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public ModelGeometry(Connection connection, int modelID) throws Exception {
+
+		// set model ID
+		modelID_ = modelID;
+
+		// create statement
+		try (Statement statement = connection.createStatement()) {
+
+			// read grids
+			int numGrids = count(statement, "grids_" + modelID);
+			gridIDs_ = new int[numGrids];
+			coords_ = new double[3 * numGrids];
+			try (ResultSet resultSet = statement.executeQuery("select gid, x_coord, y_coord, z_coord from grids_" + modelID + " order by gid")) {
+				int i = 0;
+				while (resultSet.next() && i < numGrids) {
+					gridIDs_[i] = resultSet.getInt("gid");
+					coords_[3 * i] = resultSet.getDouble("x_coord");
+					coords_[3 * i + 1] = resultSet.getDouble("y_coord");
+					coords_[3 * i + 2] = resultSet.getDouble("z_coord");
+					i++;
+				}
+			}
+
+			// read elements
+			int numElements = count(statement, "elements_" + modelID);
+			elementIDs_ = new int[numElements];
+			elementTypes_ = new byte[numElements];
+			connectivity_ = new int[MAX_GRIDS * numElements];
+			try (ResultSet resultSet = statement.executeQuery("select eid, el_type, g1, g2, g3, g4 from elements_" + modelID + " order by eid")) {
+				int i = 0;
+				while (resultSet.next() && i < numElements) {
+					elementIDs_[i] = resultSet.getInt("eid");
+					elementTypes_[i] = getTypeCode(resultSet.getString("el_type"));
+					for (int j = 0; j < MAX_GRIDS; j++) {
+						connectivity_[MAX_GRIDS * i + j] = resultSet.getInt("g" + (j + 1));
+					}
+					i++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns A/C model ID.
+	 *
+	 * @return A/C model ID.
+	 */
+	public int getModelID() {
+		return modelID_;
+	}
+
+	/**
+	 * Returns number of elements.
+	 *
+	 * @return Number of elements.
+	 */
+	public int getNumberOfElements() {
+		return elementIDs_.length;
+	}
+
+	/**
+	 * Returns the index of the given element.
+	 *
+	 * @param eid
+	 *            Element ID.
+	 * @return The index of the given element, or a negative value if the element is not in the model.
+	 */
+	public int getElementIndex(int eid) {
+		return Arrays.binarySearch(elementIDs_, eid);
+	}
+
+	/**
+	 * Returns the ID of the element at the given index.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @return Element ID.
+	 */
+	public int getElementID(int index) {
+		return elementIDs_[index];
+	}
+
+	/**
+	 * Returns the type of the element at the given index.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @return Element type (see {@link ElementType}), or null if the element type is not supported.
+	 */
+	public String getElementType(int index) {
+		byte type = elementTypes_[index];
+		return type < 0 ? null : TYPES[type];
+	}
+
+	/**
+	 * Returns the number of grids of the element at the given index.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @return Number of grids of the element, or 0 if the element type is not supported.
+	 */
+	public int getNumberOfGrids(int index) {
+		byte type = elementTypes_[index];
+		return type < 0 ? 0 : NUM_GRIDS[type];
+	}
+
+	/**
+	 * Sets the IDs and coordinates of the given grids from the grids of the element at the given index. Coordinates of grids which are not in the model are left unchanged.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @param grids
+	 *            Grids to set. The number of grids should not exceed the number of grids of the element.
+	 */
+	public void setGrids(int index, Grid[] grids) {
+		for (int i = 0; i < grids.length; i++) {
+			int gid = connectivity_[MAX_GRIDS * index + i];
+			grids[i].setID(gid);
+			int gridIndex = Arrays.binarySearch(gridIDs_, gid);
+			if (gridIndex >= 0) {
+				grids[i].setX(coords_[3 * gridIndex]);
+				grids[i].setY(coords_[3 * gridIndex + 1]);
+				grids[i].setZ(coords_[3 * gridIndex + 2]);
+			}
+		}
+	}
+
+	/**
+	 * Returns number of grids of the model.
+	 *
+	 * @return Number of grids of the model.
+	 */
+	public int getNumberOfModelGrids() {
+		return gridIDs_.length;
+	}
+
+	/**
+	 * Returns the index of the given grid.
+	 *
+	 * @param gid
+	 *            Grid ID.
+	 * @return The index of the given grid, or a negative value if the grid is not in the model.
+	 */
+	public int getGridIndex(int gid) {
+		return Arrays.binarySearch(gridIDs_, gid);
+	}
+
+	/**
+	 * Returns the given coordinate of the grid at the given index.
+	 *
+	 * @param gridIndex
+	 *            Grid index.
+	 * @param axis
+	 *            Coordinate axis (0 for x, 1 for y and 2 for z).
+	 * @return The coordinate of the grid.
+	 */
+	public double getCoordinate(int gridIndex, int axis) {
+		return coords_[3 * gridIndex + axis];
+	}
+
+	/**
+	 * Returns the ID of the given grid of the element at the given index.
+	 *
+	 * @param index
+	 *            Element index.
+	 * @param grid
+	 *            Grid number of the element (starting from 0).
+	 * @return Grid ID.
+	 */
+	public int getGridID(int index, int grid) {
+		return connectivity_[MAX_GRIDS * index + grid];
+	}
+
+	/**
+	 * Selects the elements of the given type and element groups.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param elementType
+	 *            Element type.
+	 * @param groups
+	 *            Element group names, or empty list for all elements.
+	 * @return Selected elements (at element index).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public boolean[] selectElements(Connection connection, ElementTypeForStress elementType, ArrayList<String> groups) throws Exception {
+
+		// select by element type
+		boolean[] selected = new boolean[elementIDs_.length];
+		for (int i = 0; i < elementIDs_.length; i++) {
+			String type = getElementType(i);
+			if (type == null) {
+				continue;
+			}
+			if (elementType.equals(ElementTypeForStress.SKIN)) {
+				selected[i] = type.equals(ElementType.QUAD) || type.equals(ElementType.TRIA);
+			}
+			else if (elementType.equals(ElementTypeForStress.BEAM)) {
+				selected[i] = type.equals(ElementType.BEAM);
+			}
+			else if (elementType.equals(ElementTypeForStress.ROD)) {
+				selected[i] = type.equals(ElementType.ROD);
+			}
+		}
+
+		// no grouping
+		if (groups.isEmpty())
+			return selected;
+
+		// create query for group elements
+		String grpTable = "element_groups_" + modelID_;
+		String namesTable = "element_group_names_" + modelID_;
+		String sql = "select " + grpTable + ".eid from " + grpTable + " inner join " + namesTable + " on " + grpTable + ".group_id = " + namesTable + ".group_id where (";
+		for (int i = 0; i < groups.size(); i++) {
+			sql += namesTable + ".name = ?" + (i == groups.size() - 1 ? ")" : " or ");
+		}
+
+		// mark group elements
+		boolean[] inGroups = new boolean[elementIDs_.length];
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			for (int i = 0; i < groups.size(); i++) {
+				statement.setString(i + 1, groups.get(i));
+			}
+			try (ResultSet resultSet = statement.executeQuery()) {
+				while (resultSet.next()) {
+					int index = getElementIndex(resultSet.getInt("eid"));
+					if (index >= 0) {
+						inGroups[index] = true;
+					}
+				}
+			}
+		}
+
+		// select elements in groups
+		for (int i = 0; i < elementIDs_.length; i++) {
+			selected[i] &= inGroups[i];
+		}
+		return selected;
+	}
+
+	/**
+	 * Returns the spatial index of the model. The spatial index is built on first access.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @return The spatial index of the model.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	synchronized public ModelSpatialIndex getSpatialIndex(Connection connection) throws Exception {
+		if (spatialIndex_ == null) {
+			spatialIndex_ = new ModelSpatialIndex(connection, this);
+		}
+		return spatialIndex_;
+	}
+
+	/**
+	 * Returns approximate size of the geometry in bytes.
+	 *
+	 * @return Approximate size of the geometry in bytes.
+	 */
+	public long getApproximateSize() {
+		return 28L * gridIDs_.length + 21L * elementIDs_.length;
+	}
+
+	/**
+	 * Returns the code of the given element type.
+	 *
+	 * @param type
+	 *            Element type.
+	 * @return Element type code, or -1 if the element type is not supported.
+	 */
+	private static byte getTypeCode(String type) {
+		for (byte i = 0; i < TYPES.length; i++) {
+			if (TYPES[i].equals(type))
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the number of rows of the given table.
+	 *
+	 * @param statement
+	 *            Database statement.
+	 * @param table
+	 *            Table name.
+	 * @return Number of rows.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static int count(Statement statement, String table) throws Exception {
+		try (ResultSet resultSet = statement.executeQuery("select count(*) as num from " + table)) {
+			return resultSet.next() ? resultSet.getInt("num") : 0;
+		}
+	}
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import equinox.data.ui.QVLVPosition;
+
+/**
+ * Class for A/C model spatial index. The index holds a uniform grid of cells over the grid coordinates of an A/C model, an inverse map from grids to the elements they are connected to and a map of
+ * frame/stringer positions to grids. Grids and elements are referred to by their indices in the {@link ModelGeometry}.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 14:22:51
+ */
+public class ModelSpatialIndex {
+
+	/** Target average number of grids per cell. */
+	private static final int GRIDS_PER_CELL = 8;
+
+	/** Maximum number of cells along an axis. */
+	private static final int MAX_CELLS = 1024;
+
+	/** A/C model geometry. */
+	private final ModelGeometry geometry_;
+
+	/** Minimum coordinates of the bounding box. */
+	private final double[] min_ = new double[3];
+
+	/** Cell sizes along the axes. */
+	private final double[] cellSize_ = new double[3];
+
+	/** Number of cells along the axes. */
+	private final int[] numCells_ = new int[3];
+
+	/** Start offsets of cells in the cell grids array (number of cells + 1). */
+	private final int[] cellStart_;
+
+	/** Grid indices sorted by cell. */
+	private final int[] cellGrids_;
+
+	/** Start offsets of grids in the grid elements array (number of grids + 1). */
+	private final int[] gridStart_;
+
+	/** Element indices sorted by grid. */
+	private final int[] gridElements_;
+
+	/** Grid indices mapped to frame/stringer positions. */
+	private final HashMap<String, int[]> positions_;
+
+	/**
+	 * Creates A/C model spatial index.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param geometry
+	 *            A/C model geometry.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public ModelSpatialIndex(Connection connection, ModelGeometry geometry) throws Exception {
+
+		// set geometry
+		geometry_ = geometry;
+		int numGrids = geometry.getNumberOfModelGrids();
+
+		// compute bounding box
+		double[] max = new double[3];
+		for (int axis = 0; axis < 3; axis++) {
+			min_[axis] = numGrids == 0 ? 0.0 : Double.POSITIVE_INFINITY;
+			max[axis] = numGrids == 0 ? 0.0 : Double.NEGATIVE_INFINITY;
+		}
+		for (int i = 0; i < numGrids; i++) {
+			for (int axis = 0; axis < 3; axis++) {
+				double c = geometry.getCoordinate(i, axis);
+				min_[axis] = Math.min(min_[axis], c);
+				max[axis] = Math.max(max[axis], c);
+			}
+		}
+
+		// compute cell size (cells are cubes, flat directions get a single cell)
+		double extent = Math.max(max[0] - min_[0], Math.max(max[1] - min_[1], max[2] - min_[2]));
+		double volume = 1.0;
+		for (int axis = 0; axis < 3; axis++) {
+			volume *= Math.max(max[axis] - min_[axis], extent * 1.0E-3);
+		}
+		double size = extent == 0.0 ? 1.0 : Math.cbrt(volume * GRIDS_PER_CELL / Math.max(1, numGrids));
+		int totalCells = 1;
+		for (int axis = 0; axis < 3; axis++) {
+			numCells_[axis] = (int) Math.max(1, Math.min(MAX_CELLS, Math.ceil((max[axis] - min_[axis]) / size)));
+			cellSize_[axis] = numCells_[axis] == 1 ? Double.POSITIVE_INFINITY : (max[axis] - min_[axis]) / numCells_[axis];
+			totalCells *= numCells_[axis];
+		}
+
+		// sort grids into cells
+		cellStart_ = new int[totalCells + 1];
+		cellGrids_ = new int[numGrids];
+		int[] cells = new int[numGrids];
+		for (int i = 0; i < numGrids; i++) {
+			cells[i] = getCell(getCell(i, 0), getCell(i, 1), getCell(i, 2));
+			cellStart_[cells[i] + 1]++;
+		}
+		for (int i = 0; i < totalCells; i++) {
+			cellStart_[i + 1] += cellStart_[i];
+		}
+		int[] fill = Arrays.copyOf(cellStart_, totalCells);
+		for (int i = 0; i < numGrids; i++) {
+			cellGrids_[fill[cells[i]]++] = i;
+		}
+
+		// create inverse map from grids to elements
+		int numElements = geometry.getNumberOfElements();
+		gridStart_ = new int[numGrids + 1];
+		for (int i = 0; i < numElements; i++) {
+			for (int j = 0; j < geometry.getNumberOfGrids(i); j++) {
+				int gridIndex = geometry.getGridIndex(geometry.getGridID(i, j));
+				if (gridIndex >= 0) {
+					gridStart_[gridIndex + 1]++;
+				}
+			}
+		}
+		for (int i = 0; i < numGrids; i++) {
+			gridStart_[i + 1] += gridStart_[i];
+		}
+		gridElements_ = new int[gridStart_[numGrids]];
+		fill = Arrays.copyOf(gridStart_, numGrids);
+		for (int i = 0; i < numElements; i++) {
+			for (int j = 0; j < geometry.getNumberOfGrids(i); j++) {
+				int gridIndex = geometry.getGridIndex(geometry.getGridID(i, j));
+				if (gridIndex >= 0) {
+					gridElements_[fill[gridIndex]++] = i;
+				}
+			}
+		}
+
+		// read frame/stringer positions
+		positions_ = readPositions(connection);
+	}
+
+	/**
+	 * Returns the grids within the given box. Bounds are inclusive.
+	 *
+	 * @param min
+	 *            Minimum coordinates of the box (x, y, z). Negative infinity can be used for unbounded axes.
+	 * @param max
+	 *            Maximum coordinates of the box (x, y, z). Positive infinity can be used for unbounded axes.
+	 * @return Array of flags indexed by grid indices, true for grids within the box.
+	 */
+	public boolean[] getGridsInBox(double[] min, double[] max) {
+
+		// get cell ranges
+		int[] from = new int[3], to = new int[3];
+		for (int axis = 0; axis < 3; axis++) {
+			from[axis] = getCell(min[axis], axis);
+			to[axis] = getCell(max[axis], axis);
+		}
+
+		// loop over cells
+		boolean[] grids = new boolean[geometry_.getNumberOfModelGrids()];
+		for (int i = from[0]; i <= to[0]; i++) {
+			for (int j = from[1]; j <= to[1]; j++) {
+				for (int k = from[2]; k <= to[2]; k++) {
+
+					// check grids of cell
+					int cell = getCell(i, j, k);
+					for (int c = cellStart_[cell]; c < cellStart_[cell + 1]; c++) {
+						int grid = cellGrids_[c];
+						boolean inside = true;
+						for (int axis = 0; axis < 3 && inside; axis++) {
+							double coord = geometry_.getCoordinate(grid, axis);
+							inside = coord >= min[axis] && coord <= max[axis];
+						}
+						grids[grid] = inside;
+					}
+				}
+			}
+		}
+		return grids;
+	}
+
+	/**
+	 * Returns the grids at the given frame/stringer positions.
+	 *
+	 * @param positions
+	 *            Frame/stringer positions.
+	 * @return Array of flags indexed by grid indices, true for grids at the given positions.
+	 */
+	public boolean[] getGridsAtPositions(List<QVLVPosition> positions) {
+		boolean[] grids = new boolean[geometry_.getNumberOfModelGrids()];
+		for (QVLVPosition position : positions) {
+			int[] indices = positions_.get(getPositionKey(position.getFramepos(), position.getStringerpos()));
+			if (indices != null) {
+				for (int index : indices) {
+					grids[index] = true;
+				}
+			}
+		}
+		return grids;
+	}
+
+	/**
+	 * Returns the elements whose grids are all within the given set of grids. Only elements connected to at least one of the given grids are checked.
+	 *
+	 * @param grids
+	 *            Array of flags indexed by grid indices, true for grids within the set.
+	 * @return Indices of elements in ascending order.
+	 */
+	public int[] getElements(boolean[] grids) {
+
+		// loop over selected grids
+		boolean[] checked = new boolean[geometry_.getNumberOfElements()];
+		int[] elements = new int[16];
+		int numElements = 0;
+		for (int grid = 0; grid < grids.length; grid++) {
+			if (!grids[grid]) {
+				continue;
+			}
+
+			// loop over elements connected to grid
+			for (int e = gridStart_[grid]; e < gridStart_[grid + 1]; e++) {
+
+				// already checked
+				int element = gridElements_[e];
+				if (checked[element]) {
+					continue;
+				}
+				checked[element] = true;
+
+				// check all grids of element
+				boolean inside = true;
+				for (int j = 0; j < geometry_.getNumberOfGrids(element) && inside; j++) {
+					int gridIndex = geometry_.getGridIndex(geometry_.getGridID(element, j));
+					inside = gridIndex >= 0 && grids[gridIndex];
+				}
+
+				// add element
+				if (inside) {
+					if (numElements == elements.length) {
+						elements = Arrays.copyOf(elements, 2 * numElements);
+					}
+					elements[numElements++] = element;
+				}
+			}
+		}
+
+		// sort elements
+		elements = Arrays.copyOf(elements, numElements);
+		Arrays.sort(elements);
+		return elements;
+	}
+
+	/**
+	 * Returns the cell index of the given coordinate along the given axis. Coordinates out of the bounding box are clamped to the first or last cell.
+	 *
+	 * @param coord
+	 *            Coordinate.
+	 * @param axis
+	 *            Coordinate axis.
+	 * @return Cell index along the axis.
+	 */
+	private int getCell(double coord, int axis) {
+		double cell = Math.floor((coord - min_[axis]) / cellSize_[axis]);
+		if (Double.isNaN(cell) || cell < 0.0)
+			return 0;
+		return (int) Math.min(numCells_[axis] - 1, cell);
+	}
+
+	/**
+	 * Returns the cell index of the given grid along the given axis.
+	 *
+	 * @param grid
+	 *            Grid index.
+	 * @param axis
+	 *            Coordinate axis.
+	 * @return Cell index along the axis.
+	 */
+	private int getCell(int grid, int axis) {
+		return getCell(geometry_.getCoordinate(grid, axis), axis);
+	}
+
+	/**
+	 * Returns the index of the given cell.
+	 *
+	 * @param i
+	 *            Cell index along x axis.
+	 * @param j
+	 *            Cell index along y axis.
+	 * @param k
+	 *            Cell index along z axis.
+	 * @return Cell index.
+	 */
+	private int getCell(int i, int j, int k) {
+		return (i * numCells_[1] + j) * numCells_[2] + k;
+	}
+
+	/**
+	 * Reads frame/stringer positions of grids from the database.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @return Grid indices mapped to frame/stringer positions.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private HashMap<String, int[]> readPositions(Connection connection) throws Exception {
+
+		// read grids
+		HashMap<String, ArrayList<Integer>> lists = new HashMap<>();
+		try (Statement statement = connection.createStatement()) {
+			String sql = "select gid, qv_pos, lv_pos from grids_" + geometry_.getModelID() + " where qv_pos is not null and lv_pos is not null";
+			try (ResultSet resultSet = statement.executeQuery(sql)) {
+				while (resultSet.next()) {
+					int gridIndex = geometry_.getGridIndex(resultSet.getInt("gid"));
+					if (gridIndex >= 0) {
+						String key = getPositionKey(resultSet.getString("qv_pos"), resultSet.getString("lv_pos"));
+						lists.computeIfAbsent(key, k -> new ArrayList<>()).add(gridIndex);
+					}
+				}
+			}
+		}
+
+		// convert to arrays
+		HashMap<String, int[]> positions = new HashMap<>();
+		for (Map.Entry<String, ArrayList<Integer>> entry : lists.entrySet()) {
+			positions.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+		}
+		return positions;
+	}
+
+	/**
+	 * Returns the map key of the given frame/stringer position.
+	 *
+	 * @param framePos
+	 *            Frame position.
+	 * @param stringerPos
+	 *            Stringer position.
+	 * @return Map key.
+	 */
+	private static String getPositionKey(String framePos, String stringerPos) {
+		return framePos + "\n" + stringerPos;
+	}
+}
@@ -0,0 +1,755 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.logging.Level;
+
+import equinox.Equinox;
+import equinox.data.ProgramArguments.ArgumentType;
+import equinox.utility.Utility;
+
+/**
+ * Class for columnar binary peak store. Peaks of generated stress sequences are kept in one segment file per stress sequence within the workspace directory, in addition to the
+ * <code>STH_PEAKS_&lt;id&gt;</code> tables of the database (which remain the catalog). Each column of a segment is stored contiguously and peaks of a flight are consecutive, so that the peaks of
+ * a flight can be read from the memory mapped segment with bulk copies. String columns are dictionary encoded. The store is optional; it is used only if the <code>usePeakStore</code> program
+ * argument is set to <code>true</code>. Readers must fall back to the database if no segment is available.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 01:12:37
+ */
+public class PeakStore {
+
+	/** Name of peak store directory within the workspace directory. */
+	public static final String DIRECTORY = "peakstore";
+
+	/** Segment file header constants. */
+	private static final int MAGIC = 0x45515053, VERSION = 1;
+
+	/** Maximum number of peaks per segment (segments are mapped into a single buffer). */
+	private static final int MAX_PEAKS = (Integer.MAX_VALUE - 1024 * 1024) / Column.getBytesPerPeak();
+
+	/** Number of open readers of segment files. */
+	private static final HashMap<Path, Integer> READERS = new HashMap<>();
+
+	/** Segment files to be deleted when their last reader is closed. */
+	private static final HashSet<Path> PENDING_DELETES = new HashSet<>();
+
+	/**
+	 * Enumeration for column type.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 01:12:37
+	 */
+	public enum ColumnType {
+
+		/** Integer column. */
+		INT(4),
+
+		/** Double column. */
+		DOUBLE(8),
+
+		/** Dictionary encoded string column (stored as integer codes, -1 for null). */
+		STRING(4);
+
+		/** Number of bytes per value. */
+		private final int bytes_;
+
+		/**
+		 * Creates column type constant.
+		 *
+		 * @param bytes
+		 *            Number of bytes per value.
+		 */
+		ColumnType(int bytes) {
+			bytes_ = bytes;
+		}
+	}
+
+	/**
+	 * Enumeration for stress sequence peak column. Column names are the same as the columns of STH peaks tables.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 01:12:37
+	 */
+	public enum Column {
+
+		/** Column. */
+		PEAK_NUM(ColumnType.INT), PEAK_VAL(ColumnType.DOUBLE), ONEG_STRESS(ColumnType.DOUBLE), INC_STRESS(ColumnType.DOUBLE), DP_STRESS(ColumnType.DOUBLE), DT_STRESS(ColumnType.DOUBLE), ONEG_EVENT(ColumnType.STRING), INC_EVENT(ColumnType.STRING), SEGMENT(ColumnType.STRING), SEGMENT_NUM(
+				ColumnType.INT);
+
+		/** Column type. */
+		private final ColumnType type_;
+
+		/**
+		 * Creates column constant.
+		 *
+		 * @param type
+		 *            Column type.
+		 */
+		Column(ColumnType type) {
+			type_ = type;
+		}
+
+		/**
+		 * Returns column type.
+		 *
+		 * @return Column type.
+		 */
+		public ColumnType getType() {
+			return type_;
+		}
+
+		/**
+		 * Returns the column with the given STH peaks table column name.
+		 *
+		 * @param name
+		 *            Column name (case insensitive).
+		 * @return The column, or null if there is no such column.
+		 */
+		public static Column getColumn(String name) {
+			for (Column column : values()) {
+				if (column.name().equalsIgnoreCase(name))
+					return column;
+			}
+			return null;
+		}
+
+		/**
+		 * Returns the number of bytes per peak (of all columns).
+		 *
+		 * @return Number of bytes per peak.
+		 */
+		private static int getBytesPerPeak() {
+			int bytes = 0;
+			for (Column column : values()) {
+				bytes += column.type_.bytes_;
+			}
+			return bytes;
+		}
+	}
+
+	/**
+	 * Returns true if the peak store is enabled.
+	 *
+	 * @return True if the peak store is enabled.
+	 */
+	public static boolean isEnabled() {
+		return Equinox.ARGUMENTS != null && Boolean.parseBoolean(Equinox.ARGUMENTS.getArgument(ArgumentType.USE_PEAK_STORE));
+	}
+
+	/**
+	 * Creates and returns segment writer for the given stress sequence.
+	 *
+	 * @param sthFileID
+	 *            Stress sequence ID.
+	 * @return Segment writer, or null if the peak store is not enabled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static Writer createSTHWriter(int sthFileID) throws Exception {
+		if (!isEnabled())
+			return null;
+		return new Writer(getSTHSegment(sthFileID));
+	}
+
+	/**
+	 * Opens and returns segment reader for the given stress sequence.
+	 *
+	 * @param sthFileID
+	 *            Stress sequence ID.
+	 * @return Segment reader, or null if the peak store is not enabled or there is no valid segment for the stress sequence.
+	 */
+	public static Reader openSTH(int sthFileID) {
+
+		// not enabled
+		if (!isEnabled())
+			return null;
+
+		// no segment
+		Path segment = getSTHSegment(sthFileID);
+		if (!Files.exists(segment))
+			return null;
+
+		// open segment
+		try {
+			return new Reader(segment);
+		}
+
+		// invalid segment (fall back to database)
+		catch (Exception e) {
+			Equinox.LOGGER.log(Level.WARNING, "Cannot open peak store segment '" + segment.toString() + "'.", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Deletes the segment of the given stress sequence (if any).
+	 *
+	 * @param sthFileID
+	 *            Stress sequence ID.
+	 */
+	public static void deleteSTH(int sthFileID) {
+		delete(getSTHSegment(sthFileID));
+	}
+
+	/**
+	 * Deletes all segments of the current workspace.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static void deleteAll() throws Exception {
+		Path directory = getDirectory();
+		if (!Files.exists(directory))
+			return;
+		try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(directory)) {
+			for (Path file : dirStream) {
+				delete(file);
+			}
+		}
+	}
+
+	/**
+	 * Returns the peak store directory of the current workspace.
+	 *
+	 * @return The peak store directory of the current workspace.
+	 */
+	private static Path getDirectory() {
+		return Equinox.WORKSPACE_PATHS.getCurrentPath().resolve(DIRECTORY);
+	}
+
+	/**
+	 * Returns path to segment file of the given stress sequence.
+	 *
+	 * @param sthFileID
+	 *            Stress sequence ID.
+	 * @return Path to segment file.
+	 */
+	private static Path getSTHSegment(int sthFileID) {
+		return getDirectory().resolve("sth_" + sthFileID + ".eqp");
+	}
+
+	/**
+	 * Deletes given file. Segments cannot be deleted on some platforms while they are mapped; if the file is open by a reader, it is deleted when the last reader is closed.
+	 *
+	 * @param file
+	 *            File to delete.
+	 */
+	private static void delete(Path file) {
+		BackupRepository.STORE_LOCK.readLock().lock();
+		try {
+			synchronized (READERS) {
+
+				// open by reader (delete when closed)
+				if (READERS.containsKey(file)) {
+					PENDING_DELETES.add(file);
+					return;
+				}
+
+				// delete file
+				Files.deleteIfExists(file);
+			}
+		}
+		catch (Exception e) {
+			Equinox.LOGGER.log(Level.WARNING, "Cannot delete peak store file '" + file.toString() + "'.", e);
+		}
+		finally {
+			BackupRepository.STORE_LOCK.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Registers a reader of the given segment file.
+	 *
+	 * @param segment
+	 *            Segment file.
+	 */
+	private static void readerOpened(Path segment) {
+		synchronized (READERS) {
+			READERS.merge(segment, 1, Integer::sum);
+		}
+	}
+
+	/**
+	 * Unregisters a reader of the given segment file. The segment is deleted if it was deleted while it was open and this was its last reader.
+	 *
+	 * @param segment
+	 *            Segment file.
+	 */
+	private static void readerClosed(Path segment) {
+
+		// unregister reader
+		synchronized (READERS) {
+			int count = READERS.get(segment) - 1;
+			if (count > 0) {
+				READERS.put(segment, count);
+				return;
+			}
+			READERS.remove(segment);
+			if (!PENDING_DELETES.remove(segment))
+				return;
+		}
+
+		// delete segment (outside of reader lock, since deletion acquires store lock)
+		delete(segment);
+	}
+
+	/**
+	 * Inner class for segment writer. Columns are written to temporary files while peaks are added, and they are assembled into the segment file when the writer is committed. Closing an uncommitted
+	 * writer discards the segment. Peaks of a flight must be added in ascending peak number order, otherwise the segment is discarded on commit.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 01:12:37
+	 */
+	public static class Writer implements AutoCloseable {
+
+		/** Segment file. */
+		private final Path segment_;
+
+		/** Temporary column files. */
+		private final Path[] columnFiles_;
+
+		/** Column outputs. */
+		private final DataOutputStream[] columns_;
+
+		/** String dictionary. */
+		private final HashMap<String, Integer> dictionary_ = new HashMap<>();
+
+		/** Dictionary strings (at code). */
+		private final ArrayList<String> strings_ = new ArrayList<>();
+
+		/** Flight IDs, first peak indices and number of peaks. */
+		private final ArrayList<int[]> flights_ = new ArrayList<>();
+
+		/** Current flight (flight ID, first peak index, number of peaks). */
+		private int[] flight_ = null;
+
+		/** Number of peaks and last peak number. */
+		private int numPeaks_ = 0, lastPeakNum_ = Integer.MIN_VALUE;
+
+		/** True if the segment is valid. */
+		private boolean isValid_ = true;
+
+		/**
+		 * Creates segment writer.
+		 *
+		 * @param segment
+		 *            Segment file.
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		private Writer(Path segment) throws Exception {
+			segment_ = segment;
+			Files.createDirectories(segment.getParent());
+			Column[] columns = Column.values();
+			columnFiles_ = new Path[columns.length];
+			columns_ = new DataOutputStream[columns.length];
+			try {
+				for (int i = 0; i < columns.length; i++) {
+					columnFiles_[i] = Files.createTempFile(segment.getParent(), segment.getFileName().toString(), "." + columns[i].name().toLowerCase());
+					columns_[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(columnFiles_[i])));
+				}
+			}
+			catch (Exception e) {
+				close();
+				throw e;
+			}
+		}
+
+		/**
+		 * Starts a new flight. Subsequent peaks are added to this flight.
+		 *
+		 * @param flightID
+		 *            Flight ID.
+		 */
+		public void addFlight(int flightID) {
+			flight_ = new int[] { flightID, numPeaks_, 0 };
+			flights_.add(flight_);
+			lastPeakNum_ = Integer.MIN_VALUE;
+		}
+
+		/**
+		 * Adds peak to current flight.
+		 *
+		 * @param peakNum
+		 *            Peak number.
+		 * @param peakVal
+		 *            Peak value (total stress).
+		 * @param onegStress
+		 *            1g stress.
+		 * @param incStress
+		 *            Increment stress.
+		 * @param dpStress
+		 *            Delta-p stress.
+		 * @param dtStress
+		 *            Delta-t stress.
+		 * @param onegEvent
+		 *            1g event (can be null).
+		 * @param incEvent
+		 *            Increment event (can be null).
+		 * @param segment
+		 *            Segment name (can be null).
+		 * @param segmentNum
+		 *            Segment number.
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		public void addPeak(int peakNum, double peakVal, double onegStress, double incStress, double dpStress, double dtStress, String onegEvent, String incEvent, String segment, int segmentNum) throws Exception {
+
+			// invalid segment
+			if (!isValid_)
+				return;
+
+			// peak out of order, no flight or too many peaks (discard segment)
+			if (flight_ == null || peakNum <= lastPeakNum_ || numPeaks_ >= MAX_PEAKS) {
+				isValid_ = false;
+				return;
+			}
+			lastPeakNum_ = peakNum;
+
+			// write columns
+			columns_[Column.PEAK_NUM.ordinal()].writeInt(peakNum);
+			columns_[Column.PEAK_VAL.ordinal()].writeDouble(peakVal);
+			columns_[Column.ONEG_STRESS.ordinal()].writeDouble(onegStress);
+			columns_[Column.INC_STRESS.ordinal()].writeDouble(incStress);
+			columns_[Column.DP_STRESS.ordinal()].writeDouble(dpStress);
+			columns_[Column.DT_STRESS.ordinal()].writeDouble(dtStress);
+			columns_[Column.ONEG_EVENT.ordinal()].writeInt(encode(onegEvent));
+			columns_[Column.INC_EVENT.ordinal()].writeInt(encode(incEvent));
+			columns_[Column.SEGMENT.ordinal()].writeInt(encode(segment));
+			columns_[Column.SEGMENT_NUM.ordinal()].writeInt(segmentNum);
+			flight_[2]++;
+			numPeaks_++;
+		}
+
+		/**
+		 * Assembles the segment file. The segment is discarded if it is not valid.
+		 *
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		public void commit() throws Exception {
+
+			// close column outputs
+			for (DataOutputStream column : columns_) {
+				column.close();
+			}
+
+			// invalid segment
+			if (!isValid_) {
+				Equinox.LOGGER.info("Peak store segment '" + segment_.getFileName() + "' is discarded since peaks are not in ascending order.");
+				return;
+			}
+
+			// sort flights by ID
+			int[][] flights = flights_.toArray(new int[flights_.size()][]);
+			Arrays.sort(flights, (f1, f2) -> Integer.compare(f1[0], f2[0]));
+
+			// write header, dictionary and flight index
+			Path temp = Files.createTempFile(segment_.getParent(), segment_.getFileName().toString(), ".tmp");
+			try {
+				try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+					out.writeInt(MAGIC);
+					out.writeInt(VERSION);
+					out.writeInt(Column.values().length);
+					out.writeInt(flights.length);
+					out.writeInt(numPeaks_);
+					out.writeInt(strings_.size());
+					for (String string : strings_) {
+						out.writeUTF(string);
+					}
+					for (int[] flight : flights) {
+						out.writeInt(flight[0]);
+						out.writeInt(flight[1]);
+						out.writeInt(flight[2]);
+					}
+				}
+
+				// append columns
+				try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+					for (Path columnFile : columnFiles_) {
+						try (FileChannel in = FileChannel.open(columnFile, StandardOpenOption.READ)) {
+							long position = 0L, size = in.size();
+							while (position < size) {
+								position += in.transferTo(position, size - position, out);
+							}
+						}
+					}
+				}
+
+				// replace segment
+				Files.move(temp, segment_, StandardCopyOption.REPLACE_EXISTING);
+			}
+			finally {
+				delete(temp);
+			}
+		}
+
+		@Override
+		public void close() {
+			for (int i = 0; i < columnFiles_.length; i++) {
+				try {
+					if (columns_[i] != null) {
+						columns_[i].close();
+					}
+				}
+				catch (Exception e) {
+					// ignore
+				}
+				if (columnFiles_[i] != null) {
+					delete(columnFiles_[i]);
+				}
+			}
+		}
+
+		/**
+		 * Returns dictionary code of the given string.
+		 *
+		 * @param string
+		 *            String (can be null).
+		 * @return Dictionary code, or -1 for null.
+		 */
+		private int encode(String string) {
+			if (string == null)
+				return -1;
+			Integer code = dictionary_.get(string);
+			if (code == null) {
+				code = strings_.size();
+				dictionary_.put(string, code);
+				strings_.add(string);
+			}
+			return code;
+		}
+	}
+
+	/**
+	 * Inner class for segment reader. The column data of the segment is memory mapped; header, dictionary and flight index are read into memory. Reader is thread safe, but it must not be used
+	 * after it is closed, since closing releases the mapped data immediately.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 01:12:37
+	 */
+	public static class Reader implements AutoCloseable {
+
+		/** Segment file. */
+		private final Path segment_;
+
+		/** Mapped column data. Null if the reader is closed. */
+		private volatile MappedByteBuffer data_;
+
+		/** Dictionary strings (at code). */
+		private final String[] strings_;
+
+		/** Flight IDs (sorted), first peak indices and number of peaks. */
+		private final int[] flightIDs_, offsets_, counts_;
+
+		/** Byte offsets of columns within the mapped data. */
+		private final long[] columnOffsets_;
+
+		/**
+		 * Opens segment reader.
+		 *
+		 * @param segment
+		 *            Segment file.
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		private Reader(Path segment) throws Exception {
+
+			// register reader
+			segment_ = segment;
+			readerOpened(segment);
+			boolean isOpened = false;
+			try {
+
+				// read header, dictionary and flight index
+				int numPeaks = 0;
+				try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+					if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != Column.values().length)
+						throw new Exception("Invalid peak store segment.");
+					int numFlights = in.readInt();
+					numPeaks = in.readInt();
+					strings_ = new String[in.readInt()];
+					for (int i = 0; i < strings_.length; i++) {
+						strings_[i] = in.readUTF();
+					}
+					flightIDs_ = new int[numFlights];
+					offsets_ = new int[numFlights];
+					counts_ = new int[numFlights];
+					for (int i = 0; i < numFlights; i++) {
+						flightIDs_[i] = in.readInt();
+						offsets_[i] = in.readInt();
+						counts_[i] = in.readInt();
+					}
+				}
+
+				// compute column offsets
+				columnOffsets_ = new long[Column.values().length];
+				long offset = 0L;
+				for (Column column : Column.values()) {
+					columnOffsets_[column.ordinal()] = offset;
+					offset += (long) numPeaks * column.type_.bytes_;
+				}
+
+				// map column data (columns are at the end of the segment)
+				try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+					long dataStart = channel.size() - offset;
+					if (dataStart < 24L + 12L * flightIDs_.length)
+						throw new Exception("Invalid peak store segment size.");
+					data_ = channel.map(FileChannel.MapMode.READ_ONLY, dataStart, offset);
+				}
+				isOpened = true;
+			}
+
+			// unregister reader (if failed)
+			finally {
+				if (!isOpened) {
+					readerClosed(segment);
+				}
+			}
+		}
+
+		/**
+		 * Returns the number of peaks of the given flight.
+		 *
+		 * @param flightID
+		 *            Flight ID.
+		 * @return Number of peaks of the flight, or -1 if the flight is not in the segment.
+		 */
+		public int getNumberOfPeaks(int flightID) {
+			int index = Arrays.binarySearch(flightIDs_, flightID);
+			return index < 0 ? -1 : counts_[index];
+		}
+
+		/**
+		 * Returns the values of the given integer (or string code) column for the given flight, in ascending peak number order.
+		 *
+		 * @param flightID
+		 *            Flight ID.
+		 * @param column
+		 *            Integer or string column.
+		 * @return Column values, or null if the flight is not in the segment.
+		 */
+		public int[] getInts(int flightID, Column column) {
+			int index = Arrays.binarySearch(flightIDs_, flightID);
+			if (index < 0 || column.type_.equals(ColumnType.DOUBLE))
+				return null;
+			int[] values = new int[counts_[index]];
+			getSlice(column, offsets_[index], values.length).asIntBuffer().get(values);
+			return values;
+		}
+
+		/**
+		 * Returns the values of the given double column for the given flight, in ascending peak number order.
+		 *
+		 * @param flightID
+		 *            Flight ID.
+		 * @param column
+		 *            Double column.
+		 * @return Column values, or null if the flight is not in the segment.
+		 */
+		public double[] getDoubles(int flightID, Column column) {
+			int index = Arrays.binarySearch(flightIDs_, flightID);
+			if (index < 0 || !column.type_.equals(ColumnType.DOUBLE))
+				return null;
+			double[] values = new double[counts_[index]];
+			getSlice(column, offsets_[index], values.length).asDoubleBuffer().get(values);
+			return values;
+		}
+
+		/**
+		 * Returns the string of the given dictionary code.
+		 *
+		 * @param code
+		 *            Dictionary code.
+		 * @return The string, or null if the code is -1.
+		 */
+		public String getString(int code) {
+			return code < 0 ? null : strings_[code];
+		}
+
+		/**
+		 * Returns the number of strings in the dictionary. Dictionary codes range from 0 to this number (exclusive).
+		 *
+		 * @return Number of strings in the dictionary.
+		 */
+		public int getNumberOfStrings() {
+			return strings_.length;
+		}
+
+		@Override
+		public void close() {
+
+			// already closed
+			MappedByteBuffer data = null;
+			synchronized (this) {
+				if (data_ == null)
+					return;
+				data = data_;
+				data_ = null;
+			}
+
+			// release mapped data
+			Utility.unmap(data);
+
+			// unregister reader
+			readerClosed(segment_);
+		}
+
+		/**
+		 * Returns a slice of the mapped data.
+		 *
+		 * @param column
+		 *            Column.
+		 * @param peakIndex
+		 *            Index of first peak.
+		 * @param numPeaks
+		 *            Number of peaks.
+		 * @return Slice of the mapped data.
+		 */
+		private ByteBuffer getSlice(Column column, int peakIndex, int numPeaks) {
+			MappedByteBuffer data = data_;
+			if (data == null)
+				throw new IllegalStateException("Peak store segment '" + segment_.getFileName() + "' is closed.");
+			ByteBuffer buffer = data.duplicate();
+			int start = (int) (columnOffsets_[column.ordinal()] + (long) peakIndex * column.type_.bytes_);
+			buffer.position(start);
+			buffer.limit(start + numPeaks * column.type_.bytes_);
+			return buffer.slice();
+		}
+	}
+}
@@ -45,7 +45,7 @@ public class ProgramArguments {
 
 		/** Program argument type. */
 		MAX_PARALLEL_TASKS("maxParallelTasks"), MAX_PARALLEL_SUBTASKS("maxParallelSubtasks"), DATABASE_PAGE_SIZE("databasePageSize"), DATABASE_PAGE_CACHE_SIZE("databasePageCacheSize"), MAX_VISIBLE_STFS_PER_SPECTRUM("maxVisibleSTFsPerSpectrum"), JVM_MIN_HEAP_SIZE("minJVMHeapSize"),
-		JVM_MAX_HEAP_SIZE("maxJVMHeapSize"), COLOR_THEME("colorTheme");
+		JVM_MAX_HEAP_SIZE("maxJVMHeapSize"), COLOR_THEME("colorTheme"), USE_PEAK_STORE("usePeakStore"), USE_BLOB_STORE("useBlobStore");
 
 		/** Name of argument. */
 		private final String name_;
@@ -121,6 +121,12 @@ public class ProgramArguments {
 				arguments_.put(argumentType, userArgs.get(argumentType.getName()));
 			}
 
+			// peak and blob stores (optional, disabled by default)
+			else if (argumentType.equals(ArgumentType.USE_PEAK_STORE) || argumentType.equals(ArgumentType.USE_BLOB_STORE)) {
+				String value = userArgs.get(argumentType.getName());
+				arguments_.put(argumentType, value == null ? Boolean.FALSE.toString() : value);
+			}
+
 			// other arguments
 			else {
 				arguments_.put(argumentType, userArgs.get(argumentType.getName()));
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+/**
+ * Enumeration for rainflow counting engine.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 10:12:41
+ */
+public enum RainflowEngine {
+
+	/** Rainflow engine type. */
+	INBUILT("Inbuilt Rainflow Engine"), SCRIPT("Rainflow Script");
+
+	/** Name of rainflow engine. */
+	private final String name_;
+
+	/**
+	 * Creates rainflow engine constant.
+	 *
+	 * @param name
+	 *            Name of engine.
+	 */
+	RainflowEngine(String name) {
+		name_ = name;
+	}
+
+	/**
+	 * Returns name of engine.
+	 *
+	 * @return Name of engine.
+	 */
+	public String getName() {
+		return name_;
+	}
+
+	@Override
+	public String toString() {
+		return name_;
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+/**
+ * Class for STF stress vector. Stress vector contains the STF stresses of all ISSY code slots of a compiled spectrum. ISSY codes which don't exist in the STF file have zero stresses.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 11:38:52
+ */
+public class STFStressVector {
+
+	/** STF file ID. */
+	private final int stfID_;
+
+	/** Stress components of ISSY code slots. */
+	private final double[] sx_, sy_, sxy_;
+
+	/**
+	 * Creates STF stress vector.
+	 *
+	 * @param stfID
+	 *            STF file ID.
+	 * @param numSlots
+	 *            Number of ISSY code slots.
+	 */
+	public STFStressVector(int stfID, int numSlots) {
+		stfID_ = stfID;
+		sx_ = new double[numSlots];
+		sy_ = new double[numSlots];
+		sxy_ = new double[numSlots];
+	}
+
+	/**
+	 * Sets stresses of the given ISSY code slot.
+	 *
+	 * @param slot
+	 *            ISSY code slot.
+	 * @param sx
+	 *            Normal stress in x direction.
+	 * @param sy
+	 *            Normal stress in y direction.
+	 * @param sxy
+	 *            Shear stress.
+	 */
+	public void setStresses(int slot, double sx, double sy, double sxy) {
+		sx_[slot] = sx;
+		sy_[slot] = sy;
+		sxy_[slot] = sxy;
+	}
+
+	/**
+	 * Returns STF file ID.
+	 *
+	 * @return STF file ID.
+	 */
+	public int getSTFID() {
+		return stfID_;
+	}
+
+	/**
+	 * Returns the stress of the given ISSY code slot.
+	 *
+	 * @param slot
+	 *            ISSY code slot. Zero is returned for -1.
+	 * @param component
+	 *            Stress component.
+	 * @param angle
+	 *            Rotation angle in radians. Used only for rotated stress component.
+	 * @return The stress.
+	 */
+	public double getStress(int slot, StressComponent component, double angle) {
+		if (slot == -1)
+			return 0.0;
+		if (component.equals(StressComponent.NORMAL_X))
+			return sx_[slot];
+		else if (component.equals(StressComponent.NORMAL_Y))
+			return sy_[slot];
+		else if (component.equals(StressComponent.SHEAR_XY))
+			return sxy_[slot];
+		else if (component.equals(StressComponent.ROTATED))
+			return 0.5 * (sx_[slot] + sy_[slot]) + 0.5 * (sx_[slot] - sy_[slot]) * Math.cos(2 * angle) + sxy_[slot] * Math.sin(2 * angle);
+		return 0.0;
+	}
+
+	/**
+	 * Returns normal stress in x direction of the given ISSY code slot.
+	 *
+	 * @param slot
+	 *            ISSY code slot. Zero is returned for -1.
+	 * @return Normal stress in x direction.
+	 */
+	public double getSX(int slot) {
+		return slot == -1 ? 0.0 : sx_[slot];
+	}
+
+	/**
+	 * Returns normal stress in y direction of the given ISSY code slot.
+	 *
+	 * @param slot
+	 *            ISSY code slot. Zero is returned for -1.
+	 * @return Normal stress in y direction.
+	 */
+	public double getSY(int slot) {
+		return slot == -1 ? 0.0 : sy_[slot];
+	}
+
+	/**
+	 * Returns shear stress of the given ISSY code slot.
+	 *
+	 * @param slot
+	 *            ISSY code slot. Zero is returned for -1.
+	 * @return Shear stress.
+	 */
+	public double getSXY(int slot) {
+		return slot == -1 ? 0.0 : sxy_[slot];
+	}
+}
@@ -0,0 +1,466 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import equinox.utility.Utility;
+import javafx.concurrent.Task;
+
+/**
+ * Class for task scheduler. Tasks are executed in separate lanes according to their priority class, so that short interactive tasks never queue behind long running analyses and get higher thread priority. In addition, scarce
+ * resources (such as external engine processes) are guarded by permits which are shared by all lanes. Queue wait times of lanes and permits are recorded for monitoring.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 23:58:40
+ */
+public class TaskScheduler {
+
+	/**
+	 * Enumeration for execution lane.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 23:58:40
+	 */
+	public enum Lane {
+
+		/** Short running tasks triggered by user interaction (such as info lookups). */
+		INTERACTIVE("interactive", Thread.NORM_PRIORITY + 2),
+
+		/** Long running tasks (such as analyses and data loading). */
+		ANALYSIS("analysis", Thread.NORM_PRIORITY),
+
+		/** Tasks which should be executed one after the other. */
+		SEQUENTIAL("sequential", Thread.NORM_PRIORITY),
+
+		/** Sub tasks of running tasks (such as increment angle analyses). */
+		SUBTASK("subtask", Thread.NORM_PRIORITY),
+
+		/** Background I/O tasks (such as plot saving and temporary file deletion). */
+		BACKGROUND("background", Thread.NORM_PRIORITY - 2);
+
+		/** Name of lane. */
+		private final String name_;
+
+		/** Priority of lane threads. */
+		private final int threadPriority_;
+
+		/**
+		 * Creates lane constant.
+		 *
+		 * @param name
+		 *            Name of lane.
+		 * @param threadPriority
+		 *            Priority of lane threads.
+		 */
+		Lane(String name, int threadPriority) {
+			name_ = name;
+			threadPriority_ = threadPriority;
+		}
+
+		@Override
+		public String toString() {
+			return name_;
+		}
+	}
+
+	/**
+	 * Enumeration for scarce resource guarded by permits.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 23:58:40
+	 */
+	public enum Resource {
+
+		/** External analysis engine process (CPU slot). */
+		ENGINE("engine"),
+
+		/** File transfer to/from filer (network slot). */
+		NETWORK("network");
+
+		/** Name of resource. */
+		private final String name_;
+
+		/**
+		 * Creates resource constant.
+		 *
+		 * @param name
+		 *            Name of resource.
+		 */
+		Resource(String name) {
+			name_ = name;
+		}
+
+		@Override
+		public String toString() {
+			return name_;
+		}
+	}
+
+	/** Number of threads of background lane. */
+	private static final int BACKGROUND_THREADS = 2;
+
+	/** Number of network permits. */
+	private static final int NETWORK_PERMITS = 4;
+
+	/** Lane of the current thread. Null if the current thread is not a lane thread. */
+	private static final ThreadLocal<Lane> CURRENT_LANE = new ThreadLocal<>();
+
+	/** Lane executors. */
+	private final EnumMap<Lane, LaneExecutor> lanes_ = new EnumMap<>(Lane.class);
+
+	/** Resource permits. */
+	private final EnumMap<Resource, Semaphore> permits_ = new EnumMap<>(Resource.class);
+
+	/** Permit wait statistics. */
+	private final EnumMap<Resource, WaitStatistics> permitStats_ = new EnumMap<>(Resource.class);
+
+	/**
+	 * Creates task scheduler.
+	 *
+	 * @param maxParallelTasks
+	 *            Maximum number of analysis tasks running at the same time.
+	 * @param maxParallelSubtasks
+	 *            Maximum number of sub tasks running at the same time.
+	 */
+	public TaskScheduler(int maxParallelTasks, int maxParallelSubtasks) {
+
+		// create lanes
+		int cores = Runtime.getRuntime().availableProcessors();
+		lanes_.put(Lane.INTERACTIVE, new LaneExecutor(Lane.INTERACTIVE, 0));
+		lanes_.put(Lane.ANALYSIS, new LaneExecutor(Lane.ANALYSIS, maxParallelTasks));
+		lanes_.put(Lane.SEQUENTIAL, new LaneExecutor(Lane.SEQUENTIAL, 1));
+		lanes_.put(Lane.SUBTASK, new LaneExecutor(Lane.SUBTASK, maxParallelSubtasks));
+		lanes_.put(Lane.BACKGROUND, new LaneExecutor(Lane.BACKGROUND, BACKGROUND_THREADS));
+
+		// create permits
+		permits_.put(Resource.ENGINE, new Semaphore(cores, true));
+		permits_.put(Resource.NETWORK, new Semaphore(NETWORK_PERMITS, true));
+		for (Resource resource : Resource.values()) {
+			permitStats_.put(resource, new WaitStatistics());
+		}
+	}
+
+	/**
+	 * Returns the executor of the given lane.
+	 *
+	 * @param lane
+	 *            Execution lane.
+	 * @return The executor of the given lane.
+	 */
+	public ExecutorService getExecutor(Lane lane) {
+		return lanes_.get(lane);
+	}
+
+	/**
+	 * Executes the given tasks in the given lane and waits until all of them complete. If the current thread is a thread of the given lane, the tasks are run one after the other in the current
+	 * thread instead. Otherwise, the current thread would wait for tasks queued behind itself, which blocks the lane once all of its threads are waiting.
+	 *
+	 * @param <T>
+	 *            Result class.
+	 * @param lane
+	 *            Execution lane.
+	 * @param tasks
+	 *            Tasks to execute.
+	 * @return List of futures representing the tasks, in the same order as the given tasks. All futures are completed.
+	 * @throws InterruptedException
+	 *             If the current thread is interrupted while waiting.
+	 */
+	public <T> List<Future<T>> invokeAll(Lane lane, Collection<? extends Callable<T>> tasks) throws InterruptedException {
+
+		// not a thread of the lane
+		if (CURRENT_LANE.get() != lane)
+			return lanes_.get(lane).invokeAll(tasks);
+
+		// run tasks in current thread
+		ArrayList<Future<T>> futures = new ArrayList<>();
+		for (Callable<T> task : tasks) {
+			if (Thread.interrupted())
+				throw new InterruptedException();
+			FutureTask<T> future = new FutureTask<>(task);
+			future.run();
+			futures.add(future);
+		}
+		return futures;
+	}
+
+	/**
+	 * Acquires a permit for the given resource, waiting if necessary until one is available. The returned permit must be closed when the resource is no longer used.
+	 * <p>
+	 * If the current thread is interrupted while waiting, no permit is acquired. In this case, the interrupt flag of the thread is restored, the given task is cancelled and null is returned.
+	 *
+	 * @param resource
+	 *            Resource to acquire.
+	 * @param task
+	 *            Task acquiring the permit.
+	 * @return Resource permit, or null if the current thread is interrupted while waiting.
+	 */
+	public Permit acquire(Resource resource, Task<?> task) {
+
+		// wait for permit
+		long start = System.nanoTime();
+		Semaphore semaphore = permits_.get(resource);
+		try {
+			semaphore.acquire();
+		}
+
+		// interrupted
+		catch (InterruptedException e) {
+			interrupted(task);
+			return null;
+		}
+
+		// create permit (release if it cannot be created)
+		try {
+			permitStats_.get(resource).record(System.nanoTime() - start);
+			return new Permit(semaphore);
+		}
+		catch (Throwable e) {
+			semaphore.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Restores the interrupt flag of the current thread and cancels the given task. This method should be called when the given task is interrupted while waiting for a permit or for a process
+	 * which is run with a permit.
+	 *
+	 * @param task
+	 *            Interrupted task.
+	 */
+	public static void interrupted(Task<?> task) {
+		Thread.currentThread().interrupt();
+		task.cancel();
+	}
+
+	/**
+	 * Returns queue wait time statistics of all lanes and resource permits.
+	 *
+	 * @return Queue wait time statistics.
+	 */
+	public String getMetrics() {
+		String metrics = "Task scheduler queue wait times:";
+		for (LaneExecutor lane : lanes_.values()) {
+			metrics += " " + lane.lane_ + " lane " + lane.stats_ + " (" + lane.getQueue().size() + " queued, " + lane.getActiveCount() + " active);";
+		}
+		for (Resource resource : Resource.values()) {
+			Semaphore semaphore = permits_.get(resource);
+			metrics += " " + resource + " permits " + permitStats_.get(resource) + " (" + semaphore.getQueueLength() + " waiting, " + semaphore.availablePermits() + " available);";
+		}
+		return metrics;
+	}
+
+	/**
+	 * Shuts down all lanes. Waits for running tasks to terminate.
+	 */
+	public void shutdown() {
+		for (LaneExecutor lane : lanes_.values()) {
+			Utility.shutdownThreadExecutor(lane);
+		}
+	}
+
+	/**
+	 * Inner class for resource permit.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 23:58:40
+	 */
+	public static class Permit implements AutoCloseable {
+
+		/** Semaphore of permit. */
+		private final Semaphore semaphore_;
+
+		/** True if the permit is released. */
+		private boolean released_ = false;
+
+		/**
+		 * Creates resource permit.
+		 *
+		 * @param semaphore
+		 *            Semaphore of permit.
+		 */
+		private Permit(Semaphore semaphore) {
+			semaphore_ = semaphore;
+		}
+
+		@Override
+		public synchronized void close() {
+			if (!released_) {
+				released_ = true;
+				semaphore_.release();
+			}
+		}
+	}
+
+	/**
+	 * Inner class for lane executor. Records queue wait time of each executed task.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 23:58:40
+	 */
+	private static class LaneExecutor extends ThreadPoolExecutor {
+
+		/** Execution lane. */
+		private final Lane lane_;
+
+		/** Queue wait statistics. */
+		private final WaitStatistics stats_ = new WaitStatistics();
+
+		/**
+		 * Creates lane executor.
+		 *
+		 * @param lane
+		 *            Execution lane.
+		 * @param numThreads
+		 *            Number of threads. If zero, threads are created on demand and idle threads are terminated after a minute (tasks never wait in the queue).
+		 */
+		LaneExecutor(Lane lane, int numThreads) {
+			super(numThreads, numThreads == 0 ? Integer.MAX_VALUE : numThreads, 60L, TimeUnit.SECONDS, numThreads == 0 ? new SynchronousQueue<Runnable>() : new LinkedBlockingQueue<Runnable>(), new LaneThreadFactory(lane));
+			lane_ = lane;
+		}
+
+		@Override
+		public void execute(Runnable command) {
+			super.execute(new QueuedTask(command, stats_));
+		}
+	}
+
+	/**
+	 * Inner class for queued task. Records the time spent in the queue when the task is started.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 23:58:40
+	 */
+	private static class QueuedTask implements Runnable {
+
+		/** Wrapped task. */
+		private final Runnable task_;
+
+		/** Queue wait statistics. */
+		private final WaitStatistics stats_;
+
+		/** Queue entry time in nanoseconds. */
+		private final long queued_ = System.nanoTime();
+
+		/**
+		 * Creates queued task.
+		 *
+		 * @param task
+		 *            Wrapped task.
+		 * @param stats
+		 *            Queue wait statistics.
+		 */
+		QueuedTask(Runnable task, WaitStatistics stats) {
+			task_ = task;
+			stats_ = stats;
+		}
+
+		@Override
+		public void run() {
+			stats_.record(System.nanoTime() - queued_);
+			task_.run();
+		}
+	}
+
+	/**
+	 * Inner class for lane thread factory. Threads are named after the lane, get the priority of the lane and know their lane.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 23:58:40
+	 */
+	private static class LaneThreadFactory implements ThreadFactory {
+
+		/** Execution lane. */
+		private final Lane lane_;
+
+		/** Thread counter. */
+		private final AtomicInteger count_ = new AtomicInteger();
+
+		/**
+		 * Creates lane thread factory.
+		 *
+		 * @param lane
+		 *            Execution lane.
+		 */
+		LaneThreadFactory(Lane lane) {
+			lane_ = lane;
+		}
+
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(() -> {
+				CURRENT_LANE.set(lane_);
+				r.run();
+			}, "equinox-" + lane_ + "-" + count_.incrementAndGet());
+			thread.setPriority(lane_.threadPriority_);
+			return thread;
+		}
+	}
+
+	/**
+	 * Inner class for wait time statistics.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 23:58:40
+	 */
+	private static class WaitStatistics {
+
+		/** Number of waits, total and maximum wait times in nanoseconds. */
+		private final AtomicLong count_ = new AtomicLong(), total_ = new AtomicLong(), max_ = new AtomicLong();
+
+		/**
+		 * Records wait time.
+		 *
+		 * @param nanos
+		 *            Wait time in nanoseconds.
+		 */
+		void record(long nanos) {
+			count_.incrementAndGet();
+			total_.addAndGet(nanos);
+			max_.accumulateAndGet(nanos, Math::max);
+		}
+
+		@Override
+		public String toString() {
+			long count = count_.get();
+			double avg = count == 0 ? 0.0 : total_.get() / 1000000.0 / count;
+			return count + " waits, avg " + String.format("%.1f", avg) + " ms, max " + String.format("%.1f", max_.get() / 1000000.0) + " ms";
+		}
+	}
+}
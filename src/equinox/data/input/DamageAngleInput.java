@@ -30,7 +30,7 @@ import equinox.data.SegmentFactor;
  * @date Aug 7, 2014
  * @time 10:51:17 AM
  */
-public class DamageAngleInput implements Serializable {
+public class DamageAngleInput implements Serializable, StressModifierInput {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
@@ -278,6 +278,7 @@ public class DamageAngleInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification value.
 	 */
+	@Override
 	public double getStressModificationValue(int index) {
 		return modificationValues_[index];
 	}
@@ -289,6 +290,7 @@ public class DamageAngleInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification method.
 	 */
+	@Override
 	public String getStressModificationMethod(int index) {
 		return modificationMethods_[index];
 	}
@@ -298,6 +300,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return The loadcase factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<LoadcaseFactor> getLoadcaseFactors() {
 		return loadcaseFactors_;
 	}
@@ -307,6 +310,7 @@ public class DamageAngleInput implements Serializable {
 	 *
 	 * @return The segment factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<SegmentFactor> getSegmentFactors() {
 		return segmentFactors_;
 	}
@@ -31,7 +31,7 @@ import equinox.data.StressComponent;
  * @date Jun 14, 2016
  * @time 9:27:05 PM
  */
-public class FastEquivalentStressInput implements Serializable {
+public class FastEquivalentStressInput implements Serializable, StressModifierInput {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
@@ -257,6 +257,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification value.
 	 */
+	@Override
 	public double getStressModificationValue(int index) {
 		return modificationValues_[index];
 	}
@@ -268,6 +269,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification method.
 	 */
+	@Override
 	public String getStressModificationMethod(int index) {
 		return modificationMethods_[index];
 	}
@@ -277,6 +279,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return The loadcase factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<LoadcaseFactor> getLoadcaseFactors() {
 		return loadcaseFactors_;
 	}
@@ -286,6 +289,7 @@ public class FastEquivalentStressInput implements Serializable {
 	 *
 	 * @return The segment factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<SegmentFactor> getSegmentFactors() {
 		return segmentFactors_;
 	}
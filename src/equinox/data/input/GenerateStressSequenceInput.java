@@ -33,7 +33,7 @@ import equinox.plugin.FileType;
  * @date Mar 26, 2014
  * @time 8:44:25 PM
  */
-public class GenerateStressSequenceInput implements Serializable {
+public class GenerateStressSequenceInput implements Serializable, StressModifierInput {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
@@ -244,6 +244,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification value.
 	 */
+	@Override
 	public double getStressModificationValue(int index) {
 		return modificationValues_[index];
 	}
@@ -255,6 +256,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification method.
 	 */
+	@Override
 	public String getStressModificationMethod(int index) {
 		return modificationMethods_[index];
 	}
@@ -264,6 +266,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return The loadcase factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<LoadcaseFactor> getLoadcaseFactors() {
 		return loadcaseFactors_;
 	}
@@ -273,6 +276,7 @@ public class GenerateStressSequenceInput implements Serializable {
 	 *
 	 * @return The segment factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<SegmentFactor> getSegmentFactors() {
 		return segmentFactors_;
 	}
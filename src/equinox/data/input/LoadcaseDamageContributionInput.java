@@ -34,7 +34,7 @@ import javafx.collections.ObservableList;
  * @date Apr 2, 2015
  * @time 3:13:13 PM
  */
-public class LoadcaseDamageContributionInput implements Serializable {
+public class LoadcaseDamageContributionInput implements Serializable, StressModifierInput {
 
 	/** Serial ID. */
 	private static final long serialVersionUID = 1L;
@@ -341,6 +341,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification value.
 	 */
+	@Override
 	public double getStressModificationValue(int index) {
 		return modificationValues_[index];
 	}
@@ -352,6 +353,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *            The index of the stress modifier.
 	 * @return Stress modification method.
 	 */
+	@Override
 	public String getStressModificationMethod(int index) {
 		return modificationMethods_[index];
 	}
@@ -361,6 +363,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return The loadcase factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<LoadcaseFactor> getLoadcaseFactors() {
 		return loadcaseFactors_;
 	}
@@ -370,6 +373,7 @@ public class LoadcaseDamageContributionInput implements Serializable {
 	 *
 	 * @return The segment factors or null if no factors defined.
 	 */
+	@Override
 	public ArrayList<SegmentFactor> getSegmentFactors() {
 		return segmentFactors_;
 	}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data.input;
+
+import java.util.ArrayList;
+
+import equinox.data.LoadcaseFactor;
+import equinox.data.SegmentFactor;
+
+/**
+ * Interface for analysis inputs containing stress modifiers. Stress sequences of such inputs can be generated by the stress sequence kernel.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 09:12:40
+ */
+public interface StressModifierInput {
+
+	/**
+	 * Returns the stress modification value.
+	 *
+	 * @param index
+	 *            The index of the stress modifier.
+	 * @return Stress modification value.
+	 */
+	double getStressModificationValue(int index);
+
+	/**
+	 * Returns the stress modification method.
+	 *
+	 * @param index
+	 *            The index of the stress modifier.
+	 * @return Stress modification method.
+	 */
+	String getStressModificationMethod(int index);
+
+	/**
+	 * Returns the loadcase factors or null if no factors defined.
+	 *
+	 * @return The loadcase factors or null if no factors defined.
+	 */
+	ArrayList<LoadcaseFactor> getLoadcaseFactors();
+
+	/**
+	 * Returns the segment factors or null if no factors defined.
+	 *
+	 * @return The segment factors or null if no factors defined.
+	 */
+	ArrayList<SegmentFactor> getSegmentFactors();
+}
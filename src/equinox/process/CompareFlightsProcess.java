@@ -18,8 +18,6 @@ package equinox.process;
 import java.awt.Color;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Statement;
 import java.util.List;
 
 import org.jfree.chart.ChartFactory;
@@ -33,6 +31,10 @@ import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 import org.jfree.ui.RectangleInsets;
 
+import equinox.Equinox;
+import equinox.data.FlightCache.Peaks;
+import equinox.data.PeakStore.Column;
+import equinox.data.Segment;
 import equinox.data.SeriesKey;
 import equinox.data.fileType.Flight;
 import equinox.data.input.FlightComparisonInput;
@@ -119,101 +121,83 @@ public class CompareFlightsProcess implements EquinoxProcess<JFreeChart> {
 		// update info
 		task_.updateMessage("Plotting stresses...");
 
-		// create statement
-		try (Statement statement = connection.createStatement()) {
+		// loop over flights
+		for (Flight flight : flights_) {
 
-			// loop over flights
-			for (Flight flight : flights_) {
+			// update info
+			task_.updateMessage("Getting peaks for flight '" + flight.getName() + "' from database...");
 
-				// update info
-				task_.updateMessage("Getting peaks for flight '" + flight.getName() + "' from database...");
+			// create series name
+			String name = getFlightName(flight);
+			if (!isTotalStress) {
+				String comp = " (";
+				if (input_.getPlotComponentOption(FlightPlotInput.INCREMENT_STRESS_COMP)) {
+					comp += "INC";
+				}
+				if (input_.getPlotComponentOption(FlightPlotInput.DP_STRESS_COMP)) {
+					comp += comp.equals(" (") ? "DP" : " + DP";
+				}
+				if (input_.getPlotComponentOption(FlightPlotInput.DT_STRESS_COMP)) {
+					comp += comp.equals(" (") ? "DT" : " + DT";
+				}
+				if (input_.getPlotComponentOption(FlightPlotInput.ONE_G_STRESS_COMP)) {
+					comp += comp.equals(" (") ? "1G" : " + 1G";
+				}
+				comp += ")";
+				name += comp;
+			}
+
+			// create series
+			XYSeries series = new XYSeries(new SeriesKey(name, flight.getID()));
 
-				// create series name
-				String name = getFlightName(flight);
-				if (!isTotalStress) {
-					String comp = " (";
+			// get peaks
+			Peaks peaks = Equinox.FLIGHT_CACHE.getPeaks(connection, flight);
+			int[] peakNums = peaks.getPeakNumbers();
+			Segment segment = input_.getSegment();
+
+			// loop over peaks
+			for (int i = 0; i < peakNums.length; i++) {
+
+				// not in segment
+				if ((segment != null) && (!segment.getName().equals(peaks.getSegment(i)) || (segment.getSegmentNumber() != peaks.getSegmentNumber(i)))) {
+					continue;
+				}
+
+				// get stress
+				double stress = 0.0;
+				if (isTotalStress) {
+					stress = peaks.getStresses(Column.PEAK_VAL)[i];
+				}
+				else {
 					if (input_.getPlotComponentOption(FlightPlotInput.INCREMENT_STRESS_COMP)) {
-						comp += "INC";
+						stress += peaks.getStresses(Column.INC_STRESS)[i];
 					}
 					if (input_.getPlotComponentOption(FlightPlotInput.DP_STRESS_COMP)) {
-						comp += comp.equals(" (") ? "DP" : " + DP";
+						stress += peaks.getStresses(Column.DP_STRESS)[i];
 					}
 					if (input_.getPlotComponentOption(FlightPlotInput.DT_STRESS_COMP)) {
-						comp += comp.equals(" (") ? "DT" : " + DT";
+						stress += peaks.getStresses(Column.DT_STRESS)[i];
 					}
 					if (input_.getPlotComponentOption(FlightPlotInput.ONE_G_STRESS_COMP)) {
-						comp += comp.equals(" (") ? "1G" : " + 1G";
+						stress += peaks.getStresses(Column.ONEG_STRESS)[i];
 					}
-					comp += ")";
-					name += comp;
 				}
 
-				// create series
-				XYSeries series = new XYSeries(new SeriesKey(name, flight.getID()));
-
-				// create query
-				String sql = "select peak_num";
-				if (isTotalStress) {
-					sql += ", peak_val";
-				}
-				else {
-					sql += input_.getPlotComponentOption(FlightPlotInput.ONE_G_STRESS_COMP) ? ", oneg_stress" : "";
-					sql += input_.getPlotComponentOption(FlightPlotInput.INCREMENT_STRESS_COMP) ? ", inc_stress" : "";
-					sql += input_.getPlotComponentOption(FlightPlotInput.DP_STRESS_COMP) ? ", dp_stress" : "";
-					sql += input_.getPlotComponentOption(FlightPlotInput.DT_STRESS_COMP) ? ", dt_stress" : "";
-				}
-				sql += " from sth_peaks_" + flight.getParentItem().getParentItem().getID() + " where flight_id = " + flight.getID();
-				if (input_.getSegment() != null) {
-					sql += " and segment = '" + input_.getSegment().getName() + "' and segment_num = " + input_.getSegment().getSegmentNumber();
-				}
-				sql += " order by peak_num";
-
-				// add chart data to series
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-
-					// loop over peaks
-					while (resultSet.next()) {
-
-						// get peak number
-						int peakNum = resultSet.getInt("peak_num");
-
-						// get stress
-						double stress = 0.0;
-						if (isTotalStress) {
-							stress = resultSet.getDouble("peak_val");
-						}
-						else {
-							if (input_.getPlotComponentOption(FlightPlotInput.INCREMENT_STRESS_COMP)) {
-								stress += resultSet.getDouble("inc_stress");
-							}
-							if (input_.getPlotComponentOption(FlightPlotInput.DP_STRESS_COMP)) {
-								stress += resultSet.getDouble("dp_stress");
-							}
-							if (input_.getPlotComponentOption(FlightPlotInput.DT_STRESS_COMP)) {
-								stress += resultSet.getDouble("dt_stress");
-							}
-							if (input_.getPlotComponentOption(FlightPlotInput.ONE_G_STRESS_COMP)) {
-								stress += resultSet.getDouble("oneg_stress");
-							}
-						}
-
-						// add to series
-						series.add(peakNum, stress);
-					}
-				}
-
-				// add dataset to plot
-				plot.setDataset(datasetCount_, new XYSeriesCollection(series));
-				NumberAxis axis = new NumberAxis(name);
-				axis.setAutoRangeIncludesZero(false);
-				plot.setDomainAxis(datasetCount_, axis);
-				plot.setDomainAxisLocation(datasetCount_, AxisLocation.BOTTOM_OR_LEFT);
-				plot.mapDatasetToDomainAxis(datasetCount_, datasetCount_);
-				XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(true, input_.isShowMarkers());
-				renderer.setSeriesVisible(0, input_.isFlightVisible(flight.getID()));
-				plot.setRenderer(datasetCount_, renderer);
-				datasetCount_++;
+				// add to series
+				series.add(peakNums[i], stress);
 			}
+
+			// add dataset to plot
+			plot.setDataset(datasetCount_, new XYSeriesCollection(series));
+			NumberAxis axis = new NumberAxis(name);
+			axis.setAutoRangeIncludesZero(false);
+			plot.setDomainAxis(datasetCount_, axis);
+			plot.setDomainAxisLocation(datasetCount_, AxisLocation.BOTTOM_OR_LEFT);
+			plot.mapDatasetToDomainAxis(datasetCount_, datasetCount_);
+			XYLineAndShapeRenderer renderer = new XYLineAndShapeRenderer(true, input_.isShowMarkers());
+			renderer.setSeriesVisible(0, input_.isFlightVisible(flight.getID()));
+			plot.setRenderer(datasetCount_, renderer);
+			datasetCount_++;
 		}
 	}
 
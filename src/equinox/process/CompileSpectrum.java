@@ -0,0 +1,316 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+
+import equinox.data.CompiledSpectrum;
+import equinox.data.Segment;
+import equinox.task.InternalEquinoxTask;
+import equinox.utility.Utility;
+
+/**
+ * Class for compile spectrum process. The process reads the ANA flights and peaks of the spectrum, and resolves the 1g and increment load cases of all class codes from the TXT file in a single pass.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 12:04:37
+ */
+public class CompileSpectrum implements EquinoxProcess<CompiledSpectrum> {
+
+	/** The owner task. */
+	private final InternalEquinoxTask<?> task_;
+
+	/** ANA and TXT file IDs. */
+	private final int anaFileID_, txtFileID_;
+
+	/**
+	 * Creates compile spectrum process.
+	 *
+	 * @param task
+	 *            The owner task.
+	 * @param anaFileID
+	 *            ANA file ID.
+	 * @param txtFileID
+	 *            TXT file ID.
+	 */
+	public CompileSpectrum(InternalEquinoxTask<?> task, int anaFileID, int txtFileID) {
+		task_ = task;
+		anaFileID_ = anaFileID;
+		txtFileID_ = txtFileID;
+	}
+
+	@Override
+	public CompiledSpectrum start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+
+		// update info
+		task_.updateMessage("Compiling spectrum...");
+
+		// create spectrum
+		CompiledSpectrum spectrum = new CompiledSpectrum(anaFileID_, txtFileID_);
+
+		// create statement
+		try (Statement statement = connection.createStatement()) {
+
+			// read flights and peaks
+			if (!readPeaks(connection, statement, spectrum))
+				return null;
+
+			// resolve load cases
+			task_.updateMessage("Resolving load cases...");
+			if (!resolveLoadcases(statement, spectrum))
+				return null;
+		}
+
+		// compile
+		spectrum.compile();
+		return spectrum;
+	}
+
+	/**
+	 * Reads ANA flights and peaks into the given spectrum.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param statement
+	 *            Database statement.
+	 * @param spectrum
+	 *            Spectrum to compile.
+	 * @return True if the peaks are read, false if the task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private boolean readPeaks(Connection connection, Statement statement, CompiledSpectrum spectrum) throws Exception {
+
+		// get number of peaks of the ANA file
+		int numPeaks = 0;
+		String sql = "select sum(num_peaks) as totalPeaks from ana_flights where file_id = " + anaFileID_;
+		try (ResultSet resultSet = statement.executeQuery(sql)) {
+			while (resultSet.next()) {
+				numPeaks = resultSet.getInt("totalPeaks");
+			}
+		}
+
+		// prepare statement for selecting ANA peaks
+		sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID_ + " where flight_id = ?";
+		try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
+
+			// execute query for selecting ANA flights
+			sql = "select flight_id, flight_num, name, severity, validity, block_size from ana_flights where file_id = " + anaFileID_ + " order by flight_num";
+			try (ResultSet anaFlights = statement.executeQuery(sql)) {
+
+				// loop over flights
+				while (anaFlights.next()) {
+
+					// task cancelled
+					if (task_.isCancelled())
+						return false;
+
+					// add flight
+					int flightID = anaFlights.getInt("flight_id");
+					spectrum.addFlight(flightID, anaFlights.getInt("flight_num"), anaFlights.getString("name"), anaFlights.getString("severity"), anaFlights.getDouble("validity"), anaFlights.getDouble("block_size"));
+
+					// add peaks
+					selectANAPeak.setInt(1, flightID);
+					try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
+						while (anaPeaks.next()) {
+							spectrum.addPeak(anaPeaks.getInt("peak_num"), anaPeaks.getString("fourteen_digit_code"), anaPeaks.getDouble("delta_p"), anaPeaks.getDouble("delta_t"));
+						}
+					}
+
+					// update progress
+					task_.updateProgress(spectrum.getNumberOfPeaks(), numPeaks);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Resolves 1g and increment load cases of all class codes of the given spectrum. TXT file codes are read only once.
+	 *
+	 * @param statement
+	 *            Database statement.
+	 * @param spectrum
+	 *            Spectrum to compile.
+	 * @return True if the load cases are resolved, false if the task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private boolean resolveLoadcases(Statement statement, CompiledSpectrum spectrum) throws Exception {
+
+		// read TXT file codes
+		HashMap<String, OnegLoadcase> onegs = new HashMap<>();
+		HashMap<String, ArrayList<IncrementLoadcase>> increments = new HashMap<>();
+		String sql = "select one_g_code, increment_num, direction_num, nl_factor_num, flight_phase, issy_code, oneg_order, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = " + txtFileID_;
+		try (ResultSet resultSet = statement.executeQuery(sql)) {
+			while (resultSet.next()) {
+
+				// 1g load case (last one is used)
+				String onegCode = resultSet.getString("one_g_code");
+				int incrementNum = resultSet.getInt("increment_num");
+				if (incrementNum == 0) {
+					onegs.put(onegCode, new OnegLoadcase(resultSet.getString("issy_code"), resultSet.getString("flight_phase"), resultSet.getInt("oneg_order")));
+					continue;
+				}
+
+				// increment load case
+				double[] factors = new double[8];
+				for (int i = 0; i < factors.length; i++) {
+					factors[i] = resultSet.getDouble("factor_" + (i + 1));
+				}
+				String key = onegCode + "_" + incrementNum + "_" + resultSet.getString("direction_num");
+				ArrayList<IncrementLoadcase> list = increments.get(key);
+				if (list == null) {
+					list = new ArrayList<>();
+					increments.put(key, list);
+				}
+				list.add(new IncrementLoadcase(resultSet.getString("issy_code"), resultSet.getString("flight_phase"), resultSet.getString("nl_factor_num"), factors));
+			}
+		}
+
+		// set 1g load cases
+		String[] classCodes = spectrum.getClassCodes();
+		LinkedHashSet<String> onegCodes = new LinkedHashSet<>();
+		for (String classCode : classCodes) {
+			onegCodes.add(classCode.substring(0, 4));
+		}
+		for (String onegCode : onegCodes) {
+			OnegLoadcase oneg = onegs.get(onegCode);
+			if (oneg == null) {
+				spectrum.setOnegLoadcase(onegCode, null, null, new Segment(null, -1));
+			}
+			else {
+				spectrum.setOnegLoadcase(onegCode, oneg.issyCode_, oneg.event_, new Segment(Utility.extractSegmentName(oneg.event_), oneg.segmentNum_));
+			}
+		}
+
+		// loop over class codes
+		for (String classCode : classCodes) {
+
+			// task cancelled
+			if (task_.isCancelled())
+				return false;
+
+			// loop over increments
+			String onegCode = classCode.substring(0, 4);
+			for (int i = 0; i < CompiledSpectrum.NUM_INCREMENTS; i++) {
+
+				// get increment block
+				String block = classCode.substring((2 * i) + 4, (2 * i) + 6);
+
+				// no increment
+				if (block.equals("00")) {
+					continue;
+				}
+
+				// get increment load cases
+				ArrayList<IncrementLoadcase> list = increments.get(onegCode + "_" + (i + 1) + "_" + block.substring(1));
+				if (list == null) {
+					continue;
+				}
+
+				// add matching load cases
+				String factorNum = block.substring(0, 1);
+				for (IncrementLoadcase increment : list) {
+					if ((increment.factorNum_ == null) || increment.factorNum_.equals(factorNum)) {
+						int factorIndex = block.charAt(0) - '1';
+						if ((factorIndex < 0) || (factorIndex > 7))
+							throw new Exception("Invalid increment factor number '" + factorNum + "' in class code '" + classCode + "'.");
+						spectrum.addIncrementLoadcase(increment.issyCode_, increment.event_, increment.factors_[factorIndex]);
+					}
+				}
+			}
+
+			// complete class code
+			spectrum.completeClassCode();
+		}
+		return true;
+	}
+
+	/**
+	 * Inner class for 1g load case of TXT file.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 12:04:37
+	 */
+	private static class OnegLoadcase {
+
+		/** ISSY code and event name. */
+		private final String issyCode_, event_;
+
+		/** Segment number. */
+		private final int segmentNum_;
+
+		/**
+		 * Creates 1g load case.
+		 *
+		 * @param issyCode
+		 *            ISSY code.
+		 * @param event
+		 *            Event name.
+		 * @param segmentNum
+		 *            Segment number.
+		 */
+		public OnegLoadcase(String issyCode, String event, int segmentNum) {
+			issyCode_ = issyCode;
+			event_ = event;
+			segmentNum_ = segmentNum;
+		}
+	}
+
+	/**
+	 * Inner class for increment load case of TXT file.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 12:04:37
+	 */
+	private static class IncrementLoadcase {
+
+		/** ISSY code, event name and non-linear factor number. */
+		private final String issyCode_, event_, factorNum_;
+
+		/** Increment factors. */
+		private final double[] factors_;
+
+		/**
+		 * Creates increment load case.
+		 *
+		 * @param issyCode
+		 *            ISSY code.
+		 * @param event
+		 *            Event name.
+		 * @param factorNum
+		 *            Non-linear factor number. Can be null.
+		 * @param factors
+		 *            Increment factors.
+		 */
+		public IncrementLoadcase(String issyCode, String event, String factorNum, double[] factors) {
+			issyCode_ = issyCode;
+			event_ = event;
+			factorNum_ = factorNum;
+			factors_ = factors;
+		}
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import equinox.dataServer.remote.data.FatigueMaterial;
+import equinox.task.DamageAngleAnalysis;
+import equinox.utility.StressHistoryWriter;
+
+/**
+ * Class for damage angle sweep solver. Typical flights of all increment angles are added flight by flight, as they are generated from the same decoded flight peaks. Fatigue damages of all angles are
+ * computed in parallel with fork/join, and sequence damages are obtained by summing typical flight damages over the flight sequence. Peaks are rounded to the precision of STH files, so that results
+ * are identical to analyzing generated STH files.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 22:41:05
+ */
+public class DamageAngleSolver {
+
+	/** Minimum number of peaks (of all angles) to be processed by a single fork/join task. */
+	private static final int MIN_TASK_PEAKS = 20000;
+
+	/** Fatigue material parameters. */
+	private final double p_, q_;
+
+	/** Increment angles. */
+	private final int[] incAngles_;
+
+	/** Omission filter. Null if omission is not applied. */
+	private final OmissionFilter omission_;
+
+	/** Damages of typical flights. Each array contains the damages of all increment angles. */
+	private final ArrayList<double[]> damages_ = new ArrayList<>();
+
+	/**
+	 * Creates damage angle sweep solver.
+	 *
+	 * @param material
+	 *            Fatigue material.
+	 * @param incAngles
+	 *            Increment angles.
+	 * @param applyOmission
+	 *            True if omission should be applied.
+	 * @param omissionLevel
+	 *            Omission level.
+	 */
+	public DamageAngleSolver(FatigueMaterial material, int[] incAngles, boolean applyOmission, double omissionLevel) {
+		p_ = material.getP();
+		q_ = material.getQ();
+		incAngles_ = incAngles;
+		omission_ = applyOmission && omissionLevel > 0.0 ? new OmissionFilter(omissionLevel) : null;
+	}
+
+	/**
+	 * Adds typical flight. Typical flights are numbered in the order they are added, starting from 1.
+	 *
+	 * @param peaks
+	 *            Flight peaks of all increment angles (at angle index). Arrays are not modified.
+	 * @param numPeaks
+	 *            Number of peaks of the flight.
+	 */
+	public void addTypicalFlight(double[][] peaks, int numPeaks) {
+		double[] damages = new double[incAngles_.length];
+		ForkJoinPool.commonPool().invoke(new FlightDamageTask(peaks, numPeaks, damages, 0, incAngles_.length));
+		damages_.add(damages);
+	}
+
+	/**
+	 * Returns the number of typical flights.
+	 *
+	 * @return The number of typical flights.
+	 */
+	public int getNumberOfTypicalFlights() {
+		return damages_.size();
+	}
+
+	/**
+	 * Computes and returns fatigue equivalent stresses of all increment angles for the given flight sequence.
+	 *
+	 * @param sequence
+	 *            Flight sequence. Each element is the number of typical flight (starting from 1).
+	 * @param validity
+	 *            Spectrum validity.
+	 * @return Array containing angle index, angle and fatigue equivalent stress for each increment angle.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Double[][] solve(int[] sequence, int validity) throws Exception {
+
+		// check inputs
+		if (sequence.length == 0)
+			throw new Exception("Flight sequence is empty.");
+		if (validity <= 0)
+			throw new Exception("Invalid spectrum validity: " + validity);
+
+		// sum flight damages over sequence
+		double[] sums = new double[incAngles_.length];
+		for (int flight : sequence) {
+			if (flight < 1 || flight > damages_.size())
+				throw new Exception("Typical flight " + flight + " of flight sequence doesn't exist.");
+			double[] damages = damages_.get(flight - 1);
+			for (int i = 0; i < sums.length; i++) {
+				sums[i] += damages[i];
+			}
+		}
+
+		// create results
+		Double[][] results = new Double[incAngles_.length][3];
+		for (int i = 0; i < incAngles_.length; i++) {
+			results[i][DamageAngleAnalysis.ANGLE_INDEX] = (double) i;
+			results[i][DamageAngleAnalysis.ANGLE] = (double) incAngles_[i];
+			results[i][DamageAngleAnalysis.STRESS] = EquivalentStressSolver.getFatigueEquivalentStress(sums[i], validity, p_);
+		}
+		return results;
+	}
+
+	/**
+	 * Inner class for fork/join task computing flight damages of a range of increment angles.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 22:46:30
+	 */
+	private class FlightDamageTask extends RecursiveAction {
+
+		/** Serial ID. */
+		private static final long serialVersionUID = 1L;
+
+		/** Flight peaks of all increment angles. */
+		private final double[][] peaks_;
+
+		/** Number of peaks and angle index range (end is exclusive). */
+		private final int numPeaks_, start_, end_;
+
+		/** Output damages. */
+		private final double[] output_;
+
+		/**
+		 * Creates flight damage task.
+		 *
+		 * @param peaks
+		 *            Flight peaks of all increment angles.
+		 * @param numPeaks
+		 *            Number of peaks.
+		 * @param damages
+		 *            Output damages.
+		 * @param start
+		 *            Start angle index.
+		 * @param end
+		 *            End angle index (exclusive).
+		 */
+		FlightDamageTask(double[][] peaks, int numPeaks, double[] damages, int start, int end) {
+			peaks_ = peaks;
+			numPeaks_ = numPeaks;
+			output_ = damages;
+			start_ = start;
+			end_ = end;
+		}
+
+		@Override
+		protected void compute() {
+
+			// split range
+			if (end_ - start_ > 1 && (long) (end_ - start_) * numPeaks_ > MIN_TASK_PEAKS) {
+				int mid = (start_ + end_) >>> 1;
+				invokeAll(new FlightDamageTask(peaks_, numPeaks_, output_, start_, mid), new FlightDamageTask(peaks_, numPeaks_, output_, mid, end_));
+				return;
+			}
+
+			// create buffers (decimal format is not thread safe)
+			DecimalFormat format = new DecimalFormat("0.00");
+			int size = Math.max(numPeaks_, 1);
+			double[] rounded = new double[size], work = omission_ == null ? null : new double[size];
+			float[] input = new float[size];
+
+			// loop over angles
+			for (int i = start_; i < end_; i++) {
+
+				// round peaks
+				for (int j = 0; j < numPeaks_; j++) {
+					rounded[j] = StressHistoryWriter.getWrittenValue(peaks_[i][j], format);
+				}
+
+				// apply omission (omitted flights are written to STH files, so they are rounded again)
+				int n = numPeaks_;
+				double[] flight = rounded;
+				if (omission_ != null) {
+					n = omission_.filter(rounded, numPeaks_, work);
+					for (int j = 0; j < n; j++) {
+						work[j] = StressHistoryWriter.getWrittenValue(work[j], format);
+					}
+					flight = work;
+				}
+
+				// compute damage
+				for (int j = 0; j < n; j++) {
+					input[j] = (float) flight[j];
+				}
+				output_[i] = EquivalentStressSolver.getFlightDamage(input, n, p_, q_);
+			}
+		}
+	}
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import equinox.data.DamageContributionResult;
+import equinox.dataServer.remote.data.FatigueMaterial;
+import equinox.utility.StressHistoryWriter;
+
+/**
+ * Class for incremental damage contribution solver. Typical flights of the full stress sequence and of all damage contribution sequences are added flight by flight, as they are generated. The full
+ * sequence flight is rainflow counted once. Contribution flights which are known to be identical to the full sequence flight (i.e. not affected by the omitted load cases) are neither generated nor
+ * compared, and other contribution flights are counted only if their peaks differ from the full sequence flight. Since fatigue damage of typical flights are independent of
+ * each other, sequence damages are then obtained by summing typical flight damages over the flight sequence. Peaks are rounded to the precision of STH files, so that results are identical to
+ * analyzing generated STH files.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 21:26:40
+ */
+public class DamageContributionSolver {
+
+	/** Reference life (in cycles) of the damage law at reference stress. Sequence damages are reported relative to this life. */
+	private static final double REFERENCE_LIFE = 1.0e5;
+
+	/** Fatigue material parameters. */
+	private final double p_, q_;
+
+	/** Number of stress sequences (full sequence and contribution sequences). */
+	private final int numSequences_;
+
+	/** Omission filter. Null if omission is not applied. */
+	private final OmissionFilter omission_;
+
+	/** Decimal format for rounding peaks. */
+	private final DecimalFormat format_ = new DecimalFormat("0.00");
+
+	/** Damages of typical flights. Each array contains the damages of full sequence and contribution sequences. */
+	private final ArrayList<double[]> damages_ = new ArrayList<>();
+
+	/** Buffers for rounded full sequence and contribution flights, and for omission. */
+	private double[] full_ = new double[0], contribution_ = new double[0], work_ = new double[0];
+
+	/** Buffer for single precision peaks. */
+	private float[] peaks_ = new float[0];
+
+	/** Number of rainflow counted flights. */
+	private int numCountedFlights_ = 0;
+
+	/**
+	 * Creates incremental damage contribution solver.
+	 *
+	 * @param material
+	 *            Fatigue material.
+	 * @param numContributions
+	 *            Number of damage contributions.
+	 * @param applyOmission
+	 *            True if omission should be applied.
+	 * @param omissionLevel
+	 *            Omission level.
+	 */
+	public DamageContributionSolver(FatigueMaterial material, int numContributions, boolean applyOmission, double omissionLevel) {
+		p_ = material.getP();
+		q_ = material.getQ();
+		numSequences_ = numContributions + 1;
+		omission_ = applyOmission && omissionLevel > 0.0 ? new OmissionFilter(omissionLevel) : null;
+	}
+
+	/**
+	 * Adds typical flight. Typical flights are numbered in the order they are added, starting from 1.
+	 *
+	 * @param peaks
+	 *            Flight peaks of full sequence (at index 0) and of contribution sequences (at index contribution index + 1). Arrays are not modified.
+	 * @param numPeaks
+	 *            Number of peaks of full sequence and contribution sequences.
+	 * @param isFull
+	 *            True for contribution sequences (at index contribution index + 1) whose flight is identical to the full sequence flight. Peaks of these sequences are not used.
+	 */
+	public void addTypicalFlight(double[][] peaks, int[] numPeaks, boolean[] isFull) {
+
+		// compute damage of full sequence flight
+		double[] damages = new double[numSequences_];
+		int numFull = numPeaks[0];
+		if (full_.length < Math.max(numFull, 1)) {
+			full_ = new double[Math.max(numFull, 1)];
+		}
+		round(peaks[0], numFull, full_);
+		damages[0] = getDamage(full_, numFull);
+
+		// loop over contribution sequences
+		for (int i = 1; i < numSequences_; i++) {
+
+			// identical to full sequence flight
+			if (isFull[i]) {
+				damages[i] = damages[0];
+				continue;
+			}
+
+			// round peaks
+			int n = numPeaks[i];
+			if (contribution_.length < Math.max(n, 1)) {
+				contribution_ = new double[Math.max(n, 1)];
+			}
+			round(peaks[i], n, contribution_);
+
+			// compute damage only if flight differs from full sequence flight
+			damages[i] = isSame(n, numFull) ? damages[0] : getDamage(contribution_, n);
+		}
+
+		// add damages
+		damages_.add(damages);
+	}
+
+	/**
+	 * Returns the number of typical flights.
+	 *
+	 * @return The number of typical flights.
+	 */
+	public int getNumberOfTypicalFlights() {
+		return damages_.size();
+	}
+
+	/**
+	 * Returns the number of rainflow counted typical flights (of all sequences).
+	 *
+	 * @return The number of rainflow counted typical flights.
+	 */
+	public int getNumberOfCountedFlights() {
+		return numCountedFlights_;
+	}
+
+	/**
+	 * Computes and returns damage contribution results for the given flight sequence.
+	 *
+	 * @param sequence
+	 *            Flight sequence. Each element is the number of typical flight (starting from 1).
+	 * @param validity
+	 *            Spectrum validity.
+	 * @return Damage contribution results of full sequence (with contribution index 0) and contribution sequences.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public List<DamageContributionResult> solve(int[] sequence, int validity) throws Exception {
+
+		// check inputs
+		if (sequence.length == 0)
+			throw new Exception("Flight sequence is empty.");
+		if (validity <= 0)
+			throw new Exception("Invalid spectrum validity: " + validity);
+
+		// sum flight damages over sequence
+		double[] sums = new double[numSequences_];
+		for (int flight : sequence) {
+			if (flight < 1 || flight > damages_.size())
+				throw new Exception("Typical flight " + flight + " of flight sequence doesn't exist.");
+			double[] damages = damages_.get(flight - 1);
+			for (int i = 0; i < numSequences_; i++) {
+				sums[i] += damages[i];
+			}
+		}
+
+		// create results
+		List<DamageContributionResult> results = new ArrayList<>();
+		for (int i = 0; i < numSequences_; i++) {
+			DamageContributionResult result = new DamageContributionResult();
+			result.setContributionIndex(i);
+			result.setDamage(sums[i] / REFERENCE_LIFE);
+			result.setStress(EquivalentStressSolver.getFatigueEquivalentStress(sums[i], validity, p_));
+			results.add(result);
+		}
+		return results;
+	}
+
+	/**
+	 * Rounds the given peaks to the precision of STH files.
+	 *
+	 * @param peaks
+	 *            Input peaks.
+	 * @param numPeaks
+	 *            Number of peaks.
+	 * @param output
+	 *            Output array.
+	 */
+	private void round(double[] peaks, int numPeaks, double[] output) {
+		for (int i = 0; i < numPeaks; i++) {
+			output[i] = StressHistoryWriter.getWrittenValue(peaks[i], format_);
+		}
+	}
+
+	/**
+	 * Returns true if the current contribution flight is identical to the current full sequence flight.
+	 *
+	 * @param numPeaks
+	 *            Number of peaks of contribution flight.
+	 * @param numFull
+	 *            Number of peaks of full sequence flight.
+	 * @return True if the flights are identical.
+	 */
+	private boolean isSame(int numPeaks, int numFull) {
+		if (numPeaks != numFull)
+			return false;
+		for (int i = 0; i < numPeaks; i++) {
+			if (contribution_[i] != full_[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Applies omission (if requested) and computes fatigue damage of the given rounded flight peaks.
+	 *
+	 * @param peaks
+	 *            Rounded flight peaks.
+	 * @param numPeaks
+	 *            Number of peaks.
+	 * @return Fatigue damage of the flight.
+	 */
+	private double getDamage(double[] peaks, int numPeaks) {
+
+		// apply omission (omitted flights are written to STH files, so they are rounded again)
+		int n = numPeaks;
+		double[] input = peaks;
+		if (omission_ != null) {
+			if (work_.length < Math.max(numPeaks, 1)) {
+				work_ = new double[Math.max(numPeaks, 1)];
+			}
+			n = omission_.filter(peaks, numPeaks, work_);
+			round(work_, n, work_);
+			input = work_;
+		}
+
+		// convert to single precision
+		if (peaks_.length < n) {
+			peaks_ = new float[n];
+		}
+		for (int i = 0; i < n; i++) {
+			peaks_[i] = (float) input[i];
+		}
+
+		// compute damage
+		numCountedFlights_++;
+		return EquivalentStressSolver.getFlightDamage(peaks_, n, p_, q_);
+	}
+}
@@ -0,0 +1,662 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import equinox.dataServer.remote.data.FatigueMaterial;
+import equinox.dataServer.remote.data.LinearMaterial;
+import equinox.dataServer.remote.data.Material;
+import equinox.dataServer.remote.data.PreffasMaterial;
+import equinox.task.InternalEquinoxTask;
+
+/**
+ * Class for in-memory equivalent stress solver. The solver implements the sequence analysis of the inbuilt <code>spectre</code> engine, without writing sigma files or spawning processes. Fatigue
+ * equivalent stresses are computed from rainflow cycles of typical flights with the <code>MANUEL</code> damage law, whereas preffas and linear propagation equivalent stresses are computed with the
+ * crack opening stack of the engine. Peaks are stored in single precision like the engine does, so results agree with the inbuilt engine within floating point rounding.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 19:12:08
+ */
+public class EquivalentStressSolver {
+
+	/** Reference stress of fatigue damage law. */
+	private static final double REFERENCE_STRESS = 100.0;
+
+	/** Damage law stress threshold. Cycles with lower damage stresses have no contribution. */
+	private static final double STRESS_THRESHOLD = 1.0e-6;
+
+	/** Maximum size of crack opening stack. */
+	private static final int MAX_STACK_SIZE = 50;
+
+	/** Material. */
+	private final Material material_;
+
+	/** Typical flight peaks. */
+	private final ArrayList<float[]> flights_ = new ArrayList<>();
+
+	/** Crack opening stack (stored from index 1, like the engine does). */
+	private final double[] stackMax_ = new double[MAX_STACK_SIZE + 1], stackMin_ = new double[MAX_STACK_SIZE + 1], stackOpening_ = new double[MAX_STACK_SIZE + 1];
+
+	/** Propagation material parameters. */
+	private double a_, b_, c_, n_, ftySum_;
+
+	/** Crack opening stack size. */
+	private int stackSize_;
+
+	/** Previous minimum stress for linear propagation, first and last stresses of flight concatenation. */
+	private double previousMin_, first_, last_;
+
+	/** Propagation damage sums. */
+	private double propagation_, linear_;
+
+	/** Results. */
+	private double fatigueStress_ = -1.0, preffasStress_ = -1.0, linearEfficiency_ = -1.0, maxStress_, minStress_;
+
+	/** Results. */
+	private int totalPeaks_, validity_;
+
+	/**
+	 * Creates equivalent stress solver.
+	 *
+	 * @param material
+	 *            Material. Can be fatigue, preffas or linear material.
+	 */
+	public EquivalentStressSolver(Material material) {
+		material_ = material;
+	}
+
+	/**
+	 * Adds typical flight. Typical flights are numbered in the order they are added, starting from 1.
+	 *
+	 * @param peaks
+	 *            Peaks of typical flight.
+	 * @param numPeaks
+	 *            Number of peaks.
+	 */
+	public void addTypicalFlight(double[] peaks, int numPeaks) {
+		float[] flight = new float[numPeaks];
+		for (int i = 0; i < numPeaks; i++) {
+			flight[i] = (float) peaks[i];
+		}
+		flights_.add(flight);
+	}
+
+	/**
+	 * Returns the number of typical flights.
+	 *
+	 * @return The number of typical flights.
+	 */
+	public int getNumberOfTypicalFlights() {
+		return flights_.size();
+	}
+
+	/**
+	 * Solves the flight sequence.
+	 *
+	 * @param sequence
+	 *            Flight sequence. Each element is the number of typical flight (starting from 1).
+	 * @param validity
+	 *            Spectrum validity.
+	 * @param task
+	 *            The owner task. Used for progress and cancellation. Can be null.
+	 * @return True if solved, false if the task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public boolean solve(int[] sequence, int validity, InternalEquinoxTask<?> task) throws Exception {
+
+		// check inputs
+		if (sequence.length == 0)
+			throw new Exception("Flight sequence is empty.");
+		if (validity <= 0)
+			throw new Exception("Invalid spectrum validity: " + validity);
+		for (int flight : sequence) {
+			if (flight < 1 || flight > flights_.size())
+				throw new Exception("Typical flight " + flight + " of flight sequence doesn't exist.");
+		}
+		validity_ = validity;
+
+		// compute sequence statistics
+		maxStress_ = -1.0e6;
+		minStress_ = 1.0e6;
+		totalPeaks_ = 0;
+		for (int flight : sequence) {
+			float[] peaks = flights_.get(flight - 1);
+			for (float peak : peaks) {
+				maxStress_ = Math.max(maxStress_, peak);
+				minStress_ = Math.min(minStress_, peak);
+			}
+			totalPeaks_ += peaks.length;
+		}
+
+		// solve
+		if (material_ instanceof FatigueMaterial)
+			return solveFatigue(sequence, (FatigueMaterial) material_, task);
+		return solvePropagation(sequence, task);
+	}
+
+	/**
+	 * Returns fatigue equivalent stress, or -1 if the material is not a fatigue material.
+	 *
+	 * @return Fatigue equivalent stress.
+	 */
+	public double getFatigueEquivalentStress() {
+		return fatigueStress_;
+	}
+
+	/**
+	 * Returns preffas equivalent stress, or -1 if the material is not a propagation material.
+	 *
+	 * @return Preffas equivalent stress.
+	 */
+	public double getPreffasEquivalentStress() {
+		return preffasStress_;
+	}
+
+	/**
+	 * Returns linear propagation efficiency (sum of effective stress ranges to the power of propagation exponent), or -1 if the material is not a propagation material.
+	 *
+	 * @return Linear propagation efficiency.
+	 */
+	public double getLinearEfficiency() {
+		return linearEfficiency_;
+	}
+
+	/**
+	 * Returns maximum stress of the sequence.
+	 *
+	 * @return Maximum stress.
+	 */
+	public double getMaxStress() {
+		return maxStress_;
+	}
+
+	/**
+	 * Returns minimum stress of the sequence.
+	 *
+	 * @return Minimum stress.
+	 */
+	public double getMinStress() {
+		return minStress_;
+	}
+
+	/**
+	 * Returns stress ratio of the sequence.
+	 *
+	 * @return Stress ratio.
+	 */
+	public double getRRatio() {
+		return minStress_ / maxStress_;
+	}
+
+	/**
+	 * Returns total number of peaks of the sequence.
+	 *
+	 * @return Total number of peaks.
+	 */
+	public int getTotalPeaks() {
+		return totalPeaks_;
+	}
+
+	/**
+	 * Returns spectrum validity.
+	 *
+	 * @return Spectrum validity.
+	 */
+	public int getValidity() {
+		return validity_;
+	}
+
+	/**
+	 * Computes fatigue equivalent stress. Damage of each typical flight is computed only once, since flights are closed independently of each other.
+	 *
+	 * @param sequence
+	 *            Flight sequence.
+	 * @param material
+	 *            Fatigue material.
+	 * @param task
+	 *            The owner task. Can be null.
+	 * @return True if solved, false if the task is cancelled.
+	 */
+	private boolean solveFatigue(int[] sequence, FatigueMaterial material, InternalEquinoxTask<?> task) {
+
+		// initialize variables
+		double p = material.getP(), q = material.getQ(), damage = 0.0;
+		double[] flightDamages = new double[flights_.size()];
+		Arrays.fill(flightDamages, Double.NaN);
+
+		// loop over flights
+		for (int i = 0; i < sequence.length; i++) {
+
+			// task cancelled
+			if (task != null && task.isCancelled())
+				return false;
+
+			// update progress
+			if (task != null) {
+				task.updateProgress(i, sequence.length);
+			}
+
+			// compute damage of typical flight (if not already computed)
+			int index = sequence[i] - 1;
+			if (Double.isNaN(flightDamages[index])) {
+				float[] peaks = flights_.get(index);
+				flightDamages[index] = getFlightDamage(peaks, peaks.length, p, q);
+			}
+			damage += flightDamages[index];
+		}
+
+		// compute equivalent stress
+		fatigueStress_ = getFatigueEquivalentStress(damage, validity_, p);
+		return true;
+	}
+
+	/**
+	 * Returns fatigue equivalent stress for the given total damage.
+	 *
+	 * @param damage
+	 *            Total damage of the sequence (as returned by {@link #getFlightDamage(float[], int, double, double)}).
+	 * @param validity
+	 *            Spectrum validity.
+	 * @param p
+	 *            Fatigue slope.
+	 * @return Fatigue equivalent stress.
+	 */
+	static double getFatigueEquivalentStress(double damage, int validity, double p) {
+		return REFERENCE_STRESS * Math.pow(damage / validity, 1.0 / p);
+	}
+
+	/**
+	 * Returns fatigue damage of the given typical flight. The flight is restructured to start and end at its minimum, and closed rainflow cycles are accumulated with the damage law. The returned
+	 * damage is relative to the reference stress (i.e. the sum of <code>(S / 100)^p</code> of all cycles).
+	 *
+	 * @param peaks
+	 *            Flight peaks.
+	 * @param numPeaks
+	 *            Number of peaks.
+	 * @param p
+	 *            Fatigue slope.
+	 * @param q
+	 *            Fatigue stress ratio coefficient.
+	 * @return Fatigue damage of the flight.
+	 */
+	static double getFlightDamage(float[] peaks, int numPeaks, double p, double q) {
+
+		// empty flight
+		int n = numPeaks;
+		if (n == 0)
+			return 0.0;
+
+		// find last occurrence of flight minimum
+		int start = 0;
+		for (int j = 1; j < n; j++) {
+			if (peaks[j] <= peaks[start]) {
+				start = j;
+			}
+		}
+
+		// restructure flight to start and end at minimum
+		double[] buffer = new double[n + 1], stack = new double[n + 1];
+		for (int j = 0; j < n; j++) {
+			buffer[j] = peaks[(start + j) % n];
+		}
+		buffer[n] = buffer[0];
+		n = removeNonReversals(buffer, n + 1);
+
+		// count rainflow cycles
+		double damage = 0.0;
+		int size = 0;
+		for (int j = 0; j < n; j++) {
+			stack[size++] = buffer[j];
+			while (size >= 3) {
+				double x = Math.abs(stack[size - 1] - stack[size - 2]);
+				double y = Math.abs(stack[size - 2] - stack[size - 3]);
+				if (x < y) {
+					break;
+				}
+				damage += getDamage(Math.max(stack[size - 2], stack[size - 3]), Math.min(stack[size - 2], stack[size - 3]), p, q);
+				stack[size - 3] = stack[size - 1];
+				size -= 2;
+			}
+		}
+		return damage;
+	}
+
+	/**
+	 * Returns damage of the given cycle.
+	 *
+	 * @param max
+	 *            Maximum stress of cycle.
+	 * @param min
+	 *            Minimum stress of cycle.
+	 * @param p
+	 *            Fatigue slope.
+	 * @param q
+	 *            Fatigue stress ratio coefficient.
+	 * @return Damage of the cycle.
+	 */
+	private static double getDamage(double max, double min, double p, double q) {
+		if (max < 0.0)
+			return 0.0;
+		double stress = Math.pow((max - min) / 0.9, q) * Math.pow(max, 1.0 - q);
+		if (Math.abs(stress) <= STRESS_THRESHOLD)
+			return 0.0;
+		return Math.pow(stress / REFERENCE_STRESS, p);
+	}
+
+	/**
+	 * Computes preffas equivalent stress and linear propagation efficiency. The sequence is processed twice; the first pass stabilizes the crack opening stack, and the second pass accumulates
+	 * damage.
+	 *
+	 * @param sequence
+	 *            Flight sequence.
+	 * @param task
+	 *            The owner task. Can be null.
+	 * @return True if solved, false if the task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private boolean solvePropagation(int[] sequence, InternalEquinoxTask<?> task) throws Exception {
+
+		// set material parameters (crack opening coefficient C is not passed to the inbuilt engine)
+		if (material_ instanceof PreffasMaterial) {
+			PreffasMaterial material = (PreffasMaterial) material_;
+			a_ = material.getA();
+			b_ = material.getB();
+			n_ = material.getM();
+			ftySum_ = material.getFty() + material.getFtu();
+		}
+		else if (material_ instanceof LinearMaterial) {
+			LinearMaterial material = (LinearMaterial) material_;
+			a_ = material.getA();
+			b_ = material.getB();
+			n_ = material.getM();
+			ftySum_ = material.getFty() + material.getFtu();
+		}
+		else
+			throw new Exception("Unsupported material type: " + material_);
+		c_ = 0.0;
+
+		// initialize crack opening stack
+		stackMax_[1] = maxStress_;
+		stackMin_[1] = minStress_;
+		stackOpening_[1] = getOpeningStress(maxStress_, minStress_);
+		previousMin_ = minStress_ < 0.0 ? 0.0 : minStress_;
+		stackSize_ = 1;
+
+		// find maximum number of peaks
+		int maxPeaks = 0;
+		for (float[] flight : flights_) {
+			maxPeaks = Math.max(maxPeaks, flight.length);
+		}
+		double[] buffer = new double[maxPeaks + 4];
+
+		// loop over passes
+		for (int pass = 0; pass < 2; pass++) {
+
+			// loop over flights
+			for (int i = 0; i < sequence.length; i++) {
+
+				// task cancelled
+				if (task != null && task.isCancelled())
+					return false;
+
+				// update progress
+				if (task != null) {
+					task.updateProgress(pass * sequence.length + i, 2 * sequence.length);
+				}
+
+				// reset damage sums (first pass is not accumulated)
+				if (pass == 0 || i == 0) {
+					propagation_ = 0.0;
+					linear_ = 0.0;
+				}
+
+				// concatenate flight and accumulate damage
+				float[] peaks = flights_.get(sequence[i] - 1);
+				int n = concatenateFlight(peaks, buffer, i + 1, sequence.length);
+				accumulatePropagation(buffer, n);
+			}
+		}
+
+		// compute equivalent stress and linear efficiency
+		preffasStress_ = Math.pow(propagation_ / validity_, 1.0 / n_) / (0.9 * (a_ + 0.1 * b_ + 0.01 * c_));
+		linearEfficiency_ = linear_;
+		return true;
+	}
+
+	/**
+	 * Concatenates the given flight to the previous one, so that the resulting peaks start with a maximum and consist of maximum-minimum pairs.
+	 *
+	 * @param peaks
+	 *            Flight peaks.
+	 * @param buffer
+	 *            Output buffer. Its length must be at least the number of peaks plus 4.
+	 * @param flight
+	 *            Flight number in sequence (starting from 1).
+	 * @param numFlights
+	 *            Number of flights in sequence.
+	 * @return Number of output peaks.
+	 */
+	private int concatenateFlight(float[] peaks, double[] buffer, int flight, int numFlights) {
+
+		// copy peaks and close flight
+		int n = peaks.length;
+		if (n == 0)
+			return 0;
+		int offset = flight > 1 ? 1 : 0;
+		for (int i = 0; i < n; i++) {
+			buffer[i + offset] = peaks[i];
+		}
+		buffer[n + offset] = peaks[0];
+		n++;
+		if (flight == 1) {
+			first_ = peaks[0];
+		}
+
+		// prepend last stress of previous flight
+		else {
+			buffer[0] = last_;
+			n++;
+		}
+
+		// start from first maximum
+		int start = 0;
+		for (int i = 0; i < n - 1; i++) {
+			if (buffer[i] > buffer[i + 1]) {
+				start = i;
+				break;
+			}
+		}
+		if (start > 0) {
+			System.arraycopy(buffer, start, buffer, 0, n - start);
+			n -= start;
+		}
+
+		// remove non-reversals and make number of peaks even
+		n = removeNonReversals(buffer, n);
+		if (n % 2 == 1) {
+			n--;
+		}
+		if (n == 0)
+			return 0;
+
+		// close sequence at last flight
+		if (flight == numFlights && buffer[n - 1] > first_) {
+			buffer[n] = buffer[n - 2];
+			buffer[n + 1] = first_;
+			n += 2;
+		}
+
+		// store last stress
+		last_ = buffer[n - 1];
+		return n;
+	}
+
+	/**
+	 * Accumulates propagation damage sums for the given maximum-minimum pairs.
+	 *
+	 * @param peaks
+	 *            Peaks.
+	 * @param n
+	 *            Number of peaks.
+	 * @throws Exception
+	 *             If crack opening stack overflows.
+	 */
+	private void accumulatePropagation(double[] peaks, int n) throws Exception {
+
+		// loop over maximum-minimum pairs
+		for (int i = 0; i + 1 < n; i += 2) {
+
+			// no contribution from compressive maximum
+			double max = peaks[i], min = peaks[i + 1];
+			if (max <= 0.0) {
+				continue;
+			}
+
+			// linear propagation efficiency
+			linear_ += Math.pow(max - getOpeningStress(max, previousMin_), n_);
+
+			// opening stress of current cycle
+			double opening = getOpeningStress(max, min);
+			previousMin_ = min < 0.0 ? 0.0 : min;
+
+			// find first stack level exceeded by maximum
+			int k = 1;
+			while (k <= stackSize_ && !(max > stackMax_[k])) {
+				k++;
+			}
+
+			// stack level exceeded
+			if (k <= stackSize_) {
+
+				// accumulate damage of released levels
+				double damage = Math.pow(max - stackOpening_[k - 1], n_);
+				for (int j = k; j <= stackSize_; j++) {
+					damage += Math.pow(stackMax_[j] - stackOpening_[j], n_) - Math.pow(stackMax_[j] - stackOpening_[j - 1], n_);
+				}
+				propagation_ += damage;
+
+				// update stack
+				if (stackMin_[k - 1] > min) {
+					updateStack(min);
+				}
+				else if (opening > stackOpening_[k - 1]) {
+					stackSize_ = k;
+					stackMax_[k] = max;
+					stackMin_[k] = min;
+					stackOpening_[k] = opening;
+				}
+				else {
+					stackSize_ = k - 1;
+				}
+			}
+
+			// no stack level exceeded
+			else {
+
+				// accumulate damage above current opening stress
+				if (max > stackOpening_[stackSize_]) {
+					propagation_ += Math.pow(max - stackOpening_[stackSize_], n_);
+				}
+
+				// update stack
+				if (stackMin_[stackSize_] > min) {
+					updateStack(min);
+				}
+				else if (opening > stackOpening_[stackSize_]) {
+					stackSize_++;
+					if (stackSize_ > MAX_STACK_SIZE)
+						throw new Exception("Crack opening stack size exceeded the limit of " + MAX_STACK_SIZE + ".");
+					stackMax_[stackSize_] = max;
+					stackMin_[stackSize_] = min;
+					stackOpening_[stackSize_] = opening;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates crack opening stack for a new minimum stress.
+	 *
+	 * @param min
+	 *            Minimum stress.
+	 */
+	private void updateStack(double min) {
+		int m = 1;
+		while (!(min < stackMin_[m])) {
+			m++;
+		}
+		stackOpening_[m] = getOpeningStress(stackMax_[m], min);
+		stackMin_[m] = min;
+		stackSize_ = stackOpening_[m] > stackOpening_[m - 1] ? m : m - 1;
+	}
+
+	/**
+	 * Returns crack opening stress of the given cycle.
+	 *
+	 * @param max
+	 *            Maximum stress.
+	 * @param min
+	 *            Minimum stress.
+	 * @return Crack opening stress.
+	 */
+	private double getOpeningStress(double max, double min) {
+
+		// compressive minimum
+		if (min < 0.0) {
+			double t = (1.0 - a_) / a_;
+			double u = a_ * (1.0 + 2.0 * t * Math.abs(min) / ftySum_);
+			return (1.0 - u) * max;
+		}
+
+		// tensile minimum
+		double r = min / max;
+		double u = a_ + b_ * r + c_ * r * r;
+		return max - u * (max - min);
+	}
+
+	/**
+	 * Removes non-reversal points from the given peaks. First and last peaks are always kept.
+	 *
+	 * @param peaks
+	 *            Peaks.
+	 * @param n
+	 *            Number of peaks.
+	 * @return Number of remaining peaks.
+	 */
+	private static int removeNonReversals(double[] peaks, int n) {
+
+		// too few peaks
+		if (n < 3)
+			return n;
+
+		// compare candidate peak with last kept and next peaks
+		int last = 0;
+		double candidate = peaks[1];
+		for (int i = 2; i < n; i++) {
+			if ((candidate - peaks[last]) * (peaks[i] - candidate) < 0.0) {
+				peaks[++last] = candidate;
+			}
+			candidate = peaks[i];
+		}
+		peaks[++last] = candidate;
+		return last + 1;
+	}
+}
@@ -29,6 +29,7 @@ import java.util.Iterator;
 import equinox.data.ExcaliburStressType;
 import equinox.data.input.ExcaliburInput;
 import equinox.task.Excalibur;
+import equinox.utility.BatchWriter;
 import equinox.utility.Utility;
 
 /**
@@ -165,7 +166,7 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 
 		// prepare statement to insert stresses
 		String sql = "insert into " + tableNames[Excalibur.STF_STRESSES] + "(file_id, lc_num, sn) values(?, ?, ?)";
-		try (PreparedStatement insertStress = connection.prepareStatement(sql)) {
+		try (PreparedStatement insertStress = connection.prepareStatement(sql); BatchWriter stressWriter = new BatchWriter(insertStress)) {
 
 			// create directory stream
 			try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(stressDir, Utility.getFileFilter(".stf"))) {
@@ -236,6 +237,7 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 							// not 2 columns
 							if (split.length != 2) {
 								owner.addWarning("Unexpected number of columns encountered for 1D element in the stress file '" + fileName + "'. Skipping file.");
+								stressWriter.flush();
 								deleteStressFile.setLong(1, fileID);
 								deleteStressFile.executeUpdate();
 								continue nextFile;
@@ -247,8 +249,8 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 							// set stress
 							insertStress.setDouble(3, Double.parseDouble(split[1].trim()));
 
-							// execute statement
-							insertStress.executeUpdate();
+							// add to batch
+							stressWriter.addBatch();
 						}
 					}
 				}
@@ -276,7 +278,7 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 
 		// prepare statement to insert 2D stresses
 		String sql = "insert into " + tableNames[Excalibur.STF_STRESSES] + "(file_id, lc_num, sx, sy, sxy, sigma_1, sigma_2, max_sigma, abs_max_sigma, min_sigma) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-		try (PreparedStatement insertStress = connection.prepareStatement(sql)) {
+		try (PreparedStatement insertStress = connection.prepareStatement(sql); BatchWriter stressWriter = new BatchWriter(insertStress)) {
 
 			// create directory stream
 			try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(stressDir, Utility.getFileFilter(".stf"))) {
@@ -347,6 +349,7 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 							// not 2 columns
 							if (split.length != 4) {
 								owner.addWarning("Unexpected number of columns encountered for 2D element in the stress file '" + fileName + "'. Skipping file.");
+								stressWriter.flush();
 								deleteStressFile.setLong(1, fileID);
 								deleteStressFile.executeUpdate();
 								continue nextFile;
@@ -374,8 +377,8 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 							insertStress.setDouble(9, Math.max(Math.abs(sigma1), Math.abs(sigma2)));
 							insertStress.setDouble(10, Math.min(sigma1, sigma2));
 
-							// execute statement
-							insertStress.executeUpdate();
+							// add to batch
+							stressWriter.addBatch();
 						}
 					}
 				}
@@ -403,7 +406,7 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 
 		// prepare statement to insert 1D stresses
 		String sql = "insert into " + tableNames[Excalibur.STF_STRESSES] + "(file_id, lc_num, sn) values(?, ?, ?)";
-		try (PreparedStatement insertStress = connection.prepareStatement(sql)) {
+		try (PreparedStatement insertStress = connection.prepareStatement(sql); BatchWriter stressWriter = new BatchWriter(insertStress)) {
 
 			// create directory stream
 			try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(stressDir, Utility.getFileFilter(".stf"))) {
@@ -464,8 +467,8 @@ public class ExcaliburLoadElementStresses implements EquinoxProcess<Long> {
 							// set stress
 							insertStress.setDouble(3, Double.parseDouble(line.substring(7, 22).trim()));
 
-							// execute statement
-							insertStress.executeUpdate();
+							// add to batch
+							stressWriter.addBatch();
 						}
 					}
 				}
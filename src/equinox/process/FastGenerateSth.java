@@ -15,36 +15,30 @@
  */
 package equinox.process;
 
-import java.io.BufferedWriter;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.HashMap;
 
 import equinox.Equinox;
+import equinox.data.CompiledSpectrum;
+import equinox.data.CompiledSpectrumCache.Lease;
 import equinox.data.DPRatio;
 import equinox.data.DT1PointInterpolator;
 import equinox.data.DT2PointsInterpolator;
 import equinox.data.DTInterpolation;
 import equinox.data.DTInterpolator;
-import equinox.data.LoadcaseFactor;
-import equinox.data.OnegStress;
-import equinox.data.Segment;
-import equinox.data.SegmentFactor;
+import equinox.data.STFStressVector;
 import equinox.data.StressComponent;
 import equinox.data.fileType.STFFile;
 import equinox.data.fileType.Spectrum;
 import equinox.data.input.FastEquivalentStressInput;
-import equinox.data.input.GenerateStressSequenceInput;
 import equinox.plugin.FileType;
 import equinox.task.FastGenerateStressSequence;
+import equinox.utility.StressHistoryWriter;
 import equinox.utility.Utility;
 
 /**
@@ -75,18 +69,6 @@ public class FastGenerateSth implements EquinoxProcess<Path> {
 	/** Input. */
 	private final FastEquivalentStressInput input_;
 
-	/** Number of columns. */
-	private static final int NUM_COLS = 8;
-
-	/** STH file indices. */
-	private int rowIndex_ = 0, colIndex_ = 0;
-
-	/** STH line. */
-	private String line_;
-
-	/** Decimal format. */
-	private final DecimalFormat format_ = new DecimalFormat("0.00");
-
 	/**
 	 * Creates generate fast STH file process.
 	 *
@@ -119,559 +101,89 @@ public class FastGenerateSth implements EquinoxProcess<Path> {
 	@Override
 	public Path start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
 
-		// update info
-		task_.updateMessage("Generating stress sequence...");
-
-		// create path to output file
-		String stfName = stfFile_ == null ? stfName_ : stfFile_.getName();
-		Path sthFile = task_.getWorkingDirectory().resolve(FileType.appendExtension(Utility.correctFileName(FileType.getNameWithoutExtension(stfName)), FileType.STH));
-
-		// create file writer
-		try (BufferedWriter writer = Files.newBufferedWriter(sthFile, Charset.defaultCharset())) {
-
-			// write file header
-			writer.write(" # STH Generated by Equinox Version " + Equinox.VERSION.toString() + ", Date: " + new SimpleDateFormat("dd/MM/yyyy").format(new Date()));
-			writer.newLine();
-			writer.write(" #");
-			writer.newLine();
-			writer.write(" #");
-			writer.newLine();
-			writer.write(" #");
-			writer.newLine();
-
-			// get spectrum file IDs
-			Spectrum cdfSet = stfFile_ == null ? spectrum_ : stfFile_.getParentItem();
-			int anaFileID = cdfSet.getANAFileID();
-			int txtFileID = cdfSet.getTXTFileID();
-			int convTableID = cdfSet.getConversionTableID();
-			int stfID = stfFile_ == null ? stfID_ : stfFile_.getID();
-			int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
-
-			// create statement
-			try (Statement statement = connection.createStatement()) {
+		// get spectrum file IDs
+		Spectrum cdfSet = stfFile_ == null ? spectrum_ : stfFile_.getParentItem();
+		int anaFileID = cdfSet.getANAFileID();
+		int txtFileID = cdfSet.getTXTFileID();
+		int convTableID = cdfSet.getConversionTableID();
+		int stfID = stfFile_ == null ? stfID_ : stfFile_.getID();
+		int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
 
-				// get DP ratio
-				task_.updateMessage("Computing delta-p ratio...");
-				DPRatio dpRatio = getDPRatio(connection, statement, anaFileID, txtFileID, convTableID, stfID, stressTableID);
-
-				// get DT parameters
-				task_.updateMessage("Computing delta-t interpolation...");
-				DTInterpolator dtInterpolator = getDTInterpolator(connection, statement, txtFileID, stfID, stressTableID);
-
-				// get number of flights and peaks of the ANA file
-				int numPeaks = getNumberOfPeaks(statement, anaFileID);
-
-				// prepare statement for selecting ANA peaks
-				String sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = ?";
-				try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
-
-					// prepare statement for selecting 1g issy code
-					sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
-					try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
-
-						// prepare statement for selecting increment issy code
-						sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = " + txtFileID
-								+ " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
-						try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
-
-							// prepare statement for selecting STF stress
-							sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID + " where file_id = " + stfID + " and issy_code = ?";
-							try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
-
-								// execute query for selecting ANA flights
-								sql = "select * from ana_flights where file_id = " + anaFileID + " order by flight_num";
-								try (ResultSet anaFlights = statement.executeQuery(sql)) {
-
-									// loop over flights
-									HashMap<String, OnegStress> oneg = new HashMap<>();
-									HashMap<String, Double> inc = new HashMap<>();
-									int peakCount = 0;
-									while (anaFlights.next()) {
-
-										// task cancelled
-										if (task_.isCancelled())
-											return null;
-
-										// write flight header
-										int flightPeaks = anaFlights.getInt("num_peaks");
-										writeFlightHeader(writer, anaFlights, flightPeaks);
-
-										// initialize variables
-										int rem = flightPeaks % NUM_COLS;
-										int numRows = (flightPeaks / NUM_COLS) + (rem == 0 ? 0 : 1);
-										rowIndex_ = 0;
-										colIndex_ = 0;
-										line_ = "";
-
-										// execute statement for getting ANA peaks
-										selectANAPeak.setInt(1, anaFlights.getInt("flight_id"));
-										try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
-
-											// loop over peaks
-											while (anaPeaks.next()) {
-
-												// task cancelled
-												if (task_.isCancelled())
-													return null;
-
-												// update progress
-												task_.updateProgress(peakCount, numPeaks);
-												peakCount++;
-
-												// insert peak into STH peaks table
-												writeSTHPeak(writer, anaPeaks, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, dpRatio, dtInterpolator, rem, numRows);
-											}
-										}
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-		}
-
-		// return STH file
-		return sthFile;
-	}
-
-	/**
-	 * Writes STH peaks to output file.
-	 *
-	 * @param writer
-	 *            File writer.
-	 * @param anaPeaks
-	 *            ANA peaks.
-	 * @param select1GIssyCode
-	 *            Database statement for selecting 1g issy codes.
-	 * @param selectSTFStress
-	 *            Database statement for selecting STF stresses.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy codes.
-	 * @param oneg
-	 *            Mapping containing 1g codes versus the stresses.
-	 * @param inc
-	 *            Mapping containing class codes versus the stresses.
-	 * @param dpRatio
-	 *            Delta-p ratio.
-	 * @param dtInterpolator
-	 *            Delta-t interpolator.
-	 * @param numRows
-	 *            Number of rows to write.
-	 * @param rem
-	 *            Remaining number of columns in the STH output file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void writeSTHPeak(BufferedWriter writer, ResultSet anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, OnegStress> oneg, HashMap<String, Double> inc, DPRatio dpRatio, DTInterpolator dtInterpolator,
-			int rem, int numRows) throws Exception {
-
-		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
-		String onegCode = classCode.substring(0, 4);
-
-		// get 1g stress
-		OnegStress onegStress = oneg.get(onegCode);
-		if (onegStress == null) {
-			onegStress = get1GStress(selectSTFStress, select1GIssyCode, onegCode);
-			oneg.put(onegCode, onegStress);
-		}
-
-		// get segment
-		Segment segment = onegStress.getSegment();
-
-		// get increment stress
-		Double incStress = inc.get(classCode);
-		if (incStress == null) {
-			incStress = getIncStress(selectSTFStress, selectIncrementIssyCode, classCode, onegCode, segment);
-			inc.put(classCode, incStress);
-		}
-
-		// compute and modify delta-p stress
-		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDouble("delta_p"));
-		if (dpRatio != null) {
-			dpStress = modifyStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress);
-		}
-
-		// compute and modify delta-t stress
-		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDouble("delta_t"));
-		if ((dtInterpolator != null) && (dtInterpolator instanceof DT1PointInterpolator)) {
-			DT1PointInterpolator onePoint = (DT1PointInterpolator) dtInterpolator;
-			dtStress = modifyStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress);
-		}
-		else if ((dtInterpolator != null) && (dtInterpolator instanceof DT2PointsInterpolator)) {
-			DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolator;
-			dtStress = modify2PointDTStress(twoPoints, segment, dtStress);
-		}
+		// create statement
+		DPRatio dpRatio = null;
+		DTInterpolator dtInterpolator = null;
+		try (Statement statement = connection.createStatement()) {
 
-		// compute and modify total stress
-		double totalStress = onegStress.getStress() + incStress + dpStress + dtStress;
+			// get DP ratio
+			task_.updateMessage("Computing delta-p ratio...");
+			dpRatio = getDPRatio(connection, statement, anaFileID, txtFileID, convTableID, stfID, stressTableID);
 
-		// remove negative stresses
-		if ((totalStress < 0.0) && input_.isRemoveNegativeStresses()) {
-			totalStress = 0.0;
+			// get DT parameters
+			task_.updateMessage("Computing delta-t interpolation...");
+			dtInterpolator = getDTInterpolator(connection, statement, txtFileID, stfID, stressTableID);
 		}
 
-		// last row
-		if (rowIndex_ == (numRows - 1)) {
+		// compile spectrum (shared with other tasks through spectrum cache)
+		try (Lease lease = Equinox.SPECTRUM_CACHE.acquire(anaFileID, txtFileID, convTableID, () -> new CompileSpectrum(task_, anaFileID, txtFileID).start(connection))) {
 
-			// add peaks
-			line_ += String.format("%10s", format_.format(totalStress));
-			colIndex_++;
+			// compilation cancelled
+			CompiledSpectrum spectrum = lease.getSpectrum();
+			if (spectrum == null)
+				return null;
 
-			// last column
-			if (colIndex_ == (rem == 0 ? NUM_COLS : rem)) {
-				writer.write(line_);
-				writer.newLine();
-				line_ = "";
-				colIndex_ = 0;
-				rowIndex_++;
-			}
-		}
-
-		// other rows
-		else {
+			// create stress kernel
+			STFStressVector stresses = new ReadSTFStresses(task_, spectrum, stfID, stressTableID).start(connection);
+			StressSequenceKernel kernel = new StressSequenceKernel(spectrum, stresses, input_, dpRatio, dtInterpolator);
 
-			// add peaks
-			line_ += String.format("%10s", format_.format(totalStress));
-			colIndex_++;
-
-			// last column
-			if (colIndex_ == NUM_COLS) {
-				writer.write(line_);
-				writer.newLine();
-				line_ = "";
-				colIndex_ = 0;
-				rowIndex_++;
-			}
-		}
-	}
+			// update info
+			task_.updateMessage("Generating stress sequence...");
 
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param interpolator
-	 *            2 points delta-t interpolator.
-	 * @param segment
-	 *            Segment.
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @return The modified stress value.
-	 */
-	private double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress) {
+			// create path to output file
+			String stfName = stfFile_ == null ? stfName_ : stfFile_.getName();
+			Path sthFile = task_.getWorkingDirectory().resolve(FileType.appendExtension(Utility.correctFileName(FileType.getNameWithoutExtension(stfName)), FileType.STH));
 
-		// apply overall factors
-		String method = input_.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
+			// create file writer
+			try (StressHistoryWriter writer = new StressHistoryWriter(sthFile)) {
 
-		// apply segment factors
-		if ((segment != null) && (input_.getSegmentFactors() != null)) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
-		}
+				// write file header
+				writer.writeLine(" # STH Generated by Equinox Version " + Equinox.VERSION.toString() + ", Date: " + new SimpleDateFormat("dd/MM/yyyy").format(new Date()));
+				writer.writeLine(" #");
+				writer.writeLine(" #");
+				writer.writeLine(" #");
 
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
+				// create omission filter (if selected and not 0-level)
+				OmissionFilter omission = null;
+				if (input_.isApplyOmission() && input_.getOmissionLevel() > 0.0) {
+					omission = new OmissionFilter(input_.getOmissionLevel());
 				}
-		}
 
-		// return modified stress
-		return stress;
-	}
-
-	/**
-	 * Sets increment stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stress from STF file.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy code.
-	 * @param classCode
-	 *            14 digit class code.
-	 * @param onegCode
-	 *            1g code.
-	 * @param segment
-	 *            Segment.
-	 * @return Returns the increment stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private Double getIncStress(PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, String classCode, String onegCode, Segment segment) throws Exception {
-
-		// add default increment stress
-		double totalIncrementStress = 0.0;
-
-		// loop over increments
-		for (int i = 0; i < 5; i++) {
+				// loop over flights
+				int numFlights = spectrum.getNumberOfFlights();
+				double[] peaks = new double[Math.max(spectrum.getMaxPeaksPerFlight(), 1)];
+				for (int i = 0; i < numFlights; i++) {
 
-			// get increment block
-			String block = classCode.substring((2 * i) + 4, (2 * i) + 6);
+					// task cancelled
+					if (task_.isCancelled())
+						return null;
 
-			// no increment
-			if (block.equals("00")) {
-				continue;
-			}
-
-			// set parameters
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, block.substring(1)); // direction number
-			selectIncrementIssyCode.setString(4, block.substring(0, 1)); // factor number
-
-			// query issy code, factor and event name
-			try (ResultSet resultSet = selectIncrementIssyCode.executeQuery()) {
-
-				// loop over increments
-				while (resultSet.next()) {
+					// update progress
+					task_.updateProgress(i, numFlights);
 
-					// get issy code, factor and event name
-					String issyCode = resultSet.getString("issy_code");
-					double factor = resultSet.getDouble("factor_" + block.substring(0, 1));
-
-					// compute and modify increment stress
-					double stress = factor * getSTFStress(selectSTFStress, issyCode);
-					stress = modifyStress(issyCode, segment, GenerateStressSequenceInput.INCREMENT, stress);
-
-					// add to total increment stress
-					totalIncrementStress += stress;
-				}
-			}
-		}
-
-		// set increment stresses
-		return totalIncrementStress;
-	}
-
-	/**
-	 * Sets 1g stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stresses from STF file.
-	 * @param select1gIssyCode
-	 *            Database statement for selecting 1g issy code from TXT file.
-	 * @param onegCode
-	 *            1g code.
-	 * @return The 1g stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private OnegStress get1GStress(PreparedStatement selectSTFStress, PreparedStatement select1gIssyCode, String onegCode) throws Exception {
-
-		// get 1G issy code and event name
-		String issyCode = null, event = null, segmentName = null;
-		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
-		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
-			while (resultSet.next()) {
-
-				// get issy code and event name
-				issyCode = resultSet.getString("issy_code");
-				event = resultSet.getString("flight_phase");
-				segmentNum = resultSet.getInt("oneg_order");
-
-				// extract segment name
-				segmentName = Utility.extractSegmentName(event);
-			}
-		}
-
-		// create segment
-		Segment segment = new Segment(segmentName, segmentNum);
-
-		// compute and modify 1g stress
-		double stress = getSTFStress(selectSTFStress, issyCode);
-		stress = modifyStress(issyCode, segment, GenerateStressSequenceInput.ONEG, stress);
-
-		// set to peak
-		return new OnegStress(segment, stress);
-	}
-
-	/**
-	 * Returns STF stress for given issy code.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement.
-	 * @param issyCode
-	 *            ISSY code.
-	 * @return STF stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private double getSTFStress(PreparedStatement selectSTFStress, String issyCode) throws Exception {
-		StressComponent component = input_.getStressComponent();
-		double angle = input_.getRotationAngle();
-		selectSTFStress.setString(1, issyCode); // issy code
-		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
-			while (resultSet.next())
-				if (component.equals(StressComponent.NORMAL_X))
-					return resultSet.getDouble("stress_x");
-				else if (component.equals(StressComponent.NORMAL_Y))
-					return resultSet.getDouble("stress_y");
-				else if (component.equals(StressComponent.SHEAR_XY))
-					return resultSet.getDouble("stress_xy");
-				else if (component.equals(StressComponent.ROTATED)) {
-					double x = resultSet.getDouble("stress_x");
-					double y = resultSet.getDouble("stress_y");
-					double xy = resultSet.getDouble("stress_xy");
-					return (0.5 * (x + y)) + (0.5 * (x - y) * Math.cos(2 * angle)) + (xy * Math.sin(2 * angle));
-				}
-		}
-		return 0.0;
-	}
-
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param segment
-	 *            Segment.
-	 * @param stressType
-	 *            Stress type (1g, increment, delta-p, delta-t or total stress).
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @return The modified stress value.
-	 */
-	private double modifyStress(String issyCode, Segment segment, int stressType, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(stressType);
-		}
-
-		// apply segment factors
-		if ((segment != null) && (input_.getSegmentFactors() != null)) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
+					// write flight
+					int flightPeaks = kernel.getFlightStresses(i, peaks, input_.isRemoveNegativeStresses());
+					if (omission != null) {
+						flightPeaks = omission.filter(writer, peaks, flightPeaks);
 					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
+					String name = spectrum.getFlightName(i);
+					task_.updateMessage("Generating flight '" + name + "'...");
+					writer.writeFlightHeader(spectrum.getValidity(i), spectrum.getBlockSize(i), flightPeaks, name, spectrum.getSeverity(i));
+					writer.writePeaks(peaks, flightPeaks);
 				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
-	/**
-	 * Writes out flight header to output STH file.
-	 *
-	 * @param writer
-	 *            File writer.
-	 * @param anaFlights
-	 *            ANA flights.
-	 * @param flightPeaks
-	 *            Number of peaks of the flight.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void writeFlightHeader(BufferedWriter writer, ResultSet anaFlights, int flightPeaks) throws Exception {
-
-		// update info
-		String name = anaFlights.getString("name");
-		task_.updateMessage("Generating flight '" + name + "'...");
-
-		// create first line of flight info
-		String line1 = String.format("%10s", format_.format(anaFlights.getDouble("validity")));
-		line1 += String.format("%10s", format_.format(anaFlights.getDouble("block_size")));
-
-		// create second line of flight info
-		String line2 = String.format("%10s", Integer.toString(flightPeaks));
-		for (int i = 0; i < 62; i++) {
-			line2 += " ";
-		}
-		line2 += (name.startsWith("TF_") ? name.substring(3) : name) + " " + anaFlights.getString("severity");
-
-		// write headers
-		writer.write(line1);
-		writer.newLine();
-		writer.write(line2);
-		writer.newLine();
-	}
+			}
 
-	/**
-	 * Returns the number of peaks of the ANA file.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @return Number of peaks of the ANA file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static int getNumberOfPeaks(Statement statement, int anaFileID) throws Exception {
-		String sql = "select sum(num_peaks) as totalPeaks from ana_flights where file_id = " + anaFileID;
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next())
-				return resultSet.getInt("totalPeaks");
+			// return STH file
+			return sthFile;
 		}
-		return 0;
 	}
 
 	/**
@@ -23,10 +23,14 @@ import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
 
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.DatabaseWriter;
 import equinox.utility.Utility;
 
 /**
@@ -71,26 +75,48 @@ public class GenerateTXTFile implements EquinoxProcess<Integer> {
 
 	@Override
 	public Integer start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+		try (DatabaseWriter writer = new DatabaseWriter(connection)) {
+			Integer fileID = start(writer, null);
+			writer.flush();
+			return fileID;
+		}
+	}
+
+	/**
+	 * Generates and loads the TXT file. Event names of the conversion table are queried once through the given database writer, and the generated TXT file is then loaded with the writer. Note that,
+	 * some of the writes may still be pending when this method returns.
+	 *
+	 * @param writer
+	 *            Database writer.
+	 * @param executor
+	 *            Executor to archive the generated TXT file. Can be null, in which case the file is archived on the calling thread.
+	 * @return The file ID of the generated TXT file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Integer start(DatabaseWriter writer, ExecutorService executor) throws Exception {
+
+		// get event names
+		int conversionTableID = convTableInfo_[0];
+		HashMap<String, String> eventNames = writer.execute(connection -> getEventNames(connection, conversionTableID));
 
 		// generate TXT file
-		Path txtFile = generateTXTFile(connection, convTableInfo_[0]);
+		Path txtFile = generateTXTFile(eventNames);
 
 		// load and return TXT file
-		return new LoadTXTFile(task_, txtFile, cdfSet_, convTableInfo_[1]).start(connection);
+		return new LoadTXTFile(task_, txtFile, cdfSet_, convTableInfo_[1]).start(writer, executor);
 	}
 
 	/**
 	 * Reads through CVT file and generates TXT file by the use of the conversion table.
 	 *
-	 * @param connection
-	 *            Database connection.
-	 * @param conversionTableID
-	 *            Conversion table ID.
+	 * @param eventNames
+	 *            Mapping of ISSY codes to event names of the conversion table.
 	 * @return Path to generated TXT file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private Path generateTXTFile(Connection connection, int conversionTableID) throws Exception {
+	private Path generateTXTFile(HashMap<String, String> eventNames) throws Exception {
 
 		// create path to output TXT file
 		Path txtFile = task_.getWorkingDirectory().resolve(FileType.getNameWithoutExtension(cvtFile_) + FileType.TXT.getExtension());
@@ -99,54 +125,49 @@ public class GenerateTXTFile implements EquinoxProcess<Integer> {
 		task_.updateMessage("Getting CVT file size...");
 		int allLines = Utility.countLines(cvtFile_, task_);
 
-		// prepare statement to get event names
+		// create writer to write to TXT file
 		task_.updateMessage("Generating TXT file...");
-		String sql = "select fue_translated from xls_comments where file_id = " + conversionTableID + " and issy_code = ?";
-		try (PreparedStatement getEventName = connection.prepareStatement(sql)) {
+		try (BufferedWriter writer = Files.newBufferedWriter(txtFile, Charset.defaultCharset())) {
 
-			// create writer to write to TXT file
-			try (BufferedWriter writer = Files.newBufferedWriter(txtFile, Charset.defaultCharset())) {
+			// create reader to read CVT file
+			try (BufferedReader reader = Files.newBufferedReader(cvtFile_, Charset.defaultCharset())) {
 
-				// create reader to read CVT file
-				try (BufferedReader reader = Files.newBufferedReader(cvtFile_, Charset.defaultCharset())) {
+				// read file till the end
+				String line = null;
+				int readLines = 0;
+				while ((line = reader.readLine()) != null) {
 
-					// read file till the end
-					String line = null;
-					int readLines = 0;
-					while ((line = reader.readLine()) != null) {
+					// task cancelled
+					if (task_.isCancelled())
+						break;
 
-						// task cancelled
-						if (task_.isCancelled())
-							break;
+					// increment read lines
+					readLines++;
 
-						// increment read lines
-						readLines++;
+					// update progress
+					task_.updateProgress(readLines, allLines);
 
-						// update progress
-						task_.updateProgress(readLines, allLines);
-
-						// comment line
-						if (line.startsWith("#")) {
-							writer.write(line);
-							writer.newLine();
-							continue;
-						}
+					// comment line
+					if (line.startsWith("#")) {
+						writer.write(line);
+						writer.newLine();
+						continue;
+					}
 
-						// get ISSY code
-						String[] split = line.split(" ");
-						String issyCode = split[1].trim();
+					// get ISSY code
+					String[] split = line.split(" ");
+					String issyCode = split[1].trim();
 
-						// replace flight type with TXT formatting
-						String flightType = String.format("%-7s", split[0].trim());
-						line = line.replaceFirst(split[0].trim(), flightType);
+					// replace flight type with TXT formatting
+					String flightType = String.format("%-7s", split[0].trim());
+					line = line.replaceFirst(split[0].trim(), flightType);
 
-						// get event name from conversion table
-						String eventName = getEventName(getEventName, issyCode);
+					// get event name from conversion table
+					String eventName = getEventName(eventNames, issyCode);
 
-						// write out
-						writer.write(eventName + line);
-						writer.newLine();
-					}
+					// write out
+					writer.write(eventName + line);
+					writer.newLine();
 				}
 			}
 		}
@@ -155,23 +176,47 @@ public class GenerateTXTFile implements EquinoxProcess<Integer> {
 		return txtFile;
 	}
 
+	/**
+	 * Returns the mapping of ISSY codes to event names of the given conversion table. The first event name is taken for ISSY codes with multiple comments.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param conversionTableID
+	 *            Conversion table file ID.
+	 * @return Mapping of ISSY codes to event names.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static HashMap<String, String> getEventNames(Connection connection, int conversionTableID) throws Exception {
+		HashMap<String, String> eventNames = new HashMap<>();
+		String sql = "select issy_code, fue_translated from xls_comments where file_id = " + conversionTableID;
+		try (Statement statement = connection.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery(sql)) {
+				while (resultSet.next()) {
+					String issyCode = resultSet.getString("issy_code");
+					if (!eventNames.containsKey(issyCode)) {
+						eventNames.put(issyCode, resultSet.getString("fue_translated"));
+					}
+				}
+			}
+		}
+		return eventNames;
+	}
+
 	/**
 	 * Returns the event name for the given ISSY code.
 	 *
-	 * @param getEventName
-	 *            Database statement.
+	 * @param eventNames
+	 *            Mapping of ISSY codes to event names.
 	 * @param issyCode
 	 *            ISSY code.
 	 * @return The event name for the given ISSY code.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static String getEventName(PreparedStatement getEventName, String issyCode) throws Exception {
-		getEventName.setString(1, issyCode);
-		try (ResultSet resultSet = getEventName.executeQuery()) {
-			while (resultSet.next())
-				return String.format("%-21s", resultSet.getString("fue_translated"));
-		}
+	private static String getEventName(HashMap<String, String> eventNames, String issyCode) throws Exception {
+		if (eventNames.containsKey(issyCode))
+			return String.format("%-21s", eventNames.get(issyCode));
 		throw new Exception("No event name could be found in the conversion table for ISSY code: " + issyCode);
 	}
 }
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.concurrent.Future;
 
 import equinox.Equinox;
+import equinox.data.TaskScheduler.Lane;
 import equinox.dataServer.remote.data.FatigueMaterial;
 import equinox.task.DamageAngleAnalysis;
 
@@ -125,7 +126,7 @@ public class InbuiltDAA implements ESAProcess<Double[][]> {
 
 		// execute all tasks and wait to complete
 		task_.updateProgress(-1, 100);
-		List<Future<Double[]>> results = Equinox.SUBTASK_THREADPOOL.invokeAll(incrementTasks_);
+		List<Future<Double[]>> results = Equinox.SCHEDULER.invokeAll(Lane.SUBTASK, incrementTasks_);
 
 		// task cancelled
 		if (task_.isCancelled())
@@ -30,6 +30,7 @@ import java.util.concurrent.Future;
 import equinox.Equinox;
 import equinox.data.DamageContribution;
 import equinox.data.DamageContributionResult;
+import equinox.data.TaskScheduler.Lane;
 import equinox.dataServer.remote.data.FatigueMaterial;
 import equinox.task.LoadcaseDamageContributionAnalysis;
 
@@ -128,7 +129,7 @@ public class InbuiltDCA implements ESAProcess<List<DamageContributionResult>> {
 
 		// execute all tasks and wait to complete
 		task_.updateProgress(-1, 100);
-		List<Future<DamageContributionResult>> results = Equinox.SUBTASK_THREADPOOL.invokeAll(incrementTasks_);
+		List<Future<DamageContributionResult>> results = Equinox.SCHEDULER.invokeAll(Lane.SUBTASK, incrementTasks_);
 
 		// task cancelled
 		if (task_.isCancelled())
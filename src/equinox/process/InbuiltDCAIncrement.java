@@ -25,12 +25,14 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CodingErrorAction;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.concurrent.Callable;
 
 import equinox.Equinox;
 import equinox.data.DamageContributionResult;
+import equinox.data.TaskScheduler;
+import equinox.data.TaskScheduler.Permit;
+import equinox.data.TaskScheduler.Resource;
 import equinox.plugin.FileType;
 import equinox.serverUtilities.ServerUtility;
 import equinox.task.LoadcaseDamageContributionAnalysis;
@@ -61,7 +63,7 @@ public class InbuiltDCAIncrement implements Callable<DamageContributionResult> {
 	private final String contributionName_, validity_;
 
 	/** Sub processes. */
-	private Process writeSigmaProcess_, analysisProcess_, omissionProcess_;
+	private Process writeSigmaProcess_, analysisProcess_;
 
 	/** True to use extended inbuilt analysis engine. Extended inbuilt engine has no limit on number of peaks per typical flight. */
 	private final boolean useExtended_, applyOmission_;
@@ -145,9 +147,6 @@ public class InbuiltDCAIncrement implements Callable<DamageContributionResult> {
 	public void cancel() {
 
 		// destroy sub processes (if still running)
-		if (omissionProcess_ != null && omissionProcess_.isAlive()) {
-			omissionProcess_.destroyForcibly();
-		}
 		if (writeSigmaProcess_ != null && writeSigmaProcess_.isAlive()) {
 			writeSigmaProcess_.destroyForcibly();
 		}
@@ -229,59 +228,9 @@ public class InbuiltDCAIncrement implements Callable<DamageContributionResult> {
 		// update info
 		task_.updateMessage("Applying omission for damage contribution " + contributionName_ + "...");
 
-		// copy input STH file to working directory
-		Path sthFile = Files.copy(sthFile_, workingDir.resolve("input.sth"), StandardCopyOption.REPLACE_EXISTING);
-
-		// get path to perl script and perl executable
-		Path script = Equinox.SCRIPTS_DIR.resolve("omission.pl");
-
-		// get STH file name path
-		Path sthFileName = sthFile.getFileName();
-		if (sthFileName == null)
-			throw new Exception("Cannot get stress sequence file name.");
-
-		// create process builder for windows
-		ProcessBuilder pb = null;
-		if (Equinox.OS_TYPE.equals(ServerUtility.WINDOWS)) {
-			Path perl = Equinox.SCRIPTS_DIR.resolve("perl").resolve("bin").resolve("perl.exe");
-			pb = new ProcessBuilder(perl.toAbsolutePath().toString(), script.toAbsolutePath().toString(), sthFileName.toString(), Double.toString(omissionLevel_));
-		}
-
-		// create process builder for macOSX
-		else if (Equinox.OS_TYPE.equals(ServerUtility.MACOS)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), sthFileName.toString(), Double.toString(omissionLevel_));
-		}
-		else if (Equinox.OS_TYPE.equals(ServerUtility.LINUX)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), sthFileName.toString(), Double.toString(omissionLevel_));
-		}
-
-		// unsupported OS
-		if (pb == null)
-			throw new Exception("Unsupported operating system.");
-
-		// execute process and wait to end
-		pb.directory(workingDir.toFile());
-		File log = workingDir.resolve(sthFileName.toString() + "_omission.log").toFile();
-		pb.redirectErrorStream(true);
-		pb.redirectOutput(Redirect.appendTo(log));
-		omissionProcess_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert omissionProcess_.getInputStream().read() == -1;
-
-		// process failed
-		if (omissionProcess_.waitFor() != 0)
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// get output file
-		Path output = Paths.get(sthFile.toString() + FileType.RFORT.getExtension());
-
-		// output file doesn't exist
-		if (!Files.exists(output))
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// return output path
-		return output;
+		// apply omission
+		Path output = workingDir.resolve("input.sth" + FileType.RFORT.getExtension());
+		return new OmissionFilter(omissionLevel_).filter(sthFile_, output, task_);
 	}
 
 	/**
@@ -453,18 +402,32 @@ public class InbuiltDCAIncrement implements Callable<DamageContributionResult> {
 		File log = workingDir.resolve("engine.log").toFile();
 		pb.redirectErrorStream(true);
 		pb.redirectOutput(Redirect.appendTo(log));
-		analysisProcess_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert analysisProcess_.getInputStream().read() == -1;
+		try (Permit permit = Equinox.SCHEDULER.acquire(Resource.ENGINE, task_)) {
 
-		// task cancelled
-		if (task_.isCancelled())
-			return null;
+			// interrupted while waiting for permit
+			if (permit == null)
+				return null;
 
-		// process failed
-		if (analysisProcess_.waitFor() != 0)
-			throw new Exception("Analysis for damage contribution " + contributionName_ + " has failed! See 'engine.log' file for details.");
+			analysisProcess_ = pb.start();
+			assert pb.redirectInput() == Redirect.PIPE;
+			assert pb.redirectOutput().file() == log;
+			assert analysisProcess_.getInputStream().read() == -1;
+
+			// task cancelled
+			if (task_.isCancelled())
+				return null;
+
+			// process failed
+			if (analysisProcess_.waitFor() != 0)
+				throw new Exception("Analysis for damage contribution " + contributionName_ + " has failed! See 'engine.log' file for details.");
+		}
+
+		// interrupted while waiting for process
+		catch (InterruptedException e) {
+			cancel();
+			TaskScheduler.interrupted(task_);
+			return null;
+		}
 
 		// task cancelled
 		if (task_.isCancelled())
@@ -37,6 +37,10 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
+import equinox.data.TaskScheduler;
+import equinox.data.TaskScheduler.Permit;
+import equinox.data.TaskScheduler.Resource;
 import equinox.data.fileType.ExternalFatigueEquivalentStress;
 import equinox.data.fileType.ExternalLinearEquivalentStress;
 import equinox.data.fileType.ExternalPreffasEquivalentStress;
@@ -540,18 +544,32 @@ public class InbuiltESA implements ESAProcess<Void> {
 		pb.directory(workingDir.toFile());
 		pb.redirectErrorStream(true);
 		pb.redirectOutput(Redirect.appendTo(log));
-		analysisProcess_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert analysisProcess_.getInputStream().read() == -1;
+		try (Permit permit = Equinox.SCHEDULER.acquire(Resource.ENGINE, task_)) {
 
-		// task cancelled
-		if (task_.isCancelled())
-			return null;
+			// interrupted while waiting for permit
+			if (permit == null)
+				return null;
 
-		// process failed
-		if (analysisProcess_.waitFor() != 0)
-			throw new Exception("Analysis failed! See LOG file for details.");
+			analysisProcess_ = pb.start();
+			assert pb.redirectInput() == Redirect.PIPE;
+			assert pb.redirectOutput().file() == log;
+			assert analysisProcess_.getInputStream().read() == -1;
+
+			// task cancelled
+			if (task_.isCancelled())
+				return null;
+
+			// process failed
+			if (analysisProcess_.waitFor() != 0)
+				throw new Exception("Analysis failed! See LOG file for details.");
+		}
+
+		// interrupted while waiting for process
+		catch (InterruptedException e) {
+			cancel();
+			TaskScheduler.interrupted(task_);
+			return null;
+		}
 
 		// task cancelled
 		if (task_.isCancelled())
@@ -881,8 +899,7 @@ public class InbuiltESA implements ESAProcess<Void> {
 
 					// FLS file format
 					Path zipFile = task_.getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-					Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-					Path flsFile = Utility.extractFileFromZIP(zipFile, task_, FileType.FLS, null);
+					Path flsFile = BlobStore.extractFile(blob, zipFile, task_, FileType.FLS, null);
 					Files.copy(flsFile, output, StandardCopyOption.REPLACE_EXISTING);
 
 					// free blob
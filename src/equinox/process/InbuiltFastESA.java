@@ -35,6 +35,9 @@ import java.text.DecimalFormat;
 
 import equinox.Equinox;
 import equinox.data.FastESAOutput;
+import equinox.data.TaskScheduler;
+import equinox.data.TaskScheduler.Permit;
+import equinox.data.TaskScheduler.Resource;
 import equinox.dataServer.remote.data.FatigueMaterial;
 import equinox.dataServer.remote.data.LinearMaterial;
 import equinox.dataServer.remote.data.Material;
@@ -337,18 +340,32 @@ public class InbuiltFastESA implements ESAProcess<FastESAOutput> {
 		pb.directory(workingDir.toFile());
 		pb.redirectErrorStream(true);
 		pb.redirectOutput(Redirect.appendTo(log));
-		analysisProcess_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert analysisProcess_.getInputStream().read() == -1;
+		try (Permit permit = Equinox.SCHEDULER.acquire(Resource.ENGINE, task_)) {
 
-		// task cancelled
-		if (task_.isCancelled())
-			return null;
+			// interrupted while waiting for permit
+			if (permit == null)
+				return null;
 
-		// process failed
-		if (analysisProcess_.waitFor() != 0)
-			throw new Exception("Analysis failed! See LOG file for details.");
+			analysisProcess_ = pb.start();
+			assert pb.redirectInput() == Redirect.PIPE;
+			assert pb.redirectOutput().file() == log;
+			assert analysisProcess_.getInputStream().read() == -1;
+
+			// task cancelled
+			if (task_.isCancelled())
+				return null;
+
+			// process failed
+			if (analysisProcess_.waitFor() != 0)
+				throw new Exception("Analysis failed! See LOG file for details.");
+		}
+
+		// interrupted while waiting for process
+		catch (InterruptedException e) {
+			cancel();
+			TaskScheduler.interrupted(task_);
+			return null;
+		}
 
 		// task cancelled
 		if (task_.isCancelled())
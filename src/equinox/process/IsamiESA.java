@@ -233,7 +233,7 @@ public class IsamiESA implements ESAProcess<Void>, AnalysisListenerTask {
 			request.setMaterial(material);
 
 			// disable task canceling
-			task_.getTaskPanel().updateCancelState(false);
+			task_.updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			manager = task_.getTaskPanel().getOwner().getOwner().getAnalysisServerManager();
@@ -249,7 +249,7 @@ public class IsamiESA implements ESAProcess<Void>, AnalysisListenerTask {
 			removeListener = false;
 
 			// enable task canceling
-			task_.getTaskPanel().updateCancelState(true);
+			task_.updateCancelState(true);
 
 			// task cancelled
 			if (task_.isCancelled())
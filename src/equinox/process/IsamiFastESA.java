@@ -15,7 +15,6 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.InputStream;
 import java.nio.charset.Charset;
@@ -47,6 +46,7 @@ import equinox.plugin.FileType;
 import equinox.serverUtilities.FilerConnection;
 import equinox.task.AnalysisListenerTask;
 import equinox.task.FastEquivalentStressAnalysis;
+import equinox.utility.StressHistoryReader;
 import equinox.utility.Utility;
 import equinox.utility.exception.ServerAnalysisFailedException;
 
@@ -88,10 +88,10 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 	private final int anaFileID_, flsFileID_, validity_;
 
 	/** Parameters. */
-	private int readLines_, allLines_, flightNumber_, numPeaks_, rowIndex_ = 0, colIndex_ = 0;
+	private int flightNumber_, numPeaks_, rowIndex_ = 0, colIndex_ = 0;
 
 	/** Update message header. */
-	private String sthLine_, sigmaLine_;
+	private String sigmaLine_;
 
 	/** Number of columns. */
 	private static final int NUM_COLS = 10;
@@ -223,7 +223,7 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 			request.setMaterial(material);
 
 			// disable task canceling
-			task_.getTaskPanel().updateCancelState(false);
+			task_.updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = task_.getTaskPanel().getOwner().getOwner().getAnalysisServerManager();
@@ -239,7 +239,7 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 			removeListener = false;
 
 			// enable task canceling
-			task_.getTaskPanel().updateCancelState(true);
+			task_.updateCancelState(true);
 
 			// task cancelled
 			if (task_.isCancelled())
@@ -418,30 +418,18 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 					return null;
 			}
 
-			// get line count of the sequence file
-			allLines_ = Utility.countLines(sequenceFile_, task_);
-
 			// create file reader
-			try (BufferedReader reader = Files.newBufferedReader(sequenceFile_, Charset.defaultCharset())) {
+			try (StressHistoryReader reader = new StressHistoryReader(sequenceFile_)) {
 
 				// read file till the end
-				readLines_ = 0;
-				while ((sthLine_ = reader.readLine()) != null) {
+				while (reader.nextFlight()) {
 
 					// task cancelled
 					if (task_.isCancelled())
 						return null;
 
-					// increment read lines
-					readLines_++;
-
 					// update progress
-					task_.updateProgress(readLines_, allLines_);
-
-					// comment line
-					if (readLines_ < 5) {
-						continue;
-					}
+					task_.updateProgress(reader.getBytesRead(), reader.getFileSize());
 
 					// write flight header
 					writeFlightHeader(reader, writer);
@@ -469,7 +457,7 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writeFlightPeaks(BufferedReader reader, BufferedWriter writer) throws Exception {
+	private void writeFlightPeaks(StressHistoryReader reader, BufferedWriter writer) throws Exception {
 
 		// initialize variables
 		int rem = numPeaks_ % NUM_COLS;
@@ -478,87 +466,55 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 		colIndex_ = 0;
 		sigmaLine_ = "";
 
-		// initialize number of read peaks
-		int readPeaks = 0;
-		double peakVal = 0.0;
+		// read peaks
+		double[] peaks = reader.readPeaks();
+		int readPeaks = reader.getNumberOfReadPeaks();
+		task_.updateProgress(reader.getBytesRead(), reader.getFileSize());
 
-		// read till the end
-		while ((sthLine_ = reader.readLine()) != null) {
+		// loop over peaks
+		for (int i = 0; i < readPeaks; i++) {
 
 			// task cancelled
 			if (task_.isCancelled()) {
 				break;
 			}
 
-			// increment read lines
-			readLines_++;
-
-			// update progress
-			task_.updateProgress(readLines_, allLines_);
-
-			// split line
-			String[] split = sthLine_.trim().split(" ");
+			// get peak value
+			double peakVal = peaks[i];
 
-			// loop over columns
-			for (String col : split) {
+			// last row
+			if (rowIndex_ == numRows - 1) {
 
-				// invalid value
-				if (col == null || col.isEmpty()) {
-					continue;
-				}
-
-				// trim spaces
-				col = col.trim();
+				// add peaks
+				sigmaLine_ += String.format("%14s", format_.format(peakVal));
+				colIndex_++;
 
-				// invalid value
-				if (col.isEmpty()) {
-					continue;
-				}
-
-				// get peak value
-				peakVal = Double.parseDouble(col);
-
-				// last row
-				if (rowIndex_ == numRows - 1) {
-
-					// add peaks
-					sigmaLine_ += String.format("%14s", format_.format(peakVal));
-					colIndex_++;
-
-					// last column
-					if (colIndex_ == (rem == 0 ? NUM_COLS : rem)) {
-						writer.write(sigmaLine_);
-						writer.write("\n");
-						sigmaLine_ = "";
-						colIndex_ = 0;
-						rowIndex_++;
-					}
+				// last column
+				if (colIndex_ == (rem == 0 ? NUM_COLS : rem)) {
+					writer.write(sigmaLine_);
+					writer.write("\n");
+					sigmaLine_ = "";
+					colIndex_ = 0;
+					rowIndex_++;
 				}
+			}
 
-				// other rows
-				else {
+			// other rows
+			else {
 
-					// add peaks
-					sigmaLine_ += String.format("%14s", format_.format(peakVal));
-					colIndex_++;
+				// add peaks
+				sigmaLine_ += String.format("%14s", format_.format(peakVal));
+				colIndex_++;
 
-					// last column
-					if (colIndex_ == NUM_COLS) {
-						writer.write(sigmaLine_);
-						writer.write("\n");
-						sigmaLine_ = "";
-						colIndex_ = 0;
-						rowIndex_++;
-					}
+				// last column
+				if (colIndex_ == NUM_COLS) {
+					writer.write(sigmaLine_);
+					writer.write("\n");
+					sigmaLine_ = "";
+					colIndex_ = 0;
+					rowIndex_++;
 				}
-
-				// increment peak number
-				readPeaks++;
 			}
-
-			// all peaks read
-			if (readPeaks == numPeaks_)
-				return;
 		}
 	}
 
@@ -572,83 +528,12 @@ public class IsamiFastESA implements ESAProcess<FastESAOutput>, AnalysisListener
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writeFlightHeader(BufferedReader reader, BufferedWriter writer) throws Exception {
+	private void writeFlightHeader(StressHistoryReader reader, BufferedWriter writer) throws Exception {
 
-		// initialize variables
-		String flightName = null;
-		double validity = 0.0;
-
-		// split line
-		String[] split = sthLine_.trim().split(" ");
-
-		// loop over columns
-		int index = 0;
-		for (String col : split) {
-
-			// invalid value
-			if (col == null || col.isEmpty()) {
-				continue;
-			}
-
-			// trim spaces
-			col = col.trim();
-
-			// invalid value
-			if (col.isEmpty()) {
-				continue;
-			}
-
-			// validity
-			if (index == 0) {
-				validity = Double.parseDouble(col);
-			}
-
-			// increment index
-			index++;
-		}
-
-		// read next line
-		sthLine_ = reader.readLine();
-		readLines_++;
-		task_.updateProgress(readLines_, allLines_);
-
-		// null line
-		if (sthLine_ == null)
-			throw new Exception("Null line encountered during reading STH file.");
-
-		// split line
-		split = sthLine_.trim().split(" ");
-
-		// loop over columns
-		index = 0;
-		for (String col : split) {
-
-			// invalid value
-			if (col == null || col.isEmpty()) {
-				continue;
-			}
-
-			// trim spaces
-			col = col.trim();
-
-			// invalid value
-			if (col.isEmpty()) {
-				continue;
-			}
-
-			// number of peaks
-			if (index == 0) {
-				numPeaks_ = Integer.parseInt(col);
-			}
-
-			// flight name
-			else if (index == 1) {
-				flightName = col;
-			}
-
-			// increment index
-			index++;
-		}
+		// get validity, number of peaks and flight name
+		double validity = reader.getValidity();
+		numPeaks_ = reader.getNumberOfPeaks();
+		String flightName = reader.getName();
 
 		// pass 1 line
 		writer.write("\n");
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import equinox.data.DamageContributionResult;
+import equinox.task.LoadcaseDamageContributionAnalysis;
+
+/**
+ * Class for Java damage contribution analysis process. Damages of all contributions are computed in memory from the typical flight damages collected by {@link DamageContributionSolver} during
+ * stress sequence generation.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 21:58:12
+ */
+public class JavaDCA implements ESAProcess<List<DamageContributionResult>> {
+
+	/** The owner task of this process. */
+	private final LoadcaseDamageContributionAnalysis task_;
+
+	/** Damage contribution solver. */
+	private final DamageContributionSolver solver_;
+
+	/** Path to input FLS file. */
+	private final Path flsFile_;
+
+	/** Spectrum validity. */
+	private final int validity_;
+
+	/**
+	 * Creates Java damage contribution analysis process.
+	 *
+	 * @param task
+	 *            The owner task of this process.
+	 * @param solver
+	 *            Damage contribution solver containing all typical flights.
+	 * @param flsFile
+	 *            Path to input FLS file.
+	 * @param validity
+	 *            Spectrum validity.
+	 */
+	public JavaDCA(LoadcaseDamageContributionAnalysis task, DamageContributionSolver solver, Path flsFile, int validity) {
+		task_ = task;
+		solver_ = solver;
+		flsFile_ = flsFile;
+		validity_ = validity;
+	}
+
+	@Override
+	public List<DamageContributionResult> start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+
+		// read flight sequence
+		int[] sequence = JavaESA.readFlightSequence(flsFile_, task_);
+
+		// task cancelled
+		if (task_.isCancelled() || sequence == null)
+			return null;
+
+		// compute damages
+		task_.updateMessage("Computing damage contributions...");
+		return solver_.solve(sequence, validity_);
+	}
+
+	@Override
+	public void cancel() {
+		// no sub process
+	}
+}
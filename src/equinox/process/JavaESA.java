@@ -0,0 +1,387 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.io.BufferedReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import equinox.data.fileType.ExternalFatigueEquivalentStress;
+import equinox.data.fileType.ExternalLinearEquivalentStress;
+import equinox.data.fileType.ExternalPreffasEquivalentStress;
+import equinox.data.fileType.FatigueEquivalentStress;
+import equinox.data.fileType.LinearEquivalentStress;
+import equinox.data.fileType.PreffasEquivalentStress;
+import equinox.data.fileType.SpectrumItem;
+import equinox.dataServer.remote.data.LinearMaterial;
+import equinox.dataServer.remote.data.Material;
+import equinox.task.EquivalentStressAnalysis;
+import equinox.task.InternalEquinoxTask;
+import equinox.utility.StressHistoryReader;
+import equinox.utility.exception.InternalEngineAnalysisFailedException;
+
+/**
+ * Class for Java equivalent stress analysis process. Equivalent stresses are computed in memory with {@link EquivalentStressSolver}, without writing any input or output files.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 19:48:51
+ */
+public class JavaESA implements ESAProcess<Void> {
+
+	/** The owner task of this process. */
+	private final EquivalentStressAnalysis task_;
+
+	/** Path to input STH file. */
+	private final Path inputSTH_;
+
+	/** Equivalent stress. */
+	private final SpectrumItem eqStress_;
+
+	/** FLS file ID. */
+	private final int flsFileID_;
+
+	/** Material. */
+	private final Material material_;
+
+	/**
+	 * Creates Java equivalent stress analysis process.
+	 *
+	 * @param task
+	 *            The owner task of this process.
+	 * @param inputSTH
+	 *            Path to input STH file.
+	 * @param eqStress
+	 *            Equivalent stress.
+	 * @param flsFileID
+	 *            FLS file ID.
+	 * @param material
+	 *            Material.
+	 */
+	public JavaESA(EquivalentStressAnalysis task, Path inputSTH, SpectrumItem eqStress, int flsFileID, Material material) {
+		task_ = task;
+		inputSTH_ = inputSTH;
+		eqStress_ = eqStress;
+		flsFileID_ = flsFileID;
+		material_ = material;
+	}
+
+	@Override
+	public Void start(Connection connection, PreparedStatement... preparedStatements) throws InternalEngineAnalysisFailedException {
+
+		try {
+
+			// read typical flights
+			EquivalentStressSolver solver = new EquivalentStressSolver(material_);
+			if (!readTypicalFlights(inputSTH_, solver, task_))
+				return null;
+
+			// get flight sequence
+			int[] sequence = getFlightSequence(connection);
+
+			// task cancelled
+			if (task_.isCancelled())
+				return null;
+
+			// solve
+			task_.updateMessage("Running analysis...");
+			if (!solver.solve(sequence, getValidity(connection), task_))
+				return null;
+
+			// save results
+			saveResults(solver, connection);
+
+			// return
+			return null;
+		}
+
+		// analysis failed
+		catch (Exception e) {
+			throw new InternalEngineAnalysisFailedException(e, null);
+		}
+	}
+
+	@Override
+	public void cancel() {
+		// no sub process
+	}
+
+	/**
+	 * Reads typical flights of the given STH file into the given solver.
+	 *
+	 * @param sthFile
+	 *            STH file.
+	 * @param solver
+	 *            Equivalent stress solver.
+	 * @param task
+	 *            The owner task.
+	 * @return True if read, false if the task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	static boolean readTypicalFlights(Path sthFile, EquivalentStressSolver solver, InternalEquinoxTask<?> task) throws Exception {
+
+		// progress info
+		task.updateMessage("Reading typical flights...");
+
+		// read flights
+		try (StressHistoryReader reader = new StressHistoryReader(sthFile)) {
+			while (reader.nextFlight()) {
+
+				// task cancelled
+				if (task.isCancelled())
+					return false;
+
+				// update progress
+				task.updateProgress(reader.getBytesRead(), reader.getFileSize());
+
+				// add flight
+				double[] peaks = reader.readPeaks();
+				solver.addTypicalFlight(peaks, reader.getNumberOfReadPeaks());
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the typical flight number of the given flight name. Flight names are expected to be in the form <code>TF_n</code>.
+	 *
+	 * @param name
+	 *            Flight name.
+	 * @return Typical flight number (starting from 1).
+	 * @throws Exception
+	 *             If flight name has invalid format.
+	 */
+	static int getTypicalFlightNumber(String name) throws Exception {
+		String[] split = name.split("_");
+		if (split.length < 2)
+			throw new Exception("Invalid typical flight name encountered in FLS file: " + name);
+		try {
+			return Integer.parseInt(split[1].trim());
+		}
+		catch (NumberFormatException e) {
+			throw new Exception("Invalid typical flight name encountered in FLS file: " + name, e);
+		}
+	}
+
+	/**
+	 * Reads and returns the flight sequence from the given FLS file.
+	 *
+	 * @param flsFile
+	 *            FLS file.
+	 * @param task
+	 *            The owner task.
+	 * @return Flight sequence, or null if the task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	static int[] readFlightSequence(Path flsFile, InternalEquinoxTask<?> task) throws Exception {
+
+		// progress info
+		task.updateMessage("Reading flight sequence...");
+
+		// read file
+		int[] sequence = new int[1024];
+		int numFlights = 0;
+		try (BufferedReader reader = Files.newBufferedReader(flsFile, Charset.defaultCharset())) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+
+				// task cancelled
+				if (task.isCancelled())
+					return null;
+
+				// comment or empty line
+				line = line.trim();
+				if (line.startsWith("#") || line.isEmpty()) {
+					continue;
+				}
+
+				// add flight
+				String[] split = line.split("\\s+");
+				if (split.length < 2)
+					throw new Exception("Invalid line encountered in FLS file: " + line);
+				if (numFlights == sequence.length) {
+					sequence = Arrays.copyOf(sequence, sequence.length * 2);
+				}
+				sequence[numFlights++] = getTypicalFlightNumber(split[1]);
+			}
+		}
+
+		// return sequence
+		return Arrays.copyOf(sequence, numFlights);
+	}
+
+	/**
+	 * Retrieves and returns the flight sequence from FLS flights.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @return Flight sequence.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private int[] getFlightSequence(Connection connection) throws Exception {
+
+		// progress info
+		task_.updateMessage("Getting flight sequence from database...");
+
+		// read flight names
+		ArrayList<String> names = new ArrayList<>();
+		try (Statement statement = connection.createStatement()) {
+			String sql = isExternal() ? "select name from ext_fls_flights where sth_id = " + flsFileID_ : "select name from fls_flights where file_id = " + flsFileID_;
+			try (ResultSet resultSet = statement.executeQuery(sql + " order by flight_num")) {
+				while (resultSet.next()) {
+					names.add(resultSet.getString("name"));
+				}
+			}
+		}
+
+		// create sequence
+		int[] sequence = new int[names.size()];
+		for (int i = 0; i < sequence.length; i++) {
+			sequence[i] = getTypicalFlightNumber(names.get(i));
+		}
+		return sequence;
+	}
+
+	/**
+	 * Retrieves and returns the validity of spectrum from FLS flights.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @return Validity.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private int getValidity(Connection connection) throws Exception {
+
+		// initialize validity
+		int validity = 0;
+
+		// create statement
+		try (Statement statement = connection.createStatement()) {
+
+			// execute query
+			String sql = isExternal() ? "select flight_num from ext_fls_flights where sth_id = " + flsFileID_ : "select flight_num from fls_flights where file_id = " + flsFileID_;
+			statement.setMaxRows(1);
+			try (ResultSet resultSet = statement.executeQuery(sql + " order by flight_num desc")) {
+				while (resultSet.next()) {
+					validity = resultSet.getInt("flight_num");
+				}
+			}
+
+			// reset statement
+			statement.setMaxRows(0);
+		}
+
+		// return validity
+		return validity;
+	}
+
+	/**
+	 * Saves analysis results to database.
+	 *
+	 * @param solver
+	 *            Equivalent stress solver.
+	 * @param connection
+	 *            Database connection.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void saveResults(EquivalentStressSolver solver, Connection connection) throws Exception {
+
+		// update info
+		task_.updateMessage("Saving analysis results to database...");
+
+		// set stress and table name
+		double stress = -1.0;
+		String tableName = null;
+		if (eqStress_ instanceof FatigueEquivalentStress) {
+			stress = solver.getFatigueEquivalentStress();
+			tableName = "fatigue_equivalent_stresses";
+		}
+		else if (eqStress_ instanceof PreffasEquivalentStress) {
+			stress = solver.getPreffasEquivalentStress();
+			tableName = "preffas_equivalent_stresses";
+		}
+		else if (eqStress_ instanceof LinearEquivalentStress) {
+			LinearMaterial material = (LinearMaterial) material_;
+			stress = getLinearEquivalentStress(solver, material.getA(), 1.0 - material.getA(), material.getM());
+			tableName = "linear_equivalent_stresses";
+		}
+		else if (eqStress_ instanceof ExternalFatigueEquivalentStress) {
+			stress = solver.getFatigueEquivalentStress();
+			tableName = "ext_fatigue_equivalent_stresses";
+		}
+		else if (eqStress_ instanceof ExternalPreffasEquivalentStress) {
+			stress = solver.getPreffasEquivalentStress();
+			tableName = "ext_preffas_equivalent_stresses";
+		}
+		else if (eqStress_ instanceof ExternalLinearEquivalentStress) {
+			LinearMaterial material = (LinearMaterial) material_;
+			stress = getLinearEquivalentStress(solver, material.getA(), material.getB(), material.getM());
+			tableName = "ext_linear_equivalent_stresses";
+		}
+
+		// update equivalent stress table
+		String sql = "update " + tableName + " set stress = ?, validity = ?, max_stress = ?, " + "min_stress = ?, r_ratio = ?, total_cycles = ?, output_file_id = ? where id = " + eqStress_.getID();
+		try (PreparedStatement update = connection.prepareStatement(sql)) {
+			update.setDouble(1, stress);
+			update.setDouble(2, solver.getValidity());
+			update.setDouble(3, solver.getMaxStress());
+			update.setDouble(4, solver.getMinStress());
+			update.setDouble(5, solver.getRRatio());
+			update.setDouble(6, solver.getTotalPeaks());
+			update.setNull(7, java.sql.Types.INTEGER);
+			update.executeUpdate();
+		}
+	}
+
+	/**
+	 * Computes and returns linear propagation equivalent stress.
+	 *
+	 * @param solver
+	 *            Equivalent stress solver.
+	 * @param a
+	 *            Crack opening coefficient A.
+	 * @param b
+	 *            Crack opening coefficient B.
+	 * @param m
+	 *            Propagation exponent.
+	 * @return Linear propagation equivalent stress.
+	 */
+	static double getLinearEquivalentStress(EquivalentStressSolver solver, double a, double b, double m) {
+		double c = 0.9 * (a + b * 0.1);
+		return Math.pow(solver.getLinearEfficiency() / solver.getValidity(), 1.0 / m) / c;
+	}
+
+	/**
+	 * Returns true if the equivalent stress belongs to an external stress sequence.
+	 *
+	 * @return True if the equivalent stress belongs to an external stress sequence.
+	 */
+	private boolean isExternal() {
+		return eqStress_ instanceof ExternalFatigueEquivalentStress || eqStress_ instanceof ExternalPreffasEquivalentStress || eqStress_ instanceof ExternalLinearEquivalentStress;
+	}
+}
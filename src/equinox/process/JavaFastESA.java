@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import equinox.data.FastESAOutput;
+import equinox.dataServer.remote.data.FatigueMaterial;
+import equinox.dataServer.remote.data.LinearMaterial;
+import equinox.dataServer.remote.data.Material;
+import equinox.dataServer.remote.data.PreffasMaterial;
+import equinox.task.FastEquivalentStressAnalysis;
+import equinox.utility.exception.InternalEngineAnalysisFailedException;
+
+/**
+ * Class for Java fast equivalent stress analysis process. Equivalent stresses are computed in memory with {@link EquivalentStressSolver}, without writing any input or output files.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 20:03:17
+ */
+public class JavaFastESA implements ESAProcess<FastESAOutput> {
+
+	/** The owner task. */
+	private final FastEquivalentStressAnalysis task_;
+
+	/** Path to input STH and FLS files. */
+	private final Path sthFile_, flsFile_;
+
+	/** Material. */
+	private final Material material_;
+
+	/** Spectrum validity. */
+	private final int validity_;
+
+	/**
+	 * Creates Java fast equivalent stress analysis process.
+	 *
+	 * @param task
+	 *            The owner task of this process.
+	 * @param sthFile
+	 *            Path to input STH file.
+	 * @param flsFile
+	 *            Path to input FLS file.
+	 * @param material
+	 *            Material.
+	 * @param validity
+	 *            Spectrum validity.
+	 */
+	public JavaFastESA(FastEquivalentStressAnalysis task, Path sthFile, Path flsFile, Material material, int validity) {
+		task_ = task;
+		sthFile_ = sthFile;
+		flsFile_ = flsFile;
+		material_ = material;
+		validity_ = validity;
+	}
+
+	@Override
+	public FastESAOutput start(Connection connection, PreparedStatement... preparedStatements) throws InternalEngineAnalysisFailedException {
+
+		try {
+
+			// read typical flights
+			EquivalentStressSolver solver = new EquivalentStressSolver(material_);
+			if (!JavaESA.readTypicalFlights(sthFile_, solver, task_))
+				return null;
+
+			// read flight sequence
+			int[] sequence = JavaESA.readFlightSequence(flsFile_, task_);
+
+			// task cancelled
+			if (task_.isCancelled())
+				return null;
+
+			// solve
+			task_.updateMessage("Running analysis...");
+			if (!solver.solve(sequence, validity_, task_))
+				return null;
+
+			// get stress
+			Double stress = null;
+			if (material_ instanceof FatigueMaterial) {
+				stress = solver.getFatigueEquivalentStress();
+			}
+			else if (material_ instanceof PreffasMaterial) {
+				stress = solver.getPreffasEquivalentStress();
+			}
+			else if (material_ instanceof LinearMaterial) {
+				LinearMaterial material = (LinearMaterial) material_;
+				stress = JavaESA.getLinearEquivalentStress(solver, material.getA(), material.getB(), material.getM());
+			}
+
+			// return output
+			return new FastESAOutput(stress, null);
+		}
+
+		// analysis failed
+		catch (Exception e) {
+			throw new InternalEngineAnalysisFailedException(e, null);
+		}
+	}
+
+	@Override
+	public void cancel() {
+		// no sub process
+	}
+}
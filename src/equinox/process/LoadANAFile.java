@@ -15,19 +15,24 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import equinox.data.BlobStore;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.BatchWriter;
+import equinox.utility.DatabaseWriter;
+import equinox.utility.FieldScanner;
 import equinox.utility.Utility;
 
 /**
@@ -49,10 +54,7 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	private final Spectrum cdfSet_;
 
 	/** Parameters. */
-	private int readLines_, allLines_, flightNumber_, numPeaks_;
-
-	/** Update message header. */
-	private String line_;
+	private int flightNumber_;
 
 	/**
 	 * Creates load ANA file process.
@@ -90,6 +92,26 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 
 	@Override
 	public Integer start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+		try (DatabaseWriter writer = new DatabaseWriter(connection)) {
+			Integer fileID = start(writer, null);
+			writer.flush();
+			return fileID;
+		}
+	}
+
+	/**
+	 * Loads the ANA file. The file is parsed on the calling thread; flights and their peaks are staged and inserted by the given database writer. The input file is archived concurrently with
+	 * parsing. Note that, some of the writes may still be pending when this method returns.
+	 *
+	 * @param writer
+	 *            Database writer.
+	 * @param executor
+	 *            Executor to archive the input file. Can be null, in which case the file is archived on the calling thread.
+	 * @return The file ID, or null if the task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Integer start(DatabaseWriter writer, ExecutorService executor) throws Exception {
 
 		// initialize input file and type
 		Path anaFile = inputFile_;
@@ -109,70 +131,85 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 			Utility.extractFileFromGZIP(inputFile_, anaFile);
 		}
 
-		// get number of lines of file
-		task_.updateMessage("Getting ANA file size...");
-		allLines_ = Utility.countLines(anaFile, task_);
-		readLines_ = 0;
+		// get input file name
+		Path inputFileName = anaFile.getFileName();
+		if (inputFileName == null)
+			throw new Exception("Cannot get input ANA file name.");
+
+		// archive ANA file (concurrently with parsing)
+		Future<Path> archive = BlobStore.archive(anaFile, task_, executor);
 
 		// add to files table
-		int fileID = addToFilesTable(connection, anaFile);
+		task_.updateMessage("Saving ANA file info to database...");
+		int fileID = writer.execute(connection -> addToFilesTable(connection, inputFileName.toString()));
 
 		// create temporary ANA peaks table
 		task_.updateMessage("Creating ANA peaks table...");
-		String peaksTableName = createANAPeaksTable(connection, fileID);
-
-		// prepare statement for adding flights
-		String sql = "insert into ana_flights(file_id, flight_num, name, severity, num_peaks, validity, block_size, long_code, max_dp, min_dp, max_dt, min_dt) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-		try (PreparedStatement addFlight = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-			addFlight.setInt(1, fileID); // file ID
+		String peaksTableName = writer.execute(connection -> createANAPeaksTable(connection, fileID));
 
-			// prepare statement for adding peaks
-			sql = "insert into " + peaksTableName;
-			sql += "(flight_id, peak_num, four_digit_code, fourteen_digit_code, delta_p, delta_t) values(?, ?, ?, ?, ?, ?)";
-			try (PreparedStatement addPeaks = connection.prepareStatement(sql)) {
+		// create file scanner
+		int numLines = 0;
+		try (FieldScanner scanner = new FieldScanner(anaFile, Charset.defaultCharset())) {
 
-				// prepare statement for updating flight
-				sql = "update ana_flights set max_dp = ?, min_dp = ?, max_dt = ?, min_dt = ? where file_ID = " + fileID
-						+ " and flight_id = ?";
-				try (PreparedStatement updateFlight = connection.prepareStatement(sql)) {
+			// read file till the end
+			ArrayList<ANAFlight> flights = new ArrayList<>();
+			int stagedPeaks = 0;
+			while (scanner.nextLine()) {
 
-					// create file reader
-					try (BufferedReader reader = Files.newBufferedReader(anaFile, Charset.defaultCharset())) {
+				// task cancelled
+				if (task_.isCancelled())
+					return null;
 
-						// read file till the end
-						while ((line_ = reader.readLine()) != null) {
+				// update progress
+				task_.updateProgress(scanner.getBytesRead(), scanner.getFileSize());
 
-							// task cancelled
-							if (task_.isCancelled())
-								return null;
-
-							// increment read lines
-							readLines_++;
-
-							// update progress
-							task_.updateProgress(readLines_, allLines_);
+				// comment line
+				if (scanner.startsWith('#'))
+					continue;
 
-							// comment line
-							if (line_.startsWith("#"))
-								continue;
+				// read flight info and peaks
+				ANAFlight flight = readFlightInfo(scanner);
+				if (!readPeaks(scanner, flight))
+					return null;
 
-							// add flight to flights table
-							int flightID = addToFlightsTable(reader, addFlight);
+				// stage flight
+				flights.add(flight);
+				stagedPeaks += flight.numReadPeaks_;
 
-							// add peaks to peaks table
-							addToPeaksTable(reader, flightID, addPeaks, updateFlight);
-						}
-					}
+				// write staged flights
+				if (stagedPeaks >= BatchWriter.DEFAULT_BATCH_SIZE) {
+					writeFlights(writer, fileID, peaksTableName, flights);
+					flights = new ArrayList<>();
+					stagedPeaks = 0;
 				}
 			}
+
+			// write remaining flights
+			if (!flights.isEmpty()) {
+				writeFlights(writer, fileID, peaksTableName, flights);
+			}
+
+			// set number of lines
+			numLines = scanner.getLineNumber();
 		}
 
 		// task cancelled
 		if (task_.isCancelled())
 			return null;
 
-		// set number of flights
-		setNumberOfFlights(connection, fileID);
+		// set number of flights and lines
+		int numFlights = flightNumber_, lines = numLines;
+		writer.submit(connection -> {
+			setNumberOfFlightsAndLines(connection, fileID, numFlights, lines);
+			return null;
+		});
+
+		// save archive
+		Path archiveFile = BlobStore.getArchive(archive);
+		writer.submit(connection -> {
+			BlobStore.setData(connection, "ana_files", fileID, archiveFile);
+			return null;
+		});
 
 		// return
 		return fileID;
@@ -211,29 +248,17 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	}
 
 	/**
-	 * Adds input ANA file to files table.
+	 * Adds input ANA file to files table. The data BLOB is left empty until the file is archived.
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param inputFile
-	 *            Input ANA file.
+	 * @param fileName
+	 *            Input ANA file name.
 	 * @return The file ID of the added file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int addToFilesTable(Connection connection, Path inputFile) throws Exception {
-
-		// get input file name
-		Path inputFileName = inputFile.getFileName();
-		if (inputFileName == null)
-			throw new Exception("Cannot get input ANA file name.");
-
-		// zip ANA file
-		Path zipFile = task_.getWorkingDirectory().resolve(inputFileName.toString() + FileType.ZIP.getExtension());
-		Utility.zipFile(inputFile, zipFile.toFile(), task_);
-
-		// update info
-		task_.updateMessage("Saving ANA file info to database...");
+	private int addToFilesTable(Connection connection, String fileName) throws Exception {
 
 		// create query
 		String sql = "insert into ana_files(cdf_id, name, num_flights, data, num_lines) values(?, ?, ?, ?, ?)";
@@ -241,17 +266,13 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 		// create statement
 		try (PreparedStatement update = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-			// create input stream
-			try (InputStream inputStream = Files.newInputStream(zipFile)) {
-
-				// execute update
-				update.setInt(1, cdfSet_.getID()); // CDF set ID
-				update.setString(2, inputFileName.toString()); // file name
-				update.setInt(3, 0); // number of flights (0 for now)
-				update.setBlob(4, inputStream, zipFile.toFile().length());
-				update.setInt(5, allLines_); // number of lines
-				update.executeUpdate();
-			}
+			// execute update
+			update.setInt(1, cdfSet_.getID()); // CDF set ID
+			update.setString(2, fileName); // file name
+			update.setInt(3, 0); // number of flights (0 for now)
+			update.setBytes(4, new byte[0]); // data (empty for now)
+			update.setInt(5, 0); // number of lines (0 for now)
+			update.executeUpdate();
 
 			// get result set
 			try (ResultSet resultSet = update.getGeneratedKeys()) {
@@ -264,108 +285,56 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 	}
 
 	/**
-	 * Adds input flight to flights table.
+	 * Reads flight info.
 	 *
-	 * @param reader
-	 *            File reader.
-	 * @param addFlight
-	 *            Database statement for adding flight.
-	 * @return The flight ID of the added flight.
+	 * @param scanner
+	 *            File scanner.
+	 * @return The flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int addToFlightsTable(BufferedReader reader, PreparedStatement addFlight) throws Exception {
+	private ANAFlight readFlightInfo(FieldScanner scanner) throws Exception {
 
 		// update info
-		task_.updateMessage("Saving ANA flight info for flight " + flightNumber_ + " to database...");
+		task_.updateMessage("Reading ANA flight " + flightNumber_ + "...");
 
 		// initialize variables
-		String flightName = null, severity = "", longCode = "";
-		double validity = 0.0, blockSize = 0.0;
-
-		// split line
-		String[] split = line_.trim().split(" ");
-
-		// loop over columns
-		int index = 0;
-		for (String col : split) {
-
-			// invalid value
-			if ((col == null) || col.isEmpty())
-				continue;
-
-			// trim spaces
-			col = col.trim();
-
-			// invalid value
-			if (col.isEmpty())
-				continue;
-
-			// flight name
-			if (index == 0)
-				flightName = col;
-
-			// severity
-			else if (index == 1)
-				severity = col;
-
-			// long code
-			else if (index == 2)
-				longCode = col.substring(1, col.length() - 2);
+		ANAFlight flight = new ANAFlight();
+		String severity = "", longCode = "";
 
-			// increment index
-			index++;
+		// get flight name, severity and long code
+		int numFields = scanner.getNumberOfFields();
+		if (numFields > 0) {
+			flight.name_ = scanner.getField(0);
+		}
+		if (numFields > 1) {
+			severity = scanner.getField(1);
+		}
+		if (numFields > 2) {
+			String col = scanner.getField(2);
+			longCode = col.substring(1, col.length() - 2);
 		}
 
 		// read next line
-		line_ = reader.readLine();
-		readLines_++;
-		task_.updateProgress(readLines_, allLines_);
-
-		// null line
-		if (line_ == null)
+		if (!scanner.nextLine())
 			throw new Exception("Null line encountered during reading ANA file.");
+		task_.updateProgress(scanner.getBytesRead(), scanner.getFileSize());
 
 		// set number of peaks
-		numPeaks_ = Integer.parseInt(line_.trim());
+		flight.numPeaks_ = Integer.parseInt(scanner.getLine().trim());
 
 		// read next line
-		line_ = reader.readLine();
-		readLines_++;
-		task_.updateProgress(readLines_, allLines_);
-
-		// null line
-		if (line_ == null)
+		if (!scanner.nextLine())
 			throw new Exception("Null line encountered during reading ANA file.");
+		task_.updateProgress(scanner.getBytesRead(), scanner.getFileSize());
 
-		// split line
-		split = line_.trim().split(" ");
-
-		// loop over columns
-		index = 0;
-		for (String col : split) {
-
-			// invalid value
-			if ((col == null) || col.isEmpty())
-				continue;
-
-			// trim spaces
-			col = col.trim();
-
-			// invalid value
-			if (col.isEmpty())
-				continue;
-
-			// validity
-			if (index == 0)
-				validity = Double.parseDouble(col);
-
-			// block size
-			else if (index == 1)
-				blockSize = Double.parseDouble(col);
-
-			// increment index
-			index++;
+		// get validity and block size
+		numFields = scanner.getNumberOfFields();
+		if (numFields > 0) {
+			flight.validity_ = scanner.getDouble(0);
+		}
+		if (numFields > 1) {
+			flight.blockSize_ = scanner.getDouble(1);
 		}
 
 		// check severity and long code character limits
@@ -373,122 +342,77 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 			severity = severity.substring(0, 100) + "... (truncated due to character limit)";
 		if (longCode.length() > 500)
 			longCode = longCode.substring(0, 100) + "... (truncated due to character limit)";
+		flight.severity_ = severity;
+		flight.longCode_ = longCode;
 
-		// execute update
-		addFlight.setInt(2, flightNumber_); // flight number
-		addFlight.setString(3, flightName); // flight name
-		addFlight.setString(4, severity); // severity
-		addFlight.setInt(5, numPeaks_); // number of peaks
-		addFlight.setDouble(6, validity); // validity
-		addFlight.setDouble(7, blockSize); // block size
-		addFlight.setString(8, longCode); // long code
-		addFlight.setDouble(9, 0.0); // max DP (0 for now)
-		addFlight.setDouble(10, 0.0); // min DP (0 for now)
-		addFlight.setDouble(11, 0.0); // max DT (0 for now)
-		addFlight.setDouble(12, 0.0); // min DT (0 for now)
-		addFlight.executeUpdate();
-
-		// increment flight number
+		// set flight number
+		flight.flightNumber_ = flightNumber_;
 		flightNumber_++;
 
-		// get result set
-		try (ResultSet resultSet = addFlight.getGeneratedKeys()) {
-
-			// return flight ID
-			resultSet.next();
-			return resultSet.getBigDecimal(1).intValue();
-		}
+		// return flight
+		return flight;
 	}
 
 	/**
-	 * Adds input peaks to peaks table.
+	 * Reads peaks of the given flight. Maximum and minimum values of the flight are set only if all peaks of the flight are read.
 	 *
-	 * @param reader
-	 *            File reader.
-	 * @param flightID
-	 *            Flight ID.
-	 * @param addPeaks
-	 *            Database statement for adding peaks.
-	 * @param updateFlight
-	 *            Database statement for updating flight.
+	 * @param scanner
+	 *            File scanner.
+	 * @param flight
+	 *            Flight to read peaks for.
+	 * @return True if the peaks are read, false if the task is cancelled.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void addToPeaksTable(BufferedReader reader, int flightID, PreparedStatement addPeaks,
-			PreparedStatement updateFlight) throws Exception {
+	private boolean readPeaks(FieldScanner scanner, ANAFlight flight) throws Exception {
 
-		// update info
-		task_.updateMessage("Saving ANA peaks for flight " + (flightNumber_ - 1) + " to database...");
+		// initialize peak arrays
+		int capacity = Math.max(flight.numPeaks_, 1);
+		flight.fourDigitCodes_ = new String[capacity];
+		flight.fourteenDigitCodes_ = new String[capacity];
+		flight.deltaPs_ = new double[capacity];
+		flight.deltaTs_ = new double[capacity];
 
-		// initialize number of read peaks
-		int readPeaks = 0;
+		// initialize max-min values
 		double maxDP = Double.NEGATIVE_INFINITY;
 		double minDP = Double.POSITIVE_INFINITY;
 		double maxDT = Double.NEGATIVE_INFINITY;
 		double minDT = Double.POSITIVE_INFINITY;
 		double dp = 0.0, dt = 0.0;
+		String fourDigitCode = null, fourteenDigitCode = null;
 
 		// read till the end
-		while ((line_ = reader.readLine()) != null) {
+		int readPeaks = 0;
+		while (scanner.nextLine()) {
 
 			// task cancelled
 			if (task_.isCancelled())
-				break;
-
-			// increment read lines
-			readLines_++;
+				return false;
 
 			// update progress
-			task_.updateProgress(readLines_, allLines_);
+			task_.updateProgress(scanner.getBytesRead(), scanner.getFileSize());
 
-			// split line
-			String[] split = line_.trim().split(" ");
-
-			// set first 2 columns
-			addPeaks.setInt(1, flightID); // flight ID
-			addPeaks.setInt(2, readPeaks); // peak number
-
-			// loop over columns
-			int index = 0;
-			for (String col : split) {
-
-				// invalid value
-				if ((col == null) || col.isEmpty())
-					continue;
-
-				// trim spaces
-				col = col.trim();
-
-				// invalid value
-				if (col.isEmpty())
-					continue;
-
-				// 4 digit code
-				if (index == 0)
-					addPeaks.setString(3, col);
-
-				// 14 digit code
-				else if (index == 1)
-					addPeaks.setString(4, col);
-
-				// delta P
-				else if (index == 2) {
-					dp = Double.parseDouble(col);
-					addPeaks.setDouble(5, dp);
-				}
+			// 4 and 14 digit codes
+			int numFields = scanner.getNumberOfFields();
+			if (numFields > 0) {
+				fourDigitCode = scanner.getField(0);
+			}
+			if (numFields > 1) {
+				fourteenDigitCode = scanner.getField(1);
+			}
 
-				// delta T
-				else if (index == 3) {
-					dt = Double.parseDouble(col);
-					addPeaks.setDouble(6, dt);
-				}
+			// delta P
+			if (numFields > 2) {
+				dp = scanner.getDouble(2);
+			}
 
-				// increment index
-				index++;
+			// delta T
+			if (numFields > 3) {
+				dt = scanner.getDouble(3);
 			}
 
-			// execute update
-			addPeaks.executeUpdate();
+			// stage peak
+			flight.addPeak(fourDigitCode, fourteenDigitCode, dp, dt);
 
 			// update max-min values
 			if (dp >= maxDP)
@@ -504,44 +428,205 @@ public class LoadANAFile implements EquinoxProcess<Integer> {
 			readPeaks++;
 
 			// all peaks read
-			if (readPeaks == numPeaks_) {
-
-				// update max-min values of the flight
-				updateFlight.setDouble(1, maxDP); // max DP
-				updateFlight.setDouble(2, minDP); // min DP
-				updateFlight.setDouble(3, maxDT); // max DT
-				updateFlight.setDouble(4, minDT); // min DT
-				updateFlight.setDouble(5, flightID); // flight ID
-				updateFlight.executeUpdate();
-
-				// return
-				return;
+			if (readPeaks == flight.numPeaks_) {
+				flight.maxDP_ = maxDP;
+				flight.minDP_ = minDP;
+				flight.maxDT_ = maxDT;
+				flight.minDT_ = minDT;
+				break;
 			}
 		}
+
+		// peaks read
+		return true;
+	}
+
+	/**
+	 * Submits the given flights to the database writer.
+	 *
+	 * @param writer
+	 *            Database writer.
+	 * @param fileID
+	 *            ANA file ID.
+	 * @param peaksTableName
+	 *            ANA peaks table name.
+	 * @param flights
+	 *            Flights to write. The list must not be modified afterwards.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void writeFlights(DatabaseWriter writer, int fileID, String peaksTableName, ArrayList<ANAFlight> flights) throws Exception {
+		writer.submit(connection -> {
+
+			// prepare statement for adding flights
+			String sql = "insert into ana_flights(file_id, flight_num, name, severity, num_peaks, validity, block_size, long_code, max_dp, min_dp, max_dt, min_dt) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+			try (PreparedStatement addFlight = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+				addFlight.setInt(1, fileID); // file ID
+
+				// prepare statement for adding peaks
+				sql = "insert into " + peaksTableName;
+				sql += "(flight_id, peak_num, four_digit_code, fourteen_digit_code, delta_p, delta_t) values(?, ?, ?, ?, ?, ?)";
+				try (PreparedStatement addPeaks = connection.prepareStatement(sql); BatchWriter peakWriter = new BatchWriter(addPeaks)) {
+
+					// loop over flights
+					for (ANAFlight flight : flights) {
+
+						// add flight to flights table
+						int flightID = addToFlightsTable(flight, addFlight);
+
+						// add peaks to peaks table
+						addToPeaksTable(flight, flightID, peakWriter);
+					}
+				}
+			}
+			return null;
+		});
 	}
 
 	/**
-	 * Sets number of flights to ANA file table.
+	 * Adds given flight to flights table.
+	 *
+	 * @param flight
+	 *            Flight.
+	 * @param addFlight
+	 *            Database statement for adding flight.
+	 * @return The flight ID of the added flight.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static int addToFlightsTable(ANAFlight flight, PreparedStatement addFlight) throws Exception {
+
+		// execute update
+		addFlight.setInt(2, flight.flightNumber_); // flight number
+		addFlight.setString(3, flight.name_); // flight name
+		addFlight.setString(4, flight.severity_); // severity
+		addFlight.setInt(5, flight.numPeaks_); // number of peaks
+		addFlight.setDouble(6, flight.validity_); // validity
+		addFlight.setDouble(7, flight.blockSize_); // block size
+		addFlight.setString(8, flight.longCode_); // long code
+		addFlight.setDouble(9, flight.maxDP_); // max DP
+		addFlight.setDouble(10, flight.minDP_); // min DP
+		addFlight.setDouble(11, flight.maxDT_); // max DT
+		addFlight.setDouble(12, flight.minDT_); // min DT
+		addFlight.executeUpdate();
+
+		// get result set
+		try (ResultSet resultSet = addFlight.getGeneratedKeys()) {
+
+			// return flight ID
+			resultSet.next();
+			return resultSet.getBigDecimal(1).intValue();
+		}
+	}
+
+	/**
+	 * Adds peaks of the given flight to peaks table.
+	 *
+	 * @param flight
+	 *            Flight.
+	 * @param flightID
+	 *            Flight ID.
+	 * @param peakWriter
+	 *            Batched writer for adding peaks.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void addToPeaksTable(ANAFlight flight, int flightID, BatchWriter peakWriter) throws Exception {
+		PreparedStatement addPeaks = peakWriter.getStatement();
+		for (int i = 0; i < flight.numReadPeaks_; i++) {
+			addPeaks.setInt(1, flightID); // flight ID
+			addPeaks.setInt(2, i); // peak number
+			addPeaks.setString(3, flight.fourDigitCodes_[i]); // 4 digit code
+			addPeaks.setString(4, flight.fourteenDigitCodes_[i]); // 14 digit code
+			addPeaks.setDouble(5, flight.deltaPs_[i]); // delta P
+			addPeaks.setDouble(6, flight.deltaTs_[i]); // delta T
+			peakWriter.addBatch();
+		}
+	}
+
+	/**
+	 * Sets number of flights and lines to ANA file table.
 	 *
 	 * @param connection
 	 *            Database connection.
 	 * @param fileID
 	 *            ANA file ID.
+	 * @param numFlights
+	 *            Number of flights.
+	 * @param numLines
+	 *            Number of lines of ANA file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void setNumberOfFlights(Connection connection, int fileID) throws Exception {
-
-		// update info
-		task_.updateMessage("Saving ANA number of flights to database...");
+	private static void setNumberOfFlightsAndLines(Connection connection, int fileID, int numFlights, int numLines) throws Exception {
 
 		// create query
-		String sql = "update ana_files set num_flights = ? where file_ID = " + fileID;
+		String sql = "update ana_files set num_flights = ?, num_lines = ? where file_ID = " + fileID;
 
 		// create statement
 		try (PreparedStatement update = connection.prepareStatement(sql)) {
-			update.setInt(1, flightNumber_); // number of flights
+			update.setInt(1, numFlights); // number of flights
+			update.setInt(2, numLines); // number of lines
 			update.executeUpdate();
 		}
 	}
+
+	/**
+	 * Inner class for staged ANA flight.
+	 *
+	 * @author Murat Artim
+	 * @date 19 Oct 2026
+	 * @time 01:40:26
+	 */
+	private static class ANAFlight {
+
+		/** Flight info. */
+		private String name_, severity_, longCode_;
+
+		/** Flight number, number of peaks and number of read peaks. */
+		private int flightNumber_, numPeaks_, numReadPeaks_ = 0;
+
+		/** Validity and block size. */
+		private double validity_ = 0.0, blockSize_ = 0.0;
+
+		/** Maximum and minimum values (0 if not all peaks could be read). */
+		private double maxDP_ = 0.0, minDP_ = 0.0, maxDT_ = 0.0, minDT_ = 0.0;
+
+		/** Peak codes. */
+		private String[] fourDigitCodes_, fourteenDigitCodes_;
+
+		/** Peak values. */
+		private double[] deltaPs_, deltaTs_;
+
+		/**
+		 * Adds peak to this flight.
+		 *
+		 * @param fourDigitCode
+		 *            4 digit code.
+		 * @param fourteenDigitCode
+		 *            14 digit code.
+		 * @param dp
+		 *            Delta-P value.
+		 * @param dt
+		 *            Delta-T value.
+		 */
+		void addPeak(String fourDigitCode, String fourteenDigitCode, double dp, double dt) {
+
+			// grow arrays (number of peaks of flight header is exceeded)
+			if (numReadPeaks_ == deltaPs_.length) {
+				int capacity = 2 * deltaPs_.length;
+				fourDigitCodes_ = Arrays.copyOf(fourDigitCodes_, capacity);
+				fourteenDigitCodes_ = Arrays.copyOf(fourteenDigitCodes_, capacity);
+				deltaPs_ = Arrays.copyOf(deltaPs_, capacity);
+				deltaTs_ = Arrays.copyOf(deltaTs_, capacity);
+			}
+
+			// add peak
+			fourDigitCodes_[numReadPeaks_] = fourDigitCode;
+			fourteenDigitCodes_[numReadPeaks_] = fourteenDigitCode;
+			deltaPs_[numReadPeaks_] = dp;
+			deltaTs_[numReadPeaks_] = dt;
+			numReadPeaks_++;
+		}
+	}
 }
@@ -33,6 +33,7 @@ import equinox.data.fileType.SpectrumItem;
 import equinox.data.input.AircraftEquivalentStressType;
 import equinox.plugin.FileType;
 import equinox.task.InternalEquinoxTask;
+import equinox.utility.BatchWriter;
 import equinox.utility.Utility;
 import jxl.Sheet;
 import jxl.Workbook;
@@ -146,7 +147,7 @@ public class LoadAircraftEquivalentStresses implements EquinoxProcess<SpectrumIt
 
 			// prepare statement for inserting stresses
 			String sql = "insert into AC_EQ_STRESSES_" + folder_.getID() + "(id, mission, eid, stress) values(?, ?, ?, ?)";
-			try (PreparedStatement insertToStresses = connection.prepareStatement(sql)) {
+			try (PreparedStatement insertToStresses = connection.prepareStatement(sql); BatchWriter stressWriter = new BatchWriter(insertToStresses)) {
 
 				// set ID
 				insertToStresses.setInt(1, eqStress.getID());
@@ -186,7 +187,7 @@ public class LoadAircraftEquivalentStresses implements EquinoxProcess<SpectrumIt
 						insertToStresses.setString(2, mission);
 						insertToStresses.setInt(3, eid);
 						insertToStresses.setDouble(4, stress);
-						insertToStresses.executeUpdate();
+						stressWriter.addBatch();
 						anyAdded = true;
 					}
 				}
@@ -231,7 +232,7 @@ public class LoadAircraftEquivalentStresses implements EquinoxProcess<SpectrumIt
 
 		// prepare statement for inserting stresses
 		String sql = "insert into AC_EQ_STRESSES_" + folder_.getID() + "(id, mission, eid, stress) values(?, ?, ?, ?)";
-		try (PreparedStatement insertToStresses = connection.prepareStatement(sql)) {
+		try (PreparedStatement insertToStresses = connection.prepareStatement(sql); BatchWriter stressWriter = new BatchWriter(insertToStresses)) {
 
 			// set ID
 			insertToStresses.setInt(1, eqStress.getID());
@@ -287,7 +288,7 @@ public class LoadAircraftEquivalentStresses implements EquinoxProcess<SpectrumIt
 						insertToStresses.setString(2, mission);
 						insertToStresses.setInt(3, eid);
 						insertToStresses.setDouble(4, stress);
-						insertToStresses.executeUpdate();
+						stressWriter.addBatch();
 						anyAdded = true;
 					}
 				}
@@ -30,6 +30,7 @@ import equinox.data.fileType.AircraftLoadCase;
 import equinox.data.fileType.AircraftLoadCases;
 import equinox.task.AddAircraftLoadCases;
 import equinox.task.InternalEquinoxTask;
+import equinox.utility.BatchWriter;
 import equinox.utility.Utility;
 
 /**
@@ -99,7 +100,7 @@ public class LoadAircraftLoadCasesFromF07 implements EquinoxProcess<ArrayList<Ai
 
 				// prepare statement for inserting into load cases
 				sql = "insert into LOAD_CASES_" + folder_.getID() + "(lc_id, eid, sx, sy, sxy) values(?, ?, ?, ?, ?)";
-				try (PreparedStatement insertToStresses = connection.prepareStatement(sql)) {
+				try (PreparedStatement insertToStresses = connection.prepareStatement(sql); BatchWriter stressWriter = new BatchWriter(insertToStresses)) {
 
 					// prepare statement for selecting element IDs
 					sql = "select eid from ELEMENTS_" + folder_.getID() + " where eid = ?";
@@ -229,8 +230,8 @@ public class LoadAircraftLoadCasesFromF07 implements EquinoxProcess<ArrayList<Ai
 										insertToStresses.setNull(5, java.sql.Types.DOUBLE);
 									}
 
-									// execute update
-									insertToStresses.executeUpdate();
+									// add to batch
+									stressWriter.addBatch();
 								}
 							}
 						}
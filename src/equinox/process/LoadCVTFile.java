@@ -15,17 +15,19 @@
  */
 package equinox.process;
 
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import equinox.data.BlobStore;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.DatabaseWriter;
 import equinox.utility.Utility;
 
 /**
@@ -85,6 +87,26 @@ public class LoadCVTFile implements EquinoxProcess<Path> {
 
 	@Override
 	public Path start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+		try (DatabaseWriter writer = new DatabaseWriter(connection)) {
+			Path cvtFile = start(writer, null);
+			writer.flush();
+			return cvtFile;
+		}
+	}
+
+	/**
+	 * Loads the CVT file. The file info is inserted by the given database writer, while the input file is archived concurrently with counting its lines. Note that, some of the writes may still be
+	 * pending when this method returns.
+	 *
+	 * @param writer
+	 *            Database writer.
+	 * @param executor
+	 *            Executor to archive the input file. Can be null, in which case the file is archived on the calling thread.
+	 * @return The extracted CVT file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Path start(DatabaseWriter writer, ExecutorService executor) throws Exception {
 
 		// initialize input file and type
 		Path cvtFile = cvtFile_;
@@ -104,39 +126,46 @@ public class LoadCVTFile implements EquinoxProcess<Path> {
 			Utility.extractFileFromGZIP(cvtFile_, cvtFile);
 		}
 
+		// get input file name
+		Path inputFileName = cvtFile.getFileName();
+		if (inputFileName == null)
+			throw new Exception("Cannot get input CVT file name.");
+
+		// archive CVT file (concurrently with counting lines)
+		Future<Path> archive = BlobStore.archive(cvtFile, task_, executor);
+
 		// get number of lines of file
 		task_.updateMessage("Getting CVT file size...");
 		allLines_ = Utility.countLines(cvtFile, task_);
 
-		// add file to files table and return file ID
-		cdfSet_.setCVTFileID(addToFilesTable(connection, cvtFile));
+		// add file to files table and set file ID
+		task_.updateMessage("Saving CVT file info to database...");
+		int fileID = writer.execute(connection -> addToFilesTable(connection, inputFileName.toString()));
+		cdfSet_.setCVTFileID(fileID);
+
+		// save archive
+		Path archiveFile = BlobStore.getArchive(archive);
+		writer.submit(connection -> {
+			BlobStore.setData(connection, "cvt_files", fileID, archiveFile);
+			return null;
+		});
+
+		// return CVT file
 		return cvtFile;
 	}
 
 	/**
-	 * Adds input CVT file to files table.
+	 * Adds input CVT file to files table. The data BLOB is left empty until the file is archived.
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param inputFile
-	 *            Input CVT file.
+	 * @param fileName
+	 *            Input CVT file name.
 	 * @return File ID.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int addToFilesTable(Connection connection, Path inputFile) throws Exception {
-
-		// get input file name
-		Path inputFileName = inputFile.getFileName();
-		if (inputFileName == null)
-			throw new Exception("Cannot get input CVT file name.");
-
-		// zip CVT file
-		Path zipFile = task_.getWorkingDirectory().resolve(inputFileName.toString() + FileType.ZIP.getExtension());
-		Utility.zipFile(inputFile, zipFile.toFile(), task_);
-
-		// update info
-		task_.updateMessage("Saving CVT file info to database...");
+	private int addToFilesTable(Connection connection, String fileName) throws Exception {
 
 		// create query
 		String sql = "insert into cvt_files(cdf_id, name, data, num_lines) values(?, ?, ?, ?)";
@@ -144,16 +173,12 @@ public class LoadCVTFile implements EquinoxProcess<Path> {
 		// create statement
 		try (PreparedStatement update = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-			// create input stream
-			try (InputStream inputStream = Files.newInputStream(zipFile)) {
-
-				// execute update
-				update.setInt(1, cdfSet_.getID()); // CDF set ID
-				update.setString(2, inputFileName.toString()); // file name
-				update.setBlob(3, inputStream, zipFile.toFile().length());
-				update.setInt(4, allLines_); // number of lines
-				update.executeUpdate();
-			}
+			// execute update
+			update.setInt(1, cdfSet_.getID()); // CDF set ID
+			update.setString(2, fileName); // file name
+			update.setBytes(3, new byte[0]); // data (empty for now)
+			update.setInt(4, allLines_); // number of lines
+			update.executeUpdate();
 
 			// get result set
 			try (ResultSet resultSet = update.getGeneratedKeys()) {
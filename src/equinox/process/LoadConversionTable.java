@@ -15,17 +15,20 @@
  */
 package equinox.process;
 
-import java.io.InputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import equinox.data.BlobStore;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.DatabaseWriter;
 import equinox.utility.Utility;
 import jxl.Sheet;
 import jxl.Workbook;
@@ -72,6 +75,26 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 
 	@Override
 	public Integer[] start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+		try (DatabaseWriter writer = new DatabaseWriter(connection)) {
+			Integer[] output = start(writer, null);
+			writer.flush();
+			return output;
+		}
+	}
+
+	/**
+	 * Loads the conversion table. The worksheet is read on the calling thread; its contents are inserted by the given database writer. The input file is archived concurrently with reading the
+	 * worksheet. Note that, some of the writes may still be pending when this method returns.
+	 *
+	 * @param writer
+	 *            Database writer.
+	 * @param executor
+	 *            Executor to archive the input file. Can be null, in which case the file is archived on the calling thread.
+	 * @return An array containing the file ID and delta-p loadcase, or null if the task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Integer[] start(DatabaseWriter writer, ExecutorService executor) throws Exception {
 
 		// initialize input file and type
 		Path excelFile = inputFile_;
@@ -96,11 +119,15 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 			Utility.extractFileFromGZIP(inputFile_, excelFile);
 		}
 
+		// archive conversion file (concurrently with reading)
+		Future<Path> archive = BlobStore.archive(excelFile, task_, executor);
+
 		// update info
 		task_.updateMessage("Reading conversion table...");
 
 		// initialize variables
 		Workbook workbook = null;
+		Integer[] output = null;
 
 		try {
 
@@ -116,20 +143,17 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 						+ excelFileName.toString() + "'.");
 
 			// add to files table
-			Integer[] output = addToFilesTable(connection, sheet, excelFile);
+			output = addToFilesTable(writer, sheet, excelFile);
 
 			// add to comments table
-			addToCommentsTable(connection, output[0], sheet);
+			addToCommentsTable(writer, output[0], sheet);
 
 			// task cancelled
 			if (task_.isCancelled())
 				return null;
 
 			// update CDF set info
-			updateCDFInfo(connection, sheet, excelFileName.toString());
-
-			// return output array
-			return output;
+			updateCDFInfo(writer, sheet, excelFileName.toString());
 		}
 
 		// close workbook
@@ -137,13 +161,24 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 			if (workbook != null)
 				workbook.close();
 		}
+
+		// save archive
+		int fileID = output[0];
+		Path archiveFile = BlobStore.getArchive(archive);
+		writer.submit(connection -> {
+			BlobStore.setData(connection, "xls_files", fileID, archiveFile);
+			return null;
+		});
+
+		// return output array
+		return output;
 	}
 
 	/**
-	 * Adds file info to files table in the database.
+	 * Adds file info to files table in the database. The data BLOB is left empty until the file is archived.
 	 *
-	 * @param connection
-	 *            Database connection.
+	 * @param writer
+	 *            Database writer.
 	 * @param sheet
 	 *            Worksheet.
 	 * @param inputFile
@@ -154,7 +189,7 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private Integer[] addToFilesTable(Connection connection, Sheet sheet, Path inputFile) throws Exception {
+	private Integer[] addToFilesTable(DatabaseWriter writer, Sheet sheet, Path inputFile) throws Exception {
 
 		// get input file name
 		Path inputFileName = inputFile.getFileName();
@@ -164,10 +199,6 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 		// initialize output array
 		Integer[] output = new Integer[2];
 
-		// zip conversion file
-		Path zipFile = task_.getWorkingDirectory().resolve(inputFileName.toString() + FileType.ZIP.getExtension());
-		Utility.zipFile(inputFile, zipFile.toFile(), task_);
-
 		// update info
 		task_.updateMessage("Saving Conversion table file info to database...");
 
@@ -177,35 +208,35 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 		// set delta-p loadcase
 		output[1] = dpInfo[1] == null ? null : dpInfo[1].intValue();
 
-		// create query
-		String sql = "insert into xls_files(cdf_id, name, mission, data, ref_dp) values(?, ?, ?, ?, ?)";
+		// add file
+		output[0] = writer.execute(connection -> {
 
-		// create statement
-		try (PreparedStatement update = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+			// create query
+			String sql = "insert into xls_files(cdf_id, name, mission, data, ref_dp) values(?, ?, ?, ?, ?)";
 
-			// create input stream
-			try (InputStream inputStream = Files.newInputStream(zipFile)) {
+			// create statement
+			try (PreparedStatement update = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
 				// execute update
 				update.setInt(1, cdfSet_.getID()); // CDF set ID
 				update.setString(2, inputFileName.toString()); // file name
 				update.setString(3, sheet_); // mission
-				update.setBlob(4, inputStream, zipFile.toFile().length());
+				update.setBytes(4, new byte[0]); // data (empty for now)
 				if (dpInfo[0] == null)
 					update.setNull(5, java.sql.Types.DOUBLE);
 				else
 					update.setDouble(5, dpInfo[0]);
 				update.executeUpdate();
-			}
 
-			// get result set
-			try (ResultSet resultSet = update.getGeneratedKeys()) {
+				// get result set
+				try (ResultSet resultSet = update.getGeneratedKeys()) {
 
-				// return file ID
-				resultSet.next();
-				output[0] = resultSet.getBigDecimal(1).intValue();
+					// return file ID
+					resultSet.next();
+					return resultSet.getBigDecimal(1).intValue();
+				}
 			}
-		}
+		});
 
 		// return output
 		return output;
@@ -295,10 +326,10 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 	}
 
 	/**
-	 * Adds conversion table comments to comments able.
+	 * Adds conversion table comments to comments able. Comments are read from the worksheet and then submitted to the database writer as a single batch.
 	 *
-	 * @param connection
-	 *            Database connection.
+	 * @param writer
+	 *            Database writer.
 	 * @param fileID
 	 *            Conversion table file ID.
 	 * @param sheet
@@ -306,71 +337,83 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void addToCommentsTable(Connection connection, int fileID, Sheet sheet) throws Exception {
+	private void addToCommentsTable(DatabaseWriter writer, int fileID, Sheet sheet) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving Conversion table data to database...");
 
-		// create query
-		String sql = "insert into xls_comments(file_id, ref_intensity, issy_code, flight_type, fue_translated, comment) values(?, ?, ?, ?, ?, ?)";
+		// set location
+		int startRow = 7, endRow = sheet.getRows() - 1;
 
-		// create statement
-		try (PreparedStatement update = connection.prepareStatement(sql)) {
+		// loop over rows
+		ArrayList<String[]> comments = new ArrayList<>();
+		for (int i = startRow; i <= endRow; i++) {
 
-			// set location
-			int startRow = 7, endRow = sheet.getRows() - 1;
+			// task cancelled
+			if (task_.isCancelled())
+				break;
 
-			// loop over rows
-			for (int i = startRow; i <= endRow; i++) {
+			// get issy code
+			String issyCode = sheet.getCell(3, i).getContents();
 
-				// task cancelled
-				if (task_.isCancelled())
-					break;
+			// no issy code found
+			if ((issyCode == null) || issyCode.isEmpty())
+				continue;
 
-				// get issy code
-				String issyCode = sheet.getCell(3, i).getContents();
+			// get other content
+			String flightType = sheet.getCell(4, i).getContents();
+			String fueTranslated = sheet.getCell(5, i).getContents();
+			String comment = sheet.getCell(6, i).getContents();
+			String refIntensity = sheet.getCell(1, i).getContents();
 
-				// no issy code found
-				if ((issyCode == null) || issyCode.isEmpty())
-					continue;
+			// stage row (empty columns are null)
+			comments.add(new String[] { getContents(refIntensity), issyCode, getContents(flightType), getContents(fueTranslated), getContents(comment) });
+		}
 
-				// get other content
-				String flightType = sheet.getCell(4, i).getContents();
-				String fueTranslated = sheet.getCell(5, i).getContents();
-				String comment = sheet.getCell(6, i).getContents();
-				String refIntensity = sheet.getCell(1, i).getContents();
+		// no comments
+		if (comments.isEmpty())
+			return;
 
-				// execute update
+		// submit comments
+		writer.submit(connection -> {
+
+			// create query
+			String sql = "insert into xls_comments(file_id, ref_intensity, issy_code, flight_type, fue_translated, comment) values(?, ?, ?, ?, ?, ?)";
+
+			// create statement
+			try (PreparedStatement update = connection.prepareStatement(sql)) {
 				update.setInt(1, fileID); // file ID
-				if ((refIntensity == null) || refIntensity.isEmpty()) // reference
-																		// intensity
-					update.setNull(2, java.sql.Types.VARCHAR);
-				else
-					update.setString(2, refIntensity);
-				update.setString(3, issyCode); // issy code
-				if ((flightType == null) || flightType.isEmpty()) // flight type
-					update.setNull(4, java.sql.Types.VARCHAR);
-				else
-					update.setString(4, flightType);
-				if ((fueTranslated == null) || fueTranslated.isEmpty()) // fue
-																		// translated
-					update.setNull(5, java.sql.Types.VARCHAR);
-				else
-					update.setString(5, fueTranslated);
-				if ((comment == null) || comment.isEmpty()) // comment
-					update.setNull(6, java.sql.Types.VARCHAR);
-				else
-					update.setString(6, comment);
-				update.executeUpdate();
+				for (String[] row : comments) {
+					for (int i = 0; i < row.length; i++) {
+						if (row[i] == null)
+							update.setNull(i + 2, java.sql.Types.VARCHAR);
+						else
+							update.setString(i + 2, row[i]);
+					}
+					update.addBatch();
+				}
+				update.executeBatch();
 			}
-		}
+			return null;
+		});
+	}
+
+	/**
+	 * Returns the given cell contents, or null if the contents are empty.
+	 *
+	 * @param contents
+	 *            Cell contents.
+	 * @return The given cell contents, or null if the contents are empty.
+	 */
+	private static String getContents(String contents) {
+		return (contents == null) || contents.isEmpty() ? null : contents;
 	}
 
 	/**
 	 * Updates CDF set info according to conversion table contents.
 	 *
-	 * @param connection
-	 *            Database connection.
+	 * @param writer
+	 *            Database writer.
 	 * @param sheet
 	 *            Worksheet.
 	 * @param fileName
@@ -378,56 +421,51 @@ public class LoadConversionTable implements EquinoxProcess<Integer[]> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void updateCDFInfo(Connection connection, Sheet sheet, String fileName) throws Exception {
+	private void updateCDFInfo(DatabaseWriter writer, Sheet sheet, String fileName) throws Exception {
 
 		// update info
 		task_.updateMessage("Updating CDF set info according to conversion table contents...");
 
-		// create query
-		String sql = "update cdf_sets set ac_program = ?, ac_section = ?, fat_mission = ?, fat_mission_issue = ?, flp_issue = ?, iflp_issue = ?, cdf_issue = ? where set_id = "
-				+ cdfSet_.getID();
-
-		// create statement
-		try (PreparedStatement update = connection.prepareStatement(sql)) {
-
-			// A/C program
-			String acProgram = sheet.getCell(1, 1).getContents();
-			if ((acProgram == null) || acProgram.isEmpty()) {
-				task_.addWarning(
-						"No A/C Program information found at cell B2 (or R2C2) in Conversion Table '" + fileName + "'");
-				acProgram = "Not specified";
-			}
-			update.setString(1, acProgram);
-			cdfSet_.setProgram(acProgram);
-
-			// A/C section
-			String acSection = sheet.getCell(6, 3).getContents();
-			if ((acSection == null) || acSection.isEmpty()) {
-				task_.addWarning(
-						"No A/C Section information found at cell G4 (or R4C7) in Conversion Table '" + fileName + "'");
-				acSection = "Not specified";
-			}
-			update.setString(2, acSection);
-			cdfSet_.setSection(acSection);
-
-			// fatigue mission
-			update.setString(3, sheet_);
-			cdfSet_.setMission(sheet_);
+		// A/C program
+		String acProgram = sheet.getCell(1, 1).getContents();
+		if ((acProgram == null) || acProgram.isEmpty()) {
+			task_.addWarning(
+					"No A/C Program information found at cell B2 (or R2C2) in Conversion Table '" + fileName + "'");
+			acProgram = "Not specified";
+		}
+		cdfSet_.setProgram(acProgram);
+
+		// A/C section
+		String acSection = sheet.getCell(6, 3).getContents();
+		if ((acSection == null) || acSection.isEmpty()) {
+			task_.addWarning(
+					"No A/C Section information found at cell G4 (or R4C7) in Conversion Table '" + fileName + "'");
+			acSection = "Not specified";
+		}
+		cdfSet_.setSection(acSection);
 
-			// fatigue mission issue
-			update.setString(4, sheet.getCell(6, 2).getContents().trim());
+		// fatigue mission
+		cdfSet_.setMission(sheet_);
 
-			// FLP issue
-			update.setString(5, sheet.getCell(1, 2).getContents().trim());
+		// create values (fatigue mission issue, FLP issue, IFLP issue and CDF issue)
+		String[] values = { acProgram, acSection, sheet_, sheet.getCell(6, 2).getContents().trim(), sheet.getCell(1, 2).getContents().trim(),
+				sheet.getCell(1, 3).getContents().trim(), sheet.getCell(1, 4).getContents().trim() };
 
-			// IFLP issue
-			update.setString(6, sheet.getCell(1, 3).getContents().trim());
+		// submit update
+		writer.submit(connection -> {
 
-			// CDF issue
-			update.setString(7, sheet.getCell(1, 4).getContents().trim());
+			// create query
+			String sql = "update cdf_sets set ac_program = ?, ac_section = ?, fat_mission = ?, fat_mission_issue = ?, flp_issue = ?, iflp_issue = ?, cdf_issue = ? where set_id = "
+					+ cdfSet_.getID();
 
-			// execute update
-			update.executeUpdate();
-		}
+			// create statement
+			try (PreparedStatement update = connection.prepareStatement(sql)) {
+				for (int i = 0; i < values.length; i++) {
+					update.setString(i + 1, values[i]);
+				}
+				update.executeUpdate();
+			}
+			return null;
+		});
 	}
 }
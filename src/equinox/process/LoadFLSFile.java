@@ -15,19 +15,23 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import equinox.data.BlobStore;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.BatchWriter;
+import equinox.utility.DatabaseWriter;
+import equinox.utility.FieldScanner;
 import equinox.utility.Utility;
 
 /**
@@ -48,12 +52,6 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 	/** CDF set. */
 	private final Spectrum cdfSet_;
 
-	/** Parameters. */
-	private int readLines_, allLines_;
-
-	/** Update message header. */
-	private String line_;
-
 	/**
 	 * Creates load FLS file process.
 	 *
@@ -90,6 +88,26 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 
 	@Override
 	public Integer start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+		try (DatabaseWriter writer = new DatabaseWriter(connection)) {
+			Integer fileID = start(writer, null);
+			writer.flush();
+			return fileID;
+		}
+	}
+
+	/**
+	 * Loads the FLS file. The file is parsed on the calling thread; flights are staged and inserted by the given database writer. The input file is archived concurrently with parsing. Note that,
+	 * some of the writes may still be pending when this method returns.
+	 *
+	 * @param writer
+	 *            Database writer.
+	 * @param executor
+	 *            Executor to archive the input file. Can be null, in which case the file is archived on the calling thread.
+	 * @return The file ID, or null if the task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Integer start(DatabaseWriter writer, ExecutorService executor) throws Exception {
 
 		// initialize input file and type
 		Path flsFile = inputFile_;
@@ -108,109 +126,104 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 			Utility.extractFileFromGZIP(inputFile_, flsFile);
 		}
 
-		// get number of lines of file
-		task_.updateMessage("Getting FLS file size...");
-		allLines_ = Utility.countLines(flsFile, task_);
-		readLines_ = 0;
-		boolean warningAdded = false;
+		// get input file name
+		Path inputFileName = flsFile.getFileName();
+		if (inputFileName == null)
+			throw new Exception("Cannot get input FLS file name.");
+
+		// archive FLS file (concurrently with parsing)
+		Future<Path> archive = BlobStore.archive(flsFile, task_, executor);
 
 		// add file to files table
-		int fileID = addToFilesTable(connection, flsFile);
+		task_.updateMessage("Saving FLS file info to database...");
+		int fileID = writer.execute(connection -> addToFilesTable(connection, inputFileName.toString()));
 
-		// create file reader
-		try (BufferedReader reader = Files.newBufferedReader(flsFile, Charset.defaultCharset())) {
+		// create file scanner
+		boolean warningAdded = false;
+		int numLines = 0;
+		try (FieldScanner scanner = new FieldScanner(flsFile, Charset.defaultCharset())) {
 
-			// create statement for inserting flights
+			// read file till the end
 			task_.updateMessage("Saving FLS flights to database...");
-			String sql = "insert into fls_flights(file_id, flight_num, name, severity) values(?, ?, ?, ?)";
-			try (PreparedStatement update = connection.prepareStatement(sql)) {
-
-				// read file till the end
-				String delimiter = null, name = null, severity = null;
-				Integer flightNumber = null;
-				while ((line_ = reader.readLine()) != null) {
+			ArrayList<FLSFlight> flights = new ArrayList<>();
+			boolean isDelimiterSet = false;
+			while (scanner.nextLine()) {
 
-					// task cancelled
-					if (task_.isCancelled())
-						return null;
+				// task cancelled
+				if (task_.isCancelled())
+					return null;
 
-					// increment read lines
-					readLines_++;
+				// update progress
+				task_.updateProgress(scanner.getBytesRead(), scanner.getFileSize());
 
-					// update progress
-					task_.updateProgress(readLines_, allLines_);
+				// comment line
+				if (scanner.startsWith('#')) {
+					continue;
+				}
 
-					// comment line
-					if (line_.startsWith("#")) {
-						continue;
+				// set column delimiter
+				if (!isDelimiterSet) {
+					isDelimiterSet = true;
+					if (scanner.getLine().trim().contains("\t")) {
+						scanner.setDelimiter('\t');
+						scanner.scanFields(0);
 					}
+				}
 
-					// set column delimiter
-					if (delimiter == null) {
-						delimiter = line_.trim().contains("\t") ? "\t" : " ";
-					}
+				// get flight number, name and severity
+				int numFields = scanner.getNumberOfFields();
+				Integer flightNumber = numFields > 0 ? scanner.getInt(0) : null;
+				String name = numFields > 1 ? scanner.getField(1) : null;
+				String severity = numFields > 2 ? scanner.getField(2) : null;
 
-					// split line
-					String[] split = line_.trim().split(delimiter);
-
-					// set file ID
-					update.setInt(1, fileID);
-
-					// loop over columns
-					int index = 0;
-					flightNumber = null;
-					name = null;
-					severity = null;
-					for (String col : split) {
-
-						// invalid value
-						if ((col == null) || col.isEmpty()) {
-							continue;
-						}
-
-						// trim spaces
-						col = col.trim();
-
-						// invalid value
-						if (col.isEmpty()) {
-							continue;
-						}
-
-						// flight number
-						if (index == 0) {
-							flightNumber = Integer.parseInt(col);
-						}
-
-						// flight name
-						else if (index == 1) {
-							name = col;
-						}
-
-						// severity
-						else if (index == 2) {
-							severity = col;
-						}
-
-						// increment index
-						index++;
-					}
+				// null column encountered
+				if ((flightNumber == null) || (name == null) || (severity == null)) {
 
-					// null column encountered
-					if ((flightNumber == null) || (name == null) || (severity == null)) {
-						warningAdded = checkLine(flightNumber, name, severity, warningAdded, split, flsFile, update);
+					// add warning if not already added
+					if (!warningAdded) {
+						task_.addWarning("Unconventional file format encountered for the FLS file '" + flsFile.getFileName() + "'.");
+						warningAdded = true;
 					}
 
-					// no null column
-					else {
-						update.setInt(2, flightNumber);
-						update.setString(3, name);
-						update.setString(4, severity);
-						update.executeUpdate();
-					}
+					// check line
+					flights.add(checkLine(flightNumber, name, severity, flsFile));
+				}
+
+				// no null column
+				else {
+					flights.add(new FLSFlight(flightNumber, name, severity));
+				}
+
+				// write staged flights
+				if (flights.size() == BatchWriter.DEFAULT_BATCH_SIZE) {
+					writeFlights(writer, fileID, flights);
+					flights = new ArrayList<>();
 				}
 			}
+
+			// write remaining flights
+			if (!flights.isEmpty()) {
+				writeFlights(writer, fileID, flights);
+			}
+
+			// set number of lines
+			numLines = scanner.getLineNumber();
 		}
 
+		// set number of lines
+		int lines = numLines;
+		writer.submit(connection -> {
+			setNumberOfLines(connection, fileID, lines);
+			return null;
+		});
+
+		// save archive
+		Path archiveFile = BlobStore.getArchive(archive);
+		writer.submit(connection -> {
+			BlobStore.setData(connection, "fls_files", fileID, archiveFile);
+			return null;
+		});
+
 		// return file ID
 		return fileID;
 	}
@@ -224,25 +237,13 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 	 *            Flight name.
 	 * @param severity
 	 *            Flight severity.
-	 * @param warningAdded
-	 *            True warning is already added.
-	 * @param split
-	 *            Array for line splitting.
 	 * @param flsFile
 	 *            FLS file path.
-	 * @param update
-	 *            Database statement.
-	 * @return True if unconventional format warning is already added.
+	 * @return The flight with severity extracted from the flight name.
 	 * @throws Exception
 	 *             If invalid format is encountered.
 	 */
-	private boolean checkLine(Integer flightNumber, String name, String severity, boolean warningAdded, String[] split, Path flsFile, PreparedStatement update) throws Exception {
-
-		// add warning if not already added
-		if (!warningAdded) {
-			task_.addWarning("Unconventional file format encountered for the FLS file '" + flsFile.getFileName() + "'.");
-			warningAdded = true;
-		}
+	private static FLSFlight checkLine(Integer flightNumber, String name, String severity, Path flsFile) throws Exception {
 
 		// only severity is missing
 		if ((flightNumber != null) && (name != null) && (severity == null)) {
@@ -250,19 +251,19 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 			// check if severity is contained in flight name
 			if (name.contains("s")) {
 				name = name.replaceFirst("s", "s ");
-				split = name.split(" ");
+				String[] split = name.split(" ");
 				name = split[0].trim();
 				severity = split[1].trim();
 			}
 			else if (name.contains("t")) {
 				name = name.replaceFirst("t", "t ");
-				split = name.split(" ");
+				String[] split = name.split(" ");
 				name = split[0].trim();
 				severity = split[1].trim();
 			}
 			else if (name.contains("p")) {
 				name = name.replaceFirst("p", "p ");
-				split = name.split(" ");
+				String[] split = name.split(" ");
 				name = split[0].trim();
 				severity = split[1].trim();
 			}
@@ -276,40 +277,51 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 		else
 			throw new Exception("Unrecognized file format encountered for the FLS file '" + flsFile.getFileName() + "'.");
 
-		// execute update
-		update.setInt(2, flightNumber);
-		update.setString(3, name);
-		update.setString(4, severity);
-		update.executeUpdate();
+		// return flight
+		return new FLSFlight(flightNumber, name, severity);
+	}
 
-		// return warning indicator
-		return warningAdded;
+	/**
+	 * Submits the given flights to the database writer.
+	 *
+	 * @param writer
+	 *            Database writer.
+	 * @param fileID
+	 *            FLS file ID.
+	 * @param flights
+	 *            Flights to write. The list must not be modified afterwards.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void writeFlights(DatabaseWriter writer, int fileID, ArrayList<FLSFlight> flights) throws Exception {
+		writer.submit(connection -> {
+			String sql = "insert into fls_flights(file_id, flight_num, name, severity) values(?, ?, ?, ?)";
+			try (PreparedStatement update = connection.prepareStatement(sql)) {
+				update.setInt(1, fileID);
+				for (FLSFlight flight : flights) {
+					update.setInt(2, flight.flightNumber_);
+					update.setString(3, flight.name_);
+					update.setString(4, flight.severity_);
+					update.addBatch();
+				}
+				update.executeBatch();
+			}
+			return null;
+		});
 	}
 
 	/**
-	 * Adds input FLS file to files table.
+	 * Adds input FLS file to files table. The data BLOB is left empty until the file is archived.
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param inputFile
-	 *            Input FLS file.
+	 * @param fileName
+	 *            Input FLS file name.
 	 * @return The file ID of the added file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int addToFilesTable(Connection connection, Path inputFile) throws Exception {
-
-		// get input file name
-		Path inputFileName = inputFile.getFileName();
-		if (inputFileName == null)
-			throw new Exception("Cannot get input FLS file name.");
-
-		// zip FLS file
-		Path zipFile = task_.getWorkingDirectory().resolve(inputFileName.toString() + FileType.ZIP.getExtension());
-		Utility.zipFile(inputFile, zipFile.toFile(), task_);
-
-		// update info
-		task_.updateMessage("Saving FLS file info to database...");
+	private int addToFilesTable(Connection connection, String fileName) throws Exception {
 
 		// create query
 		String sql = "insert into fls_files(cdf_id, name, data, num_lines) values(?, ?, ?, ?)";
@@ -317,16 +329,12 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 		// create statement
 		try (PreparedStatement update = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-			// create input stream
-			try (InputStream inputStream = Files.newInputStream(zipFile)) {
-
-				// execute update
-				update.setInt(1, cdfSet_.getID()); // CDF set ID
-				update.setString(2, inputFileName.toString()); // file name
-				update.setBlob(3, inputStream, zipFile.toFile().length());
-				update.setInt(4, allLines_); // number of lines
-				update.executeUpdate();
-			}
+			// execute update
+			update.setInt(1, cdfSet_.getID()); // CDF set ID
+			update.setString(2, fileName); // file name
+			update.setBytes(3, new byte[0]); // data (empty for now)
+			update.setInt(4, 0); // number of lines (0 for now)
+			update.executeUpdate();
 
 			// get result set
 			try (ResultSet resultSet = update.getGeneratedKeys()) {
@@ -337,4 +345,60 @@ public class LoadFLSFile implements EquinoxProcess<Integer> {
 			}
 		}
 	}
+
+	/**
+	 * Sets number of lines to FLS file table.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param fileID
+	 *            FLS file ID.
+	 * @param numLines
+	 *            Number of lines of FLS file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void setNumberOfLines(Connection connection, int fileID, int numLines) throws Exception {
+
+		// create query
+		String sql = "update fls_files set num_lines = ? where file_id = " + fileID;
+
+		// create statement
+		try (PreparedStatement update = connection.prepareStatement(sql)) {
+			update.setInt(1, numLines); // number of lines
+			update.executeUpdate();
+		}
+	}
+
+	/**
+	 * Inner class for staged FLS flight.
+	 *
+	 * @author Murat Artim
+	 * @date 19 Oct 2026
+	 * @time 01:52:08
+	 */
+	private static class FLSFlight {
+
+		/** Flight number. */
+		private final int flightNumber_;
+
+		/** Flight name and severity. */
+		private final String name_, severity_;
+
+		/**
+		 * Creates staged FLS flight.
+		 *
+		 * @param flightNumber
+		 *            Flight number.
+		 * @param name
+		 *            Flight name.
+		 * @param severity
+		 *            Flight severity.
+		 */
+		FLSFlight(int flightNumber, String name, String severity) {
+			flightNumber_ = flightNumber;
+			name_ = name;
+			severity_ = severity;
+		}
+	}
 }
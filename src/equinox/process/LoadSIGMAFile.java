@@ -29,6 +29,7 @@ import equinox.data.fileType.ExternalFlights;
 import equinox.data.fileType.ExternalStressSequence;
 import equinox.plugin.FileType;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.BatchWriter;
 import equinox.utility.Utility;
 
 /**
@@ -125,14 +126,14 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 
 			// prepare statement for adding peaks
 			sql = "insert into " + sthPeaksTableName + "(flight_id, peak_num, peak_val) values(?, ?, ?)";
-			try (PreparedStatement addPeaks = connection.prepareStatement(sql)) {
+			try (PreparedStatement addPeaks = connection.prepareStatement(sql); BatchWriter peakWriter = new BatchWriter(addPeaks)) {
 
 				// prepare statement for updating flight
 				sql = "update ext_sth_flights set max_val = ?, min_val = ? where file_ID = " + sequence.getID() + " and flight_id = ?";
 				try (PreparedStatement updateFlight = connection.prepareStatement(sql)) {
 
 					sql = "insert into ext_fls_flights(sth_id, flight_num, name, severity) values(?, ?, ?, ?)";
-					try (PreparedStatement loadFLS = connection.prepareStatement(sql)) {
+					try (PreparedStatement loadFLS = connection.prepareStatement(sql); BatchWriter flsWriter = new BatchWriter(loadFLS)) {
 						loadFLS.setInt(1, sequence.getID()); // file ID
 
 						// create file reader
@@ -157,7 +158,7 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 
 								// FLS information
 								if (line_.startsWith("FLIGHTS SEQUENCE")) {
-									loadFLSFlights(reader, loadFLS);
+									loadFLSFlights(reader, flsWriter);
 									continue;
 								}
 
@@ -176,7 +177,7 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 								flights.getChildren().add(flight);
 
 								// add peaks to peaks table
-								addToPeaksTable(reader, flight.getID(), addPeaks, updateFlight);
+								addToPeaksTable(reader, flight.getID(), peakWriter, updateFlight);
 							}
 						}
 					}
@@ -199,19 +200,20 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 	 *            File reader.
 	 * @param flightID
 	 *            Flight ID.
-	 * @param addPeaks
-	 *            Database statement for adding peaks.
+	 * @param peakWriter
+	 *            Batched writer for adding peaks.
 	 * @param updateFlight
 	 *            Database statement for updating flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void addToPeaksTable(BufferedReader reader, int flightID, PreparedStatement addPeaks, PreparedStatement updateFlight) throws Exception {
+	private void addToPeaksTable(BufferedReader reader, int flightID, BatchWriter peakWriter, PreparedStatement updateFlight) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving peaks for flight " + (flightNumber_ - 1) + " to database...");
 
 		// set flight ID
+		PreparedStatement addPeaks = peakWriter.getStatement();
 		addPeaks.setInt(1, flightID);
 		updateFlight.setInt(3, flightID);
 
@@ -255,7 +257,7 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 				// set peak number and value
 				addPeaks.setInt(2, readPeaks);
 				addPeaks.setDouble(3, peakVal);
-				addPeaks.executeUpdate();
+				peakWriter.addBatch();
 
 				// update max-min values
 				if (peakVal >= maxVal)
@@ -389,17 +391,18 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 	 *
 	 * @param reader
 	 *            File reader.
-	 * @param loadFLS
-	 *            Database statement.
+	 * @param flsWriter
+	 *            Batched writer for adding flight sequence.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void loadFLSFlights(BufferedReader reader, PreparedStatement loadFLS) throws Exception {
+	private void loadFLSFlights(BufferedReader reader, BatchWriter flsWriter) throws Exception {
 
 		// update info
 		task_.updateMessage("Loading flight sequence...");
 
 		// read till the end
+		PreparedStatement loadFLS = flsWriter.getStatement();
 		int flightNum = 1;
 		while ((line_ = reader.readLine()) != null) {
 
@@ -424,7 +427,7 @@ public class LoadSIGMAFile implements EquinoxProcess<ExternalStressSequence> {
 			loadFLS.setInt(2, flightNum); // flight number
 			loadFLS.setString(3, split[split.length - 1]); // flight name
 			loadFLS.setString(4, ""); // severity (not used here)
-			loadFLS.executeUpdate();
+			flsWriter.addBatch();
 
 			// increment flight number
 			flightNum++;
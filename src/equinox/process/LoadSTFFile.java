@@ -15,10 +15,8 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -49,7 +47,8 @@ import equinox.serverUtilities.FilerConnection;
 import equinox.serverUtilities.Permission;
 import equinox.task.DatabaseQueryListenerTask;
 import equinox.task.TemporaryFileCreatingTask;
-import equinox.utility.Utility;
+import equinox.utility.BatchWriter;
+import equinox.utility.FieldScanner;
 import equinox.utility.exception.PermissionDeniedException;
 import equinox.utility.exception.ServerDatabaseQueryFailedException;
 
@@ -80,11 +79,8 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 	/** Stress table ID. */
 	private final int stressTableID_;
 
-	/** Parameters. */
-	private int readLines_, allLines_;
-
-	/** Update message header. */
-	private String line_, eid_ = null;
+	/** Element ID. */
+	private String eid_ = null;
 
 	/** True if progress information should be updated during process. */
 	private final boolean updateProgress_;
@@ -164,42 +160,32 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 	@Override
 	public STFFile start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
 
-		// get number of lines of file
-		task_.updateMessage("Getting STF file size...");
-		if (updateProgress_) {
-			allLines_ = Utility.countLines(inputFile_, task_);
-		}
-		readLines_ = 0;
-
 		// add file to files table
 		int fileID = addToFilesTable(connection, preparedStatements[0], inputFile_);
 		boolean is2D = false;
 
-		// create file reader
-		try (BufferedReader reader = Files.newBufferedReader(inputFile_, Charset.defaultCharset())) {
+		// create file scanner
+		try (FieldScanner scanner = new FieldScanner(inputFile_, Charset.defaultCharset())) {
 
 			// read file till the end
-			while ((line_ = reader.readLine()) != null) {
+			while (scanner.nextLine()) {
 
 				// task cancelled
 				if (task_.isCancelled())
 					return null;
 
-				// increment read lines
-				readLines_++;
-
 				// update progress
 				if (updateProgress_) {
-					task_.updateProgress(readLines_, allLines_);
+					task_.updateProgress(scanner.getBytesRead(), scanner.getFileSize());
 				}
 
 				// skip comment lines
-				if (readLines_ < 2) {
+				if (scanner.getLineNumber() < 2) {
 					continue;
 				}
 
 				// add stresses
-				is2D = addToStressesTable(preparedStatements[1], reader, fileID);
+				is2D = addToStressesTable(preparedStatements[1], scanner, fileID);
 			}
 		}
 
@@ -431,7 +417,7 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 			request.setPilotPointId(id);
 
 			// disable task canceling
-			task_.getTaskPanel().updateCancelState(false);
+			task_.updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = task_.getTaskPanel().getOwner().getOwner().getDataServerManager();
@@ -447,7 +433,7 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 			removeListener = false;
 
 			// enable task canceling
-			task_.getTaskPanel().updateCancelState(true);
+			task_.updateCancelState(true);
 
 			// task cancelled
 			if (task_.isCancelled())
@@ -526,84 +512,80 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 	 * Adds STF stresses into stresses table.
 	 *
 	 * @param insertStresses
-	 *            Prepared statement for inserting STF stresses.
-	 * @param reader
-	 *            File reader.
+	 *            Prepared statement for inserting STF stresses. Stresses are written in batches.
+	 * @param scanner
+	 *            File scanner.
 	 * @param fileID
 	 *            STF file ID.
 	 * @return True if 2D stress state.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private boolean addToStressesTable(PreparedStatement insertStresses, BufferedReader reader, int fileID) throws Exception {
+	private boolean addToStressesTable(PreparedStatement insertStresses, FieldScanner scanner, int fileID) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving STF stresses to database...");
 
+		// add stresses in batches
+		try (BatchWriter writer = new BatchWriter(insertStresses)) {
+			return addToStressesTable(writer, scanner, fileID);
+		}
+	}
+
+	/**
+	 * Adds STF stresses to the given batch writer.
+	 *
+	 * @param writer
+	 *            Batch writer of stress insertion statement.
+	 * @param scanner
+	 *            File scanner.
+	 * @param fileID
+	 *            STF file ID.
+	 * @return True if 2D stress state.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private boolean addToStressesTable(BatchWriter writer, FieldScanner scanner, int fileID) throws Exception {
+
 		// initialize stress state
+		PreparedStatement insertStresses = writer.getStatement();
 		boolean is2D = false;
 
 		// read till the end
-		String delimiter = null;
-		while ((line_ = reader.readLine()) != null) {
+		boolean isDelimiterSet = false;
+		while (scanner.nextLine()) {
 
 			// task cancelled
 			if (task_.isCancelled()) {
 				break;
 			}
 
-			// increment read lines
-			readLines_++;
-
 			// update progress
 			if (updateProgress_) {
-				task_.updateProgress(readLines_, allLines_);
+				task_.updateProgress(scanner.getBytesRead(), scanner.getFileSize());
 			}
 
 			// set column delimiter
-			if (delimiter == null) {
-				delimiter = line_.trim().contains("\t") ? "\t" : " ";
+			if (!isDelimiterSet) {
+				isDelimiterSet = true;
+				if (scanner.getLine().trim().contains("\t")) {
+					scanner.setDelimiter('\t');
+					scanner.scanFields(0);
+				}
 			}
 
-			// split line
-			String[] split = line_.trim().split(delimiter);
-
 			// set file ID
 			insertStresses.setInt(1, fileID);
 
-			// loop over columns
-			int index = 0;
-			for (String col : split) {
-
-				// invalid value
-				if (col == null || col.isEmpty()) {
-					continue;
-				}
-
-				// trim spaces
-				col = col.trim();
-
-				// invalid value
-				if (col.isEmpty()) {
-					continue;
-				}
-
-				// issy code
-				if (index == 0) {
-					insertStresses.setString(2, col);
-				}
-				else if (index == 1) {
-					insertStresses.setDouble(3, Double.parseDouble(col));
-				}
-				else if (index == 2) {
-					insertStresses.setDouble(4, Double.parseDouble(col));
-				}
-				else if (index == 3) {
-					insertStresses.setDouble(5, Double.parseDouble(col));
-				}
+			// issy code
+			int index = scanner.getNumberOfFields();
+			if (index > 0) {
+				insertStresses.setString(2, scanner.getField(0));
+			}
 
-				// increment index
-				index++;
+			// stresses
+			for (int i = 1; i < Math.min(index, 4); i++) {
+				insertStresses.setDouble(i + 2, scanner.getDouble(i));
 			}
 
 			// only 1 column
@@ -620,8 +602,8 @@ public class LoadSTFFile implements EquinoxProcess<STFFile>, DatabaseQueryListen
 				is2D = true;
 			}
 
-			// execute update
-			insertStresses.executeUpdate();
+			// add to batch
+			writer.addBatch();
 		}
 
 		// return stress state
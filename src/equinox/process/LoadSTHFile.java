@@ -15,9 +15,7 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -29,7 +27,9 @@ import equinox.data.fileType.ExternalFlights;
 import equinox.data.fileType.ExternalStressSequence;
 import equinox.plugin.FileType;
 import equinox.task.TemporaryFileCreatingTask;
-import equinox.utility.Utility;
+import equinox.utility.BatchWriter;
+import equinox.utility.FieldScanner;
+import equinox.utility.StressHistoryReader;
 
 /**
  * Class for load STH file process.
@@ -47,10 +47,7 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 	private final Path sthFile_, flsFile_;
 
 	/** Parameters. */
-	private int readLines_, allLines_, flightNumber_, numPeaks_;
-
-	/** Update message header. */
-	private String line_;
+	private int flightNumber_;
 
 	/**
 	 * Creates load STH file process.
@@ -119,80 +116,55 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 	 */
 	private void loadFLSFile(ExternalStressSequence sequence, Connection connection) throws Exception {
 
-		// get number of lines of file
-		task_.updateMessage("Getting FLS file size...");
-		allLines_ = Utility.countLines(flsFile_, task_);
-		readLines_ = 0;
-
-		// create file reader
-		try (BufferedReader reader = Files.newBufferedReader(flsFile_, Charset.defaultCharset())) {
+		// create file scanner
+		try (FieldScanner scanner = new FieldScanner(flsFile_, Charset.defaultCharset())) {
 
 			// create statement for inserting flights
 			task_.updateMessage("Loading FLS flights to database...");
 			String sql = "insert into ext_fls_flights(sth_id, flight_num, name, severity) values(?, ?, ?, ?)";
-			try (PreparedStatement update = connection.prepareStatement(sql)) {
+			try (PreparedStatement update = connection.prepareStatement(sql); BatchWriter flightWriter = new BatchWriter(update)) {
 
 				// set file ID
 				update.setInt(1, sequence.getID());
 
 				// read file till the end
-				String delimiter = null;
-				while ((line_ = reader.readLine()) != null) {
+				boolean isDelimiterSet = false;
+				while (scanner.nextLine()) {
 
 					// task cancelled
 					if (task_.isCancelled())
 						return;
 
-					// increment read lines
-					readLines_++;
-
 					// update progress
-					task_.updateProgress(readLines_, allLines_);
+					task_.updateProgress(scanner.getBytesRead(), scanner.getFileSize());
 
 					// comment line
-					if (line_.startsWith("#"))
+					if (scanner.startsWith('#'))
 						continue;
 
 					// set column delimiter
-					if (delimiter == null)
-						delimiter = line_.trim().contains("\t") ? "\t" : " ";
-
-					// split line
-					String[] split = line_.trim().split(delimiter);
-
-					// loop over columns
-					int index = 0;
-					for (String col : split) {
-
-						// invalid value
-						if (col == null || col.isEmpty())
-							continue;
-
-						// trim spaces
-						col = col.trim();
-
-						// invalid value
-						if (col.isEmpty())
-							continue;
-
-						// flight number
-						if (index == 0)
-							update.setInt(2, Integer.parseInt(col));
-
-						// name
-						else if (index == 1)
-							update.setString(3, col);
-
-						// severity
-						else if (index == 2)
-							update.setString(4, col);
+					if (!isDelimiterSet) {
+						isDelimiterSet = true;
+						if (scanner.getLine().trim().contains("\t")) {
+							scanner.setDelimiter('\t');
+							scanner.scanFields(0);
+						}
+					}
 
-						// increment index
-						index++;
+					// flight number, name and severity
+					int numFields = scanner.getNumberOfFields();
+					if (numFields > 0) {
+						update.setInt(2, scanner.getInt(0));
+					}
+					if (numFields > 1) {
+						update.setString(3, scanner.getField(1));
+					}
+					if (numFields > 2) {
+						update.setString(4, scanner.getField(2));
 					}
 
-					// execute update
-					update.executeUpdate();
+					// add to batch
+					flightWriter.addBatch();
 				}
 			}
 		}
@@ -214,11 +186,6 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 	 */
 	private void loadSTHFile(ExternalStressSequence sequence, ExternalFlights flights, String sthPeaksTableName, Connection connection) throws Exception {
 
-		// get number of lines of file
-		task_.updateMessage("Getting STH file size...");
-		allLines_ = Utility.countLines(sthFile_, task_);
-		readLines_ = 0;
-
 		// prepare statement for adding flights
 		String sql = "insert into ext_sth_flights(file_id, flight_num, name, severity, num_peaks, validity, block_size, max_val, min_val) values(?, ?, ?, ?, ?, ?, ?, ?, ?)";
 		try (PreparedStatement addFlight = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -226,31 +193,24 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 
 			// prepare statement for adding peaks
 			sql = "insert into " + sthPeaksTableName + "(flight_id, peak_num, peak_val) values(?, ?, ?)";
-			try (PreparedStatement addPeaks = connection.prepareStatement(sql)) {
+			try (PreparedStatement addPeaks = connection.prepareStatement(sql); BatchWriter peakWriter = new BatchWriter(addPeaks)) {
 
 				// prepare statement for updating flight
 				sql = "update ext_sth_flights set max_val = ?, min_val = ? where file_ID = " + sequence.getID() + " and flight_id = ?";
 				try (PreparedStatement updateFlight = connection.prepareStatement(sql)) {
 
-					// create file reader
-					try (BufferedReader reader = Files.newBufferedReader(sthFile_, Charset.defaultCharset())) {
+					// create STH file reader
+					try (StressHistoryReader reader = new StressHistoryReader(sthFile_)) {
 
 						// read file till the end
-						while ((line_ = reader.readLine()) != null) {
+						while (reader.nextFlight()) {
 
 							// task cancelled
 							if (task_.isCancelled())
 								return;
 
-							// increment read lines
-							readLines_++;
-
 							// update progress
-							task_.updateProgress(readLines_, allLines_);
-
-							// comment line
-							if (readLines_ < 5)
-								continue;
+							task_.updateProgress(reader.getBytesRead(), reader.getFileSize());
 
 							// add flight to flights table
 							ExternalFlight flight = addToFlightsTable(reader, addFlight);
@@ -263,7 +223,7 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 							flights.getChildren().add(flight);
 
 							// add peaks to peaks table
-							addToPeaksTable(reader, flight.getID(), addPeaks, updateFlight);
+							addToPeaksTable(reader, flight.getID(), peakWriter, updateFlight);
 						}
 					}
 				}
@@ -282,88 +242,59 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 	 * Adds input peaks to peaks table.
 	 *
 	 * @param reader
-	 *            File reader.
+	 *            STH file reader.
 	 * @param flightID
 	 *            Flight ID.
-	 * @param addPeaks
-	 *            Database statement for adding peaks.
+	 * @param peakWriter
+	 *            Batched writer for adding peaks.
 	 * @param updateFlight
 	 *            Database statement for updating flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void addToPeaksTable(BufferedReader reader, int flightID, PreparedStatement addPeaks, PreparedStatement updateFlight) throws Exception {
+	private void addToPeaksTable(StressHistoryReader reader, int flightID, BatchWriter peakWriter, PreparedStatement updateFlight) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving peaks for flight " + (flightNumber_ - 1) + " to database...");
 
 		// set flight ID
+		PreparedStatement addPeaks = peakWriter.getStatement();
 		addPeaks.setInt(1, flightID);
 		updateFlight.setInt(3, flightID);
 
-		// initialize number of read peaks
-		int readPeaks = 0;
-		double maxVal = Double.NEGATIVE_INFINITY, minVal = Double.POSITIVE_INFINITY, peakVal = 0.0;
+		// read peaks
+		double[] peaks = reader.readPeaks();
+		int readPeaks = reader.getNumberOfReadPeaks();
+		task_.updateProgress(reader.getBytesRead(), reader.getFileSize());
 
-		// read till the end
-		while ((line_ = reader.readLine()) != null) {
+		// loop over peaks
+		double maxVal = Double.NEGATIVE_INFINITY, minVal = Double.POSITIVE_INFINITY;
+		for (int i = 0; i < readPeaks; i++) {
 
 			// task cancelled
 			if (task_.isCancelled())
-				break;
-
-			// increment read lines
-			readLines_++;
-
-			// update progress
-			task_.updateProgress(readLines_, allLines_);
-
-			// split line
-			String[] split = line_.trim().split(" ");
-
-			// loop over columns
-			for (String col : split) {
-
-				// invalid value
-				if (col == null || col.isEmpty())
-					continue;
-
-				// trim spaces
-				col = col.trim();
-
-				// invalid value
-				if (col.isEmpty())
-					continue;
-
-				// get peak value
-				peakVal = Double.parseDouble(col);
-
-				// set peak number and value
-				addPeaks.setInt(2, readPeaks);
-				addPeaks.setDouble(3, peakVal);
-				addPeaks.executeUpdate();
-
-				// update max-min values
-				if (peakVal >= maxVal)
-					maxVal = peakVal;
-				if (peakVal <= minVal)
-					minVal = peakVal;
-
-				// increment peak number
-				readPeaks++;
-			}
+				return;
 
-			// all peaks read
-			if (readPeaks == numPeaks_) {
+			// set peak number and value
+			double peakVal = peaks[i];
+			addPeaks.setInt(2, i);
+			addPeaks.setDouble(3, peakVal);
+			peakWriter.addBatch();
+
+			// update max-min values
+			if (peakVal >= maxVal)
+				maxVal = peakVal;
+			if (peakVal <= minVal)
+				minVal = peakVal;
+		}
 
-				// update max-min values of the flight
-				updateFlight.setDouble(1, maxVal); // max value
-				updateFlight.setDouble(2, minVal); // min value
-				updateFlight.executeUpdate();
+		// all peaks read
+		if (readPeaks == reader.getNumberOfPeaks()) {
 
-				// return
-				return;
-			}
+			// update max-min values of the flight
+			updateFlight.setDouble(1, maxVal); // max value
+			updateFlight.setDouble(2, minVal); // min value
+			updateFlight.executeUpdate();
 		}
 	}
 
@@ -371,94 +302,24 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 	 * Adds input flight to flights table.
 	 *
 	 * @param reader
-	 *            File reader.
+	 *            STH file reader.
 	 * @param addFlight
 	 *            Database statement for adding flight.
 	 * @return The added flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private ExternalFlight addToFlightsTable(BufferedReader reader, PreparedStatement addFlight) throws Exception {
+	private ExternalFlight addToFlightsTable(StressHistoryReader reader, PreparedStatement addFlight) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving flight info for flight " + flightNumber_ + " to database...");
 
-		// initialize variables
-		String flightName = null, severity = "";
-		double validity = 0.0, blockSize = 0.0;
-
-		// split line
-		String[] split = line_.trim().split(" ");
-
-		// loop over columns
-		int index = 0;
-		for (String col : split) {
-
-			// invalid value
-			if (col == null || col.isEmpty())
-				continue;
-
-			// trim spaces
-			col = col.trim();
-
-			// invalid value
-			if (col.isEmpty())
-				continue;
-
-			// validity
-			if (index == 0)
-				validity = Double.parseDouble(col);
-
-			// block size
-			else if (index == 1)
-				blockSize = Double.parseDouble(col);
-
-			// increment index
-			index++;
-		}
-
-		// read next line
-		line_ = reader.readLine();
-		readLines_++;
-		task_.updateProgress(readLines_, allLines_);
-
-		// null line
-		if (line_ == null)
-			throw new Exception("Null line encountered during reading STH file.");
-
-		// split line
-		split = line_.trim().split(" ");
-
-		// loop over columns
-		index = 0;
-		for (String col : split) {
-
-			// invalid value
-			if (col == null || col.isEmpty())
-				continue;
-
-			// trim spaces
-			col = col.trim();
-
-			// invalid value
-			if (col.isEmpty())
-				continue;
-
-			// number of peaks
-			if (index == 0)
-				numPeaks_ = Integer.parseInt(col);
-
-			// flight name
-			else if (index == 1)
-				flightName = col.startsWith("TF_") ? col : ("TF_" + col);
-
-			// severity
-			else if (index == 2)
-				severity = col;
-
-			// increment index
-			index++;
+		// get flight name and severity
+		String flightName = reader.getName();
+		if (flightName != null && !flightName.startsWith("TF_")) {
+			flightName = "TF_" + flightName;
 		}
+		String severity = reader.getSeverity();
 
 		// check severity character limits
 		if (severity.length() > 500)
@@ -468,9 +329,9 @@ public class LoadSTHFile implements EquinoxProcess<ExternalStressSequence> {
 		addFlight.setInt(2, flightNumber_); // flight number
 		addFlight.setString(3, flightName); // flight name
 		addFlight.setString(4, severity); // severity
-		addFlight.setInt(5, numPeaks_); // number of peaks
-		addFlight.setDouble(6, validity); // validity
-		addFlight.setDouble(7, blockSize); // block size
+		addFlight.setInt(5, reader.getNumberOfPeaks()); // number of peaks
+		addFlight.setDouble(6, reader.getValidity()); // validity
+		addFlight.setDouble(7, reader.getBlockSize()); // block size
 		addFlight.setDouble(8, 0.0); // max peak (0 for now)
 		addFlight.setDouble(9, 0.0); // min peak (0 for now)
 		addFlight.executeUpdate();
@@ -15,21 +15,25 @@
  */
 package equinox.process;
 
-import java.io.BufferedReader;
-import java.io.InputStream;
 import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import equinox.data.BlobStore;
 import equinox.data.NonlinearLC;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.BatchWriter;
+import equinox.utility.DatabaseWriter;
+import equinox.utility.FieldScanner;
 import equinox.utility.Utility;
 
 /**
@@ -53,11 +57,8 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 	/** Delta-p loadcase. */
 	private final Integer dpLoadcase_;
 
-	/** Parameters. */
-	private int readLines_, allLines_, onegOrder_;
-
-	/** Update message header. */
-	private String line_;
+	/** 1g order. */
+	private int onegOrder_;
 
 	/**
 	 * Creates load TXT file process.
@@ -98,6 +99,26 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 
 	@Override
 	public Integer start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+		try (DatabaseWriter writer = new DatabaseWriter(connection)) {
+			Integer fileID = start(writer, null);
+			writer.flush();
+			return fileID;
+		}
+	}
+
+	/**
+	 * Loads the TXT file. The file is parsed on the calling thread; codes are staged and inserted by the given database writer. The input file is archived concurrently with parsing. Note that, some
+	 * of the writes may still be pending when this method returns.
+	 *
+	 * @param writer
+	 *            Database writer.
+	 * @param executor
+	 *            Executor to archive the input file. Can be null, in which case the file is archived on the calling thread.
+	 * @return The file ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Integer start(DatabaseWriter writer, ExecutorService executor) throws Exception {
 
 		// initialize input file and type
 		Path txtFile = txtFile_;
@@ -116,20 +137,37 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 			Utility.extractFileFromGZIP(txtFile_, txtFile);
 		}
 
-		// get number of lines of file
-		task_.updateMessage("Getting TXT file size...");
-		allLines_ = Utility.countLines(txtFile, task_);
-		readLines_ = 0;
+		// initialize 1g order
 		onegOrder_ = 0;
 
+		// get input file name
+		Path inputFileName = txtFile.getFileName();
+		if (inputFileName == null)
+			throw new Exception("Cannot get input TXT file name.");
+
+		// archive TXT file (concurrently with parsing)
+		Future<Path> archive = BlobStore.archive(txtFile, task_, executor);
+
 		// add to files table
-		int fileID = addToFilesTable(connection, txtFile);
+		task_.updateMessage("Saving TXT file info to database...");
+		int fileID = writer.execute(connection -> addToFilesTable(connection, inputFileName.toString()));
 
 		// add codes to codes table
-		addToCodesTable(connection, fileID, txtFile);
-
-		// set non linear load case factors
-		setNonlinearLCFactors(connection, fileID);
+		int numLines = addToCodesTable(writer, fileID, txtFile);
+
+		// set number of lines and non linear load case factors
+		writer.submit(connection -> {
+			setNumberOfLines(connection, fileID, numLines);
+			setNonlinearLCFactors(connection, fileID);
+			return null;
+		});
+
+		// save archive
+		Path archiveFile = BlobStore.getArchive(archive);
+		writer.submit(connection -> {
+			BlobStore.setData(connection, "txt_files", fileID, archiveFile);
+			return null;
+		});
 
 		// return file ID
 		return fileID;
@@ -201,29 +239,17 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 	}
 
 	/**
-	 * Adds input TXT file to files table.
+	 * Adds input TXT file to files table. The data BLOB is left empty until the file is archived.
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param inputFile
-	 *            Input TXT file.
+	 * @param fileName
+	 *            Input TXT file name.
 	 * @return The file ID of the added file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int addToFilesTable(Connection connection, Path inputFile) throws Exception {
-
-		// get input file name
-		Path inputFileName = inputFile.getFileName();
-		if (inputFileName == null)
-			throw new Exception("Cannot get input TXT file name.");
-
-		// zip TXT file
-		Path zipFile = task_.getWorkingDirectory().resolve(inputFileName.toString() + FileType.ZIP.getExtension());
-		Utility.zipFile(inputFile, zipFile.toFile(), task_);
-
-		// update info
-		task_.updateMessage("Saving TXT file info to database...");
+	private int addToFilesTable(Connection connection, String fileName) throws Exception {
 
 		// create query
 		String sql = "insert into txt_files(cdf_id, name, data, num_lines) values(?, ?, ?, ?)";
@@ -231,16 +257,12 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 		// create statement
 		try (PreparedStatement update = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
-			// create input stream
-			try (InputStream inputStream = Files.newInputStream(zipFile)) {
-
-				// execute update
-				update.setInt(1, cdfSet_.getID()); // CDF set ID
-				update.setString(2, inputFileName.toString()); // file name
-				update.setBlob(3, inputStream, zipFile.toFile().length());
-				update.setInt(4, allLines_); // number of lines
-				update.executeUpdate();
-			}
+			// execute update
+			update.setInt(1, cdfSet_.getID()); // CDF set ID
+			update.setString(2, fileName); // file name
+			update.setBytes(3, new byte[0]); // data (empty for now)
+			update.setInt(4, 0); // number of lines (0 for now)
+			update.executeUpdate();
 
 			// get result set
 			try (ResultSet resultSet = update.getGeneratedKeys()) {
@@ -255,158 +277,241 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 	/**
 	 * Adds TXT codes to codes table.
 	 *
-	 * @param connection
-	 *            database connection.
+	 * @param writer
+	 *            Database writer.
 	 * @param fileID
 	 *            TXT file ID.
 	 * @param inputFile
 	 *            Input TXT file.
+	 * @return Number of lines read from the TXT file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void addToCodesTable(Connection connection, int fileID, Path inputFile) throws Exception {
+	private int addToCodesTable(DatabaseWriter writer, int fileID, Path inputFile) throws Exception {
 
 		// update info
 		task_.updateMessage("Saving TXT file codes to database...");
 
-		// create query
-		String sql = "insert into txt_codes(file_id, dp_case, flight_phase, one_g_code, increment_num, issy_code, direction_num, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8, nl_factor_num, oneg_order) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		// create file scanner
+		try (FieldScanner scanner = new FieldScanner(inputFile, Charset.defaultCharset())) {
 
-		// create statement
-		try (PreparedStatement update = connection.prepareStatement(sql)) {
+			// create array list to store TXT codes
+			ArrayList<String> codes = new ArrayList<>();
 
-			// create file reader
-			try (BufferedReader reader = Files.newBufferedReader(inputFile, Charset.defaultCharset())) {
+			// create staged codes (columns not set by a line keep the values of the previous line)
+			ArrayList<TXTCode> staged = new ArrayList<>();
+			TXTCode code = new TXTCode();
 
-				// create array list to store TXT codes
-				ArrayList<String> codes = new ArrayList<>();
+			// read file till the end
+			while (scanner.nextLine()) {
 
-				// read file till the end
-				while ((line_ = reader.readLine()) != null) {
+				// task cancelled
+				if (task_.isCancelled()) {
+					break;
+				}
 
-					// task cancelled
-					if (task_.isCancelled()) {
-						break;
-					}
+				// update progress
+				task_.updateProgress(scanner.getBytesRead(), scanner.getFileSize());
 
-					// increment read lines
-					readLines_++;
+				// comment line
+				if (scanner.startsWith('#')) {
+					continue;
+				}
 
-					// update progress
-					task_.updateProgress(readLines_, allLines_);
+				// split line
+				String event = scanner.substring(0, 21).trim();
+				scanner.scanFields(21);
+				readSplitColumns(event, scanner, code, codes);
+				staged.add(new TXTCode(code));
 
-					// comment line
-					if (line_.startsWith("#")) {
-						continue;
-					}
+				// write staged codes
+				if (staged.size() == BatchWriter.DEFAULT_BATCH_SIZE) {
+					writeCodes(writer, fileID, staged);
+					staged = new ArrayList<>();
+				}
+			}
 
-					// split line
-					String event = line_.substring(0, 21).trim();
-					String[] split = line_.substring(21, line_.length()).trim().split(" ");
-					readSplitColumns(fileID, event, split, update, codes);
+			// write remaining codes
+			if (!staged.isEmpty()) {
+				writeCodes(writer, fileID, staged);
+			}
+
+			// return number of lines
+			return scanner.getLineNumber();
+		}
+	}
+
+	/**
+	 * Submits the given codes to the database writer.
+	 *
+	 * @param writer
+	 *            Database writer.
+	 * @param fileID
+	 *            TXT file ID.
+	 * @param codes
+	 *            Codes to write. The list must not be modified afterwards.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void writeCodes(DatabaseWriter writer, int fileID, ArrayList<TXTCode> codes) throws Exception {
+		writer.submit(connection -> {
+
+			// create query
+			String sql = "insert into txt_codes(file_id, dp_case, flight_phase, one_g_code, increment_num, issy_code, direction_num, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8, nl_factor_num, oneg_order) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+			// create statement
+			try (PreparedStatement update = connection.prepareStatement(sql)) {
+				update.setInt(1, fileID);
+				for (TXTCode code : codes) {
+					if (code.isDP_ == null) {
+						update.setNull(2, java.sql.Types.BOOLEAN);
+					}
+					else {
+						update.setBoolean(2, code.isDP_);
+					}
+					update.setString(3, code.event_);
+					update.setString(4, code.onegCode_);
+					if (code.incrementNumber_ == null) {
+						update.setNull(5, java.sql.Types.INTEGER);
+					}
+					else {
+						update.setInt(5, code.incrementNumber_);
+					}
+					update.setString(6, code.issyCode_);
+					update.setString(7, code.directionNumber_);
+					for (int i = 0; i < 8; i++) {
+						if (code.factors_[i] == null) {
+							update.setNull(i + 8, java.sql.Types.DOUBLE);
+						}
+						else {
+							update.setDouble(i + 8, code.factors_[i]);
+						}
+					}
+					update.setString(16, code.nlFactorNumber_);
+					if (code.onegOrder_ == null) {
+						update.setNull(17, java.sql.Types.INTEGER);
+					}
+					else {
+						update.setInt(17, code.onegOrder_);
+					}
+					update.addBatch();
 				}
+				update.executeBatch();
 			}
+			return null;
+		});
+	}
+
+	/**
+	 * Sets number of lines to TXT file table.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param fileID
+	 *            TXT file ID.
+	 * @param numLines
+	 *            Number of lines of TXT file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void setNumberOfLines(Connection connection, int fileID, int numLines) throws Exception {
+
+		// create query
+		String sql = "update txt_files set num_lines = ? where file_id = " + fileID;
+
+		// create statement
+		try (PreparedStatement update = connection.prepareStatement(sql)) {
+			update.setInt(1, numLines); // number of lines
+			update.executeUpdate();
 		}
 	}
 
 	/**
 	 * Reads split columns.
 	 *
-	 * @param fileID
-	 *            File ID.
 	 * @param event
 	 *            Event name.
-	 * @param split
-	 *            Array containing the split columns.
-	 * @param update
-	 *            Database statement.
+	 * @param scanner
+	 *            File scanner containing the split columns.
+	 * @param code
+	 *            Code to set the columns of.
 	 * @param codes
 	 *            Array list containing the codes. This is used to obtain the direction numbers.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void readSplitColumns(int fileID, String event, String[] split, PreparedStatement update, ArrayList<String> codes) throws Exception {
+	private void readSplitColumns(String event, FieldScanner scanner, TXTCode code, ArrayList<String> codes) throws Exception {
 
 		// set constant parameters
-		update.setInt(1, fileID);
-		update.setString(3, event);
+		code.event_ = event;
 
 		// set null to all factors
-		for (int i = 8; i < 16; i++) {
-			update.setNull(i, java.sql.Types.DOUBLE);
-		}
+		Arrays.fill(code.factors_, null);
 
 		int nlFactorNumber = -1, incrementNumber = -1;
-		int index = 0;
 		boolean isDP;
-		for (String col : split) {
-
-			// invalid value
-			if ((col == null) || col.isEmpty()) {
-				continue;
-			}
-
-			// trim spaces
-			col = col.trim();
-
-			// invalid value
-			if (col.isEmpty()) {
-				continue;
-			}
+		int numFields = scanner.getNumberOfFields();
+		for (int index = 0; index < numFields; index++) {
 
 			// 1g code and increment number
 			if (index == 0) {
 
+				// get code
+				String col = scanner.getField(index);
+
 				// add to codes
 				codes.add(col);
 
 				// set 1g code
-				update.setString(4, col.substring(0, 4));
+				code.onegCode_ = col.substring(0, 4);
 
 				// set increment number
 				incrementNumber = Integer.parseInt(col.substring(4, 5));
-				update.setInt(5, incrementNumber);
+				code.incrementNumber_ = incrementNumber;
 
 				// linear load case
 				if (col.length() == 5) {
 
 					// set direction number
-					update.setString(7, "" + getDirectionNumber(codes, col));
+					code.directionNumber_ = "" + getDirectionNumber(codes, col);
 
 					// set non-linear factor number
 					nlFactorNumber = -1;
-					update.setNull(16, java.sql.Types.VARCHAR);
+					code.nlFactorNumber_ = null;
 				}
 
 				// non-linear load case
 				else if (col.length() == 7) {
 
 					// set direction number
-					update.setString(7, "" + Integer.parseInt(col.substring(6, 7)));
+					code.directionNumber_ = "" + Integer.parseInt(col.substring(6, 7));
 
 					// set non-linear factor number
 					nlFactorNumber = Integer.parseInt(col.substring(5, 6));
-					update.setString(16, "" + nlFactorNumber);
+					code.nlFactorNumber_ = "" + nlFactorNumber;
 				}
 			}
 
 			// issy code
 			else if (index == 1) {
 
+				// get issy code
+				String col = scanner.getField(index);
+
 				// set issy code
-				update.setString(6, col);
+				code.issyCode_ = col;
 
 				// set if delta-p loadcase
 				isDP = (dpLoadcase_ != null) && col.equals(dpLoadcase_.toString());
-				update.setBoolean(2, isDP);
+				code.isDP_ = isDP;
 
 				// set 1g order
 				if ((incrementNumber == 0) && !isDP) {
-					update.setInt(17, onegOrder_);
+					code.onegOrder_ = onegOrder_;
 					onegOrder_++;
 				}
 				else {
-					update.setNull(17, java.sql.Types.INTEGER);
+					code.onegOrder_ = null;
 				}
 			}
 
@@ -414,18 +519,12 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 			else if ((index >= 2) && (index <= 9))
 				// non-linear case
 				if (nlFactorNumber != -1) {
-					update.setDouble(nlFactorNumber + 7, Double.parseDouble(col));
+					code.factors_[nlFactorNumber - 1] = scanner.getDouble(index);
 				}
 				else {
-					update.setDouble(index + 6, Double.parseDouble(col));
+					code.factors_[index - 2] = scanner.getDouble(index);
 				}
-
-			// increment index
-			index++;
 		}
-
-		// add to database
-		update.executeUpdate();
 	}
 
 	/**
@@ -447,4 +546,51 @@ public class LoadTXTFile implements EquinoxProcess<Integer> {
 			}
 		return num;
 	}
+
+	/**
+	 * Inner class for staged TXT code.
+	 *
+	 * @author Murat Artim
+	 * @date 19 Oct 2026
+	 * @time 02:04:51
+	 */
+	private static class TXTCode {
+
+		/** Delta-p loadcase indicator. */
+		private Boolean isDP_;
+
+		/** Event name, 1g code, issy code, direction number and non-linear factor number. */
+		private String event_, onegCode_, issyCode_, directionNumber_, nlFactorNumber_;
+
+		/** Increment number and 1g order. */
+		private Integer incrementNumber_, onegOrder_;
+
+		/** Factors. */
+		private final Double[] factors_;
+
+		/**
+		 * Creates empty TXT code.
+		 */
+		TXTCode() {
+			factors_ = new Double[8];
+		}
+
+		/**
+		 * Creates a copy of the given TXT code.
+		 *
+		 * @param code
+		 *            TXT code to copy.
+		 */
+		TXTCode(TXTCode code) {
+			isDP_ = code.isDP_;
+			event_ = code.event_;
+			onegCode_ = code.onegCode_;
+			issyCode_ = code.issyCode_;
+			directionNumber_ = code.directionNumber_;
+			nlFactorNumber_ = code.nlFactorNumber_;
+			incrementNumber_ = code.incrementNumber_;
+			onegOrder_ = code.onegOrder_;
+			factors_ = code.factors_.clone();
+		}
+	}
 }
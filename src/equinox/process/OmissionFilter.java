@@ -0,0 +1,331 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.io.BufferedReader;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import equinox.task.InternalEquinoxTask;
+import equinox.utility.StressHistoryReader;
+import equinox.utility.StressHistoryWriter;
+
+/**
+ * Class for inbuilt stress sequence omission filter. The filter implements the peak-valley omission of the <code>omission.pl</code> script. Cycles with ranges below the omission level are removed
+ * from typical flights, either on in-memory peak arrays, or from STH files. Output STH files of {@link #filter(Path, Path, InternalEquinoxTask)} are identical to the ones written by the script.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 18:04:36
+ */
+public class OmissionFilter {
+
+	/** Initial maximum and minimum stresses of the omission script. */
+	private static final double INITIAL_MAX_STRESS = -1000000.0, INITIAL_MIN_STRESS = 1000000.0;
+
+	/** Significant digits of number to string conversions of the omission script. */
+	private static final MathContext SIGNIFICANT_DIGITS = new MathContext(15, RoundingMode.HALF_EVEN);
+
+	/** Omission level. */
+	private final double omissionLevel_;
+
+	/**
+	 * Creates omission filter.
+	 *
+	 * @param omissionLevel
+	 *            Omission level.
+	 */
+	public OmissionFilter(double omissionLevel) {
+		omissionLevel_ = omissionLevel;
+	}
+
+	/**
+	 * Returns the omission level.
+	 *
+	 * @return The omission level.
+	 */
+	public double getOmissionLevel() {
+		return omissionLevel_;
+	}
+
+	/**
+	 * Applies omission to the given typical flight peaks. Note that, the output always contains at least 1 peak. The output array can be the same as the input array.
+	 *
+	 * @param peaks
+	 *            Input peaks of the flight.
+	 * @param numPeaks
+	 *            Number of input peaks.
+	 * @param output
+	 *            Array to store the output peaks. Its length must be at least <code>max(numPeaks, 1)</code>.
+	 * @return Number of output peaks.
+	 */
+	public int filter(double[] peaks, int numPeaks, double[] output) {
+
+		// initialize variables
+		double tro = numPeaks == 0 ? 0.0 : peaks[0], pea = tro;
+		int index = 0, count = 0, direction = 0;
+
+		// find first cycle exceeding omission level
+		while (index < numPeaks) {
+			double value = peaks[index++];
+
+			// new peak
+			if (value > pea) {
+				pea = value;
+				if (pea - tro <= omissionLevel_) {
+					continue;
+				}
+				output[count++] = tro;
+				direction = 1;
+				break;
+			}
+
+			// new valley
+			else if (value < tro) {
+				tro = value;
+				if (pea - tro < omissionLevel_) {
+					continue;
+				}
+				output[count++] = pea;
+				direction = -1;
+				break;
+			}
+		}
+
+		// alternate between peaks and valleys
+		boolean found = direction != 0;
+		while (found) {
+			found = false;
+
+			// search for peak
+			if (direction == 1) {
+				while (index < numPeaks) {
+					double value = peaks[index++];
+					if (value > pea) {
+						pea = value;
+					}
+					else if (pea - value > omissionLevel_) {
+						output[count++] = pea;
+						tro = value;
+						found = true;
+						break;
+					}
+				}
+				if (found) {
+					direction = -1;
+				}
+			}
+
+			// search for valley
+			else {
+				while (index < numPeaks) {
+					double value = peaks[index++];
+					if (value < tro) {
+						tro = value;
+					}
+					else if (value - tro > omissionLevel_) {
+						output[count++] = tro;
+						pea = value;
+						found = true;
+						break;
+					}
+				}
+				if (found) {
+					direction = 1;
+				}
+			}
+		}
+
+		// add last peak or valley
+		if (direction == 1) {
+			output[count++] = pea;
+		}
+		else if (direction == -1) {
+			output[count++] = tro;
+		}
+
+		// no cycle exceeding omission level (the script converts the mid value to string before writing it)
+		else {
+			output[count++] = Double.parseDouble(formatNumber((pea + tro) / 2.0));
+		}
+
+		// return number of output peaks
+		return count;
+	}
+
+	/**
+	 * Applies omission to the given flight peaks before they are written with the given STH file writer. Peaks are rounded to the precision of STH files before the omission, so that the output is
+	 * identical to writing the peaks and then applying omission to the written STH file. The output peaks are stored in the input array.
+	 *
+	 * @param writer
+	 *            STH file writer.
+	 * @param peaks
+	 *            Flight peaks. Its length must be at least <code>max(numPeaks, 1)</code>.
+	 * @param numPeaks
+	 *            Number of flight peaks.
+	 * @return Number of output peaks.
+	 */
+	public int filter(StressHistoryWriter writer, double[] peaks, int numPeaks) {
+		for (int i = 0; i < numPeaks; i++) {
+			peaks[i] = writer.getWrittenValue(peaks[i]);
+		}
+		return filter(peaks, numPeaks, peaks);
+	}
+
+	/**
+	 * Applies omission to the given STH file and writes the output STH file in the format of the omission script. Typical flights are named as <code>TFLIGHT_n</code> and severities are dropped.
+	 *
+	 * @param inputSTH
+	 *            Input STH file.
+	 * @param outputSTH
+	 *            Output STH file.
+	 * @param task
+	 *            The owner task. Used for progress and cancellation. Can be null.
+	 * @return Output STH file, or null if the task is cancelled.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public Path filter(Path inputSTH, Path outputSTH, InternalEquinoxTask<?> task) throws Exception {
+
+		// get first header line
+		String header = "";
+		try (BufferedReader reader = Files.newBufferedReader(inputSTH, Charset.defaultCharset())) {
+			String line = reader.readLine();
+			if (line != null) {
+				header = line;
+			}
+		}
+
+		// compute maximum/minimum stresses and total validity
+		double maxStress = INITIAL_MAX_STRESS, minStress = INITIAL_MIN_STRESS, validity = 0.0;
+		try (StressHistoryReader reader = new StressHistoryReader(inputSTH)) {
+			while (reader.nextFlight()) {
+
+				// task cancelled
+				if (task != null && task.isCancelled())
+					return null;
+
+				// update extremes
+				double[] peaks = readPeaks(reader);
+				int numPeaks = reader.getNumberOfReadPeaks();
+				for (int i = 0; i < numPeaks; i++) {
+					if (peaks[i] > maxStress) {
+						maxStress = peaks[i];
+					}
+					if (peaks[i] < minStress) {
+						minStress = peaks[i];
+					}
+				}
+				validity += reader.getValidity() * reader.getBlockSize();
+			}
+		}
+
+		// create reader and writer
+		try (StressHistoryReader reader = new StressHistoryReader(inputSTH); StressHistoryWriter writer = new StressHistoryWriter(outputSTH)) {
+
+			// write file header
+			writer.writeLine(header + " ");
+			writer.writeLine("max: " + formatNumber(maxStress) + "   min: " + formatNumber(minStress));
+			writer.writeLine("validfor = " + formatNumber(validity) + "   |" + inputSTH.getFileName() + "|");
+			writer.writeLine("RFORT from < E_PURE > Process. Value Ommitted: " + Double.toString(omissionLevel_));
+
+			// loop over flights
+			double[] output = new double[1];
+			while (reader.nextFlight()) {
+
+				// task cancelled
+				if (task != null && task.isCancelled())
+					return null;
+
+				// update progress
+				if (task != null) {
+					task.updateProgress(reader.getBytesRead(), reader.getFileSize());
+				}
+
+				// apply omission
+				double[] peaks = readPeaks(reader);
+				int numPeaks = reader.getNumberOfPeaks();
+				if (output.length < Math.max(numPeaks, 1)) {
+					output = new double[Math.max(numPeaks, 1)];
+				}
+				int numOutput = filter(peaks, reader.getNumberOfReadPeaks(), output);
+
+				// write flight
+				writer.writeLine(writer.formatColumn(reader.getValidity()) + writer.formatColumn(reader.getBlockSize()) + "  ");
+				writer.writeLine(String.format("%10d %58s %10s", numOutput, "", "TFLIGHT_" + (reader.getFlightIndex() + 1)));
+				writer.writePeaks(output, numOutput);
+			}
+		}
+
+		// return output file
+		return outputSTH;
+	}
+
+	/**
+	 * Reads peaks of the current flight. Negative zeros are converted to zero, since the omission script reads <code>-0.00</code> as zero.
+	 *
+	 * @param reader
+	 *            STH file reader.
+	 * @return Peaks of the current flight.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static double[] readPeaks(StressHistoryReader reader) throws Exception {
+		double[] peaks = reader.readPeaks();
+		int numPeaks = reader.getNumberOfReadPeaks();
+		for (int i = 0; i < numPeaks; i++) {
+			peaks[i] += 0.0;
+		}
+		return peaks;
+	}
+
+	/**
+	 * Converts the given number to string in the way the omission script does (i.e. with 15 significant digits and without trailing zeros).
+	 *
+	 * @param value
+	 *            Value to convert.
+	 * @return String representation of the value.
+	 */
+	private static String formatNumber(double value) {
+
+		// zero
+		if (value == 0.0)
+			return Double.doubleToRawLongBits(value) < 0L ? "-0" : "0";
+
+		// round to significant digits
+		BigDecimal decimal = new BigDecimal(value).round(SIGNIFICANT_DIGITS);
+		int exponent = decimal.precision() - decimal.scale() - 1;
+		decimal = decimal.stripTrailingZeros();
+
+		// fixed notation
+		if (exponent >= -4 && exponent < SIGNIFICANT_DIGITS.getPrecision())
+			return decimal.toPlainString();
+
+		// scientific notation
+		String digits = decimal.unscaledValue().abs().toString();
+		String text = value < 0.0 ? "-" : "";
+		text += digits.charAt(0);
+		if (digits.length() > 1) {
+			text += "." + digits.substring(1);
+		}
+		int abs = Math.abs(exponent);
+		return text + "e" + (exponent < 0 ? "-" : "+") + (abs < 10 ? "0" : "") + abs;
+	}
+}
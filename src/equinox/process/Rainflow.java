@@ -26,6 +26,10 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 
 import equinox.Equinox;
+import equinox.data.RainflowEngine;
+import equinox.data.TaskScheduler;
+import equinox.data.TaskScheduler.Permit;
+import equinox.data.TaskScheduler.Resource;
 import equinox.data.fileType.ExternalFatigueEquivalentStress;
 import equinox.data.fileType.ExternalLinearEquivalentStress;
 import equinox.data.fileType.ExternalPreffasEquivalentStress;
@@ -36,6 +40,7 @@ import equinox.data.fileType.SpectrumItem;
 import equinox.plugin.FileType;
 import equinox.serverUtilities.ServerUtility;
 import equinox.task.TemporaryFileCreatingTask;
+import equinox.utility.BatchWriter;
 import equinox.utility.exception.InternalEngineAnalysisFailedException;
 
 /**
@@ -62,11 +67,14 @@ public class Rainflow implements ESAProcess<Void> {
 	/** Rainflow cycles table name. */
 	private final String tableName_;
 
+	/** Rainflow engine. */
+	private final RainflowEngine engine_;
+
 	/** Sub processes. */
 	private Process rainflowProcess_;
 
 	/**
-	 * Creates rainflow process.
+	 * Creates rainflow process. Inbuilt rainflow engine is used for counting.
 	 *
 	 * @param task
 	 *            The owner task.
@@ -76,10 +84,7 @@ public class Rainflow implements ESAProcess<Void> {
 	 *            Equivalent stress.
 	 */
 	public Rainflow(TemporaryFileCreatingTask<?> task, Path inputSTH, SpectrumItem equivalentStress) {
-		task_ = task;
-		inputSTH_ = inputSTH;
-		equivalentStress_ = equivalentStress;
-		tableName_ = null;
+		this(task, inputSTH, equivalentStress, null, RainflowEngine.INBUILT);
 	}
 
 	/**
@@ -95,10 +100,29 @@ public class Rainflow implements ESAProcess<Void> {
 	 *            Rainflow cycles table name.
 	 */
 	public Rainflow(TemporaryFileCreatingTask<?> task, Path inputSTH, SpectrumItem equivalentStress, String tableName) {
+		this(task, inputSTH, equivalentStress, tableName, RainflowEngine.INBUILT);
+	}
+
+	/**
+	 * Creates rainflow process.
+	 *
+	 * @param task
+	 *            The owner task.
+	 * @param inputSTH
+	 *            Path to input STH file.
+	 * @param equivalentStress
+	 *            Equivalent stress.
+	 * @param tableName
+	 *            Rainflow cycles table name. Can be null for default rainflow cycles table of the equivalent stress.
+	 * @param engine
+	 *            Rainflow engine.
+	 */
+	public Rainflow(TemporaryFileCreatingTask<?> task, Path inputSTH, SpectrumItem equivalentStress, String tableName, RainflowEngine engine) {
 		task_ = task;
 		inputSTH_ = inputSTH;
 		equivalentStress_ = equivalentStress;
 		tableName_ = tableName;
+		engine_ = engine;
 	}
 
 	@Override
@@ -106,6 +130,12 @@ public class Rainflow implements ESAProcess<Void> {
 
 		try {
 
+			// inbuilt engine
+			if (engine_.equals(RainflowEngine.INBUILT)) {
+				countRainflowCycles(connection);
+				return null;
+			}
+
 			// run rainflow process
 			Path rainflowOutput = runRainflowProcess();
 
@@ -144,6 +174,110 @@ public class Rainflow implements ESAProcess<Void> {
 		}
 	}
 
+	/**
+	 * Counts rainflow cycles with the inbuilt rainflow engine and saves them to database.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void countRainflowCycles(Connection connection) throws Exception {
+
+		// get path to input file name
+		Path inputFileNamePath = inputSTH_.getFileName();
+		if (inputFileNamePath == null)
+			throw new Exception("Cannot get input STH file name.");
+
+		// read input STH file
+		task_.updateMessage("Rainflowing stress sequence '" + inputFileNamePath.toString() + "'...");
+		RainflowCounter counter = RainflowCounter.readSTH(inputSTH_);
+
+		// task cancelled
+		if (task_.isCancelled())
+			return;
+
+		// update info
+		task_.updateMessage("Saving rainflow cycles to database...");
+
+		// prepare statement
+		String sql = "insert into " + getTableName() + "(stress_id, cycle_num, num_cycles, max_val, min_val, mean_val, r_ratio, amp_val, range_val) values(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		try (PreparedStatement update = connection.prepareStatement(sql); BatchWriter cycleWriter = new BatchWriter(update)) {
+
+			// set stress ID
+			update.setInt(1, equivalentStress_.getID());
+
+			// count cycles
+			int[] cycleNum = { 0 };
+			counter.count((numCycles, maxVal, min) -> {
+
+				// task cancelled
+				if (task_.isCancelled())
+					return false;
+
+				// zero maximum value
+				double max = maxVal;
+				if (max == 0.0) {
+
+					// set maximum to 0.0001
+					max = 0.0001;
+
+					// log warning
+					String warning = task_.getTaskTitle() + " produced 0 maximum stress. Maximum stress is set to 0.0001.";
+					task_.addWarning(warning);
+					Equinox.LOGGER.warning(warning);
+				}
+
+				// insert cycle
+				update.setInt(2, cycleNum[0]);
+				update.setDouble(3, numCycles);
+				update.setDouble(4, max);
+				update.setDouble(5, min);
+				update.setDouble(6, (max + min) / 2.0);
+				update.setDouble(7, min / max);
+				update.setDouble(8, (max - min) / 2.0);
+				update.setDouble(9, max - min);
+				cycleWriter.addBatch();
+				cycleNum[0]++;
+				return true;
+			});
+		}
+	}
+
+	/**
+	 * Returns the rainflow cycles table name.
+	 *
+	 * @return The rainflow cycles table name.
+	 */
+	private String getTableName() {
+
+		// table name given
+		if (tableName_ != null)
+			return tableName_;
+
+		// set table name
+		String tableName = null;
+		if (equivalentStress_ instanceof FatigueEquivalentStress) {
+			tableName = "fatigue_rainflow_cycles";
+		}
+		else if (equivalentStress_ instanceof PreffasEquivalentStress) {
+			tableName = "preffas_rainflow_cycles";
+		}
+		else if (equivalentStress_ instanceof LinearEquivalentStress) {
+			tableName = "linear_rainflow_cycles";
+		}
+		else if (equivalentStress_ instanceof ExternalFatigueEquivalentStress) {
+			tableName = "ext_fatigue_rainflow_cycles";
+		}
+		else if (equivalentStress_ instanceof ExternalPreffasEquivalentStress) {
+			tableName = "ext_preffas_rainflow_cycles";
+		}
+		else if (equivalentStress_ instanceof ExternalLinearEquivalentStress) {
+			tableName = "ext_linear_rainflow_cycles";
+		}
+		return tableName;
+	}
+
 	/**
 	 * Runs rainflow process.
 	 *
@@ -194,18 +328,32 @@ public class Rainflow implements ESAProcess<Void> {
 		pb.directory(workingDir.toFile());
 		pb.redirectErrorStream(true);
 		pb.redirectOutput(Redirect.appendTo(log));
-		rainflowProcess_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert rainflowProcess_.getInputStream().read() == -1;
+		try (Permit permit = Equinox.SCHEDULER.acquire(Resource.ENGINE, task_)) {
 
-		// task cancelled
-		if (task_.isCancelled())
-			return null;
+			// interrupted while waiting for permit
+			if (permit == null)
+				return null;
 
-		// process failed
-		if (rainflowProcess_.waitFor() != 0)
-			throw new Exception("Rainflow failed! See LOG file for details.");
+			rainflowProcess_ = pb.start();
+			assert pb.redirectInput() == Redirect.PIPE;
+			assert pb.redirectOutput().file() == log;
+			assert rainflowProcess_.getInputStream().read() == -1;
+
+			// task cancelled
+			if (task_.isCancelled())
+				return null;
+
+			// process failed
+			if (rainflowProcess_.waitFor() != 0)
+				throw new Exception("Rainflow failed! See LOG file for details.");
+		}
+
+		// interrupted while waiting for process
+		catch (InterruptedException e) {
+			cancel();
+			TaskScheduler.interrupted(task_);
+			return null;
+		}
 
 		// task cancelled
 		if (task_.isCancelled())
@@ -234,35 +382,9 @@ public class Rainflow implements ESAProcess<Void> {
 		// update info
 		task_.updateMessage("Saving rainflow cycles to database...");
 
-		// set table name
-		String tableName = null;
-		if (tableName_ == null) {
-			if (equivalentStress_ instanceof FatigueEquivalentStress) {
-				tableName = "fatigue_rainflow_cycles";
-			}
-			else if (equivalentStress_ instanceof PreffasEquivalentStress) {
-				tableName = "preffas_rainflow_cycles";
-			}
-			else if (equivalentStress_ instanceof LinearEquivalentStress) {
-				tableName = "linear_rainflow_cycles";
-			}
-			else if (equivalentStress_ instanceof ExternalFatigueEquivalentStress) {
-				tableName = "ext_fatigue_rainflow_cycles";
-			}
-			else if (equivalentStress_ instanceof ExternalPreffasEquivalentStress) {
-				tableName = "ext_preffas_rainflow_cycles";
-			}
-			else if (equivalentStress_ instanceof ExternalLinearEquivalentStress) {
-				tableName = "ext_linear_rainflow_cycles";
-			}
-		}
-		else {
-			tableName = tableName_;
-		}
-
 		// prepare statement
-		String sql = "insert into " + tableName + "(stress_id, cycle_num, num_cycles, max_val, min_val, mean_val, r_ratio, amp_val, range_val) values(?, ?, ?, ?, ?, ?, ?, ?, ?)";
-		try (PreparedStatement update = connection.prepareStatement(sql)) {
+		String sql = "insert into " + getTableName() + "(stress_id, cycle_num, num_cycles, max_val, min_val, mean_val, r_ratio, amp_val, range_val) values(?, ?, ?, ?, ?, ?, ?, ?, ?)";
+		try (PreparedStatement update = connection.prepareStatement(sql); BatchWriter cycleWriter = new BatchWriter(update)) {
 
 			// set stress ID
 			update.setInt(1, equivalentStress_.getID());
@@ -355,8 +477,8 @@ public class Rainflow implements ESAProcess<Void> {
 						index++;
 					}
 
-					// execute update
-					update.executeUpdate();
+					// add to batch
+					cycleWriter.addBatch();
 				}
 			}
 		}
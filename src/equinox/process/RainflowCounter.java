@@ -0,0 +1,408 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import equinox.utility.StressHistoryReader;
+
+/**
+ * Class for inbuilt rainflow counter. The counter implements the four-point rainflow counting method of the <code>rainflow.pl</code> script with DATIG output format. Typical flight peaks are counted
+ * into a 64 x 64 Markov matrix, which is then reduced to cycles. Produced cycles are rounded to the precision of the script output, so that they are identical to the ones read from the script output file.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 10:25:03
+ */
+public class RainflowCounter {
+
+	/** Number of stress classes of the Markov matrix. */
+	private static final int NUM_CLASSES = 64;
+
+	/** Accuracy of stress class search. */
+	private static final double ACCURACY = 0.01;
+
+	/** Significant digits of number to string conversions of the rainflow script. */
+	private static final MathContext SIGNIFICANT_DIGITS = new MathContext(15, RoundingMode.HALF_EVEN);
+
+	/** Typical flights. */
+	private final ArrayList<TypicalFlight> flights_ = new ArrayList<>();
+
+	/** Maximum and minimum stresses of all typical flights. */
+	private double maxStress_ = -1000000.0, minStress_ = 1000000.0;
+
+	/** Total validity of all typical flights. */
+	private double validity_ = 0.0;
+
+	/**
+	 * Interface for rainflow cycle handler.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 10:25:03
+	 */
+	public interface CycleHandler {
+
+		/**
+		 * Called for each rainflow cycle produced by the counter.
+		 *
+		 * @param numCycles
+		 *            Number of cycles.
+		 * @param max
+		 *            Maximum stress of cycle.
+		 * @param min
+		 *            Minimum stress of cycle.
+		 * @return True to continue counting, false to stop.
+		 * @throws Exception
+		 *             If exception occurs during handling the cycle.
+		 */
+		boolean cycle(double numCycles, double max, double min) throws Exception;
+	}
+
+	/**
+	 * Adds typical flight to this counter.
+	 *
+	 * @param validity
+	 *            Validity of typical flight.
+	 * @param blockSize
+	 *            Block size of typical flight.
+	 * @param peaks
+	 *            Peak values of typical flight. Note that the array is not copied.
+	 * @param numPeaks
+	 *            Number of peaks of the typical flight.
+	 */
+	public void addFlight(double validity, double blockSize, double[] peaks, int numPeaks) {
+
+		// update maximum and minimum stresses
+		for (int i = 0; i < numPeaks; i++) {
+			if (peaks[i] > maxStress_) {
+				maxStress_ = peaks[i];
+			}
+			if (peaks[i] < minStress_) {
+				minStress_ = peaks[i];
+			}
+		}
+
+		// add flight
+		flights_.add(new TypicalFlight(validity, blockSize, peaks, numPeaks));
+		validity_ += validity * blockSize;
+	}
+
+	/**
+	 * Returns total validity of all typical flights (validity multiplied by the block size).
+	 *
+	 * @return Total validity of all typical flights.
+	 */
+	public double getValidity() {
+		return validity_;
+	}
+
+	/**
+	 * Counts rainflow cycles of all typical flights and passes them to the given handler.
+	 *
+	 * @param handler
+	 *            Cycle handler.
+	 * @return Number of cycles passed to the handler.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public int count(CycleHandler handler) throws Exception {
+
+		// create stress class limits
+		double dg = getClassWidth();
+		double[] gr = getClassLimits(dg);
+
+		// count typical flights into Markov matrix
+		double[][] matrix = countMatrix(gr);
+
+		// reduce matrix to cycles
+		int numCycles = 0;
+		for (int i = 1; i <= NUM_CLASSES; i++) {
+			for (int j = i + 1; j <= NUM_CLASSES; j++) {
+
+				// empty cell
+				double upper = matrix[i][j], lower = matrix[j][i];
+				if (upper == 0 && lower == 0) {
+					continue;
+				}
+
+				// compute number of cycles
+				double n = 0.0;
+				if (upper == lower) {
+					n = upper;
+				}
+				else if (upper != 0 && lower != 0) {
+					double min = Math.min(upper, lower);
+					n = min + 0.5 * (Math.max(upper, lower) - min);
+				}
+				else {
+					n = 0.5 * Math.max(upper, lower);
+				}
+
+				// compute cycle stresses
+				double max = gr[j] + dg;
+				double min = gr[i];
+
+				// invalid cycle
+				if (min / max > 1.0 && max < 0) {
+					continue;
+				}
+
+				// pass cycle to handler
+				numCycles++;
+				if (!handler.cycle(round(n, 1), round(max, 2), round(min, 2)))
+					return numCycles;
+			}
+		}
+
+		// return number of cycles
+		return numCycles;
+	}
+
+	/**
+	 * Returns the Markov matrix of all typical flights. Matrix indices start from 1, as in the rainflow script.
+	 *
+	 * @return The Markov matrix of all typical flights.
+	 */
+	double[][] getMarkovMatrix() {
+		return countMatrix(getClassLimits(getClassWidth()));
+	}
+
+	/**
+	 * Returns the width of stress classes.
+	 *
+	 * @return The width of stress classes.
+	 */
+	private double getClassWidth() {
+		return round((maxStress_ - minStress_) / NUM_CLASSES, 4);
+	}
+
+	/**
+	 * Returns the stress class limits. Each limit is rounded to 4 decimal places before the next one is computed, as in the rainflow script.
+	 *
+	 * @param dg
+	 *            Width of stress classes.
+	 * @return The stress class limits.
+	 */
+	private double[] getClassLimits(double dg) {
+		double[] gr = new double[NUM_CLASSES + 2];
+		gr[1] = round(minStress_, 4);
+		for (int i = 2; i <= NUM_CLASSES + 1; i++) {
+			gr[i] = round(gr[i - 1] + dg, 4);
+		}
+		return gr;
+	}
+
+	/**
+	 * Counts all typical flights into the Markov matrix.
+	 *
+	 * @param gr
+	 *            Stress class limits.
+	 * @return The Markov matrix.
+	 */
+	private double[][] countMatrix(double[] gr) {
+
+		// create matrices
+		double[][] matrix = new double[NUM_CLASSES + 1][NUM_CLASSES + 1];
+		int[][] flightMatrix = new int[NUM_CLASSES + 1][NUM_CLASSES + 1];
+
+		// loop over typical flights
+		for (TypicalFlight flight : flights_) {
+
+			// count flight
+			for (int[] row : flightMatrix) {
+				Arrays.fill(row, 0);
+			}
+			countFlight(flight, gr, flightMatrix);
+
+			// add to matrix (multiplied in the same order as the script, so that the sums are identical)
+			for (int i = 1; i <= NUM_CLASSES; i++) {
+				for (int j = 1; j <= NUM_CLASSES; j++) {
+					matrix[i][j] += flightMatrix[i][j] * flight.validity_ * flight.blockSize_;
+				}
+			}
+		}
+
+		// return matrix
+		return matrix;
+	}
+
+	/**
+	 * Counts given typical flight into the given Markov matrix.
+	 *
+	 * @param flight
+	 *            Typical flight.
+	 * @param gr
+	 *            Stress class limits.
+	 * @param matrix
+	 *            Markov matrix of the typical flight.
+	 */
+	private static void countFlight(TypicalFlight flight, double[] gr, int[][] matrix) {
+
+		// no cycle
+		int numPeaks = flight.numPeaks_;
+		if (numPeaks < 2)
+			return;
+
+		// create stack
+		double[] peaks = flight.peaks_;
+		double[] s = new double[numPeaks + 1];
+		s[1] = peaks[0];
+		int p = 1, ip1 = 0, ip2 = 0;
+
+		// loop over peaks
+		for (int q = 2; q <= numPeaks; q++) {
+
+			// push peak to stack
+			p++;
+			s[p] = peaks[q - 1];
+
+			// extract closed cycles
+			while (p >= 4 && (s[p - 2] > s[p - 3] && s[p - 1] >= s[p - 3] && s[p] >= s[p - 2] || s[p - 2] < s[p - 3] && s[p - 1] <= s[p - 3] && s[p] <= s[p - 2])) {
+				ip1 = getStressClass(s[p - 1], gr, ip1);
+				ip2 = getStressClass(s[p - 2], gr, ip2);
+				matrix[ip2][ip1]++;
+				matrix[ip1][ip2]++;
+				s[p - 2] = s[p];
+				p -= 2;
+			}
+		}
+
+		// count residue as half cycles
+		for (int q = 1; q < p; q++) {
+			ip2 = getStressClass(s[q + 1], gr, ip2);
+			ip1 = getStressClass(s[q], gr, ip1);
+			matrix[ip2][ip1]++;
+		}
+
+		// set matrix diagonal to zero
+		for (int i = 1; i <= NUM_CLASSES; i++) {
+			matrix[i][i] = 0;
+		}
+	}
+
+	/**
+	 * Returns the stress class of the given stress, or the given previous class if no class could be found.
+	 *
+	 * @param stress
+	 *            Stress value.
+	 * @param gr
+	 *            Stress class limits.
+	 * @param previous
+	 *            Previous stress class.
+	 * @return The stress class of the given stress.
+	 */
+	private static int getStressClass(double stress, double[] gr, int previous) {
+		for (int i = 2; i <= NUM_CLASSES + 1; i++) {
+			if (stress <= gr[i] || Math.abs(stress - gr[i]) <= ACCURACY)
+				return i - 1;
+		}
+		return previous;
+	}
+
+	/**
+	 * Rounds the given value to given number of decimal places, in the same way as the rainflow script does. The script first converts the value to string with 15 significant digits, and then
+	 * formats it with the given number of decimal places.
+	 *
+	 * @param value
+	 *            Value to round.
+	 * @param decimals
+	 *            Number of decimal places.
+	 * @return The rounded value.
+	 */
+	private static double round(double value, int decimals) {
+		double converted = new BigDecimal(value).round(SIGNIFICANT_DIGITS).doubleValue();
+		double rounded = new BigDecimal(converted).setScale(decimals, RoundingMode.HALF_EVEN).doubleValue();
+		return rounded == 0.0 ? Math.copySign(0.0, value) : rounded;
+	}
+
+	/**
+	 * Creates and returns rainflow counter for the given STH file.
+	 *
+	 * @param sthFile
+	 *            Path to STH file.
+	 * @return Rainflow counter containing all typical flights of the STH file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static RainflowCounter readSTH(Path sthFile) throws Exception {
+
+		// create counter
+		RainflowCounter counter = new RainflowCounter();
+
+		// create file reader
+		try (StressHistoryReader reader = new StressHistoryReader(sthFile)) {
+
+			// read typical flights
+			while (reader.nextFlight()) {
+
+				// read peaks
+				int numPeaks = reader.getNumberOfPeaks();
+				double[] peaks = new double[numPeaks];
+				reader.readPeaks(peaks);
+
+				// add flight
+				counter.addFlight(reader.getValidity(), reader.getBlockSize(), peaks, numPeaks);
+			}
+		}
+
+		// return counter
+		return counter;
+	}
+
+	/**
+	 * Inner class for typical flight.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 10:25:03
+	 */
+	private static class TypicalFlight {
+
+		/** Validity and block size. */
+		private final double validity_, blockSize_;
+
+		/** Peak values. */
+		private final double[] peaks_;
+
+		/** Number of peaks. */
+		private final int numPeaks_;
+
+		/**
+		 * Creates typical flight.
+		 *
+		 * @param validity
+		 *            Validity.
+		 * @param blockSize
+		 *            Block size.
+		 * @param peaks
+		 *            Peak values.
+		 * @param numPeaks
+		 *            Number of peaks.
+		 */
+		TypicalFlight(double validity, double blockSize, double[] peaks, int numPeaks) {
+			validity_ = validity;
+			blockSize_ = blockSize;
+			peaks_ = peaks;
+			numPeaks_ = numPeaks;
+		}
+	}
+}
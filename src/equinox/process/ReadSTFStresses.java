@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+
+import equinox.data.CompiledSpectrum;
+import equinox.data.STFStressVector;
+import equinox.task.InternalEquinoxTask;
+
+/**
+ * Class for read STF stresses process. The process reads all stresses of an STF file with a single query, and maps them to the ISSY code slots of a compiled spectrum.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 12:31:09
+ */
+public class ReadSTFStresses implements EquinoxProcess<STFStressVector> {
+
+	/** The owner task. */
+	private final InternalEquinoxTask<?> task_;
+
+	/** Compiled spectrum. */
+	private final CompiledSpectrum spectrum_;
+
+	/** STF file ID and stress table ID. */
+	private final int stfID_, stressTableID_;
+
+	/**
+	 * Creates read STF stresses process.
+	 *
+	 * @param task
+	 *            The owner task.
+	 * @param spectrum
+	 *            Compiled spectrum.
+	 * @param stfID
+	 *            STF file ID.
+	 * @param stressTableID
+	 *            Stress table ID.
+	 */
+	public ReadSTFStresses(InternalEquinoxTask<?> task, CompiledSpectrum spectrum, int stfID, int stressTableID) {
+		task_ = task;
+		spectrum_ = spectrum;
+		stfID_ = stfID;
+		stressTableID_ = stressTableID;
+	}
+
+	@Override
+	public STFStressVector start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
+
+		// update info
+		task_.updateMessage("Reading STF stresses...");
+
+		// create mapping of ISSY codes to slots
+		String[] issyCodes = spectrum_.getIssyCodes();
+		HashMap<String, Integer> slots = new HashMap<>();
+		for (int i = 0; i < issyCodes.length; i++) {
+			slots.put(issyCodes[i], i);
+		}
+
+		// create stress vector
+		STFStressVector stresses = new STFStressVector(stfID_, issyCodes.length);
+		boolean[] found = new boolean[issyCodes.length];
+
+		// read stresses (first one is used)
+		try (Statement statement = connection.createStatement()) {
+			String sql = "select issy_code, stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID_ + " where file_id = " + stfID_;
+			try (ResultSet resultSet = statement.executeQuery(sql)) {
+				while (resultSet.next()) {
+					Integer slot = slots.get(resultSet.getString("issy_code"));
+					if ((slot == null) || found[slot]) {
+						continue;
+					}
+					stresses.setStresses(slot, resultSet.getDouble("stress_x"), resultSet.getDouble("stress_y"), resultSet.getDouble("stress_xy"));
+					found[slot] = true;
+				}
+			}
+		}
+
+		// return stresses
+		return stresses;
+	}
+}
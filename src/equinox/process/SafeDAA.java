@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.concurrent.Future;
 
 import equinox.Equinox;
+import equinox.data.TaskScheduler.Lane;
 import equinox.dataServer.remote.data.FatigueMaterial;
 import equinox.task.DamageAngleAnalysis;
 
@@ -100,14 +101,14 @@ public class SafeDAA implements ESAProcess<Double[][]> {
 		}
 
 		// disable task canceling
-		task_.getTaskPanel().updateCancelState(false);
+		task_.updateCancelState(false);
 
 		// execute all tasks and wait to complete
 		task_.updateProgress(-1, 100);
-		List<Future<Double[]>> results = Equinox.SUBTASK_THREADPOOL.invokeAll(incrementTasks_);
+		List<Future<Double[]>> results = Equinox.SCHEDULER.invokeAll(Lane.SUBTASK, incrementTasks_);
 
 		// enable task canceling
-		task_.getTaskPanel().updateCancelState(true);
+		task_.updateCancelState(true);
 
 		// task cancelled
 		if (task_.isCancelled())
@@ -23,7 +23,6 @@ import java.lang.ProcessBuilder.Redirect;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
@@ -77,7 +76,7 @@ public class SafeDAAIncrement implements Callable<Double[]>, AnalysisListenerTas
 	private final DecimalFormat format_ = new DecimalFormat("0.##");
 
 	/** Sub processes. */
-	private Process writeSigmaProcess_, omissionProcess_;
+	private Process writeSigmaProcess_;
 
 	/** True to apply omission. */
 	private final boolean applyOmission_;
@@ -169,9 +168,6 @@ public class SafeDAAIncrement implements Callable<Double[]>, AnalysisListenerTas
 	public void cancel() {
 
 		// destroy sub processes (if still running)
-		if (omissionProcess_ != null && omissionProcess_.isAlive()) {
-			omissionProcess_.destroyForcibly();
-		}
 		if (writeSigmaProcess_ != null && writeSigmaProcess_.isAlive()) {
 			writeSigmaProcess_.destroyForcibly();
 		}
@@ -289,7 +285,7 @@ public class SafeDAAIncrement implements Callable<Double[]>, AnalysisListenerTas
 			request.setUploadOutputFiles(false);
 
 			// disable task canceling
-			task_.getTaskPanel().updateCancelState(false);
+			task_.updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = task_.getTaskPanel().getOwner().getOwner().getAnalysisServerManager();
@@ -305,7 +301,7 @@ public class SafeDAAIncrement implements Callable<Double[]>, AnalysisListenerTas
 			removeListener = false;
 
 			// enable task canceling
-			task_.getTaskPanel().updateCancelState(true);
+			task_.updateCancelState(true);
 
 			// task cancelled
 			if (task_.isCancelled())
@@ -349,59 +345,9 @@ public class SafeDAAIncrement implements Callable<Double[]>, AnalysisListenerTas
 		// update info
 		task_.updateMessage("Applying omission for increment angle " + incAngle_ + "...");
 
-		// copy input STH file to working directory
-		Path sthFile = Files.copy(sthFile_, workingDir.resolve("input.sth"), StandardCopyOption.REPLACE_EXISTING);
-
-		// get path to perl script and perl executable
-		Path script = Equinox.SCRIPTS_DIR.resolve("omission.pl");
-
-		// get STH file name
-		Path sthFileName = sthFile.getFileName();
-		if (sthFileName == null)
-			throw new Exception("Cannot get input STH file name.");
-
-		// create process builder for windows
-		ProcessBuilder pb = null;
-		if (Equinox.OS_TYPE.equals(ServerUtility.WINDOWS)) {
-			Path perl = Equinox.SCRIPTS_DIR.resolve("perl").resolve("bin").resolve("perl.exe");
-			pb = new ProcessBuilder(perl.toAbsolutePath().toString(), script.toAbsolutePath().toString(), sthFileName.toString(), Double.toString(omissionLevel_));
-		}
-
-		// create process builder for macOSX
-		else if (Equinox.OS_TYPE.equals(ServerUtility.MACOS)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), sthFileName.toString(), Double.toString(omissionLevel_));
-		}
-		else if (Equinox.OS_TYPE.equals(ServerUtility.LINUX)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), sthFileName.toString(), Double.toString(omissionLevel_));
-		}
-
-		// unsupported OS
-		if (pb == null)
-			throw new Exception("Unsupported operating system.");
-
-		// execute process and wait to end
-		pb.directory(workingDir.toFile());
-		File log = workingDir.resolve(sthFileName.toString() + "_omission.log").toFile();
-		pb.redirectErrorStream(true);
-		pb.redirectOutput(Redirect.appendTo(log));
-		omissionProcess_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert omissionProcess_.getInputStream().read() == -1;
-
-		// process failed
-		if (omissionProcess_.waitFor() != 0)
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// get output file
-		Path output = Paths.get(sthFile.toString() + FileType.RFORT.getExtension());
-
-		// output file doesn't exist
-		if (!Files.exists(output))
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// return output path
-		return output;
+		// apply omission
+		Path output = workingDir.resolve("input.sth" + FileType.RFORT.getExtension());
+		return new OmissionFilter(omissionLevel_).filter(sthFile_, output, task_);
 	}
 
 	/**
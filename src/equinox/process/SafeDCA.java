@@ -103,14 +103,14 @@ public class SafeDCA implements ESAProcess<List<DamageContributionResult>> {
 		}
 
 		// disable task canceling
-		task_.getTaskPanel().updateCancelState(false);
+		task_.updateCancelState(false);
 
 		// execute all tasks and wait to complete
 		task_.updateProgress(-1, 100);
 		List<Future<DamageContributionResult>> results = Equinox.SUBTASK_THREADPOOL.invokeAll(incrementTasks_);
 
 		// enable task canceling
-		task_.getTaskPanel().updateCancelState(true);
+		task_.updateCancelState(true);
 
 		// task cancelled
 		if (task_.isCancelled())
@@ -23,7 +23,6 @@ import java.lang.ProcessBuilder.Redirect;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
@@ -87,7 +86,7 @@ public class SafeDCAIncrement implements Callable<DamageContributionResult>, Ana
 	private final DecimalFormat format_ = new DecimalFormat("0.##");
 
 	/** Sub processes. */
-	private Process writeSigmaProcess_, omissionProcess_;
+	private Process writeSigmaProcess_;
 
 	/** Server analysis completion indicator. */
 	private final AtomicBoolean isAnalysisCompleted;
@@ -172,9 +171,6 @@ public class SafeDCAIncrement implements Callable<DamageContributionResult>, Ana
 	public void cancel() {
 
 		// destroy sub processes (if still running)
-		if (omissionProcess_ != null && omissionProcess_.isAlive()) {
-			omissionProcess_.destroyForcibly();
-		}
 		if (writeSigmaProcess_ != null && writeSigmaProcess_.isAlive()) {
 			writeSigmaProcess_.destroyForcibly();
 		}
@@ -293,7 +289,7 @@ public class SafeDCAIncrement implements Callable<DamageContributionResult>, Ana
 			request.setUploadOutputFiles(false);
 
 			// disable task canceling
-			task_.getTaskPanel().updateCancelState(false);
+			task_.updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = task_.getTaskPanel().getOwner().getOwner().getAnalysisServerManager();
@@ -309,7 +305,7 @@ public class SafeDCAIncrement implements Callable<DamageContributionResult>, Ana
 			removeListener = false;
 
 			// enable task canceling
-			task_.getTaskPanel().updateCancelState(true);
+			task_.updateCancelState(true);
 
 			// task cancelled
 			if (task_.isCancelled())
@@ -365,59 +361,9 @@ public class SafeDCAIncrement implements Callable<DamageContributionResult>, Ana
 		// update info
 		task_.updateMessage("Applying omission for damage contribution " + contributionName_ + "...");
 
-		// copy input STH file to working directory
-		Path sthFile = Files.copy(sthFile_, workingDir.resolve("input.sth"), StandardCopyOption.REPLACE_EXISTING);
-
-		// get path to perl script and perl executable
-		Path script = Equinox.SCRIPTS_DIR.resolve("omission.pl");
-
-		// get STH file name
-		Path sthFileName = sthFile.getFileName();
-		if (sthFileName == null)
-			throw new Exception("Cannot get STH file name.");
-
-		// create process builder for windows
-		ProcessBuilder pb = null;
-		if (Equinox.OS_TYPE.equals(ServerUtility.WINDOWS)) {
-			Path perl = Equinox.SCRIPTS_DIR.resolve("perl").resolve("bin").resolve("perl.exe");
-			pb = new ProcessBuilder(perl.toAbsolutePath().toString(), script.toAbsolutePath().toString(), sthFileName.toString(), Double.toString(omissionLevel_));
-		}
-
-		// create process builder for macOSX
-		else if (Equinox.OS_TYPE.equals(ServerUtility.MACOS)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), sthFileName.toString(), Double.toString(omissionLevel_));
-		}
-		else if (Equinox.OS_TYPE.equals(ServerUtility.LINUX)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), sthFileName.toString(), Double.toString(omissionLevel_));
-		}
-
-		// unsupported OS
-		if (pb == null)
-			throw new Exception("Unsupported operating system.");
-
-		// execute process and wait to end
-		pb.directory(workingDir.toFile());
-		File log = workingDir.resolve(sthFileName.toString() + "_omission.log").toFile();
-		pb.redirectErrorStream(true);
-		pb.redirectOutput(Redirect.appendTo(log));
-		omissionProcess_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert omissionProcess_.getInputStream().read() == -1;
-
-		// process failed
-		if (omissionProcess_.waitFor() != 0)
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// get output file
-		Path output = Paths.get(sthFile.toString() + FileType.RFORT.getExtension());
-
-		// output file doesn't exist
-		if (!Files.exists(output))
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// return output path
-		return output;
+		// apply omission
+		Path output = workingDir.resolve("input.sth" + FileType.RFORT.getExtension());
+		return new OmissionFilter(omissionLevel_).filter(sthFile_, output, task_);
 	}
 
 	/**
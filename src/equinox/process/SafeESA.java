@@ -41,6 +41,7 @@ import equinox.analysisServer.remote.message.AnalysisFailed;
 import equinox.analysisServer.remote.message.AnalysisMessage;
 import equinox.analysisServer.remote.message.FullESAComplete;
 import equinox.analysisServer.remote.message.SafeESARequest;
+import equinox.data.BlobStore;
 import equinox.data.fileType.ExternalFatigueEquivalentStress;
 import equinox.data.fileType.ExternalLinearEquivalentStress;
 import equinox.data.fileType.ExternalPreffasEquivalentStress;
@@ -201,7 +202,7 @@ public class SafeESA implements ESAProcess<Void>, AnalysisListenerTask {
 			}
 
 			// disable task canceling
-			task_.getTaskPanel().updateCancelState(false);
+			task_.updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = task_.getTaskPanel().getOwner().getOwner().getAnalysisServerManager();
@@ -217,7 +218,7 @@ public class SafeESA implements ESAProcess<Void>, AnalysisListenerTask {
 			removeListener = false;
 
 			// enable task canceling
-			task_.getTaskPanel().updateCancelState(true);
+			task_.updateCancelState(true);
 
 			// task cancelled
 			if (task_.isCancelled())
@@ -804,8 +805,7 @@ public class SafeESA implements ESAProcess<Void>, AnalysisListenerTask {
 
 					// FLS file format
 					Path zipFile = task_.getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-					Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-					Path flsFile = Utility.extractFileFromZIP(zipFile, task_, FileType.FLS, null);
+					Path flsFile = BlobStore.extractFile(blob, zipFile, task_, FileType.FLS, null);
 					Files.copy(flsFile, output, StandardCopyOption.REPLACE_EXISTING);
 
 					// free blob
@@ -183,7 +183,7 @@ public class SafeFastESA implements ESAProcess<FastESAOutput>, AnalysisListenerT
 			}
 
 			// disable task canceling
-			task_.getTaskPanel().updateCancelState(false);
+			task_.updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = task_.getTaskPanel().getOwner().getOwner().getAnalysisServerManager();
@@ -199,7 +199,7 @@ public class SafeFastESA implements ESAProcess<FastESAOutput>, AnalysisListenerT
 			removeListener = false;
 
 			// enable task canceling
-			task_.getTaskPanel().updateCancelState(true);
+			task_.updateCancelState(true);
 
 			// task cancelled
 			if (task_.isCancelled())
@@ -165,7 +165,7 @@ public class SafeFlightDCA implements ESAProcess<Object[]>, AnalysisListenerTask
 			request.setUploadOutputFiles(keepFailedOutputs_);
 
 			// disable task canceling
-			task_.getTaskPanel().updateCancelState(false);
+			task_.updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = task_.getTaskPanel().getOwner().getOwner().getAnalysisServerManager();
@@ -181,7 +181,7 @@ public class SafeFlightDCA implements ESAProcess<Object[]>, AnalysisListenerTask
 			removeListener = false;
 
 			// enable task canceling
-			task_.getTaskPanel().updateCancelState(true);
+			task_.updateCancelState(true);
 
 			// task cancelled
 			if (task_.isCancelled())
@@ -15,10 +15,7 @@
  */
 package equinox.process;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -31,6 +28,7 @@ import equinox.Equinox;
 import equinox.data.fileType.ExternalStressSequence;
 import equinox.data.input.EquivalentStressInput;
 import equinox.task.InternalEquinoxTask;
+import equinox.utility.StressHistoryWriter;
 
 /**
  * Class for save external stress sequence as STH process.
@@ -53,9 +51,6 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 	/** Decimal format. */
 	private final DecimalFormat format_ = new DecimalFormat("0.00");
 
-	/** Number of columns. */
-	private static final int NUM_COLS = 8;
-
 	/** Stress modification method. */
 	private String stressModificationMethod_ = EquivalentStressInput.MULTIPLY;
 
@@ -135,7 +130,7 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 	public ExternalStressSequence start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
 
 		// create output file writer
-		try (BufferedWriter writer = Files.newBufferedWriter(output_.toPath(), Charset.defaultCharset())) {
+		try (StressHistoryWriter writer = new StressHistoryWriter(output_.toPath())) {
 
 			// write header
 			int numFlights = writeHeader(connection, writer);
@@ -158,7 +153,7 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writeFlights(Connection connection, BufferedWriter writer, int numFlights) throws Exception {
+	private void writeFlights(Connection connection, StressHistoryWriter writer, int numFlights) throws Exception {
 
 		// update progress info
 		task_.updateMessage("Writing STH flights...");
@@ -190,28 +185,16 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 						task_.updateProgress(flightCount, numFlights);
 						flightCount++;
 
-						// write first line of flight info
-						String line = String.format("%10s", format_.format(flights.getDouble("validity")));
-						line += String.format("%10s", format_.format(flights.getDouble("block_size")));
-						writer.write(line);
-						writer.newLine();
-
-						// write second line of flight info
+						// write flight header
 						int numPeaks = flights.getInt("num_peaks");
-						line = String.format("%10s", Integer.toString(numPeaks));
-						for (int i = 0; i < 62; i++) {
-							line += " ";
-						}
 						String severity = flights.getString("severity");
 
 						// if severity doesn't exist (for SIGMA inputs), assigns a dummy value
 						severity = severity.isEmpty() ? "AHAAHHHCHA" : severity;
-						line += (name.startsWith("TF_") ? name.substring(3) : name) + " " + severity;
-						writer.write(line);
-						writer.newLine();
+						writer.writeFlightHeader(flights.getDouble("validity"), flights.getDouble("block_size"), numPeaks, name, severity);
 
 						// write peaks
-						writePeaks(selectPeaks, writer, flights, numPeaks);
+						writePeaks(selectPeaks, writer, flights);
 					}
 				}
 			}
@@ -227,97 +210,46 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 	 *            File writer.
 	 * @param flights
 	 *            Flight to write.
-	 * @param numPeaks
-	 *            NUmber of peaks of the flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writePeaks(PreparedStatement selectPeaks, BufferedWriter writer, ResultSet flights, int numPeaks) throws Exception {
+	private void writePeaks(PreparedStatement selectPeaks, StressHistoryWriter writer, ResultSet flights) throws Exception {
 
 		// get peaks
-		int rem = numPeaks % NUM_COLS;
-		int numRows = (numPeaks / NUM_COLS) + (rem == 0 ? 0 : 1);
-		String line = "";
 		selectPeaks.setInt(1, flights.getInt("flight_id"));
 		try (ResultSet peaks = selectPeaks.executeQuery()) {
 
 			// loop over peaks
-			int rowIndex = 0, colIndex = 0;
 			while (peaks.next()) {
 
 				// task cancelled
 				if (task_.isCancelled())
 					return;
 
-				// last row
-				if (rowIndex == (numRows - 1)) {
-
-					// get peak value
-					double peakVal = peaks.getDouble("peak_val");
-					if (stressModificationMethod_.equals(EquivalentStressInput.MULTIPLY)) {
-						peakVal *= stressModifier_;
-					}
-					else if (stressModificationMethod_.equals(EquivalentStressInput.ADD)) {
-						peakVal += stressModifier_;
-					}
-					else if (stressModificationMethod_.equals(EquivalentStressInput.SET)) {
-						peakVal = stressModifier_;
-					}
-
-					// remove negative stress (if requested)
-					if (removeNegativeStresses_ && (peakVal < 0.0)) {
-						peakVal = 0.0;
-					}
-
-					// add peak
-					line += String.format("%10s", format_.format(peakVal));
-					colIndex++;
-
-					// last column
-					if (colIndex == (rem == 0 ? NUM_COLS : rem)) {
-						writer.write(line);
-						writer.newLine();
-						line = "";
-						colIndex = 0;
-						rowIndex++;
-					}
+				// get peak value
+				double peakVal = peaks.getDouble("peak_val");
+				if (stressModificationMethod_.equals(EquivalentStressInput.MULTIPLY)) {
+					peakVal *= stressModifier_;
+				}
+				else if (stressModificationMethod_.equals(EquivalentStressInput.ADD)) {
+					peakVal += stressModifier_;
+				}
+				else if (stressModificationMethod_.equals(EquivalentStressInput.SET)) {
+					peakVal = stressModifier_;
 				}
 
-				// other rows
-				else {
-
-					// get peak value
-					double peakVal = peaks.getDouble("peak_val");
-					if (stressModificationMethod_.equals(EquivalentStressInput.MULTIPLY)) {
-						peakVal *= stressModifier_;
-					}
-					else if (stressModificationMethod_.equals(EquivalentStressInput.ADD)) {
-						peakVal += stressModifier_;
-					}
-					else if (stressModificationMethod_.equals(EquivalentStressInput.SET)) {
-						peakVal = stressModifier_;
-					}
-
-					// remove negative stress (if requested)
-					if (removeNegativeStresses_ && (peakVal < 0.0)) {
-						peakVal = 0.0;
-					}
-
-					// add peak
-					line += String.format("%10s", format_.format(peakVal));
-					colIndex++;
-
-					// last column
-					if (colIndex == NUM_COLS) {
-						writer.write(line);
-						writer.newLine();
-						line = "";
-						colIndex = 0;
-						rowIndex++;
-					}
+				// remove negative stress (if requested)
+				if (removeNegativeStresses_ && (peakVal < 0.0)) {
+					peakVal = 0.0;
 				}
+
+				// add peak
+				writer.writePeak(peakVal);
 			}
 		}
+
+		// terminate last line
+		writer.endFlight();
 	}
 
 	/**
@@ -331,16 +263,14 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int writeHeader(Connection connection, BufferedWriter writer) throws Exception {
+	private int writeHeader(Connection connection, StressHistoryWriter writer) throws Exception {
 
 		// update progress info
 		task_.updateMessage("Writing STH file header...");
 
 		// write header info
-		writer.write(" STH Generated by Equinox Version " + Equinox.VERSION.toString());
-		writer.newLine();
-		writer.write(" Date: " + new SimpleDateFormat("dd/MM/yyyy").format(new Date()));
-		writer.newLine();
+		writer.writeLine(" STH Generated by Equinox Version " + Equinox.VERSION.toString());
+		writer.writeLine(" Date: " + new SimpleDateFormat("dd/MM/yyyy").format(new Date()));
 		int numFlights = writeSequenceInfo(connection, writer);
 		writeFlightInfo(connection, writer);
 
@@ -358,7 +288,7 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writeFlightInfo(Connection connection, BufferedWriter writer) throws Exception {
+	private void writeFlightInfo(Connection connection, StressHistoryWriter writer) throws Exception {
 
 		// create statement
 		try (Statement statement = connection.createStatement()) {
@@ -388,8 +318,7 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 			statement.setMaxRows(0);
 
 			// write line
-			writer.write(line);
-			writer.newLine();
+			writer.writeLine(line);
 		}
 	}
 
@@ -435,7 +364,7 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int writeSequenceInfo(Connection connection, BufferedWriter writer) throws Exception {
+	private int writeSequenceInfo(Connection connection, StressHistoryWriter writer) throws Exception {
 
 		// initialize number of flights
 		int numFlights = 0;
@@ -450,8 +379,7 @@ public class SaveExternalSTH implements EquinoxProcess<ExternalStressSequence> {
 					info += "Total number of peaks: " + Integer.toString(getTotalNumberOfPeaks(connection)) + ", ";
 					info += "Stress modifier: " + format_.format(stressModifier_) + " (" + stressModificationMethod_ + "), ";
 					info += "Remove negative stresses: " + (removeNegativeStresses_ ? "Yes" : "No");
-					writer.write(info);
-					writer.newLine();
+					writer.writeLine(info);
 				}
 			}
 		}
@@ -15,10 +15,7 @@
  */
 package equinox.process;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -28,8 +25,10 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import equinox.Equinox;
+import equinox.data.PeakStore;
 import equinox.data.fileType.StressSequence;
 import equinox.task.InternalEquinoxTask;
+import equinox.utility.StressHistoryWriter;
 
 /**
  * Class for save stress sequence as STH process.
@@ -52,9 +51,6 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 	/** Decimal format. */
 	private final DecimalFormat format_ = new DecimalFormat("0.00");
 
-	/** Number of columns. */
-	private static final int NUM_COLS = 8;
-
 	/** True if the negative stresses should be set to 0.0. */
 	private boolean removeNegativeStresses_ = false;
 
@@ -115,7 +111,7 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 	public StressSequence start(Connection connection, PreparedStatement... preparedStatements) throws Exception {
 
 		// create output file writer
-		try (BufferedWriter writer = Files.newBufferedWriter(output_.toPath(), Charset.defaultCharset())) {
+		try (StressHistoryWriter writer = new StressHistoryWriter(output_.toPath())) {
 
 			// write header
 			int numFlights = writeHeader(connection, writer);
@@ -138,7 +134,7 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writeFlights(Connection connection, BufferedWriter writer, int numFlights) throws Exception {
+	private void writeFlights(Connection connection, StressHistoryWriter writer, int numFlights) throws Exception {
 
 		// update progress info
 		task_.updateMessage("Writing STH flights...");
@@ -146,9 +142,9 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 		// create statement for selecting flights
 		try (Statement selectFlights = connection.createStatement()) {
 
-			// create statement for selecting peaks
+			// create statement for selecting peaks (and open peak store segment, if any)
 			String sql = "select peak_val from sth_peaks_" + sequence_.getID() + " where flight_id = ? order by peak_num asc";
-			try (PreparedStatement selectPeaks = connection.prepareStatement(sql)) {
+			try (PreparedStatement selectPeaks = connection.prepareStatement(sql); PeakStore.Reader peakStore = PeakStore.openSTH(sequence_.getID())) {
 
 				// get flights
 				sql = "select flight_id, name, severity, num_peaks, validity, block_size from sth_flights where file_id = " + sequence_.getID() + " order by flight_num asc";
@@ -170,24 +166,11 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 						task_.updateProgress(flightCount, numFlights);
 						flightCount++;
 
-						// write first line of flight info
-						String line = String.format("%10s", format_.format(flights.getDouble("validity")));
-						line += String.format("%10s", format_.format(flights.getDouble("block_size")));
-						writer.write(line);
-						writer.newLine();
-
-						// write second line of flight info
-						int numPeaks = flights.getInt("num_peaks");
-						line = String.format("%10s", Integer.toString(numPeaks));
-						for (int i = 0; i < 62; i++) {
-							line += " ";
-						}
-						line += (name.startsWith("TF_") ? name.substring(3) : name) + " " + flights.getString("severity");
-						writer.write(line);
-						writer.newLine();
+						// write flight header
+						writer.writeFlightHeader(flights.getDouble("validity"), flights.getDouble("block_size"), flights.getInt("num_peaks"), name, flights.getString("severity"));
 
 						// write peaks
-						writePeaks(selectPeaks, writer, flights, numPeaks);
+						writePeaks(selectPeaks, peakStore, writer, flights);
 					}
 				}
 			}
@@ -199,79 +182,52 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 	 *
 	 * @param selectPeaks
 	 *            Database statement for selecting peaks.
+	 * @param peakStore
+	 *            Peak store segment reader. Can be null.
 	 * @param writer
 	 *            File writer.
 	 * @param flights
 	 *            Flight to write.
-	 * @param numPeaks
-	 *            NUmber of peaks of the flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writePeaks(PreparedStatement selectPeaks, BufferedWriter writer, ResultSet flights, int numPeaks) throws Exception {
+	private void writePeaks(PreparedStatement selectPeaks, PeakStore.Reader peakStore, StressHistoryWriter writer, ResultSet flights) throws Exception {
+
+		// get peaks from peak store
+		int flightID = flights.getInt("flight_id");
+		double[] peakVals = peakStore == null ? null : peakStore.getDoubles(flightID, PeakStore.Column.PEAK_VAL);
+		if (peakVals != null) {
+			for (double peakVal : peakVals) {
+				writer.writePeak(removeNegativeStresses_ && peakVal < 0.0 ? 0.0 : peakVal);
+			}
+			writer.endFlight();
+			return;
+		}
 
 		// get peaks
-		int rem = numPeaks % NUM_COLS;
-		int numRows = (numPeaks / NUM_COLS) + (rem == 0 ? 0 : 1);
-		String line = "";
-		selectPeaks.setInt(1, flights.getInt("flight_id"));
+		selectPeaks.setInt(1, flightID);
 		try (ResultSet peaks = selectPeaks.executeQuery()) {
 
 			// loop over peaks
-			int rowIndex = 0, colIndex = 0;
 			while (peaks.next()) {
 
 				// task cancelled
 				if (task_.isCancelled())
 					return;
 
-				// last row
-				if (rowIndex == (numRows - 1)) {
-
-					// get peak value
-					double peakVal = peaks.getDouble("peak_val");
-					if (removeNegativeStresses_ && (peakVal < 0.0)) {
-						peakVal = 0.0;
-					}
-
-					// add peak
-					line += String.format("%10s", format_.format(peakVal));
-					colIndex++;
-
-					// last column
-					if (colIndex == (rem == 0 ? NUM_COLS : rem)) {
-						writer.write(line);
-						writer.newLine();
-						line = "";
-						colIndex = 0;
-						rowIndex++;
-					}
+				// get peak value
+				double peakVal = peaks.getDouble("peak_val");
+				if (removeNegativeStresses_ && (peakVal < 0.0)) {
+					peakVal = 0.0;
 				}
 
-				// other rows
-				else {
-
-					// get peak value
-					double peakVal = peaks.getDouble("peak_val");
-					if (removeNegativeStresses_ && (peakVal < 0.0)) {
-						peakVal = 0.0;
-					}
-
-					// add peak
-					line += String.format("%10s", format_.format(peakVal));
-					colIndex++;
-
-					// last column
-					if (colIndex == NUM_COLS) {
-						writer.write(line);
-						writer.newLine();
-						line = "";
-						colIndex = 0;
-						rowIndex++;
-					}
-				}
+				// add peak
+				writer.writePeak(peakVal);
 			}
 		}
+
+		// terminate last line
+		writer.endFlight();
 	}
 
 	/**
@@ -285,14 +241,13 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int writeHeader(Connection connection, BufferedWriter writer) throws Exception {
+	private int writeHeader(Connection connection, StressHistoryWriter writer) throws Exception {
 
 		// update progress info
 		task_.updateMessage("Writing STH file header...");
 
 		// write header info
-		writer.write(" STH Generated by Equinox Version " + Equinox.VERSION.toString() + ", Date: " + new SimpleDateFormat("dd/MM/yyyy").format(new Date()));
-		writer.newLine();
+		writer.writeLine(" STH Generated by Equinox Version " + Equinox.VERSION.toString() + ", Date: " + new SimpleDateFormat("dd/MM/yyyy").format(new Date()));
 		writeCDFSetInfo(connection, writer);
 		int numFlights = writeSequenceInfo(connection, writer);
 		writeFlightInfo(connection, writer);
@@ -311,7 +266,7 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writeFlightInfo(Connection connection, BufferedWriter writer) throws Exception {
+	private void writeFlightInfo(Connection connection, StressHistoryWriter writer) throws Exception {
 
 		// create statement
 		try (Statement statement = connection.createStatement()) {
@@ -341,8 +296,7 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 			statement.setMaxRows(0);
 
 			// write line
-			writer.write(line);
-			writer.newLine();
+			writer.writeLine(line);
 		}
 	}
 
@@ -388,7 +342,7 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int writeSequenceInfo(Connection connection, BufferedWriter writer) throws Exception {
+	private int writeSequenceInfo(Connection connection, StressHistoryWriter writer) throws Exception {
 
 		// initialize number of flights
 		int numFlights = 0;
@@ -409,8 +363,7 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 					info += "Increment stress modifier: " + resultSet.getString("inc_fac") + ", ";
 					info += "Delta-p stress modifier: " + resultSet.getString("dp_fac") + ", ";
 					info += "Remove negative stresses: " + (removeNegativeStresses_ ? "Yes" : "No");
-					writer.write(info);
-					writer.newLine();
+					writer.writeLine(info);
 				}
 			}
 		}
@@ -448,7 +401,7 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void writeCDFSetInfo(Connection connection, BufferedWriter writer) throws Exception {
+	private void writeCDFSetInfo(Connection connection, StressHistoryWriter writer) throws Exception {
 
 		// create statement
 		try (Statement statement = connection.createStatement()) {
@@ -463,8 +416,7 @@ public class SaveSTH implements EquinoxProcess<StressSequence> {
 					info += "FLP issue: " + resultSet.getString("flp_issue") + ", ";
 					info += "IFLP issue: " + resultSet.getString("iflp_issue") + ", ";
 					info += "CDF issue: " + resultSet.getString("cdf_issue");
-					writer.write(info);
-					writer.newLine();
+					writer.writeLine(info);
 				}
 			}
 		}
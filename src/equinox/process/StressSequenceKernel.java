@@ -0,0 +1,390 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import equinox.data.CompiledSpectrum;
+import equinox.data.DPRatio;
+import equinox.data.DT1PointInterpolator;
+import equinox.data.DT2PointsInterpolator;
+import equinox.data.DTInterpolator;
+import equinox.data.LoadcaseFactor;
+import equinox.data.STFStressVector;
+import equinox.data.Segment;
+import equinox.data.SegmentFactor;
+import equinox.data.StressComponent;
+import equinox.data.input.FastEquivalentStressInput;
+import equinox.data.input.GenerateStressSequenceInput;
+import equinox.data.input.StressModifierInput;
+
+/**
+ * Class for stress sequence kernel. The kernel computes the stresses of a compiled spectrum for an STF file. 1g stresses of all 1g codes and increment stresses of all class codes are computed once at
+ * construction, so that peak stresses are computed from arrays without any database access.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 12:47:55
+ */
+public class StressSequenceKernel {
+
+	/** Stress modifier methods. */
+	private static final int NONE = 0, MULTIPLY = 1, ADD = 2, SET = 3;
+
+	/** Compiled spectrum. */
+	private final CompiledSpectrum spectrum_;
+
+	/** Input containing the stress modifiers. */
+	private final StressModifierInput input_;
+
+	/** Delta-p ratio. */
+	private final DPRatio dpRatio_;
+
+	/** Delta-t interpolator. */
+	private final DTInterpolator dtInterpolator_;
+
+	/** Modified 1g stresses of 1g codes, increment stresses of class codes and modified stresses of increment load cases. */
+	private final double[] onegStresses_, incStresses_, incLoadcaseStresses_;
+
+	/** Overall and load case modifier methods of delta-p and delta-t stresses. */
+	private final int dpMethod_, dpLoadcaseMethod_, dtMethod_, dtLoadcaseMethod_;
+
+	/** Overall and load case modifier values of delta-p and delta-t stresses. */
+	private final double dpValue_, dpLoadcaseValue_, dtValue_, dtLoadcaseValue_;
+
+	/** Segment modifier methods of delta-p and delta-t stresses for 1g codes. */
+	private final int[] dpSegmentMethods_, dtSegmentMethods_;
+
+	/** Segment modifier values of delta-p and delta-t stresses for 1g codes. */
+	private final double[] dpSegmentValues_, dtSegmentValues_;
+
+	/**
+	 * Creates stress sequence kernel.
+	 *
+	 * @param spectrum
+	 *            Compiled spectrum.
+	 * @param stresses
+	 *            STF stresses of the ISSY code slots of the spectrum.
+	 * @param input
+	 *            Analysis input.
+	 * @param dpRatio
+	 *            Delta-p ratio. Can be null.
+	 * @param dtInterpolator
+	 *            Delta-t interpolator. Can be null.
+	 */
+	public StressSequenceKernel(CompiledSpectrum spectrum, STFStressVector stresses, FastEquivalentStressInput input, DPRatio dpRatio, DTInterpolator dtInterpolator) {
+		this(spectrum, stresses, input, input.getStressComponent(), input.getRotationAngle(), dpRatio, dtInterpolator);
+	}
+
+	/**
+	 * Creates stress sequence kernel for the given stress component.
+	 *
+	 * @param spectrum
+	 *            Compiled spectrum.
+	 * @param stresses
+	 *            STF stresses of the ISSY code slots of the spectrum.
+	 * @param input
+	 *            Input containing the stress modifiers.
+	 * @param component
+	 *            Stress component.
+	 * @param angle
+	 *            Rotation angle in radians. Used only for rotated stress component.
+	 * @param dpRatio
+	 *            Delta-p ratio. Can be null.
+	 * @param dtInterpolator
+	 *            Delta-t interpolator. Can be null.
+	 */
+	public StressSequenceKernel(CompiledSpectrum spectrum, STFStressVector stresses, StressModifierInput input, StressComponent component, double angle, DPRatio dpRatio, DTInterpolator dtInterpolator) {
+
+		// set inputs
+		spectrum_ = spectrum;
+		input_ = input;
+		dpRatio_ = dpRatio;
+		dtInterpolator_ = dtInterpolator;
+		String[] issyCodes = spectrum.getIssyCodes();
+
+		// compute 1g stresses
+		int numOnegs = spectrum.getNumberOfOnegCodes();
+		onegStresses_ = new double[numOnegs];
+		dpSegmentMethods_ = new int[numOnegs];
+		dpSegmentValues_ = new double[numOnegs];
+		dtSegmentMethods_ = new int[numOnegs];
+		dtSegmentValues_ = new double[numOnegs];
+		for (int i = 0; i < numOnegs; i++) {
+			int slot = spectrum.getOnegIssySlot(i);
+			Segment segment = spectrum.getSegment(i);
+			onegStresses_[i] = modifyStress(slot == -1 ? null : issyCodes[slot], segment, GenerateStressSequenceInput.ONEG, stresses.getStress(slot, component, angle));
+			SegmentFactor sFactor = getSegmentFactor(segment);
+			dpSegmentMethods_[i] = sFactor == null ? NONE : getMethod(sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAP));
+			dpSegmentValues_[i] = sFactor == null ? 0.0 : sFactor.getModifierValue(GenerateStressSequenceInput.DELTAP);
+			dtSegmentMethods_[i] = sFactor == null ? NONE : getMethod(sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT));
+			dtSegmentValues_[i] = sFactor == null ? 0.0 : sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
+		}
+
+		// compute increment stresses
+		int numCodes = spectrum.getNumberOfClassCodes();
+		incStresses_ = new double[numCodes];
+		incLoadcaseStresses_ = new double[spectrum.getNumberOfIncrements()];
+		for (int i = 0; i < numCodes; i++) {
+			Segment segment = spectrum.getSegment(spectrum.getOnegCode(i));
+			double totalIncrementStress = 0.0;
+			for (int j = spectrum.getFirstIncrement(i); j < spectrum.getEndIncrement(i); j++) {
+				int slot = spectrum.getIncrementIssySlot(j);
+				double stress = spectrum.getIncrementFactor(j) * stresses.getStress(slot, component, angle);
+				incLoadcaseStresses_[j] = modifyStress(slot == -1 ? null : issyCodes[slot], segment, GenerateStressSequenceInput.INCREMENT, stress);
+				totalIncrementStress += incLoadcaseStresses_[j];
+			}
+			incStresses_[i] = totalIncrementStress;
+		}
+
+		// set delta-p modifiers
+		dpMethod_ = getMethod(input.getStressModificationMethod(GenerateStressSequenceInput.DELTAP));
+		dpValue_ = input.getStressModificationValue(GenerateStressSequenceInput.DELTAP);
+		LoadcaseFactor dpFactor = dpRatio == null ? null : getLoadcaseFactor(dpRatio.getIssyCode(), null);
+		dpLoadcaseMethod_ = dpFactor == null ? NONE : getMethod(dpFactor.getModifierMethod());
+		dpLoadcaseValue_ = dpFactor == null ? 0.0 : dpFactor.getModifierValue();
+
+		// set delta-t modifiers
+		dtMethod_ = getMethod(input.getStressModificationMethod(GenerateStressSequenceInput.DELTAT));
+		dtValue_ = input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
+		LoadcaseFactor dtFactor = null;
+		if (dtInterpolator instanceof DT1PointInterpolator) {
+			dtFactor = getLoadcaseFactor(((DT1PointInterpolator) dtInterpolator).getIssyCode(), null);
+		}
+		else if (dtInterpolator instanceof DT2PointsInterpolator) {
+			DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolator;
+			dtFactor = getLoadcaseFactor(twoPoints.getIssyCodeSup(), twoPoints.getIssyCodeInf());
+		}
+		dtLoadcaseMethod_ = dtFactor == null ? NONE : getMethod(dtFactor.getModifierMethod());
+		dtLoadcaseValue_ = dtFactor == null ? 0.0 : dtFactor.getModifierValue();
+	}
+
+	/**
+	 * Returns the compiled spectrum of this kernel.
+	 *
+	 * @return The compiled spectrum.
+	 */
+	public CompiledSpectrum getSpectrum() {
+		return spectrum_;
+	}
+
+	/**
+	 * Returns the total stress of the given peak. Negative stresses are not removed.
+	 *
+	 * @param peak
+	 *            Peak index.
+	 * @return The total stress of the peak.
+	 */
+	public double getStress(int peak) {
+		int classCode = spectrum_.getClassCode(peak);
+		return onegStresses_[spectrum_.getOnegCode(classCode)] + incStresses_[classCode] + getDPStress(peak) + getDTStress(peak);
+	}
+
+	/**
+	 * Returns the modified 1g stress of the given 1g code.
+	 *
+	 * @param onegCode
+	 *            1g code index.
+	 * @return The modified 1g stress.
+	 */
+	public double getOnegStress(int onegCode) {
+		return onegStresses_[onegCode];
+	}
+
+	/**
+	 * Returns the total (modified) increment stress of the given class code.
+	 *
+	 * @param classCode
+	 *            Class code index.
+	 * @return The total increment stress.
+	 */
+	public double getIncrementStress(int classCode) {
+		return incStresses_[classCode];
+	}
+
+	/**
+	 * Returns the modified stress of the given increment load case (including its increment factor).
+	 *
+	 * @param increment
+	 *            Increment load case index.
+	 * @return The modified increment load case stress.
+	 */
+	public double getIncrementLoadcaseStress(int increment) {
+		return incLoadcaseStresses_[increment];
+	}
+
+	/**
+	 * Returns the modified delta-p stress of the given peak.
+	 *
+	 * @param peak
+	 *            Peak index.
+	 * @return The modified delta-p stress.
+	 */
+	public double getDPStress(int peak) {
+		if (dpRatio_ == null)
+			return 0.0;
+		int oneg = spectrum_.getOnegCode(spectrum_.getClassCode(peak));
+		double dpStress = dpRatio_.getStress(spectrum_.getDeltaP(peak));
+		dpStress = modify(dpMethod_, dpValue_, dpStress);
+		dpStress = modify(dpSegmentMethods_[oneg], dpSegmentValues_[oneg], dpStress);
+		return modify(dpLoadcaseMethod_, dpLoadcaseValue_, dpStress);
+	}
+
+	/**
+	 * Returns the modified delta-t stress of the given peak.
+	 *
+	 * @param peak
+	 *            Peak index.
+	 * @return The modified delta-t stress.
+	 */
+	public double getDTStress(int peak) {
+		if (dtInterpolator_ == null)
+			return 0.0;
+		int oneg = spectrum_.getOnegCode(spectrum_.getClassCode(peak));
+		double dtStress = dtInterpolator_.getStress(spectrum_.getDeltaT(peak));
+		dtStress = modify(dtMethod_, dtValue_, dtStress);
+		dtStress = modify(dtSegmentMethods_[oneg], dtSegmentValues_[oneg], dtStress);
+		return modify(dtLoadcaseMethod_, dtLoadcaseValue_, dtStress);
+	}
+
+	/**
+	 * Computes total stresses of the given flight into the given array.
+	 *
+	 * @param flight
+	 *            Flight index.
+	 * @param stresses
+	 *            Array to store the stresses. Its length should be at least the number of peaks of the flight.
+	 * @param removeNegatives
+	 *            True to set negative stresses to zero.
+	 * @return Number of peaks of the flight.
+	 */
+	public int getFlightStresses(int flight, double[] stresses, boolean removeNegatives) {
+		int firstPeak = spectrum_.getFirstPeak(flight);
+		int numPeaks = spectrum_.getNumberOfPeaks(flight);
+		for (int i = 0; i < numPeaks; i++) {
+			double stress = getStress(firstPeak + i);
+			stresses[i] = (stress < 0.0) && removeNegatives ? 0.0 : stress;
+		}
+		return numPeaks;
+	}
+
+	/**
+	 * Modifies and returns stress according to event, segment and stress type.
+	 *
+	 * @param issyCode
+	 *            ISSY code.
+	 * @param segment
+	 *            Segment.
+	 * @param stressType
+	 *            Stress type (1g, increment, delta-p, delta-t or total stress).
+	 * @param stress
+	 *            Stress value extracted from STF file.
+	 * @return The modified stress value.
+	 */
+	private double modifyStress(String issyCode, Segment segment, int stressType, double stress) {
+
+		// apply overall factors
+		stress = modify(getMethod(input_.getStressModificationMethod(stressType)), input_.getStressModificationValue(stressType), stress);
+
+		// apply segment factors
+		SegmentFactor sFactor = getSegmentFactor(segment);
+		if (sFactor != null) {
+			stress = modify(getMethod(sFactor.getModifierMethod(stressType)), sFactor.getModifierValue(stressType), stress);
+		}
+
+		// apply loadcase factors
+		LoadcaseFactor eFactor = getLoadcaseFactor(issyCode, null);
+		if (eFactor != null) {
+			stress = modify(getMethod(eFactor.getModifierMethod()), eFactor.getModifierValue(), stress);
+		}
+
+		// return modified stress
+		return stress;
+	}
+
+	/**
+	 * Returns the first segment factor of the given segment, or null if there is no such factor.
+	 *
+	 * @param segment
+	 *            Segment. Can be null.
+	 * @return The segment factor, or null.
+	 */
+	private SegmentFactor getSegmentFactor(Segment segment) {
+		if ((segment != null) && (input_.getSegmentFactors() != null)) {
+			for (SegmentFactor sFactor : input_.getSegmentFactors())
+				if (sFactor.getSegment().equals(segment))
+					return sFactor;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the first load case factor matching any of the given ISSY codes, or null if there is no such factor.
+	 *
+	 * @param issyCode1
+	 *            First ISSY code. Can be null.
+	 * @param issyCode2
+	 *            Second ISSY code. Can be null.
+	 * @return The load case factor, or null.
+	 */
+	private LoadcaseFactor getLoadcaseFactor(String issyCode1, String issyCode2) {
+		if (input_.getLoadcaseFactors() != null) {
+			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
+				if (eFactor.getLoadcaseNumber().equals(issyCode1) || eFactor.getLoadcaseNumber().equals(issyCode2))
+					return eFactor;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the modifier method code of the given method name.
+	 *
+	 * @param method
+	 *            Modifier method name.
+	 * @return The modifier method code.
+	 */
+	private static int getMethod(String method) {
+		if (method.equals(GenerateStressSequenceInput.MULTIPLY))
+			return MULTIPLY;
+		else if (method.equals(GenerateStressSequenceInput.ADD))
+			return ADD;
+		else if (method.equals(GenerateStressSequenceInput.SET))
+			return SET;
+		return NONE;
+	}
+
+	/**
+	 * Applies the given modifier to the given stress.
+	 *
+	 * @param method
+	 *            Modifier method code.
+	 * @param value
+	 *            Modifier value.
+	 * @param stress
+	 *            Stress to modify.
+	 * @return The modified stress.
+	 */
+	private static double modify(int method, double value, double stress) {
+		switch (method) {
+			case MULTIPLY:
+				return stress * value;
+			case ADD:
+				return stress + value;
+			case SET:
+				return value;
+			default:
+				return stress;
+		}
+	}
+}
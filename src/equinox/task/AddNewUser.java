@@ -159,7 +159,7 @@ public class AddNewUser extends InternalEquinoxTask<Boolean> implements LongRunn
 				return null;
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -175,7 +175,7 @@ public class AddNewUser extends InternalEquinoxTask<Boolean> implements LongRunn
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
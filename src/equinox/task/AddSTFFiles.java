@@ -22,12 +22,21 @@ import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.Savepoint;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 
 import org.apache.commons.lang3.RandomUtils;
 
@@ -38,6 +47,7 @@ import equinox.data.ProgramArguments.ArgumentType;
 import equinox.data.fileType.STFFile;
 import equinox.data.fileType.STFFileBucket;
 import equinox.data.fileType.Spectrum;
+import equinox.dataServer.remote.data.PilotPointImageType;
 import equinox.dataServer.remote.data.PilotPointInfo;
 import equinox.plugin.FileType;
 import equinox.process.LoadSTFFile;
@@ -59,6 +69,9 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 	/** STF stress table generation constants. */
 	public static final int MAX_STF_FILES_PER_TABLE = 500, MAX_STRESS_TABLES = 10000;
 
+	/** Maximum number of parallel STF stress table writers (each writer uses a database connection). */
+	private static final int MAX_WRITERS = 4;
+
 	/** Input STF files. */
 	private List<File> stfFiles_;
 
@@ -306,334 +319,268 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 	 */
 	private ArrayList<STFFile> addFromSTFFiles(Connection connection, int allowance) throws Exception {
 
-		// initialize variables
-		PreparedStatement[] insertStresses = null;
-
-		try {
-
-			// initialize list
-			ArrayList<STFFile> files = new ArrayList<>();
-
-			// set progress update indicator for sub process
-			int numFiles = stfFiles_.size();
-			boolean updateProcessProgress = numFiles < 10;
-
-			// compute number of stress tables
-			int numTables = numFiles / MAX_STF_FILES_PER_TABLE;
-			numTables += numFiles % MAX_STF_FILES_PER_TABLE == 0 ? 0 : 1;
-
-			// create arrays for storing stress table IDs and insert statements
-			int[] stressTableIDs = new int[numTables];
-			for (int i = 0; i < stressTableIDs.length; i++) {
-				stressTableIDs[i] = -1;
-			}
-			insertStresses = new PreparedStatement[numTables];
-
-			// create STF stress tables
-			createStressTables(stressTableIDs, insertStresses, connection);
-
-			// prepare statement for inserting STF files
-			String sql = "insert into stf_files(cdf_id, stress_table_id, name, is_2d, description, element_type, frame_rib_position, stringer_position, data_source, generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-			try (PreparedStatement insertFile = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-				// prepare statement for updating stress state
-				sql = "update stf_files set is_2d = ? where file_id = ?";
-				try (PreparedStatement updateStressState = connection.prepareStatement(sql)) {
-
-					// loop over files
-					for (int i = 0; i < numFiles; i++) {
-
-						// update global progress
-						if (!updateProcessProgress) {
-							updateProgress(i, numFiles);
-						}
-
-						// get input file
-						File inputFile = stfFiles_.get(i);
-
-						// get pilot point info
-						PilotPointInfo info = info_ == null ? null : info_.get(i);
-
-						// get file type
-						FileType type = FileType.getFileType(inputFile);
-
-						// input file is a GZIP file
-						if (type.equals(FileType.GZ)) {
-
-							// extract
-							Path stfFilePath = getWorkingDirectory().resolve(FileType.appendExtension(FileType.getNameWithoutExtension(inputFile.toPath()), FileType.STF));
-							updateMessage("Extracting zipped STF file...");
-							Utility.extractFileFromGZIP(inputFile.toPath(), stfFilePath);
-
-							// load and add STF file
-							try {
-								STFFile stfFile = new LoadSTFFile(this, stfFilePath, spectrum_, info, updateProcessProgress, stressTableIDs[i / MAX_STF_FILES_PER_TABLE]).start(connection, insertFile, insertStresses[i / MAX_STF_FILES_PER_TABLE], updateStressState);
-								if (automaticTasks_ != null) {
-									files.add(stfFile);
-								}
-								else {
-									if (files.size() < allowance) {
-										files.add(stfFile);
-									}
-									else {
-										addToBucket_ = true;
-									}
-									numAdded_++;
-								}
-							}
-
-							// exception occurred during loading STF file
-							catch (Exception e) {
-								if (numFiles == 1)
-									throw e;
-								Path fileNamePath = stfFilePath.getFileName();
-								if (fileNamePath != null) {
-									addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
-								}
-							}
-						}
-
-						// input file is ZIP file
-						else if (type.equals(FileType.ZIP)) {
-
-							// extract
-							updateMessage("Extracting zipped STF file...");
-							Path stfFilePath = Utility.extractFileFromZIP(inputFile.toPath(), this, FileType.STF, null);
-
-							// load and add STF file
-							try {
-								STFFile stfFile = new LoadSTFFile(this, stfFilePath, spectrum_, info, updateProcessProgress, stressTableIDs[i / MAX_STF_FILES_PER_TABLE]).start(connection, insertFile, insertStresses[i / MAX_STF_FILES_PER_TABLE], updateStressState);
-								if (automaticTasks_ != null) {
-									files.add(stfFile);
-								}
-								else {
-									if (files.size() < allowance) {
-										files.add(stfFile);
-									}
-									else {
-										addToBucket_ = true;
-									}
-									numAdded_++;
-								}
-							}
-
-							// exception occurred during loading STF file
-							catch (Exception e) {
-								if (numFiles == 1)
-									throw e;
-								Path fileNamePath = stfFilePath.getFileName();
-								if (fileNamePath != null) {
-									addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
-								}
-							}
-						}
+		// collect input files
+		ArrayList<Path> inputFiles = new ArrayList<>();
+		for (File file : stfFiles_) {
+			inputFiles.add(file.toPath());
+		}
 
-						// input file is STF file
-						else if (type.equals(FileType.STF)) {
+		// load files
+		return loadSTFFiles(connection, inputFiles, info_, allowance);
+	}
 
-							// load and add STF file
-							try {
-								STFFile stfFile = new LoadSTFFile(this, inputFile.toPath(), spectrum_, info, updateProcessProgress, stressTableIDs[i / MAX_STF_FILES_PER_TABLE]).start(connection, insertFile, insertStresses[i / MAX_STF_FILES_PER_TABLE], updateStressState);
-								if (automaticTasks_ != null) {
-									files.add(stfFile);
-								}
-								else {
-									if (files.size() < allowance) {
-										files.add(stfFile);
-									}
-									else {
-										addToBucket_ = true;
-									}
-									numAdded_++;
-								}
-							}
+	/**
+	 * Adds STF files from given directory.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param allowance
+	 *            Maximum allowed number of STF files to be returned.
+	 * @return Added STF files.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private ArrayList<STFFile> addFromDirectory(Connection connection, int allowance) throws Exception {
 
-							// exception occurred during loading STF file
-							catch (Exception e) {
-								if (numFiles == 1)
-									throw e;
-								Path fileNamePath = inputFile.toPath().getFileName();
-								if (fileNamePath != null) {
-									addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
-								}
-							}
-						}
-					}
+		// update info
+		updateMessage("Listing STF files...");
+
+		// collect STF files of directory
+		ArrayList<Path> inputFiles = new ArrayList<>();
+		try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(directory_)) {
+			Iterator<Path> iterator = dirStream.iterator();
+			while (iterator.hasNext()) {
+				Path file = iterator.next();
+				FileType type = FileType.getFileType(file.toFile());
+				if (type != null && (type.equals(FileType.GZ) || type.equals(FileType.STF))) {
+					inputFiles.add(file);
 				}
 			}
-
-			// return files
-			return files;
 		}
 
-		// close all insert statements
-		finally {
-			if (insertStresses != null) {
-				for (PreparedStatement statement : insertStresses) {
-					statement.close();
-				}
-			}
-		}
+		// load files
+		return loadSTFFiles(connection, inputFiles, null, allowance);
 	}
 
 	/**
-	 * Adds STF files from given directory.
+	 * Loads and returns given STF files. STF files are distributed over STF stress tables (shards), and each shard is written by a single writer with its own database connection. Writers run in
+	 * parallel on a dedicated executor, each parsing its STF files and inserting stresses in batches. Each writer works in its own transaction; the transactions are committed only if all writers
+	 * succeed. Otherwise, all of them are rolled back and the stress tables of this load are removed.
 	 *
 	 * @param connection
 	 *            Database connection.
+	 * @param inputFiles
+	 *            Input files (STF, GZ or ZIP).
+	 * @param info
+	 *            Pilot point info of input files (can be null).
 	 * @param allowance
 	 *            Maximum allowed number of STF files to be returned.
-	 * @return Added STF files.
+	 * @return Added STF files, or null if the task is cancelled.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private ArrayList<STFFile> addFromDirectory(Connection connection, int allowance) throws Exception {
+	private ArrayList<STFFile> loadSTFFiles(Connection connection, List<Path> inputFiles, List<PilotPointInfo> info, int allowance) throws Exception {
 
-		// initialize variables
-		PreparedStatement[] insertStresses = null;
+		// initialize list
+		ArrayList<STFFile> files = new ArrayList<>();
 
-		try {
+		// no file
+		int numFiles = inputFiles.size();
+		if (numFiles == 0)
+			return files;
 
-			// initialize list
-			ArrayList<STFFile> files = new ArrayList<>();
+		// compute number of stress tables and writers (at most one writer per table)
+		int numTables = numFiles / MAX_STF_FILES_PER_TABLE;
+		numTables += numFiles % MAX_STF_FILES_PER_TABLE == 0 ? 0 : 1;
+		int numWriters = Math.min(MAX_WRITERS, Integer.parseInt(Equinox.ARGUMENTS.getArgument(ArgumentType.MAX_PARALLEL_SUBTASKS)));
+		numWriters = Math.max(1, Math.min(numWriters, numTables));
 
-			// set progress update indicator for sub process
-			int numFiles = (int) Files.list(directory_).count();
-			boolean updateProcessProgress = numFiles < 10L;
+		// create arrays for storing stress table IDs
+		int[] stressTableIDs = new int[numTables];
+		for (int i = 0; i < stressTableIDs.length; i++) {
+			stressTableIDs[i] = -1;
+		}
 
-			// compute number of stress tables
-			int numTables = numFiles / MAX_STF_FILES_PER_TABLE;
-			numTables += numFiles % MAX_STF_FILES_PER_TABLE == 0 ? 0 : 1;
+		// create STF stress tables
+		updateMessage("Creating STF stress tables...");
+		createStressTables(stressTableIDs, connection);
+
+		// create writer executor (the last writer runs on this thread)
+		updateMessage("Loading " + numFiles + " STF files...");
+		long startTime = System.currentTimeMillis();
+		ExecutorService executor = numWriters > 1 ? Executors.newFixedThreadPool(numWriters - 1) : null;
+		Connection[] connections = new Connection[numWriters];
+		ArrayList<Future<Void>> futures = new ArrayList<>();
+		STFFile[] loaded = new STFFile[numFiles];
+		AtomicInteger completed = new AtomicInteger();
+		Set<String> names = ConcurrentHashMap.newKeySet();
+		boolean committed = false;
+
+		try {
 
-			// create arrays for storing stress table IDs and insert statements
-			int[] stressTableIDs = new int[numTables];
-			for (int i = 0; i < stressTableIDs.length; i++) {
-				stressTableIDs[i] = -1;
+			// create and submit writers
+			Path workDir = getWorkingDirectory();
+			ShardWriter[] writers = new ShardWriter[numWriters];
+			for (int i = 0; i < numWriters; i++) {
+				connections[i] = Equinox.DBC_POOL.getConnection();
+				connections[i].setAutoCommit(false);
+				Path writerDir = Files.createDirectories(workDir.resolve("writer" + i));
+				writers[i] = new ShardWriter(i, numWriters, connections[i], stressTableIDs, inputFiles, info, loaded, completed, names, writerDir);
+				if (i < numWriters - 1) {
+					futures.add(executor.submit(writers[i]));
+				}
 			}
-			insertStresses = new PreparedStatement[numTables];
 
-			// create STF stress tables
-			createStressTables(stressTableIDs, insertStresses, connection);
+			// run last writer
+			writers[numWriters - 1].call();
 
-			// prepare statement for inserting STF files
-			String sql = "insert into stf_files(cdf_id, stress_table_id, name, is_2d, description, element_type, frame_rib_position, stringer_position, data_source, generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-			try (PreparedStatement insertFile = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+			// wait for other writers
+			for (Future<Void> future : futures) {
+				future.get();
+			}
 
-				// prepare statement for updating stress state
-				sql = "update stf_files set is_2d = ? where file_id = ?";
-				try (PreparedStatement updateStressState = connection.prepareStatement(sql)) {
+			// task cancelled
+			if (isCancelled())
+				return null;
 
-					// create directory stream
-					try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(directory_)) {
+			// commit all writers
+			updateMessage("Saving STF files...");
+			for (Connection writerConnection : connections) {
+				writerConnection.commit();
+			}
+			committed = true;
+		}
 
-						// get iterator
-						Iterator<Path> iterator = dirStream.iterator();
+		// writer failed
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception)
+				throw (Exception) cause;
+			throw e;
+		}
 
-						// loop over files
-						int index = 0;
-						while (iterator.hasNext()) {
+		// make sure no writer is running, then release connections
+		finally {
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				}
+				catch (Exception e) {
+					// ignore (propagated above)
+				}
+			}
+			if (executor != null) {
+				executor.shutdown();
+			}
+			releaseConnections(connections, committed);
 
-							// update global progress
-							if (!updateProcessProgress) {
-								updateProgress(index, numFiles);
-							}
+			// remove stress tables of failed or cancelled load
+			if (!committed) {
+				removeStressTables(stressTableIDs, connection);
+			}
+		}
 
-							// get file
-							Path file = iterator.next();
+		// log throughput
+		long elapsed = Math.max(System.currentTimeMillis() - startTime, 1L);
+		Equinox.LOGGER.info("Loaded " + completed.get() + " STF files into " + numTables + " stress tables with " + numWriters + " writers in " + elapsed / 1000.0 + " s (" + String.format("%.1f", completed.get() * 1000.0 / elapsed) + " files/s).");
 
-							// get file type
-							FileType type = FileType.getFileType(file.toFile());
+		// collect loaded files (in input order)
+		for (STFFile stfFile : loaded) {
 
-							// file type not recognized
-							if (type == null) {
-								continue;
-							}
+			// not loaded
+			if (stfFile == null) {
+				continue;
+			}
 
-							// input file is a GZIP file
-							if (type.equals(FileType.GZ)) {
-
-								// extract
-								Path stfFilePath = getWorkingDirectory().resolve(FileType.appendExtension(FileType.getNameWithoutExtension(file), FileType.STF));
-								updateMessage("Extracting zipped STF file...");
-								Utility.extractFileFromGZIP(file, stfFilePath);
-
-								// load and add STF file
-								try {
-									STFFile stfFile = new LoadSTFFile(this, stfFilePath, spectrum_, null, updateProcessProgress, stressTableIDs[index / MAX_STF_FILES_PER_TABLE]).start(connection, insertFile, insertStresses[index / MAX_STF_FILES_PER_TABLE], updateStressState);
-									if (automaticTasks_ != null) {
-										files.add(stfFile);
-									}
-									else {
-										if (files.size() < allowance) {
-											files.add(stfFile);
-										}
-										else {
-											addToBucket_ = true;
-										}
-										numAdded_++;
-									}
-								}
+			// add file
+			if (automaticTasks_ != null) {
+				files.add(stfFile);
+			}
+			else {
+				if (files.size() < allowance) {
+					files.add(stfFile);
+				}
+				else {
+					addToBucket_ = true;
+				}
+				numAdded_++;
+			}
+		}
 
-								// exception occurred during loading STF file
-								catch (Exception e) {
-									if (numFiles == 1)
-										throw e;
-									Path fileNamePath = stfFilePath.getFileName();
-									if (fileNamePath != null) {
-										addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
-									}
-								}
-							}
+		// return files
+		return files;
+	}
 
-							// input file is STF file
-							else if (type.equals(FileType.STF)) {
-								// load and add STF file
-								try {
-									STFFile stfFile = new LoadSTFFile(this, file, spectrum_, null, updateProcessProgress, stressTableIDs[index / MAX_STF_FILES_PER_TABLE]).start(connection, insertFile, insertStresses[index / MAX_STF_FILES_PER_TABLE], updateStressState);
-									if (automaticTasks_ != null) {
-										files.add(stfFile);
-									}
-									else {
-										if (files.size() < allowance) {
-											files.add(stfFile);
-										}
-										else {
-											addToBucket_ = true;
-										}
-										numAdded_++;
-									}
-								}
+	/**
+	 * Rolls back (if not committed) and closes the given writer connections.
+	 *
+	 * @param connections
+	 *            Writer connections. Some of them can be null.
+	 * @param committed
+	 *            True if all writers are committed.
+	 */
+	private static void releaseConnections(Connection[] connections, boolean committed) {
+		for (Connection writerConnection : connections) {
 
-								// exception occurred during loading STF file
-								catch (Exception e) {
-									if (numFiles == 1)
-										throw e;
-									Path fileNamePath = file.getFileName();
-									if (fileNamePath != null) {
-										addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
-									}
-								}
-							}
+			// no connection
+			if (writerConnection == null) {
+				continue;
+			}
 
-							// increment index
-							index++;
-						}
-					}
+			// roll back and close connection
+			try {
+				if (!committed) {
+					writerConnection.rollback();
+				}
+				writerConnection.setAutoCommit(true);
+			}
+			catch (Exception e) {
+				Equinox.LOGGER.log(Level.WARNING, "Exception occurred during rolling back STF writer connection.", e);
+			}
+			finally {
+				try {
+					writerConnection.close();
+				}
+				catch (Exception e) {
+					Equinox.LOGGER.log(Level.WARNING, "Exception occurred during closing STF writer connection.", e);
 				}
 			}
-
-			// return files
-			return files;
 		}
+	}
 
-		// close all insert statements
-		finally {
-			if (insertStresses != null) {
-				for (PreparedStatement statement : insertStresses) {
-					statement.close();
+	/**
+	 * Removes the given STF stress tables, together with any STF files referencing them. This is used to clean up after a failed or cancelled load. STF files remain only if some writers were
+	 * committed before the commit of another writer has failed.
+	 *
+	 * @param stressTableIDs
+	 *            Stress table IDs. Tables with negative IDs are not created.
+	 * @param connection
+	 *            Database connection.
+	 */
+	private static void removeStressTables(int[] stressTableIDs, Connection connection) {
+		try (Statement statement = connection.createStatement()) {
+			for (int tableID : stressTableIDs) {
+
+				// table not created
+				if (tableID < 0) {
+					continue;
+				}
+
+				// remove pilot point images of committed files
+				for (PilotPointImageType imageType : PilotPointImageType.values()) {
+					statement.executeUpdate("delete from " + imageType.getTableName() + " where id in (select file_id from stf_files where stress_table_id = " + tableID + ")");
 				}
+
+				// remove committed files and stress table
+				statement.executeUpdate("delete from stf_files where stress_table_id = " + tableID);
+				statement.executeUpdate("drop table AURORA.stf_stresses_" + tableID);
 			}
 		}
+
+		// exception occurred during clean up
+		catch (Exception e) {
+			Equinox.LOGGER.log(Level.WARNING, "Exception occurred during removing STF stress tables of failed load.", e);
+		}
 	}
 
 	/**
@@ -641,14 +588,12 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 	 *
 	 * @param stressTableIDs
 	 *            Array to store newly created stress table IDs.
-	 * @param insertStresses
-	 *            Array to store stress insertion statements for each STF stress table.
 	 * @param connection
 	 *            Database connection.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void createStressTables(int[] stressTableIDs, PreparedStatement[] insertStresses, Connection connection) throws Exception {
+	private static void createStressTables(int[] stressTableIDs, Connection connection) throws Exception {
 
 		// create statement to create STF stress tables
 		try (Statement createStressTable = connection.createStatement()) {
@@ -682,12 +627,209 @@ public class AddSTFFiles extends TemporaryFileCreatingTask<ArrayList<STFFile>> i
 					createStressTable.executeUpdate("CREATE TABLE AURORA." + tableName + "(FILE_ID INT NOT NULL, ISSY_CODE VARCHAR(10) NOT NULL, STRESS_X DOUBLE NOT NULL, STRESS_Y DOUBLE NOT NULL, STRESS_XY DOUBLE NOT NULL)");
 					createStressTable.executeUpdate("CREATE INDEX STF_SELSTRESS_" + tableID + " ON AURORA." + tableName + "(FILE_ID, ISSY_CODE)");
 
-					// prepare insert STF stress statement
+					// store table ID
 					stressTableIDs[i] = tableID;
-					sql = "insert into " + tableName + "(file_id, issy_code, stress_x, stress_y, stress_xy) values(?, ?, ?, ?, ?)";
-					insertStresses[i] = connection.prepareStatement(sql);
 				}
 			}
 		}
 	}
+
+	/**
+	 * Inner class for STF stress table shard writer. Each writer owns a database connection and loads the STF files of its stress tables one after the other. Input files are assigned to stress
+	 * tables in round robin order, and stress tables are assigned to writers in round robin order. The writer doesn't commit; each file is loaded within a savepoint, so that a failed file is
+	 * rolled back without affecting the other files of the writer.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 00:42:16
+	 */
+	private class ShardWriter implements Callable<Void> {
+
+		/** Writer index and number of writers. */
+		private final int index_, numWriters_;
+
+		/** Database connection of this writer. */
+		private final Connection connection_;
+
+		/** Stress table IDs. */
+		private final int[] stressTableIDs_;
+
+		/** Input files. */
+		private final List<Path> inputFiles_;
+
+		/** Pilot point info of input files (can be null). */
+		private final List<PilotPointInfo> info_;
+
+		/** Loaded STF files (at input file index). */
+		private final STFFile[] loaded_;
+
+		/** Number of processed input files (of all writers). */
+		private final AtomicInteger completed_;
+
+		/** Names of STF files being loaded (by all writers). */
+		private final Set<String> names_;
+
+		/** Directory to extract zipped input files of this writer. */
+		private final Path workDir_;
+
+		/**
+		 * Creates STF stress table shard writer.
+		 *
+		 * @param index
+		 *            Writer index.
+		 * @param numWriters
+		 *            Number of writers.
+		 * @param connection
+		 *            Database connection of this writer. The connection must be in manual commit mode.
+		 * @param stressTableIDs
+		 *            Stress table IDs.
+		 * @param inputFiles
+		 *            Input files.
+		 * @param info
+		 *            Pilot point info of input files (can be null).
+		 * @param loaded
+		 *            Array to store loaded STF files (at input file index).
+		 * @param completed
+		 *            Number of processed input files (of all writers).
+		 * @param names
+		 *            Names of STF files being loaded (by all writers). This is used to skip files with duplicate names, since their insert would wait for the transaction of the other writer.
+		 * @param workDir
+		 *            Directory to extract zipped input files of this writer. Each writer has its own directory, so that files with the same name are not overwritten by other writers.
+		 */
+		ShardWriter(int index, int numWriters, Connection connection, int[] stressTableIDs, List<Path> inputFiles, List<PilotPointInfo> info, STFFile[] loaded, AtomicInteger completed, Set<String> names, Path workDir) {
+			index_ = index;
+			numWriters_ = numWriters;
+			connection_ = connection;
+			stressTableIDs_ = stressTableIDs;
+			inputFiles_ = inputFiles;
+			info_ = info;
+			loaded_ = loaded;
+			completed_ = completed;
+			names_ = names;
+			workDir_ = workDir;
+		}
+
+		@Override
+		public Void call() throws Exception {
+
+			// set progress update indicator for sub process
+			int numFiles = inputFiles_.size();
+			int numTables = stressTableIDs_.length;
+			boolean updateProcessProgress = numFiles < 10 && numWriters_ == 1;
+
+			// prepare statement for inserting STF files
+			String sql = "insert into stf_files(cdf_id, stress_table_id, name, is_2d, description, element_type, frame_rib_position, stringer_position, data_source, generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+			try (PreparedStatement insertFile = connection_.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+				// prepare statement for updating stress state
+				sql = "update stf_files set is_2d = ? where file_id = ?";
+				try (PreparedStatement updateStressState = connection_.prepareStatement(sql)) {
+
+					// loop over stress tables of this writer
+					for (int table = index_; table < numTables; table += numWriters_) {
+
+						// prepare statement for inserting STF stresses
+						sql = "insert into stf_stresses_" + stressTableIDs_[table] + "(file_id, issy_code, stress_x, stress_y, stress_xy) values(?, ?, ?, ?, ?)";
+						try (PreparedStatement insertStresses = connection_.prepareStatement(sql)) {
+
+							// loop over files of stress table
+							for (int i = table; i < numFiles; i += numTables) {
+
+								// task cancelled
+								if (isCancelled())
+									return null;
+
+								// load file
+								loaded_[i] = loadSTFFile(inputFiles_.get(i), info_ == null ? null : info_.get(i), numFiles, updateProcessProgress, stressTableIDs_[table], insertFile, insertStresses, updateStressState);
+
+								// update global progress
+								int done = completed_.incrementAndGet();
+								if (!updateProcessProgress) {
+									updateProgress(done, numFiles);
+								}
+							}
+						}
+					}
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Loads given input file.
+		 *
+		 * @param inputFile
+		 *            Input file (STF, GZ or ZIP).
+		 * @param info
+		 *            Pilot point info (can be null).
+		 * @param numFiles
+		 *            Total number of input files.
+		 * @param updateProcessProgress
+		 *            True if progress should be updated by the load process.
+		 * @param stressTableID
+		 *            Stress table ID.
+		 * @param insertFile
+		 *            Statement for inserting STF files.
+		 * @param insertStresses
+		 *            Statement for inserting STF stresses.
+		 * @param updateStressState
+		 *            Statement for updating stress state.
+		 * @return Loaded STF file, or null if input file could not be loaded.
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		private STFFile loadSTFFile(Path inputFile, PilotPointInfo info, int numFiles, boolean updateProcessProgress, int stressTableID, PreparedStatement insertFile, PreparedStatement insertStresses, PreparedStatement updateStressState) throws Exception {
+
+			// get file type
+			FileType type = FileType.getFileType(inputFile.toFile());
+			Path stfFilePath = inputFile;
+
+			// input file is a GZIP file
+			if (type.equals(FileType.GZ)) {
+				stfFilePath = workDir_.resolve(FileType.appendExtension(FileType.getNameWithoutExtension(inputFile), FileType.STF));
+				updateMessage("Extracting zipped STF file...");
+				Utility.extractFileFromGZIP(inputFile, stfFilePath);
+			}
+
+			// input file is ZIP file
+			else if (type.equals(FileType.ZIP)) {
+				updateMessage("Extracting zipped STF file...");
+				stfFilePath = Utility.extractFileFromZIP(inputFile, AddSTFFiles.this, FileType.STF, workDir_);
+			}
+
+			// unsupported file type
+			else if (!type.equals(FileType.STF))
+				return null;
+
+			// get STF file name
+			Path fileNamePath = stfFilePath.getFileName();
+			if (fileNamePath == null)
+				throw new Exception("Cannot get input STF file name.");
+
+			// file with the same name is already being loaded
+			if (!names_.add(fileNamePath.toString())) {
+				if (numFiles == 1)
+					throw new Exception("STF file '" + fileNamePath.toString() + "' is already being loaded.");
+				addWarning("Loading STF file '" + fileNamePath.toString() + "' has been skipped since another STF file with the same name is being loaded.");
+				return null;
+			}
+
+			// load and add STF file
+			Savepoint savepoint = connection_.setSavepoint();
+			try {
+				STFFile stfFile = new LoadSTFFile(AddSTFFiles.this, stfFilePath, spectrum_, info, updateProcessProgress, stressTableID).start(connection_, insertFile, insertStresses, updateStressState);
+				connection_.releaseSavepoint(savepoint);
+				return stfFile;
+			}
+
+			// exception occurred during loading STF file
+			catch (Exception e) {
+				connection_.rollback(savepoint);
+				if (numFiles == 1)
+					throw e;
+				addWarning("Loading STF file '" + fileNamePath.toString() + "' has failed due to an exception.", e);
+				return null;
+			}
+		}
+	}
 }
@@ -26,6 +26,10 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import equinox.Equinox;
 import equinox.data.ConversionTableSheetName;
@@ -46,6 +50,7 @@ import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
 import equinox.task.serializableTask.SerializableAddSpectrum;
+import equinox.utility.DatabaseWriter;
 import equinox.utility.Utility;
 
 /**
@@ -57,6 +62,9 @@ import equinox.utility.Utility;
  */
 public class AddSpectrum extends TemporaryFileCreatingTask<Spectrum> implements LongRunningTask, SavableTask, AutomaticTaskOwner<Spectrum>, SingleInputTask<Pair<Path, SpectrumInfo>> {
 
+	/** Number of loader threads (5 loaders and an archiving job for each of the 5 CDF set files, so that loaders never wait for an archiving thread). */
+	private static final int NUM_LOADER_THREADS = 10;
+
 	/** Paths to spectrum files. */
 	private Path anaFile_, txtFile_, cvtFile_, flsFile_, conversionTable_;
 
@@ -245,49 +253,12 @@ public class AddSpectrum extends TemporaryFileCreatingTask<Spectrum> implements
 				// create spectrum
 				Spectrum spectrum = createSpectrum(connection);
 
-				// load ANA file
-				Integer anaID = new LoadANAFile(this, anaFile_, spectrum).start(connection);
-				if (anaID == null) {
-					connection.rollback();
-					connection.setAutoCommit(true);
-					return null;
-				}
-				spectrum.setANAFileID(anaID);
-
-				// load and add FLS file to CDF set
-				Integer flsID = new LoadFLSFile(this, flsFile_, spectrum).start(connection);
-				if (flsID == null) {
-					connection.rollback();
-					connection.setAutoCommit(true);
-					return null;
-				}
-				spectrum.setFLSFileID(flsID);
-
-				// load and add conversion table to CDF set
-				Integer[] convTableInfo = new LoadConversionTable(this, conversionTable_, spectrum, sheet_).start(connection);
-				if (convTableInfo == null) {
-					connection.rollback();
-					connection.setAutoCommit(true);
-					return null;
-				}
-				spectrum.setConvTableID(convTableInfo[0]);
-
-				// load and add CVT file to CDF set
-				Path cvtFile = new LoadCVTFile(this, cvtFile_, spectrum).start(connection);
-				if (cvtFile == null || !Files.exists(cvtFile)) {
-					connection.rollback();
-					connection.setAutoCommit(true);
-					return null;
-				}
-
-				// load and add TXT file to CDF set
-				Integer txtID = loadTXTFile(connection, convTableInfo, spectrum, cvtFile);
-				if (txtID == null) {
+				// load CDF set files
+				if (!loadCDFSetFiles(connection, spectrum)) {
 					connection.rollback();
 					connection.setAutoCommit(true);
 					return null;
 				}
-				spectrum.setTXTFileID(txtID);
 
 				// create add STF files task
 				if (stfFiles != null && !stfFiles.isEmpty()) {
@@ -555,51 +526,165 @@ public class AddSpectrum extends TemporaryFileCreatingTask<Spectrum> implements
 	}
 
 	/**
-	 * Loads TXT file. Decides whether to load the TXT file or generate it.
+	 * Loads CDF set files. ANA, FLS, conversion table and CVT files are extracted and parsed concurrently on a dedicated executor, while the TXT file is extracted. Input files are archived as a
+	 * separate stage on the same executor. The TXT file is loaded as soon as the conversion table and CVT file are loaded, so that the total load time is roughly that of the largest file. Loaders
+	 * stage their rows in batches and a single database writer thread owns the given connection (and hence its transaction), executing all inserts.
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param convTableInfo
-	 *            Array containing conversion table ID and delta-p loadcase.
-	 * @param cdfSet
-	 *            CDF set.
-	 * @param cvtFile
-	 *            Path to CVT file.
-	 * @return The loaded TXT file.
+	 * @param spectrum
+	 *            Spectrum.
+	 * @return True if all files are loaded, false if the task is cancelled.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private Integer loadTXTFile(Connection connection, Integer[] convTableInfo, Spectrum cdfSet, Path cvtFile) throws Exception {
+	private boolean loadCDFSetFiles(Connection connection, Spectrum spectrum) throws Exception {
+
+		// update info
+		updateMessage("Loading CDF set files...");
+
+		// create loader executor and database writer
+		ExecutorService executor = Executors.newFixedThreadPool(NUM_LOADER_THREADS);
+		DatabaseWriter writer = new DatabaseWriter(connection);
+
+		// submit loaders
+		Future<Integer> ana = executor.submit(() -> new LoadANAFile(this, anaFile_, spectrum).start(writer, executor));
+		Future<Integer> fls = executor.submit(() -> new LoadFLSFile(this, flsFile_, spectrum).start(writer, executor));
+		Future<Integer[]> conv = executor.submit(() -> new LoadConversionTable(this, conversionTable_, spectrum, sheet_).start(writer, executor));
+		Future<Path> cvt = executor.submit(() -> new LoadCVTFile(this, cvtFile_, spectrum).start(writer, executor));
+		Future<Path> txt = executor.submit(this::extractTXTFile);
+
+		try {
+
+			// get conversion table
+			Integer[] convTableInfo = conv.get();
+			if (convTableInfo == null)
+				return false;
+			spectrum.setConvTableID(convTableInfo[0]);
+
+			// get CVT file
+			Path cvtFile = cvt.get();
+			if (cvtFile == null || !Files.exists(cvtFile))
+				return false;
+
+			// load TXT file (while ANA and FLS files are still being loaded)
+			Integer txtID = loadTXTFile(writer, executor, convTableInfo, spectrum, cvtFile, txt.get());
+			if (txtID == null)
+				return false;
+			spectrum.setTXTFileID(txtID);
+
+			// get ANA file
+			Integer anaID = ana.get();
+			if (anaID == null)
+				return false;
+			spectrum.setANAFileID(anaID);
+
+			// get FLS file
+			Integer flsID = fls.get();
+			if (flsID == null)
+				return false;
+			spectrum.setFLSFileID(flsID);
+
+			// wait for pending writes
+			writer.flush();
+			return true;
+		}
+
+		// loader failed
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception)
+				throw (Exception) cause;
+			throw e;
+		}
+
+		// wait for all loaders and writes to stop before the transaction is rolled back (if any)
+		finally {
+			waitForLoader(ana, fls, conv, cvt, txt);
+			writer.close();
+			executor.shutdownNow();
+			executor.awaitTermination(1L, TimeUnit.MINUTES);
+		}
+	}
+
+	/**
+	 * Waits for the given loaders to complete. Loader exceptions are ignored since they are already propagated by the caller.
+	 *
+	 * @param loaders
+	 *            Loaders to wait for.
+	 */
+	private static void waitForLoader(Future<?>... loaders) {
+		for (Future<?> loader : loaders) {
+			try {
+				loader.get();
+			}
+			catch (Exception e) {
+				// ignore
+			}
+		}
+	}
+
+	/**
+	 * Extracts TXT file (if it is compressed).
+	 *
+	 * @return Path to extracted TXT file, or null if the TXT file should be generated.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private Path extractTXTFile() throws Exception {
 
 		// null TXT file (generate)
 		if (txtFile_ == null)
-			return new GenerateTXTFile(this, cvtFile, convTableInfo, cdfSet).start(connection);
+			return null;
 
-		// initialize input file and type
-		Path txtFile = txtFile_;
+		// get input file type
 		FileType type = FileType.getFileType(txtFile_.toFile());
 
-		// input file is a ZIP file
+		// input file is a ZIP file (null if no TXT file found within the bundle)
 		if (type.equals(FileType.ZIP)) {
-
-			// extract TXT file from the bundle
 			updateMessage("Extracting bundled TXT file...");
-			txtFile = Utility.extractFileFromZIP(txtFile_, this, FileType.TXT, null);
-
-			// no TXT file found within the bundle (generate)
-			if (txtFile == null)
-				return new GenerateTXTFile(this, cvtFile, convTableInfo, cdfSet).start(connection);
+			return Utility.extractFileFromZIP(txtFile_, this, FileType.TXT, null);
 		}
 
 		// input file is a GZIP file
 		else if (type.equals(FileType.GZ)) {
-			txtFile = getWorkingDirectory().resolve(FileType.appendExtension(FileType.getNameWithoutExtension(txtFile_), FileType.TXT));
+			Path txtFile = getWorkingDirectory().resolve(FileType.appendExtension(FileType.getNameWithoutExtension(txtFile_), FileType.TXT));
 			updateMessage("Extracting bundled TXT file...");
 			Utility.extractFileFromGZIP(txtFile_, txtFile);
+			return txtFile;
 		}
 
+		// plain TXT file
+		return txtFile_;
+	}
+
+	/**
+	 * Loads TXT file. Decides whether to load the TXT file or generate it.
+	 *
+	 * @param writer
+	 *            Database writer.
+	 * @param executor
+	 *            Executor to archive the TXT file.
+	 * @param convTableInfo
+	 *            Array containing conversion table ID and delta-p loadcase.
+	 * @param cdfSet
+	 *            CDF set.
+	 * @param cvtFile
+	 *            Path to CVT file.
+	 * @param txtFile
+	 *            Path to extracted TXT file, or null if the TXT file should be generated.
+	 * @return The loaded TXT file.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private Integer loadTXTFile(DatabaseWriter writer, ExecutorService executor, Integer[] convTableInfo, Spectrum cdfSet, Path cvtFile, Path txtFile) throws Exception {
+
+		// null TXT file (generate)
+		if (txtFile == null)
+			return new GenerateTXTFile(this, cvtFile, convTableInfo, cdfSet).start(writer, executor);
+
 		// load TXT file
-		return new LoadTXTFile(this, txtFile, cdfSet, convTableInfo[1]).start(connection);
+		return new LoadTXTFile(this, txtFile, cdfSet, convTableInfo[1]).start(writer, executor);
 	}
 
 	/**
@@ -106,7 +106,7 @@ public class AdvancedMultiplicationTableSearch extends InternalEquinoxTask<Array
 			request.setInput(input);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -122,7 +122,7 @@ public class AdvancedMultiplicationTableSearch extends InternalEquinoxTask<Array
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
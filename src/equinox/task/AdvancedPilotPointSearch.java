@@ -137,7 +137,7 @@ public class AdvancedPilotPointSearch extends InternalEquinoxTask<ArrayList<Down
 			request.setInput(input);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -153,7 +153,7 @@ public class AdvancedPilotPointSearch extends InternalEquinoxTask<ArrayList<Down
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -126,7 +126,7 @@ public class AdvancedSpectrumSearch extends InternalEquinoxTask<ArrayList<Downlo
 			request.setInput(input);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -142,7 +142,7 @@ public class AdvancedSpectrumSearch extends InternalEquinoxTask<ArrayList<Downlo
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -15,35 +15,47 @@
  */
 package equinox.task;
 
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.CallableStatement;
 import java.sql.Connection;
-import java.sql.Statement;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import equinox.Equinox;
+import equinox.data.BackupRepository;
+import equinox.data.BackupRepository.Entry;
+import equinox.data.BlobStore;
+import equinox.data.PeakStore;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
-import equinox.utility.Utility;
 
 /**
- * Class for backup workspace task.
+ * Class for backup workspace task. The database is backed up online (without blocking the workspace) into a staging directory by the database engine, and the staged files together with the peak and
+ * blob stores of the workspace are then added to the backup repository as a new snapshot. Only the files which are not already in the repository are compressed and stored, in parallel. Newly stored
+ * files are read back and verified before the snapshot is written. Deletion of store files is blocked from the database backup until the store files are stored, so that the snapshot never references
+ * deleted store files.
  *
  * @author Murat Artim
  * @date Mar 10, 2015
  * @time 5:06:18 PM
  */
-public class BackupWorkspace extends InternalEquinoxTask<Void> implements LongRunningTask {
+public class BackupWorkspace extends TemporaryFileCreatingTask<Void> implements LongRunningTask {
 
-	/** Path to save the workspace. */
+	/** Path to backup repository. */
 	private final Path path_;
 
 	/**
 	 * Creates backup workspace task.
 	 *
 	 * @param path
-	 *            Path to save the workspace.
+	 *            Path to backup repository.
 	 */
 	public BackupWorkspace(Path path) {
 		path_ = path;
@@ -51,7 +63,7 @@ public class BackupWorkspace extends InternalEquinoxTask<Void> implements LongRu
 
 	@Override
 	public boolean canBeCancelled() {
-		return false;
+		return true;
 	}
 
 	@Override
@@ -63,43 +75,237 @@ public class BackupWorkspace extends InternalEquinoxTask<Void> implements LongRu
 	@Override
 	protected Void call() throws Exception {
 
-		// create list of files to be zipped
-		ArrayList<Path> files = new ArrayList<>();
+		// get repository and entries of previous snapshot
+		BackupRepository repository = new BackupRepository(path_);
+		HashMap<String, Entry> previous = new HashMap<>();
+		Path latest = repository.getLatestSnapshot();
+		if (latest != null) {
+			for (Entry entry : repository.readSnapshot(latest)) {
+				previous.put(entry.getPath(), entry);
+			}
+		}
 
-		// local database
-		String freeze = "call syscs_util.syscs_freeze_database()";
-		String unfreeze = "call syscs_util.syscs_unfreeze_database()";
+		// block deletion of store files until they are stored (so that they match the database backup)
+		updateMessage("Waiting for file deletions to complete...");
+		BackupRepository.STORE_LOCK.writeLock().lockInterruptibly();
 
-		// get connection to workspace
-		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
+		// store workspace files
+		Entry[] entries;
+		boolean[] stored;
+		try {
 
-			// create statement
-			try (Statement s = connection.createStatement()) {
+			// backup database into staging directory
+			updateMessage("Backing up database...");
+			Path workspace = Equinox.WORKSPACE_PATHS.getCurrentPath();
+			Path staging = getWorkingDirectory();
+			try (Connection connection = Equinox.DBC_POOL.getConnection()) {
+				try (CallableStatement statement = connection.prepareCall("CALL SYSCS_UTIL.SYSCS_BACKUP_DATABASE(?)")) {
+					statement.setString(1, staging.toString());
+					statement.execute();
+				}
+			}
+
+			// task cancelled
+			if (isCancelled())
+				return null;
+
+			// collect files (database files from staging directory, store files from workspace)
+			updateMessage("Collecting workspace files...");
+			ArrayList<Path[]> files = new ArrayList<>();
+			Path database = staging.resolve(workspace.getFileName().toString());
+			collectFiles(database, database, files, true);
+			for (String store : new String[] { PeakStore.DIRECTORY, BlobStore.DIRECTORY }) {
+				Path directory = workspace.resolve(store);
+				if (Files.exists(directory)) {
+					collectFiles(workspace, directory, files, false);
+				}
+			}
 
-				// freeze workspace statement for local workspace
-				s.executeUpdate(freeze);
+			// store files in parallel
+			updateMessage("Storing " + files.size() + " workspace files...");
+			entries = new Entry[files.size()];
+			stored = new boolean[files.size()];
+			runInParallel(files.size(), i -> {
 
-				// copy files
-				try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(Equinox.WORKSPACE_PATHS.getCurrentPath())) {
+				// get file and relative path
+				Path file = files.get(i)[0];
+				Path relative = files.get(i)[1];
+				String path = relative.toString().replace('\\', '/');
+				long size = Files.size(file);
+				long lastModified = Files.getLastModifiedTime(file).toMillis();
 
-					// get iterator
-					Iterator<Path> iterator = dirStream.iterator();
+				// reuse hash of unchanged store files (staged database files are always new copies)
+				Entry old = previous.get(path);
+				String hash;
+				if (isStoreFile(relative) && old != null && old.getSize() == size && old.getLastModified() == lastModified && repository.contains(old.getHash())) {
+					hash = old.getHash();
+				}
 
-					// loop over files
-					while (iterator.hasNext()) {
-						files.add(iterator.next());
+				// compute hash and store if changed
+				else {
+					hash = BackupRepository.hash(file);
+					if (!repository.contains(hash)) {
+						repository.store(file, hash);
+						stored[i] = true;
 					}
 				}
+				entries[i] = new Entry(path, hash, size, lastModified);
+			});
+		}
 
-				// unfreeze workspace statement for local workspace
-				s.executeUpdate(unfreeze);
-			}
+		// allow deletion of store files
+		finally {
+			BackupRepository.STORE_LOCK.writeLock().unlock();
 		}
 
-		// zip file
-		Utility.zipFiles(files, path_.toFile(), this);
+		// task cancelled
+		if (isCancelled())
+			return null;
+
+		// verify newly stored files
+		updateMessage("Verifying backup...");
+		runInParallel(entries.length, i -> {
+			if (stored[i]) {
+				repository.restore(entries[i], null);
+			}
+			else if (!repository.contains(entries[i].getHash()))
+				throw new Exception("Backup object of file '" + entries[i].getPath() + "' could not be found.");
+		});
+
+		// task cancelled
+		if (isCancelled())
+			return null;
+
+		// write snapshot
+		updateMessage("Writing snapshot...");
+		repository.writeSnapshot(Arrays.asList(entries));
 
 		// return
 		return null;
 	}
+
+	/**
+	 * Collects regular files of the given directory recursively.
+	 *
+	 * @param root
+	 *            Root directory. Relative paths are computed against this directory.
+	 * @param directory
+	 *            Directory to collect files from.
+	 * @param files
+	 *            List to add the files and their relative paths.
+	 * @param skipStores
+	 *            True to skip peak and blob store directories directly under the root directory.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void collectFiles(Path root, Path directory, ArrayList<Path[]> files, boolean skipStores) throws Exception {
+		try (Stream<Path> stream = Files.walk(directory)) {
+			for (Path file : stream.filter(Files::isRegularFile).collect(Collectors.toList())) {
+				Path relative = root.relativize(file);
+				if (skipStores && isStoreFile(relative)) {
+					continue;
+				}
+				if (file.getFileName().toString().endsWith(".tmp")) {
+					continue;
+				}
+				files.add(new Path[] { file, relative });
+			}
+		}
+	}
+
+	/**
+	 * Returns true if the given relative path is within the peak or blob store directories.
+	 *
+	 * @param relative
+	 *            Relative path within the workspace.
+	 * @return True if the given relative path is within the peak or blob store directories.
+	 */
+	private static boolean isStoreFile(Path relative) {
+		if (relative.getNameCount() < 2)
+			return false;
+		String first = relative.getName(0).toString();
+		return first.equals(PeakStore.DIRECTORY) || first.equals(BlobStore.DIRECTORY);
+	}
+
+	/**
+	 * Runs the given job for all indices in parallel on the sub-task thread pool. The calling thread takes part in the work.
+	 *
+	 * @param size
+	 *            Number of indices.
+	 * @param job
+	 *            Job to run for each index.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void runInParallel(int size, IndexedJob job) throws Exception {
+
+		// create workers
+		AtomicInteger next = new AtomicInteger(), completed = new AtomicInteger();
+		int numWorkers = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), size));
+		ArrayList<Future<Void>> futures = new ArrayList<>();
+		Callable<Void> callable = () -> {
+			int i;
+			while (!isCancelled() && (i = next.getAndIncrement()) < size) {
+				job.run(i);
+				updateProgress(completed.incrementAndGet(), size);
+			}
+			return null;
+		};
+		for (int i = 0; i < numWorkers - 1; i++) {
+			futures.add(Equinox.SUBTASK_THREADPOOL.submit(callable));
+		}
+
+		try {
+
+			// run last worker
+			callable.call();
+
+			// wait for other workers
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		}
+
+		// worker failed
+		catch (ExecutionException e) {
+			next.set(size);
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception)
+				throw (Exception) cause;
+			throw e;
+		}
+
+		// make sure no worker is running
+		finally {
+			next.set(size);
+			for (Future<Void> future : futures) {
+				try {
+					future.get();
+				}
+				catch (Exception e) {
+					// already handled
+				}
+			}
+		}
+	}
+
+	/**
+	 * Interface for indexed job.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 10:14:36
+	 */
+	private interface IndexedJob {
+
+		/**
+		 * Runs the job for the given index.
+		 *
+		 * @param index
+		 *            Index.
+		 * @throws Exception
+		 *             If exception occurs during process.
+		 */
+		void run(int index) throws Exception;
+	}
 }
@@ -16,10 +16,6 @@
 package equinox.task;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.concurrent.Future;
 
 import equinox.Equinox;
 import equinox.data.AnalysisEngine;
@@ -64,9 +60,6 @@ public class BucketDamageAngleAnalysis extends InternalEquinoxTask<Void> impleme
 	/** True compression should be applied in propagation analysis. */
 	private boolean applyCompression_;
 
-	/** Number of completed analyses. */
-	private int completed_ = 0;
-
 	/**
 	 * Creates bucket damage angle analysis task.
 	 *
@@ -137,110 +130,14 @@ public class BucketDamageAngleAnalysis extends InternalEquinoxTask<Void> impleme
 		// get connection to database
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
-			// prepare statement for getting STF files incrementally
+			// execute STF tasks in a streaming window
 			String sql = "select file_id, stress_table_id, name from stf_files where cdf_id = " + spectrum.getID();
 			sql += " and is_2d = 1 and file_id > ? order by file_id asc";
-			try (PreparedStatement statement = connection.prepareStatement(sql)) {
-
-				// set limit to rows returned
-				statement.setMaxRows(maxParallel);
-
-				// execute as long as all tasks are completed
-				int fileID = 0;
-				while (fileID >= 0) {
-
-					// task cancelled
-					if (isCancelled()) {
-						break;
-					}
-
-					// execute
-					statement.setInt(1, fileID);
-					fileID = executeTasks(statement, spectrum);
-				}
-
-				// reset statement
-				statement.setMaxRows(0);
-			}
+			BucketExecutor executor = new BucketExecutor(this, maxParallel, bucket_.getNumberOfSTFs(), (stfID, stressTableID, stfName) -> new DamageAngleAnalysis(stfID, stressTableID, stfName, spectrum, input_, material_, analysisEngine_).setIsamiEngineInputs(isamiVersion_, isamiSubVersion_, applyCompression_));
+			executor.execute(connection, sql);
 		}
 
 		// return
 		return null;
 	}
-
-	/**
-	 * Executes tasks and waits for all of them to complete.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param spectrum
-	 *            Spectrum.
-	 * @return Maximum STF file ID.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private int executeTasks(PreparedStatement statement, Spectrum spectrum) throws Exception {
-
-		// initialize variables
-		int maxFileID = -1;
-		ArrayList<Future<?>> results = null;
-
-		// get next STF files
-		try (ResultSet resultSet = statement.executeQuery()) {
-
-			// loop over STF files
-			while (resultSet.next()) {
-
-				// task cancelled
-				if (isCancelled()) {
-					break;
-				}
-
-				// get STF file info
-				int stfID = resultSet.getInt("file_id");
-				int stressTableID = resultSet.getInt("stress_table_id");
-				String stfName = resultSet.getString("name");
-
-				// execute task silently and in parallel
-				if (results == null) {
-					results = new ArrayList<>();
-				}
-				results.add(taskPanel_.getOwner().runTaskSilently(new DamageAngleAnalysis(stfID, stressTableID, stfName, spectrum, input_, material_, analysisEngine_).setIsamiEngineInputs(isamiVersion_, isamiSubVersion_, applyCompression_), false));
-
-				// update maximum file ID
-				if (stfID >= maxFileID) {
-					maxFileID = stfID;
-				}
-			}
-		}
-
-		// there are results
-		if (results != null) {
-
-			// loop over results
-			for (Future<?> result : results) {
-
-				// task cancelled
-				if (isCancelled()) {
-					result.cancel(false);
-				}
-				else {
-					try {
-						result.get();
-						completed_++;
-						updateProgress(completed_, bucket_.getNumberOfSTFs());
-					}
-
-					// exception occurred (ignore since it is handled within the task)
-					catch (Exception e) {
-						completed_++;
-						updateProgress(completed_, bucket_.getNumberOfSTFs());
-					}
-				}
-			}
-		}
-
-		// return maximum file ID
-		return maxFileID;
-	}
 }
@@ -0,0 +1,436 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import equinox.Equinox;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Worker.State;
+
+/**
+ * Class for streaming executor of STF file bucket tasks. STF files are paged from the database by file ID cursor, and a bounded window of STF tasks is kept running; a new STF task is submitted as soon
+ * as any running task completes. Completion of STF tasks is signalled through their state property. STF tasks are run as headless sub tasks of the owner task (in the sub task lane of the task scheduler). Throughput, queue depth and straggler
+ * times are reported to the owner task and logged upon completion.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 23:21:14
+ */
+public class BucketExecutor implements ChangeListener<State> {
+
+	/** Number of STF files to page from the database per query. */
+	private static final int PAGE_SIZE = 256;
+
+	/** Number of slowest STF tasks to report. */
+	private static final int NUM_STRAGGLERS = 5;
+
+	/** Time interval (in milliseconds) to update aggregated progress of running STF tasks. */
+	private static final long PROGRESS_INTERVAL = 1000;
+
+	/**
+	 * Interface for STF task factory.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 23:21:14
+	 */
+	public interface STFTaskFactory {
+
+		/**
+		 * Creates and returns the task for the given STF file.
+		 *
+		 * @param stfID
+		 *            STF file ID.
+		 * @param stressTableID
+		 *            Stress table ID.
+		 * @param stfName
+		 *            STF file name.
+		 * @return The task for the STF file.
+		 */
+		InternalEquinoxTask<?> createTask(int stfID, int stressTableID, String stfName);
+	}
+
+	/** The owner bucket task. */
+	private final InternalEquinoxTask<?> owner_;
+
+	/** STF task factory. */
+	private final STFTaskFactory factory_;
+
+	/** Maximum number of STF tasks running at the same time and total number of STF files. */
+	private final int maxParallel_, numSTFs_;
+
+	/** Pending STF files of the current page. */
+	private final ArrayDeque<Object[]> pending_ = new ArrayDeque<>();
+
+	/** Running STF tasks. */
+	private final ArrayList<RunningSTF> running_ = new ArrayList<>();
+
+	/** Slowest STF tasks (sorted by descending duration). */
+	private final ArrayList<RunningSTF> stragglers_ = new ArrayList<>();
+
+	/** Permits released upon completion of STF tasks. */
+	private final Semaphore completions_ = new Semaphore(0);
+
+	/** Number of completed, failed and paged STF tasks, and maximum number of outstanding STF files (running, pending and not yet paged). */
+	private int completed_ = 0, failed_ = 0, paged_ = 0, maxQueueDepth_ = 0;
+
+	/** True if all STF files are paged from the database. */
+	private boolean allPaged_ = false;
+
+	/** Start time of execution and time of last progress update. */
+	private long startTime_, lastProgressUpdate_ = 0;
+
+	/**
+	 * Creates streaming executor of STF file bucket tasks.
+	 *
+	 * @param owner
+	 *            The owner bucket task.
+	 * @param maxParallel
+	 *            Maximum number of STF tasks running at the same time.
+	 * @param numSTFs
+	 *            Total number of STF files (used for progress).
+	 * @param factory
+	 *            STF task factory.
+	 */
+	public BucketExecutor(InternalEquinoxTask<?> owner, int maxParallel, int numSTFs, STFTaskFactory factory) {
+		owner_ = owner;
+		maxParallel_ = Math.max(maxParallel, 1);
+		numSTFs_ = numSTFs;
+		factory_ = factory;
+	}
+
+	/**
+	 * Executes STF tasks for all STF files returned by the given query, and waits for all of them to complete.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param sql
+	 *            SQL query selecting <code>file_id, stress_table_id, name</code> of STF files. The query must contain the condition <code>file_id > ?</code> and must be ordered by ascending file
+	 *            ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public void execute(Connection connection, String sql) throws Exception {
+
+		// initialize
+		startTime_ = System.currentTimeMillis();
+
+		// prepare statement for paging STF files
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+
+			// set limit to rows returned
+			statement.setMaxRows(PAGE_SIZE);
+
+			try {
+
+				// loop as long as there are STF files to submit
+				int fileID = 0;
+				while (!owner_.isCancelled()) {
+
+					// page next STF files
+					if (pending_.isEmpty() && !allPaged_) {
+						fileID = page(statement, fileID);
+					}
+
+					// no STF file left
+					if (pending_.isEmpty() && running_.isEmpty()) {
+						break;
+					}
+
+					// fill window
+					while (!pending_.isEmpty() && running_.size() < maxParallel_) {
+						submit(pending_.poll());
+					}
+
+					// wait for any running task to complete
+					waitForAny();
+				}
+			}
+
+			// cancel running tasks (if task cancelled)
+			finally {
+				if (owner_.isCancelled()) {
+					for (RunningSTF stf : running_) {
+						stf.task_.cancel();
+					}
+				}
+				statement.setMaxRows(0);
+			}
+		}
+
+		// wait for sub tasks submitted by STF tasks
+		int numSubtasks = owner_.getNumberOfSubtasks();
+		while (!owner_.isCancelled() && numSubtasks > 0) {
+			owner_.updateMessage("Waiting for " + numSubtasks + " sub tasks to complete...");
+			numSubtasks = owner_.awaitSubtasks(PROGRESS_INTERVAL);
+		}
+
+		// log statistics
+		Equinox.LOGGER.info(toString());
+	}
+
+	/**
+	 * Returns the number of failed STF tasks.
+	 *
+	 * @return The number of failed STF tasks.
+	 */
+	public int getNumberOfFailedTasks() {
+		return failed_;
+	}
+
+	/**
+	 * Returns the number of completed STF tasks.
+	 *
+	 * @return The number of completed STF tasks.
+	 */
+	public int getNumberOfCompletedTasks() {
+		return completed_;
+	}
+
+	/**
+	 * Returns the throughput in STF files per minute.
+	 *
+	 * @return The throughput in STF files per minute.
+	 */
+	public double getThroughput() {
+		long elapsed = System.currentTimeMillis() - startTime_;
+		return elapsed <= 0 ? 0.0 : completed_ * 60000.0 / elapsed;
+	}
+
+	/**
+	 * Returns the number of outstanding STF files. These are the running STF tasks, the STF files paged but not yet submitted, and the STF files not yet paged from the database.
+	 *
+	 * @return The number of outstanding STF files.
+	 */
+	public int getQueueDepth() {
+		int unpaged = allPaged_ ? 0 : Math.max(numSTFs_ - paged_, 0);
+		return running_.size() + pending_.size() + unpaged;
+	}
+
+	@Override
+	public void changed(ObservableValue<? extends State> observable, State oldValue, State newValue) {
+		if (newValue.equals(State.SUCCEEDED) || newValue.equals(State.CANCELLED) || newValue.equals(State.FAILED)) {
+			observable.removeListener(this);
+			completions_.release();
+		}
+	}
+
+	@Override
+	public String toString() {
+		String info = owner_.getClass().getSimpleName() + " executed " + completed_ + " STF tasks in " + (System.currentTimeMillis() - startTime_) / 1000 + " s";
+		info += " (" + failed_ + " failed, " + String.format("%.1f", getThroughput()) + " STFs/min, window " + maxParallel_ + ", max queue depth " + maxQueueDepth_ + ").";
+		if (!stragglers_.isEmpty()) {
+			info += " Slowest STFs:";
+			for (RunningSTF stf : stragglers_) {
+				info += " " + stf.name_ + " (" + stf.duration_ / 1000.0 + " s)";
+			}
+		}
+		return info;
+	}
+
+	/**
+	 * Pages next STF files from the database into pending STF files.
+	 *
+	 * @param statement
+	 *            Database statement.
+	 * @param fileID
+	 *            Last paged STF file ID.
+	 * @return Maximum paged STF file ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private int page(PreparedStatement statement, int fileID) throws Exception {
+		int maxFileID = fileID, numPaged = 0;
+		statement.setInt(1, fileID);
+		try (ResultSet resultSet = statement.executeQuery()) {
+			while (resultSet.next()) {
+				int stfID = resultSet.getInt("file_id");
+				pending_.add(new Object[] { stfID, resultSet.getInt("stress_table_id"), resultSet.getString("name") });
+				maxFileID = Math.max(maxFileID, stfID);
+				numPaged++;
+			}
+		}
+		paged_ += numPaged;
+		allPaged_ = numPaged < PAGE_SIZE;
+		maxQueueDepth_ = Math.max(maxQueueDepth_, getQueueDepth());
+		return maxFileID;
+	}
+
+	/**
+	 * Submits task for the given STF file.
+	 *
+	 * @param stf
+	 *            STF file info (file ID, stress table ID and name).
+	 */
+	private void submit(Object[] stf) {
+		String name = (String) stf[2];
+		InternalEquinoxTask<?> task = factory_.createTask((int) stf[0], (int) stf[1], name);
+		task.stateProperty().addListener(this);
+		owner_.getTaskPanel().getOwner().runSubtask(task, owner_, false);
+		running_.add(new RunningSTF(name, task));
+	}
+
+	/**
+	 * Waits until at least one running STF task completes, and removes completed tasks from running tasks. The wait is released by the completion signal of STF tasks, or by the progress update
+	 * interval.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void waitForAny() throws Exception {
+
+		// loop until a task completes
+		while (!running_.isEmpty() && !owner_.isCancelled()) {
+
+			// wait for completion signal of any task
+			completions_.tryAcquire(PROGRESS_INTERVAL, TimeUnit.MILLISECONDS);
+
+			// remove completed tasks
+			boolean anyCompleted = false;
+			Iterator<RunningSTF> iterator = running_.iterator();
+			while (iterator.hasNext()) {
+				RunningSTF stf = iterator.next();
+				if (stf.task_.isDone()) {
+					iterator.remove();
+					completed(stf);
+					anyCompleted = true;
+				}
+			}
+
+			// slot freed
+			if (anyCompleted) {
+				return;
+			}
+
+			// update aggregated progress
+			updateProgress();
+		}
+	}
+
+	/**
+	 * Updates progress and message of the owner task with the aggregated progress of completed and running STF tasks, and the last message of the oldest running STF task.
+	 */
+	private void updateProgress() {
+
+		// not yet
+		long time = System.currentTimeMillis();
+		if (time - lastProgressUpdate_ < PROGRESS_INTERVAL)
+			return;
+		lastProgressUpdate_ = time;
+
+		// aggregate progress
+		double progress = completed_;
+		for (RunningSTF stf : running_) {
+			progress += stf.task_.getHeadlessProgress();
+		}
+		owner_.updateProgress(Math.round(progress * 100.0), numSTFs_ * 100L);
+
+		// aggregate messages
+		String message = "Running analyses... (" + String.format("%.1f", getThroughput()) + " STFs/min, " + running_.size() + " running, " + (getQueueDepth() - running_.size()) + " queued";
+		message += failed_ == 0 ? ")" : ", " + failed_ + " failed)";
+		for (RunningSTF stf : running_) {
+			String stfMessage = stf.task_.getHeadlessMessage();
+			if (stfMessage != null) {
+				message += " - " + stf.name_ + ": " + stfMessage;
+				break;
+			}
+		}
+		owner_.updateMessage(message);
+	}
+
+	/**
+	 * Called when the given STF task completes.
+	 *
+	 * @param stf
+	 *            Completed STF task.
+	 */
+	private void completed(RunningSTF stf) {
+
+		// check for failure
+		try {
+			stf.task_.get();
+		}
+		catch (ExecutionException e) {
+			failed_++;
+		}
+		catch (Exception e) {
+			// cancelled
+		}
+
+		// update progress
+		completed_++;
+		lastProgressUpdate_ = 0;
+		updateProgress();
+
+		// update stragglers
+		stf.duration_ = System.currentTimeMillis() - stf.startTime_;
+		int index = 0;
+		while (index < stragglers_.size() && stragglers_.get(index).duration_ >= stf.duration_) {
+			index++;
+		}
+		if (index < NUM_STRAGGLERS) {
+			stragglers_.add(index, stf);
+			if (stragglers_.size() > NUM_STRAGGLERS) {
+				stragglers_.remove(NUM_STRAGGLERS);
+			}
+		}
+	}
+
+	/**
+	 * Inner class for running STF task.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 23:21:14
+	 */
+	private static class RunningSTF {
+
+		/** STF file name. */
+		private final String name_;
+
+		/** STF task. */
+		private final InternalEquinoxTask<?> task_;
+
+		/** Submission time. */
+		private final long startTime_ = System.currentTimeMillis();
+
+		/** Duration of the task. */
+		private long duration_ = 0;
+
+		/**
+		 * Creates running STF task.
+		 *
+		 * @param name
+		 *            STF file name.
+		 * @param task
+		 *            STF task.
+		 */
+		RunningSTF(String name, InternalEquinoxTask<?> task) {
+			name_ = name;
+			task_ = task;
+		}
+	}
+}
@@ -16,13 +16,11 @@
 package equinox.task;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.util.ArrayList;
-import java.util.concurrent.Future;
 
 import equinox.Equinox;
 import equinox.data.AnalysisEngine;
+import equinox.data.CompiledSpectrumCache.Lease;
 import equinox.data.IsamiSubVersion;
 import equinox.data.IsamiVersion;
 import equinox.data.ProgramArguments.ArgumentType;
@@ -30,6 +28,7 @@ import equinox.data.fileType.STFFileBucket;
 import equinox.data.fileType.Spectrum;
 import equinox.data.input.FastEquivalentStressInput;
 import equinox.dataServer.remote.data.Material;
+import equinox.process.CompileSpectrum;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.serializableTask.SerializableBucketFastEquivalentStressAnalysis;
@@ -64,9 +63,6 @@ public class BucketFastEquivalentStressAnalysis extends InternalEquinoxTask<Void
 	/** True compression should be applied in propagation analysis. */
 	private boolean applyCompression_;
 
-	/** Number of completed analyses. */
-	private int completed_ = 0;
-
 	/** True if typical flight damage contribution analysis is requested. */
 	private final boolean isFlightDamageContributionAnalysis_;
 
@@ -143,110 +139,26 @@ public class BucketFastEquivalentStressAnalysis extends InternalEquinoxTask<Void
 		// get connection to database
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
-			// prepare statement for getting STF files incrementally
-			String sql = "select file_id, stress_table_id, name from stf_files where cdf_id = " + spectrum.getID();
-			sql += " and file_id > ? order by file_id asc";
-			try (PreparedStatement statement = connection.prepareStatement(sql)) {
-
-				// set limit to rows returned
-				statement.setMaxRows(maxParallel);
-
-				// execute as long as all tasks are completed
-				int fileID = 0;
-				while (fileID >= 0) {
-
-					// task cancelled
-					if (isCancelled()) {
-						break;
-					}
+			// compile spectrum once for all STF files (STF analyses acquire it from spectrum cache)
+			int anaFileID = spectrum.getANAFileID(), txtFileID = spectrum.getTXTFileID(), convTableID = spectrum.getConversionTableID();
+			try (Lease lease = Equinox.SPECTRUM_CACHE.acquire(anaFileID, txtFileID, convTableID, () -> new CompileSpectrum(this, anaFileID, txtFileID).start(connection))) {
 
-					// execute
-					statement.setInt(1, fileID);
-					fileID = executeTasks(statement, spectrum);
-				}
+				// compilation cancelled
+				if (lease.getSpectrum() == null)
+					return null;
 
-				// reset statement
-				statement.setMaxRows(0);
+				// execute STF tasks in a streaming window
+				String sql = "select file_id, stress_table_id, name from stf_files where cdf_id = " + spectrum.getID();
+				sql += " and file_id > ? order by file_id asc";
+				BucketExecutor executor = new BucketExecutor(this, maxParallel, bucket_.getNumberOfSTFs(), (stfID, stressTableID, stfName) -> new FastGenerateStressSequence(stfID, stressTableID, stfName, spectrum, input_, materials_, isFlightDamageContributionAnalysis_, analysisEngine_).setIsamiEngineInputs(isamiVersion_, isamiSubVersion_, applyCompression_));
+				executor.execute(connection, sql);
 			}
 		}
 
+		// log spectrum cache statistics
+		Equinox.LOGGER.info(Equinox.SPECTRUM_CACHE.toString());
+
 		// return
 		return null;
 	}
-
-	/**
-	 * Executes tasks and waits for all of them to complete.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param spectrum
-	 *            Spectrum.
-	 * @return Maximum STF file ID.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private int executeTasks(PreparedStatement statement, Spectrum spectrum) throws Exception {
-
-		// initialize variables
-		int maxFileID = -1;
-		ArrayList<Future<?>> results = null;
-
-		// get next STF files
-		try (ResultSet resultSet = statement.executeQuery()) {
-
-			// loop over STF files
-			while (resultSet.next()) {
-
-				// task cancelled
-				if (isCancelled()) {
-					break;
-				}
-
-				// get STF file info
-				int stfID = resultSet.getInt("file_id");
-				int stressTableID = resultSet.getInt("stress_table_id");
-				String stfName = resultSet.getString("name");
-
-				// execute task silently and in parallel
-				if (results == null) {
-					results = new ArrayList<>();
-				}
-				results.add(taskPanel_.getOwner().runTaskSilently(new FastGenerateStressSequence(stfID, stressTableID, stfName, spectrum, input_, materials_, isFlightDamageContributionAnalysis_, analysisEngine_).setIsamiEngineInputs(isamiVersion_, isamiSubVersion_, applyCompression_), false));
-
-				// update maximum file ID
-				if (stfID >= maxFileID) {
-					maxFileID = stfID;
-				}
-			}
-		}
-
-		// there are results
-		if (results != null) {
-
-			// loop over results
-			for (Future<?> result : results) {
-
-				// task cancelled
-				if (isCancelled()) {
-					result.cancel(false);
-				}
-				else {
-					try {
-						result.get();
-						completed_++;
-						updateProgress(completed_, bucket_.getNumberOfSTFs());
-					}
-
-					// exception occurred (ignore since it is handled within the task)
-					catch (Exception e) {
-						completed_++;
-						updateProgress(completed_, bucket_.getNumberOfSTFs());
-					}
-				}
-			}
-		}
-
-		// return maximum file ID
-		return maxFileID;
-	}
 }
@@ -107,7 +107,7 @@ public class CheckForEquinoxUpdates extends TemporaryFileCreatingTask<EquinoxUpd
 			request.setVersionNumber(Equinox.getContainerVersion());
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -123,7 +123,7 @@ public class CheckForEquinoxUpdates extends TemporaryFileCreatingTask<EquinoxUpd
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
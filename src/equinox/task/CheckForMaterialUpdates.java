@@ -112,7 +112,7 @@ public class CheckForMaterialUpdates extends InternalEquinoxTask<ArrayList<Strin
 			}
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -128,7 +128,7 @@ public class CheckForMaterialUpdates extends InternalEquinoxTask<ArrayList<Strin
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
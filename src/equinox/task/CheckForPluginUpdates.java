@@ -108,7 +108,7 @@ public class CheckForPluginUpdates extends TemporaryFileCreatingTask<ArrayList<C
 			request.setListenerHashCode(hashCode());
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -124,7 +124,7 @@ public class CheckForPluginUpdates extends TemporaryFileCreatingTask<ArrayList<C
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
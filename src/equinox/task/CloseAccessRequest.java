@@ -123,7 +123,7 @@ public class CloseAccessRequest extends InternalEquinoxTask<Boolean> implements
 			request.setIsGrantAccess(isGrantAccess_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -139,7 +139,7 @@ public class CloseAccessRequest extends InternalEquinoxTask<Boolean> implements
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -117,7 +117,7 @@ public class CloseBugReport extends InternalEquinoxTask<Boolean> implements Shor
 			request.setSolution(solution_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -133,7 +133,7 @@ public class CloseBugReport extends InternalEquinoxTask<Boolean> implements Shor
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
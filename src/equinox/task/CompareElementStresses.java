@@ -16,9 +16,8 @@
 package equinox.task;
 
 import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
 
 import org.jfree.data.category.CategoryDataset;
@@ -27,7 +26,9 @@ import org.jfree.data.category.DefaultCategoryDataset;
 import equinox.Equinox;
 import equinox.controller.StatisticsViewPanel;
 import equinox.controller.ViewPanel;
-import equinox.data.ElementTypeForStress;
+import equinox.data.ElementStress;
+import equinox.data.LoadCaseStressCube;
+import equinox.data.ModelGeometry;
 import equinox.data.input.CompareElementStressesInput;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.ShortRunningTask;
@@ -76,32 +77,26 @@ public class CompareElementStresses extends InternalEquinoxTask<CategoryDataset>
 		// create data set
 		DefaultCategoryDataset dataset = new DefaultCategoryDataset();
 
-		// get database connection
+		// get stress cube and selected elements
+		LoadCaseStressCube cube = null;
+		boolean[] selected = null;
+		int modelID = input_.getLoadCase().getParentItem().getParentItem().getID();
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
+			cube = LoadCaseStressCube.get(connection, modelID, input_.getLoadCase().getID());
+			ModelGeometry geometry = Equinox.GEOMETRY_CACHE.get(connection, modelID);
+			selected = geometry.selectElements(connection, input_.getElementType(), input_.getGroups());
+		}
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// get query
-				String sql = input_.getGroups().isEmpty() ? createQueryWithoutGrouping() : createQueryWithGrouping(statement);
-
-				// set limit
-				statement.setMaxRows(input_.getLimit());
-
-				// create and execute query
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-
-					// add data to series
-					while (resultSet.next()) {
-						String eid = Integer.toString(resultSet.getInt("eid"));
-						double stress = resultSet.getDouble(input_.getStressComponent().getResultSetColName());
-						dataset.addValue(stress, "Element Stresses", eid);
-					}
-				}
+		// no stresses for load case
+		int loadCase = cube.getLoadCaseIndex(input_.getLoadCase().getID());
+		if (loadCase < 0)
+			return dataset;
 
-				// reset statement
-				statement.setMaxRows(0);
-			}
+		// add data to series
+		ElementStress stressComp = input_.getStressComponent();
+		for (int element : getElements(cube, loadCase, selected)) {
+			String eid = Integer.toString(cube.getElementID(element));
+			dataset.addValue(cube.getStress(loadCase, stressComp, element), "Element Stresses", eid);
 		}
 
 		// return dataset
@@ -139,144 +134,52 @@ public class CompareElementStresses extends InternalEquinoxTask<CategoryDataset>
 	}
 
 	/**
-	 * Creates query with element grouping.
-	 *
-	 * @return Query.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String createQueryWithoutGrouping() throws Exception {
-
-		// get table names
-		int modelID = input_.getLoadCase().getParentItem().getParentItem().getID();
-		String elTable = "elements_" + modelID;
-		String lcTable = "load_cases_" + modelID;
-
-		// select stresses
-		String sql = "select " + lcTable + ".eid, " + input_.getStressComponent().getDBSelectString();
-		sql += " from " + lcTable;
-
-		// join with elements
-		sql += " inner join " + elTable + " on ";
-		sql += lcTable + ".eid = ";
-		sql += elTable + ".eid";
-
-		// add load case criteria
-		sql += " where lc_id = " + input_.getLoadCase().getID();
-
-		// add element type criteria
-		if (input_.getElementType().equals(ElementTypeForStress.SKIN)) {
-			sql += " and (el_type = 'QUAD' or el_type = 'TRIA')";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.BEAM)) {
-			sql += " and (el_type = 'BEAM')";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.ROD)) {
-			sql += " and (el_type = 'ROD')";
-		}
-
-		// order stresses
-		sql += " order by " + input_.getStressComponent().getResultSetColName();
-		sql += input_.getOrder() ? " desc" : " asc";
-
-		// return query
-		return sql;
-	}
-
-	/**
-	 * Creates query with element grouping.
+	 * Returns indices of selected elements with the highest or lowest stresses (depending on the requested order), limited to the requested number of elements. The highest and lowest elements of
+	 * the stress cube are used if they contain enough selected elements, otherwise all selected elements are sorted.
 	 *
-	 * @param statement
-	 *            Database statement.
-	 * @return Query.
-	 * @throws Exception
-	 *             If exception occurs during process.
+	 * @param cube
+	 *            Stress cube.
+	 * @param loadCase
+	 *            Load case index.
+	 * @param selected
+	 *            Selected elements (at element index).
+	 * @return Indices of elements in order of stresses.
 	 */
-	private String createQueryWithGrouping(Statement statement) throws Exception {
-
-		// get element group IDs
-		ArrayList<Integer> groupIDs = getGroupIDs(statement);
-
-		// get table names
-		int modelID = input_.getLoadCase().getParentItem().getParentItem().getID();
-		String elTable = "elements_" + modelID;
-		String grpTable = "element_groups_" + modelID;
-		String lcTable = "load_cases_" + modelID;
-
-		// select stresses
-		String sql = "select " + lcTable + ".eid, " + input_.getStressComponent().getDBSelectString();
-		sql += " from " + lcTable;
-
-		// join with groups
-		sql += " inner join " + grpTable + " on ";
-		sql += lcTable + ".eid = ";
-		sql += grpTable + ".eid";
-
-		// join with elements
-		sql += " inner join " + elTable + " on ";
-		sql += lcTable + ".eid = ";
-		sql += elTable + ".eid";
-
-		// add load case criteria
-		sql += " where lc_id = " + input_.getLoadCase().getID();
-
-		// add group name criteria
-		sql += " and (";
-		for (int groupID : groupIDs) {
-			sql += grpTable + ".group_id = " + groupID + " or ";
-		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ")";
-
-		// add element type criteria
-		if (input_.getElementType().equals(ElementTypeForStress.SKIN)) {
-			sql += " and (el_type = 'QUAD' or el_type = 'TRIA')";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.BEAM)) {
-			sql += " and (el_type = 'BEAM')";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.ROD)) {
-			sql += " and (el_type = 'ROD')";
+	private int[] getElements(LoadCaseStressCube cube, int loadCase, boolean[] selected) {
+
+		// get highest or lowest elements of cube
+		ElementStress stressComp = input_.getStressComponent();
+		int limit = input_.getLimit();
+		int[] top = cube.getTopElements(loadCase, stressComp, input_.getOrder());
+		int[] elements = new int[Math.min(limit, top.length)];
+		int count = 0;
+		for (int i = 0; i < top.length && count < elements.length; i++) {
+			if (selected[top[i]]) {
+				elements[count] = top[i];
+				count++;
+			}
 		}
 
-		// order stresses
-		sql += " order by " + input_.getStressComponent().getResultSetColName();
-		sql += input_.getOrder() ? " desc" : " asc";
-
-		// return query
-		return sql;
-	}
+		// enough elements (or all elements with stress)
+		if (count == limit || top.length < LoadCaseStressCube.TOP_K)
+			return Arrays.copyOf(elements, count);
 
-	/**
-	 * Retrieves and returns list containing element group IDs.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @return List containing element group IDs.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private ArrayList<Integer> getGroupIDs(Statement statement) throws Exception {
-
-		// initialize list
-		ArrayList<Integer> groupIDs = new ArrayList<>();
-
-		// get element group IDs
-		ArrayList<String> groups = input_.getGroups();
-		String sql = "select group_id from element_group_names_" + input_.getLoadCase().getParentItem().getParentItem().getID();
-		sql += " where (";
-		for (String group : groups) {
-			sql += "name = '" + group + "' or ";
-		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ")";
-
-		// execute query
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				groupIDs.add(resultSet.getInt("group_id"));
+		// sort all selected elements
+		float[] stresses = cube.getStresses(loadCase, stressComp);
+		ArrayList<Integer> sorted = new ArrayList<>();
+		for (int i = 0; i < stresses.length; i++) {
+			if (selected[i] && !Float.isNaN(stresses[i])) {
+				sorted.add(i);
 			}
 		}
+		boolean descending = input_.getOrder();
+		sorted.sort((i1, i2) -> descending ? Float.compare(stresses[i2], stresses[i1]) : Float.compare(stresses[i1], stresses[i2]));
 
-		// return list
-		return groupIDs;
+		// return limited number of elements
+		elements = new int[Math.min(limit, sorted.size())];
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = sorted.get(i);
+		}
+		return elements;
 	}
 }
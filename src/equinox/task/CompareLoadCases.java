@@ -16,8 +16,6 @@
 package equinox.task;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.util.concurrent.ExecutionException;
 
 import org.jfree.data.category.CategoryDataset;
@@ -27,7 +25,7 @@ import equinox.Equinox;
 import equinox.controller.StatisticsViewPanel;
 import equinox.controller.ViewPanel;
 import equinox.data.ElementStress;
-import equinox.data.ElementType;
+import equinox.data.LoadCaseStressCube;
 import equinox.data.fileType.AircraftLoadCase;
 import equinox.data.input.CompareLoadCasesInput;
 import equinox.serverUtilities.Permission;
@@ -80,55 +78,41 @@ public class CompareLoadCases extends InternalEquinoxTask<CategoryDataset> imple
 		// create data set
 		DefaultCategoryDataset dataset = new DefaultCategoryDataset();
 
-		// get database connection
+		// get stress cube
+		LoadCaseStressCube cube = null;
+		int modelID = input_.getLoadCases().get(0).getParentItem().getParentItem().getID();
+		int[] loadCaseIDs = new int[input_.getLoadCases().size()];
+		for (int i = 0; i < loadCaseIDs.length; i++) {
+			loadCaseIDs[i] = input_.getLoadCases().get(i).getID();
+		}
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
+			cube = LoadCaseStressCube.get(connection, modelID, loadCaseIDs);
+		}
+
+		// loop over load cases
+		for (AircraftLoadCase loadCase : input_.getLoadCases()) {
+
+			// get load case index
+			int loadCaseIndex = cube.getLoadCaseIndex(loadCase.getID());
+			if (loadCaseIndex < 0) {
+				continue;
+			}
+
+			// create series
+			String loadCaseName = loadCase.getName();
 
-			// prepare statement to get element stresses
-			int modelID = input_.getLoadCases().get(0).getParentItem().getParentItem().getID();
-			String sql = "select " + stressComp.getDBSelectString() + " from load_cases_" + modelID;
-			sql += " where lc_id = ? and eid = ?";
-			try (PreparedStatement statement = connection.prepareStatement(sql)) {
-
-				// prepare statement to get element type
-				sql = "select el_type from elements_" + modelID + " where eid = ?";
-				try (PreparedStatement statement2 = connection.prepareStatement(sql)) {
-
-					// loop over load cases
-					for (AircraftLoadCase loadCase : input_.getLoadCases()) {
-
-						// create series
-						String loadCaseName = loadCase.getName();
-
-						// set load case ID
-						statement.setInt(1, loadCase.getID());
-
-						// loop over element IDs
-						nextElement: for (int eid : input_.getEIDs()) {
-
-							// check element type
-							if (stressComp.equals(ElementStress.MAX_PRINCIPAL) || stressComp.equals(ElementStress.MIN_PRINCIPAL)) {
-								statement2.setInt(1, eid);
-								try (ResultSet resultSet = statement2.executeQuery()) {
-									while (resultSet.next()) {
-										String elType = resultSet.getString("el_type");
-										if (elType.equals(ElementType.BEAM) || elType.equals(ElementType.ROD)) {
-											continue nextElement;
-										}
-									}
-								}
-							}
-
-							// execute statement to get stresses
-							statement.setInt(2, eid);
-							try (ResultSet resultSet = statement.executeQuery()) {
-								while (resultSet.next()) {
-									double stress = resultSet.getDouble(stressComp.getResultSetColName());
-									dataset.addValue(stress, loadCaseName, Integer.toString(eid));
-								}
-							}
-						}
-					}
+			// loop over element IDs
+			for (int eid : input_.getEIDs()) {
+
+				// get element stress (derived stresses are not defined for BEAM and ROD elements)
+				int element = cube.getElementIndex(eid);
+				double stress = element < 0 ? Double.NaN : cube.getStress(loadCaseIndex, stressComp, element);
+				if (Double.isNaN(stress)) {
+					continue;
 				}
+
+				// add data
+				dataset.addValue(stress, loadCaseName, Integer.toString(eid));
 			}
 		}
 
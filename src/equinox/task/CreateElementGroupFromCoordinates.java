@@ -21,8 +21,8 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 
 import equinox.Equinox;
-import equinox.data.ElementType;
-import equinox.data.Grid;
+import equinox.data.ModelGeometry;
+import equinox.data.ModelSpatialIndex;
 import equinox.data.fileType.AircraftModel;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 
@@ -160,17 +160,8 @@ public class CreateElementGroupFromCoordinates extends InternalEquinoxTask<Void>
 		if ((groupID == -1) || isCancelled())
 			return;
 
-		// get total number of elements
-		int numTotal = 0;
-		sql = "select num_elems from ac_models where model_id = " + model_.getID();
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				numTotal = resultSet.getInt("num_elems");
-			}
-		}
-
 		// insert element IDs
-		int numel = insertEIDs(groupID, numTotal, connection, statement);
+		int numel = insertEIDs(groupID, connection);
 
 		// task cancelled
 		if ((numel == -1) || isCancelled())
@@ -187,186 +178,89 @@ public class CreateElementGroupFromCoordinates extends InternalEquinoxTask<Void>
 	 *
 	 * @param groupID
 	 *            Group ID.
-	 * @param numTotal
-	 *            Total number of elements.
 	 * @param connection
 	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
 	 * @return Number of elements of the group.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int insertEIDs(int groupID, int numTotal, Connection connection, Statement statement) throws Exception {
+	private int insertEIDs(int groupID, Connection connection) throws Exception {
+
+		// get spatial index of model
+		updateMessage("Getting spatial index of model...");
+		ModelGeometry geometry = Equinox.GEOMETRY_CACHE.get(connection, model_.getID());
+		ModelSpatialIndex index = geometry.getSpatialIndex(connection);
+
+		// warn for invalid element types
+		for (int i = 0; i < geometry.getNumberOfElements(); i++) {
+			if (geometry.getElementType(i) == null) {
+				addWarning("Invalid element type encountered in elements database. EID: " + geometry.getElementID(i));
+			}
+		}
+
+		// task cancelled
+		if (isCancelled())
+			return -1;
+
+		// get elements within coordinate ranges
+		updateMessage("Searching elements within coordinate ranges...");
+		double[] min = new double[3], max = new double[3];
+		setRange(x_, xRange_, 0, min, max);
+		setRange(y_, yRange_, 1, min, max);
+		setRange(z_, zRange_, 2, min, max);
+		int[] elements = index.getElements(index.getGridsInBox(min, max));
 
 		// update info
 		updateMessage("Adding elements to group...");
 
-		// initialize variables
-		int numel = 0;
-		Grid[] quadShearGrids = { new Grid(), new Grid(), new Grid(), new Grid() };
-		Grid[] triaGrids = { new Grid(), new Grid(), new Grid() };
-		Grid[] beamRodGrids = { new Grid(), new Grid() };
-		Grid[] grids = null;
-		@SuppressWarnings("resource")
-		PreparedStatement query = null;
-
-		try {
-
-			// get coordinate range query
-			String rangeQuery = getCoordinateRangeQuery();
-
-			// prepare statement to get grid coordinates of QUADs
-			String sql = "select gid from grids_" + model_.getID();
-			sql += " where (gid = ? or gid = ? or gid = ? or gid = ?)";
-			sql += rangeQuery;
-			try (PreparedStatement queryQuadShearCoords = connection.prepareStatement(sql)) {
-
-				// prepare statement to get grid coordinates of TRIAs
-				sql = "select gid from grids_" + model_.getID();
-				sql += " where (gid = ? or gid = ? or gid = ?)";
-				sql += rangeQuery;
-				try (PreparedStatement queryTriaCoords = connection.prepareStatement(sql)) {
-
-					// prepare statement to get grid coordinates of BEAMs and RODs
-					sql = "select gid from grids_" + model_.getID();
-					sql += " where (gid = ? or gid = ?)";
-					sql += rangeQuery;
-					try (PreparedStatement queryBeamRodCoords = connection.prepareStatement(sql)) {
-
-						// prepare statement for inserting into element groups
-						sql = "insert into ELEMENT_GROUPS_" + model_.getID() + "(group_id, eid) values(?, ?)";
-						try (PreparedStatement insertToGroups = connection.prepareStatement(sql)) {
-
-							// set group ID
-							insertToGroups.setInt(1, groupID);
-
-							// execute query to get element grid IDs
-							sql = "select eid, el_type, g1, g2, g3, g4 from elements_" + model_.getID();
-							try (ResultSet getGIDs = statement.executeQuery(sql)) {
-
-								// loop over elements
-								int elems = 0;
-								while (getGIDs.next()) {
-
-									// task cancelled
-									if (isCancelled())
-										return -1;
-
-									// update progress info
-									updateProgress(elems, numTotal);
-									elems++;
-
-									// get element type
-									String eType = getGIDs.getString("el_type");
-
-									// QUAD
-									if (eType.equals(ElementType.QUAD)) {
-										grids = quadShearGrids;
-										query = queryQuadShearCoords;
-									}
-
-									// TRIA
-									else if (eType.equals(ElementType.TRIA)) {
-										grids = triaGrids;
-										query = queryTriaCoords;
-									}
-
-									// BEAM
-									else if (eType.equals(ElementType.BEAM)) {
-										grids = beamRodGrids;
-										query = queryBeamRodCoords;
-									}
-
-									// ROD
-									else if (eType.equals(ElementType.ROD)) {
-										grids = beamRodGrids;
-										query = queryBeamRodCoords;
-									}
-
-									// SHEAR
-									else if (eType.equals(ElementType.SHEAR)) {
-										grids = quadShearGrids;
-										query = queryQuadShearCoords;
-									}
-
-									// invalid type
-									else {
-										addWarning("Invalid element type encountered in elements database. Type: " + eType + ", EID: " + getGIDs.getInt("eid"));
-										continue;
-									}
-
-									// set grid IDs
-									for (int i = 0; i < grids.length; i++) {
-										grids[i].setID(getGIDs.getInt("g" + (i + 1)));
-										query.setInt(i + 1, grids[i].getID());
-									}
-
-									// get grid coordinates
-									try (ResultSet getCoords = query.executeQuery()) {
-										int num = 0;
-										while (getCoords.next()) {
-											num++;
-										}
-										if (num != grids.length) {
-											continue;
-										}
-									}
-
-									// insert to group
-									insertToGroups.setInt(2, getGIDs.getInt("eid"));
-									insertToGroups.executeUpdate();
-									numel++;
-								}
-							}
-						}
-					}
-				}
-			}
+		// prepare statement for inserting into element groups
+		String sql = "insert into ELEMENT_GROUPS_" + model_.getID() + "(group_id, eid) values(?, ?)";
+		try (PreparedStatement insertToGroups = connection.prepareStatement(sql)) {
 
-			// return number of elements
-			return numel;
-		}
+			// set group ID
+			insertToGroups.setInt(1, groupID);
+
+			// loop over elements
+			for (int i = 0; i < elements.length; i++) {
+
+				// task cancelled
+				if (isCancelled())
+					return -1;
 
-		// close query if not closed
-		finally {
-			if (query != null) {
-				query.close();
+				// update progress info
+				updateProgress(i, elements.length);
+
+				// insert to group
+				insertToGroups.setInt(2, geometry.getElementID(elements[i]));
+				insertToGroups.addBatch();
 			}
+
+			// execute insertions
+			insertToGroups.executeBatch();
 		}
+
+		// return number of elements
+		return elements.length;
 	}
 
 	/**
-	 * Creates and returns coordinate range query.
+	 * Sets the given coordinate range to the search box.
 	 *
-	 * @return Coordinate range query.
+	 * @param isGiven
+	 *            True if the range is given.
+	 * @param range
+	 *            Coordinate range.
+	 * @param axis
+	 *            Coordinate axis.
+	 * @param min
+	 *            Minimum coordinates of the search box.
+	 * @param max
+	 *            Maximum coordinates of the search box.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private String getCoordinateRangeQuery() throws Exception {
-
-		// initialize query
-		String query = "";
-
-		// x range
-		if (x_) {
-			query += " and (x_coord >= " + Double.parseDouble(xRange_[0].trim());
-			query += " and x_coord <= " + Double.parseDouble(xRange_[1].trim()) + ")";
-		}
-
-		// y range
-		if (y_) {
-			query += " and (y_coord >= " + Double.parseDouble(yRange_[0].trim());
-			query += " and y_coord <= " + Double.parseDouble(yRange_[1].trim()) + ")";
-		}
-
-		// z range
-		if (z_) {
-			query += " and (z_coord >= " + Double.parseDouble(zRange_[0].trim());
-			query += " and z_coord <= " + Double.parseDouble(zRange_[1].trim()) + ")";
-		}
-
-		// return query
-		return query;
+	private static void setRange(boolean isGiven, String[] range, int axis, double[] min, double[] max) throws Exception {
+		min[axis] = isGiven ? Double.parseDouble(range[0].trim()) : Double.NEGATIVE_INFINITY;
+		max[axis] = isGiven ? Double.parseDouble(range[1].trim()) : Double.POSITIVE_INFINITY;
 	}
 }
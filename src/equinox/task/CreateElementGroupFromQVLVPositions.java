@@ -21,8 +21,8 @@ import java.sql.ResultSet;
 import java.sql.Statement;
 
 import equinox.Equinox;
-import equinox.data.ElementType;
-import equinox.data.Grid;
+import equinox.data.ModelGeometry;
+import equinox.data.ModelSpatialIndex;
 import equinox.data.fileType.AircraftModel;
 import equinox.data.ui.QVLVPosition;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
@@ -144,17 +144,8 @@ public class CreateElementGroupFromQVLVPositions extends InternalEquinoxTask<Voi
 		if ((groupID == -1) || isCancelled())
 			return;
 
-		// get total number of elements
-		int numTotal = 0;
-		sql = "select num_elems from ac_models where model_id = " + model_.getID();
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				numTotal = resultSet.getInt("num_elems");
-			}
-		}
-
 		// insert element IDs
-		int numel = insertEIDs(groupID, numTotal, connection, statement);
+		int numel = insertEIDs(groupID, connection);
 
 		// task cancelled
 		if ((numel == -1) || isCancelled())
@@ -171,176 +162,64 @@ public class CreateElementGroupFromQVLVPositions extends InternalEquinoxTask<Voi
 	 *
 	 * @param groupID
 	 *            Group ID.
-	 * @param numTotal
-	 *            Total number of elements.
 	 * @param connection
 	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
 	 * @return Number of elements of the group.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private int insertEIDs(int groupID, int numTotal, Connection connection, Statement statement) throws Exception {
+	private int insertEIDs(int groupID, Connection connection) throws Exception {
+
+		// get spatial index of model
+		updateMessage("Getting spatial index of model...");
+		ModelGeometry geometry = Equinox.GEOMETRY_CACHE.get(connection, model_.getID());
+		ModelSpatialIndex index = geometry.getSpatialIndex(connection);
+
+		// warn for invalid element types
+		for (int i = 0; i < geometry.getNumberOfElements(); i++) {
+			if (geometry.getElementType(i) == null) {
+				addWarning("Invalid element type encountered in elements database. EID: " + geometry.getElementID(i));
+			}
+		}
+
+		// task cancelled
+		if (isCancelled())
+			return -1;
+
+		// get elements at frame/stringer positions
+		updateMessage("Searching elements at frame/stringer positions...");
+		int[] elements = index.getElements(index.getGridsAtPositions(positions_));
 
 		// update info
 		updateMessage("Adding elements to group...");
 
-		// initialize variables
-		int numel = 0;
-		Grid[] quadShearGrids = { new Grid(), new Grid(), new Grid(), new Grid() };
-		Grid[] triaGrids = { new Grid(), new Grid(), new Grid() };
-		Grid[] beamRodGrids = { new Grid(), new Grid() };
-		Grid[] grids = null;
-		@SuppressWarnings("resource")
-		PreparedStatement query = null;
-
-		try {
-
-			// get frame/stringer position query
-			String positionQuery = getPositionQuery();
-
-			// prepare statement to get grid coordinates of QUADs
-			String sql = "select gid from grids_" + model_.getID();
-			sql += " where (gid = ? or gid = ? or gid = ? or gid = ?)";
-			sql += positionQuery;
-			try (PreparedStatement queryQuadShearCoords = connection.prepareStatement(sql)) {
-
-				// prepare statement to get grid coordinates of TRIAs
-				sql = "select gid from grids_" + model_.getID();
-				sql += " where (gid = ? or gid = ? or gid = ?)";
-				sql += positionQuery;
-				try (PreparedStatement queryTriaCoords = connection.prepareStatement(sql)) {
-
-					// prepare statement to get grid coordinates of BEAMs and RODs
-					sql = "select gid from grids_" + model_.getID();
-					sql += " where (gid = ? or gid = ?)";
-					sql += positionQuery;
-					try (PreparedStatement queryBeamRodCoords = connection.prepareStatement(sql)) {
-
-						// prepare statement for inserting into element groups
-						sql = "insert into ELEMENT_GROUPS_" + model_.getID() + "(group_id, eid) values(?, ?)";
-						try (PreparedStatement insertToGroups = connection.prepareStatement(sql)) {
-
-							// set group ID
-							insertToGroups.setInt(1, groupID);
-
-							// execute query to get element grid IDs
-							sql = "select eid, el_type, g1, g2, g3, g4 from elements_" + model_.getID();
-							try (ResultSet getGIDs = statement.executeQuery(sql)) {
-
-								// loop over elements
-								int elems = 0;
-								while (getGIDs.next()) {
-
-									// task cancelled
-									if (isCancelled())
-										return -1;
-
-									// update progress info
-									updateProgress(elems, numTotal);
-									elems++;
-
-									// get element type
-									String eType = getGIDs.getString("el_type");
-
-									// QUAD
-									if (eType.equals(ElementType.QUAD)) {
-										grids = quadShearGrids;
-										query = queryQuadShearCoords;
-									}
-
-									// TRIA
-									else if (eType.equals(ElementType.TRIA)) {
-										grids = triaGrids;
-										query = queryTriaCoords;
-									}
-
-									// BEAM
-									else if (eType.equals(ElementType.BEAM)) {
-										grids = beamRodGrids;
-										query = queryBeamRodCoords;
-									}
-
-									// ROD
-									else if (eType.equals(ElementType.ROD)) {
-										grids = beamRodGrids;
-										query = queryBeamRodCoords;
-									}
-
-									// SHEAR
-									else if (eType.equals(ElementType.SHEAR)) {
-										grids = quadShearGrids;
-										query = queryQuadShearCoords;
-									}
-
-									// invalid type
-									else {
-										addWarning("Invalid element type encountered in elements database. Type: " + eType + ", EID: " + getGIDs.getInt("eid"));
-										continue;
-									}
-
-									// set grid IDs
-									for (int i = 0; i < grids.length; i++) {
-										grids[i].setID(getGIDs.getInt("g" + (i + 1)));
-										query.setInt(i + 1, grids[i].getID());
-									}
-
-									// get grid coordinates
-									try (ResultSet getCoords = query.executeQuery()) {
-										int num = 0;
-										while (getCoords.next()) {
-											num++;
-										}
-										if (num != grids.length) {
-											continue;
-										}
-									}
-
-									// insert to group
-									insertToGroups.setInt(2, getGIDs.getInt("eid"));
-									insertToGroups.executeUpdate();
-									numel++;
-								}
-							}
-						}
-					}
-				}
-			}
+		// prepare statement for inserting into element groups
+		String sql = "insert into ELEMENT_GROUPS_" + model_.getID() + "(group_id, eid) values(?, ?)";
+		try (PreparedStatement insertToGroups = connection.prepareStatement(sql)) {
 
-			// return number of elements
-			return numel;
-		}
+			// set group ID
+			insertToGroups.setInt(1, groupID);
 
-		// close query if not closed
-		finally {
-			if (query != null) {
-				query.close();
-			}
-		}
-	}
+			// loop over elements
+			for (int i = 0; i < elements.length; i++) {
 
-	/**
-	 * Creates and returns frame/stringer position query.
-	 *
-	 * @return Frame/stringer position query.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String getPositionQuery() throws Exception {
+				// task cancelled
+				if (isCancelled())
+					return -1;
+
+				// update progress info
+				updateProgress(i, elements.length);
 
-		// initialize query
-		String sql = "";
+				// insert to group
+				insertToGroups.setInt(2, geometry.getElementID(elements[i]));
+				insertToGroups.addBatch();
+			}
 
-		// add frame positions
-		sql += " and (";
-		for (QVLVPosition position : positions_) {
-			sql += "(qv_pos = '" + position.getFramepos().replaceAll("'", "''") + "' and ";
-			sql += "lv_pos = '" + position.getStringerpos().replaceAll("'", "''") + "') or ";
+			// execute insertions
+			insertToGroups.executeBatch();
 		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ")";
 
-		// return query
-		return sql;
+		// return number of elements
+		return elements.length;
 	}
 }
@@ -15,8 +15,6 @@
  */
 package equinox.task;
 
-import java.io.BufferedWriter;
-import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -25,13 +23,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
 import equinox.data.AnalysisEngine;
+import equinox.data.BlobStore;
+import equinox.data.CompiledSpectrum;
+import equinox.data.CompiledSpectrumCache.Lease;
 import equinox.data.DPRatio;
 import equinox.data.DT1PointInterpolator;
 import equinox.data.DT2PointsInterpolator;
@@ -41,8 +41,7 @@ import equinox.data.EmbeddedTask;
 import equinox.data.IsamiSubVersion;
 import equinox.data.IsamiVersion;
 import equinox.data.LoadcaseFactor;
-import equinox.data.OneGStresses;
-import equinox.data.Segment;
+import equinox.data.STFStressVector;
 import equinox.data.SegmentFactor;
 import equinox.data.Settings;
 import equinox.data.StressComponent;
@@ -55,14 +54,20 @@ import equinox.data.input.GenerateStressSequenceInput;
 import equinox.dataServer.remote.data.FatigueMaterial;
 import equinox.dataServer.remote.data.Material;
 import equinox.plugin.FileType;
+import equinox.process.CompileSpectrum;
+import equinox.process.DamageAngleSolver;
 import equinox.process.ESAProcess;
 import equinox.process.InbuiltDAA;
+import equinox.process.JavaDAA;
+import equinox.process.ReadSTFStresses;
 import equinox.process.SafeDAA;
+import equinox.process.StressSequenceKernel;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
 import equinox.task.serializableTask.SerializableDamageAngleAnalysis;
+import equinox.utility.StressHistoryWriter;
 import equinox.utility.Utility;
 
 /**
@@ -107,17 +112,11 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	/** True compression should be applied in propagation analysis. */
 	private boolean applyCompression_;
 
-	/** Decimal format. */
-	private final DecimalFormat format_ = new DecimalFormat("0.00");
+	/** Maximum number of peaks per typical flight. */
+	private int maxPeaks_;
 
-	/** Number of columns. */
-	private static final int NUM_COLS = 8;
-
-	/** STH file indices. */
-	private int rowIndex_ = 0, colIndex_ = 0, maxPeaks_;
-
-	/** STH lines. */
-	private String[] lines_;
+	/** Damage angle sweep solver. This is used only for Java analysis engine, in which case no STH files are generated. */
+	private DamageAngleSolver solver_;
 
 	/** Delta-p ratios. */
 	private DPRatio[] dpRatios_;
@@ -413,7 +412,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 
 		// plot and save damage angles
 		try {
-			taskPanel_.getOwner().runTaskSilently(new SaveDamageAnglePlot(angle), false).get();
+			runSilently(new SaveDamageAnglePlot(angle), false).get();
 		}
 
 		// exception occurred (ignore since it is handled within the task)
@@ -570,6 +569,11 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 			}
 		}
 
+		// Java engine
+		else if (analysisEngine_.equals(AnalysisEngine.JAVA)) {
+			equivalentStressAnalysis_ = new JavaDAA(this, solver_, flsFile, validity);
+		}
+
 		// inbuilt engine
 		else {
 			equivalentStressAnalysis_ = new InbuiltDAA(this, sthFiles, flsFile, incAngles, material_, validity, maxPeaks_ > EquivalentStressAnalysis.MAX_PEAKS, input_.isApplyOmission(), input_.getOmissionlevel());
@@ -613,8 +617,7 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 
 					// FLS file format
 					Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-					Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-					Path flsFile = Utility.extractFileFromZIP(zipFile, this, FileType.FLS, null);
+					Path flsFile = BlobStore.extractFile(blob, zipFile, this, FileType.FLS, null);
 					Files.copy(flsFile, output, StandardCopyOption.REPLACE_EXISTING);
 
 					// free blob
@@ -649,7 +652,8 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	}
 
 	/**
-	 * Generates spectra for each increment angle and writes out STH files.
+	 * Generates spectra for each increment angle and writes out STH files. For the Java analysis engine, no STH files are written; typical flights of all angles are passed to the damage angle
+	 * solver instead.
 	 *
 	 * @param connection
 	 *            Database connection.
@@ -666,29 +670,41 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 
 		// initialize mapping
 		Path[] paths = new Path[incAngles.length];
-		BufferedWriter[] writers = new BufferedWriter[incAngles.length];
+		StressHistoryWriter[] writers = new StressHistoryWriter[incAngles.length];
 
 		try {
 
-			// create paths file writers
-			updateMessage("Creating STH file writers...");
-			Path rootDir = getWorkingDirectory();
-			String baseFileName = FileType.getNameWithoutExtension(stfFile_ == null ? stfName_ : stfFile_.getName());
+			// compute radians
 			double[] radians = new double[incAngles.length];
-			lines_ = new String[incAngles.length];
 			for (int i = 0; i < incAngles.length; i++) {
-				paths[i] = rootDir.resolve(FileType.appendExtension(Utility.correctFileName(baseFileName) + "_" + incAngles[i], FileType.STH));
-				writers[i] = Files.newBufferedWriter(paths[i], Charset.defaultCharset());
-				writeSTHHeader(writers[i], incAngles[i]);
 				radians[i] = Math.toRadians(incAngles[i]);
 			}
 
+			// create sweep solver (Java engine)
+			if (analysisEngine_.equals(AnalysisEngine.JAVA)) {
+				solver_ = new DamageAngleSolver(material_, incAngles, input_.isApplyOmission(), input_.getOmissionlevel());
+			}
+
+			// create paths file writers
+			else {
+				updateMessage("Creating STH file writers...");
+				Path rootDir = getWorkingDirectory();
+				String baseFileName = FileType.getNameWithoutExtension(stfFile_ == null ? stfName_ : stfFile_.getName());
+				for (int i = 0; i < incAngles.length; i++) {
+					paths[i] = rootDir.resolve(FileType.appendExtension(Utility.correctFileName(baseFileName) + "_" + incAngles[i], FileType.STH));
+					writers[i] = new StressHistoryWriter(paths[i]);
+					writeSTHHeader(writers[i], incAngles[i]);
+				}
+			}
+
 			// get spectrum file IDs
 			updateMessage("Getting spectrum file IDs from database...");
 			Spectrum cdfSet = stfFile_ == null ? spectrum_ : stfFile_.getParentItem();
 			int anaFileID = cdfSet.getANAFileID();
 			int txtFileID = cdfSet.getTXTFileID();
 			int convTableID = cdfSet.getConversionTableID();
+			int stfID = stfFile_ == null ? stfID_ : stfFile_.getID();
+			int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
 
 			// create statement
 			try (Statement statement = connection.createStatement()) {
@@ -700,603 +716,71 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 				// get DT parameters
 				updateMessage("Computing delta-t interpolation...");
 				dtInterpolators_ = getDTInterpolators(connection, statement, txtFileID, radians);
-
-				// get number of flights and peaks of the ANA file
-				int numPeaks = getNumberOfPeaks(statement, anaFileID);
-
-				// get maximum number of peaks per typical flight
-				maxPeaks_ = getMaxPeaksPerFlight(statement, anaFileID);
-
-				// prepare statement for selecting ANA peaks
-				int stfID = stfFile_ == null ? stfID_ : stfFile_.getID();
-				int stressTableID = stfFile_ == null ? stressTableID_ : stfFile_.getStressTableID();
-				String sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = ?";
-				try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
-
-					// prepare statement for selecting 1g issy code
-					sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
-					try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
-
-						// prepare statement for selecting increment issy code
-						sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = " + txtFileID
-								+ " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
-						try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
-
-							// prepare statement for selecting STF stress
-							sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID + " where file_id = " + stfID + " and issy_code = ?";
-							try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
-
-								// execute query for selecting ANA flights
-								sql = "select * from ana_flights where file_id = " + anaFileID + " order by flight_num";
-								try (ResultSet anaFlights = statement.executeQuery(sql)) {
-
-									// loop over flights
-									HashMap<String, OneGStresses> oneg = new HashMap<>();
-									HashMap<String, double[]> inc = new HashMap<>();
-									int peakCount = 0;
-									while (anaFlights.next()) {
-
-										// task cancelled
-										if (isCancelled())
-											return null;
-
-										// write flight header
-										int flightPeaks = anaFlights.getInt("num_peaks");
-										writeFlightHeaders(writers, anaFlights, flightPeaks);
-
-										// initialize variables
-										int rem = flightPeaks % NUM_COLS;
-										int numRows = flightPeaks / NUM_COLS + (rem == 0 ? 0 : 1);
-										rowIndex_ = 0;
-										colIndex_ = 0;
-										for (int i = 0; i < lines_.length; i++) {
-											lines_[i] = "";
-										}
-
-										// execute statement for getting ANA peaks
-										selectANAPeak.setInt(1, anaFlights.getInt("flight_id"));
-										try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
-
-											// loop over peaks
-											while (anaPeaks.next()) {
-
-												// task cancelled
-												if (isCancelled())
-													return null;
-
-												// update progress
-												updateProgress(peakCount, numPeaks);
-												peakCount++;
-
-												// insert peak into STH peaks table
-												writeSTHPeak(radians, writers, anaPeaks, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, dpRatios_, dtInterpolators_, rem, numRows);
-											}
-										}
-									}
-								}
-							}
-						}
-					}
-				}
 			}
 
-			// return paths
-			return paths;
-		}
-
-		// close file writers
-		finally {
-			for (BufferedWriter writer : writers)
-				if (writer != null) {
-					writer.close();
-				}
-		}
-	}
-
-	/**
-	 * Writes out flight headers to output STH files.
-	 *
-	 * @param writers
-	 *            File writers.
-	 * @param anaFlights
-	 *            ANA flights.
-	 * @param flightPeaks
-	 *            Number of peaks of the flight.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void writeFlightHeaders(BufferedWriter[] writers, ResultSet anaFlights, int flightPeaks) throws Exception {
-
-		// update info
-		String name = anaFlights.getString("name");
-		updateMessage("Generating flight '" + name + "'...");
-
-		// create first line of flight info
-		String line1 = String.format("%10s", format_.format(anaFlights.getDouble("validity")));
-		line1 += String.format("%10s", format_.format(anaFlights.getDouble("block_size")));
-
-		// create second line of flight info
-		String line2 = String.format("%10s", Integer.toString(flightPeaks));
-		for (int i = 0; i < 62; i++) {
-			line2 += " ";
-		}
-		line2 += (name.startsWith("TF_") ? name.substring(3) : name) + " " + anaFlights.getString("severity");
-
-		// write headers
-		for (BufferedWriter writer : writers) {
-			writer.write(line1);
-			writer.newLine();
-			writer.write(line2);
-			writer.newLine();
-		}
-	}
-
-	/**
-	 * Writes STH peaks to output files.
-	 *
-	 * @param radians
-	 *            Incremental angles.
-	 * @param writers
-	 *            File writers.
-	 * @param anaPeaks
-	 *            ANA peaks.
-	 * @param select1GIssyCode
-	 *            Database statement for selecting 1g issy codes.
-	 * @param selectSTFStress
-	 *            Database statement for selecting STF stresses.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy codes.
-	 * @param oneg
-	 *            Mapping containing 1g codes versus the stresses.
-	 * @param inc
-	 *            Mapping containing class codes versus the stresses.
-	 * @param dpRatios
-	 *            Delta-p ratios.
-	 * @param dtInterpolators
-	 *            Delta-t interpolators.
-	 * @param numRows
-	 *            Number of rows to write.
-	 * @param rem
-	 *            Remaining number of columns in the STH output file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void writeSTHPeak(double[] radians, BufferedWriter[] writers, ResultSet anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, OneGStresses> oneg, HashMap<String, double[]> inc, DPRatio[] dpRatios,
-			DTInterpolator[] dtInterpolators, int rem, int numRows) throws Exception {
-
-		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
-		String onegCode = classCode.substring(0, 4);
-
-		// get 1g stresses
-		OneGStresses onegStress = oneg.get(onegCode);
-		if (onegStress == null) {
-			onegStress = get1GStress(radians, selectSTFStress, select1GIssyCode, onegCode);
-			oneg.put(onegCode, onegStress);
-		}
-
-		// get segment
-		Segment segment = onegStress.getSegment();
+			// compile spectrum (shared with other tasks through spectrum cache)
+			try (Lease lease = Equinox.SPECTRUM_CACHE.acquire(anaFileID, txtFileID, convTableID, () -> new CompileSpectrum(this, anaFileID, txtFileID).start(connection))) {
 
-		// get increment stresses
-		double[] incStress = inc.get(classCode);
-		if (incStress == null) {
-			incStress = getIncStress(radians, selectSTFStress, selectIncrementIssyCode, classCode, onegCode, segment);
-			inc.put(classCode, incStress);
-		}
-
-		// compute and modify delta-p stress
-		double[] dpStress = new double[radians.length];
-		if (dpRatios[0] != null) {
-			double pressure = anaPeaks.getDouble("delta_p");
-			for (int i = 0; i < dpStress.length; i++) {
-				dpStress[i] = dpRatios[i].getStress(pressure);
-				dpStress[i] = modifyStress(dpRatios[i].getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress[i]);
-			}
-		}
-
-		// compute and modify delta-t stress
-		double[] dtStress = new double[radians.length];
-		if (dtInterpolators != null) {
-
-			// get temperature
-			double temperature = anaPeaks.getDouble("delta_t");
-
-			// loop over angles
-			for (int i = 0; i < dtStress.length; i++) {
-
-				// get delta-t stress
-				dtStress[i] = dtInterpolators[i] == null ? 0.0 : dtInterpolators[i].getStress(temperature);
-
-				// modify stress for 1 point interpolation
-				if (dtInterpolators[i] != null && dtInterpolators[i] instanceof DT1PointInterpolator) {
-					DT1PointInterpolator onePoint = (DT1PointInterpolator) dtInterpolators[i];
-					dtStress[i] = modifyStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress[i]);
-				}
-
-				// modify stress for 2 points interpolation
-				else if (dtInterpolators[i] != null && dtInterpolators[i] instanceof DT2PointsInterpolator) {
-					DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolators[i];
-					dtStress[i] = modify2PointDTStress(twoPoints, segment, dtStress[i]);
-				}
-			}
-		}
-
-		// calculate total stresses
-		double[] totalStresses = new double[radians.length];
-		for (int i = 0; i < radians.length; i++) {
-			totalStresses[i] = onegStress.getStresses()[i] + incStress[i] + dpStress[i] + dtStress[i];
-			if (totalStresses[i] < 0 && input_.isRemoveNegativeStresses()) {
-				totalStresses[i] = 0.0;
-			}
-		}
-
-		// last row
-		if (rowIndex_ == numRows - 1) {
+				// compilation cancelled
+				CompiledSpectrum spectrum = lease.getSpectrum();
+				if (spectrum == null)
+					return null;
 
-			// add peaks
-			for (int i = 0; i < lines_.length; i++) {
-				lines_[i] += String.format("%10s", format_.format(totalStresses[i]));
-			}
-			colIndex_++;
-
-			// last column
-			if (colIndex_ == (rem == 0 ? NUM_COLS : rem)) {
-				for (int i = 0; i < lines_.length; i++) {
-					writers[i].write(lines_[i]);
-					writers[i].newLine();
-					lines_[i] = "";
+				// create stress kernels of increment angles
+				STFStressVector stresses = new ReadSTFStresses(this, spectrum, stfID, stressTableID).start(connection);
+				StressSequenceKernel[] kernels = new StressSequenceKernel[incAngles.length];
+				for (int i = 0; i < kernels.length; i++) {
+					kernels[i] = new StressSequenceKernel(spectrum, stresses, input_, StressComponent.ROTATED, radians[i], dpRatios_[i], dtInterpolators_ == null ? null : dtInterpolators_[i]);
 				}
-				colIndex_ = 0;
-				rowIndex_++;
-			}
-		}
-
-		// other rows
-		else {
 
-			// add peaks
-			for (int i = 0; i < lines_.length; i++) {
-				lines_[i] += String.format("%10s", format_.format(totalStresses[i]));
-			}
-			colIndex_++;
-
-			// last column
-			if (colIndex_ == NUM_COLS) {
-				for (int i = 0; i < lines_.length; i++) {
-					writers[i].write(lines_[i]);
-					writers[i].newLine();
-					lines_[i] = "";
-				}
-				colIndex_ = 0;
-				rowIndex_++;
-			}
-		}
-	}
-
-	/**
-	 * Sets increment stress to given ANA peak.
-	 *
-	 * @param radians
-	 *            Increment angles.
-	 * @param selectSTFStress
-	 *            Database statement for selecting stress from STF file.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy code.
-	 * @param classCode
-	 *            14 digit class code.
-	 * @param onegCode
-	 *            1g code.
-	 * @param segment
-	 *            Segment.
-	 * @return Returns the increment stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private double[] getIncStress(double[] radians, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, String classCode, String onegCode, Segment segment) throws Exception {
-
-		// add default increment stress
-		double[] totalIncrementStress = new double[radians.length];
-
-		// loop over increments
-		for (int i = 0; i < 5; i++) {
-
-			// get increment block
-			String block = classCode.substring(2 * i + 4, 2 * i + 6);
-
-			// no increment
-			if (block.equals("00")) {
-				continue;
-			}
-
-			// set parameters
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, block.substring(1)); // direction number
-			selectIncrementIssyCode.setString(4, block.substring(0, 1)); // factor number
-
-			// query issy code, factor and event name
-			try (ResultSet resultSet = selectIncrementIssyCode.executeQuery()) {
+				// get maximum number of peaks per typical flight
+				maxPeaks_ = spectrum.getMaxPeaksPerFlight();
+				double[][] flightPeaks = new double[incAngles.length][Math.max(maxPeaks_, 1)];
 
-				// loop over increments
-				while (resultSet.next()) {
+				// loop over flights
+				updateMessage("Generating stress sequences for incremental angles...");
+				int numFlights = spectrum.getNumberOfFlights();
+				for (int i = 0; i < numFlights; i++) {
 
-					// get issy code, factor and event name
-					String issyCode = resultSet.getString("issy_code");
-					double factor = resultSet.getDouble("factor_" + block.substring(0, 1));
+					// task cancelled
+					if (isCancelled())
+						return null;
 
-					// compute increment stresses
-					double[] stress = getSTFStress(segment, radians, selectSTFStress, issyCode, GenerateStressSequenceInput.INCREMENT);
+					// update progress
+					updateProgress(i, numFlights);
 
-					// add to total increment stress
-					for (int j = 0; j < stress.length; j++) {
-						totalIncrementStress[j] += stress[j] * factor;
+					// compute flight peaks of all angles
+					int numFlightPeaks = 0;
+					for (int j = 0; j < kernels.length; j++) {
+						numFlightPeaks = kernels[j].getFlightStresses(i, flightPeaks[j], input_.isRemoveNegativeStresses());
 					}
-				}
-			}
-		}
 
-		// set increment stresses
-		return totalIncrementStress;
-	}
-
-	/**
-	 * Sets 1g stress to given ANA peak.
-	 *
-	 * @param radians
-	 *            Increment angles.
-	 * @param selectSTFStress
-	 *            Database statement for selecting stresses from STF file.
-	 * @param select1gIssyCode
-	 *            Database statement for selecting 1g issy code from TXT file.
-	 * @param onegCode
-	 *            1g code.
-	 * @return The 1g stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private OneGStresses get1GStress(double[] radians, PreparedStatement selectSTFStress, PreparedStatement select1gIssyCode, String onegCode) throws Exception {
-
-		// get 1G issy code and event name
-		String issyCode = null, event = null, segmentName = null;
-		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
-		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
-			while (resultSet.next()) {
-
-				// get issy code and event name
-				issyCode = resultSet.getString("issy_code");
-				event = resultSet.getString("flight_phase");
-				segmentNum = resultSet.getInt("oneg_order");
-
-				// extract segment name
-				segmentName = Utility.extractSegmentName(event);
-			}
-		}
-
-		// create segment
-		Segment segment = new Segment(segmentName, segmentNum);
-
-		// compute and return 1g stresses
-		return new OneGStresses(segment, getSTFStress(segment, radians, selectSTFStress, issyCode, GenerateStressSequenceInput.ONEG));
-	}
-
-	/**
-	 * Returns STF stress for given issy code.
-	 *
-	 * @param segment
-	 *            Segment.
-	 * @param radians
-	 *            Incremental angles.
-	 * @param selectSTFStress
-	 *            Database statement.
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param stressType
-	 *            Stress type (1g, increment, delta-p or total stress).
-	 * @return STF stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private double[] getSTFStress(Segment segment, double[] radians, PreparedStatement selectSTFStress, String issyCode, int stressType) throws Exception {
-
-		// initialize stress array
-		double[] stresses = new double[radians.length];
-
-		// query stresses
-		selectSTFStress.setString(1, issyCode);
-		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
-			while (resultSet.next()) {
-
-				// get stresses
-				double x = resultSet.getDouble("stress_x");
-				double y = resultSet.getDouble("stress_y");
-				double xy = resultSet.getDouble("stress_xy");
-
-				// rotate stresses
-				for (int i = 0; i < stresses.length; i++) {
-					stresses[i] = 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * radians[i]) + xy * Math.sin(2 * radians[i]);
-					stresses[i] = modifyStress(issyCode, segment, stressType, stresses[i]);
-				}
-			}
-		}
-		return stresses;
-	}
-
-	/**
-	 * Modifies and returns stress according to event name and stress type.
-	 *
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param segment
-	 *            Segment.
-	 * @param stressType
-	 *            Stress type (1g, increment, delta-p or total stress).
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @return The modified stress value.
-	 */
-	private double modifyStress(String issyCode, Segment segment, int stressType, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(stressType);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
+					// write flight peaks
+					if (solver_ == null) {
+						for (int j = 0; j < writers.length; j++) {
+							writers[j].writeFlightHeader(spectrum.getValidity(i), spectrum.getBlockSize(i), numFlightPeaks, spectrum.getFlightName(i), spectrum.getSeverity(i));
+							writers[j].writePeaks(flightPeaks[j], numFlightPeaks);
+						}
 					}
-					break;
-				}
-		}
 
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
+					// add flight to solver
+					else {
+						solver_.addTypicalFlight(flightPeaks, numFlightPeaks);
 					}
-					break;
 				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param interpolator
-	 *            2 points delta-t interpolator.
-	 * @param segment
-	 *            Segment.
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @return The modified stress value.
-	 */
-	private double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
+			}
 
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
+			// return paths
+			return paths;
 		}
 
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
+		// close file writers
+		finally {
+			for (StressHistoryWriter writer : writers)
+				if (writer != null) {
+					writer.close();
 				}
 		}
-
-		// return modified stress
-		return stress;
-	}
-
-	/**
-	 * Returns maximum number of peaks per typical flight. This is used to determine if the extended in-build engine should be used for analysis.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @return Maximum number of peaks per typical flight.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static int getMaxPeaksPerFlight(Statement statement, int anaFileID) throws Exception {
-		int maxPeaks = 0;
-		String sql = "select num_peaks from ana_flights where file_id = " + anaFileID + " order by num_peaks desc";
-		statement.setMaxRows(1);
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				maxPeaks = resultSet.getInt("num_peaks");
-			}
-		}
-		statement.setMaxRows(0);
-		return maxPeaks;
-	}
-
-	/**
-	 * Returns the number of peaks of the ANA file.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @return Number of peaks of the ANA file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static int getNumberOfPeaks(Statement statement, int anaFileID) throws Exception {
-		String sql = "select sum(num_peaks) as totalPeaks from ana_flights where file_id = " + anaFileID;
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next())
-				return resultSet.getInt("totalPeaks");
-		}
-		return 0;
 	}
 
 	/**
@@ -1586,15 +1070,11 @@ public class DamageAngleAnalysis extends TemporaryFileCreatingTask<DamageAngle>
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void writeSTHHeader(BufferedWriter writer, int angle) throws Exception {
-		writer.write(" # STH file for incremental angle: " + angle);
-		writer.newLine();
-		writer.write(" #");
-		writer.newLine();
-		writer.write(" #");
-		writer.newLine();
-		writer.write(" #");
-		writer.newLine();
+	private static void writeSTHHeader(StressHistoryWriter writer, int angle) throws Exception {
+		writer.writeLine(" # STH file for incremental angle: " + angle);
+		writer.writeLine(" #");
+		writer.writeLine(" #");
+		writer.writeLine(" #");
 	}
 
 	/**
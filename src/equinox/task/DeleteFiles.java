@@ -23,6 +23,9 @@ import java.sql.Statement;
 import java.util.ArrayList;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
+import equinox.data.LoadCaseStressCube;
+import equinox.data.PeakStore;
 import equinox.data.fileType.AircraftFatigueEquivalentStress;
 import equinox.data.fileType.AircraftLoadCase;
 import equinox.data.fileType.AircraftModel;
@@ -140,6 +143,19 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
+
+				// delete archived input files which are no longer referenced
+				for (SpectrumItem file : files_) {
+					if (file instanceof Spectrum) {
+						try {
+							BlobStore.deleteUnreferenced(connection);
+						}
+						catch (Exception e) {
+							addWarning("Exception occurred during deleting unreferenced archived input files.", e);
+						}
+						break;
+					}
+				}
 			}
 
 			// exception occurred during process
@@ -356,6 +372,9 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 
 			// remove spectrum
 			removeSpectrum(spectrum, statement);
+
+			// remove compiled spectrum from cache
+			Equinox.SPECTRUM_CACHE.remove(spectrum.getANAFileID(), spectrum.getTXTFileID(), spectrum.getConversionTableID());
 		}
 
 		// external stress sequence
@@ -421,6 +440,7 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 		String sql = "delete from load_cases_" + file.getParentItem().getParentItem().getID();
 		sql += " where lc_id = " + file.getID();
 		statement.executeUpdate(sql);
+		LoadCaseStressCube.delete(file.getParentItem().getParentItem().getID());
 
 		// delete from load case names
 		updateMessage("Deleting load case name from database...");
@@ -444,6 +464,7 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 		String sql = "delete from AC_EQ_STRESSES_" + file.getID() + " where ";
 		sql += "name = '" + file.getName() + "'";
 		statement.executeUpdate(sql);
+		Equinox.EQUIVALENT_STRESS_CACHE.remove(file.getID());
 	}
 
 	/**
@@ -465,6 +486,7 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 		statement.executeUpdate("drop table AURORA.grids_" + file.getID());
 		updateMessage("Deleting elements from database...");
 		statement.executeUpdate("drop table AURORA.elements_" + file.getID());
+		Equinox.GEOMETRY_CACHE.remove(file.getID());
 
 		// delete element groups (if any)
 		updateMessage("Deleting element groups from database...");
@@ -490,6 +512,7 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 				statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
 			}
 		}
+		LoadCaseStressCube.delete(file.getID());
 
 		// delete load case names (if any)
 		updateMessage("Deleting load case names from database...");
@@ -506,6 +529,7 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 				statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
 			}
 		}
+		Equinox.EQUIVALENT_STRESS_CACHE.remove(file.getID());
 
 		// delete pilot points (if any)
 		updateMessage("Deleting pilot point links from database...");
@@ -1029,6 +1053,8 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 				// remove peaks
 				updateMessage("Dropping stress sequence peaks table from database...");
 				removeSTHPeaks.executeUpdate("drop table AURORA.sth_peaks_" + sthID);
+				PeakStore.deleteSTH(sthID);
+				Equinox.FLIGHT_CACHE.remove(sthID);
 
 				// remove flights
 				updateMessage("Deleting flight info from database...");
@@ -1243,6 +1269,8 @@ public class DeleteFiles<V extends SpectrumItem> extends InternalEquinoxTask<Voi
 		// remove stress sequence info
 		updateMessage("Dropping stress sequence peaks from database...");
 		statement.executeUpdate("drop table AURORA.sth_peaks_" + file.getID());
+		PeakStore.deleteSTH(file.getID());
+		Equinox.FLIGHT_CACHE.remove(file.getID());
 		updateMessage("Deleting stress sequence flight info from database...");
 		statement.executeUpdate("delete from sth_flights where file_id = " + file.getID());
 		updateMessage("Deleting stress sequence info from database...");
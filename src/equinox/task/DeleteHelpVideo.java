@@ -110,7 +110,7 @@ public class DeleteHelpVideo extends InternalEquinoxTask<Boolean> implements Lon
 			request.setVideoInfo(video_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -126,7 +126,7 @@ public class DeleteHelpVideo extends InternalEquinoxTask<Boolean> implements Lon
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
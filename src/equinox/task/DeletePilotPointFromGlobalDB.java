@@ -110,7 +110,7 @@ public class DeletePilotPointFromGlobalDB extends InternalEquinoxTask<Boolean> i
 			request.setPilotPointInfo(pilotPoint_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -126,7 +126,7 @@ public class DeletePilotPointFromGlobalDB extends InternalEquinoxTask<Boolean> i
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
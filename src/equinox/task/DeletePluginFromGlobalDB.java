@@ -112,7 +112,7 @@ public class DeletePluginFromGlobalDB extends InternalEquinoxTask<Boolean> imple
 			request.setPluginInfo(serverInfo);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -128,7 +128,7 @@ public class DeletePluginFromGlobalDB extends InternalEquinoxTask<Boolean> imple
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
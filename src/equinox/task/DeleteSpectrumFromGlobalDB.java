@@ -110,7 +110,7 @@ public class DeleteSpectrumFromGlobalDB extends InternalEquinoxTask<Boolean> imp
 			request.setSpectrumInfo(spectrum_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -126,7 +126,7 @@ public class DeleteSpectrumFromGlobalDB extends InternalEquinoxTask<Boolean> imp
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
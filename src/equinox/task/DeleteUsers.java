@@ -119,7 +119,7 @@ public class DeleteUsers extends InternalEquinoxTask<Boolean> implements LongRun
 			request.setAliases(split);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -135,7 +135,7 @@ public class DeleteUsers extends InternalEquinoxTask<Boolean> implements LongRun
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
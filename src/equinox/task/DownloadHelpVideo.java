@@ -128,7 +128,7 @@ public class DownloadHelpVideo extends TemporaryFileCreatingTask<Path> implement
 			request.setVideoName(name_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -144,7 +144,7 @@ public class DownloadHelpVideo extends TemporaryFileCreatingTask<Path> implement
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
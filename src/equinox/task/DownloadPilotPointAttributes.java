@@ -130,7 +130,7 @@ public class DownloadPilotPointAttributes extends TemporaryFileCreatingTask<Void
 			request.setDownloadId(ppID);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -146,7 +146,7 @@ public class DownloadPilotPointAttributes extends TemporaryFileCreatingTask<Void
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -139,7 +139,7 @@ public class DownloadPilotPointImages extends TemporaryFileCreatingTask<Void> im
 			request.setDownloadId(ppID);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -155,7 +155,7 @@ public class DownloadPilotPointImages extends TemporaryFileCreatingTask<Void> im
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
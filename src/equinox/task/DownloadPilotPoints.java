@@ -210,7 +210,7 @@ public class DownloadPilotPoints extends TemporaryFileCreatingTask<AddSTFFiles>
 			}
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -226,7 +226,7 @@ public class DownloadPilotPoints extends TemporaryFileCreatingTask<AddSTFFiles>
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -107,7 +107,7 @@ public class DownloadSampleInput extends InternalEquinoxTask<Void> implements Lo
 			request.setName(name_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -123,7 +123,7 @@ public class DownloadSampleInput extends InternalEquinoxTask<Void> implements Lo
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -17,6 +17,9 @@ package equinox.task;
 
 import java.nio.file.Path;
 
+import equinox.Equinox;
+import equinox.data.TaskScheduler.Permit;
+import equinox.data.TaskScheduler.Resource;
 import equinox.serverUtilities.FilerConnection;
 import equinox.serverUtilities.SharedFileInfo;
 import equinox.serverUtilities.SharedFileInfo.SharedFileInfoType;
@@ -74,7 +77,15 @@ public class DownloadSharedFile extends InternalEquinoxTask<Void> implements Lon
 		if (url != null) {
 			try (FilerConnection filer = getFilerConnection()) {
 				if (filer.fileExists(url)) {
-					filer.getSftpChannel().get(url, output_.toString());
+					try (Permit permit = Equinox.SCHEDULER.acquire(Resource.NETWORK, this)) {
+
+						// interrupted while waiting for permit
+						if (permit == null)
+							return null;
+
+						// download
+						filer.getSftpChannel().get(url, output_.toString());
+					}
 				}
 			}
 		}
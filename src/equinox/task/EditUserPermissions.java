@@ -117,7 +117,7 @@ public class EditUserPermissions extends InternalEquinoxTask<Boolean> implements
 				return null;
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -133,7 +133,7 @@ public class EditUserPermissions extends InternalEquinoxTask<Boolean> implements
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -15,9 +15,6 @@
  */
 package equinox.task;
 
-import java.io.File;
-import java.lang.ProcessBuilder.Redirect;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Connection;
@@ -51,12 +48,13 @@ import equinox.plugin.FileType;
 import equinox.process.ESAProcess;
 import equinox.process.InbuiltESA;
 import equinox.process.IsamiESA;
+import equinox.process.JavaESA;
+import equinox.process.OmissionFilter;
 import equinox.process.Rainflow;
 import equinox.process.SafeESA;
 import equinox.process.SaveExternalSTH;
 import equinox.process.SaveSTH;
 import equinox.serverUtilities.Permission;
-import equinox.serverUtilities.ServerUtility;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
@@ -93,9 +91,6 @@ public class EquivalentStressAnalysis extends TemporaryFileCreatingTask<Spectrum
 	/** True compression should be applied in propagation analysis. */
 	private boolean applyCompression_;
 
-	/** Omission process. */
-	private Process omission_;
-
 	/** Rainflow process. */
 	private ESAProcess<Void> rainflow_;
 
@@ -364,7 +359,7 @@ public class EquivalentStressAnalysis extends TemporaryFileCreatingTask<Spectrum
 
 		// generate and save plots
 		try {
-			taskPanel_.getOwner().runTaskSilently(new SaveLevelCrossingsPlot(eqStress), false).get();
+			runSilently(new SaveLevelCrossingsPlot(eqStress), false).get();
 		}
 
 		// exception occurred (ignore since it is handled within the task)
@@ -383,9 +378,6 @@ public class EquivalentStressAnalysis extends TemporaryFileCreatingTask<Spectrum
 		automaticTaskOwnerFailed(automaticTasks_);
 
 		// destroy sub processes (if still running)
-		if (omission_ != null && omission_.isAlive()) {
-			omission_.destroyForcibly();
-		}
 		if (rainflow_ != null) {
 			rainflow_.cancel();
 		}
@@ -404,9 +396,6 @@ public class EquivalentStressAnalysis extends TemporaryFileCreatingTask<Spectrum
 		automaticTaskOwnerFailed(automaticTasks_);
 
 		// destroy sub processes (if still running)
-		if (omission_ != null && omission_.isAlive()) {
-			omission_.destroyForcibly();
-		}
 		if (rainflow_ != null) {
 			rainflow_.cancel();
 		}
@@ -416,11 +405,11 @@ public class EquivalentStressAnalysis extends TemporaryFileCreatingTask<Spectrum
 	}
 
 	/**
-	 * Runs omission script on a separate process. This method will wait till the process has ended.
+	 * Applies omission to the input STH file.
 	 *
 	 * @param inputSTH
 	 *            Input STH file.
-	 * @return Path to omission output file.
+	 * @return Path to omission output file, or null if the task is cancelled.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
@@ -428,59 +417,10 @@ public class EquivalentStressAnalysis extends TemporaryFileCreatingTask<Spectrum
 
 		// update info
 		updateMessage("Applying omission to stress sequence '" + inputSTH.getFileName() + "'...");
-		updateProgress(-1, 100);
-
-		// get path to perl script and perl executable
-		Path script = Equinox.SCRIPTS_DIR.resolve("omission.pl");
-
-		// get input STH file name
-		Path inputSTHFileName = inputSTH.getFileName();
-		if (inputSTHFileName == null)
-			throw new Exception("Cannot get input STH file name.");
-
-		// create process builder for windows
-		ProcessBuilder pb = null;
-		if (Equinox.OS_TYPE.equals(ServerUtility.WINDOWS)) {
-			Path perl = Equinox.SCRIPTS_DIR.resolve("perl").resolve("bin").resolve("perl.exe");
-			pb = new ProcessBuilder(perl.toAbsolutePath().toString(), script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input_.getOmissionLevel()));
-		}
 
-		// create process builder for macOSX
-		else if (Equinox.OS_TYPE.equals(ServerUtility.MACOS)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input_.getOmissionLevel()));
-		}
-		else if (Equinox.OS_TYPE.equals(ServerUtility.LINUX)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input_.getOmissionLevel()));
-		}
-
-		// unsupported OS
-		if (pb == null)
-			throw new Exception("Unsupported operating system.");
-
-		// execute process and wait till it ends
-		Path workingDir = getWorkingDirectory();
-		pb.directory(workingDir.toFile());
-		File log = workingDir.resolve("omission.log").toFile();
-		pb.redirectErrorStream(true);
-		pb.redirectOutput(Redirect.appendTo(log));
-		omission_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert omission_.getInputStream().read() == -1;
-
-		// process failed
-		if (omission_.waitFor() != 0)
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// get output file
+		// apply omission
 		Path output = Paths.get(inputSTH.toString() + FileType.RFORT.getExtension());
-
-		// output file doesn't exist
-		if (!Files.exists(output))
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// return output path
-		return output;
+		return new OmissionFilter(input_.getOmissionLevel()).filter(inputSTH, output, this);
 	}
 
 	/**
@@ -1334,6 +1274,11 @@ public class EquivalentStressAnalysis extends TemporaryFileCreatingTask<Spectrum
 			}
 		}
 
+		// Java engine
+		else if (analysisEngine_.equals(AnalysisEngine.JAVA)) {
+			equivalentStressAnalysis_ = new JavaESA(this, inputSTH, eqStress, flsFileID, input_.getMaterial());
+		}
+
 		// inbuilt engine
 		else {
 			equivalentStressAnalysis_ = new InbuiltESA(this, inputSTH, eqStress, flsFileID, input_.getMaterial(), maxPeaks > MAX_PEAKS, keepOutputs, outputFileName);
@@ -18,18 +18,17 @@ package equinox.task;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
-import equinox.utility.Utility;
 import javafx.collections.ObservableList;
 import javafx.scene.control.TreeItem;
 import jxl.CellType;
@@ -345,8 +344,7 @@ public class ExportMultipleSpectra extends TemporaryFileCreatingTask<Void> imple
 
 				// extract file
 				Path zipFile = tempDirectory.resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				Utility.extractFileFromZIP(zipFile, this, FileType.XLS, outputDirectory);
+				BlobStore.extractFile(blob, zipFile, this, FileType.XLS, outputDirectory);
 
 				// free blob
 				blob.free();
@@ -386,8 +384,7 @@ public class ExportMultipleSpectra extends TemporaryFileCreatingTask<Void> imple
 
 				// extract file
 				Path zipFile = tempDirectory.resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				Utility.extractFileFromZIP(zipFile, this, FileType.CVT, outputDirectory);
+				BlobStore.extractFile(blob, zipFile, this, FileType.CVT, outputDirectory);
 
 				// free blob
 				blob.free();
@@ -427,8 +424,7 @@ public class ExportMultipleSpectra extends TemporaryFileCreatingTask<Void> imple
 
 				// extract file
 				Path zipFile = tempDirectory.resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				Utility.extractFileFromZIP(zipFile, this, FileType.FLS, outputDirectory);
+				BlobStore.extractFile(blob, zipFile, this, FileType.FLS, outputDirectory);
 
 				// free blob
 				blob.free();
@@ -468,8 +464,7 @@ public class ExportMultipleSpectra extends TemporaryFileCreatingTask<Void> imple
 
 				// extract file
 				Path zipFile = tempDirectory.resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				Utility.extractFileFromZIP(zipFile, this, FileType.TXT, outputDirectory);
+				BlobStore.extractFile(blob, zipFile, this, FileType.TXT, outputDirectory);
 
 				// free blob
 				blob.free();
@@ -509,8 +504,7 @@ public class ExportMultipleSpectra extends TemporaryFileCreatingTask<Void> imple
 
 				// extract file
 				Path zipFile = tempDirectory.resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				Utility.extractFileFromZIP(zipFile, this, FileType.ANA, outputDirectory);
+				BlobStore.extractFile(blob, zipFile, this, FileType.ANA, outputDirectory);
 
 				// free blob
 				blob.free();
@@ -18,7 +18,6 @@ package equinox.task;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -28,6 +27,7 @@ import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
 import equinox.data.EmbeddedTask;
 import equinox.data.Pair;
 import equinox.data.fileType.Spectrum;
@@ -302,8 +302,7 @@ public class ExportSpectrum extends TemporaryFileCreatingTask<Path> implements L
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				Utility.extractFileFromZIP(zipFile, this, FileType.XLS, outputDirectory);
+				BlobStore.extractFile(blob, zipFile, this, FileType.XLS, outputDirectory);
 
 				// free blob
 				blob.free();
@@ -338,8 +337,7 @@ public class ExportSpectrum extends TemporaryFileCreatingTask<Path> implements L
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				Utility.extractFileFromZIP(zipFile, this, FileType.CVT, outputDirectory);
+				BlobStore.extractFile(blob, zipFile, this, FileType.CVT, outputDirectory);
 
 				// free blob
 				blob.free();
@@ -374,8 +372,7 @@ public class ExportSpectrum extends TemporaryFileCreatingTask<Path> implements L
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				Utility.extractFileFromZIP(zipFile, this, FileType.FLS, outputDirectory);
+				BlobStore.extractFile(blob, zipFile, this, FileType.FLS, outputDirectory);
 
 				// free blob
 				blob.free();
@@ -410,8 +407,7 @@ public class ExportSpectrum extends TemporaryFileCreatingTask<Path> implements L
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				Utility.extractFileFromZIP(zipFile, this, FileType.TXT, outputDirectory);
+				BlobStore.extractFile(blob, zipFile, this, FileType.TXT, outputDirectory);
 
 				// free blob
 				blob.free();
@@ -446,8 +442,7 @@ public class ExportSpectrum extends TemporaryFileCreatingTask<Path> implements L
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				Utility.extractFileFromZIP(zipFile, this, FileType.ANA, outputDirectory);
+				BlobStore.extractFile(blob, zipFile, this, FileType.ANA, outputDirectory);
 
 				// free blob
 				blob.free();
@@ -55,6 +55,7 @@ import equinox.process.ESAProcess;
 import equinox.process.InbuiltFastESA;
 import equinox.process.InbuiltFlightDCA;
 import equinox.process.IsamiFastESA;
+import equinox.process.JavaFastESA;
 import equinox.process.SafeFastESA;
 import equinox.process.SafeFlightDCA;
 import equinox.serverUtilities.Permission;
@@ -346,7 +347,7 @@ public class FastEquivalentStressAnalysis extends TemporaryFileCreatingTask<Spec
 
 		// plot and save contributions
 		try {
-			taskPanel_.getOwner().runTaskSilently(new SaveFlightDamageContributionPlot(result, true, null), false).get();
+			runSilently(new SaveFlightDamageContributionPlot(result, true, null), false).get();
 		}
 
 		// exception occurred (ignore since it is handled within the task)
@@ -1282,6 +1283,11 @@ public class FastEquivalentStressAnalysis extends TemporaryFileCreatingTask<Spec
 			}
 		}
 
+		// Java engine
+		else if (analysisEngine_.equals(AnalysisEngine.JAVA)) {
+			analysisProcess_ = new JavaFastESA(this, sequenceFile_, flsFile_, material_, validity_);
+		}
+
 		// inbuilt engine
 		else {
 			analysisProcess_ = new InbuiltFastESA(this, sequenceFile_, flsFile_, material_, validity_, useExtended_, keepOutputs, outputFileName);
@@ -15,11 +15,8 @@
  */
 package equinox.task;
 
-import java.io.File;
-import java.lang.ProcessBuilder.Redirect;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.sql.Blob;
 import java.sql.Connection;
@@ -33,8 +30,8 @@ import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
-import equinox.controller.ActiveTasksPanel;
 import equinox.data.AnalysisEngine;
+import equinox.data.BlobStore;
 import equinox.data.EmbeddedTask;
 import equinox.data.IsamiSubVersion;
 import equinox.data.IsamiVersion;
@@ -49,12 +46,10 @@ import equinox.process.EquinoxProcess;
 import equinox.process.FastGenerateSigma;
 import equinox.process.FastGenerateSth;
 import equinox.serverUtilities.Permission;
-import equinox.serverUtilities.ServerUtility;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
 import equinox.task.serializableTask.SerializableFastGenerateStressSequence;
-import equinox.utility.Utility;
 
 /**
  * Class for fast generate stress sequence task.
@@ -86,9 +81,6 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 	/** True if typical flight damage contribution analysis is requested. */
 	private final boolean isFlightDamageContributionAnalysis_;
 
-	/** Omission process. */
-	private Process omission_;
-
 	/** Analysis engine. */
 	private final AnalysisEngine analysisEngine_;
 
@@ -246,22 +238,13 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 			// get spectrum validity
 			validity = getValidity(connection);
 
-			// generate stress sequence file
+			// generate stress sequence file (omission is applied during generation)
 			sequenceFile = generateStressSequence(connection, generateSigmaFile, validity);
 
 			// task cancelled
 			if (isCancelled() || sequenceFile == null)
 				return null;
 
-			// apply omission (if selected and not 0-level)
-			if (input_.isApplyOmission() && input_.getOmissionLevel() > 0.0) {
-				sequenceFile = applyOmission(sequenceFile);
-			}
-
-			// task cancelled
-			if (isCancelled())
-				return null;
-
 			// save FLS file (if not ISAMI analysis)
 			if (!isIsami) {
 				flsFile = saveFLSFile(getWorkingDirectory().resolve("input.fls"), connection, flsFileID);
@@ -280,7 +263,6 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 
 		// execute subsequent tasks
 		try {
-			ActiveTasksPanel tm = taskPanel_.getOwner();
 			ArrayList<FastEquivalentStressAnalysis> tasks = get();
 			for (FastEquivalentStressAnalysis task : tasks) {
 
@@ -294,7 +276,7 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 				}
 
 				// run task
-				tm.runTaskSilently(task, false);
+				runSilently(task, false);
 			}
 		}
 
@@ -310,11 +292,6 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 		// call ancestor
 		super.cancelled();
 
-		// destroy sub processes (if still running)
-		if (omission_ != null && omission_.isAlive()) {
-			omission_.destroyForcibly();
-		}
-
 		// manage automatic tasks
 		automaticTaskOwnerFailed(automaticTasks_);
 	}
@@ -325,11 +302,6 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 		// call ancestor
 		super.failed();
 
-		// destroy sub processes (if still running)
-		if (omission_ != null && omission_.isAlive()) {
-			omission_.destroyForcibly();
-		}
-
 		// manage automatic tasks
 		automaticTaskOwnerFailed(automaticTasks_);
 	}
@@ -401,74 +373,6 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 		return tasks;
 	}
 
-	/**
-	 * Runs omission script on a separate process. This method will wait till the process has ended.
-	 *
-	 * @param inputSTH
-	 *            Input STH file.
-	 * @return Path to omission output file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private Path applyOmission(Path inputSTH) throws Exception {
-
-		// update info
-		updateMessage("Applying omission to stress sequence '" + inputSTH.getFileName() + "'...");
-		updateProgress(-1, 100);
-
-		// get path to perl script and perl executable
-		Path script = Equinox.SCRIPTS_DIR.resolve("omission.pl");
-
-		// get input STH file name
-		Path inputSTHFileName = inputSTH.getFileName();
-		if (inputSTHFileName == null)
-			throw new Exception("Cannot get input STH file name.");
-
-		// create process builder for windows
-		ProcessBuilder pb = null;
-		if (Equinox.OS_TYPE.equals(ServerUtility.WINDOWS)) {
-			Path perl = Equinox.SCRIPTS_DIR.resolve("perl").resolve("bin").resolve("perl.exe");
-			pb = new ProcessBuilder(perl.toAbsolutePath().toString(), script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input_.getOmissionLevel()));
-		}
-
-		// create process builder for macOSX
-		else if (Equinox.OS_TYPE.equals(ServerUtility.MACOS)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input_.getOmissionLevel()));
-		}
-		else if (Equinox.OS_TYPE.equals(ServerUtility.LINUX)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input_.getOmissionLevel()));
-		}
-
-		// unsupported OS
-		if (pb == null)
-			throw new Exception("Unsupported operating system.");
-
-		// execute process and wait till it ends
-		Path workingDir = getWorkingDirectory();
-		pb.directory(workingDir.toFile());
-		File log = workingDir.resolve("omission.log").toFile();
-		pb.redirectErrorStream(true);
-		pb.redirectOutput(Redirect.appendTo(log));
-		omission_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert omission_.getInputStream().read() == -1;
-
-		// process failed
-		if (omission_.waitFor() != 0)
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// get output file
-		Path output = Paths.get(inputSTH.toString() + FileType.RFORT.getExtension());
-
-		// output file doesn't exist
-		if (!Files.exists(output))
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// return output path
-		return output;
-	}
-
 	/**
 	 * Retrieves and returns the validity of spectrum from FLS file.
 	 *
@@ -541,8 +445,7 @@ public class FastGenerateStressSequence extends TemporaryFileCreatingTask<ArrayL
 
 					// FLS file format
 					Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-					Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-					Path flsFile = Utility.extractFileFromZIP(zipFile, this, FileType.FLS, null);
+					Path flsFile = BlobStore.extractFile(blob, zipFile, this, FileType.FLS, null);
 					Files.copy(flsFile, output, StandardCopyOption.REPLACE_EXISTING);
 
 					// free blob
@@ -16,10 +16,6 @@
 package equinox.task;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Statement;
-import java.util.ArrayList;
 import java.util.concurrent.ExecutionException;
 
 import org.jfree.data.category.CategoryDataset;
@@ -28,7 +24,8 @@ import org.jfree.data.category.DefaultCategoryDataset;
 import equinox.Equinox;
 import equinox.controller.StatisticsViewPanel;
 import equinox.controller.ViewPanel;
-import equinox.data.ElementTypeForStress;
+import equinox.data.AircraftEquivalentStressTable;
+import equinox.data.ModelGeometry;
 import equinox.data.input.CompareAircraftEquivalentStressRatiosInput;
 import equinox.data.input.EquivalentStressRatioType;
 import equinox.serverUtilities.Permission;
@@ -78,54 +75,49 @@ public class GenerateAircraftEquivalentStressRatios extends InternalEquinoxTask<
 		// create data set
 		DefaultCategoryDataset dataset = new DefaultCategoryDataset();
 
-		// get database connection
-		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
-
-			// prepare statement to get other mission stresses
-			try (PreparedStatement statement1 = connection.prepareStatement(createOtherMissionQuery())) {
-
-				// create and execute query for basis mission
-				try (Statement statement2 = connection.createStatement()) {
-					String sql = input_.getGroups().isEmpty() ? createBasisMissionQueryWithoutGrouping() : createBasisMissionQueryWithGrouping(statement2);
-					try (ResultSet getBasisMission = statement2.executeQuery(sql)) {
+		// get value type
+		int type = input_.getRatioType().equals(EquivalentStressRatioType.FATIGUE_RATIO) ? AircraftEquivalentStressTable.FATIGUE_RATIO : AircraftEquivalentStressTable.PROPAGATION_RATIO;
 
-						// loop over basis mission stresses
-						while (getBasisMission.next()) {
+		// get equivalent stress table and selected elements
+		AircraftEquivalentStressTable table = null;
+		boolean[] selected = null;
+		int modelID = input_.getEquivalentStress().getParentItem().getParentItem().getID();
+		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
+			table = Equinox.EQUIVALENT_STRESS_CACHE.get(connection, modelID, input_.getEquivalentStress().getName());
+			ModelGeometry geometry = Equinox.GEOMETRY_CACHE.get(connection, modelID);
+			selected = table.select(connection, geometry, input_.getElementType(), input_.getGroups());
+		}
 
-							// get data
-							int eid = getBasisMission.getInt("eid");
-							String eidString = Integer.toString(eid);
-							double stress = getBasisMission.getDouble("stress");
+		// compute ratios
+		double[] ratios = table.getValues(type, input_.getBasisMission());
 
-							// execute query for other missions
-							statement1.setDouble(1, stress);
-							statement1.setInt(2, eid);
-							try (ResultSet getOtherMission = statement1.executeQuery()) {
+		// loop over elements in order of basis mission stresses
+		for (int element : table.getSortedElements(type, input_.getBasisMission(), selected, input_.getOrder())) {
 
-								// loop over other missions
-								while (getOtherMission.next()) {
+			// max. limit exceeded
+			if (dataset.getColumnCount() >= input_.getLimit()) {
+				break;
+			}
 
-									// get mission
-									String mission = getOtherMission.getString("mission");
+			// loop over missions in order of ratios
+			String eidString = Integer.toString(table.getElementID(element));
+			for (int row : table.getSortedRows(element, ratios, input_.getOrder())) {
 
-									// skip basis mission
-									if (!input_.getIncludeBasisMission() && mission.equals(input_.getBasisMission())) {
-										continue;
-									}
+				// get mission
+				String mission = table.getMission(row);
 
-									// max. limit exceeded
-									if (dataset.getColumnCount() >= input_.getLimit()) {
-										continue;
-									}
+				// skip basis mission
+				if (!input_.getIncludeBasisMission() && mission.equals(input_.getBasisMission())) {
+					continue;
+				}
 
-									// add data
-									double ratio = getOtherMission.getDouble("ratio");
-									dataset.addValue(ratio, mission, eidString);
-								}
-							}
-						}
-					}
+				// max. limit exceeded
+				if (dataset.getColumnCount() >= input_.getLimit()) {
+					break;
 				}
+
+				// add data
+				dataset.addValue(ratios[row], mission, eidString);
 			}
 		}
 
@@ -162,198 +154,4 @@ public class GenerateAircraftEquivalentStressRatios extends InternalEquinoxTask<
 			handleResultRetrievalException(e);
 		}
 	}
-
-	/**
-	 * Creates query with element grouping.
-	 *
-	 * @return Query.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String createOtherMissionQuery() throws Exception {
-
-		// get table names
-		int modelID = input_.getEquivalentStress().getParentItem().getParentItem().getID();
-		String stressTable = "ac_eq_stresses_" + modelID;
-
-		// select stresses
-		String sql = "select mission, ";
-		EquivalentStressRatioType ratioType = input_.getRatioType();
-		if (ratioType.equals(EquivalentStressRatioType.FATIGUE_RATIO)) {
-			sql += "fat_stress/? as ratio";
-		}
-		else if (ratioType.equals(EquivalentStressRatioType.PROPAGATION_RATIO)) {
-			sql += "prop_stress/? as ratio";
-		}
-		sql += " from " + stressTable;
-
-		// add equivalent stress name and mission criteria
-		sql += " where name = '" + input_.getEquivalentStress().getName() + "'";
-		sql += " and eid = ?";
-
-		// order factors
-		sql += " order by ratio";
-		sql += input_.getOrder() ? " desc" : " asc";
-
-		// return query
-		return sql;
-	}
-
-	/**
-	 * Creates query with element grouping.
-	 *
-	 * @return Query.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String createBasisMissionQueryWithoutGrouping() throws Exception {
-
-		// get table names
-		int modelID = input_.getEquivalentStress().getParentItem().getParentItem().getID();
-		String elTable = "elements_" + modelID;
-		String stressTable = "ac_eq_stresses_" + modelID;
-
-		// select stresses
-		String sql = "select " + stressTable + ".eid, ";
-		EquivalentStressRatioType ratioType = input_.getRatioType();
-		if (ratioType.equals(EquivalentStressRatioType.FATIGUE_RATIO)) {
-			sql += "fat_stress as stress";
-		}
-		else if (ratioType.equals(EquivalentStressRatioType.PROPAGATION_RATIO)) {
-			sql += "prop_stress as stress";
-		}
-		sql += " from " + stressTable;
-
-		// join with elements
-		sql += " inner join " + elTable + " on ";
-		sql += stressTable + ".eid = ";
-		sql += elTable + ".eid";
-
-		// add equivalent stress name and mission criteria
-		sql += " where name = '" + input_.getEquivalentStress().getName() + "'";
-		sql += " and mission = '" + input_.getBasisMission() + "'";
-
-		// add element type criteria
-		if (input_.getElementType().equals(ElementTypeForStress.SKIN)) {
-			sql += " and (el_type = 'QUAD' or el_type = 'TRIA')";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.BEAM)) {
-			sql += " and (el_type = 'BEAM')";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.ROD)) {
-			sql += " and (el_type = 'ROD')";
-		}
-
-		// order stresses
-		sql += " order by stress";
-		sql += input_.getOrder() ? " desc" : " asc";
-
-		// return query
-		return sql;
-	}
-
-	/**
-	 * Creates query with element grouping.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @return Query.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String createBasisMissionQueryWithGrouping(Statement statement) throws Exception {
-
-		// get element group IDs
-		ArrayList<Integer> groupIDs = getGroupIDs(statement);
-
-		// get table names
-		int modelID = input_.getEquivalentStress().getParentItem().getParentItem().getID();
-		String elTable = "elements_" + modelID;
-		String grpTable = "element_groups_" + modelID;
-		String stressTable = "ac_eq_stresses_" + modelID;
-
-		// select stresses
-		String sql = "select " + stressTable + ".eid, ";
-		EquivalentStressRatioType ratioType = input_.getRatioType();
-		if (ratioType.equals(EquivalentStressRatioType.FATIGUE_RATIO)) {
-			sql += "fat_stress as stress";
-		}
-		else if (ratioType.equals(EquivalentStressRatioType.PROPAGATION_RATIO)) {
-			sql += "prop_stress as stress";
-		}
-		sql += " from " + stressTable;
-
-		// join with groups
-		sql += " inner join " + grpTable + " on ";
-		sql += stressTable + ".eid = ";
-		sql += grpTable + ".eid";
-
-		// join with elements
-		sql += " inner join " + elTable + " on ";
-		sql += stressTable + ".eid = ";
-		sql += elTable + ".eid";
-
-		// add equivalent stress name and mission criteria
-		sql += " where name = '" + input_.getEquivalentStress().getName() + "'";
-		sql += " and mission = '" + input_.getBasisMission() + "'";
-
-		// add group name criteria
-		sql += " and (";
-		for (int groupID : groupIDs) {
-			sql += grpTable + ".group_id = " + groupID + " or ";
-		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ")";
-
-		// add element type criteria
-		if (input_.getElementType().equals(ElementTypeForStress.SKIN)) {
-			sql += " and (el_type = 'QUAD' or el_type = 'TRIA')";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.BEAM)) {
-			sql += " and (el_type = 'BEAM')";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.ROD)) {
-			sql += " and (el_type = 'ROD')";
-		}
-
-		// order stresses
-		sql += " order by stress";
-		sql += input_.getOrder() ? " desc" : " asc";
-
-		// return query
-		return sql;
-	}
-
-	/**
-	 * Retrieves and returns list containing element group IDs.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @return List containing element group IDs.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private ArrayList<Integer> getGroupIDs(Statement statement) throws Exception {
-
-		// initialize list
-		ArrayList<Integer> groupIDs = new ArrayList<>();
-
-		// get element group IDs
-		ArrayList<String> groups = input_.getGroups();
-		String sql = "select group_id from element_group_names_" + input_.getEquivalentStress().getParentItem().getParentItem().getID();
-		sql += " where (";
-		for (String group : groups) {
-			sql += "name = '" + group + "' or ";
-		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ")";
-
-		// execute query
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				groupIDs.add(resultSet.getInt("group_id"));
-			}
-		}
-
-		// return list
-		return groupIDs;
-	}
 }
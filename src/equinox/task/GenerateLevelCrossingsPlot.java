@@ -16,21 +16,14 @@
 package equinox.task;
 
 import java.awt.Color;
-import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
-import java.io.File;
 import java.io.ObjectInputStream;
-import java.lang.ProcessBuilder.Redirect;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
@@ -57,16 +50,16 @@ import org.jfree.ui.RectangleInsets;
 
 import equinox.Equinox;
 import equinox.controller.DamageContributionViewPanel;
+import equinox.data.CompiledSpectrum;
+import equinox.data.CompiledSpectrumCache.Lease;
 import equinox.data.DPRatio;
 import equinox.data.DT1PointInterpolator;
 import equinox.data.DT2PointsInterpolator;
 import equinox.data.DTInterpolation;
 import equinox.data.DTInterpolator;
 import equinox.data.EmbeddedTask;
-import equinox.data.LoadcaseFactor;
-import equinox.data.OnegStress;
-import equinox.data.Segment;
-import equinox.data.SegmentFactor;
+import equinox.data.RainflowEngine;
+import equinox.data.STFStressVector;
 import equinox.data.StressComponent;
 import equinox.data.fileType.FastFatigueEquivalentStress;
 import equinox.data.fileType.FastLinearEquivalentStress;
@@ -75,20 +68,23 @@ import equinox.data.fileType.STFFile;
 import equinox.data.fileType.Spectrum;
 import equinox.data.fileType.SpectrumItem;
 import equinox.data.input.FastEquivalentStressInput;
-import equinox.data.input.GenerateStressSequenceInput;
 import equinox.data.input.HistogramInput;
 import equinox.data.input.HistogramInput.HistogramDataType;
 import equinox.data.input.LevelCrossingInput;
 import equinox.plugin.FileType;
+import equinox.process.CompileSpectrum;
 import equinox.process.ESAProcess;
+import equinox.process.OmissionFilter;
 import equinox.process.PlotHistogramProcess;
 import equinox.process.PlotLevelCrossingProcess;
 import equinox.process.Rainflow;
+import equinox.process.ReadSTFStresses;
+import equinox.process.StressSequenceKernel;
 import equinox.serverUtilities.Permission;
-import equinox.serverUtilities.ServerUtility;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
+import equinox.utility.StressHistoryWriter;
 import equinox.utility.Utility;
 
 /**
@@ -103,24 +99,12 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	/** Equivalent stress. */
 	private SpectrumItem eqStress_;
 
-	/** Decimal format. */
-	private final DecimalFormat format_ = new DecimalFormat("0.00");
-
-	/** Number of columns. */
-	private static final int NUM_COLS = 8;
-
-	/** STH file indices. */
-	private int rowIndex_ = 0, colIndex_ = 0;
-
-	/** STH line. */
-	private String line_;
-
-	/** Omission process. */
-	private Process omission_;
-
 	/** Rainflow process. */
 	private ESAProcess<Void> rainflow_;
 
+	/** Rainflow engine. */
+	private RainflowEngine rainflowEngine_ = RainflowEngine.INBUILT;
+
 	/** True to plot the level crossings after the process is completed. */
 	private final boolean plot_, plotLevelCrossings_;
 
@@ -149,6 +133,16 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		output_ = output;
 	}
 
+	/**
+	 * Sets rainflow engine. Inbuilt rainflow engine is used by default.
+	 *
+	 * @param rainflowEngine
+	 *            Rainflow engine.
+	 */
+	public void setRainflowEngine(RainflowEngine rainflowEngine) {
+		rainflowEngine_ = rainflowEngine;
+	}
+
 	@Override
 	public void setAutomaticInput(SpectrumItem input) {
 		eqStress_ = input;
@@ -266,9 +260,6 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		super.cancelled();
 
 		// destroy sub processes (if still running)
-		if (omission_ != null && omission_.isAlive()) {
-			omission_.destroyForcibly();
-		}
 		if (rainflow_ != null) {
 			rainflow_.cancel();
 		}
@@ -284,9 +275,6 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		super.failed();
 
 		// destroy sub processes (if still running)
-		if (omission_ != null && omission_.isAlive()) {
-			omission_.destroyForcibly();
-		}
 		if (rainflow_ != null) {
 			rainflow_.cancel();
 		}
@@ -321,15 +309,6 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 			if (isCancelled() || sthFile == null)
 				return;
 
-			// apply omission
-			if (input.isApplyOmission()) {
-				sthFile = applyOmission(sthFile, input);
-			}
-
-			// task cancelled
-			if (isCancelled())
-				return;
-
 			// create rainflow cycles table
 			String rainflowCyclesTableName = createRainflowCyclesTable(statement);
 
@@ -337,7 +316,7 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 			updateProgress(-1, 100);
 
 			// run rainflow process
-			rainflow_ = new Rainflow(this, sthFile, eqStress_, rainflowCyclesTableName);
+			rainflow_ = new Rainflow(this, sthFile, eqStress_, rainflowCyclesTableName, rainflowEngine_);
 			rainflow_.start(connection);
 
 			// plot level crossings
@@ -662,76 +641,6 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 		return tableName;
 	}
 
-	/**
-	 * Runs omission script on a separate process. This method will wait till the process has ended.
-	 *
-	 * @param inputSTH
-	 *            Input STH file.
-	 * @param input
-	 *            Analysis input.
-	 * @return Path to omission output file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private Path applyOmission(Path inputSTH, FastEquivalentStressInput input) throws Exception {
-
-		// update info
-		updateMessage("Applying omission to stress sequence '" + inputSTH.getFileName() + "'...");
-		updateProgress(-1, 100);
-
-		// get path to perl script and perl executable
-		Path script = Equinox.SCRIPTS_DIR.resolve("omission.pl");
-
-		// get input STH file name
-		Path inputSTHFileName = inputSTH.getFileName();
-		if (inputSTHFileName == null)
-			throw new Exception("Cannot get input STH file name.");
-
-		// create process builder for windows
-		ProcessBuilder pb = null;
-		if (Equinox.OS_TYPE.equals(ServerUtility.WINDOWS)) {
-			Path perl = Equinox.SCRIPTS_DIR.resolve("perl").resolve("bin").resolve("perl.exe");
-			pb = new ProcessBuilder(perl.toAbsolutePath().toString(), script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input.getOmissionLevel()));
-		}
-
-		// create process builder for macOSX
-		else if (Equinox.OS_TYPE.equals(ServerUtility.MACOS)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input.getOmissionLevel()));
-		}
-		else if (Equinox.OS_TYPE.equals(ServerUtility.LINUX)) {
-			pb = new ProcessBuilder("perl", script.toAbsolutePath().toString(), inputSTHFileName.toString(), Double.toString(input.getOmissionLevel()));
-		}
-
-		// unsupported OS
-		if (pb == null)
-			throw new Exception("Unsupported operating system.");
-
-		// execute process and wait till it ends
-		Path workingDir = getWorkingDirectory();
-		pb.directory(workingDir.toFile());
-		File log = workingDir.resolve("omission.log").toFile();
-		pb.redirectErrorStream(true);
-		pb.redirectOutput(Redirect.appendTo(log));
-		omission_ = pb.start();
-		assert pb.redirectInput() == Redirect.PIPE;
-		assert pb.redirectOutput().file() == log;
-		assert omission_.getInputStream().read() == -1;
-
-		// process failed
-		if (omission_.waitFor() != 0)
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// get output file
-		Path output = Paths.get(inputSTH.toString() + FileType.RFORT.getExtension());
-
-		// output file doesn't exist
-		if (!Files.exists(output))
-			throw new Exception("Stress sequence omission failed! See omission log file for details.");
-
-		// return output path
-		return output;
-	}
-
 	/**
 	 * Generates stress sequence.
 	 *
@@ -749,560 +658,77 @@ public class GenerateLevelCrossingsPlot extends TemporaryFileCreatingTask<Path>
 	 */
 	private Path generateStressSequence(Connection connection, Statement statement, FastEquivalentStressInput input, STFFile stfFile) throws Exception {
 
-		// update info
-		updateMessage("Generating stress sequence...");
-
-		// create path to output file
-		Path sthFile = getWorkingDirectory().resolve(FileType.appendExtension(Utility.correctFileName(FileType.getNameWithoutExtension(stfFile.getName())), FileType.STH));
-
-		// create file writer
-		try (BufferedWriter writer = Files.newBufferedWriter(sthFile, Charset.defaultCharset())) {
-
-			// write file header
-			writer.write(" # STH Generated by Equinox Version " + Equinox.VERSION.toString() + ", Date: " + new SimpleDateFormat("dd/MM/yyyy").format(new Date()));
-			writer.newLine();
-			writer.write(" #");
-			writer.newLine();
-			writer.write(" #");
-			writer.newLine();
-			writer.write(" #");
-			writer.newLine();
-
-			// get spectrum file IDs
-			Spectrum cdfSet = stfFile.getParentItem();
-			int anaFileID = cdfSet.getANAFileID();
-			int txtFileID = cdfSet.getTXTFileID();
-			int convTableID = cdfSet.getConversionTableID();
-
-			// get DP ratio
-			updateMessage("Computing delta-p ratio...");
-			DPRatio dpRatio = getDPRatio(connection, statement, anaFileID, txtFileID, convTableID, input, stfFile);
-
-			// get DT parameters
-			updateMessage("Computing delta-t interpolation...");
-			DTInterpolator dtInterpolator = getDTInterpolator(connection, statement, txtFileID, input, stfFile);
-
-			// get number of flights and peaks of the ANA file
-			int numPeaks = getNumberOfPeaks(statement, anaFileID);
-
-			// prepare statement for selecting ANA peaks
-			String sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = ?";
-			try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
-
-				// prepare statement for selecting 1g issy code
-				sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
-				try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
-
-					// prepare statement for selecting increment issy code
-					sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
-					try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
-
-						// prepare statement for selecting STF stress
-						sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile.getStressTableID() + " where file_id = " + stfFile.getID() + " and issy_code = ?";
-						try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
-
-							// execute query for selecting ANA flights
-							sql = "select * from ana_flights where file_id = " + anaFileID + " order by flight_num";
-							try (ResultSet anaFlights = statement.executeQuery(sql)) {
-
-								// loop over flights
-								HashMap<String, OnegStress> oneg = new HashMap<>();
-								HashMap<String, Double> inc = new HashMap<>();
-								int peakCount = 0;
-								while (anaFlights.next()) {
-
-									// task cancelled
-									if (isCancelled())
-										return null;
-
-									// write flight header
-									int flightPeaks = anaFlights.getInt("num_peaks");
-									writeFlightHeader(writer, anaFlights, flightPeaks);
-
-									// initialize variables
-									int rem = flightPeaks % NUM_COLS;
-									int numRows = flightPeaks / NUM_COLS + (rem == 0 ? 0 : 1);
-									rowIndex_ = 0;
-									colIndex_ = 0;
-									line_ = "";
-
-									// execute statement for getting ANA peaks
-									selectANAPeak.setInt(1, anaFlights.getInt("flight_id"));
-									try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
-
-										// loop over peaks
-										while (anaPeaks.next()) {
-
-											// task cancelled
-											if (isCancelled())
-												return null;
-
-											// update progress
-											updateProgress(peakCount, numPeaks);
-											peakCount++;
-
-											// insert peak into STH peaks table
-											writeSTHPeak(writer, anaPeaks, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, dpRatio, dtInterpolator, rem, numRows, input);
-										}
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-		}
-
-		// return STH file
-		return sthFile;
-	}
-
-	/**
-	 * Writes STH peaks to output file.
-	 *
-	 * @param writer
-	 *            File writer.
-	 * @param anaPeaks
-	 *            ANA peaks.
-	 * @param select1GIssyCode
-	 *            Database statement for selecting 1g issy codes.
-	 * @param selectSTFStress
-	 *            Database statement for selecting STF stresses.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy codes.
-	 * @param oneg
-	 *            Mapping containing 1g codes versus the stresses.
-	 * @param inc
-	 *            Mapping containing class codes versus the stresses.
-	 * @param dpRatio
-	 *            Delta-p ratio.
-	 * @param dtInterpolator
-	 *            Delta-t interpolator.
-	 * @param numRows
-	 *            Number of rows to write.
-	 * @param rem
-	 *            Remaining number of columns in the STH output file.
-	 * @param input
-	 *            Analysis input.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void writeSTHPeak(BufferedWriter writer, ResultSet anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, OnegStress> oneg, HashMap<String, Double> inc, DPRatio dpRatio, DTInterpolator dtInterpolator,
-			int rem, int numRows, FastEquivalentStressInput input) throws Exception {
-
-		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
-		String onegCode = classCode.substring(0, 4);
-
-		// get 1g stress
-		OnegStress onegStress = oneg.get(onegCode);
-		if (onegStress == null) {
-			onegStress = get1GStress(selectSTFStress, select1GIssyCode, onegCode, input);
-			oneg.put(onegCode, onegStress);
-		}
+		// get spectrum file IDs
+		Spectrum cdfSet = stfFile.getParentItem();
+		int anaFileID = cdfSet.getANAFileID();
+		int txtFileID = cdfSet.getTXTFileID();
+		int convTableID = cdfSet.getConversionTableID();
 
-		// get segment
-		Segment segment = onegStress.getSegment();
+		// get DP ratio
+		updateMessage("Computing delta-p ratio...");
+		DPRatio dpRatio = getDPRatio(connection, statement, anaFileID, txtFileID, convTableID, input, stfFile);
 
-		// get increment stress
-		Double incStress = inc.get(classCode);
-		if (incStress == null) {
-			incStress = getIncStress(selectSTFStress, selectIncrementIssyCode, classCode, onegCode, segment, input);
-			inc.put(classCode, incStress);
-		}
+		// get DT parameters
+		updateMessage("Computing delta-t interpolation...");
+		DTInterpolator dtInterpolator = getDTInterpolator(connection, statement, txtFileID, input, stfFile);
 
-		// compute and modify delta-p stress
-		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDouble("delta_p"));
-		if (dpRatio != null) {
-			dpStress = modifyStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress, input);
-		}
+		// compile spectrum (shared with other tasks through spectrum cache)
+		try (Lease lease = Equinox.SPECTRUM_CACHE.acquire(anaFileID, txtFileID, convTableID, () -> new CompileSpectrum(this, anaFileID, txtFileID).start(connection))) {
 
-		// compute and modify delta-t stress
-		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDouble("delta_t"));
-		if (dtInterpolator != null && dtInterpolator instanceof DT1PointInterpolator) {
-			DT1PointInterpolator onePoint = (DT1PointInterpolator) dtInterpolator;
-			dtStress = modifyStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress, input);
-		}
-		else if (dtInterpolator != null && dtInterpolator instanceof DT2PointsInterpolator) {
-			DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolator;
-			dtStress = modify2PointDTStress(twoPoints, segment, dtStress, input);
-		}
+			// compilation cancelled
+			CompiledSpectrum spectrum = lease.getSpectrum();
+			if (spectrum == null)
+				return null;
 
-		// compute and modify total stress
-		double totalStress = onegStress.getStress() + incStress + dpStress + dtStress;
+			// create stress kernel
+			STFStressVector stresses = new ReadSTFStresses(this, spectrum, stfFile.getID(), stfFile.getStressTableID()).start(connection);
+			StressSequenceKernel kernel = new StressSequenceKernel(spectrum, stresses, input, dpRatio, dtInterpolator);
 
-		// last row
-		if (rowIndex_ == numRows - 1) {
+			// update info
+			updateMessage("Generating stress sequence...");
 
-			// add peaks
-			line_ += String.format("%10s", format_.format(totalStress));
-			colIndex_++;
+			// create path to output file
+			Path sthFile = getWorkingDirectory().resolve(FileType.appendExtension(Utility.correctFileName(FileType.getNameWithoutExtension(stfFile.getName())), FileType.STH));
 
-			// last column
-			if (colIndex_ == (rem == 0 ? NUM_COLS : rem)) {
-				writer.write(line_);
-				writer.newLine();
-				line_ = "";
-				colIndex_ = 0;
-				rowIndex_++;
-			}
-		}
+			// create file writer
+			try (StressHistoryWriter writer = new StressHistoryWriter(sthFile)) {
 
-		// other rows
-		else {
+				// write file header
+				writer.writeLine(" # STH Generated by Equinox Version " + Equinox.VERSION.toString() + ", Date: " + new SimpleDateFormat("dd/MM/yyyy").format(new Date()));
+				writer.writeLine(" #");
+				writer.writeLine(" #");
+				writer.writeLine(" #");
 
-			// add peaks
-			line_ += String.format("%10s", format_.format(totalStress));
-			colIndex_++;
-
-			// last column
-			if (colIndex_ == NUM_COLS) {
-				writer.write(line_);
-				writer.newLine();
-				line_ = "";
-				colIndex_ = 0;
-				rowIndex_++;
-			}
-		}
-	}
+				// create omission filter (if selected)
+				OmissionFilter omission = input.isApplyOmission() ? new OmissionFilter(input.getOmissionLevel()) : null;
 
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param interpolator
-	 *            2 points delta-t interpolator.
-	 * @param segment
-	 *            Segment.
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @param input
-	 *            Analysis input.
-	 * @return The modified stress value.
-	 */
-	private static double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress, FastEquivalentStressInput input) {
+				// loop over flights
+				int numFlights = spectrum.getNumberOfFlights();
+				double[] peaks = new double[Math.max(spectrum.getMaxPeaksPerFlight(), 1)];
+				for (int i = 0; i < numFlights; i++) {
 
-		// apply overall factors
-		String method = input.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
+					// task cancelled
+					if (isCancelled())
+						return null;
 
-		// apply segment factors
-		if (segment != null && input.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
-		}
+					// update progress
+					updateProgress(i, numFlights);
 
-		// apply loadcase factors
-		if (input.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
+					// write flight
+					int flightPeaks = kernel.getFlightStresses(i, peaks, false);
+					if (omission != null) {
+						flightPeaks = omission.filter(writer, peaks, flightPeaks);
 					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
-	/**
-	 * Sets increment stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stress from STF file.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy code.
-	 * @param classCode
-	 *            14 digit class code.
-	 * @param onegCode
-	 *            1g code.
-	 * @param segment
-	 *            Segment.
-	 * @param input
-	 *            Analysis input.
-	 * @return Returns the increment stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static Double getIncStress(PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, String classCode, String onegCode, Segment segment, FastEquivalentStressInput input) throws Exception {
-
-		// add default increment stress
-		double totalIncrementStress = 0.0;
-
-		// loop over increments
-		for (int i = 0; i < 5; i++) {
-
-			// get increment block
-			String block = classCode.substring(2 * i + 4, 2 * i + 6);
-
-			// no increment
-			if (block.equals("00")) {
-				continue;
-			}
-
-			// set parameters
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, block.substring(1)); // direction
-																		// number
-			selectIncrementIssyCode.setString(4, block.substring(0, 1)); // factor
-																			// number
-
-			// query issy code, factor and event name
-			try (ResultSet resultSet = selectIncrementIssyCode.executeQuery()) {
-
-				// loop over increments
-				while (resultSet.next()) {
-
-					// get issy code, factor and event name
-					String issyCode = resultSet.getString("issy_code");
-					double factor = resultSet.getDouble("factor_" + block.substring(0, 1));
-
-					// compute and modify increment stress
-					double stress = factor * getSTFStress(selectSTFStress, issyCode, input);
-					stress = modifyStress(issyCode, segment, GenerateStressSequenceInput.INCREMENT, stress, input);
-
-					// add to total increment stress
-					totalIncrementStress += stress;
+					String name = spectrum.getFlightName(i);
+					updateMessage("Generating flight '" + name + "'...");
+					writer.writeFlightHeader(spectrum.getValidity(i), spectrum.getBlockSize(i), flightPeaks, name, spectrum.getSeverity(i));
+					writer.writePeaks(peaks, flightPeaks);
 				}
 			}
-		}
-
-		// set increment stresses
-		return totalIncrementStress;
-	}
-
-	/**
-	 * Sets 1g stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stresses from STF file.
-	 * @param select1gIssyCode
-	 *            Database statement for selecting 1g issy code from TXT file.
-	 * @param onegCode
-	 *            1g code.
-	 * @param input
-	 *            Analysis input.
-	 * @return The 1g stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static OnegStress get1GStress(PreparedStatement selectSTFStress, PreparedStatement select1gIssyCode, String onegCode, FastEquivalentStressInput input) throws Exception {
-
-		// get 1G issy code and event name
-		String issyCode = null, event = null, segmentName = null;
-		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
-		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
-			while (resultSet.next()) {
-
-				// get issy code and event name
-				issyCode = resultSet.getString("issy_code");
-				event = resultSet.getString("flight_phase");
-				segmentNum = resultSet.getInt("oneg_order");
-
-				// extract segment name
-				segmentName = Utility.extractSegmentName(event);
-			}
-		}
-
-		// create segment
-		Segment segment = new Segment(segmentName, segmentNum);
-
-		// compute and modify 1g stress
-		double stress = getSTFStress(selectSTFStress, issyCode, input);
-		stress = modifyStress(issyCode, segment, GenerateStressSequenceInput.ONEG, stress, input);
-
-		// set to peak
-		return new OnegStress(segment, stress);
-	}
-
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param segment
-	 *            Segment.
-	 * @param stressType
-	 *            Stress type (1g, increment, delta-p, delta-t or total stress).
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @param input
-	 *            Analysis input.
-	 * @return The modified stress value.
-	 */
-	private static double modifyStress(String issyCode, Segment segment, int stressType, double stress, FastEquivalentStressInput input) {
-
-		// apply overall factors
-		String method = input.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input.getStressModificationValue(stressType);
-		}
 
-		// apply segment factors
-		if (segment != null && input.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
-	/**
-	 * Returns STF stress for given issy code.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement.
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param input
-	 *            Analysis input.
-	 * @return STF stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static double getSTFStress(PreparedStatement selectSTFStress, String issyCode, FastEquivalentStressInput input) throws Exception {
-		StressComponent component = input.getStressComponent();
-		double angle = input.getRotationAngle();
-		selectSTFStress.setString(1, issyCode); // issy code
-		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
-			while (resultSet.next())
-				if (component.equals(StressComponent.NORMAL_X))
-					return resultSet.getDouble("stress_x");
-				else if (component.equals(StressComponent.NORMAL_Y))
-					return resultSet.getDouble("stress_y");
-				else if (component.equals(StressComponent.SHEAR_XY))
-					return resultSet.getDouble("stress_xy");
-				else if (component.equals(StressComponent.ROTATED)) {
-					double x = resultSet.getDouble("stress_x");
-					double y = resultSet.getDouble("stress_y");
-					double xy = resultSet.getDouble("stress_xy");
-					return 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-				}
-		}
-		return 0.0;
-	}
-
-	/**
-	 * Writes out flight header to output STH file.
-	 *
-	 * @param writer
-	 *            File writer.
-	 * @param anaFlights
-	 *            ANA flights.
-	 * @param flightPeaks
-	 *            Number of peaks of the flight.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void writeFlightHeader(BufferedWriter writer, ResultSet anaFlights, int flightPeaks) throws Exception {
-
-		// update info
-		String name = anaFlights.getString("name");
-		updateMessage("Generating flight '" + name + "'...");
-
-		// create first line of flight info
-		String line1 = String.format("%10s", format_.format(anaFlights.getDouble("validity")));
-		line1 += String.format("%10s", format_.format(anaFlights.getDouble("block_size")));
-
-		// create second line of flight info
-		String line2 = String.format("%10s", Integer.toString(flightPeaks));
-		for (int i = 0; i < 62; i++) {
-			line2 += " ";
-		}
-		line2 += (name.startsWith("TF_") ? name.substring(3) : name) + " " + anaFlights.getString("severity");
-
-		// write headers
-		writer.write(line1);
-		writer.newLine();
-		writer.write(line2);
-		writer.newLine();
-	}
-
-	/**
-	 * Returns the number of peaks of the ANA file.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @return Number of peaks of the ANA file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static int getNumberOfPeaks(Statement statement, int anaFileID) throws Exception {
-		String sql = "select sum(num_peaks) as totalPeaks from ana_flights where file_id = " + anaFileID;
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next())
-				return resultSet.getInt("totalPeaks");
+			// return STH file
+			return sthFile;
 		}
-		return 0;
 	}
 
 	/**
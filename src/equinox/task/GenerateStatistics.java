@@ -19,7 +19,10 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map.Entry;
 import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
 
 import org.jfree.data.category.CategoryDataset;
 import org.jfree.data.category.DefaultCategoryDataset;
@@ -28,6 +31,7 @@ import equinox.Equinox;
 import equinox.controller.StatisticsViewPanel;
 import equinox.controller.ViewPanel;
 import equinox.data.LoadcaseItem;
+import equinox.data.PeakStore;
 import equinox.data.fileType.Flight;
 import equinox.data.input.StatisticsInput;
 import equinox.data.input.StatisticsInput.Statistic;
@@ -371,6 +375,10 @@ public class GenerateStatistics extends InternalEquinoxTask<CategoryDataset> imp
 			// get stress sequence ID
 			int sthID = input_.getFlights().get(0).getParentItem().getParentItem().getID();
 
+			// compute from peak store (if available)
+			if (getStressFromPeakStore(dataset, sthID, input_.getLoadcases().get(0).isOneg(), peakCol, isMax, true))
+				return;
+
 			// create query
 			String column = input_.getLoadcases().get(0).isOneg() ? "oneg_event" : "inc_event";
 			peakCol = (isMax ? "max(" : "min(") + peakCol + ")";
@@ -515,6 +523,10 @@ public class GenerateStatistics extends InternalEquinoxTask<CategoryDataset> imp
 		// get stress sequence ID
 		int sthID = input_.getFlights().get(0).getParentItem().getParentItem().getID();
 
+		// compute from peak store (if available)
+		if (getStressFromPeakStore(dataset, sthID, input_.getLoadcaseType(), peakCol, isMax, false))
+			return;
+
 		// create query
 		String column = input_.getLoadcaseType() ? "oneg_event" : "inc_event";
 		peakCol = (isMax ? "max(" : "min(") + peakCol + ")";
@@ -548,6 +560,114 @@ public class GenerateStatistics extends InternalEquinoxTask<CategoryDataset> imp
 		statement.setMaxRows(0);
 	}
 
+	/**
+	 * Computes maximum or minimum stress statistics from the peak store. Statistics are computed in the same way as the corresponding database queries; stresses are grouped by flight name (for
+	 * multiple flights) or by event name (for single flight) among peaks with events matching the input loadcases.
+	 *
+	 * @param dataset
+	 *            Series.
+	 * @param sthID
+	 *            Stress sequence ID.
+	 * @param isOneg
+	 *            True if 1g events are to be matched.
+	 * @param peakCol
+	 *            Column name for STH peaks table.
+	 * @param isMax
+	 *            True for maximum, false for minimum stress.
+	 * @param byFlight
+	 *            True if stresses are grouped by flight name, false if grouped by event name.
+	 * @return True if statistics are computed, false if the peak store has no segment for the input flights (statistics should be computed by the database).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private boolean getStressFromPeakStore(DefaultCategoryDataset dataset, int sthID, boolean isOneg, String peakCol, boolean isMax, boolean byFlight) throws Exception {
+
+		// open peak store segment
+		try (PeakStore.Reader peakStore = PeakStore.openSTH(sthID)) {
+
+			// no segment
+			if (peakStore == null)
+				return false;
+
+			// match events of dictionary
+			ArrayList<LoadcaseItem> loadcases = byFlight ? new ArrayList<>(input_.getLoadcases().subList(0, 1)) : input_.getLoadcases();
+			boolean[] matches = new boolean[peakStore.getNumberOfStrings()];
+			for (int i = 0; i < matches.length; i++) {
+				matches[i] = loadcases.isEmpty() || isLike(peakStore.getString(i), loadcases);
+			}
+
+			// loop over flights
+			PeakStore.Column eventCol = isOneg ? PeakStore.Column.ONEG_EVENT : PeakStore.Column.INC_EVENT;
+			PeakStore.Column stressCol = PeakStore.Column.getColumn(peakCol);
+			HashMap<String, Double> statistics = new HashMap<>();
+			for (Flight flight : input_.getFlights()) {
+
+				// get columns
+				int[] events = peakStore.getInts(flight.getID(), eventCol);
+				double[] stresses = peakStore.getDoubles(flight.getID(), stressCol);
+				if (events == null || stresses == null)
+					return false;
+
+				// loop over peaks
+				for (int i = 0; i < events.length; i++) {
+
+					// event doesn't match
+					if (events[i] < 0 || !matches[events[i]]) {
+						continue;
+					}
+
+					// update statistic
+					String name = byFlight ? flight.getName() : peakStore.getString(events[i]);
+					Double statistic = statistics.get(name);
+					if (statistic == null || (isMax ? stresses[i] > statistic : stresses[i] < statistic)) {
+						statistics.put(name, stresses[i]);
+					}
+				}
+			}
+
+			// sort statistics
+			ArrayList<Entry<String, Double>> sorted = new ArrayList<>(statistics.entrySet());
+			sorted.sort(input_.getOrder() ? Entry.<String, Double> comparingByValue().reversed() : Entry.<String, Double> comparingByValue());
+
+			// add data to series
+			int limit = input_.getLimit() <= 0 ? sorted.size() : Math.min(input_.getLimit(), sorted.size());
+			for (int i = 0; i < limit; i++) {
+				dataset.addValue(sorted.get(i).getValue(), "Statistics", sorted.get(i).getKey());
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Returns true if the given event matches any of the given loadcases (in the same way as <code>upper(event) like upper('%name%')</code>).
+	 *
+	 * @param event
+	 *            Event name.
+	 * @param loadcases
+	 *            Loadcases.
+	 * @return True if the given event matches any of the given loadcases.
+	 */
+	private static boolean isLike(String event, ArrayList<LoadcaseItem> loadcases) {
+		for (LoadcaseItem loadcase : loadcases) {
+			StringBuilder regex = new StringBuilder(".*");
+			for (char c : loadcase.getEventName().toUpperCase().toCharArray()) {
+				if (c == '%') {
+					regex.append(".*");
+				}
+				else if (c == '_') {
+					regex.append('.');
+				}
+				else {
+					regex.append(Pattern.quote(String.valueOf(c)));
+				}
+			}
+			regex.append(".*");
+			if (Pattern.compile(regex.toString(), Pattern.DOTALL).matcher(event.toUpperCase()).matches())
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Generates statistics for event occurrences for single flight.
 	 *
@@ -25,8 +25,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.logging.Level;
 
 import equinox.Equinox;
+import equinox.data.CompiledSpectrum;
+import equinox.data.CompiledSpectrumCache.Lease;
 import equinox.data.DPRatio;
 import equinox.data.DT1PointInterpolator;
 import equinox.data.DT2PointsInterpolator;
@@ -35,10 +38,11 @@ import equinox.data.DTInterpolator;
 import equinox.data.EmbeddedTask;
 import equinox.data.IncrementStress;
 import equinox.data.LoadcaseFactor;
+import equinox.data.PeakStore;
+import equinox.data.STFStressVector;
 import equinox.data.Segment;
 import equinox.data.SegmentFactor;
 import equinox.data.SteadyStress;
-import equinox.data.Stress;
 import equinox.data.StressComponent;
 import equinox.data.fileType.Flight;
 import equinox.data.fileType.Flights;
@@ -47,12 +51,15 @@ import equinox.data.fileType.Spectrum;
 import equinox.data.fileType.SpectrumItem;
 import equinox.data.fileType.StressSequence;
 import equinox.data.input.GenerateStressSequenceInput;
+import equinox.process.CompileSpectrum;
+import equinox.process.ReadSTFStresses;
+import equinox.process.StressSequenceKernel;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
 import equinox.task.serializableTask.SerializableGenerateStressSequence;
-import equinox.utility.Utility;
+import equinox.utility.BatchWriter;
 
 /**
  * Class for generate stress sequence task.
@@ -72,6 +79,9 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 	/** Automatic tasks. */
 	private HashMap<String, EmbeddedTask<SpectrumItem>> automaticTasks_ = null;
 
+	/** Peak store segment writer. Null if the peak store is not enabled. */
+	private PeakStore.Writer peakStore_ = null;
+
 	/**
 	 * Creates generate stress sequence task.
 	 *
@@ -152,6 +162,9 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 				// commit updates
 				connection.commit();
 				connection.setAutoCommit(true);
+
+				// commit peak store segment
+				commitPeakStore(stressSequence);
 			}
 
 			// exception occurred during process
@@ -167,12 +180,37 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 				// propagate exception
 				throw e;
 			}
+
+			// discard uncommitted peak store segment
+			finally {
+				if (peakStore_ != null) {
+					peakStore_.close();
+				}
+			}
 		}
 
 		// return
 		return stressSequence;
 	}
 
+	/**
+	 * Commits peak store segment of the generated stress sequence (if enabled). Since the peak store is optional, failures are only logged; peaks are then read from the database.
+	 *
+	 * @param stressSequence
+	 *            Generated stress sequence.
+	 */
+	private void commitPeakStore(StressSequence stressSequence) {
+		if (peakStore_ == null)
+			return;
+		try {
+			peakStore_.commit();
+		}
+		catch (Exception e) {
+			PeakStore.deleteSTH(stressSequence.getID());
+			Equinox.LOGGER.log(Level.WARNING, "Cannot create peak store segment of stress sequence '" + stressSequence.getName() + "'.", e);
+		}
+	}
+
 	@Override
 	protected void succeeded() {
 
@@ -211,12 +249,12 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 
 		// generate and save plots
 		List<Future<?>> results = new ArrayList<>();
-		results.add(taskPanel_.getOwner().runTaskSilently(new SaveMissionProfilePlot(sequence), false));
-		results.add(taskPanel_.getOwner().runTaskSilently(new SaveLongestFlightPlot(sequence), false));
-		results.add(taskPanel_.getOwner().runTaskSilently(new SaveHOFlightPlot(sequence), false));
-		results.add(taskPanel_.getOwner().runTaskSilently(new SaveHSFlightPlot(sequence), false));
-		results.add(taskPanel_.getOwner().runTaskSilently(new SaveNumPeaksPlot(sequence), false));
-		results.add(taskPanel_.getOwner().runTaskSilently(new SaveFlightOccurrencePlot(sequence), false));
+		results.add(runSilently(new SaveMissionProfilePlot(sequence), false));
+		results.add(runSilently(new SaveLongestFlightPlot(sequence), false));
+		results.add(runSilently(new SaveHOFlightPlot(sequence), false));
+		results.add(runSilently(new SaveHSFlightPlot(sequence), false));
+		results.add(runSilently(new SaveNumPeaksPlot(sequence), false));
+		results.add(runSilently(new SaveFlightOccurrencePlot(sequence), false));
 
 		// wait for results to complete
 		for (Future<?> result : results) {
@@ -284,9 +322,6 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 			updateMessage("Computing delta-t interpolation...");
 			DTInterpolator dtInterpolator = getDTInterpolator(connection, statement, txtFileID);
 
-			// get number of flights and peaks of the ANA file
-			int numPeaks = getNumberOfPeaks(statement, anaFileID);
-
 			// insert file into STH files table
 			updateMessage("Saving stress sequence info to database...");
 			int sthFileID = insertSTHFile(connection, statement, anaFileID, dpRatio, dtInterpolator);
@@ -294,6 +329,7 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 			// create STH peaks table
 			updateMessage("Creating stress peaks table...");
 			String sthPeaksTableName = createPeaksTable(statement, sthFileID);
+			peakStore_ = PeakStore.createSTHWriter(sthFileID);
 
 			// create STH file
 			StressSequence sthFile = new StressSequence(input_.getFileName(stfFile_), sthFileID);
@@ -310,100 +346,77 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 			// insert STH flights
 			ArrayList<Flight> sthFlights = insertSTHFlights(anaFileID, sthFileID, statement, connection);
 
-			// prepare statement for selecting ANA peaks
-			String sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = ?";
-			try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
+			// compile spectrum (shared with other tasks through spectrum cache)
+			try (Lease lease = Equinox.SPECTRUM_CACHE.acquire(anaFileID, txtFileID, convTableID, () -> new CompileSpectrum(this, anaFileID, txtFileID).start(connection))) {
+
+				// compilation cancelled
+				CompiledSpectrum spectrum = lease.getSpectrum();
+				if (spectrum == null)
+					return null;
+
+				// create stress kernel
+				STFStressVector stresses = new ReadSTFStresses(this, spectrum, stfFile_.getID(), stfFile_.getStressTableID()).start(connection);
+				StressSequenceKernel kernel = new StressSequenceKernel(spectrum, stresses, input_, input_.getStressComponent(), input_.getRotationAngle(), dpRatio, dtInterpolator);
 
 				// prepare statement for inserting STH peaks
-				sql = "insert into " + sthPeaksTableName + "(flight_id, peak_num, peak_val, oneg_stress, inc_stress, dp_stress, dt_stress, oneg_event, inc_event, segment, segment_num) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-				try (PreparedStatement insertSTHPeak = connection.prepareStatement(sql)) {
-
-					// prepare statement for selecting 1g issy code
-					sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
-					try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
-
-						// prepare statement for selecting increment issy code
-						sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 ";
-						sql += " from txt_codes where file_id = " + txtFileID;
-						sql += " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
-						try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
-
-							// prepare statement for selecting STF stress
-							sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stfFile_.getStressTableID() + " where file_id = " + stfFile_.getID() + " and issy_code = ?";
-							try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
-
-								// prepare statement for setting max-min values to flight
-								sql = "update sth_flights set max_val = ?, min_val = ?, max_1g = ?, min_1g = ?, max_inc = ?, min_inc = ?, max_dp = ?, min_dp = ?, max_dt = ?, min_dt = ? where flight_id = ?";
-								try (PreparedStatement setMaxMinToFlight = connection.prepareStatement(sql)) {
-
-									// execute query for selecting ANA flights
-									sql = "select flight_id from ana_flights where file_id = " + anaFileID + " order by flight_num";
-									try (ResultSet anaFlights = statement.executeQuery(sql)) {
-
-										// loop over flights
-										HashMap<String, Stress> oneg = new HashMap<>();
-										HashMap<String, Stress> inc = new HashMap<>();
-										ArrayList<Integer> factorNumbers = new ArrayList<>();
-										double[] maxMin = new double[10];
-										int peakCount = 0, flightIndex = 0;
-										while (anaFlights.next()) {
-
-											// task cancelled
-											if (isCancelled() || Thread.currentThread().isInterrupted())
-												return null;
-
-											// reset max-min values
-											maxMin[0] = Double.NEGATIVE_INFINITY; // max peak
-											maxMin[1] = Double.POSITIVE_INFINITY; // min peak
-											maxMin[2] = Double.NEGATIVE_INFINITY; // max 1g
-											maxMin[3] = Double.POSITIVE_INFINITY; // min 1g
-											maxMin[4] = Double.NEGATIVE_INFINITY; // max inc
-											maxMin[5] = Double.POSITIVE_INFINITY; // min inc
-											maxMin[6] = Double.NEGATIVE_INFINITY; // max dp
-											maxMin[7] = Double.POSITIVE_INFINITY; // min dp
-											maxMin[8] = Double.NEGATIVE_INFINITY; // max dt
-											maxMin[9] = Double.POSITIVE_INFINITY; // min dt
-
-											// get STH flight
-											Flight flight = sthFlights.get(flightIndex);
-											updateMessage("Generating flight '" + flight.getName() + "'...");
-
-											// execute statement for getting ANA peaks
-											selectANAPeak.setInt(1, anaFlights.getInt("flight_id"));
-											try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
-
-												// loop over peaks
-												while (anaPeaks.next()) {
-
-													// task cancelled
-													if (isCancelled() || Thread.currentThread().isInterrupted())
-														return null;
-
-													// update progress
-													updateProgress(peakCount, numPeaks);
-													peakCount++;
-
-													// insert peak into STH peaks table
-													maxMin = insertSTHPeak(anaPeaks, flight.getID(), dpRatio, dtInterpolator, insertSTHPeak, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, maxMin, oneg, inc, incStresses, steadyStresses, factorNumbers);
-												}
-											}
-
-											// set max-min values to flight
-											setMaxMinToFlight(flight.getID(), setMaxMinToFlight, maxMin);
-
-											// add flight to flights folder
-											flights.getChildren().add(flight);
-
-											// increment flight index
-											flightIndex++;
-										}
-
-										// add flights folder to spectrum
-										sthFile.getChildren().add(flights);
-									}
-								}
+				String sql = "insert into " + sthPeaksTableName + "(flight_id, peak_num, peak_val, oneg_stress, inc_stress, dp_stress, dt_stress, oneg_event, inc_event, segment, segment_num) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+				try (PreparedStatement insertSTHPeak = connection.prepareStatement(sql); BatchWriter peakWriter = new BatchWriter(insertSTHPeak)) {
+
+					// prepare statement for setting max-min values to flight
+					sql = "update sth_flights set max_val = ?, min_val = ?, max_1g = ?, min_1g = ?, max_inc = ?, min_inc = ?, max_dp = ?, min_dp = ?, max_dt = ?, min_dt = ? where flight_id = ?";
+					try (PreparedStatement setMaxMinToFlight = connection.prepareStatement(sql)) {
+
+						// loop over flights
+						String[] incEvents = getIncrementEvents(spectrum);
+						boolean[] visitedCodes = new boolean[spectrum.getNumberOfClassCodes()];
+						double[] maxMin = new double[10];
+						int numFlights = spectrum.getNumberOfFlights();
+						for (int i = 0; i < numFlights; i++) {
+
+							// task cancelled
+							if (isCancelled() || Thread.currentThread().isInterrupted())
+								return null;
+
+							// update progress
+							updateProgress(i, numFlights);
+
+							// reset max-min values
+							maxMin[0] = Double.NEGATIVE_INFINITY; // max peak
+							maxMin[1] = Double.POSITIVE_INFINITY; // min peak
+							maxMin[2] = Double.NEGATIVE_INFINITY; // max 1g
+							maxMin[3] = Double.POSITIVE_INFINITY; // min 1g
+							maxMin[4] = Double.NEGATIVE_INFINITY; // max inc
+							maxMin[5] = Double.POSITIVE_INFINITY; // min inc
+							maxMin[6] = Double.NEGATIVE_INFINITY; // max dp
+							maxMin[7] = Double.POSITIVE_INFINITY; // min dp
+							maxMin[8] = Double.NEGATIVE_INFINITY; // max dt
+							maxMin[9] = Double.POSITIVE_INFINITY; // min dt
+
+							// get STH flight
+							Flight flight = sthFlights.get(i);
+							updateMessage("Generating flight '" + flight.getName() + "'...");
+
+							// add flight to peak store
+							if (peakStore_ != null) {
+								peakStore_.addFlight(flight.getID());
 							}
+
+							// loop over peaks
+							int firstPeak = spectrum.getFirstPeak(i);
+							int endPeak = firstPeak + spectrum.getNumberOfPeaks(i);
+							for (int peak = firstPeak; peak < endPeak; peak++) {
+								insertSTHPeak(kernel, peak, flight.getID(), incEvents, visitedCodes, peakWriter, maxMin, incStresses, steadyStresses);
+							}
+
+							// set max-min values to flight
+							setMaxMinToFlight(flight.getID(), setMaxMinToFlight, maxMin);
+
+							// add flight to flights folder
+							flights.getChildren().add(flight);
 						}
+
+						// add flights folder to spectrum
+						sthFile.getChildren().add(flights);
 					}
 				}
 			}
@@ -487,11 +500,11 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 
 			// prepare statement for inserting into steady stress table
 			sql = "insert into " + segmentSteadyStressesTable + "(segment_id, oneg_stress, dp_stress, dt_stress, flight_id, peak_num) values(?, ?, ?, ?, ?, ?)";
-			try (PreparedStatement insertSteady = connection.prepareStatement(sql)) {
+			try (PreparedStatement insertSteady = connection.prepareStatement(sql); BatchWriter steadyWriter = new BatchWriter(insertSteady)) {
 
 				// prepare statement for inserting into increment stress table
 				sql = "insert into " + segmentIncrementStressesTable + "(segment_id, stress, factor_num, flight_id, peak_num) values(?, ?, ?, ?, ?)";
-				try (PreparedStatement insertIncrement = connection.prepareStatement(sql)) {
+				try (PreparedStatement insertIncrement = connection.prepareStatement(sql); BatchWriter incrementWriter = new BatchWriter(insertIncrement)) {
 
 					// loop over segments
 					Iterator<Segment> segments = steadyStresses.keySet().iterator();
@@ -519,7 +532,7 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 						insertSteady.setDouble(4, steadyStress.getDTStress());
 						insertSteady.setInt(5, steadyStress.getFlightID());
 						insertSteady.setInt(6, steadyStress.getPeakNum());
-						insertSteady.executeUpdate();
+						steadyWriter.addBatch();
 
 						// insert incremental stresses
 						IncrementStress incStress = incStresses.get(segment);
@@ -536,7 +549,7 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 								insertIncrement.setInt(3, stresses[i] >= 0 ? i + 1 : i - 7);
 								insertIncrement.setInt(4, flightIDs[i]);
 								insertIncrement.setInt(5, peakNumbers[i]);
-								insertIncrement.executeUpdate();
+								incrementWriter.addBatch();
 							}
 						}
 					}
@@ -604,26 +617,6 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 		return tableName;
 	}
 
-	/**
-	 * Returns the number of peaks of the ANA file.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @return Number of peaks of the ANA file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static int getNumberOfPeaks(Statement statement, int anaFileID) throws Exception {
-		String sql = "select sum(num_peaks) as totalPeaks from ana_flights where file_id = " + anaFileID;
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next())
-				return resultSet.getInt("totalPeaks");
-		}
-		return 0;
-	}
-
 	/**
 	 * Sets max-min values to given STH flight.
 	 *
@@ -644,448 +637,131 @@ public class GenerateStressSequence extends InternalEquinoxTask<StressSequence>
 		setMaxMinToFlight.executeUpdate();
 	}
 
+	/**
+	 * Returns increment events of all class codes of the given spectrum. Increment event of a class code is the comma separated events of its increment load cases.
+	 *
+	 * @param spectrum
+	 *            Compiled spectrum.
+	 * @return Increment events of class codes, ordered by class code index. Elements are null for class codes without increment load cases.
+	 */
+	private static String[] getIncrementEvents(CompiledSpectrum spectrum) {
+		String[] events = new String[spectrum.getNumberOfClassCodes()];
+		for (int i = 0; i < events.length; i++) {
+			for (int j = spectrum.getFirstIncrement(i); j < spectrum.getEndIncrement(i); j++) {
+				events[i] = events[i] == null ? spectrum.getIncrementEvent(j) : events[i] + "," + spectrum.getIncrementEvent(j);
+			}
+		}
+		return events;
+	}
+
 	/**
 	 * Inserts peak values into STH peaks table.
 	 *
-	 * @param anaPeaks
-	 *            Result set containing the ANA peak info.
+	 * @param kernel
+	 *            Stress sequence kernel.
+	 * @param peak
+	 *            Peak index in the compiled spectrum.
 	 * @param sthFlightID
 	 *            STH flight ID.
-	 * @param dpRatio
-	 *            Delta-p ratio.
-	 * @param dtInterpolator
-	 *            Delta-t interpolator.
-	 * @param insertSTHPeak
-	 *            Database statement for inserting STH peak.
-	 * @param select1GIssyCode
-	 *            Database statement for selecting 1G issy code.
-	 * @param selectSTFStress
-	 *            Database statement for selecting STF stress.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy code.
+	 * @param incEvents
+	 *            Increment events of class codes.
+	 * @param visitedCodes
+	 *            Array indicating the class codes which have already been visited.
+	 * @param peakWriter
+	 *            Batched writer for inserting STH peak.
 	 * @param maxMin
-	 *            Array containing the max-min values.
-	 * @param oneg
-	 *            Array containing the 1g stresses.
-	 * @param inc
-	 *            Array containing the increment stresses.
+	 *            Array containing the max-min values of peak, 1g, increment, delta-p and delta-t stresses (i.e. array length is 10).
 	 * @param incStresses
 	 *            Incremental stress mapping for each segment.
 	 * @param steadyStresses
 	 *            Steady stress mapping for each segment.
-	 * @param factorNumbers
-	 *            Array list to store increment factor numbers of a segment.
-	 * @return Returns an array containing the max/min values of peak, 1g, increment, delta-p and delta-t stresses (i.e. array length is 10).
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private double[] insertSTHPeak(ResultSet anaPeaks, int sthFlightID, DPRatio dpRatio, DTInterpolator dtInterpolator, PreparedStatement insertSTHPeak, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, double[] maxMin,
-			HashMap<String, Stress> oneg, HashMap<String, Stress> inc, HashMap<Segment, IncrementStress> incStresses, HashMap<Segment, SteadyStress> steadyStresses, ArrayList<Integer> factorNumbers) throws Exception {
-
-		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
-		int peakNum = anaPeaks.getInt("peak_num");
-		String onegCode = classCode.substring(0, 4);
-
-		// get 1g stress
-		Stress onegStress = oneg.get(onegCode);
-		if (onegStress == null) {
-			onegStress = get1GStress(selectSTFStress, select1GIssyCode, onegCode);
-			oneg.put(onegCode, onegStress);
-		}
-
-		// get segment
-		Segment segment = onegStress.getSegment();
-
-		// get increment stress
-		Stress incStress = inc.get(classCode);
-		if (incStress == null) {
-			incStress = getIncStress(selectSTFStress, selectIncrementIssyCode, classCode, onegCode, segment, incStresses, sthFlightID, peakNum, factorNumbers);
-			inc.put(classCode, incStress);
-		}
-
-		// compute and modify delta-p stress
-		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDouble("delta_p"));
-		if (dpRatio != null) {
-			dpStress = modifyStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress);
-		}
-
-		// compute and modify delta-t stress
-		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDouble("delta_t"));
-		if (dtInterpolator != null && dtInterpolator instanceof DT1PointInterpolator) {
-			DT1PointInterpolator onePoint = (DT1PointInterpolator) dtInterpolator;
-			dtStress = modifyStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress);
-		}
-		else if (dtInterpolator != null && dtInterpolator instanceof DT2PointsInterpolator) {
-			DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolator;
-			dtStress = modify2PointDTStress(twoPoints, segment, dtStress);
-		}
-
-		// compute and modify total stress
-		double totalStress = onegStress.getStress() + incStress.getStress() + dpStress + dtStress;
-
-		// execute update
+	private void insertSTHPeak(StressSequenceKernel kernel, int peak, int sthFlightID, String[] incEvents, boolean[] visitedCodes, BatchWriter peakWriter, double[] maxMin, HashMap<Segment, IncrementStress> incStresses, HashMap<Segment, SteadyStress> steadyStresses)
+			throws Exception {
+
+		// get class code, 1g code and segment
+		CompiledSpectrum spectrum = kernel.getSpectrum();
+		int classCode = spectrum.getClassCode(peak);
+		int onegCode = spectrum.getOnegCode(classCode);
+		int peakNum = spectrum.getPeakNumber(peak);
+		Segment segment = spectrum.getSegment(onegCode);
+
+		// get stresses
+		double onegStress = kernel.getOnegStress(onegCode);
+		double incStress = kernel.getIncrementStress(classCode);
+		double dpStress = kernel.getDPStress(peak);
+		double dtStress = kernel.getDTStress(peak);
+		double totalStress = onegStress + incStress + dpStress + dtStress;
+
+		// get events
+		String onegEvent = spectrum.getOnegEvent(onegCode);
+		String incEvent = incEvents[classCode];
+
+		// add to batch
+		PreparedStatement insertSTHPeak = peakWriter.getStatement();
 		insertSTHPeak.setInt(1, sthFlightID); // flight ID
 		insertSTHPeak.setInt(2, peakNum); // peak number
 		insertSTHPeak.setDouble(3, totalStress); // peak value (total stress)
-		insertSTHPeak.setDouble(4, onegStress.getStress()); // 1g stress
-		insertSTHPeak.setDouble(5, incStress.getStress()); // increment stress
+		insertSTHPeak.setDouble(4, onegStress); // 1g stress
+		insertSTHPeak.setDouble(5, incStress); // increment stress
 		insertSTHPeak.setDouble(6, dpStress); // delta-p stress
 		insertSTHPeak.setDouble(7, dtStress); // delta-t stress
-		if (onegStress.getEvent() != null) {
-			insertSTHPeak.setString(8, onegStress.getEvent()); // 1g event
+		if (onegEvent != null) {
+			insertSTHPeak.setString(8, onegEvent); // 1g event
 		}
 		else {
 			insertSTHPeak.setNull(8, java.sql.Types.VARCHAR);
 		}
-		if (incStress.getEvent() != null) {
-			insertSTHPeak.setString(9, incStress.getEvent()); // increment event
+		if (incEvent != null) {
+			insertSTHPeak.setString(9, incEvent); // increment event
 		}
 		else {
 			insertSTHPeak.setNull(9, java.sql.Types.VARCHAR);
 		}
 		insertSTHPeak.setString(10, segment.getName()); // segment name
 		insertSTHPeak.setInt(11, segment.getSegmentNumber()); // segment number
-		insertSTHPeak.executeUpdate();
+		peakWriter.addBatch();
 
-		// update max-min values
-		if (totalStress >= maxMin[0]) {
-			maxMin[0] = totalStress;
-		}
-		if (totalStress <= maxMin[1]) {
-			maxMin[1] = totalStress;
-		}
-		if (onegStress.getStress() >= maxMin[2]) {
-			maxMin[2] = onegStress.getStress();
-		}
-		if (onegStress.getStress() <= maxMin[3]) {
-			maxMin[3] = onegStress.getStress();
-		}
-		if (incStress.getStress() >= maxMin[4]) {
-			maxMin[4] = incStress.getStress();
-		}
-		if (incStress.getStress() <= maxMin[5]) {
-			maxMin[5] = incStress.getStress();
-		}
-		if (dpStress >= maxMin[6]) {
-			maxMin[6] = dpStress;
+		// add to peak store
+		if (peakStore_ != null) {
+			peakStore_.addPeak(peakNum, totalStress, onegStress, incStress, dpStress, dtStress, onegEvent, incEvent, segment.getName(), segment.getSegmentNumber());
 		}
-		if (dpStress <= maxMin[7]) {
-			maxMin[7] = dpStress;
-		}
-		if (dtStress >= maxMin[8]) {
-			maxMin[8] = dtStress;
-		}
-		if (dtStress <= maxMin[9]) {
-			maxMin[9] = dtStress;
-		}
-
-		// add steady stress if it doesn't exist
-		if (steadyStresses.get(segment) == null) {
-			steadyStresses.put(segment, new SteadyStress(onegStress.getStress(), dpStress, dtStress, sthFlightID, peakNum));
-		}
-
-		// return max-min values
-		return maxMin;
-	}
-
-	/**
-	 * Sets increment stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stress from STF file.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy code.
-	 * @param classCode
-	 *            14 digit class code.
-	 * @param onegCode
-	 *            1g code.
-	 * @param segment
-	 *            Segment.
-	 * @param incStresses
-	 *            Increment stress mapping.
-	 * @param flightID
-	 *            Typical flight ID.
-	 * @param peakNum
-	 *            ANA peak number.
-	 * @param factorNumbers
-	 *            Array list to store increment factor numbers of a segment.
-	 * @return Returns the increment stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private Stress getIncStress(PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, String classCode, String onegCode, Segment segment, HashMap<Segment, IncrementStress> incStresses, int flightID, int peakNum, ArrayList<Integer> factorNumbers) throws Exception {
-
-		// add default increment stress
-		double totalIncrementStress = 0.0;
-		String event = null;
-		factorNumbers.clear();
 
-		// loop over increments
-		for (int i = 0; i < 5; i++) {
-
-			// get increment block, direction number and factor number
-			String block = classCode.substring(2 * i + 4, 2 * i + 6);
-
-			// no increment
-			if (block.equals("00")) {
-				continue;
+		// update max-min values
+		maxMin[0] = Math.max(maxMin[0], totalStress);
+		maxMin[1] = Math.min(maxMin[1], totalStress);
+		maxMin[2] = Math.max(maxMin[2], onegStress);
+		maxMin[3] = Math.min(maxMin[3], onegStress);
+		maxMin[4] = Math.max(maxMin[4], incStress);
+		maxMin[5] = Math.min(maxMin[5], incStress);
+		maxMin[6] = Math.max(maxMin[6], dpStress);
+		maxMin[7] = Math.min(maxMin[7], dpStress);
+		maxMin[8] = Math.max(maxMin[8], dtStress);
+		maxMin[9] = Math.min(maxMin[9], dtStress);
+
+		// set segment incremental stresses at first occurrence of class code
+		if (!visitedCodes[classCode]) {
+			visitedCodes[classCode] = true;
+			IncrementStress segmentIncStress = incStresses.get(segment);
+			if (segmentIncStress == null) {
+				segmentIncStress = new IncrementStress();
+				incStresses.put(segment, segmentIncStress);
 			}
-
-			// get issy code and factor
-			String dirNum = block.substring(1);
-			String facNum = block.substring(0, 1);
-			String issyCode = null;
-			double factor = 0.0;
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, dirNum); // direction number
-			selectIncrementIssyCode.setString(4, facNum); // factor number
-			try (ResultSet resultSet = selectIncrementIssyCode.executeQuery()) {
-				while (resultSet.next()) {
-					issyCode = resultSet.getString("issy_code");
-					factor = resultSet.getDouble("factor_" + facNum);
-					String flightPhase = resultSet.getString("flight_phase");
-					if (event == null) {
-						event = flightPhase;
-					}
-					else {
-						event += "," + flightPhase;
-					}
-
-					// compute and modify increment stress
-					double stress = factor * getSTFStress(selectSTFStress, issyCode);
-					stress = modifyStress(issyCode, segment, GenerateStressSequenceInput.INCREMENT, stress);
-
-					// add to total increment stress
-					totalIncrementStress += stress;
+			String code = spectrum.getClassCodes()[classCode];
+			for (int i = 0; i < CompiledSpectrum.NUM_INCREMENTS; i++) {
+				char factorNum = code.charAt((2 * i) + 4);
+				if ((factorNum != '0') || (code.charAt((2 * i) + 5) != '0')) {
+					segmentIncStress.setInfo(factorNum - '1', incStress, sthFlightID, peakNum);
 				}
 			}
-
-			// add factor number
-			factorNumbers.add(Integer.parseInt(facNum) - 1);
-		}
-
-		// set segment incremental stresses
-		IncrementStress incStress = incStresses.get(segment);
-		if (incStress == null) {
-			incStress = new IncrementStress();
-		}
-		for (Integer factorNum : factorNumbers) {
-			incStress.setInfo(factorNum, totalIncrementStress, flightID, peakNum);
-		}
-		incStresses.put(segment, incStress);
-
-		// set increment stress
-		return new Stress(totalIncrementStress, event, null, segment);
-	}
-
-	/**
-	 * Sets 1g stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stresses from STF file.
-	 * @param select1gIssyCode
-	 *            Database statement for selecting 1g issy code from TXT file.
-	 * @param onegCode
-	 *            1g code.
-	 * @return The 1g stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private Stress get1GStress(PreparedStatement selectSTFStress, PreparedStatement select1gIssyCode, String onegCode) throws Exception {
-
-		// get 1G issy code and event name
-		String issyCode = null, event = null, segmentName = null;
-		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
-		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
-			while (resultSet.next()) {
-
-				// get issy code and event name
-				issyCode = resultSet.getString("issy_code");
-				event = resultSet.getString("flight_phase");
-				segmentNum = resultSet.getInt("oneg_order");
-
-				// extract segment name
-				segmentName = Utility.extractSegmentName(event);
-			}
 		}
 
-		// create segment
-		Segment segment = new Segment(segmentName, segmentNum);
-
-		// compute and modify 1g stress
-		double stress = getSTFStress(selectSTFStress, issyCode);
-		stress = modifyStress(issyCode, segment, GenerateStressSequenceInput.ONEG, stress);
-
-		// set to peak
-		return new Stress(stress, event, issyCode, segment);
-	}
-
-	/**
-	 * Returns STF stress for given issy code.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement.
-	 * @param issyCode
-	 *            ISSY code.
-	 * @return STF stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private double getSTFStress(PreparedStatement selectSTFStress, String issyCode) throws Exception {
-		StressComponent component = input_.getStressComponent();
-		double angle = input_.getRotationAngle();
-		selectSTFStress.setString(1, issyCode); // issy code
-		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
-			while (resultSet.next())
-				if (component.equals(StressComponent.NORMAL_X))
-					return resultSet.getDouble("stress_x");
-				else if (component.equals(StressComponent.NORMAL_Y))
-					return resultSet.getDouble("stress_y");
-				else if (component.equals(StressComponent.SHEAR_XY))
-					return resultSet.getDouble("stress_xy");
-				else if (component.equals(StressComponent.ROTATED)) {
-					double x = resultSet.getDouble("stress_x");
-					double y = resultSet.getDouble("stress_y");
-					double xy = resultSet.getDouble("stress_xy");
-					return 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-				}
-		}
-		return 0.0;
-	}
-
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param segment
-	 *            Segment.
-	 * @param stressType
-	 *            Stress type (1g, increment, delta-p, delta-t or total stress).
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @return The modified stress value.
-	 */
-	private double modifyStress(String issyCode, Segment segment, int stressType, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(stressType);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
-	}
-
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param interpolator
-	 *            2 points delta-t interpolator.
-	 * @param segment
-	 *            Segment.
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @return The modified stress value.
-	 */
-	private double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
+		// add steady stress if it doesn't exist
+		if (steadyStresses.get(segment) == null) {
+			steadyStresses.put(segment, new SteadyStress(onegStress, dpStress, dtStress, sthFlightID, peakNum));
 		}
-
-		// return modified stress
-		return stress;
 	}
 
 	/**
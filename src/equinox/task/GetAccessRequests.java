@@ -104,7 +104,7 @@ public class GetAccessRequests extends InternalEquinoxTask<ArrayList<AccessReque
 			request.setStatus(status_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -120,7 +120,7 @@ public class GetAccessRequests extends InternalEquinoxTask<ArrayList<AccessReque
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -101,7 +101,7 @@ public class GetAircraftProgramsForPilotPoints extends InternalEquinoxTask<Array
 			request.setListenerHashCode(hashCode());
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -117,7 +117,7 @@ public class GetAircraftProgramsForPilotPoints extends InternalEquinoxTask<Array
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
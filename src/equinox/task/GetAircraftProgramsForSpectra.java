@@ -101,7 +101,7 @@ public class GetAircraftProgramsForSpectra extends InternalEquinoxTask<ArrayList
 			request.setListenerHashCode(hashCode());
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -117,7 +117,7 @@ public class GetAircraftProgramsForSpectra extends InternalEquinoxTask<ArrayList
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -105,7 +105,7 @@ public class GetAircraftSectionsForPilotPoints extends InternalEquinoxTask<Array
 			request.setProgram(program_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -121,7 +121,7 @@ public class GetAircraftSectionsForPilotPoints extends InternalEquinoxTask<Array
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
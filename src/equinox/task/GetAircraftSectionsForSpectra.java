@@ -108,7 +108,7 @@ public class GetAircraftSectionsForSpectra extends InternalEquinoxTask<ArrayList
 			request.setProgram(program_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -124,7 +124,7 @@ public class GetAircraftSectionsForSpectra extends InternalEquinoxTask<ArrayList
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -101,7 +101,7 @@ public class GetAnalysisRequests extends InternalEquinoxTask<AnalysisServerStati
 			request.setTo(new Date());
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getAnalysisServerManager();
@@ -117,7 +117,7 @@ public class GetAnalysisRequests extends InternalEquinoxTask<AnalysisServerStati
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// get query message
 			AnalysisMessage message = serverMessageRef.get();
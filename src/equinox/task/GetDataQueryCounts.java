@@ -101,7 +101,7 @@ public class GetDataQueryCounts extends InternalEquinoxTask<GetDataQueriesRespon
 			request.setTo(new Date());
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -117,7 +117,7 @@ public class GetDataQueryCounts extends InternalEquinoxTask<GetDataQueriesRespon
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// get query message
 			DataMessage message = serverMessageRef.get();
@@ -101,7 +101,7 @@ public class GetExchangeRequests extends InternalEquinoxTask<ExchangeServerStati
 			request.setTo(new Date());
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getExchangeServerManager();
@@ -117,7 +117,7 @@ public class GetExchangeRequests extends InternalEquinoxTask<ExchangeServerStati
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// get query message
 			ExchangeMessage message = serverMessageRef.get();
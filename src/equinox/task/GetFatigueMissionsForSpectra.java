@@ -109,7 +109,7 @@ public class GetFatigueMissionsForSpectra extends InternalEquinoxTask<ArrayList<
 			request.setSection(section_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -125,7 +125,7 @@ public class GetFatigueMissionsForSpectra extends InternalEquinoxTask<ArrayList<
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -96,7 +96,7 @@ public class GetHelpVideos extends InternalEquinoxTask<ArrayList<DownloadInfo>>
 			request.setListenerHashCode(hashCode());
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -112,7 +112,7 @@ public class GetHelpVideos extends InternalEquinoxTask<ArrayList<DownloadInfo>>
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
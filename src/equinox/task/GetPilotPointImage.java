@@ -116,7 +116,7 @@ public class GetPilotPointImage extends TemporaryFileCreatingTask<byte[]> implem
 			request.setPilotPointId(pilotPointID_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -132,7 +132,7 @@ public class GetPilotPointImage extends TemporaryFileCreatingTask<byte[]> implem
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -89,7 +89,7 @@ public class GetSearchHits extends InternalEquinoxTask<GetSearchHitsResponse> im
 			request.setListenerHashCode(hashCode());
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -105,7 +105,7 @@ public class GetSearchHits extends InternalEquinoxTask<GetSearchHitsResponse> im
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// get query message
 			DataMessage message = serverMessageRef.get();
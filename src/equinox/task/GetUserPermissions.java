@@ -111,7 +111,7 @@ public class GetUserPermissions extends InternalEquinoxTask<Permission[]> implem
 				return null;
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -127,7 +127,7 @@ public class GetUserPermissions extends InternalEquinoxTask<Permission[]> implem
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -16,11 +16,14 @@
 package equinox.task;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map.Entry;
+import java.util.concurrent.Future;
 import java.util.logging.FileHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -31,6 +34,8 @@ import com.jcraft.jsch.JSchException;
 import equinox.Equinox;
 import equinox.controller.TaskPanel;
 import equinox.data.ExecutionMode;
+import equinox.data.TaskScheduler.Permit;
+import equinox.data.TaskScheduler.Resource;
 import equinox.exchangeServer.remote.data.ExchangeUser;
 import equinox.exchangeServer.remote.message.InstructionSetRunRequest;
 import equinox.exchangeServer.remote.message.ShareFile;
@@ -38,7 +43,10 @@ import equinox.plugin.EquinoxTask;
 import equinox.serverUtilities.FilerConnection;
 import equinox.serverUtilities.SharedFileInfo;
 import equinox.serverUtilities.SharedFileInfo.SharedFileInfoType;
+import equinox.task.automation.ExecutionPlanner;
 import equinox.utility.Utility;
+import equinox.utility.exception.IgnoredFailureException;
+import javafx.application.Platform;
 
 /**
  * Abstract class for internal Equinox tasks.
@@ -63,6 +71,30 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 	/** Follower tasks. */
 	private HashMap<InternalEquinoxTask<?>, ExecutionMode> followerTasks_ = null;
 
+	/** Parent task of this headless sub task. Null if this task has its own task panel. */
+	private InternalEquinoxTask<?> parentTask_ = null;
+
+	/** Running headless sub tasks of this task. */
+	private final ArrayList<InternalEquinoxTask<?>> subtasks_ = new ArrayList<>();
+
+	/** Last message of headless sub task. */
+	private volatile String headlessMessage_ = null;
+
+	/** Progress of headless sub task (between 0 and 1). */
+	private volatile double headlessProgress_ = 0.0;
+
+	/** Headless sub tasks which currently cannot be cancelled. */
+	private final HashSet<InternalEquinoxTask<?>> nonCancellableSubtasks_ = new HashSet<>();
+
+	/** True if this task itself can be cancelled. */
+	private boolean canBeCanceled_ = true;
+
+	/** Cancel state shown on the task panel. Null if not yet shown. */
+	private Boolean shownCancelState_ = null;
+
+	/** Execution planner of the automation plan this task belongs to. Null if this task is not planned. */
+	private volatile ExecutionPlanner executionPlanner_ = null;
+
 	/**
 	 * Sets owner panel to this task.
 	 *
@@ -75,6 +107,118 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 		updateMessage("Queued for execution...");
 	}
 
+	/**
+	 * Sets parent task to this headless sub task. Headless sub tasks have no task panel of their own; they share the task panel of their parent, their progress and messages are kept in plain fields,
+	 * and their warnings and failures are reported to the parent task upon completion.
+	 *
+	 * @param parent
+	 *            Parent task.
+	 */
+	public void setParentTask(InternalEquinoxTask<?> parent) {
+		parentTask_ = parent.parentTask_ == null ? parent : parent.parentTask_;
+		taskPanel_ = parentTask_.taskPanel_;
+		synchronized (parentTask_.subtasks_) {
+			parentTask_.subtasks_.add(this);
+		}
+	}
+
+	/**
+	 * Sets execution planner to this task. Planned tasks are queued by the planner when submitted, and executed once the planner's core budget allows.
+	 *
+	 * @param planner
+	 *            Execution planner.
+	 */
+	public void setExecutionPlanner(ExecutionPlanner planner) {
+		executionPlanner_ = planner;
+	}
+
+	/**
+	 * Returns the execution planner of this task.
+	 *
+	 * @return The execution planner of this task, or null if this task is not planned.
+	 */
+	public ExecutionPlanner getExecutionPlanner() {
+		return executionPlanner_;
+	}
+
+	/**
+	 * Updates the cancel state of this task. Headless sub tasks route their cancel state to the parent task. The cancel button of the task panel is enabled only if the task and all of its headless sub
+	 * tasks can be cancelled.
+	 *
+	 * @param canBeCanceled
+	 *            True if the task can be canceled.
+	 */
+	public void updateCancelState(boolean canBeCanceled) {
+		if (parentTask_ != null) {
+			parentTask_.updateCancelState(this, canBeCanceled);
+		}
+		else {
+			updateCancelState(null, canBeCanceled);
+		}
+	}
+
+	/**
+	 * Returns the last message of this headless sub task.
+	 *
+	 * @return The last message of this headless sub task, or null if this task is not headless.
+	 */
+	public String getHeadlessMessage() {
+		return headlessMessage_;
+	}
+
+	/**
+	 * Returns the progress of this headless sub task.
+	 *
+	 * @return The progress of this headless sub task (between 0 and 1).
+	 */
+	public double getHeadlessProgress() {
+		return headlessProgress_;
+	}
+
+	/**
+	 * Returns the number of running headless sub tasks of this task.
+	 *
+	 * @return The number of running headless sub tasks of this task.
+	 */
+	public int getNumberOfSubtasks() {
+		synchronized (subtasks_) {
+			return subtasks_.size();
+		}
+	}
+
+	/**
+	 * Waits until all running headless sub tasks of this task complete, or the given time elapses.
+	 *
+	 * @param timeout
+	 *            Maximum time to wait in milliseconds.
+	 * @return The number of running headless sub tasks of this task.
+	 * @throws InterruptedException
+	 *             If the current thread is interrupted while waiting.
+	 */
+	public int awaitSubtasks(long timeout) throws InterruptedException {
+		synchronized (subtasks_) {
+			if (!subtasks_.isEmpty()) {
+				subtasks_.wait(timeout);
+			}
+			return subtasks_.size();
+		}
+	}
+
+	/**
+	 * Runs given task silently. If this task is a headless sub task, the given task is run as a headless sub task of the same parent task. Otherwise, it is run with its own task panel.
+	 *
+	 * @param task
+	 *            Task to be executed.
+	 * @param isSequential
+	 *            True if task should be executed within the sequential task queue.
+	 * @return Returns a Future representing that task. The Future's get method will return null upon successful completion.
+	 */
+	public Future<?> runSilently(InternalEquinoxTask<?> task, boolean isSequential) {
+		if (parentTask_ != null)
+			return taskPanel_.getOwner().runSubtask(task, parentTask_, isSequential);
+		return taskPanel_.getOwner().runTaskSilently(task, isSequential);
+	}
+
 	/**
 	 * Adds follower task.
 	 *
@@ -148,7 +292,7 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 	 * @param warning
 	 *            Warning message to add.
 	 */
-	public void addWarning(String warning) {
+	public synchronized void addWarning(String warning) {
 
 		// append warning
 		warnings_ += warning + "\n";
@@ -167,7 +311,7 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 	 * @param e
 	 *            Exception to add.
 	 */
-	public void addWarning(String warning, Throwable e) {
+	public synchronized void addWarning(String warning, Throwable e) {
 		warnings_ += warning + "\n";
 		warnings_ += e.getMessage() + "\n";
 		for (StackTraceElement ste : e.getStackTrace()) {
@@ -188,7 +332,16 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 
 	@Override
 	public void updateMessage(String message) {
-		super.updateMessage(message);
+
+		// headless (no UI update)
+		if (parentTask_ != null) {
+			headlessMessage_ = message;
+		}
+
+		// update UI
+		else {
+			super.updateMessage(message);
+		}
 
 		// log to task logger (if any)
 		if (logger_ != null) {
@@ -196,6 +349,34 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 		}
 	}
 
+	@Override
+	public void updateProgress(long workDone, long max) {
+
+		// headless (no UI update)
+		if (parentTask_ != null) {
+			headlessProgress_ = max <= 0 || workDone < 0 ? 0.0 : Math.min((double) workDone / max, 1.0);
+		}
+
+		// update UI
+		else {
+			super.updateProgress(workDone, max);
+		}
+	}
+
+	@Override
+	public void updateProgress(double workDone, double max) {
+
+		// headless (no UI update)
+		if (parentTask_ != null) {
+			headlessProgress_ = max <= 0.0 || workDone < 0.0 || Double.isNaN(workDone) ? 0.0 : Math.min(workDone / max, 1.0);
+		}
+
+		// update UI
+		else {
+			super.updateProgress(workDone, max);
+		}
+	}
+
 	@Override
 	protected void succeeded() {
 
@@ -216,6 +397,14 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 		if (followerTasks_ != null) {
 			executeFollowerTasks();
 		}
+
+		// report warnings to parent task
+		if (parentTask_ != null && !warnings_.isEmpty()) {
+			parentTask_.addWarning(getTaskTitle() + " is completed with warnings:\n" + warnings_);
+		}
+
+		// complete headless sub task
+		subtaskCompleted();
 	}
 
 	@Override
@@ -236,6 +425,14 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 			logger_.log(Level.SEVERE, getClass().getSimpleName() + " has failed.", getException());
 			Arrays.stream(logger_.getHandlers()).forEach(h -> h.close());
 		}
+
+		// report failure to parent task
+		if (parentTask_ != null && !(getException() instanceof IgnoredFailureException)) {
+			parentTask_.addWarning(getTaskTitle() + " has failed.", getException());
+		}
+
+		// complete headless sub task
+		subtaskCompleted();
 	}
 
 	@Override
@@ -253,6 +450,18 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 			logger_.log(Level.WARNING, getClass().getSimpleName() + " has been cancelled.");
 			Arrays.stream(logger_.getHandlers()).forEach(h -> h.close());
 		}
+
+		// cancel headless sub tasks
+		ArrayList<InternalEquinoxTask<?>> subtasks;
+		synchronized (subtasks_) {
+			subtasks = new ArrayList<>(subtasks_);
+		}
+		for (InternalEquinoxTask<?> subtask : subtasks) {
+			subtask.cancel();
+		}
+
+		// complete headless sub task
+		subtaskCompleted();
 	}
 
 	/**
@@ -313,6 +522,54 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 		logger_.setLevel(level);
 	}
 
+	/**
+	 * Removes this headless sub task from the running sub tasks of its parent task. This method is called when this task is completed (in any way). Removal is deferred to the next FX application
+	 * thread pulse, so that sub tasks submitted from completion methods of sub classes are registered to the parent task before this task is removed. Threads waiting for the sub tasks of the parent
+	 * task are notified upon removal.
+	 */
+	private void subtaskCompleted() {
+		if (parentTask_ != null) {
+			parentTask_.updateCancelState(this, true);
+			Platform.runLater(() -> {
+				synchronized (parentTask_.subtasks_) {
+					parentTask_.subtasks_.remove(this);
+					parentTask_.subtasks_.notifyAll();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Updates the cancel state of this task or one of its headless sub tasks, and shows the resulting cancel state on the task panel if it has changed.
+	 *
+	 * @param subtask
+	 *            Headless sub task, or null if the cancel state of this task is updated.
+	 * @param canBeCanceled
+	 *            True if the task can be canceled.
+	 */
+	private void updateCancelState(InternalEquinoxTask<?> subtask, boolean canBeCanceled) {
+		synchronized (nonCancellableSubtasks_) {
+
+			// update state
+			if (subtask == null) {
+				canBeCanceled_ = canBeCanceled;
+			}
+			else if (canBeCanceled) {
+				nonCancellableSubtasks_.remove(subtask);
+			}
+			else {
+				nonCancellableSubtasks_.add(subtask);
+			}
+
+			// show state (if changed)
+			boolean state = canBeCanceled_ && nonCancellableSubtasks_.isEmpty();
+			if (shownCancelState_ == null || shownCancelState_ != state) {
+				shownCancelState_ = state;
+				taskPanel_.updateCancelState(state);
+			}
+		}
+	}
+
 	/**
 	 * Executes follower tasks (if any). This method is called from <code>succeeded</code> method of this task.
 	 */
@@ -330,7 +587,7 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 			if (mode.equals(ExecutionMode.NO_RUN)) {
 				continue;
 			}
-			taskPanel_.getOwner().runTaskSilently(entry.getKey(), mode.equals(ExecutionMode.SEQUENTIAL));
+			runSilently(entry.getKey(), mode.equals(ExecutionMode.SEQUENTIAL));
 		}
 	}
 
@@ -427,7 +684,15 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 				url = filer.getDirectoryPath(FilerConnection.EXCHANGE) + "/" + Equinox.USER.getAlias() + "_" + task.getClass().getSimpleName() + "_" + System.currentTimeMillis() + ".zip";
 
 				// upload file to filer
-				filer.getSftpChannel().put(path.toString(), url);
+				try (Permit permit = Equinox.SCHEDULER.acquire(Resource.NETWORK, task)) {
+
+					// interrupted while waiting for permit
+					if (permit == null)
+						return;
+
+					// upload
+					filer.getSftpChannel().put(path.toString(), url);
+				}
 			}
 
 			// update info
@@ -480,7 +745,15 @@ public abstract class InternalEquinoxTask<V> extends EquinoxTask<V> {
 				url = filer.getDirectoryPath(FilerConnection.EXCHANGE) + "/" + Equinox.USER.getAlias() + "_" + task.getClass().getSimpleName() + "_" + System.currentTimeMillis() + ".zip";
 
 				// upload file to filer
-				filer.getSftpChannel().put(path.toString(), url);
+				try (Permit permit = Equinox.SCHEDULER.acquire(Resource.NETWORK, task)) {
+
+					// interrupted while waiting for permit
+					if (permit == null)
+						return;
+
+					// upload
+					filer.getSftpChannel().put(path.toString(), url);
+				}
 			}
 
 			// update info
@@ -109,7 +109,7 @@ public class LikeWish extends InternalEquinoxTask<Boolean> implements ShortRunni
 			request.setWish(wish_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -125,7 +125,7 @@ public class LikeWish extends InternalEquinoxTask<Boolean> implements ShortRunni
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -15,8 +15,6 @@
  */
 package equinox.task;
 
-import java.io.BufferedWriter;
-import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -25,7 +23,6 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -33,6 +30,9 @@ import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
 import equinox.data.AnalysisEngine;
+import equinox.data.BlobStore;
+import equinox.data.CompiledSpectrum;
+import equinox.data.CompiledSpectrumCache.Lease;
 import equinox.data.DPRatio;
 import equinox.data.DT1PointInterpolator;
 import equinox.data.DT2PointsInterpolator;
@@ -45,10 +45,10 @@ import equinox.data.GAGEvent;
 import equinox.data.GAGPeak;
 import equinox.data.IncStress;
 import equinox.data.LoadcaseFactor;
+import equinox.data.STFStressVector;
 import equinox.data.Segment;
 import equinox.data.SegmentFactor;
 import equinox.data.Settings;
-import equinox.data.Stress;
 import equinox.data.StressComponent;
 import equinox.data.fileType.LoadcaseDamageContributions;
 import equinox.data.fileType.STFFile;
@@ -57,14 +57,20 @@ import equinox.data.input.GenerateStressSequenceInput;
 import equinox.data.input.LoadcaseDamageContributionInput;
 import equinox.dataServer.remote.data.ContributionType;
 import equinox.plugin.FileType;
+import equinox.process.CompileSpectrum;
+import equinox.process.DamageContributionSolver;
 import equinox.process.ESAProcess;
 import equinox.process.InbuiltDCA;
+import equinox.process.JavaDCA;
+import equinox.process.ReadSTFStresses;
 import equinox.process.SafeDCA;
+import equinox.process.StressSequenceKernel;
 import equinox.serverUtilities.Permission;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.automation.AutomaticTaskOwner;
 import equinox.task.automation.SingleInputTask;
 import equinox.task.serializableTask.SerializableLoadcaseDamageContributionAnalysis;
+import equinox.utility.StressHistoryWriter;
 import equinox.utility.Utility;
 
 /**
@@ -97,17 +103,14 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	/** Analysis engine. */
 	private final AnalysisEngine analysisEngine_;
 
-	/** Decimal format. */
-	private final DecimalFormat format_ = new DecimalFormat("0.00");
+	/** Peaks of current typical flight for full sequence (at index 0) and contribution sequences. */
+	private double[][] flightPeaks_;
 
-	/** Number of columns. */
-	private static final int NUM_COLS = 8;
+	/** Maximum number of peaks per typical flight. */
+	private int maxPeaks_;
 
-	/** STH lines. */
-	private String[] lines_;
-
-	/** STH file indices. */
-	private int rowIndex_ = 0, colIndex_ = 0, maxPeaks_;
+	/** Incremental damage contribution solver. This is used only for Java analysis engine, in which case no STH files are generated. */
+	private DamageContributionSolver solver_;
 
 	/** Delta-P ratio. */
 	private DPRatio dpRatio_;
@@ -767,6 +770,11 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 			}
 		}
 
+		// Java engine
+		else if (analysisEngine_.equals(AnalysisEngine.JAVA)) {
+			damageAnalysis_ = new JavaDCA(this, solver_, flsFile, validity);
+		}
+
 		// inbuilt engine
 		else {
 			damageAnalysis_ = new InbuiltDCA(this, sthFiles, flsFile, input_.getContributions(), input_.getMaterial(), validity, maxPeaks_ > EquivalentStressAnalysis.MAX_PEAKS, input_.isApplyOmission(), input_.getOmissionLevel());
@@ -810,8 +818,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 
 					// FLS file format
 					Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-					Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-					Path flsFile = Utility.extractFileFromZIP(zipFile, this, FileType.FLS, null);
+					Path flsFile = BlobStore.extractFile(blob, zipFile, this, FileType.FLS, null);
 					Files.copy(flsFile, output, StandardCopyOption.REPLACE_EXISTING);
 
 					// free blob
@@ -825,7 +832,8 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	}
 
 	/**
-	 * Generates stress sequences for each damage contribution and returns paths to STH files.
+	 * Generates stress sequences for each damage contribution and returns paths to STH files. For the Java analysis engine, no STH files are written; typical flights are passed to the damage
+	 * contribution solver instead.
 	 *
 	 * @param connection
 	 *            Database connection.
@@ -845,20 +853,26 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 
 		// initialize mapping
 		Path[] paths = new Path[contributions.size() + 1];
-		BufferedWriter[] writers = new BufferedWriter[paths.length];
+		StressHistoryWriter[] writers = new StressHistoryWriter[paths.length];
 
 		try {
 
+			// create incremental solver (Java engine)
+			if (analysisEngine_.equals(AnalysisEngine.JAVA)) {
+				solver_ = new DamageContributionSolver(input_.getMaterial(), contributions.size(), input_.isApplyOmission(), input_.getOmissionLevel());
+			}
+
 			// create file writers
-			updateMessage("Creating STH file writers...");
-			Path rootDir = getWorkingDirectory();
-			String baseFileName = FileType.getNameWithoutExtension(stfFile_ == null ? stfName_ : stfFile_.getName());
-			lines_ = new String[paths.length];
-			for (int i = 0; i < paths.length; i++) {
-				String name = i == 0 ? "full" : contributions.get(i - 1).getName();
-				paths[i] = rootDir.resolve(FileType.appendExtension(Utility.correctFileName(baseFileName) + "_" + name, FileType.STH));
-				writers[i] = Files.newBufferedWriter(paths[i], Charset.defaultCharset());
-				writeSTHHeader(writers[i], name);
+			else {
+				updateMessage("Creating STH file writers...");
+				Path rootDir = getWorkingDirectory();
+				String baseFileName = FileType.getNameWithoutExtension(stfFile_ == null ? stfName_ : stfFile_.getName());
+				for (int i = 0; i < paths.length; i++) {
+					String name = i == 0 ? "full" : contributions.get(i - 1).getName();
+					paths[i] = rootDir.resolve(FileType.appendExtension(Utility.correctFileName(baseFileName) + "_" + name, FileType.STH));
+					writers[i] = new StressHistoryWriter(paths[i]);
+					writeSTHHeader(writers[i], name);
+				}
 			}
 
 			// get CDF set file IDs
@@ -880,98 +894,93 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 				// get DT parameters
 				updateMessage("Computing delta-t interpolation...");
 				dtInterpolator_ = getDTInterpolator(connection, statement, txtFileID);
+			}
 
-				// get number of flights and peaks of the ANA file
-				int numPeaks = getNumberOfPeaks(statement, anaFileID);
+			// compile spectrum (shared with other tasks through spectrum cache)
+			try (Lease lease = Equinox.SPECTRUM_CACHE.acquire(anaFileID, txtFileID, convTableID, () -> new CompileSpectrum(this, anaFileID, txtFileID).start(connection))) {
+
+				// compilation cancelled
+				CompiledSpectrum spectrum = lease.getSpectrum();
+				if (spectrum == null)
+					return null;
+
+				// create stress kernel
+				STFStressVector stresses = new ReadSTFStresses(this, spectrum, stfID, stressTableID).start(connection);
+				StressSequenceKernel kernel = new StressSequenceKernel(spectrum, stresses, input_, input_.getStressComponent(), input_.getRotationAngle(), dpRatio_, dtInterpolator_);
+
+				// compute increment stresses of full and contribution sequences
+				IncStress[] incStresses = getIncStresses(kernel, contributions);
 
 				// get maximum number of peaks per typical flight
-				maxPeaks_ = getMaxPeaksPerFlight(statement, anaFileID);
-
-				// prepare statement for selecting ANA peaks
-				String sql = "select peak_num, fourteen_digit_code, delta_p, delta_t from ana_peaks_" + anaFileID + " where flight_id = ?";
-				try (PreparedStatement selectANAPeak = connection.prepareStatement(sql)) {
-
-					// prepare statement for selecting 1g issy code
-					sql = "select flight_phase, issy_code, oneg_order from txt_codes where file_id = " + txtFileID + " and one_g_code = ? and increment_num = 0";
-					try (PreparedStatement select1GIssyCode = connection.prepareStatement(sql)) {
-
-						// prepare statement for selecting increment issy code
-						sql = "select flight_phase, issy_code, factor_1, factor_2, factor_3, factor_4, factor_5, factor_6, factor_7, factor_8 from txt_codes where file_id = " + txtFileID
-								+ " and one_g_code = ? and increment_num = ? and direction_num = ? and (nl_factor_num is null or nl_factor_num = ?)";
-						try (PreparedStatement selectIncrementIssyCode = connection.prepareStatement(sql)) {
-
-							// prepare statement for selecting STF stress
-							sql = "select stress_x, stress_y, stress_xy from stf_stresses_" + stressTableID + " where file_id = " + stfID + " and issy_code = ?";
-							try (PreparedStatement selectSTFStress = connection.prepareStatement(sql)) {
-
-								// execute query for selecting ANA flights
-								sql = "select * from ana_flights where file_id = " + anaFileID + " order by flight_num";
-								try (ResultSet anaFlights = statement.executeQuery(sql)) {
-
-									// loop over flights
-									HashMap<String, Stress> oneg = new HashMap<>();
-									HashMap<String, IncStress> inc = new HashMap<>();
-									GAGPeak[] flightGAGPeaks = new GAGPeak[] { new GAGPeak(), new GAGPeak() };
-									int peakCount = 0;
-									while (anaFlights.next()) {
-
-										// task cancelled
-										if (isCancelled())
-											return null;
-
-										// reset max-min values
-										flightGAGPeaks[0].setStress(Double.NEGATIVE_INFINITY); // max peak
-										flightGAGPeaks[1].setStress(Double.POSITIVE_INFINITY); // min peak
-										flightGAGPeaks[0].setEvents(null);
-										flightGAGPeaks[0].setIssyCodes(null);
-										flightGAGPeaks[1].setEvents(null);
-										flightGAGPeaks[1].setIssyCodes(null);
-
-										// write flight header
-										int flightPeaks = anaFlights.getInt("num_peaks");
-										double flightValidity = writeFlightHeaders(writers, anaFlights, flightPeaks);
-
-										// initialize variables
-										int rem = flightPeaks % NUM_COLS;
-										int numRows = flightPeaks / NUM_COLS + (rem == 0 ? 0 : 1);
-										rowIndex_ = 0;
-										colIndex_ = 0;
-										for (int i = 0; i < lines_.length; i++) {
-											lines_[i] = "";
-										}
-
-										// execute statement for getting ANA peaks
-										selectANAPeak.setInt(1, anaFlights.getInt("flight_id"));
-										try (ResultSet anaPeaks = selectANAPeak.executeQuery()) {
-
-											// loop over peaks
-											while (anaPeaks.next()) {
-
-												// task cancelled
-												if (isCancelled())
-													return null;
-
-												// update progress
-												updateProgress(peakCount, numPeaks);
-												peakCount++;
-
-												// insert peak into STH peaks table
-												flightGAGPeaks = writeSTHPeak(writers, anaPeaks, select1GIssyCode, selectSTFStress, selectIncrementIssyCode, oneg, inc, dpRatio_, dtInterpolator_, rem, numRows, contributions, flightGAGPeaks);
-											}
-										}
-
-										// write GAG peaks
-										if (input_.getGAGContributionIndex() != -1) {
-											writeGAGPeaks(writers[input_.getGAGContributionIndex() + 1], flightGAGPeaks);
-										}
-
-										// add to GAG peaks
-										addToGAGEvents(flightGAGPeaks, spectrumValidity, flightValidity);
-									}
-								}
-							}
+				maxPeaks_ = spectrum.getMaxPeaksPerFlight();
+				flightPeaks_ = new double[paths.length][Math.max(maxPeaks_, 3)];
+				int[] numPeaks = new int[paths.length];
+				boolean[] isFull = new boolean[paths.length];
+
+				// loop over flights
+				updateMessage("Generating stress sequences for damage contributions...");
+				GAGPeak[] flightGAGPeaks = new GAGPeak[] { new GAGPeak(), new GAGPeak() };
+				int numFlights = spectrum.getNumberOfFlights();
+				for (int i = 0; i < numFlights; i++) {
+
+					// task cancelled
+					if (isCancelled())
+						return null;
+
+					// update progress
+					updateProgress(i, numFlights);
+
+					// reset max-min values
+					flightGAGPeaks[0].setStress(Double.NEGATIVE_INFINITY); // max peak
+					flightGAGPeaks[1].setStress(Double.POSITIVE_INFINITY); // min peak
+					flightGAGPeaks[0].setEvents(null);
+					flightGAGPeaks[0].setIssyCodes(null);
+					flightGAGPeaks[1].setEvents(null);
+					flightGAGPeaks[1].setIssyCodes(null);
+
+					// write flight header
+					int flightPeaks = spectrum.getNumberOfPeaks(i);
+					writeFlightHeaders(writers, spectrum, i);
+
+					// find contribution flights which are not affected by omitted load cases
+					int firstPeak = spectrum.getFirstPeak(i);
+					for (int j = 1; j < isFull.length; j++) {
+						isFull[j] = isFullFlight(spectrum, firstPeak, flightPeaks, incStresses, contributions, j);
+					}
+
+					// add peaks to flight peaks
+					for (int j = 0; j < flightPeaks; j++) {
+						addSTHPeak(kernel, firstPeak + j, j, incStresses, contributions, isFull, flightGAGPeaks);
+					}
+
+					// set number of flight peaks
+					for (int j = 0; j < numPeaks.length; j++) {
+						numPeaks[j] = flightPeaks;
+					}
+
+					// set GAG peaks
+					if (input_.getGAGContributionIndex() != -1) {
+						int gagIndex = input_.getGAGContributionIndex() + 1;
+						flightPeaks_[gagIndex][0] = flightGAGPeaks[1].getStress();
+						flightPeaks_[gagIndex][1] = flightGAGPeaks[0].getStress();
+						flightPeaks_[gagIndex][2] = flightGAGPeaks[1].getStress();
+						numPeaks[gagIndex] = 3;
+					}
+
+					// write flight peaks
+					if (solver_ == null) {
+						for (int j = 0; j < writers.length; j++) {
+							writers[j].writePeaks(flightPeaks_[j], numPeaks[j]);
 						}
 					}
+
+					// add flight to solver
+					else {
+						solver_.addTypicalFlight(flightPeaks_, numPeaks, isFull);
+					}
+
+					// add to GAG events
+					addToGAGEvents(flightGAGPeaks, spectrumValidity, spectrum.getValidity(i));
 				}
 			}
 
@@ -981,7 +990,7 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 
 		// close file writers
 		finally {
-			for (BufferedWriter writer : writers)
+			for (StressHistoryWriter writer : writers)
 				if (writer != null) {
 					writer.close();
 				}
@@ -1060,662 +1069,226 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	}
 
 	/**
-	 * Writes GAG peaks.
+	 * Returns true if the flight of the given contribution sequence is identical to the full sequence flight. This is the case for increment contributions if none of the flight peaks is affected by
+	 * the omitted load cases.
 	 *
-	 * @param gagWriter
-	 *            GAG contribution writer.
-	 * @param gagPeaks
-	 *            Array containing the max-min values of the flight.
-	 * @throws Exception
-	 *             If exception occurs during process.
+	 * @param spectrum
+	 *            Compiled spectrum.
+	 * @param firstPeak
+	 *            Index of the first peak of the flight in the compiled spectrum.
+	 * @param numPeaks
+	 *            Number of peaks of the flight.
+	 * @param incStresses
+	 *            Increment stresses of class codes for full and contribution sequences.
+	 * @param contributions
+	 *            Damage contributions.
+	 * @param index
+	 *            Index of contribution sequence (contribution index + 1).
+	 * @return True if the flight of the contribution sequence is identical to the full sequence flight.
 	 */
-	private void writeGAGPeaks(BufferedWriter gagWriter, GAGPeak[] gagPeaks) throws Exception {
-		String line = String.format("%10s", format_.format(gagPeaks[1].getStress()));
-		line += String.format("%10s", format_.format(gagPeaks[0].getStress()));
-		line += String.format("%10s", format_.format(gagPeaks[1].getStress()));
-		gagWriter.write(line);
-		gagWriter.newLine();
+	private static boolean isFullFlight(CompiledSpectrum spectrum, int firstPeak, int numPeaks, IncStress[] incStresses, ArrayList<DamageContribution> contributions, int index) {
+
+		// not an increment contribution
+		if (!contributions.get(index - 1).getType().equals(ContributionType.INCREMENT))
+			return false;
+
+		// check if any peak is affected
+		for (int i = firstPeak; i < firstPeak + numPeaks; i++) {
+			double[] incStressValues = incStresses[spectrum.getClassCode(i)].getStress();
+			if (incStressValues[index] != incStressValues[0])
+				return false;
+		}
+		return true;
 	}
 
 	/**
-	 * Writes STH peaks to output files.
+	 * Computes STH peak of full sequence and contribution sequences, and adds it to flight peaks. Only the contribution peaks which differ from the full sequence peak are computed; the others are
+	 * copied from the full sequence peak. Peaks of contribution sequences whose flight is identical to the full sequence flight are not set when no STH files are written.
 	 *
-	 * @param writers
-	 *            File writers.
-	 * @param anaPeaks
-	 *            ANA peaks.
-	 * @param select1GIssyCode
-	 *            Database statement for selecting 1g issy codes.
-	 * @param selectSTFStress
-	 *            Database statement for selecting STF stresses.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy codes.
-	 * @param oneg
-	 *            Mapping containing 1g codes versus the stresses.
-	 * @param inc
-	 *            Mapping containing class codes versus the stresses.
-	 * @param dpRatio
-	 *            Delta-p ratio.
-	 * @param dtInterpolator
-	 *            Delta-t interpolator.
-	 * @param numRows
-	 *            Number of rows to write.
-	 * @param rem
-	 *            Remaining number of columns in the STH output file.
+	 * @param kernel
+	 *            Stress sequence kernel.
+	 * @param peak
+	 *            Peak index in the compiled spectrum.
+	 * @param flightPeak
+	 *            Peak index within the typical flight.
+	 * @param incStresses
+	 *            Increment stresses of class codes for full and contribution sequences.
 	 * @param contributions
 	 *            Damage contributions.
+	 * @param isFull
+	 *            True for contribution sequences whose flight is identical to the full sequence flight.
 	 * @param gagPeaks
 	 *            Array containing the GAG peaks.
-	 * @return Array containing the max-min values.
-	 * @throws Exception
-	 *             If exception occurs during process.
 	 */
-	private GAGPeak[] writeSTHPeak(BufferedWriter[] writers, ResultSet anaPeaks, PreparedStatement select1GIssyCode, PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, HashMap<String, Stress> oneg, HashMap<String, IncStress> inc, DPRatio dpRatio,
-			DTInterpolator dtInterpolator, int rem, int numRows, ArrayList<DamageContribution> contributions, GAGPeak[] gagPeaks) throws Exception {
-
-		// get class code
-		String classCode = anaPeaks.getString("fourteen_digit_code");
-		String onegCode = classCode.substring(0, 4);
-
-		// get 1g stress
-		Stress onegStress = oneg.get(onegCode);
-		if (onegStress == null) {
-			onegStress = get1GStress(selectSTFStress, select1GIssyCode, onegCode);
-			oneg.put(onegCode, onegStress);
-		}
-
-		// get segment
-		Segment segment = onegStress.getSegment();
-
-		// get increment stresses
-		IncStress incStress = inc.get(classCode);
-		if (incStress == null) {
-			incStress = getIncStress(selectSTFStress, selectIncrementIssyCode, classCode, onegCode, segment, contributions);
-			inc.put(classCode, incStress);
-		}
-
-		// compute and modify delta-p stress
-		double dpStress = dpRatio == null ? 0.0 : dpRatio.getStress(anaPeaks.getDouble("delta_p"));
-		if (dpRatio != null) {
-			dpStress = modify1GStress(dpRatio.getIssyCode(), segment, GenerateStressSequenceInput.DELTAP, dpStress);
-		}
-
-		// compute and modify delta-t stress
-		double dtStress = dtInterpolator == null ? 0.0 : dtInterpolator.getStress(anaPeaks.getDouble("delta_t"));
-		if (dtInterpolator != null && dtInterpolator instanceof DT1PointInterpolator) {
-			DT1PointInterpolator onePoint = (DT1PointInterpolator) dtInterpolator;
-			dtStress = modify1GStress(onePoint.getIssyCode(), segment, GenerateStressSequenceInput.DELTAT, dtStress);
-		}
-		else if (dtInterpolator != null && dtInterpolator instanceof DT2PointsInterpolator) {
-			DT2PointsInterpolator twoPoints = (DT2PointsInterpolator) dtInterpolator;
-			dtStress = modify2PointDTStress(twoPoints, segment, dtStress);
-		}
-
-		// calculate total stresses
-		double[] incStresses = incStress.getStress();
-		double[] totalStresses = new double[incStresses.length];
-		totalStresses[0] = onegStress.getStress() + incStresses[0] + dpStress + dtStress;
-		for (int i = 1; i < incStresses.length; i++)
-			if (contributions.get(i - 1).getType().equals(ContributionType.ONEG)) {
-				totalStresses[i] = incStresses[i] + dpStress + dtStress;
-			}
-			else if (contributions.get(i - 1).getType().equals(ContributionType.DELTA_P)) {
-				totalStresses[i] = onegStress.getStress() + incStresses[i] + dtStress;
-			}
-			else if (contributions.get(i - 1).getType().equals(ContributionType.DELTA_T)) {
-				totalStresses[i] = onegStress.getStress() + incStresses[i] + dpStress;
-			}
-			else {
-				totalStresses[i] = onegStress.getStress() + incStresses[i] + dpStress + dtStress;
-			}
-
-		// remove negative stresses
-		if (input_.isRemoveNegativeStresses()) {
-			for (int i = 0; i < totalStresses.length; i++)
-				if (totalStresses[i] < 0) {
-					totalStresses[i] = 0.0;
+	private void addSTHPeak(StressSequenceKernel kernel, int peak, int flightPeak, IncStress[] incStresses, ArrayList<DamageContribution> contributions, boolean[] isFull, GAGPeak[] gagPeaks) {
+
+		// get class code, 1g code and segment
+		CompiledSpectrum spectrum = kernel.getSpectrum();
+		int classCode = spectrum.getClassCode(peak);
+		int onegCode = spectrum.getOnegCode(classCode);
+		Segment segment = spectrum.getSegment(onegCode);
+		IncStress incStress = incStresses[classCode];
+
+		// get stresses
+		double onegStress = kernel.getOnegStress(onegCode);
+		double dpStress = kernel.getDPStress(peak);
+		double dtStress = kernel.getDTStress(peak);
+
+		// calculate full sequence stress
+		double[] incStressValues = incStress.getStress();
+		double fullStress = getTotalStress(onegStress + incStressValues[0] + dpStress + dtStress);
+		flightPeaks_[0][flightPeak] = fullStress;
+
+		// calculate contribution stresses
+		for (int i = 1; i < incStressValues.length; i++) {
+			ContributionType type = contributions.get(i - 1).getType();
+
+			// flight identical to full sequence flight
+			if (isFull[i]) {
+				if (solver_ == null) {
+					flightPeaks_[i][flightPeak] = fullStress;
 				}
-		}
-
-		// last row
-		if (rowIndex_ == numRows - 1) {
+			}
 
-			// add peaks
-			for (int i = 0; i < lines_.length; i++) {
-				if (input_.getGAGContributionIndex() != -1 && i == input_.getGAGContributionIndex() + 1) {
-					continue;
-				}
-				lines_[i] += String.format("%10s", format_.format(totalStresses[i]));
+			// 1g contribution
+			else if (type.equals(ContributionType.ONEG)) {
+				flightPeaks_[i][flightPeak] = getTotalStress(incStressValues[i] + dpStress + dtStress);
 			}
-			colIndex_++;
 
-			// last column
-			if (colIndex_ == (rem == 0 ? NUM_COLS : rem)) {
-				for (int i = 0; i < lines_.length; i++) {
-					if (input_.getGAGContributionIndex() != -1 && i == input_.getGAGContributionIndex() + 1) {
-						continue;
-					}
-					writers[i].write(lines_[i]);
-					writers[i].newLine();
-					lines_[i] = "";
-				}
-				colIndex_ = 0;
-				rowIndex_++;
+			// delta-p contribution
+			else if (type.equals(ContributionType.DELTA_P)) {
+				flightPeaks_[i][flightPeak] = getTotalStress(onegStress + incStressValues[i] + dtStress);
 			}
-		}
 
-		// other rows
-		else {
+			// delta-t contribution
+			else if (type.equals(ContributionType.DELTA_T)) {
+				flightPeaks_[i][flightPeak] = getTotalStress(onegStress + incStressValues[i] + dpStress);
+			}
 
-			// add peaks
-			for (int i = 0; i < lines_.length; i++) {
-				if (input_.getGAGContributionIndex() != -1 && i == input_.getGAGContributionIndex() + 1) {
-					continue;
-				}
-				lines_[i] += String.format("%10s", format_.format(totalStresses[i]));
+			// peak not affected by omitted load cases
+			else if (incStressValues[i] == incStressValues[0]) {
+				flightPeaks_[i][flightPeak] = fullStress;
 			}
-			colIndex_++;
 
-			// last column
-			if (colIndex_ == NUM_COLS) {
-				for (int i = 0; i < lines_.length; i++) {
-					if (input_.getGAGContributionIndex() != -1 && i == input_.getGAGContributionIndex() + 1) {
-						continue;
-					}
-					writers[i].write(lines_[i]);
-					writers[i].newLine();
-					lines_[i] = "";
-				}
-				colIndex_ = 0;
-				rowIndex_++;
+			// peak affected by omitted load cases
+			else {
+				flightPeaks_[i][flightPeak] = getTotalStress(onegStress + incStressValues[i] + dpStress + dtStress);
 			}
 		}
 
 		// update GAG peaks
-		if (totalStresses[0] >= gagPeaks[0].getStress()) {
-			gagPeaks[0].setStress(totalStresses[0]);
+		if (fullStress >= gagPeaks[0].getStress()) {
+			gagPeaks[0].setStress(fullStress);
 			gagPeaks[0].setEvents(incStress.getEvent());
 			gagPeaks[0].setIssyCodes(incStress.getIssyCode());
 			gagPeaks[0].setSegment(segment);
 		}
-		if (totalStresses[0] <= gagPeaks[1].getStress()) {
-			gagPeaks[1].setStress(totalStresses[0]);
+		if (fullStress <= gagPeaks[1].getStress()) {
+			gagPeaks[1].setStress(fullStress);
 			gagPeaks[1].setEvents(incStress.getEvent());
 			gagPeaks[1].setIssyCodes(incStress.getIssyCode());
 			gagPeaks[1].setSegment(segment);
 		}
-
-		// return GAG peaks
-		return gagPeaks;
 	}
 
 	/**
-	 * Modifies and returns stress according to event, segment and stress type.
+	 * Returns the given total stress after removing negative stresses (if requested).
 	 *
-	 * @param interpolator
-	 *            2 points delta-t interpolator.
-	 * @param segment
-	 *            Segment.
 	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @return The modified stress value.
+	 *            Total stress.
+	 * @return The total stress.
 	 */
-	private double modify2PointDTStress(DT2PointsInterpolator interpolator, Segment segment, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(GenerateStressSequenceInput.DELTAT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(GenerateStressSequenceInput.DELTAT);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.DELTAT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.DELTAT);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeSup()) || eFactor.getLoadcaseNumber().equals(interpolator.getIssyCodeInf())) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// return modified stress
-		return stress;
+	private double getTotalStress(double stress) {
+		return input_.isRemoveNegativeStresses() && stress < 0 ? 0.0 : stress;
 	}
 
 	/**
-	 * Sets increment stress to given ANA peak.
+	 * Computes increment stresses of all class codes for full sequence (at index 0) and contribution sequences. Increment load cases of increment contributions are omitted from the
+	 * contribution sequences.
 	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stress from STF file.
-	 * @param selectIncrementIssyCode
-	 *            Database statement for selecting increment issy code.
-	 * @param classCode
-	 *            14 digit class code.
-	 * @param onegCode
-	 *            1g code.
-	 * @param segment
-	 *            Segment.
+	 * @param kernel
+	 *            Stress sequence kernel.
 	 * @param contributions
 	 *            Damage contributions.
-	 * @return Returns the increment stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
+	 * @return Increment stresses of class codes, ordered by class code index.
 	 */
-	private IncStress getIncStress(PreparedStatement selectSTFStress, PreparedStatement selectIncrementIssyCode, String classCode, String onegCode, Segment segment, ArrayList<DamageContribution> contributions) throws Exception {
-
-		// add default increment stress
-		IncStress incStress = new IncStress();
-		double[] totalIncrementStress = new double[contributions.size() + 1];
-
-		// loop over increments
-		for (int i = 0; i < 5; i++) {
-
-			// get increment block
-			String block = classCode.substring(2 * i + 4, 2 * i + 6);
-
-			// no increment
-			if (block.equals("00")) {
+	private static IncStress[] getIncStresses(StressSequenceKernel kernel, ArrayList<DamageContribution> contributions) {
+
+		// get omitted ISSY code slots of increment contributions
+		CompiledSpectrum spectrum = kernel.getSpectrum();
+		String[] issyCodes = spectrum.getIssyCodes();
+		boolean[][] omitted = new boolean[contributions.size()][];
+		for (int i = 0; i < omitted.length; i++) {
+			DamageContribution contribution = contributions.get(i);
+			if (!contribution.getType().equals(ContributionType.INCREMENT)) {
 				continue;
 			}
-
-			// set parameters
-			selectIncrementIssyCode.setString(1, onegCode); // 1g code
-			selectIncrementIssyCode.setInt(2, i + 1); // increment number
-			selectIncrementIssyCode.setString(3, block.substring(1)); // direction number
-			selectIncrementIssyCode.setString(4, block.substring(0, 1)); // factor number
-
-			// query issy code, factor and event name
-			try (ResultSet resultSet = selectIncrementIssyCode.executeQuery()) {
-
-				// loop over increments
-				while (resultSet.next()) {
-
-					// get issy code, factor and event name
-					String issyCode = resultSet.getString("issy_code");
-					double factor = resultSet.getDouble("factor_" + block.substring(0, 1));
-					String event = resultSet.getString("flight_phase");
-
-					// compute increment stresses
-					double stress = factor * getSTFStress(selectSTFStress, issyCode);
-					double[] stresses = modifyIncStress(issyCode, segment, stress, contributions);
-
-					// add to total increment stress
-					for (int j = 0; j < stresses.length; j++) {
-						totalIncrementStress[j] += stresses[j];
-					}
-
-					// add event and load case
-					incStress.addEvent(event);
-					incStress.addIssyCode(issyCode);
-				}
-			}
-		}
-
-		// set increment stresses
-		incStress.setStress(totalIncrementStress);
-		return incStress;
-	}
-
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param segment
-	 *            Segment.
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @param contributions
-	 *            Damage contributions.
-	 * @return The modified stress value.
-	 */
-	private double[] modifyIncStress(String issyCode, Segment segment, double stress, ArrayList<DamageContribution> contributions) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(GenerateStressSequenceInput.INCREMENT);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(GenerateStressSequenceInput.INCREMENT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(GenerateStressSequenceInput.INCREMENT);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(GenerateStressSequenceInput.INCREMENT);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(GenerateStressSequenceInput.INCREMENT);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(GenerateStressSequenceInput.INCREMENT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(GenerateStressSequenceInput.INCREMENT);
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(GenerateStressSequenceInput.INCREMENT);
-					}
-					break;
-				}
-		}
-
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
-
-		// create incremental stresses array
-		double[] stresses = new double[contributions.size() + 1];
-		for (int i = 0; i < stresses.length; i++) {
-			stresses[i] = stress;
-		}
-
-		// loop over stresses
-		for (int i = 1; i < stresses.length; i++) {
-			DamageContribution contribution = contributions.get(i - 1);
-			if (contribution.getType().equals(ContributionType.INCREMENT)) {
+			omitted[i] = new boolean[issyCodes.length];
+			for (int j = 0; j < issyCodes.length; j++) {
 				for (LoadcaseFactor eFactor : contribution.getLoadcaseFactors())
-					if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-						stresses[i] = 0.0;
+					if (eFactor.getLoadcaseNumber().equals(issyCodes[j])) {
+						omitted[i][j] = true;
 						break;
 					}
 			}
 		}
 
-		// return modified stress
-		return stresses;
-	}
+		// loop over class codes
+		IncStress[] incStresses = new IncStress[spectrum.getNumberOfClassCodes()];
+		for (int i = 0; i < incStresses.length; i++) {
 
-	/**
-	 * Sets 1g stress to given ANA peak.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement for selecting stresses from STF file.
-	 * @param select1gIssyCode
-	 *            Database statement for selecting 1g issy code from TXT file.
-	 * @param onegCode
-	 *            1g code.
-	 * @return The 1g stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private Stress get1GStress(PreparedStatement selectSTFStress, PreparedStatement select1gIssyCode, String onegCode) throws Exception {
-
-		// get 1G issy code and event name
-		String issyCode = null, event = null, segmentName = null;
-		int segmentNum = -1;
-		select1gIssyCode.setString(1, onegCode); // 1g code
-		try (ResultSet resultSet = select1gIssyCode.executeQuery()) {
-			while (resultSet.next()) {
-
-				// get issy code and event name
-				issyCode = resultSet.getString("issy_code");
-				event = resultSet.getString("flight_phase");
-				segmentNum = resultSet.getInt("oneg_order");
-
-				// extract segment name
-				segmentName = Utility.extractSegmentName(event);
-			}
-		}
-
-		// create segment
-		Segment segment = new Segment(segmentName, segmentNum);
-
-		// compute and modify 1g stress
-		double stress = getSTFStress(selectSTFStress, issyCode);
-		stress = modify1GStress(issyCode, segment, GenerateStressSequenceInput.ONEG, stress);
-
-		// set to peak
-		return new Stress(stress, event, issyCode, segment);
-	}
-
-	/**
-	 * Returns STF stress for given issy code.
-	 *
-	 * @param selectSTFStress
-	 *            Database statement.
-	 * @param issyCode
-	 *            ISSY code.
-	 * @return STF stress.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private double getSTFStress(PreparedStatement selectSTFStress, String issyCode) throws Exception {
-		StressComponent component = input_.getStressComponent();
-		double angle = input_.getRotationAngle();
-		selectSTFStress.setString(1, issyCode); // issy code
-		try (ResultSet resultSet = selectSTFStress.executeQuery()) {
-			while (resultSet.next())
-				if (component.equals(StressComponent.NORMAL_X))
-					return resultSet.getDouble("stress_x");
-				else if (component.equals(StressComponent.NORMAL_Y))
-					return resultSet.getDouble("stress_y");
-				else if (component.equals(StressComponent.SHEAR_XY))
-					return resultSet.getDouble("stress_xy");
-				else if (component.equals(StressComponent.ROTATED)) {
-					double x = resultSet.getDouble("stress_x");
-					double y = resultSet.getDouble("stress_y");
-					double xy = resultSet.getDouble("stress_xy");
-					return 0.5 * (x + y) + 0.5 * (x - y) * Math.cos(2 * angle) + xy * Math.sin(2 * angle);
-				}
-		}
-		return 0.0;
-	}
+			// loop over increment load cases
+			IncStress incStress = new IncStress();
+			double[] totalIncrementStress = new double[contributions.size() + 1];
+			for (int j = spectrum.getFirstIncrement(i); j < spectrum.getEndIncrement(i); j++) {
 
-	/**
-	 * Modifies and returns stress according to event, segment and stress type.
-	 *
-	 * @param issyCode
-	 *            ISSY code.
-	 * @param segment
-	 *            Segment.
-	 * @param stressType
-	 *            Stress type (1g, increment, delta-p, delta-t or total stress).
-	 * @param stress
-	 *            Stress value extracted from STF file.
-	 * @return The modified stress value.
-	 */
-	private double modify1GStress(String issyCode, Segment segment, int stressType, double stress) {
-
-		// apply overall factors
-		String method = input_.getStressModificationMethod(stressType);
-		if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-			stress *= input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.ADD)) {
-			stress += input_.getStressModificationValue(stressType);
-		}
-		else if (method.equals(GenerateStressSequenceInput.SET)) {
-			stress = input_.getStressModificationValue(stressType);
-		}
-
-		// apply segment factors
-		if (segment != null && input_.getSegmentFactors() != null) {
-			for (SegmentFactor sFactor : input_.getSegmentFactors())
-				if (sFactor.getSegment().equals(segment)) {
-					method = sFactor.getModifierMethod(stressType);
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= sFactor.getModifierValue(stressType);
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += sFactor.getModifierValue(stressType);
+				// add to total increment stresses (unless omitted)
+				int slot = spectrum.getIncrementIssySlot(j);
+				double stress = kernel.getIncrementLoadcaseStress(j);
+				totalIncrementStress[0] += stress;
+				for (int k = 0; k < omitted.length; k++)
+					if ((omitted[k] == null) || (slot == -1) || !omitted[k][slot]) {
+						totalIncrementStress[k + 1] += stress;
 					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = sFactor.getModifierValue(stressType);
-					}
-					break;
-				}
-		}
 
-		// apply loadcase factors
-		if (input_.getLoadcaseFactors() != null) {
-			for (LoadcaseFactor eFactor : input_.getLoadcaseFactors())
-				if (eFactor.getLoadcaseNumber().equals(issyCode)) {
-					method = eFactor.getModifierMethod();
-					if (method.equals(GenerateStressSequenceInput.MULTIPLY)) {
-						stress *= eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.ADD)) {
-						stress += eFactor.getModifierValue();
-					}
-					else if (method.equals(GenerateStressSequenceInput.SET)) {
-						stress = eFactor.getModifierValue();
-					}
-					break;
-				}
-		}
+				// add event and load case
+				incStress.addEvent(spectrum.getIncrementEvent(j));
+				incStress.addIssyCode(spectrum.getIssyCode(slot));
+			}
 
-		// return modified stress
-		return stress;
+			// set increment stresses
+			incStress.setStress(totalIncrementStress);
+			incStresses[i] = incStress;
+		}
+		return incStresses;
 	}
 
 	/**
 	 * Writes out flight headers to output STH files.
 	 *
 	 * @param writers
-	 *            File writers.
-	 * @param anaFlights
-	 *            ANA flights.
-	 * @param flightPeaks
-	 *            Number of peaks of the flight.
-	 * @return Flight validity.
+	 *            File writers. Writers are null if no STH files are generated.
+	 * @param spectrum
+	 *            Compiled spectrum.
+	 * @param flight
+	 *            Flight index.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private double writeFlightHeaders(BufferedWriter[] writers, ResultSet anaFlights, int flightPeaks) throws Exception {
+	private void writeFlightHeaders(StressHistoryWriter[] writers, CompiledSpectrum spectrum, int flight) throws Exception {
 
 		// update info
-		String name = anaFlights.getString("name");
+		String name = spectrum.getFlightName(flight);
 		updateMessage("Generating flight '" + name + "'...");
 
-		// create first line of flight info
-		double validity = anaFlights.getDouble("validity");
-		String line1 = String.format("%10s", format_.format(validity));
-		line1 += String.format("%10s", format_.format(anaFlights.getDouble("block_size")));
-
-		// create second line of flight info
-		String line2 = String.format("%10s", Integer.toString(flightPeaks));
-		for (int i = 0; i < 62; i++) {
-			line2 += " ";
-		}
-		line2 += (name.startsWith("TF_") ? name.substring(3) : name) + " " + anaFlights.getString("severity");
-
-		// create second line of flight info for GAG contribution
-		String line3 = null;
-		if (input_.getGAGContributionIndex() != -1) {
-			line3 = String.format("%10s", "3");
-			for (int i = 0; i < 62; i++) {
-				line3 += " ";
-			}
-			line3 += (name.startsWith("TF_") ? name.substring(3) : name) + " " + anaFlights.getString("severity");
-		}
-
-		// write headers
+		// write headers (GAG contribution has 3 peaks per flight)
 		for (int i = 0; i < writers.length; i++) {
-			writers[i].write(line1);
-			writers[i].newLine();
-			if (line3 != null && i == input_.getGAGContributionIndex() + 1) {
-				writers[i].write(line3);
-			}
-			else {
-				writers[i].write(line2);
-			}
-			writers[i].newLine();
-		}
-
-		// return flight validity
-		return validity;
-	}
-
-	/**
-	 * Returns maximum number of peaks per typical flight. This is used to determine if the extended in-build engine should be used for analysis.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @return Maximum number of peaks per typical flight.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static int getMaxPeaksPerFlight(Statement statement, int anaFileID) throws Exception {
-		int maxPeaks = 0;
-		String sql = "select num_peaks from ana_flights where file_id = " + anaFileID + " order by num_peaks desc";
-		statement.setMaxRows(1);
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				maxPeaks = resultSet.getInt("num_peaks");
+			if (writers[i] == null) {
+				continue;
 			}
+			boolean isGAG = input_.getGAGContributionIndex() != -1 && i == input_.getGAGContributionIndex() + 1;
+			writers[i].writeFlightHeader(spectrum.getValidity(flight), spectrum.getBlockSize(flight), isGAG ? 3 : spectrum.getNumberOfPeaks(flight), name, spectrum.getSeverity(flight));
 		}
-		statement.setMaxRows(0);
-		return maxPeaks;
-	}
-
-	/**
-	 * Returns the number of peaks of the ANA file.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param anaFileID
-	 *            ANA file ID.
-	 * @return Number of peaks of the ANA file.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private static int getNumberOfPeaks(Statement statement, int anaFileID) throws Exception {
-		String sql = "select sum(num_peaks) as totalPeaks from ana_flights where file_id = " + anaFileID;
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next())
-				return resultSet.getInt("totalPeaks");
-		}
-		return 0;
 	}
 
 	/**
@@ -1996,14 +1569,10 @@ public class LoadcaseDamageContributionAnalysis extends TemporaryFileCreatingTas
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private static void writeSTHHeader(BufferedWriter writer, String name) throws Exception {
-		writer.write(" # STH file for damage contribution: " + name);
-		writer.newLine();
-		writer.write(" #");
-		writer.newLine();
-		writer.write(" #");
-		writer.newLine();
-		writer.write(" #");
-		writer.newLine();
+	private static void writeSTHHeader(StressHistoryWriter writer, String name) throws Exception {
+		writer.writeLine(" # STH file for damage contribution: " + name);
+		writer.writeLine(" #");
+		writer.writeLine(" #");
+		writer.writeLine(" #");
 	}
 }
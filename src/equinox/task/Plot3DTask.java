@@ -17,6 +17,7 @@ package equinox.task;
 
 import equinox.controller.ObjectViewPanel;
 import equinox.controller.ViewPanel;
+import equinox.viewer.ElementMesh;
 
 /**
  * Abstract class for plot 3D tasks.
@@ -54,6 +55,17 @@ public abstract class Plot3DTask<V> extends InternalEquinoxTask<V> {
 	 * of the view panel to <code>running</code>, hides 3D viewer and clears canvas.
 	 */
 	protected void startTask() {
+		startTask(true);
+	}
+
+	/**
+	 * This method should be called as the first statement within the <code>call</code> method of a <code>Plot3DTask</code>. It first sets task status
+	 * of the view panel to <code>running</code> and hides 3D viewer. The canvas is cleared only if requested, so that the objects on it can be reused.
+	 *
+	 * @param clearCanvas
+	 *            True to clear canvas.
+	 */
+	protected void startTask(boolean clearCanvas) {
 
 		// get view panel
 		ObjectViewPanel panel = getViewPanel();
@@ -62,7 +74,40 @@ public abstract class Plot3DTask<V> extends InternalEquinoxTask<V> {
 		panel.setTaskStatus(this, true);
 
 		// clear canvas
-		panel.clearCanvas();
+		if (clearCanvas) {
+			panel.clearCanvas();
+		}
+
+		// hide canvas
+		else {
+			panel.hideCanvas();
+		}
+	}
+
+	/**
+	 * Clears canvas.
+	 */
+	protected void clearCanvas() {
+		getViewPanel().clearCanvas();
+	}
+
+	/**
+	 * Returns the colored element mesh on the canvas.
+	 *
+	 * @return The colored element mesh on the canvas, or null if there is none.
+	 */
+	protected ElementMesh getElementMesh() {
+		return getViewPanel().getElementMesh();
+	}
+
+	/**
+	 * Sets the colored element mesh on the canvas.
+	 *
+	 * @param elementMesh
+	 *            Colored element mesh on the canvas.
+	 */
+	protected void setElementMesh(ElementMesh elementMesh) {
+		getViewPanel().setElementMesh(elementMesh);
 	}
 
 	/**
@@ -16,17 +16,16 @@
 package equinox.task;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.HashSet;
 
 import equinox.Equinox;
 import equinox.data.ElementType;
-import equinox.data.Grid;
+import equinox.data.ModelGeometry;
 import equinox.data.input.PlotStructureInput;
-import inf.v3d.obj.PolygonOutlines;
-import inf.v3d.obj.Polygons;
+import equinox.viewer.ElementMesh;
 import javafx.scene.paint.Color;
 
 /**
@@ -73,17 +72,16 @@ public class PlotAircraftStructure extends Plot3DTask<Void> {
 		// get database connection
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
+			// get model geometry
+			updateMessage("Getting A/C model geometry...");
+			ModelGeometry geometry = Equinox.GEOMETRY_CACHE.get(connection, input_.getModel().getID());
 
-				// without grouping
-				if (input_.getGroups().isEmpty()) {
-					plotWithoutGrouping(connection, statement);
-				}
-				else {
-					plotWithGrouping(connection, statement);
-				}
-			}
+			// get elements to plot
+			updateMessage("Getting elements to plot...");
+			ArrayList<Integer> elements = getElements(connection, geometry);
+
+			// plot elements
+			plotElements(geometry, elements);
 		}
 
 		// return
@@ -109,215 +107,118 @@ public class PlotAircraftStructure extends Plot3DTask<Void> {
 	}
 
 	/**
-	 * Plots all elements with element grouping.
+	 * Plots given elements. Elements of each type are merged into a single mesh.
+	 *
+	 * @param geometry
+	 *            A/C model geometry.
+	 * @param elements
+	 *            Indices of elements to plot.
+	 */
+	private void plotElements(ModelGeometry geometry, ArrayList<Integer> elements) {
+
+		// loop over element types
+		updateMessage("Plotting elements...");
+		String[] types = { ElementType.QUAD, ElementType.TRIA, ElementType.BEAM, ElementType.ROD, ElementType.SHEAR };
+		for (int i = 0; i < types.length; i++) {
+
+			// task cancelled
+			if (isCancelled())
+				return;
+
+			// update progress
+			updateProgress(i, types.length);
+
+			// get elements of type
+			ArrayList<Integer> typeElements = new ArrayList<>();
+			for (int element : elements) {
+				if (types[i].equals(geometry.getElementType(element))) {
+					typeElements.add(element);
+				}
+			}
+
+			// no element
+			if (typeElements.isEmpty()) {
+				continue;
+			}
+
+			// create mesh
+			ElementType type = input_.getType(types[i]);
+			ElementMesh mesh = new ElementMesh(geometry, typeElements, input_.getBeamExtrusionWidth(), input_.getRodExtrusionWidth());
+
+			// set solid color and opacity
+			Color color = type.getColor();
+			mesh.setColor(color.getRed(), color.getGreen(), color.getBlue());
+			mesh.setOpacity(type.getOpacity());
+
+			// set outlines
+			if (type.getOutlines()) {
+				mesh.createOutlines();
+			}
+		}
+	}
+
+	/**
+	 * Returns indices of elements to plot. Elements are filtered by the selected element types and groups (if any).
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
+	 * @param geometry
+	 *            A/C model geometry.
+	 * @return Indices of elements to plot.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void plotWithGrouping(Connection connection, Statement statement) throws Exception {
-
-		// initialize variables
-		Grid[] quadShearGrids = { new Grid(), new Grid(), new Grid(), new Grid() };
-		Grid[] triaGrids = { new Grid(), new Grid(), new Grid() };
-		Grid[] beamRodGrids = { new Grid(), new Grid() };
-
-		// create polygons for element types
-		Polygons quads = new Polygons();
-		Polygons trias = new Polygons();
-		Polygons beams = new Polygons();
-		Polygons rods = new Polygons();
-		Polygons shears = new Polygons();
-
-		// no contour colors
-		quads.setColored(false);
-		trias.setColored(false);
-		beams.setColored(false);
-		rods.setColored(false);
-		shears.setColored(false);
-
-		// set solid colors
-		Color quadColor = input_.getType(ElementType.QUAD).getColor();
-		Color triaColor = input_.getType(ElementType.TRIA).getColor();
-		Color beamColor = input_.getType(ElementType.BEAM).getColor();
-		Color rodColor = input_.getType(ElementType.ROD).getColor();
-		Color shearColor = input_.getType(ElementType.SHEAR).getColor();
-		quads.setColor(quadColor.getRed(), quadColor.getGreen(), quadColor.getBlue());
-		trias.setColor(triaColor.getRed(), triaColor.getGreen(), triaColor.getBlue());
-		beams.setColor(beamColor.getRed(), beamColor.getGreen(), beamColor.getBlue());
-		rods.setColor(rodColor.getRed(), rodColor.getGreen(), rodColor.getBlue());
-		shears.setColor(shearColor.getRed(), shearColor.getGreen(), shearColor.getBlue());
-
-		// set opacities
-		quads.setOpacity(input_.getType(ElementType.QUAD).getOpacity());
-		trias.setOpacity(input_.getType(ElementType.TRIA).getOpacity());
-		beams.setOpacity(input_.getType(ElementType.BEAM).getOpacity());
-		rods.setOpacity(input_.getType(ElementType.ROD).getOpacity());
-		shears.setOpacity(input_.getType(ElementType.SHEAR).getOpacity());
-
-		// set outlines
-		if (input_.getType(ElementType.QUAD).getOutlines()) {
-			new PolygonOutlines().setPolygons(quads);
-		}
-		if (input_.getType(ElementType.TRIA).getOutlines()) {
-			new PolygonOutlines().setPolygons(trias);
-		}
-		if (input_.getType(ElementType.BEAM).getOutlines()) {
-			new PolygonOutlines().setPolygons(beams);
-		}
-		if (input_.getType(ElementType.ROD).getOutlines()) {
-			new PolygonOutlines().setPolygons(rods);
-		}
-		if (input_.getType(ElementType.SHEAR).getOutlines()) {
-			new PolygonOutlines().setPolygons(shears);
+	private ArrayList<Integer> getElements(Connection connection, ModelGeometry geometry) throws Exception {
+
+		// get selected element types
+		HashSet<String> types = new HashSet<>();
+		for (ElementType type : input_.getTypes()) {
+			if (type.getSelected()) {
+				types.add(type.getName());
+			}
 		}
 
-		// initialize variables
-		Grid[] grids = null;
-		Polygons polygons = null;
-		@SuppressWarnings("resource")
-		PreparedStatement query = null;
+		// initialize list
+		ArrayList<Integer> elements = new ArrayList<>();
 
-		// get element group IDs
-		ArrayList<Integer> groupIDs = getGroupIDs(statement);
-
-		// get number of elements
-		updateMessage("Getting number of elements to plot...");
-		int numel = 0;
-		try (ResultSet getNumel = statement.executeQuery(getElementGIDQueryWithGrouping(groupIDs, true))) {
-			while (getNumel.next()) {
-				numel = getNumel.getInt("numel");
+		// without grouping
+		if (input_.getGroups().isEmpty()) {
+			for (int i = 0; i < geometry.getNumberOfElements(); i++) {
+				if (types.contains(geometry.getElementType(i))) {
+					elements.add(i);
+				}
 			}
+			return elements;
 		}
 
-		try {
-
-			// prepare statement to get grid coordinates of QUADs
-			String sql = "select gid, x_coord, y_coord, z_coord from grids_" + input_.getModel().getID();
-			sql += " where (gid = ? or gid = ? or gid = ? or gid = ?)";
-			try (PreparedStatement queryQuadShearCoords = connection.prepareStatement(sql)) {
-
-				// prepare statement to get grid coordinates of TRIAs
-				sql = "select gid, x_coord, y_coord, z_coord from grids_" + input_.getModel().getID();
-				sql += " where (gid = ? or gid = ? or gid = ?)";
-				try (PreparedStatement queryTriaCoords = connection.prepareStatement(sql)) {
-
-					// prepare statement to get grid coordinates of BEAMs and RODs
-					sql = "select gid, x_coord, y_coord, z_coord from grids_" + input_.getModel().getID();
-					sql += " where (gid = ? or gid = ?)";
-					try (PreparedStatement queryBeamRodCoords = connection.prepareStatement(sql)) {
-
-						// execute query to get element grid IDs
-						try (ResultSet getGIDs = statement.executeQuery(getElementGIDQueryWithGrouping(groupIDs, false))) {
-
-							// loop over elements
-							int count = 0;
-							updateMessage("Plotting elements...");
-							while (getGIDs.next()) {
-
-								// task cancelled
-								if (isCancelled())
-									return;
-
-								// update progress
-								updateProgress(count, numel);
-								count++;
-
-								// get element type
-								String eType = getGIDs.getString("el_type");
-
-								// QUAD
-								if (eType.equals(ElementType.QUAD)) {
-									grids = quadShearGrids;
-									polygons = quads;
-									query = queryQuadShearCoords;
-								}
-
-								// TRIA
-								else if (eType.equals(ElementType.TRIA)) {
-									grids = triaGrids;
-									polygons = trias;
-									query = queryTriaCoords;
-								}
-
-								// BEAM
-								else if (eType.equals(ElementType.BEAM)) {
-									grids = beamRodGrids;
-									polygons = beams;
-									query = queryBeamRodCoords;
-								}
-
-								// ROD
-								else if (eType.equals(ElementType.ROD)) {
-									grids = beamRodGrids;
-									polygons = rods;
-									query = queryBeamRodCoords;
-								}
-
-								// SHEAR
-								else if (eType.equals(ElementType.SHEAR)) {
-									grids = quadShearGrids;
-									polygons = shears;
-									query = queryQuadShearCoords;
-								}
-								else {
-									continue;
-								}
-
-								// set grid IDs
-								for (int i = 0; i < grids.length; i++) {
-									grids[i].setID(getGIDs.getInt("g" + (i + 1)));
-									query.setInt(i + 1, grids[i].getID());
-								}
-
-								// get grid coordinates
-								try (ResultSet getCoords = query.executeQuery()) {
-									while (getCoords.next()) {
-										Grid.setCoords(grids, getCoords.getInt("gid"), getCoords.getDouble("x_coord"), getCoords.getDouble("y_coord"), getCoords.getDouble("z_coord"));
-									}
-								}
-
-								// insert grid coordinates to polygon for BEAM elements
-								if (eType.equals(ElementType.BEAM)) {
-									polygons.insertNextCell(4);
-									polygons.insertCellPoint(grids[0].getX(), grids[0].getY() - input_.getBeamExtrusionWidth(), grids[0].getZ(), 0.0);
-									polygons.insertCellPoint(grids[0].getX(), grids[0].getY() + input_.getBeamExtrusionWidth(), grids[0].getZ(), 0.0);
-									polygons.insertCellPoint(grids[1].getX(), grids[1].getY() + input_.getBeamExtrusionWidth(), grids[1].getZ(), 0.0);
-									polygons.insertCellPoint(grids[1].getX(), grids[1].getY() - input_.getBeamExtrusionWidth(), grids[1].getZ(), 0.0);
-								}
-
-								// insert grid coordinates to polygon for ROD elements
-								else if (eType.equals(ElementType.ROD)) {
-									polygons.insertNextCell(4);
-									polygons.insertCellPoint(grids[0].getX(), grids[0].getY() - input_.getRodExtrusionWidth(), grids[0].getZ(), 0.0);
-									polygons.insertCellPoint(grids[0].getX(), grids[0].getY() + input_.getRodExtrusionWidth(), grids[0].getZ(), 0.0);
-									polygons.insertCellPoint(grids[1].getX(), grids[1].getY() + input_.getRodExtrusionWidth(), grids[1].getZ(), 0.0);
-									polygons.insertCellPoint(grids[1].getX(), grids[1].getY() - input_.getRodExtrusionWidth(), grids[1].getZ(), 0.0);
-								}
-
-								// insert grid coordinates to polygon for other elements
-								else {
-									polygons.insertNextCell(grids.length);
-									for (Grid grid : grids) {
-										polygons.insertCellPoint(grid.getCoords(), 0.0);
-									}
-								}
-							}
-						}
+		// create statement
+		try (Statement statement = connection.createStatement()) {
+
+			// get element group IDs
+			ArrayList<Integer> groupIDs = getGroupIDs(statement);
+			if (groupIDs.isEmpty())
+				return elements;
+
+			// create query
+			String sql = "select eid from element_groups_" + input_.getModel().getID() + " where (";
+			for (int groupID : groupIDs) {
+				sql += "group_id = " + groupID + " or ";
+			}
+			sql = sql.substring(0, sql.length() - " or ".length()) + ")";
+
+			// execute query
+			try (ResultSet resultSet = statement.executeQuery(sql)) {
+				while (resultSet.next()) {
+					int index = geometry.getElementIndex(resultSet.getInt("eid"));
+					if (index >= 0 && types.contains(geometry.getElementType(index))) {
+						elements.add(index);
 					}
 				}
 			}
 		}
 
-		// close query if not closed
-		finally {
-			if (query != null) {
-				query.close();
-			}
-		}
+		// return elements
+		return elements;
 	}
 
 	/**
@@ -353,309 +254,4 @@ public class PlotAircraftStructure extends Plot3DTask<Void> {
 		// return list
 		return groupIDs;
 	}
-
-	/**
-	 * Plots all elements without element grouping.
-	 *
-	 * @param connection
-	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void plotWithoutGrouping(Connection connection, Statement statement) throws Exception {
-
-		// initialize variables
-		Grid[] quadShearGrids = { new Grid(), new Grid(), new Grid(), new Grid() };
-		Grid[] triaGrids = { new Grid(), new Grid(), new Grid() };
-		Grid[] beamRodGrids = { new Grid(), new Grid() };
-
-		// create polygons for element types
-		Polygons quads = new Polygons();
-		Polygons trias = new Polygons();
-		Polygons beams = new Polygons();
-		Polygons rods = new Polygons();
-		Polygons shears = new Polygons();
-
-		// no contour colors
-		quads.setColored(false);
-		trias.setColored(false);
-		beams.setColored(false);
-		rods.setColored(false);
-		shears.setColored(false);
-
-		// set solid colors
-		Color quadColor = input_.getType(ElementType.QUAD).getColor();
-		Color triaColor = input_.getType(ElementType.TRIA).getColor();
-		Color beamColor = input_.getType(ElementType.BEAM).getColor();
-		Color rodColor = input_.getType(ElementType.ROD).getColor();
-		Color shearColor = input_.getType(ElementType.SHEAR).getColor();
-		quads.setColor(quadColor.getRed(), quadColor.getGreen(), quadColor.getBlue());
-		trias.setColor(triaColor.getRed(), triaColor.getGreen(), triaColor.getBlue());
-		beams.setColor(beamColor.getRed(), beamColor.getGreen(), beamColor.getBlue());
-		rods.setColor(rodColor.getRed(), rodColor.getGreen(), rodColor.getBlue());
-		shears.setColor(shearColor.getRed(), shearColor.getGreen(), shearColor.getBlue());
-
-		// set opacities
-		quads.setOpacity(input_.getType(ElementType.QUAD).getOpacity());
-		trias.setOpacity(input_.getType(ElementType.TRIA).getOpacity());
-		beams.setOpacity(input_.getType(ElementType.BEAM).getOpacity());
-		rods.setOpacity(input_.getType(ElementType.ROD).getOpacity());
-		shears.setOpacity(input_.getType(ElementType.SHEAR).getOpacity());
-
-		// set outlines
-		if (input_.getType(ElementType.QUAD).getOutlines()) {
-			new PolygonOutlines().setPolygons(quads);
-		}
-		if (input_.getType(ElementType.TRIA).getOutlines()) {
-			new PolygonOutlines().setPolygons(trias);
-		}
-		if (input_.getType(ElementType.BEAM).getOutlines()) {
-			new PolygonOutlines().setPolygons(beams);
-		}
-		if (input_.getType(ElementType.ROD).getOutlines()) {
-			new PolygonOutlines().setPolygons(rods);
-		}
-		if (input_.getType(ElementType.SHEAR).getOutlines()) {
-			new PolygonOutlines().setPolygons(shears);
-		}
-
-		// initialize variables
-		Grid[] grids = null;
-		Polygons polygons = null;
-		@SuppressWarnings("resource")
-		PreparedStatement query = null;
-
-		// get number of elements
-		updateMessage("Getting number of elements to plot...");
-		int numel = 0;
-		try (ResultSet getNumel = statement.executeQuery(getElementGIDQueryWithoutGrouping(true))) {
-			while (getNumel.next()) {
-				numel = getNumel.getInt("numel");
-			}
-		}
-
-		try {
-
-			// prepare statement to get grid coordinates of QUADs
-			String sql = "select gid, x_coord, y_coord, z_coord from grids_" + input_.getModel().getID();
-			sql += " where (gid = ? or gid = ? or gid = ? or gid = ?)";
-			try (PreparedStatement queryQuadShearCoords = connection.prepareStatement(sql)) {
-
-				// prepare statement to get grid coordinates of TRIAs
-				sql = "select gid, x_coord, y_coord, z_coord from grids_" + input_.getModel().getID();
-				sql += " where (gid = ? or gid = ? or gid = ?)";
-				try (PreparedStatement queryTriaCoords = connection.prepareStatement(sql)) {
-
-					// prepare statement to get grid coordinates of BEAMs and RODs
-					sql = "select gid, x_coord, y_coord, z_coord from grids_" + input_.getModel().getID();
-					sql += " where (gid = ? or gid = ?)";
-					try (PreparedStatement queryBeamRodCoords = connection.prepareStatement(sql)) {
-
-						// execute query to get element grid IDs
-						try (ResultSet getGIDs = statement.executeQuery(getElementGIDQueryWithoutGrouping(false))) {
-
-							// loop over elements
-							int count = 0;
-							updateMessage("Plotting elements...");
-							while (getGIDs.next()) {
-
-								// task cancelled
-								if (isCancelled())
-									return;
-
-								// update progress
-								updateProgress(count, numel);
-								count++;
-
-								// get element type
-								String eType = getGIDs.getString("el_type");
-
-								// QUAD
-								if (eType.equals(ElementType.QUAD)) {
-									grids = quadShearGrids;
-									polygons = quads;
-									query = queryQuadShearCoords;
-								}
-
-								// TRIA
-								else if (eType.equals(ElementType.TRIA)) {
-									grids = triaGrids;
-									polygons = trias;
-									query = queryTriaCoords;
-								}
-
-								// BEAM
-								else if (eType.equals(ElementType.BEAM)) {
-									grids = beamRodGrids;
-									polygons = beams;
-									query = queryBeamRodCoords;
-								}
-
-								// ROD
-								else if (eType.equals(ElementType.ROD)) {
-									grids = beamRodGrids;
-									polygons = rods;
-									query = queryBeamRodCoords;
-								}
-
-								// SHEAR
-								else if (eType.equals(ElementType.SHEAR)) {
-									grids = quadShearGrids;
-									polygons = shears;
-									query = queryQuadShearCoords;
-								}
-								else {
-									continue;
-								}
-
-								// set grid IDs
-								for (int i = 0; i < grids.length; i++) {
-									grids[i].setID(getGIDs.getInt("g" + (i + 1)));
-									query.setInt(i + 1, grids[i].getID());
-								}
-
-								// get grid coordinates
-								try (ResultSet getCoords = query.executeQuery()) {
-									while (getCoords.next()) {
-										Grid.setCoords(grids, getCoords.getInt("gid"), getCoords.getDouble("x_coord"), getCoords.getDouble("y_coord"), getCoords.getDouble("z_coord"));
-									}
-								}
-
-								// insert grid coordinates to polygon for BEAM elements
-								if (eType.equals(ElementType.BEAM)) {
-									polygons.insertNextCell(4);
-									polygons.insertCellPoint(grids[0].getX(), grids[0].getY() - input_.getBeamExtrusionWidth(), grids[0].getZ(), 0.0);
-									polygons.insertCellPoint(grids[0].getX(), grids[0].getY() + input_.getBeamExtrusionWidth(), grids[0].getZ(), 0.0);
-									polygons.insertCellPoint(grids[1].getX(), grids[1].getY() + input_.getBeamExtrusionWidth(), grids[1].getZ(), 0.0);
-									polygons.insertCellPoint(grids[1].getX(), grids[1].getY() - input_.getBeamExtrusionWidth(), grids[1].getZ(), 0.0);
-								}
-
-								// insert grid coordinates to polygon for ROD elements
-								else if (eType.equals(ElementType.ROD)) {
-									polygons.insertNextCell(4);
-									polygons.insertCellPoint(grids[0].getX(), grids[0].getY() - input_.getRodExtrusionWidth(), grids[0].getZ(), 0.0);
-									polygons.insertCellPoint(grids[0].getX(), grids[0].getY() + input_.getRodExtrusionWidth(), grids[0].getZ(), 0.0);
-									polygons.insertCellPoint(grids[1].getX(), grids[1].getY() + input_.getRodExtrusionWidth(), grids[1].getZ(), 0.0);
-									polygons.insertCellPoint(grids[1].getX(), grids[1].getY() - input_.getRodExtrusionWidth(), grids[1].getZ(), 0.0);
-								}
-
-								// insert grid coordinates to polygon for other elements
-								else {
-									polygons.insertNextCell(grids.length);
-									for (Grid grid : grids) {
-										polygons.insertCellPoint(grid.getCoords(), 0.0);
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-		}
-
-		// close query if not closed
-		finally {
-			if (query != null) {
-				query.close();
-			}
-		}
-	}
-
-	/**
-	 * Returns SQL query for getting element GIDs with element grouping.
-	 *
-	 * @param groupIDs
-	 *            Element group IDs.
-	 * @param isNumel
-	 *            True if number of elements query is requested.
-	 * @return SQL query for getting element GIDs.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String getElementGIDQueryWithGrouping(ArrayList<Integer> groupIDs, boolean isNumel) throws Exception {
-
-		// get table names
-		String elTable = "elements_" + input_.getModel().getID();
-		String grpTable = "element_groups_" + input_.getModel().getID();
-
-		// initialize query
-		String sql = "select ";
-		sql += isNumel ? "count(" + elTable + ".eid) as numel" : "el_type, g1, g2, g3, g4";
-		sql += " from " + elTable + " inner join " + grpTable + " on " + elTable + ".eid = " + grpTable + ".eid";
-
-		// add group names
-		sql += " where (";
-		for (int groupID : groupIDs) {
-			sql += grpTable + ".group_id = " + groupID + " or ";
-		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ")";
-
-		// add element types
-		ArrayList<ElementType> types = input_.getTypes();
-
-		// get number of selected elements
-		int numSelected = 0;
-		for (ElementType type : types) {
-			if (type.getSelected()) {
-				numSelected++;
-			}
-		}
-
-		// all selected
-		if (numSelected == types.size())
-			return sql;
-
-		// some selected
-		sql += " and (";
-		for (ElementType type : types) {
-			if (type.getSelected()) {
-				sql += elTable + ".el_type = '" + type.getName() + "' or ";
-			}
-		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ")";
-		return sql;
-	}
-
-	/**
-	 * Returns SQL query for getting element GIDs without element grouping.
-	 *
-	 * @param isNumel
-	 *            True if number of elements query is requested.
-	 * @return SQL query for getting element GIDs.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String getElementGIDQueryWithoutGrouping(boolean isNumel) throws Exception {
-
-		// get element types
-		ArrayList<ElementType> types = input_.getTypes();
-
-		// initialize query
-		String sql = "select ";
-		sql += isNumel ? "count(eid) as numel" : "el_type, g1, g2, g3, g4";
-		sql += " from elements_" + input_.getModel().getID();
-
-		int numSelected = 0;
-		for (ElementType type : types) {
-			if (type.getSelected()) {
-				numSelected++;
-			}
-		}
-
-		// all selected
-		if (numSelected == types.size())
-			return sql;
-
-		// some selected
-		sql += " where ";
-		for (ElementType type : types) {
-			if (type.getSelected()) {
-				sql += "el_type = '" + type.getName() + "' or ";
-			}
-		}
-		sql = sql.substring(0, sql.length() - " or ".length());
-		return sql;
-	}
 }
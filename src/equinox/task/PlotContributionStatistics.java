@@ -136,7 +136,7 @@ public class PlotContributionStatistics extends InternalEquinoxTask<CategoryData
 			request.setSection(section_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -152,7 +152,7 @@ public class PlotContributionStatistics extends InternalEquinoxTask<CategoryData
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -16,23 +16,18 @@
 package equinox.task;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Statement;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
 
 import equinox.Equinox;
 import equinox.data.ElementStress;
-import equinox.data.ElementType;
-import equinox.data.ElementTypeForStress;
-import equinox.data.Grid;
+import equinox.data.LoadCaseStressCube;
+import equinox.data.ModelGeometry;
 import equinox.data.input.PlotElementStressesInput;
 import equinox.data.ui.LoadCaseFactorTableItem;
 import equinox.data.ui.PlotContour;
 import equinox.serverUtilities.Permission;
-import inf.v3d.obj.PolygonOutlines;
-import inf.v3d.obj.Polygons;
+import equinox.viewer.ElementMesh;
 
 /**
  * Class for plot element stresses task.
@@ -81,23 +76,23 @@ public class PlotElementStresses extends Plot3DTask<Void> {
 		// update progress info
 		updateTitle("Plotting element stresses...");
 
-		// start task
-		startTask();
+		// start task (canvas is cleared only if the plotted elements change)
+		startTask(false);
 
 		// get database connection
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
+			// get model geometry
+			updateMessage("Getting A/C model geometry...");
+			int modelID = input_.getLoadCases().get(0).getLoadCase().getParentItem().getParentItem().getID();
+			ModelGeometry geometry = Equinox.GEOMETRY_CACHE.get(connection, modelID);
 
-				// without grouping
-				if (input_.getGroups().isEmpty()) {
-					plotWithoutGrouping(connection, statement);
-				}
-				else {
-					plotWithGrouping(connection, statement);
-				}
-			}
+			// get elements to plot
+			updateMessage("Getting elements to plot...");
+			ArrayList<Integer> elements = getElements(connection, geometry);
+
+			// plot elements
+			plotElements(connection, geometry, elements, modelID);
 		}
 
 		// return
@@ -132,634 +127,136 @@ public class PlotElementStresses extends Plot3DTask<Void> {
 	}
 
 	/**
-	 * Plots all elements with element grouping.
+	 * Plots given elements. Elements are merged into a single mesh colored by element stresses. If the same elements are already on the canvas, the existing mesh is only
+	 * recolored.
 	 *
 	 * @param connection
 	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
+	 * @param geometry
+	 *            A/C model geometry.
+	 * @param elements
+	 *            Indices of elements to plot.
+	 * @param modelID
+	 *            A/C model ID.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private void plotWithGrouping(Connection connection, Statement statement) throws Exception {
-
-		// initialize variables
-		Grid[] quadShearGrids = { new Grid(), new Grid(), new Grid(), new Grid() };
-		Grid[] triaGrids = { new Grid(), new Grid(), new Grid() };
-		Grid[] beamRodGrids = { new Grid(), new Grid() };
-
-		// create polygons for element types
-		Polygons valuedPoly = new Polygons();
-		Polygons nullPoly = new Polygons();
+	private void plotElements(Connection connection, ModelGeometry geometry, ArrayList<Integer> elements, int modelID) throws Exception {
 
-		// no contour colors
-		if (input_.getPlotContour().equals(PlotContour.DISCRETE)) {
-			valuedPoly.setColored(true);
+		// get stress cube
+		updateMessage("Getting element stresses...");
+		ArrayList<Integer> loadCaseIDs = new ArrayList<>();
+		for (LoadCaseFactorTableItem loadCase : input_.getLoadCases()) {
+			if (!loadCaseIDs.contains(loadCase.getLoadCase().getID())) {
+				loadCaseIDs.add(loadCase.getLoadCase().getID());
+			}
 		}
-		nullPoly.setColored(false);
-		nullPoly.setColor("black");
-
-		// set opacities
-		valuedPoly.setOpacity(input_.getOpacity());
-		nullPoly.setOpacity(input_.getOpacity());
-
-		// set outlines
-		if (input_.getOutlines()) {
-			new PolygonOutlines().setPolygons(valuedPoly);
-			new PolygonOutlines().setPolygons(nullPoly);
+		int[] ids = new int[loadCaseIDs.size()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = loadCaseIDs.get(i);
+		}
+		LoadCaseStressCube cube = LoadCaseStressCube.get(connection, modelID, ids);
+
+		// get load case indices and factors
+		int[] loadCases = new int[ids.length];
+		double[] factors = new double[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			loadCases[i] = cube.getLoadCaseIndex(ids[i]);
+			factors[i] = LoadCaseFactorTableItem.getFactorFromList(input_.getLoadCases(), ids[i]);
 		}
 
 		// initialize variables
-		Grid[] grids = null;
-		int modelID = input_.getLoadCases().get(0).getLoadCase().getParentItem().getParentItem().getID();
 		ElementStress stressComp = input_.getStressComponent();
-		int bew = input_.getBeamExtrusionWidth();
-		int rew = input_.getRodExtrusionWidth();
 		Double lowerBound = input_.getLowerBound();
 		Double upperBound = input_.getUpperBound();
-		@SuppressWarnings("resource")
-		PreparedStatement query = null;
-
-		// get element group IDs
-		ArrayList<Integer> groupIDs = getGroupIDs(statement, modelID);
-
-		// get number of elements
-		updateMessage("Getting number of elements to plot...");
-		int numel = 0;
-		try (ResultSet getNumel = statement.executeQuery(getElementGIDQueryWithGrouping(groupIDs, true, modelID))) {
-			while (getNumel.next()) {
-				numel = getNumel.getInt("numel");
-			}
-		}
-
-		try {
-
-			// prepare statement to get grid coordinates of QUADs
-			String sql = "select gid, x_coord, y_coord, z_coord from grids_" + modelID;
-			sql += " where (gid = ? or gid = ? or gid = ? or gid = ?)";
-			try (PreparedStatement queryQuadShearCoords = connection.prepareStatement(sql)) {
-
-				// prepare statement to get grid coordinates of TRIAs
-				sql = "select gid, x_coord, y_coord, z_coord from grids_" + modelID;
-				sql += " where (gid = ? or gid = ? or gid = ?)";
-				try (PreparedStatement queryTriaCoords = connection.prepareStatement(sql)) {
-
-					// prepare statement to get grid coordinates of BEAMs and RODs
-					sql = "select gid, x_coord, y_coord, z_coord from grids_" + modelID;
-					sql += " where (gid = ? or gid = ?)";
-					try (PreparedStatement queryBeamRodCoords = connection.prepareStatement(sql)) {
-
-						// execute query to get element grid IDs
-						try (ResultSet getGIDs = statement.executeQuery(getElementGIDQueryWithGrouping(groupIDs, false, modelID))) {
-
-							// prepare statement to query stress component
-							try (PreparedStatement queryStress = connection.prepareStatement(getStressQuery(stressComp, modelID))) {
-
-								// loop over elements
-								int count = 0;
-								updateMessage("Plotting elements...");
-								while (getGIDs.next()) {
-
-									// task cancelled
-									if (isCancelled())
-										return;
-
-									// update progress
-									updateProgress(count, numel);
-									count++;
-
-									// get element stress
-									Double stress = null;
-									queryStress.setInt(1, getGIDs.getInt("eid"));
-									try (ResultSet s = queryStress.executeQuery()) {
-										while (s.next()) {
-											double factor = LoadCaseFactorTableItem.getFactorFromList(input_.getLoadCases(), s.getInt("lc_id"));
-											if (stress == null) {
-												stress = factor * s.getDouble(stressComp.getResultSetColName());
-											}
-											else {
-												stress += factor * s.getDouble(stressComp.getResultSetColName());
-											}
-										}
-									}
-
-									// check against bounds
-									if (lowerBound != null && stress != null && stress < lowerBound) {
-										stress = null;
-									}
-									if (upperBound != null && stress != null && stress > upperBound) {
-										stress = null;
-									}
-
-									// get element type
-									String eType = getGIDs.getString("el_type");
-
-									// QUAD
-									if (eType.equals(ElementType.QUAD)) {
-										grids = quadShearGrids;
-										query = queryQuadShearCoords;
-									}
-
-									// TRIA
-									else if (eType.equals(ElementType.TRIA)) {
-										grids = triaGrids;
-										query = queryTriaCoords;
-									}
-
-									// BEAM
-									else if (eType.equals(ElementType.BEAM)) {
-										grids = beamRodGrids;
-										query = queryBeamRodCoords;
-									}
-
-									// ROD
-									else if (eType.equals(ElementType.ROD)) {
-										grids = beamRodGrids;
-										query = queryBeamRodCoords;
-									}
-									else {
-										continue;
-									}
-
-									// set grid IDs
-									for (int i = 0; i < grids.length; i++) {
-										grids[i].setID(getGIDs.getInt("g" + (i + 1)));
-										query.setInt(i + 1, grids[i].getID());
-									}
-
-									// get grid coordinates
-									try (ResultSet getCoords = query.executeQuery()) {
-										while (getCoords.next()) {
-											Grid.setCoords(grids, getCoords.getInt("gid"), getCoords.getDouble("x_coord"), getCoords.getDouble("y_coord"), getCoords.getDouble("z_coord"));
-										}
-									}
-
-									// insert grid coordinates to polygon for BEAM elements
-									if (eType.equals(ElementType.BEAM)) {
-										if (stress == null) {
-											nullPoly.insertNextCell(4);
-											nullPoly.insertCellPoint(grids[0].getX(), grids[0].getY() - bew, grids[0].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[0].getX(), grids[0].getY() + bew, grids[0].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[1].getX(), grids[1].getY() + bew, grids[1].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[1].getX(), grids[1].getY() - bew, grids[1].getZ(), 0.0);
-										}
-										else {
-											valuedPoly.insertNextCell(4);
-											valuedPoly.insertCellPoint(grids[0].getX(), grids[0].getY() - bew, grids[0].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[0].getX(), grids[0].getY() + bew, grids[0].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[1].getX(), grids[1].getY() + bew, grids[1].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[1].getX(), grids[1].getY() - bew, grids[1].getZ(), stress);
-										}
-									}
-
-									// insert grid coordinates to polygon for ROD elements
-									else if (eType.equals(ElementType.ROD)) {
-										if (stress == null) {
-											nullPoly.insertNextCell(4);
-											nullPoly.insertCellPoint(grids[0].getX(), grids[0].getY() - rew, grids[0].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[0].getX(), grids[0].getY() + rew, grids[0].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[1].getX(), grids[1].getY() + rew, grids[1].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[1].getX(), grids[1].getY() - rew, grids[1].getZ(), 0.0);
-										}
-										else {
-											valuedPoly.insertNextCell(4);
-											valuedPoly.insertCellPoint(grids[0].getX(), grids[0].getY() - rew, grids[0].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[0].getX(), grids[0].getY() + rew, grids[0].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[1].getX(), grids[1].getY() + rew, grids[1].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[1].getX(), grids[1].getY() - rew, grids[1].getZ(), stress);
-										}
-									}
-
-									// insert grid coordinates to polygon for other elements
-									else {
-										if (stress == null) {
-											nullPoly.insertNextCell(grids.length);
-											for (Grid grid : grids) {
-												nullPoly.insertCellPoint(grid.getCoords(), 0.0);
-											}
-										}
-										else {
-											valuedPoly.insertNextCell(grids.length);
-											for (Grid grid : grids) {
-												valuedPoly.insertCellPoint(grid.getCoords(), stress);
-											}
-										}
-									}
-
-									// update max-min values
-									if (stress != null) {
-										if (minVal_ >= stress) {
-											minVal_ = stress;
-										}
-										if (maxVal_ <= stress) {
-											maxVal_ = stress;
-										}
-									}
-								}
-							}
-						}
-					}
+		double[] stresses = new double[elements.size()];
+
+		// loop over elements
+		for (int count = 0; count < elements.size(); count++) {
+
+			// task cancelled
+			if (isCancelled())
+				return;
+
+			// get element stress
+			int element = cube.getElementIndex(geometry.getElementID(elements.get(count)));
+			double stress = Double.NaN;
+			for (int i = 0; element >= 0 && i < loadCases.length; i++) {
+				double value = loadCases[i] < 0 ? Double.NaN : cube.getStress(loadCases[i], stressComp, element);
+				if (!Double.isNaN(value)) {
+					stress = (Double.isNaN(stress) ? 0.0 : stress) + factors[i] * value;
 				}
 			}
 
-			// create colors
-			if (input_.getPlotContour().equals(PlotContour.SMOOTHED)) {
-				valuedPoly.createColors();
+			// check against bounds
+			if (lowerBound != null && stress < lowerBound) {
+				stress = Double.NaN;
 			}
-		}
-
-		// close query if not closed
-		finally {
-			if (query != null) {
-				query.close();
+			if (upperBound != null && stress > upperBound) {
+				stress = Double.NaN;
 			}
-		}
-	}
 
-	/**
-	 * Creates and returns stress query.
-	 *
-	 * @param stressComp
-	 *            Required stress component.
-	 * @param modelID
-	 *            A/C model ID.
-	 * @return Stress query.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String getStressQuery(ElementStress stressComp, int modelID) throws Exception {
-
-		// initialize query
-		String sql = "select lc_id, " + stressComp.getDBSelectString();
-		sql += " from load_cases_" + modelID + " where (";
-
-		// add load cases
-		for (LoadCaseFactorTableItem loadCase : input_.getLoadCases()) {
-			sql += "lc_id = " + loadCase.getLoadCase().getID() + " or ";
-		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ")";
-
-		// add EID
-		sql += " and eid = ?";
-
-		// return query
-		return sql;
-	}
-
-	/**
-	 * Retrieves and returns list containing element group IDs.
-	 *
-	 * @param statement
-	 *            Database statement.
-	 * @param modelID
-	 *            A/C model ID.
-	 * @return List containing element group IDs.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private ArrayList<Integer> getGroupIDs(Statement statement, int modelID) throws Exception {
-
-		// initialize list
-		ArrayList<Integer> groupIDs = new ArrayList<>();
+			// set stress
+			stresses[count] = stress;
 
-		// get element group IDs
-		ArrayList<String> groups = input_.getGroups();
-		String sql = "select group_id from element_group_names_" + modelID;
-		sql += " where (";
-		for (String group : groups) {
-			sql += "name = '" + group + "' or ";
-		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ")";
-
-		// execute query
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				groupIDs.add(resultSet.getInt("group_id"));
+			// update max-min values
+			if (!Double.isNaN(stress)) {
+				if (minVal_ >= stress) {
+					minVal_ = stress;
+				}
+				if (maxVal_ <= stress) {
+					maxVal_ = stress;
+				}
 			}
 		}
 
-		// return list
-		return groupIDs;
-	}
+		// task cancelled
+		if (isCancelled())
+			return;
 
-	/**
-	 * Plots all elements without element grouping.
-	 *
-	 * @param connection
-	 *            Database connection.
-	 * @param statement
-	 *            Database statement.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private void plotWithoutGrouping(Connection connection, Statement statement) throws Exception {
-
-		// initialize variables
-		Grid[] quadShearGrids = { new Grid(), new Grid(), new Grid(), new Grid() };
-		Grid[] triaGrids = { new Grid(), new Grid(), new Grid() };
-		Grid[] beamRodGrids = { new Grid(), new Grid() };
-
-		// create polygons for element types
-		Polygons valuedPoly = new Polygons();
-		Polygons nullPoly = new Polygons();
-
-		// set contoured
-		if (input_.getPlotContour().equals(PlotContour.DISCRETE)) {
-			valuedPoly.setColored(true);
-		}
-		nullPoly.setColored(false);
-		nullPoly.setColor("black");
-
-		// set opacities
-		valuedPoly.setOpacity(input_.getOpacity());
-		nullPoly.setOpacity(input_.getOpacity());
-
-		// set outlines
-		if (input_.getOutlines()) {
-			new PolygonOutlines().setPolygons(valuedPoly);
-			new PolygonOutlines().setPolygons(nullPoly);
-		}
-
-		// initialize variables
-		Grid[] grids = null;
-		int modelID = input_.getLoadCases().get(0).getLoadCase().getParentItem().getParentItem().getID();
-		ElementStress stressComp = input_.getStressComponent();
+		// create mesh (if the same elements are not already on the canvas)
+		updateMessage("Plotting elements...");
 		int bew = input_.getBeamExtrusionWidth();
 		int rew = input_.getRodExtrusionWidth();
-		Double lowerBound = input_.getLowerBound();
-		Double upperBound = input_.getUpperBound();
-		@SuppressWarnings("resource")
-		PreparedStatement query = null;
-
-		// get number of elements
-		updateMessage("Getting number of elements to plot...");
-		int numel = 0;
-		try (ResultSet getNumel = statement.executeQuery(getElementGIDQueryWithoutGrouping(true, modelID))) {
-			while (getNumel.next()) {
-				numel = getNumel.getInt("numel");
-			}
-		}
-
-		try {
-
-			// prepare statement to get grid coordinates of QUADs
-			String sql = "select gid, x_coord, y_coord, z_coord from grids_" + modelID;
-			sql += " where (gid = ? or gid = ? or gid = ? or gid = ?)";
-			try (PreparedStatement queryQuadShearCoords = connection.prepareStatement(sql)) {
-
-				// prepare statement to get grid coordinates of TRIAs
-				sql = "select gid, x_coord, y_coord, z_coord from grids_" + modelID;
-				sql += " where (gid = ? or gid = ? or gid = ?)";
-				try (PreparedStatement queryTriaCoords = connection.prepareStatement(sql)) {
-
-					// prepare statement to get grid coordinates of BEAMs and RODs
-					sql = "select gid, x_coord, y_coord, z_coord from grids_" + modelID;
-					sql += " where (gid = ? or gid = ?)";
-					try (PreparedStatement queryBeamRodCoords = connection.prepareStatement(sql)) {
-
-						// execute query to get element grid IDs
-						try (ResultSet getGIDs = statement.executeQuery(getElementGIDQueryWithoutGrouping(false, modelID))) {
-
-							// prepare statement to query stress component
-							try (PreparedStatement queryStress = connection.prepareStatement(getStressQuery(stressComp, modelID))) {
-
-								// loop over elements
-								int count = 0;
-								updateMessage("Plotting elements...");
-								while (getGIDs.next()) {
-
-									// task cancelled
-									if (isCancelled())
-										return;
-
-									// update progress
-									updateProgress(count, numel);
-									count++;
-
-									// get element stress
-									Double stress = null;
-									queryStress.setInt(1, getGIDs.getInt("eid"));
-									try (ResultSet s = queryStress.executeQuery()) {
-										while (s.next()) {
-											double factor = LoadCaseFactorTableItem.getFactorFromList(input_.getLoadCases(), s.getInt("lc_id"));
-											if (stress == null) {
-												stress = factor * s.getDouble(stressComp.getResultSetColName());
-											}
-											else {
-												stress += factor * s.getDouble(stressComp.getResultSetColName());
-											}
-										}
-									}
-
-									// check against bounds
-									if (lowerBound != null && stress != null && stress < lowerBound) {
-										stress = null;
-									}
-									if (upperBound != null && stress != null && stress > upperBound) {
-										stress = null;
-									}
-
-									// get element type
-									String eType = getGIDs.getString("el_type");
-
-									// QUAD
-									if (eType.equals(ElementType.QUAD)) {
-										grids = quadShearGrids;
-										query = queryQuadShearCoords;
-									}
-
-									// TRIA
-									else if (eType.equals(ElementType.TRIA)) {
-										grids = triaGrids;
-										query = queryTriaCoords;
-									}
-
-									// BEAM
-									else if (eType.equals(ElementType.BEAM)) {
-										grids = beamRodGrids;
-										query = queryBeamRodCoords;
-									}
-
-									// ROD
-									else if (eType.equals(ElementType.ROD)) {
-										grids = beamRodGrids;
-										query = queryBeamRodCoords;
-									}
-									else {
-										continue;
-									}
-
-									// set grid IDs
-									for (int i = 0; i < grids.length; i++) {
-										grids[i].setID(getGIDs.getInt("g" + (i + 1)));
-										query.setInt(i + 1, grids[i].getID());
-									}
-
-									// get grid coordinates
-									try (ResultSet getCoords = query.executeQuery()) {
-										while (getCoords.next()) {
-											Grid.setCoords(grids, getCoords.getInt("gid"), getCoords.getDouble("x_coord"), getCoords.getDouble("y_coord"), getCoords.getDouble("z_coord"));
-										}
-									}
-
-									// insert grid coordinates to polygon for BEAM elements
-									if (eType.equals(ElementType.BEAM)) {
-										if (stress == null) {
-											nullPoly.insertNextCell(4);
-											nullPoly.insertCellPoint(grids[0].getX(), grids[0].getY() - bew, grids[0].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[0].getX(), grids[0].getY() + bew, grids[0].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[1].getX(), grids[1].getY() + bew, grids[1].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[1].getX(), grids[1].getY() - bew, grids[1].getZ(), 0.0);
-										}
-										else {
-											valuedPoly.insertNextCell(4);
-											valuedPoly.insertCellPoint(grids[0].getX(), grids[0].getY() - bew, grids[0].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[0].getX(), grids[0].getY() + bew, grids[0].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[1].getX(), grids[1].getY() + bew, grids[1].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[1].getX(), grids[1].getY() - bew, grids[1].getZ(), stress);
-										}
-									}
-
-									// insert grid coordinates to polygon for ROD elements
-									else if (eType.equals(ElementType.ROD)) {
-										if (stress == null) {
-											nullPoly.insertNextCell(4);
-											nullPoly.insertCellPoint(grids[0].getX(), grids[0].getY() - rew, grids[0].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[0].getX(), grids[0].getY() + rew, grids[0].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[1].getX(), grids[1].getY() + rew, grids[1].getZ(), 0.0);
-											nullPoly.insertCellPoint(grids[1].getX(), grids[1].getY() - rew, grids[1].getZ(), 0.0);
-										}
-										else {
-											valuedPoly.insertNextCell(4);
-											valuedPoly.insertCellPoint(grids[0].getX(), grids[0].getY() - rew, grids[0].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[0].getX(), grids[0].getY() + rew, grids[0].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[1].getX(), grids[1].getY() + rew, grids[1].getZ(), stress);
-											valuedPoly.insertCellPoint(grids[1].getX(), grids[1].getY() - rew, grids[1].getZ(), stress);
-										}
-									}
-
-									// insert grid coordinates to polygon for other elements
-									else {
-										if (stress == null) {
-											nullPoly.insertNextCell(grids.length);
-											for (Grid grid : grids) {
-												nullPoly.insertCellPoint(grid.getCoords(), 0.0);
-											}
-										}
-										else {
-											valuedPoly.insertNextCell(grids.length);
-											for (Grid grid : grids) {
-												valuedPoly.insertCellPoint(grid.getCoords(), stress);
-											}
-										}
-									}
-
-									// update max-min values
-									if (stress != null) {
-										if (minVal_ >= stress) {
-											minVal_ = stress;
-										}
-										if (maxVal_ <= stress) {
-											maxVal_ = stress;
-										}
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-
-			// create colors
-			if (input_.getPlotContour().equals(PlotContour.SMOOTHED)) {
-				valuedPoly.createColors();
-			}
-		}
-
-		// close query if not closed
-		finally {
-			if (query != null) {
-				query.close();
+		ElementMesh mesh = getElementMesh();
+		if (mesh == null || !mesh.isMeshOf(geometry, elements, bew, rew) || mesh.hasOutlines() != input_.getOutlines()) {
+			clearCanvas();
+			mesh = new ElementMesh(geometry, elements, bew, rew);
+			if (input_.getOutlines()) {
+				mesh.createOutlines();
 			}
+			setElementMesh(mesh);
 		}
-	}
 
-	/**
-	 * Returns SQL query for getting element GIDs without element grouping.
-	 *
-	 * @param isNumel
-	 *            True if number of elements query is requested.
-	 * @param modelID
-	 *            A/C model ID.
-	 * @return SQL query for getting element GIDs.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String getElementGIDQueryWithoutGrouping(boolean isNumel, int modelID) throws Exception {
-
-		// initialize query
-		String sql = "select ";
-		sql += isNumel ? "count(eid) as numel" : "eid, el_type, g1, g2, g3, g4";
-		sql += " from elements_" + modelID;
-
-		// add element type
-		if (input_.getElementType().equals(ElementTypeForStress.SKIN)) {
-			sql += " where el_type = 'QUAD' or el_type = 'TRIA'";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.BEAM)) {
-			sql += " where el_type = 'BEAM'";
+		// set opacity and colors (discrete contours use the default scalar range of the mapper)
+		mesh.setOpacity(input_.getOpacity());
+		if (input_.getPlotContour().equals(PlotContour.SMOOTHED)) {
+			mesh.setColors(stresses, minVal_, maxVal_);
 		}
-		else if (input_.getElementType().equals(ElementTypeForStress.ROD)) {
-			sql += " where el_type = 'ROD'";
+		else {
+			mesh.setColors(stresses, 0.0, 1.0);
 		}
-
-		// return query
-		return sql;
 	}
 
 	/**
-	 * Returns SQL query for getting element GIDs with element grouping.
+	 * Returns indices of elements to plot. Elements are filtered by the selected element type and groups (if any).
 	 *
-	 * @param groupIDs
-	 *            Element group IDs.
-	 * @param isNumel
-	 *            True if number of elements query is requested.
-	 * @param modelID
-	 *            A/C model ID.
-	 * @return SQL query for getting element GIDs.
+	 * @param connection
+	 *            Database connection.
+	 * @param geometry
+	 *            A/C model geometry.
+	 * @return Indices of elements to plot.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private String getElementGIDQueryWithGrouping(ArrayList<Integer> groupIDs, boolean isNumel, int modelID) throws Exception {
-
-		// get table names
-		String elTable = "elements_" + modelID;
-		String grpTable = "element_groups_" + modelID;
-
-		// initialize query
-		String sql = "select ";
-		sql += isNumel ? "count(" + elTable + ".eid) as numel" : elTable + ".eid, el_type, g1, g2, g3, g4";
-		sql += " from " + elTable + " inner join " + grpTable + " on " + elTable + ".eid = " + grpTable + ".eid";
-
-		// add group names
-		sql += " where (";
-		for (int groupID : groupIDs) {
-			sql += grpTable + ".group_id = " + groupID + " or ";
-		}
-		sql = sql.substring(0, sql.length() - " or ".length()) + ")";
-
-		// add element type
-		if (input_.getElementType().equals(ElementTypeForStress.SKIN)) {
-			sql += " and (el_type = 'QUAD' or el_type = 'TRIA')";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.BEAM)) {
-			sql += " and (el_type = 'BEAM')";
-		}
-		else if (input_.getElementType().equals(ElementTypeForStress.ROD)) {
-			sql += " and (el_type = 'ROD')";
+	private ArrayList<Integer> getElements(Connection connection, ModelGeometry geometry) throws Exception {
+		boolean[] selected = geometry.selectElements(connection, input_.getElementType(), input_.getGroups());
+		ArrayList<Integer> elements = new ArrayList<>();
+		for (int i = 0; i < selected.length; i++) {
+			if (selected[i]) {
+				elements.add(i);
+			}
 		}
-
-		// return query
-		return sql;
+		return elements;
 	}
 }
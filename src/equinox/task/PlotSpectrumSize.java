@@ -113,7 +113,7 @@ public class PlotSpectrumSize extends InternalEquinoxTask<CategoryDataset> imple
 			request.setSection(section_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -129,7 +129,7 @@ public class PlotSpectrumSize extends InternalEquinoxTask<CategoryDataset> imple
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
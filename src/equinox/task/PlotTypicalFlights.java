@@ -16,8 +16,6 @@
 package equinox.task;
 
 import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
@@ -30,6 +28,8 @@ import equinox.Equinox;
 import equinox.controller.InputPanel;
 import equinox.controller.PlotViewPanel;
 import equinox.controller.ViewPanel;
+import equinox.data.FlightCache.Peaks;
+import equinox.data.PeakStore.Column;
 import equinox.data.Segment;
 import equinox.data.SeriesKey;
 import equinox.data.fileType.Flight;
@@ -148,97 +148,88 @@ public class PlotTypicalFlights extends InternalEquinoxTask<XYDataset> implement
 		// get flight IDs
 		updateMessage("Plotting stresses...");
 
-		// create statement
-		try (Statement statement = connection.createStatement()) {
-
-			// loop over flights
-			for (Flight flight : input_.getFlights()) {
-
-				// update info
-				updateMessage("Getting peaks for flight '" + flight.getName() + "' from database...");
-
-				// create series name
-				String name = getFlightName(flight);
-				if (!isTotalStress) {
-					String comp = ", (";
-					if (input_.getPlotComponentOption(FlightPlotInput.INCREMENT_STRESS_COMP)) {
-						comp += "INC";
-					}
-					if (input_.getPlotComponentOption(FlightPlotInput.DP_STRESS_COMP)) {
-						comp += comp.equals(", (") ? "DP" : " + DP";
-					}
-					if (input_.getPlotComponentOption(FlightPlotInput.DT_STRESS_COMP)) {
-						comp += comp.equals(", (") ? "DT" : " + DT";
-					}
-					if (input_.getPlotComponentOption(FlightPlotInput.ONE_G_STRESS_COMP)) {
-						comp += comp.equals(", (") ? "1G" : " + 1G";
-					}
-					comp += ")";
-					name += comp;
+		// loop over flights
+		for (Flight flight : input_.getFlights()) {
+
+			// update info
+			updateMessage("Getting peaks for flight '" + flight.getName() + "' from database...");
+
+			// create series name
+			String name = getFlightName(flight);
+			if (!isTotalStress) {
+				String comp = ", (";
+				if (input_.getPlotComponentOption(FlightPlotInput.INCREMENT_STRESS_COMP)) {
+					comp += "INC";
+				}
+				if (input_.getPlotComponentOption(FlightPlotInput.DP_STRESS_COMP)) {
+					comp += comp.equals(", (") ? "DP" : " + DP";
+				}
+				if (input_.getPlotComponentOption(FlightPlotInput.DT_STRESS_COMP)) {
+					comp += comp.equals(", (") ? "DT" : " + DT";
+				}
+				if (input_.getPlotComponentOption(FlightPlotInput.ONE_G_STRESS_COMP)) {
+					comp += comp.equals(", (") ? "1G" : " + 1G";
 				}
+				comp += ")";
+				name += comp;
+			}
+
+			// create series
+			XYSeries series = new XYSeries(new SeriesKey(checkName(name, dataset), flight.getID()));
 
-				// create series
-				XYSeries series = new XYSeries(new SeriesKey(checkName(name, dataset), flight.getID()));
+			// create segments array for flight
+			ArrayList<Segment> segments = new ArrayList<>();
 
-				// create segments array for flight
-				ArrayList<Segment> segments = new ArrayList<>();
+			// get peaks
+			Peaks peaks = Equinox.FLIGHT_CACHE.getPeaks(connection, flight);
+			int[] peakNums = peaks.getPeakNumbers();
 
-				// create query
-				String sql = "select peak_num, segment, segment_num";
-				if (isTotalStress) {
-					sql += ", peak_val";
+			// get stresses
+			double[] stresses = null;
+			if (isTotalStress) {
+				stresses = peaks.getStresses(Column.PEAK_VAL);
+			}
+			else {
+				stresses = new double[peakNums.length];
+				if (input_.getPlotComponentOption(FlightPlotInput.INCREMENT_STRESS_COMP)) {
+					add(stresses, peaks.getStresses(Column.INC_STRESS));
 				}
-				else {
-					sql += input_.getPlotComponentOption(FlightPlotInput.ONE_G_STRESS_COMP) ? ", oneg_stress" : "";
-					sql += input_.getPlotComponentOption(FlightPlotInput.INCREMENT_STRESS_COMP) ? ", inc_stress" : "";
-					sql += input_.getPlotComponentOption(FlightPlotInput.DP_STRESS_COMP) ? ", dp_stress" : "";
-					sql += input_.getPlotComponentOption(FlightPlotInput.DT_STRESS_COMP) ? ", dt_stress" : "";
+				if (input_.getPlotComponentOption(FlightPlotInput.DP_STRESS_COMP)) {
+					add(stresses, peaks.getStresses(Column.DP_STRESS));
 				}
-				sql += " from sth_peaks_" + flight.getParentItem().getParentItem().getID() + " where flight_id = " + flight.getID() + " order by peak_num";
-
-				// add chart data to series
-				try (ResultSet resultSet = statement.executeQuery(sql)) {
-
-					// loop over peaks
-					while (resultSet.next()) {
-
-						// get peak number
-						int peakNum = resultSet.getInt("peak_num");
-
-						// get stress
-						double stress = 0.0;
-						if (isTotalStress) {
-							stress = resultSet.getDouble("peak_val");
-						}
-						else {
-							if (input_.getPlotComponentOption(FlightPlotInput.INCREMENT_STRESS_COMP)) {
-								stress += resultSet.getDouble("inc_stress");
-							}
-							if (input_.getPlotComponentOption(FlightPlotInput.DP_STRESS_COMP)) {
-								stress += resultSet.getDouble("dp_stress");
-							}
-							if (input_.getPlotComponentOption(FlightPlotInput.DT_STRESS_COMP)) {
-								stress += resultSet.getDouble("dt_stress");
-							}
-							if (input_.getPlotComponentOption(FlightPlotInput.ONE_G_STRESS_COMP)) {
-								stress += resultSet.getDouble("oneg_stress");
-							}
-						}
-
-						// add to data
-						series.add(peakNum, stress);
-
-						// add to segments
-						addToSegments(resultSet.getString("segment"), resultSet.getInt("segment_num"), peakNum, segments);
-					}
+				if (input_.getPlotComponentOption(FlightPlotInput.DT_STRESS_COMP)) {
+					add(stresses, peaks.getStresses(Column.DT_STRESS));
 				}
+				if (input_.getPlotComponentOption(FlightPlotInput.ONE_G_STRESS_COMP)) {
+					add(stresses, peaks.getStresses(Column.ONEG_STRESS));
+				}
+			}
 
-				// add series to dataset
-				dataset.addSeries(series);
-
-				// add to segments
-				segments_.put(flight, segments);
+			// add chart data to series and segments
+			for (int i = 0; i < peakNums.length; i++) {
+				series.add(peakNums[i], stresses[i]);
+				addToSegments(peaks.getSegment(i), peaks.getSegmentNumber(i), peakNums[i], segments);
 			}
+
+			// add series to dataset
+			dataset.addSeries(series);
+
+			// add to segments
+			segments_.put(flight, segments);
+		}
+	}
+
+	/**
+	 * Adds given stress component to stresses.
+	 *
+	 * @param stresses
+	 *            Stresses.
+	 * @param component
+	 *            Stress component to add.
+	 */
+	private static void add(double[] stresses, double[] component) {
+		for (int i = 0; i < stresses.length; i++) {
+			stresses[i] += component[i];
 		}
 	}
 
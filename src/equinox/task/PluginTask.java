@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
+import equinox.data.TaskScheduler.Lane;
 import equinox.plugin.PluginProcess;
 import equinox.utility.Utility;
 
@@ -188,7 +189,7 @@ public class PluginTask extends InternalEquinoxTask<Object> {
 	 */
 	private final void deleteTemporaryFiles() {
 		if ((workingDirectory_ != null) && Files.exists(workingDirectory_)) {
-			Equinox.CACHED_THREADPOOL.submit(new DeleteTemporaryFiles(workingDirectory_, permanentFiles_));
+			Equinox.SCHEDULER.getExecutor(Lane.BACKGROUND).submit(new DeleteTemporaryFiles(workingDirectory_, permanentFiles_));
 		}
 	}
 }
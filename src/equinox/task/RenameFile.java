@@ -284,6 +284,7 @@ public class RenameFile extends InternalEquinoxTask<Void> implements ShortRunnin
 		try (Statement statement = connection.createStatement()) {
 			statement.executeUpdate(sql);
 		}
+		Equinox.EQUIVALENT_STRESS_CACHE.remove(item_.getID());
 	}
 
 	/**
@@ -92,7 +92,7 @@ public class ResetExchangeTable extends InternalEquinoxTask<Boolean> implements
 			request.setListenerHashCode(hashCode());
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -108,7 +108,7 @@ public class ResetExchangeTable extends InternalEquinoxTask<Boolean> implements
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
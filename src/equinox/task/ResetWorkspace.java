@@ -25,6 +25,9 @@ import equinox.Equinox;
 import equinox.controller.InfoViewPanel;
 import equinox.controller.InputPanel;
 import equinox.controller.ViewPanel;
+import equinox.data.BlobStore;
+import equinox.data.LoadCaseStressCube;
+import equinox.data.PeakStore;
 import equinox.data.fileType.SpectrumItem;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import javafx.collections.ObservableList;
@@ -244,6 +247,7 @@ public class ResetWorkspace extends InternalEquinoxTask<Void> implements LongRun
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
 				}
 			}
+			Equinox.GEOMETRY_CACHE.clear();
 			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "ELEMENT_GROUPS_%", null)) {
 				while (resultSet.next()) {
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
@@ -259,6 +263,7 @@ public class ResetWorkspace extends InternalEquinoxTask<Void> implements LongRun
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
 				}
 			}
+			LoadCaseStressCube.deleteAll();
 			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "LOAD_CASE_NAMES_%", null)) {
 				while (resultSet.next()) {
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
@@ -274,6 +279,7 @@ public class ResetWorkspace extends InternalEquinoxTask<Void> implements LongRun
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
 				}
 			}
+			Equinox.EQUIVALENT_STRESS_CACHE.clear();
 			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "AC_EQ_STRESS_NAMES_%", null)) {
 				while (resultSet.next()) {
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
@@ -299,11 +305,15 @@ public class ResetWorkspace extends InternalEquinoxTask<Void> implements LongRun
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
 				}
 			}
+			PeakStore.deleteAll();
+			BlobStore.deleteAll();
+			Equinox.FLIGHT_CACHE.clear();
 			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "ANA_PEAKS_%", null)) {
 				while (resultSet.next()) {
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
 				}
 			}
+			Equinox.SPECTRUM_CACHE.clear();
 			try (ResultSet resultSet = dbmtadta.getTables(null, "AURORA", "STF_STRESSES_%", null)) {
 				while (resultSet.next()) {
 					statement.executeUpdate("drop table AURORA." + resultSet.getString(3));
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import equinox.data.BackupRepository;
+import equinox.data.BackupRepository.Entry;
+import equinox.task.InternalEquinoxTask.LongRunningTask;
+
+/**
+ * Class for restore workspace task. Files of a workspace snapshot are decompressed from the backup repository into a new workspace directory and verified against their content hashes. The workspace
+ * directory is created only if all files are restored successfully.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 10:52:08
+ */
+public class RestoreWorkspace extends InternalEquinoxTask<Void> implements LongRunningTask {
+
+	/** Path to snapshot file. */
+	private final Path snapshot_;
+
+	/** Path to workspace to create. */
+	private final Path path_;
+
+	/**
+	 * Creates restore workspace task.
+	 *
+	 * @param snapshot
+	 *            Path to snapshot file.
+	 * @param path
+	 *            Path to workspace to create.
+	 */
+	public RestoreWorkspace(Path snapshot, Path path) {
+		snapshot_ = snapshot;
+		path_ = path;
+	}
+
+	@Override
+	public boolean canBeCancelled() {
+		return true;
+	}
+
+	@Override
+	public String getTaskTitle() {
+		return "Restore workspace to '" + path_.toString() + "'";
+	}
+
+	@Override
+	protected Void call() throws Exception {
+
+		// workspace already exists
+		if (Files.exists(path_))
+			throw new Exception("Workspace '" + path_.getFileName() + "' already exists.");
+
+		// read snapshot
+		updateMessage("Reading snapshot '" + snapshot_.getFileName() + "'...");
+		BackupRepository repository = BackupRepository.getRepository(snapshot_);
+		ArrayList<Entry> entries = repository.readSnapshot(snapshot_);
+
+		// create temporary directory
+		Path temp = path_.resolveSibling(path_.getFileName().toString() + ".restore");
+		if (Files.exists(temp))
+			throw new Exception("Directory '" + temp.getFileName() + "' already exists.");
+		Files.createDirectories(temp);
+
+		try {
+
+			// restore files
+			for (int i = 0; i < entries.size(); i++) {
+
+				// task cancelled
+				if (isCancelled()) {
+					deleteDirectory(temp);
+					return null;
+				}
+
+				// get target file
+				Entry entry = entries.get(i);
+				Path file = temp.resolve(entry.getPath()).normalize();
+				if (!file.startsWith(temp))
+					throw new Exception("Invalid file path in snapshot: " + entry.getPath());
+
+				// restore and verify file
+				updateMessage("Restoring file '" + entry.getPath() + "'...");
+				updateProgress(i, entries.size());
+				Files.createDirectories(file.getParent());
+				repository.restore(entry, file);
+				Files.setLastModifiedTime(file, FileTime.fromMillis(entry.getLastModified()));
+			}
+
+			// move into place
+			Files.move(temp, path_, StandardCopyOption.ATOMIC_MOVE);
+		}
+
+		// exception occurred during process
+		catch (Exception e) {
+			deleteDirectory(temp);
+			throw e;
+		}
+
+		// return
+		return null;
+	}
+
+	/**
+	 * Deletes given directory recursively.
+	 *
+	 * @param directory
+	 *            Directory to delete.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void deleteDirectory(Path directory) throws Exception {
+		if (!Files.exists(directory))
+			return;
+		try (Stream<Path> stream = Files.walk(directory)) {
+			for (Path file : (Iterable<Path>) stream.sorted(Comparator.reverseOrder())::iterator) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+}
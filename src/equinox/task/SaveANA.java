@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
 import equinox.data.EmbeddedTask;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
@@ -134,19 +135,17 @@ public class SaveANA extends TemporaryFileCreatingTask<Path> implements LongRunn
 						// ANA file format
 						if (type_.equals(FileType.ANA)) {
 							Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-							Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-							Path anaFile = Utility.extractFileFromZIP(zipFile, this, FileType.ANA, null);
+							Path anaFile = BlobStore.extractFile(blob, zipFile, this, FileType.ANA, null);
 							Files.copy(anaFile, output_.toPath(), StandardCopyOption.REPLACE_EXISTING);
 						}
 
 						// ZIP file format
 						else if (type_.equals(FileType.ZIP)) {
-							Files.copy(blob.getBinaryStream(), output_.toPath(), StandardCopyOption.REPLACE_EXISTING);
+							BlobStore.writeZIP(blob, output_.toPath());
 						}
 						else if (type_.equals(FileType.GZ)) {
 							Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-							Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-							Path anaFile = Utility.extractFileFromZIP(zipFile, this, FileType.ANA, null);
+							Path anaFile = BlobStore.extractFile(blob, zipFile, this, FileType.ANA, null);
 							Utility.gzipFile(anaFile.toFile(), output_);
 						}
 
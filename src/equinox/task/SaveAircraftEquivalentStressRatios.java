@@ -17,13 +17,11 @@ package equinox.task;
 
 import java.io.File;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Statement;
 
 import org.controlsfx.control.ToggleSwitch;
 
 import equinox.Equinox;
+import equinox.data.AircraftEquivalentStressTable;
 import equinox.data.fileType.AircraftFatigueEquivalentStress;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.serializableTask.SerializableSaveAircraftEquivalentStressRatios;
@@ -150,45 +148,37 @@ public class SaveAircraftEquivalentStressRatios extends InternalEquinoxTask<Void
 	 */
 	private void writeLifeFactors(Connection connection, WritableSheet sheet) throws Exception {
 
+		// get equivalent stress table
+		int modelID = eqStress_.getParentItem().getParentItem().getID();
+		AircraftEquivalentStressTable table = Equinox.EQUIVALENT_STRESS_CACHE.get(connection, modelID, eqStress_.getName());
+
+		// compute ratios
+		double[] fatRatios = table.getValues(AircraftEquivalentStressTable.FATIGUE_RATIO, basisMission_);
+		double[] propRatios = table.getValues(AircraftEquivalentStressTable.PROPAGATION_RATIO, basisMission_);
+
 		// initialize row index
 		int row = 1;
 
-		// prepare statement to get other mission stresses
-		try (PreparedStatement statement1 = connection.prepareStatement(createOtherMissionQuery())) {
-
-			// create and execute query for basis mission
-			try (Statement statement2 = connection.createStatement()) {
-				try (ResultSet getBasisMission = statement2.executeQuery(createBasisMissionQuery())) {
-
-					// loop over basis mission stresses
-					while (getBasisMission.next()) {
-
-						// get data
-						int eid = getBasisMission.getInt("eid");
-
-						// execute query for other missions
-						statement1.setDouble(1, getBasisMission.getDouble("fat_stress"));
-						statement1.setDouble(2, getBasisMission.getDouble("prop_stress"));
-						statement1.setInt(3, eid);
-						try (ResultSet getOtherMission = statement1.executeQuery()) {
-
-							// loop over other missions
-							while (getOtherMission.next()) {
-
-								// get mission
-								String mission = getOtherMission.getString("mission");
-								double fatP = getOtherMission.getDouble("fat_p");
-								double elberM = getOtherMission.getDouble("elber_m");
-								double fatRatio = getOtherMission.getDouble("fatRatio");
-								double propRatio = getOtherMission.getDouble("propRatio");
-
-								// write data row
-								writeDataRow(sheet, eid, mission, fatRatio, propRatio, fatP, elberM, row);
-								row++;
-							}
-						}
-					}
-				}
+		// loop over elements
+		for (int i = 0; i < table.getNumberOfElements(); i++) {
+
+			// task cancelled
+			if (isCancelled()) {
+				return;
+			}
+
+			// no basis mission
+			if (table.getRow(i, basisMission_) < 0) {
+				continue;
+			}
+
+			// loop over missions
+			int eid = table.getElementID(i);
+			for (int j = table.getStartRow(i); j < table.getEndRow(i); j++) {
+
+				// write data row
+				writeDataRow(sheet, eid, table.getMission(j), fatRatios[j], propRatios[j], table.getFatigueP(j), table.getElberM(j), row);
+				row++;
 			}
 		}
 	}
@@ -257,59 +247,6 @@ public class SaveAircraftEquivalentStressRatios extends InternalEquinoxTask<Void
 		}
 	}
 
-	/**
-	 * Creates query with element grouping.
-	 *
-	 * @return Query.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String createBasisMissionQuery() throws Exception {
-
-		// get table names
-		int modelID = eqStress_.getParentItem().getParentItem().getID();
-		String stressTable = "ac_eq_stresses_" + modelID;
-
-		// select stresses
-		String sql = "select eid, ";
-		sql += "fat_stress, prop_stress";
-		sql += " from " + stressTable;
-
-		// add equivalent stress name and mission criteria
-		sql += " where name = '" + eqStress_.getName() + "'";
-		sql += " and mission = '" + basisMission_ + "'";
-
-		// return query
-		return sql;
-	}
-
-	/**
-	 * Creates query with element grouping.
-	 *
-	 * @return Query.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String createOtherMissionQuery() throws Exception {
-
-		// get table names
-		int modelID = eqStress_.getParentItem().getParentItem().getID();
-		String stressTable = "ac_eq_stresses_" + modelID;
-
-		// select stresses
-		String sql = "select mission, fat_p, elber_m, ";
-		sql += "fat_stress/? as fatRatio, ";
-		sql += "prop_stress/? as propRatio";
-		sql += " from " + stressTable;
-
-		// add equivalent stress name and mission criteria
-		sql += " where name = '" + eqStress_.getName() + "'";
-		sql += " and eid = ?";
-
-		// return query
-		return sql;
-	}
-
 	/**
 	 * Writes column headers according selected options.
 	 *
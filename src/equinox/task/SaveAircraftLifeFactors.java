@@ -17,13 +17,11 @@ package equinox.task;
 
 import java.io.File;
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Statement;
 
 import org.controlsfx.control.ToggleSwitch;
 
 import equinox.Equinox;
+import equinox.data.AircraftEquivalentStressTable;
 import equinox.data.fileType.AircraftFatigueEquivalentStress;
 import equinox.task.InternalEquinoxTask.LongRunningTask;
 import equinox.task.serializableTask.SerializableSaveAircraftLifeFactors;
@@ -150,47 +148,42 @@ public class SaveAircraftLifeFactors extends InternalEquinoxTask<Void> implement
 	 */
 	private void writeLifeFactors(Connection connection, WritableSheet sheet) throws Exception {
 
+		// get equivalent stress table
+		int modelID = eqStress_.getParentItem().getParentItem().getID();
+		AircraftEquivalentStressTable table = Equinox.EQUIVALENT_STRESS_CACHE.get(connection, modelID, eqStress_.getName());
+
+		// compute life factors
+		double[] fatLFs = table.getValues(AircraftEquivalentStressTable.FATIGUE_LIFE_FACTOR, basisMission_);
+		double[] propLFs = table.getValues(AircraftEquivalentStressTable.PROPAGATION_LIFE_FACTOR, basisMission_);
+
 		// initialize row index
 		int row = 1;
 
-		// prepare statement to get other mission stresses
-		try (PreparedStatement statement1 = connection.prepareStatement(createOtherMissionQuery())) {
-
-			// create and execute query for basis mission
-			try (Statement statement2 = connection.createStatement()) {
-				try (ResultSet getBasisMission = statement2.executeQuery(createBasisMissionQuery())) {
-
-					// loop over basis mission stresses
-					while (getBasisMission.next()) {
-
-						// get data
-						int eid = getBasisMission.getInt("eid");
-						double fatP = getBasisMission.getDouble("fat_p");
-						double elberM = getBasisMission.getDouble("elber_m");
-
-						// execute query for other missions
-						statement1.setDouble(1, getBasisMission.getDouble("fat_stress"));
-						statement1.setDouble(2, fatP);
-						statement1.setDouble(3, getBasisMission.getDouble("prop_stress"));
-						statement1.setDouble(4, elberM);
-						statement1.setInt(5, eid);
-						try (ResultSet getOtherMission = statement1.executeQuery()) {
-
-							// loop over other missions
-							while (getOtherMission.next()) {
-
-								// get mission
-								String mission = getOtherMission.getString("mission");
-								double fatLF = getOtherMission.getDouble("fatLF");
-								double propLF = getOtherMission.getDouble("propLF");
-
-								// write data row
-								writeDataRow(sheet, eid, mission, fatLF, propLF, fatP, elberM, row);
-								row++;
-							}
-						}
-					}
-				}
+		// loop over elements
+		for (int i = 0; i < table.getNumberOfElements(); i++) {
+
+			// task cancelled
+			if (isCancelled()) {
+				return;
+			}
+
+			// get basis mission row
+			int basis = table.getRow(i, basisMission_);
+			if (basis < 0) {
+				continue;
+			}
+
+			// get data
+			int eid = table.getElementID(i);
+			double fatP = table.getFatigueP(basis);
+			double elberM = table.getElberM(basis);
+
+			// loop over missions
+			for (int j = table.getStartRow(i); j < table.getEndRow(i); j++) {
+
+				// write data row
+				writeDataRow(sheet, eid, table.getMission(j), fatLFs[j], propLFs[j], fatP, elberM, row);
+				row++;
 			}
 		}
 	}
@@ -259,59 +252,6 @@ public class SaveAircraftLifeFactors extends InternalEquinoxTask<Void> implement
 		}
 	}
 
-	/**
-	 * Creates query with element grouping.
-	 *
-	 * @return Query.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String createBasisMissionQuery() throws Exception {
-
-		// get table names
-		int modelID = eqStress_.getParentItem().getParentItem().getID();
-		String stressTable = "ac_eq_stresses_" + modelID;
-
-		// select stresses
-		String sql = "select eid, ";
-		sql += "fat_stress, prop_stress, fat_p, elber_m";
-		sql += " from " + stressTable;
-
-		// add equivalent stress name and mission criteria
-		sql += " where name = '" + eqStress_.getName() + "'";
-		sql += " and mission = '" + basisMission_ + "'";
-
-		// return query
-		return sql;
-	}
-
-	/**
-	 * Creates query with element grouping.
-	 *
-	 * @return Query.
-	 * @throws Exception
-	 *             If exception occurs during process.
-	 */
-	private String createOtherMissionQuery() throws Exception {
-
-		// get table names
-		int modelID = eqStress_.getParentItem().getParentItem().getID();
-		String stressTable = "ac_eq_stresses_" + modelID;
-
-		// select stresses
-		String sql = "select mission, ";
-		sql += "(power(?/fat_stress, ?)) as fatLF, ";
-		sql += "(power(?/prop_stress, ?)) as propLF";
-		sql += " from " + stressTable;
-
-		// add equivalent stress name and mission criteria
-		sql += " where name = '" + eqStress_.getName() + "'";
-		sql += " and eid = ?";
-
-		// return query
-		return sql;
-	}
-
 	/**
 	 * Writes column headers according selected options.
 	 *
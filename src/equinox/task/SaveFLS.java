@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
 import equinox.data.EmbeddedTask;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
@@ -134,19 +135,17 @@ public class SaveFLS extends TemporaryFileCreatingTask<Path> implements LongRunn
 						// FLS file format
 						if (type_.equals(FileType.FLS)) {
 							Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-							Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-							Path flsFile = Utility.extractFileFromZIP(zipFile, this, FileType.FLS, null);
+							Path flsFile = BlobStore.extractFile(blob, zipFile, this, FileType.FLS, null);
 							Files.copy(flsFile, output_.toPath(), StandardCopyOption.REPLACE_EXISTING);
 						}
 
 						// ZIP file format
 						else if (type_.equals(FileType.ZIP)) {
-							Files.copy(blob.getBinaryStream(), output_.toPath(), StandardCopyOption.REPLACE_EXISTING);
+							BlobStore.writeZIP(blob, output_.toPath());
 						}
 						else if (type_.equals(FileType.GZ)) {
 							Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-							Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-							Path flsFile = Utility.extractFileFromZIP(zipFile, this, FileType.FLS, null);
+							Path flsFile = BlobStore.extractFile(blob, zipFile, this, FileType.FLS, null);
 							Utility.gzipFile(flsFile.toFile(), output_);
 						}
 
@@ -37,6 +37,10 @@ import org.jfree.data.xy.XYSeriesCollection;
 import org.jfree.ui.RectangleInsets;
 
 import equinox.Equinox;
+import equinox.data.FlightCache.Peaks;
+import equinox.data.FlightIndex;
+import equinox.data.FlightIndex.Attribute;
+import equinox.data.PeakStore.Column;
 import equinox.data.fileType.Flight;
 import equinox.data.fileType.StressSequence;
 import equinox.plugin.FileType;
@@ -89,10 +93,10 @@ public class SaveHSFlightPlot extends TemporaryFileCreatingTask<Void> implements
 			try (Statement statement = connection.createStatement()) {
 
 				// get typical flight info
-				Flight flight = getFlight(statement, "max_val", true);
+				Flight flight = getFlight(connection, Attribute.MAX_VAL);
 
 				// plot typical flight
-				Path file = plotFlight(statement, flight);
+				Path file = plotFlight(connection, flight);
 
 				// save typical flight plot
 				savePlot(statement, connection, file);
@@ -159,43 +163,33 @@ public class SaveHSFlightPlot extends TemporaryFileCreatingTask<Void> implements
 	}
 
 	/**
-	 * Finds and returns the flight with the given criteria.
+	 * Finds and returns the flight with the maximum value of the given attribute.
 	 *
-	 * @param statement
-	 *            SQL statement.
-	 * @param colName
-	 *            Database column name.
-	 * @param isDesc
-	 *            True if descending order.
+	 * @param connection
+	 *            Database connection.
+	 * @param attribute
+	 *            Flight attribute.
 	 * @return The selected flight.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private Flight getFlight(Statement statement, String colName, boolean isDesc) throws Exception {
-		Flight flight = null;
-		String sql = "select flight_id, name from sth_flights where file_id = " + sequence_.getID() + " order by " + colName + (isDesc ? " desc" : "");
-		statement.setMaxRows(1);
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				flight = new Flight(resultSet.getString("name"), resultSet.getInt("flight_id"));
-			}
-		}
-		statement.setMaxRows(0);
-		return flight;
+	private Flight getFlight(Connection connection, Attribute attribute) throws Exception {
+		FlightIndex.Entry entry = Equinox.FLIGHT_CACHE.getIndex(connection, sequence_.getID()).select(attribute, true);
+		return entry == null ? null : new Flight(entry.getName(), entry.getFlightID());
 	}
 
 	/**
 	 * Plots typical flight.
 	 *
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @param flight
 	 *            Typical flight.
 	 * @return Path to plot image file.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private Path plotFlight(Statement statement, Flight flight) throws Exception {
+	private Path plotFlight(Connection connection, Flight flight) throws Exception {
 
 		// update info
 		updateMessage("Plotting typical flight with highest total stress...");
@@ -226,7 +220,7 @@ public class SaveHSFlightPlot extends TemporaryFileCreatingTask<Void> implements
 		plot.setSeriesRenderingOrder(SeriesRenderingOrder.FORWARD);
 
 		// plot
-		XYDataset dataset = plot(statement, flight);
+		XYDataset dataset = plot(connection, flight);
 
 		// set dataset
 		plot.setDataset(dataset);
@@ -245,15 +239,15 @@ public class SaveHSFlightPlot extends TemporaryFileCreatingTask<Void> implements
 	/**
 	 * Plots the longest typical flight.
 	 *
-	 * @param statement
-	 *            Database statement.
+	 * @param connection
+	 *            Database connection.
 	 * @param flight
 	 *            Longest typical flight.
 	 * @return Chart dataset.
 	 * @throws Exception
 	 *             If exception occurs during process.
 	 */
-	private XYDataset plot(Statement statement, Flight flight) throws Exception {
+	private XYDataset plot(Connection connection, Flight flight) throws Exception {
 
 		// create dataset
 		XYSeriesCollection dataset = new XYSeriesCollection();
@@ -264,23 +258,22 @@ public class SaveHSFlightPlot extends TemporaryFileCreatingTask<Void> implements
 		XYSeries dp = new XYSeries("Delta-P");
 		XYSeries dt = new XYSeries("Delta-T");
 
-		// create query
-		String sql = "select peak_num, peak_val, oneg_stress, dp_stress, dt_stress ";
-		sql += "from sth_peaks_" + sequence_.getID() + " where flight_id = " + flight.getID() + " order by peak_num asc";
-		try (ResultSet peaks = statement.executeQuery(sql)) {
-
-			// loop over peaks
-			while (peaks.next()) {
-
-				// get peak number
-				int peakNum = peaks.getInt("peak_num");
-
-				// add to data
-				totalStress.add(peakNum, peaks.getDouble("peak_val"));
-				oneg.add(peakNum, peaks.getDouble("oneg_stress"));
-				dp.add(peakNum, peaks.getDouble("dp_stress"));
-				dt.add(peakNum, peaks.getDouble("dt_stress"));
-			}
+		// get peaks
+		Peaks peaks = Equinox.FLIGHT_CACHE.getPeaks(connection, sequence_.getID(), flight.getID());
+		int[] peakNums = peaks.getPeakNumbers();
+		double[] peakVals = peaks.getStresses(Column.PEAK_VAL);
+		double[] onegStresses = peaks.getStresses(Column.ONEG_STRESS);
+		double[] dpStresses = peaks.getStresses(Column.DP_STRESS);
+		double[] dtStresses = peaks.getStresses(Column.DT_STRESS);
+
+		// loop over peaks
+		for (int i = 0; i < peakNums.length; i++) {
+
+			// add to data
+			totalStress.add(peakNums[i], peakVals[i]);
+			oneg.add(peakNums[i], onegStresses[i]);
+			dp.add(peakNums[i], dpStresses[i]);
+			dt.add(peakNums[i], dtStresses[i]);
 		}
 
 		// add series to dataset
@@ -16,9 +16,7 @@
 package equinox.task;
 
 import java.io.File;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -28,6 +26,7 @@ import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
 import equinox.data.ConversionTableSheetName;
 import equinox.data.EmbeddedTask;
 import equinox.data.fileType.Spectrum;
@@ -231,8 +230,7 @@ public class SaveSpectrum extends TemporaryFileCreatingTask<Path> implements Lon
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				anaFile = Utility.extractFileFromZIP(zipFile, this, FileType.ANA, null);
+				anaFile = BlobStore.extractFile(blob, zipFile, this, FileType.ANA, null);
 
 				// free blob
 				blob.free();
@@ -272,8 +270,7 @@ public class SaveSpectrum extends TemporaryFileCreatingTask<Path> implements Lon
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				txtFile = Utility.extractFileFromZIP(zipFile, this, FileType.TXT, null);
+				txtFile = BlobStore.extractFile(blob, zipFile, this, FileType.TXT, null);
 
 				// free blob
 				blob.free();
@@ -313,8 +310,7 @@ public class SaveSpectrum extends TemporaryFileCreatingTask<Path> implements Lon
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				flsFile = Utility.extractFileFromZIP(zipFile, this, FileType.FLS, null);
+				flsFile = BlobStore.extractFile(blob, zipFile, this, FileType.FLS, null);
 
 				// free blob
 				blob.free();
@@ -354,8 +350,7 @@ public class SaveSpectrum extends TemporaryFileCreatingTask<Path> implements Lon
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				cvtFile = Utility.extractFileFromZIP(zipFile, this, FileType.CVT, null);
+				cvtFile = BlobStore.extractFile(blob, zipFile, this, FileType.CVT, null);
 
 				// free blob
 				blob.free();
@@ -397,8 +392,7 @@ public class SaveSpectrum extends TemporaryFileCreatingTask<Path> implements Lon
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				convTable = Utility.extractFileFromZIP(zipFile, this, FileType.XLS, null);
+				convTable = BlobStore.extractFile(blob, zipFile, this, FileType.XLS, null);
 
 				// free blob
 				blob.free();
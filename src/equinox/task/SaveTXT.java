@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
 import equinox.data.EmbeddedTask;
 import equinox.data.fileType.Spectrum;
 import equinox.plugin.FileType;
@@ -134,19 +135,17 @@ public class SaveTXT extends TemporaryFileCreatingTask<Path> implements LongRunn
 						// TXT file format
 						if (type_.equals(FileType.TXT)) {
 							Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-							Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-							Path txtFile = Utility.extractFileFromZIP(zipFile, this, FileType.TXT, null);
+							Path txtFile = BlobStore.extractFile(blob, zipFile, this, FileType.TXT, null);
 							Files.copy(txtFile, output_.toPath(), StandardCopyOption.REPLACE_EXISTING);
 						}
 
 						// ZIP file format
 						else if (type_.equals(FileType.ZIP)) {
-							Files.copy(blob.getBinaryStream(), output_.toPath(), StandardCopyOption.REPLACE_EXISTING);
+							BlobStore.writeZIP(blob, output_.toPath());
 						}
 						else if (type_.equals(FileType.GZ)) {
 							Path zipFile = getWorkingDirectory().resolve(name + FileType.ZIP.getExtension());
-							Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-							Path txtFile = Utility.extractFileFromZIP(zipFile, this, FileType.TXT, null);
+							Path txtFile = BlobStore.extractFile(blob, zipFile, this, FileType.TXT, null);
 							Utility.gzipFile(txtFile.toFile(), output_);
 						}
 
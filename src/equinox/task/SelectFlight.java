@@ -16,13 +16,13 @@
 package equinox.task;
 
 import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.Statement;
 import java.util.concurrent.ExecutionException;
 
 import equinox.Equinox;
 import equinox.controller.FileViewPanel;
 import equinox.controller.InputPanel;
+import equinox.data.FlightIndex;
+import equinox.data.FlightIndex.Attribute;
 import equinox.data.fileType.Flight;
 import equinox.data.fileType.StressSequence;
 import equinox.task.InternalEquinoxTask.ShortRunningTask;
@@ -80,55 +80,51 @@ public class SelectFlight extends InternalEquinoxTask<Flight> implements ShortRu
 		// get database connection
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 
-			// create statement
-			try (Statement statement = connection.createStatement()) {
-
-				// get longest flight
-				if (criteria_ == LONGEST_FLIGHT) {
-					flight = getFlight(statement, "num_peaks", true, flight);
-				}
-				else if (criteria_ == SHORTEST_FLIGHT) {
-					flight = getFlight(statement, "num_peaks", false, flight);
-				}
-				else if (criteria_ == MAX_VALIDITY) {
-					flight = getFlight(statement, "validity", true, flight);
-				}
-				else if (criteria_ == MIN_VALIDITY) {
-					flight = getFlight(statement, "validity", false, flight);
-				}
-				else if (criteria_ == MAX_1G) {
-					flight = getFlight(statement, "max_1g", true, flight);
-				}
-				else if (criteria_ == MIN_1G) {
-					flight = getFlight(statement, "min_1g", false, flight);
-				}
-				else if (criteria_ == MAX_INC) {
-					flight = getFlight(statement, "max_inc", true, flight);
-				}
-				else if (criteria_ == MIN_INC) {
-					flight = getFlight(statement, "min_inc", false, flight);
-				}
-				else if (criteria_ == MAX_DP) {
-					flight = getFlight(statement, "max_dp", true, flight);
-				}
-				else if (criteria_ == MIN_DP) {
-					flight = getFlight(statement, "min_dp", false, flight);
-				}
-				else if (criteria_ == MAX_DT) {
-					flight = getFlight(statement, "max_dt", true, flight);
-				}
-				else if (criteria_ == MIN_DT) {
-					flight = getFlight(statement, "min_dt", false, flight);
-				}
-				else if (criteria_ == MAX_TOTAL) {
-					flight = getFlight(statement, "max_val", true, flight);
-				}
-				else if (criteria_ == MIN_TOTAL) {
-					flight = getFlight(statement, "min_val", false, flight);
-				}
-
-				// reset statement
-				statement.setMaxRows(0);
+			// get flight index
+			FlightIndex index = Equinox.FLIGHT_CACHE.getIndex(connection, file_.getID());
+
+			// get longest flight
+			if (criteria_ == LONGEST_FLIGHT) {
+				flight = getFlight(index, Attribute.NUM_PEAKS, true);
+			}
+			else if (criteria_ == SHORTEST_FLIGHT) {
+				flight = getFlight(index, Attribute.NUM_PEAKS, false);
+			}
+			else if (criteria_ == MAX_VALIDITY) {
+				flight = getFlight(index, Attribute.VALIDITY, true);
+			}
+			else if (criteria_ == MIN_VALIDITY) {
+				flight = getFlight(index, Attribute.VALIDITY, false);
+			}
+			else if (criteria_ == MAX_1G) {
+				flight = getFlight(index, Attribute.MAX_1G, true);
+			}
+			else if (criteria_ == MIN_1G) {
+				flight = getFlight(index, Attribute.MIN_1G, false);
+			}
+			else if (criteria_ == MAX_INC) {
+				flight = getFlight(index, Attribute.MAX_INC, true);
+			}
+			else if (criteria_ == MIN_INC) {
+				flight = getFlight(index, Attribute.MIN_INC, false);
+			}
+			else if (criteria_ == MAX_DP) {
+				flight = getFlight(index, Attribute.MAX_DP, true);
+			}
+			else if (criteria_ == MIN_DP) {
+				flight = getFlight(index, Attribute.MIN_DP, false);
+			}
+			else if (criteria_ == MAX_DT) {
+				flight = getFlight(index, Attribute.MAX_DT, true);
+			}
+			else if (criteria_ == MIN_DT) {
+				flight = getFlight(index, Attribute.MIN_DT, false);
+			}
+			else if (criteria_ == MAX_TOTAL) {
+				flight = getFlight(index, Attribute.MAX_VAL, true);
+			}
+			else if (criteria_ == MIN_TOTAL) {
+				flight = getFlight(index, Attribute.MIN_VAL, false);
 			}
 		}
 
@@ -157,26 +153,16 @@ public class SelectFlight extends InternalEquinoxTask<Flight> implements ShortRu
 	/**
 	 * Finds and returns the flight with the given criteria.
 	 *
-	 * @param statement
-	 *            SQL statement.
-	 * @param colName
-	 *            Database column name.
-	 * @param isDesc
-	 *            True if descending order.
-	 * @param flight
-	 *            Flight to return.
-	 * @return The selected flight.
-	 * @throws Exception
-	 *             If exception occurs during process.
+	 * @param index
+	 *            Flight index of the stress sequence.
+	 * @param attribute
+	 *            Flight attribute.
+	 * @param isMax
+	 *            True to select the flight with maximum attribute value, false for minimum.
+	 * @return The selected flight, or null if no flight found.
 	 */
-	private Flight getFlight(Statement statement, String colName, boolean isDesc, Flight flight) throws Exception {
-		String sql = "select flight_id, name from sth_flights where file_id = " + file_.getID() + " order by " + colName + (isDesc ? " desc" : "");
-		statement.setMaxRows(1);
-		try (ResultSet resultSet = statement.executeQuery(sql)) {
-			while (resultSet.next()) {
-				flight = new Flight(resultSet.getString("name"), resultSet.getInt("flight_id"));
-			}
-		}
-		return flight;
+	private static Flight getFlight(FlightIndex index, Attribute attribute, boolean isMax) {
+		FlightIndex.Entry entry = index.select(attribute, isMax);
+		return entry == null ? null : new Flight(entry.getName(), entry.getFlightID());
 	}
 }
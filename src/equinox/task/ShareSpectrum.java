@@ -15,9 +15,7 @@
  */
 package equinox.task;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -26,6 +24,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
 import equinox.data.ConversionTableSheetName;
 import equinox.data.fileType.Spectrum;
 import equinox.exchangeServer.remote.data.ExchangeUser;
@@ -194,8 +193,7 @@ public class ShareSpectrum extends TemporaryFileCreatingTask<Void> implements Lo
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(Utility.correctFileName(name) + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				anaFile = Utility.extractFileFromZIP(zipFile, this, FileType.ANA, null);
+				anaFile = BlobStore.extractFile(blob, zipFile, this, FileType.ANA, null);
 
 				// free blob
 				blob.free();
@@ -235,8 +233,7 @@ public class ShareSpectrum extends TemporaryFileCreatingTask<Void> implements Lo
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(Utility.correctFileName(name) + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				txtFile = Utility.extractFileFromZIP(zipFile, this, FileType.TXT, null);
+				txtFile = BlobStore.extractFile(blob, zipFile, this, FileType.TXT, null);
 
 				// free blob
 				blob.free();
@@ -276,8 +273,7 @@ public class ShareSpectrum extends TemporaryFileCreatingTask<Void> implements Lo
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(Utility.correctFileName(name) + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				flsFile = Utility.extractFileFromZIP(zipFile, this, FileType.FLS, null);
+				flsFile = BlobStore.extractFile(blob, zipFile, this, FileType.FLS, null);
 
 				// free blob
 				blob.free();
@@ -317,8 +313,7 @@ public class ShareSpectrum extends TemporaryFileCreatingTask<Void> implements Lo
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(Utility.correctFileName(name) + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				cvtFile = Utility.extractFileFromZIP(zipFile, this, FileType.CVT, null);
+				cvtFile = BlobStore.extractFile(blob, zipFile, this, FileType.CVT, null);
 
 				// free blob
 				blob.free();
@@ -360,8 +355,7 @@ public class ShareSpectrum extends TemporaryFileCreatingTask<Void> implements Lo
 
 				// extract file
 				Path zipFile = getWorkingDirectory().resolve(Utility.correctFileName(name) + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
-				convTable = Utility.extractFileFromZIP(zipFile, this, FileType.XLS, null);
+				convTable = BlobStore.extractFile(blob, zipFile, this, FileType.XLS, null);
 
 				// free blob
 				blob.free();
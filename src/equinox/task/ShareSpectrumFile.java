@@ -15,9 +15,7 @@
  */
 package equinox.task;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.sql.Blob;
 import java.sql.Connection;
 import java.sql.ResultSet;
@@ -25,6 +23,7 @@ import java.sql.Statement;
 import java.util.List;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
 import equinox.data.fileType.Spectrum;
 import equinox.exchangeServer.remote.data.ExchangeUser;
 import equinox.plugin.FileType;
@@ -174,7 +173,7 @@ public class ShareSpectrumFile extends TemporaryFileCreatingTask<Void> implement
 
 				// extract file
 				zipFile = getWorkingDirectory().resolve(Utility.correctFileName(name) + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
+				BlobStore.writeZIP(blob, zipFile);
 
 				// free blob
 				blob.free();
@@ -214,7 +213,7 @@ public class ShareSpectrumFile extends TemporaryFileCreatingTask<Void> implement
 
 				// extract file
 				zipFile = getWorkingDirectory().resolve(Utility.correctFileName(name) + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
+				BlobStore.writeZIP(blob, zipFile);
 
 				// free blob
 				blob.free();
@@ -254,7 +253,7 @@ public class ShareSpectrumFile extends TemporaryFileCreatingTask<Void> implement
 
 				// extract file
 				zipFile = getWorkingDirectory().resolve(Utility.correctFileName(name) + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
+				BlobStore.writeZIP(blob, zipFile);
 
 				// free blob
 				blob.free();
@@ -294,7 +293,7 @@ public class ShareSpectrumFile extends TemporaryFileCreatingTask<Void> implement
 
 				// extract file
 				zipFile = getWorkingDirectory().resolve(Utility.correctFileName(name) + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
+				BlobStore.writeZIP(blob, zipFile);
 
 				// free blob
 				blob.free();
@@ -336,7 +335,7 @@ public class ShareSpectrumFile extends TemporaryFileCreatingTask<Void> implement
 
 				// extract file
 				zipFile = getWorkingDirectory().resolve(Utility.correctFileName(name) + FileType.ZIP.getExtension());
-				Files.copy(blob.getBinaryStream(), zipFile, StandardCopyOption.REPLACE_EXISTING);
+				BlobStore.writeZIP(blob, zipFile);
 
 				// free blob
 				blob.free();
@@ -100,7 +100,7 @@ public class SubmitAccessRequest extends InternalEquinoxTask<Integer> implements
 			request.setPermission(permission);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -116,7 +116,7 @@ public class SubmitAccessRequest extends InternalEquinoxTask<Integer> implements
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -143,7 +143,7 @@ public class SubmitBugReport extends InternalEquinoxTask<Boolean> implements Sho
 			request.setSystemInfo(sysInfo);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -159,7 +159,7 @@ public class SubmitBugReport extends InternalEquinoxTask<Boolean> implements Sho
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
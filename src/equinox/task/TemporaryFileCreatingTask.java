@@ -21,6 +21,8 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 
 import equinox.Equinox;
+import equinox.data.BlobStore;
+import equinox.data.TaskScheduler.Lane;
 import equinox.utility.Utility;
 
 /**
@@ -70,6 +72,9 @@ public abstract class TemporaryFileCreatingTask<V> extends InternalEquinoxTask<V
 		// call ancestor
 		super.succeeded();
 
+		// release archived input files
+		BlobStore.release(this);
+
 		// delete temporary files
 		deleteTemporaryFiles();
 	}
@@ -80,6 +85,9 @@ public abstract class TemporaryFileCreatingTask<V> extends InternalEquinoxTask<V
 		// call ancestor
 		super.failed();
 
+		// release archived input files
+		BlobStore.release(this);
+
 		// delete temporary files
 		deleteTemporaryFiles();
 	}
@@ -90,6 +98,9 @@ public abstract class TemporaryFileCreatingTask<V> extends InternalEquinoxTask<V
 		// call ancestor
 		super.cancelled();
 
+		// release archived input files
+		BlobStore.release(this);
+
 		// delete temporary files
 		deleteTemporaryFiles();
 	}
@@ -112,7 +123,7 @@ public abstract class TemporaryFileCreatingTask<V> extends InternalEquinoxTask<V
 	private final void deleteTemporaryFiles() {
 		// ON delete temporary files
 		if ((workingDirectory_ != null) && Files.exists(workingDirectory_)) {
-			Equinox.CACHED_THREADPOOL.submit(new DeleteTemporaryFiles(workingDirectory_, permanentFiles_));
+			Equinox.SCHEDULER.getExecutor(Lane.BACKGROUND).submit(new DeleteTemporaryFiles(workingDirectory_, permanentFiles_));
 		}
 	}
 }
@@ -421,7 +421,7 @@ public class UpdateMaterialLibrary extends InternalEquinoxTask<Void> implements
 			request.setMaterialIsamiVersion(materialIsamiVersion);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -437,7 +437,7 @@ public class UpdateMaterialLibrary extends InternalEquinoxTask<Void> implements
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -495,7 +495,7 @@ public class UpdateMaterialLibrary extends InternalEquinoxTask<Void> implements
 			request.setMaterialIsamiVersion(materialIsamiVersion);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -511,7 +511,7 @@ public class UpdateMaterialLibrary extends InternalEquinoxTask<Void> implements
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -569,7 +569,7 @@ public class UpdateMaterialLibrary extends InternalEquinoxTask<Void> implements
 			request.setMaterialIsamiVersion(materialIsamiVersion);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -585,7 +585,7 @@ public class UpdateMaterialLibrary extends InternalEquinoxTask<Void> implements
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
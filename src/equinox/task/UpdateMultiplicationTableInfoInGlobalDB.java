@@ -110,7 +110,7 @@ public class UpdateMultiplicationTableInfoInGlobalDB extends InternalEquinoxTask
 			request.setInfo(multTable_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -126,7 +126,7 @@ public class UpdateMultiplicationTableInfoInGlobalDB extends InternalEquinoxTask
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -110,7 +110,7 @@ public class UpdatePilotPointInfoInGlobalDB extends InternalEquinoxTask<Boolean>
 			request.setInfo(pilotPoint_);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -126,7 +126,7 @@ public class UpdatePilotPointInfoInGlobalDB extends InternalEquinoxTask<Boolean>
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
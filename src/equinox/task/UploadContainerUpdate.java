@@ -182,7 +182,7 @@ public class UploadContainerUpdate extends InternalEquinoxTask<Boolean> implemen
 				return true;
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -198,7 +198,7 @@ public class UploadContainerUpdate extends InternalEquinoxTask<Boolean> implemen
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -119,7 +119,7 @@ public class UploadDamageContributions extends TemporaryFileCreatingTask<Boolean
 			request.setSharedFileInfo(info);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -135,7 +135,7 @@ public class UploadDamageContributions extends TemporaryFileCreatingTask<Boolean
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -133,7 +133,7 @@ public class UploadHelpVideo extends InternalEquinoxTask<Boolean> implements Lon
 			request.setInfo(info);
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -149,7 +149,7 @@ public class UploadHelpVideo extends InternalEquinoxTask<Boolean> implements Lon
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
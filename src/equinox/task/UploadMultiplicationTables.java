@@ -118,7 +118,7 @@ public class UploadMultiplicationTables extends TemporaryFileCreatingTask<Boolea
 				return null;
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -134,7 +134,7 @@ public class UploadMultiplicationTables extends TemporaryFileCreatingTask<Boolea
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -124,7 +124,7 @@ public class UploadPilotPoints extends TemporaryFileCreatingTask<Boolean> implem
 				return null;
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -140,7 +140,7 @@ public class UploadPilotPoints extends TemporaryFileCreatingTask<Boolean> implem
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
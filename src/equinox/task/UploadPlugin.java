@@ -159,7 +159,7 @@ public class UploadPlugin extends InternalEquinoxTask<Boolean> implements LongRu
 				return null;
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -175,7 +175,7 @@ public class UploadPlugin extends InternalEquinoxTask<Boolean> implements LongRu
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
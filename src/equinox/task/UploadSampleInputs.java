@@ -150,7 +150,7 @@ public class UploadSampleInputs extends InternalEquinoxTask<Boolean> implements
 				return null;
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -166,7 +166,7 @@ public class UploadSampleInputs extends InternalEquinoxTask<Boolean> implements
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
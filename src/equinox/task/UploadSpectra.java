@@ -162,7 +162,7 @@ public class UploadSpectra extends TemporaryFileCreatingTask<Boolean> implements
 				return null;
 
 			// disable task canceling
-			taskPanel_.updateCancelState(false);
+			updateCancelState(false);
 
 			// register to network watcher and send analysis request
 			watcher = taskPanel_.getOwner().getOwner().getDataServerManager();
@@ -178,7 +178,7 @@ public class UploadSpectra extends TemporaryFileCreatingTask<Boolean> implements
 			removeListener = false;
 
 			// enable task canceling
-			taskPanel_.updateCancelState(true);
+			updateCancelState(true);
 
 			// task cancelled
 			if (isCancelled())
@@ -3893,6 +3893,10 @@ public class CheckInstructionSet extends TemporaryFileCreatingTask<Boolean> impl
 		if (!XMLUtilities.checkStringValue(this, inputFile, settings, "runMode", true, ExecutionMode.PARALLEL.toString().toLowerCase(), ExecutionMode.SEQUENTIAL.toString().toLowerCase()))
 			return false;
 
+		// check core budget
+		if (!XMLUtilities.checkIntegerValue(this, inputFile, settings, "coreBudget", true, 1, null))
+			return false;
+
 		// check overwrite files
 		if (!XMLUtilities.checkBooleanValue(this, inputFile, settings, "overwriteFiles", true))
 			return false;
@@ -0,0 +1,514 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task.automation;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+
+import equinox.Equinox;
+import equinox.controller.ActiveTasksPanel;
+import equinox.data.EmbeddedTask;
+import equinox.data.ExecutionMode;
+import equinox.task.InternalEquinoxTask;
+import equinox.task.InternalEquinoxTask.LongRunningTask;
+import equinox.task.InternalEquinoxTask.ShortRunningTask;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.concurrent.Worker.State;
+
+/**
+ * Class for execution planner of automation instruction sets. The planner builds the dependency graph of instructed tasks from their automatic and follower tasks, estimates task durations and
+ * computes the critical path. Submitted tasks of the plan are queued by the planner and executed in descending order of their longest remaining path (critical path first), with at most the core
+ * budget number of tasks running at the same time. A running task waiting for its headless sub tasks doesn't count against the core budget, so that its sub tasks can be executed. An execution
+ * plan report with estimated and actual timings is logged once all tasks are completed.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 00:41:27
+ */
+public class ExecutionPlanner implements ChangeListener<State> {
+
+	/** Default estimated durations (in milliseconds) of long running, short running and other tasks. */
+	private static final long LONG_RUNNING_ESTIMATE = 60000L, SHORT_RUNNING_ESTIMATE = 2000L, DEFAULT_ESTIMATE = 10000L;
+
+	/** Measured durations of completed planned tasks (total duration and count per task class). Used to estimate durations of later plans. */
+	private static final HashMap<String, long[]> HISTORY = new HashMap<>();
+
+	/** Active tasks panel. */
+	private final ActiveTasksPanel panel_;
+
+	/** Maximum number of planned tasks running at the same time. */
+	private final int coreBudget_;
+
+	/** Path to execution plan report file. Null if no report file should be written. */
+	private final Path reportFile_;
+
+	/** Plan nodes. */
+	private final HashMap<InternalEquinoxTask<?>, Node> nodes_ = new HashMap<>();
+
+	/** Plan nodes in planning order. */
+	private final ArrayList<Node> order_ = new ArrayList<>();
+
+	/** Submitted nodes waiting for execution (critical path first). */
+	private final PriorityQueue<Node> ready_ = new PriorityQueue<>((n1, n2) -> Long.compare(n2.rank_, n1.rank_));
+
+	/** Number of running nodes. */
+	private int running_ = 0;
+
+	/** Estimated critical path length and total work (in milliseconds). */
+	private long criticalPath_ = 0L, totalWork_ = 0L;
+
+	/** Start time of the plan. */
+	private long startTime_ = 0L;
+
+	/** True if the plan is completed. */
+	private boolean completed_ = false;
+
+	/** True if the planner listens for state changes of the planned tasks. Queued tasks are not executed before that. */
+	private boolean listening_ = false;
+
+	/**
+	 * Creates execution planner.
+	 *
+	 * @param panel
+	 *            Active tasks panel.
+	 * @param coreBudget
+	 *            Maximum number of planned tasks running at the same time.
+	 * @param reportFile
+	 *            Path to execution plan report file. Can be null if no report file should be written.
+	 */
+	public ExecutionPlanner(ActiveTasksPanel panel, int coreBudget, Path reportFile) {
+		panel_ = panel;
+		coreBudget_ = Math.max(coreBudget, 1);
+		reportFile_ = reportFile;
+	}
+
+	/**
+	 * Builds the dependency graph starting from the given root tasks, computes the critical path and attaches this planner to all tasks of the plan. This must be called before any task of the plan is
+	 * submitted. State listeners are attached to the tasks on the FX application thread; submitted tasks are queued until then.
+	 *
+	 * @param roots
+	 *            Root tasks of the plan.
+	 */
+	public synchronized void plan(Collection<InternalEquinoxTask<?>> roots) {
+
+		// create nodes
+		ArrayList<Node> rootNodes = new ArrayList<>();
+		for (InternalEquinoxTask<?> root : roots) {
+			rootNodes.add(createNode(root));
+		}
+
+		// compute ranks
+		for (Node node : rootNodes) {
+			computeRank(node);
+		}
+
+		// mark critical path
+		Node node = null;
+		for (Node root : rootNodes) {
+			if (node == null || root.rank_ > node.rank_) {
+				node = root;
+			}
+		}
+		if (node != null) {
+			criticalPath_ = node.rank_;
+		}
+		while (node != null) {
+			node.isCritical_ = true;
+			Node next = null;
+			for (Node child : node.children_) {
+				if (next == null || child.rank_ > next.rank_) {
+					next = child;
+				}
+			}
+			node = next;
+		}
+
+		// attach planner to tasks
+		for (Node n : order_) {
+			totalWork_ += n.estimate_;
+			n.task_.setExecutionPlanner(this);
+		}
+
+		// listen for state changes
+		if (Platform.isFxApplicationThread()) {
+			listen();
+		}
+		else {
+			Platform.runLater(this::listen);
+		}
+	}
+
+	/**
+	 * Schedules the given submitted task. If the task belongs to this plan and is not yet released by the planner, it is queued and executed once the core budget allows.
+	 *
+	 * @param task
+	 *            Submitted task.
+	 * @param parent
+	 *            Parent task if the task is submitted as a headless sub task, null otherwise.
+	 * @return True if the task is queued by the planner, false if it should be executed immediately.
+	 */
+	public synchronized boolean schedule(InternalEquinoxTask<?> task, InternalEquinoxTask<?> parent) {
+
+		// not planned or already released
+		Node node = nodes_.get(task);
+		if (node == null || node.isReleased_)
+			return false;
+
+		// parent is waiting for its sub tasks (exempt from core budget)
+		Node parentNode = parent == null ? null : nodes_.get(parent);
+		if (parentNode != null && parentNode.isReleased_ && !parentNode.isWaiting_ && parentNode.ended_ == 0L) {
+			parentNode.isWaiting_ = true;
+			running_--;
+		}
+
+		// queue
+		if (startTime_ == 0L) {
+			startTime_ = System.currentTimeMillis();
+		}
+		node.parent_ = parent;
+		node.submitted_ = System.currentTimeMillis();
+		ready_.add(node);
+
+		// dispatch
+		dispatch();
+		return true;
+	}
+
+	@Override
+	public void changed(ObservableValue<? extends State> observable, State oldValue, State newValue) {
+
+		// get node
+		Node node = null;
+		synchronized (this) {
+			node = nodes_.get(((ReadOnlyProperty<?>) observable).getBean());
+		}
+		if (node == null)
+			return;
+
+		// started
+		if (newValue.equals(State.RUNNING)) {
+			synchronized (this) {
+				node.started_ = System.currentTimeMillis();
+			}
+		}
+
+		// completed
+		else if (newValue.equals(State.SUCCEEDED) || newValue.equals(State.CANCELLED) || newValue.equals(State.FAILED)) {
+			completed(node, newValue);
+
+			// check plan completion (after follower tasks of the completed task are submitted)
+			Platform.runLater(this::checkCompletion);
+		}
+	}
+
+	/**
+	 * Returns the execution plan report.
+	 *
+	 * @return The execution plan report.
+	 */
+	public synchronized String getReport() {
+
+		// create header
+		String report = "Execution plan of " + order_.size() + " tasks (core budget " + coreBudget_ + "): estimated critical path " + format(criticalPath_) + ", estimated total work " + format(totalWork_);
+		if (startTime_ != 0L) {
+			long end = startTime_;
+			for (Node node : order_) {
+				end = Math.max(end, node.ended_);
+			}
+			report += ", actual makespan " + format(end - startTime_);
+		}
+		report += ". Critical path tasks are marked with '*'.\n";
+
+		// add tasks
+		for (Node node : order_) {
+			report += (node.isCritical_ ? " * " : "   ") + node.task_.getTaskTitle() + " (" + node.task_.getClass().getSimpleName() + "): estimated " + format(node.estimate_);
+			if (node.started_ != 0L && node.ended_ != 0L) {
+				report += ", queued " + format(node.started_ - node.submitted_) + ", actual " + format(node.ended_ - node.started_) + " (" + node.state_ + ")";
+			}
+			else if (node.submitted_ == 0L) {
+				report += ", not executed";
+			}
+			report += "\n";
+		}
+		return report;
+	}
+
+	/**
+	 * Creates plan node for the given task and its dependent tasks.
+	 *
+	 * @param task
+	 *            Task.
+	 * @return The plan node.
+	 */
+	private Node createNode(InternalEquinoxTask<?> task) {
+
+		// already created
+		Node node = nodes_.get(task);
+		if (node != null)
+			return node;
+
+		// create node
+		node = new Node(task, estimate(task));
+		nodes_.put(task, node);
+		order_.add(node);
+
+		// add automatic tasks
+		if (task instanceof AutomaticTaskOwner) {
+			HashMap<String, ? extends EmbeddedTask<?>> automaticTasks = ((AutomaticTaskOwner<?>) task).getAutomaticTasks();
+			if (automaticTasks != null) {
+				for (EmbeddedTask<?> embedded : automaticTasks.values()) {
+					node.children_.add(createNode((InternalEquinoxTask<?>) embedded.getTask()));
+				}
+			}
+		}
+
+		// add follower tasks
+		HashMap<InternalEquinoxTask<?>, ExecutionMode> followerTasks = task.getFollowerTasks();
+		if (followerTasks != null) {
+			for (Entry<InternalEquinoxTask<?>, ExecutionMode> follower : followerTasks.entrySet()) {
+				node.children_.add(createNode(follower.getKey()));
+			}
+		}
+
+		// return node
+		return node;
+	}
+
+	/**
+	 * Computes and returns the rank (i.e. the estimated longest path to the end of the plan) of the given node.
+	 *
+	 * @param node
+	 *            Plan node.
+	 * @return The rank of the node.
+	 */
+	private long computeRank(Node node) {
+
+		// already computed
+		if (node.rank_ >= 0L)
+			return node.rank_;
+
+		// compute from children
+		long max = 0L;
+		for (Node child : node.children_) {
+			max = Math.max(max, computeRank(child));
+		}
+		node.rank_ = node.estimate_ + max;
+		return node.rank_;
+	}
+
+	/**
+	 * Attaches state listeners to all tasks of the plan and executes queued tasks. This must be called on the FX application thread.
+	 */
+	private synchronized void listen() {
+		for (Node node : order_) {
+			node.task_.stateProperty().addListener(this);
+		}
+		listening_ = true;
+		dispatch();
+	}
+
+	/**
+	 * Executes queued tasks as long as the core budget allows. Tasks are never submitted to the sequential task queue; sequential execution is ensured by the core budget of 1. Otherwise, a parent
+	 * task waiting for its sub tasks would block the sequential task queue.
+	 */
+	private void dispatch() {
+
+		// not listening yet
+		if (!listening_)
+			return;
+
+		// execute
+		while (running_ < coreBudget_ && !ready_.isEmpty()) {
+			Node node = ready_.poll();
+			node.isReleased_ = true;
+			running_++;
+			if (node.parent_ != null) {
+				panel_.runSubtask(node.task_, node.parent_, false);
+			}
+			else {
+				panel_.runTaskSilently(node.task_, false);
+			}
+		}
+	}
+
+	/**
+	 * Called when the task of the given node is completed.
+	 *
+	 * @param node
+	 *            Plan node.
+	 * @param state
+	 *            Final state of the task.
+	 */
+	private synchronized void completed(Node node, State state) {
+
+		// already completed
+		if (node.ended_ != 0L)
+			return;
+
+		// update node
+		node.ended_ = System.currentTimeMillis();
+		node.state_ = state;
+		if (node.started_ == 0L) {
+			node.started_ = node.ended_;
+		}
+
+		// record duration
+		if (state.equals(State.SUCCEEDED)) {
+			synchronized (HISTORY) {
+				long[] history = HISTORY.get(node.task_.getClass().getName());
+				if (history == null) {
+					history = new long[2];
+					HISTORY.put(node.task_.getClass().getName(), history);
+				}
+				history[0] += node.ended_ - node.started_;
+				history[1]++;
+			}
+		}
+
+		// release slot (waiting parents have already released theirs)
+		if (node.isReleased_) {
+			if (!node.isWaiting_) {
+				running_--;
+			}
+		}
+
+		// task cancelled before execution
+		else {
+			ready_.remove(node);
+			node.isReleased_ = true;
+		}
+		dispatch();
+	}
+
+	/**
+	 * Checks whether all tasks of the plan are completed. If so, logs the execution plan report.
+	 */
+	private void checkCompletion() {
+
+		// check
+		synchronized (this) {
+			if (completed_ || running_ != 0 || !ready_.isEmpty())
+				return;
+			completed_ = true;
+		}
+
+		// log report
+		String report = getReport();
+		Equinox.LOGGER.info(report);
+
+		// write report file
+		if (reportFile_ != null) {
+			try {
+				Files.write(reportFile_, report.getBytes(Charset.defaultCharset()));
+			}
+			catch (Exception e) {
+				Equinox.LOGGER.log(Level.WARNING, "Exception occurred during writing execution plan report.", e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the estimated duration of the given task in milliseconds.
+	 *
+	 * @param task
+	 *            Task.
+	 * @return The estimated duration of the given task.
+	 */
+	private static long estimate(InternalEquinoxTask<?> task) {
+
+		// measured before
+		synchronized (HISTORY) {
+			long[] history = HISTORY.get(task.getClass().getName());
+			if (history != null && history[1] > 0)
+				return history[0] / history[1];
+		}
+
+		// default estimates
+		if (task instanceof LongRunningTask)
+			return LONG_RUNNING_ESTIMATE;
+		if (task instanceof ShortRunningTask || task instanceof PostProcessingTask)
+			return SHORT_RUNNING_ESTIMATE;
+		return DEFAULT_ESTIMATE;
+	}
+
+	/**
+	 * Formats the given duration.
+	 *
+	 * @param millis
+	 *            Duration in milliseconds.
+	 * @return Formatted duration.
+	 */
+	private static String format(long millis) {
+		return String.format("%.1f s", millis / 1000.0);
+	}
+
+	/**
+	 * Inner class for plan node.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 00:41:27
+	 */
+	private static class Node {
+
+		/** Task of the node. */
+		private final InternalEquinoxTask<?> task_;
+
+		/** Estimated duration of the task (in milliseconds). */
+		private final long estimate_;
+
+		/** Dependent nodes. */
+		private final ArrayList<Node> children_ = new ArrayList<>();
+
+		/** Estimated longest path to the end of the plan (in milliseconds). Negative if not yet computed. */
+		private long rank_ = -1L;
+
+		/** Submission, start and end times of the task. */
+		private long submitted_ = 0L, started_ = 0L, ended_ = 0L;
+
+		/** Parent task if the task is submitted as a headless sub task. */
+		private InternalEquinoxTask<?> parent_ = null;
+
+		/** True if the node is on the critical path, if it is released for execution, and if it waits for its sub tasks (i.e. doesn't count against the core budget). */
+		private boolean isCritical_ = false, isReleased_ = false, isWaiting_ = false;
+
+		/** Final state of the task. */
+		private State state_ = null;
+
+		/**
+		 * Creates plan node.
+		 *
+		 * @param task
+		 *            Task of the node.
+		 * @param estimate
+		 *            Estimated duration of the task (in milliseconds).
+		 */
+		Node(InternalEquinoxTask<?> task, long estimate) {
+			task_ = task;
+			estimate_ = estimate;
+		}
+	}
+}
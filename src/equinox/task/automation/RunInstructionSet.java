@@ -209,6 +209,15 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 	/** Run mode. */
 	private ExecutionMode runMode = ExecutionMode.PARALLEL;
 
+	/** Maximum number of instructed tasks running at the same time (in parallel run mode). */
+	private int coreBudget = Runtime.getRuntime().availableProcessors();
+
+	/** Task IDs of generate stress sequence tasks mapped by STF instruction ID and generation input path. Used to share identical stress sequence generations between instructions. */
+	private final HashMap<String, String> generateStressSequenceIds = new HashMap<>();
+
+	/** Task IDs of shared tasks mapped by their aliased instruction IDs. Aliased IDs are not put to the tasks, so that each shared task is executed and counted only once. */
+	private final HashMap<String, String> taskAliases = new HashMap<>();
+
 	/** Log level. */
 	private Level logLevel;
 
@@ -617,9 +626,23 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				return;
 			}
 
+			// create execution planner
+			ArrayList<InternalEquinoxTask<?>> roots = new ArrayList<>();
+			for (InstructedTask instructedTask : tasks.values()) {
+				if (!instructedTask.isEmbedded()) {
+					roots.add(instructedTask.getTask());
+				}
+			}
+			Path reportFile = logLevel != null && logDirectory != null ? logDirectory.resolve("executionPlan_" + Equinox.USER.getUsername() + "_" + hashCode() + ".log") : null;
+			ExecutionPlanner planner = new ExecutionPlanner(taskPanel_.getOwner(), runMode.equals(ExecutionMode.SEQUENTIAL) ? 1 : coreBudget, reportFile);
+
 			// generate execution plan
 			if (generateExecutionPlan) {
 
+				// log estimated plan
+				planner.plan(roots);
+				Equinox.LOGGER.info(planner.getReport());
+
 				// plot
 				TaskExecutionPlanViewPanel panel = (TaskExecutionPlanViewPanel) taskPanel_.getOwner().getOwner().getViewPanel().getSubPanel(ViewPanel.EXECUTION_TREE_VIEW_PANEL);
 				panel.setAutomaticTasks(this, tasks);
@@ -634,6 +657,9 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 			// run tasks
 			else {
 
+				// plan tasks
+				planner.plan(roots);
+
 				// loop over tasks
 				Iterator<Entry<String, InstructedTask>> iterator = tasks.entrySet().iterator();
 				allTasks = tasks.size();
@@ -808,6 +834,23 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 		if (settings.getChild("runMode") != null) {
 			runMode = ExecutionMode.valueOf(settings.getChild("runMode").getTextNormalize().toUpperCase());
 		}
+
+		// get core budget (if given)
+		if (settings.getChild("coreBudget") != null) {
+			coreBudget = Integer.parseInt(settings.getChild("coreBudget").getTextNormalize());
+		}
+	}
+
+	/**
+	 * Returns the task ID of the given instruction ID. This is the ID of the shared task if the instruction is an alias of a shared task, or the instruction ID itself otherwise.
+	 *
+	 * @param id
+	 *            Instruction ID.
+	 * @return The task ID of the given instruction ID.
+	 */
+	private String resolveId(String id) {
+		String sharedId = taskAliases.get(id);
+		return sharedId == null ? id : sharedId;
 	}
 
 	/**
@@ -843,7 +886,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				String previousInstructionId = sendTextMessage.getChildTextNormalize("previousInstructionId");
 
 				// add to parent task
-				InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+				InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 				parentTask.addFollowerTask(task, runMode);
 
 				// put task to tasks
@@ -2389,7 +2432,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 					getFlightTask.addAutomaticTask(Integer.toString(compareTask.hashCode()), new EmbeddedTask<>(compareTask, runMode));
 
 					// connect to parent task
-					AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(stressSequenceId).getTask();
+					AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(resolveId(stressSequenceId)).getTask();
 					parentTask.addAutomaticTask(Integer.toString(getFlightTask.hashCode()), new EmbeddedTask<>(getFlightTask, runMode));
 				}
 
@@ -2747,7 +2790,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 					String stressSequenceId = stressSequenceIdElement.getTextNormalize();
 
 					// connect to parent task
-					AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(stressSequenceId).getTask();
+					AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(resolveId(stressSequenceId)).getTask();
 					parentTask.addAutomaticTask(id, new EmbeddedTask<>(compareTask, runMode));
 				}
 
@@ -3649,7 +3692,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				// stress sequence
 				if (equivalentStressAnalysis.getChild("stressSequenceId") != null) {
 					String stressSequenceId = equivalentStressAnalysis.getChildTextNormalize("stressSequenceId");
-					AutomaticTaskOwner<SpectrumItem> parentTask = (AutomaticTaskOwner<SpectrumItem>) tasks.get(stressSequenceId).getTask();
+					AutomaticTaskOwner<SpectrumItem> parentTask = (AutomaticTaskOwner<SpectrumItem>) tasks.get(resolveId(stressSequenceId)).getTask();
 					parentTask.addAutomaticTask(Integer.toString(equivalentStressAnalysisTask.hashCode()), new EmbeddedTask<>(equivalentStressAnalysisTask, runMode));
 				}
 
@@ -3667,23 +3710,40 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 					String stfId = equivalentStressAnalysis.getChildTextNormalize("stfId");
 					Path generateStressSequenceInputPath = Paths.get(equivalentStressAnalysis.getChildTextNormalize("generateStressSequenceInputPath"));
 
-					// get input parameters
-					GenerateStressSequenceInput generateStressSequenceInput = generateStressSequenceInputs.get(generateStressSequenceInputPath);
-					if (generateStressSequenceInput == null) {
-						generateStressSequenceInput = new ReadGenerateStressSequenceInput(this, generateStressSequenceInputPath).start(null);
-						generateStressSequenceInputs.put(generateStressSequenceInputPath, generateStressSequenceInput);
+					// identical stress sequence generation already instructed (share task)
+					String ownerId = "ownerOf_" + id;
+					String key = stfId + "|" + generateStressSequenceInputPath.toAbsolutePath().normalize();
+					String sharedId = generateStressSequenceIds.get(key);
+					GenerateStressSequence generateStressSequenceTask = null;
+					if (sharedId != null) {
+						generateStressSequenceTask = (GenerateStressSequence) tasks.get(sharedId).getTask();
+						taskAliases.put(ownerId, sharedId);
 					}
 
-					// create task
-					GenerateStressSequence generateStressSequenceTask = new GenerateStressSequence(null, generateStressSequenceInput);
-					generateStressSequenceTask.addAutomaticTask(Integer.toString(equivalentStressAnalysisTask.hashCode()), new EmbeddedTask<>(equivalentStressAnalysisTask, runMode));
+					// create stress sequence generation
+					else {
 
-					// add to parent task
-					AutomaticTaskOwner<STFFile> parentTask = (AutomaticTaskOwner<STFFile>) tasks.get(stfId).getTask();
-					parentTask.addAutomaticTask(id, new EmbeddedTask<>(generateStressSequenceTask, runMode));
+						// get input parameters
+						GenerateStressSequenceInput generateStressSequenceInput = generateStressSequenceInputs.get(generateStressSequenceInputPath);
+						if (generateStressSequenceInput == null) {
+							generateStressSequenceInput = new ReadGenerateStressSequenceInput(this, generateStressSequenceInputPath).start(null);
+							generateStressSequenceInputs.put(generateStressSequenceInputPath, generateStressSequenceInput);
+						}
+
+						// create task
+						generateStressSequenceTask = new GenerateStressSequence(null, generateStressSequenceInput);
+						generateStressSequenceIds.put(key, ownerId);
 
-					// put generate stress sequence task to tasks
-					tasks.put("ownerOf_" + id, new InstructedTask(generateStressSequenceTask, true));
+						// add to parent task
+						AutomaticTaskOwner<STFFile> parentTask = (AutomaticTaskOwner<STFFile>) tasks.get(stfId).getTask();
+						parentTask.addAutomaticTask(id, new EmbeddedTask<>(generateStressSequenceTask, runMode));
+
+						// put generate stress sequence task to tasks
+						tasks.put(ownerId, new InstructedTask(generateStressSequenceTask, true));
+					}
+
+					// add analysis to stress sequence generation
+					generateStressSequenceTask.addAutomaticTask(Integer.toString(equivalentStressAnalysisTask.hashCode()), new EmbeddedTask<>(equivalentStressAnalysisTask, runMode));
 				}
 
 				// put equivalent stress analysis task to tasks
@@ -3736,7 +3796,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				SaveStressSequencePlotToFile task = new SaveStressSequencePlotToFile(null, plotType, outputPath);
 
 				// connect to parent task
-				AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(stressSequenceId).getTask();
+				AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(resolveId(stressSequenceId)).getTask();
 				parentTask.addAutomaticTask(id, new EmbeddedTask<>(task, runMode));
 
 				// put task to tasks
@@ -3893,7 +3953,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 			SaveMissionProfile task = new SaveMissionProfile(null, outputPath.toFile());
 
 			// connect to parent task
-			AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(stressSequenceId).getTask();
+			AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(resolveId(stressSequenceId)).getTask();
 			parentTask.addAutomaticTask(id, new EmbeddedTask<>(task, runMode));
 
 			// put task to tasks
@@ -3933,7 +3993,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				SaveStressSequencePlotToFile task = new SaveStressSequencePlotToFile(null, PilotPointImageType.MISSION_PROFILE, outputPath);
 
 				// connect to parent task
-				AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(stressSequenceId).getTask();
+				AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(resolveId(stressSequenceId)).getTask();
 				parentTask.addAutomaticTask(id, new EmbeddedTask<>(task, runMode));
 
 				// put task to tasks
@@ -4002,7 +4062,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				}
 
 				// add to parent task
-				AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(stressSequenceId).getTask();
+				AutomaticTaskOwner<StressSequence> parentTask = (AutomaticTaskOwner<StressSequence>) tasks.get(resolveId(stressSequenceId)).getTask();
 				parentTask.addAutomaticTask(id, new EmbeddedTask<>(task, runMode));
 
 				// put task to tasks
@@ -4065,6 +4125,14 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 			String stfId = generateStressSequence.getChild("stfId").getTextNormalize();
 			Path inputPath = Paths.get(generateStressSequence.getChild("inputPath").getTextNormalize());
 
+			// identical stress sequence generation already instructed (share task)
+			String key = stfId + "|" + inputPath.toAbsolutePath().normalize();
+			String sharedId = generateStressSequenceIds.get(key);
+			if (sharedId != null) {
+				taskAliases.put(id, sharedId);
+				continue;
+			}
+
 			// get input parameters
 			GenerateStressSequenceInput input = inputs.get(inputPath);
 			if (input == null) {
@@ -4074,6 +4142,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 
 			// create task
 			GenerateStressSequence generateStressSequenceTask = new GenerateStressSequence(null, input);
+			generateStressSequenceIds.put(key, id);
 
 			// add to parent task
 			AutomaticTaskOwner<STFFile> parentTask = (AutomaticTaskOwner<STFFile>) tasks.get(stfId).getTask();
@@ -4126,7 +4195,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 					String previousInstructionId = addHeadlessStressSequence.getChildTextNormalize("previousInstructionId");
 
 					// add to parent task
-					InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+					InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 					parentTask.addFollowerTask(task, runMode);
 
 					// put task to tasks
@@ -4156,7 +4225,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 					String previousInstructionId = addHeadlessStressSequence.getChildTextNormalize("previousInstructionId");
 
 					// add to parent task
-					InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+					InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 					parentTask.addFollowerTask(task, runMode);
 
 					// put task to tasks
@@ -4351,7 +4420,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				String previousInstructionId = exportStf.getChildTextNormalize("previousInstructionId");
 
 				// add to parent task
-				InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+				InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 				parentTask.addFollowerTask(getSTFInfoTask, runMode);
 			}
 
@@ -4732,7 +4801,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				String previousInstructionId = downloadStf.getChildTextNormalize("previousInstructionId");
 
 				// add to parent task
-				InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+				InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 				parentTask.addFollowerTask(searchPilotPointTask, runMode);
 
 				// put task to tasks
@@ -4818,7 +4887,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				String previousInstructionId = exportSpectrum.getChildTextNormalize("previousInstructionId");
 
 				// add to parent task
-				InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+				InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 				parentTask.addFollowerTask(getSpectrumInfoTask, runMode);
 			}
 
@@ -4864,7 +4933,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				String previousInstructionId = shareSpectrumFile.getChildTextNormalize("previousInstructionId");
 
 				// add to parent task
-				InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+				InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 				parentTask.addFollowerTask(shareSpectrumFileTask, runMode);
 			}
 
@@ -4909,7 +4978,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				String previousInstructionId = shareSpectrum.getChildTextNormalize("previousInstructionId");
 
 				// add to parent task
-				InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+				InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 				parentTask.addFollowerTask(shareSpectrumTask, runMode);
 			}
 
@@ -5104,7 +5173,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 					String previousInstructionId = addSpectrum.getChildTextNormalize("previousInstructionId");
 
 					// add to parent task
-					InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+					InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 					parentTask.addFollowerTask(task, runMode);
 
 					// put task to tasks
@@ -5158,7 +5227,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 					String previousInstructionId = addSpectrum.getChildTextNormalize("previousInstructionId");
 
 					// add to parent task
-					InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+					InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 					parentTask.addFollowerTask(task, runMode);
 
 					// put task to tasks
@@ -5236,7 +5305,7 @@ public class RunInstructionSet extends TemporaryFileCreatingTask<HashMap<String,
 				String previousInstructionId = downloadSpectrum.getChildTextNormalize("previousInstructionId");
 
 				// add to parent task
-				InternalEquinoxTask<?> parentTask = tasks.get(previousInstructionId).getTask();
+				InternalEquinoxTask<?> parentTask = tasks.get(resolveId(previousInstructionId)).getTask();
 				parentTask.addFollowerTask(searchSpectrumTask, runMode);
 
 				// put task to tasks
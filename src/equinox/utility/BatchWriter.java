@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Class for batched database writer. Parameters are set on the wrapped prepared statement as usual, and rows are added with {@link #addBatch()} instead of <code>executeUpdate()</code>. Rows are
+ * written to database every time the batch size is reached, when {@link #flush()} is called and when the writer is closed. Note that closing the writer doesn't close the wrapped statement.
+ * <p>
+ * The writer doesn't change the transaction mode of the connection. Rows are committed (or rolled back) by the owner of the connection as usual.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 15:03:27
+ */
+public class BatchWriter implements AutoCloseable {
+
+	/** Default batch size. */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	/** Wrapped statement. */
+	private final PreparedStatement statement_;
+
+	/** Batch size. */
+	private final int batchSize_;
+
+	/** Number of rows in current batch. */
+	private int batchRows_ = 0;
+
+	/** Total number of rows written. */
+	private long writtenRows_ = 0L;
+
+	/**
+	 * Creates batched writer with default batch size.
+	 *
+	 * @param statement
+	 *            Statement to wrap.
+	 */
+	public BatchWriter(PreparedStatement statement) {
+		this(statement, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates batched writer.
+	 *
+	 * @param statement
+	 *            Statement to wrap.
+	 * @param batchSize
+	 *            Number of rows to write at once. Must be at least 1.
+	 */
+	public BatchWriter(PreparedStatement statement, int batchSize) {
+		statement_ = statement;
+		batchSize_ = Math.max(1, batchSize);
+	}
+
+	/**
+	 * Returns the wrapped statement. Parameters of the next row should be set on this statement.
+	 *
+	 * @return The wrapped statement.
+	 */
+	public PreparedStatement getStatement() {
+		return statement_;
+	}
+
+	/**
+	 * Adds current parameters of the wrapped statement as a new row to the batch. The batch is written to database if the batch size is reached.
+	 *
+	 * @throws SQLException
+	 *             If exception occurs during writing the batch.
+	 */
+	public void addBatch() throws SQLException {
+		statement_.addBatch();
+		batchRows_++;
+		if (batchRows_ >= batchSize_) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes rows of current batch to database. This should be called before reading or updating the written rows with other statements.
+	 *
+	 * @throws SQLException
+	 *             If exception occurs during writing the batch.
+	 */
+	public void flush() throws SQLException {
+		if (batchRows_ == 0)
+			return;
+		statement_.executeBatch();
+		writtenRows_ += batchRows_;
+		batchRows_ = 0;
+	}
+
+	/**
+	 * Returns total number of rows written to database so far.
+	 *
+	 * @return Total number of rows written.
+	 */
+	public long getWrittenRows() {
+		return writtenRows_;
+	}
+
+	@Override
+	public void close() throws SQLException {
+		flush();
+	}
+}
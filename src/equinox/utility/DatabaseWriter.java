@@ -0,0 +1,226 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.sql.Connection;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class for single threaded database writer. The writer owns the given connection; all writes submitted to it are executed in submission order on the writer thread. This allows several producers
+ * to parse input files concurrently and stage their rows, while only the writer thread uses the connection.
+ * <p>
+ * The number of pending writes is bounded, so that producers block once they get ahead of the writer. If a write fails, the remaining pending writes are skipped and all subsequent calls throw the
+ * exception of the failed write. The writer doesn't change the transaction mode of the connection; committing or rolling back is left to the owner of the connection, after the writer is closed.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 01:12:44
+ */
+public class DatabaseWriter implements AutoCloseable {
+
+	/** Default maximum number of pending writes. */
+	public static final int DEFAULT_MAX_PENDING = 32;
+
+	/** Database connection. */
+	private final Connection connection_;
+
+	/** Writer thread. */
+	private final ExecutorService executor_;
+
+	/** Permits for pending writes. */
+	private final Semaphore pending_;
+
+	/** Exception of the first failed write. */
+	private volatile Exception failure_ = null;
+
+	/**
+	 * Interface for database write.
+	 *
+	 * @author Murat Artim
+	 * @date 19 Oct 2026
+	 * @time 01:12:44
+	 * @param <V>
+	 *            Result class.
+	 */
+	public interface Write<V> {
+
+		/**
+		 * Executes this write on the writer thread.
+		 *
+		 * @param connection
+		 *            Database connection.
+		 * @return The result of the write.
+		 * @throws Exception
+		 *             If exception occurs during writing.
+		 */
+		V write(Connection connection) throws Exception;
+	}
+
+	/**
+	 * Creates database writer with default maximum number of pending writes.
+	 *
+	 * @param connection
+	 *            Database connection. The connection must not be used by other threads until the writer is closed.
+	 */
+	public DatabaseWriter(Connection connection) {
+		this(connection, DEFAULT_MAX_PENDING);
+	}
+
+	/**
+	 * Creates database writer.
+	 *
+	 * @param connection
+	 *            Database connection. The connection must not be used by other threads until the writer is closed.
+	 * @param maxPending
+	 *            Maximum number of pending writes. Must be at least 1.
+	 */
+	public DatabaseWriter(Connection connection, int maxPending) {
+		connection_ = connection;
+		pending_ = new Semaphore(Math.max(1, maxPending));
+		executor_ = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Database writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Submits the given write. The calling thread blocks if the maximum number of pending writes is reached.
+	 *
+	 * @param <V>
+	 *            Result class.
+	 * @param write
+	 *            Write to submit.
+	 * @return Future representing the result of the write. Note that, the result is null if the write is skipped due to a previously failed write.
+	 * @throws Exception
+	 *             If a previously submitted write has failed, or the calling thread is interrupted.
+	 */
+	public <V> Future<V> submit(Write<V> write) throws Exception {
+
+		// previous write failed
+		checkFailure();
+
+		// wait for permit
+		pending_.acquire();
+
+		// submit write
+		try {
+			return executor_.submit(() -> {
+				try {
+
+					// skip if a previous write failed
+					if (failure_ != null)
+						return null;
+
+					// execute write
+					return write.write(connection_);
+				}
+
+				// write failed
+				catch (Exception e) {
+					if (failure_ == null) {
+						failure_ = e;
+					}
+					throw e;
+				}
+
+				// release permit
+				finally {
+					pending_.release();
+				}
+			});
+		}
+
+		// writer closed
+		catch (Exception e) {
+			pending_.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Submits the given write and waits for its result. All previously submitted writes are completed before the given write is executed.
+	 *
+	 * @param <V>
+	 *            Result class.
+	 * @param write
+	 *            Write to execute.
+	 * @return The result of the write.
+	 * @throws Exception
+	 *             If the write (or a previously submitted write) fails, or the calling thread is interrupted.
+	 */
+	public <V> V execute(Write<V> write) throws Exception {
+		Future<V> future = submit(write);
+		try {
+			V result = future.get();
+			checkFailure();
+			return result;
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception)
+				throw (Exception) cause;
+			throw e;
+		}
+	}
+
+	/**
+	 * Waits for all submitted writes to complete.
+	 *
+	 * @throws Exception
+	 *             If any of the submitted writes has failed, or the calling thread is interrupted.
+	 */
+	public void flush() throws Exception {
+		execute(connection -> null);
+	}
+
+	/**
+	 * Throws the exception of the first failed write (if any).
+	 *
+	 * @throws Exception
+	 *             The exception of the first failed write.
+	 */
+	private void checkFailure() throws Exception {
+		Exception failure = failure_;
+		if (failure != null)
+			throw failure;
+	}
+
+	/**
+	 * Closes this writer. Waits for all pending writes to complete (or to be skipped), so that the connection can safely be used by the caller afterwards. Note that, the connection is not closed.
+	 */
+	@Override
+	public void close() {
+		executor_.shutdown();
+		boolean interrupted = false;
+		while (!executor_.isTerminated()) {
+			try {
+				executor_.awaitTermination(1L, TimeUnit.MINUTES);
+			}
+			catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,529 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Class for single pass text file scanner. Lines are read into a reused character buffer and split into fields without creating strings. Fields of a line are the non-empty, trimmed columns
+ * between delimiters (i.e. the same columns obtained by <code>line.trim().split(delimiter)</code> after skipping empty columns). Since the number of bytes consumed from the file is tracked, the
+ * scanner can be used to report progress without counting the lines of the file beforehand.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 16:21:08
+ */
+public class FieldScanner implements AutoCloseable {
+
+	/** Exact powers of ten for fast number parsing. */
+	private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+	/** Maximum mantissa which can be exactly represented with a double. */
+	private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+	/** Byte counting input stream. */
+	private final CountingInputStream input_;
+
+	/** Character reader. */
+	private final Reader reader_;
+
+	/** Size of file in bytes. */
+	private final long fileSize_;
+
+	/** Read buffer. */
+	private final char[] buffer_ = new char[65536];
+
+	/** Current line buffer. */
+	private char[] line_ = new char[256];
+
+	/** Start and end indices of fields of current line. */
+	private int[] fieldStart_ = new int[16], fieldEnd_ = new int[16];
+
+	/** Read buffer position and limit, current line length, number of fields and number of lines read. */
+	private int position_ = 0, limit_ = 0, length_ = 0, numFields_ = 0, lineNumber_ = 0;
+
+	/** Column delimiter. */
+	private char delimiter_ = ' ';
+
+	/** True if line feed following a carriage return should be skipped. */
+	private boolean skipLF_ = false;
+
+	/**
+	 * Creates field scanner.
+	 *
+	 * @param file
+	 *            File to scan.
+	 * @param charset
+	 *            Character set of the file.
+	 * @throws IOException
+	 *             If file cannot be opened.
+	 */
+	public FieldScanner(Path file, Charset charset) throws IOException {
+		fileSize_ = Files.size(file);
+		input_ = new CountingInputStream(Files.newInputStream(file));
+		reader_ = new InputStreamReader(input_, charset);
+	}
+
+	/**
+	 * Sets column delimiter. Default delimiter is space. Fields of the current line are not re-scanned.
+	 *
+	 * @param delimiter
+	 *            Column delimiter.
+	 */
+	public void setDelimiter(char delimiter) {
+		delimiter_ = delimiter;
+	}
+
+	/**
+	 * Reads next line and splits it into fields.
+	 *
+	 * @return True if a line is read, false if the end of file is reached.
+	 * @throws IOException
+	 *             If exception occurs during reading file.
+	 */
+	public boolean nextLine() throws IOException {
+
+		// reset line
+		length_ = 0;
+		boolean isRead = false;
+
+		// read till line end
+		while (true) {
+
+			// fill buffer
+			if (position_ >= limit_) {
+				limit_ = reader_.read(buffer_, 0, buffer_.length);
+				position_ = 0;
+				if (limit_ <= 0) {
+					limit_ = 0;
+					if (!isRead)
+						return false;
+					break;
+				}
+			}
+
+			// skip line feed of previous line end
+			if (skipLF_) {
+				skipLF_ = false;
+				if (buffer_[position_] == '\n') {
+					position_++;
+					continue;
+				}
+			}
+			isRead = true;
+
+			// find line end
+			int start = position_;
+			while (position_ < limit_) {
+				char c = buffer_[position_];
+				if (c == '\n' || c == '\r') {
+					break;
+				}
+				position_++;
+			}
+
+			// append to line
+			append(start, position_ - start);
+
+			// line end found
+			if (position_ < limit_) {
+				skipLF_ = buffer_[position_] == '\r';
+				position_++;
+				break;
+			}
+		}
+
+		// split line
+		lineNumber_++;
+		scanFields(0);
+		return true;
+	}
+
+	/**
+	 * Splits current line into fields starting from the given column index.
+	 *
+	 * @param from
+	 *            Column index to start from.
+	 */
+	public void scanFields(int from) {
+
+		// reset fields
+		numFields_ = 0;
+
+		// loop over columns
+		int start = from;
+		for (int i = from; i <= length_; i++) {
+
+			// not a delimiter
+			if (i < length_ && line_[i] != delimiter_) {
+				continue;
+			}
+
+			// trim spaces
+			int s = start, e = i;
+			while (s < e && line_[s] <= ' ') {
+				s++;
+			}
+			while (e > s && line_[e - 1] <= ' ') {
+				e--;
+			}
+
+			// add field
+			if (s < e) {
+				if (numFields_ == fieldStart_.length) {
+					int[] starts = new int[numFields_ * 2], ends = new int[numFields_ * 2];
+					System.arraycopy(fieldStart_, 0, starts, 0, numFields_);
+					System.arraycopy(fieldEnd_, 0, ends, 0, numFields_);
+					fieldStart_ = starts;
+					fieldEnd_ = ends;
+				}
+				fieldStart_[numFields_] = s;
+				fieldEnd_[numFields_] = e;
+				numFields_++;
+			}
+
+			// next column
+			start = i + 1;
+		}
+	}
+
+	/**
+	 * Returns the number of fields of current line.
+	 *
+	 * @return The number of fields of current line.
+	 */
+	public int getNumberOfFields() {
+		return numFields_;
+	}
+
+	/**
+	 * Returns the length of the given field.
+	 *
+	 * @param index
+	 *            Field index.
+	 * @return The length of the given field.
+	 */
+	public int getFieldLength(int index) {
+		return fieldEnd_[index] - fieldStart_[index];
+	}
+
+	/**
+	 * Returns the given field as string.
+	 *
+	 * @param index
+	 *            Field index.
+	 * @return The given field.
+	 */
+	public String getField(int index) {
+		return new String(line_, fieldStart_[index], fieldEnd_[index] - fieldStart_[index]);
+	}
+
+	/**
+	 * Parses and returns the given field as integer.
+	 *
+	 * @param index
+	 *            Field index.
+	 * @return The integer value of the field.
+	 * @throws NumberFormatException
+	 *             If field is not a valid integer.
+	 */
+	public int getInt(int index) throws NumberFormatException {
+		return parseInt(line_, fieldStart_[index], fieldEnd_[index]);
+	}
+
+	/**
+	 * Parses and returns the given field as double. The result is always identical to {@link Double#parseDouble(String)}.
+	 *
+	 * @param index
+	 *            Field index.
+	 * @return The double value of the field.
+	 * @throws NumberFormatException
+	 *             If field is not a valid number.
+	 */
+	public double getDouble(int index) throws NumberFormatException {
+		return parseDouble(line_, fieldStart_[index], fieldEnd_[index]);
+	}
+
+	/**
+	 * Parses and returns the given characters as integer. This doesn't create any objects unless the value has more than 9 digits.
+	 *
+	 * @param chars
+	 *            Characters to parse.
+	 * @param start
+	 *            Start index (inclusive).
+	 * @param end
+	 *            End index (exclusive).
+	 * @return The integer value.
+	 * @throws NumberFormatException
+	 *             If characters don't form a valid integer.
+	 */
+	public static int parseInt(char[] chars, int start, int end) throws NumberFormatException {
+
+		// get sign
+		int i = start;
+		boolean negative = i < end && chars[i] == '-';
+		if (negative || i < end && chars[i] == '+') {
+			i++;
+		}
+
+		// parse digits (fall back to standard parsing for long or invalid values)
+		if (end - i < 1 || end - i > 9)
+			return Integer.parseInt(new String(chars, start, end - start));
+		int value = 0;
+		for (; i < end; i++) {
+			int digit = chars[i] - '0';
+			if (digit < 0 || digit > 9)
+				return Integer.parseInt(new String(chars, start, end - start));
+			value = value * 10 + digit;
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Parses and returns the given characters as double. Values with up to 18 significant digits and an absolute decimal exponent of up to 22 are parsed without creating any objects. The result
+	 * is always identical to {@link Double#parseDouble(String)}.
+	 *
+	 * @param chars
+	 *            Characters to parse.
+	 * @param start
+	 *            Start index (inclusive).
+	 * @param end
+	 *            End index (exclusive).
+	 * @return The double value.
+	 * @throws NumberFormatException
+	 *             If characters don't form a valid number.
+	 */
+	public static double parseDouble(char[] chars, int start, int end) throws NumberFormatException {
+
+		// get sign
+		int i = start;
+		boolean negative = i < end && chars[i] == '-';
+		if (negative || i < end && chars[i] == '+') {
+			i++;
+		}
+
+		// parse mantissa
+		long mantissa = 0L;
+		int exponent = 0, significantDigits = 0;
+		boolean anyDigit = false, fraction = false;
+		for (; i < end; i++) {
+			char c = chars[i];
+			if (c == '.' && !fraction) {
+				fraction = true;
+				continue;
+			}
+			int digit = c - '0';
+			if (digit < 0 || digit > 9) {
+				break;
+			}
+			anyDigit = true;
+			if (fraction) {
+				exponent--;
+			}
+			if (mantissa == 0L && digit == 0) {
+				continue;
+			}
+			if (++significantDigits > 18)
+				return Double.parseDouble(new String(chars, start, end - start));
+			mantissa = mantissa * 10L + digit;
+		}
+
+		// no digits
+		if (!anyDigit)
+			return Double.parseDouble(new String(chars, start, end - start));
+
+		// parse exponent
+		if (i < end && (chars[i] == 'e' || chars[i] == 'E')) {
+			i++;
+			boolean negativeExponent = i < end && chars[i] == '-';
+			if (negativeExponent || i < end && chars[i] == '+') {
+				i++;
+			}
+			if (i == end)
+				return Double.parseDouble(new String(chars, start, end - start));
+			int value = 0;
+			for (; i < end; i++) {
+				int digit = chars[i] - '0';
+				if (digit < 0 || digit > 9 || value > 1000)
+					return Double.parseDouble(new String(chars, start, end - start));
+				value = value * 10 + digit;
+			}
+			exponent += negativeExponent ? -value : value;
+		}
+
+		// unexpected characters or value cannot be computed exactly
+		if (i != end || mantissa > MAX_EXACT_MANTISSA || (mantissa != 0L && (exponent < -22 || exponent > 22)))
+			return Double.parseDouble(new String(chars, start, end - start));
+
+		// compute value (single correctly rounded operation)
+		double value = mantissa;
+		if (mantissa != 0L) {
+			value = exponent >= 0 ? value * POWERS_OF_TEN[exponent] : value / POWERS_OF_TEN[-exponent];
+		}
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Returns true if the current line starts with the given character.
+	 *
+	 * @param c
+	 *            Character to check.
+	 * @return True if the current line starts with the given character.
+	 */
+	public boolean startsWith(char c) {
+		return length_ > 0 && line_[0] == c;
+	}
+
+	/**
+	 * Returns the length of current line.
+	 *
+	 * @return The length of current line.
+	 */
+	public int getLength() {
+		return length_;
+	}
+
+	/**
+	 * Returns the given part of current line.
+	 *
+	 * @param start
+	 *            Start index (inclusive).
+	 * @param end
+	 *            End index (exclusive).
+	 * @return The given part of current line.
+	 * @throws IndexOutOfBoundsException
+	 *             If the indices are out of line bounds.
+	 */
+	public String substring(int start, int end) throws IndexOutOfBoundsException {
+		if (start < 0 || end > length_ || start > end)
+			throw new IndexOutOfBoundsException("Invalid range [" + start + ", " + end + ") for line of length " + length_ + ".");
+		return new String(line_, start, end - start);
+	}
+
+	/**
+	 * Returns current line.
+	 *
+	 * @return Current line.
+	 */
+	public String getLine() {
+		return new String(line_, 0, length_);
+	}
+
+	/**
+	 * Returns the number of lines read so far.
+	 *
+	 * @return The number of lines read so far.
+	 */
+	public int getLineNumber() {
+		return lineNumber_;
+	}
+
+	/**
+	 * Returns the number of bytes read from the file so far. This can be used together with {@link #getFileSize()} to report progress.
+	 *
+	 * @return The number of bytes read from the file so far.
+	 */
+	public long getBytesRead() {
+		return input_.count_;
+	}
+
+	/**
+	 * Returns the size of the file in bytes.
+	 *
+	 * @return The size of the file in bytes.
+	 */
+	public long getFileSize() {
+		return fileSize_;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader_.close();
+	}
+
+	/**
+	 * Appends characters from the read buffer to current line.
+	 *
+	 * @param start
+	 *            Start index in read buffer.
+	 * @param length
+	 *            Number of characters to append.
+	 */
+	private void append(int start, int length) {
+		if (length_ + length > line_.length) {
+			char[] line = new char[Math.max(line_.length * 2, length_ + length)];
+			System.arraycopy(line_, 0, line, 0, length_);
+			line_ = line;
+		}
+		System.arraycopy(buffer_, start, line_, length_, length);
+		length_ += length;
+	}
+
+	/**
+	 * Inner class for byte counting input stream.
+	 *
+	 * @author Murat Artim
+	 * @date 17 Oct 2026
+	 * @time 16:21:08
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+
+		/** Number of bytes read. */
+		private volatile long count_ = 0L;
+
+		/**
+		 * Creates byte counting input stream.
+		 *
+		 * @param in
+		 *            Input stream to wrap.
+		 */
+		public CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b != -1) {
+				count_++;
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				count_ += n;
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count_ += skipped;
+			return skipped;
+		}
+	}
+}
@@ -0,0 +1,447 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class for memory mapped STH file reader. The file is mapped in windows and typical flights are read one by one. Flight headers are exposed as primitives and peaks are read into
+ * <code>double</code> arrays without creating any objects per peak.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * try (StressHistoryReader reader = new StressHistoryReader(sthFile)) {
+ * 	while (reader.nextFlight()) {
+ * 		double[] peaks = reader.readPeaks();
+ * 		int numPeaks = reader.getNumberOfReadPeaks();
+ * 		...
+ * 	}
+ * }
+ * </pre>
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 17:21:12
+ */
+public class StressHistoryReader implements AutoCloseable {
+
+	/** Number of file header lines. */
+	public static final int NUM_HEADER_LINES = 4;
+
+	/** Size of mapped file windows in bytes. */
+	private static final long WINDOW_SIZE = 64L * 1024L * 1024L;
+
+	/** Path to STH file. */
+	private final Path file_;
+
+	/** File channel. */
+	private final FileChannel channel_;
+
+	/** Size of file in bytes. */
+	private final long fileSize_;
+
+	/** Current mapped window. */
+	private MappedByteBuffer window_;
+
+	/** Start position of current window in file. */
+	private long windowStart_ = 0L;
+
+	/** Current line as bytes and characters. */
+	private byte[] bytes_ = new byte[256];
+
+	/** Current line as characters (for number parsing). */
+	private char[] chars_ = new char[256];
+
+	/** Start and end indices of flight header fields. */
+	private final int[] fields_ = new int[6];
+
+	/** Peaks of current flight. */
+	private double[] peaks_ = new double[256];
+
+	/** Current line length, number of lines read, current flight index and number of peaks read for current flight. */
+	private int length_ = 0, lineNumber_ = 0, flightIndex_ = -1, numReadPeaks_ = 0;
+
+	/** Flight header values. */
+	private double validity_, blockSize_;
+
+	/** Number of peaks of current flight. */
+	private int numPeaks_;
+
+	/** Flight name and severity. */
+	private String name_, severity_;
+
+	/** True if peaks of current flight are read. */
+	private boolean peaksRead_ = true;
+
+	/** True if line feed following a carriage return should be skipped. */
+	private boolean skipLF_ = false;
+
+	/**
+	 * Creates STH file reader and skips the file header.
+	 *
+	 * @param file
+	 *            Path to STH file.
+	 * @throws IOException
+	 *             If file cannot be opened.
+	 */
+	public StressHistoryReader(Path file) throws IOException {
+		file_ = file;
+		channel_ = FileChannel.open(file, StandardOpenOption.READ);
+		fileSize_ = channel_.size();
+		for (int i = 0; i < NUM_HEADER_LINES; i++) {
+			if (!readLine()) {
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Moves to the next typical flight and reads its header. Peaks of the previous flight are skipped if they are not read. Empty lines between flights are ignored.
+	 *
+	 * @return True if a flight is read, false if the end of file is reached.
+	 * @throws Exception
+	 *             If flight header is invalid.
+	 */
+	public boolean nextFlight() throws Exception {
+
+		// skip peaks of previous flight
+		if (!peaksRead_) {
+			readPeaks();
+		}
+
+		// read first line of flight header (skip empty lines)
+		do {
+			if (!readLine())
+				return false;
+		}
+		while (isBlank());
+
+		// get validity and block size
+		int[] fields = fields_;
+		int numFields = getFields(fields, 3);
+		validity_ = numFields > 0 ? FieldScanner.parseDouble(chars_, fields[0], fields[1]) : 0.0;
+		blockSize_ = numFields > 1 ? FieldScanner.parseDouble(chars_, fields[2], fields[3]) : 0.0;
+
+		// read second line of flight header
+		if (!readLine())
+			throw new Exception("Invalid STH file '" + file_.getFileName() + "'. Flight header is incomplete.");
+
+		// get number of peaks, flight name and severity
+		numFields = getFields(fields, 3);
+		if (numFields < 1)
+			throw new Exception("Invalid STH file '" + file_.getFileName() + "'. Number of peaks is missing.");
+		numPeaks_ = FieldScanner.parseInt(chars_, fields[0], fields[1]);
+		name_ = numFields > 1 ? new String(bytes_, fields[2], fields[3] - fields[2], Charset.defaultCharset()) : null;
+		severity_ = numFields > 2 ? new String(bytes_, fields[4], fields[5] - fields[4], Charset.defaultCharset()) : "";
+
+		// set flight
+		flightIndex_++;
+		numReadPeaks_ = 0;
+		peaksRead_ = false;
+		return true;
+	}
+
+	/**
+	 * Reads peaks of the current flight into an internal array. The returned array is reused for the next flight. Only the first {@link #getNumberOfReadPeaks()} elements are valid.
+	 *
+	 * @return Array containing peaks of the current flight.
+	 * @throws IOException
+	 *             If exception occurs during reading file.
+	 */
+	public double[] readPeaks() throws IOException {
+		if (peaks_.length < numPeaks_) {
+			peaks_ = new double[numPeaks_];
+		}
+		readPeaks(peaks_);
+		return peaks_;
+	}
+
+	/**
+	 * Reads peaks of the current flight into the given array. Peaks are read until the number of peaks given in the flight header is reached at the end of a line, or the end of file is reached.
+	 *
+	 * @param peaks
+	 *            Array to store peaks. Its length must be at least equal to {@link #getNumberOfPeaks()}.
+	 * @return Number of peaks read.
+	 * @throws IOException
+	 *             If exception occurs during reading file.
+	 */
+	public int readPeaks(double[] peaks) throws IOException {
+
+		// already read
+		if (peaksRead_)
+			return numReadPeaks_;
+		peaksRead_ = true;
+
+		// read lines
+		int count = 0;
+		while (count < numPeaks_ && readLine()) {
+
+			// parse values
+			int start = -1;
+			for (int i = 0; i <= length_; i++) {
+				boolean space = i == length_ || chars_[i] <= ' ';
+				if (space && start != -1) {
+					if (count < peaks.length) {
+						peaks[count] = FieldScanner.parseDouble(chars_, start, i);
+					}
+					count++;
+					start = -1;
+				}
+				else if (!space && start == -1) {
+					start = i;
+				}
+			}
+		}
+
+		// return number of read peaks
+		numReadPeaks_ = Math.min(count, peaks.length);
+		return numReadPeaks_;
+	}
+
+	/**
+	 * Returns the index of the current flight (starting from 0).
+	 *
+	 * @return The index of the current flight.
+	 */
+	public int getFlightIndex() {
+		return flightIndex_;
+	}
+
+	/**
+	 * Returns the validity of the current flight.
+	 *
+	 * @return The validity of the current flight.
+	 */
+	public double getValidity() {
+		return validity_;
+	}
+
+	/**
+	 * Returns the block size of the current flight.
+	 *
+	 * @return The block size of the current flight.
+	 */
+	public double getBlockSize() {
+		return blockSize_;
+	}
+
+	/**
+	 * Returns the number of peaks of the current flight, as given in the flight header.
+	 *
+	 * @return The number of peaks of the current flight.
+	 */
+	public int getNumberOfPeaks() {
+		return numPeaks_;
+	}
+
+	/**
+	 * Returns the number of peaks read for the current flight.
+	 *
+	 * @return The number of peaks read for the current flight.
+	 */
+	public int getNumberOfReadPeaks() {
+		return numReadPeaks_;
+	}
+
+	/**
+	 * Returns the name of the current flight as given in the file, or null if no name is given.
+	 *
+	 * @return The name of the current flight.
+	 */
+	public String getName() {
+		return name_;
+	}
+
+	/**
+	 * Returns the severity of the current flight, or empty string if no severity is given.
+	 *
+	 * @return The severity of the current flight.
+	 */
+	public String getSeverity() {
+		return severity_;
+	}
+
+	/**
+	 * Returns the number of lines read so far (including the file header).
+	 *
+	 * @return The number of lines read so far.
+	 */
+	public int getLineNumber() {
+		return lineNumber_;
+	}
+
+	/**
+	 * Returns the number of bytes read from the file so far. This can be used together with {@link #getFileSize()} to report progress.
+	 *
+	 * @return The number of bytes read from the file so far.
+	 */
+	public long getBytesRead() {
+		return window_ == null ? 0L : windowStart_ + window_.position();
+	}
+
+	/**
+	 * Returns the size of the file in bytes.
+	 *
+	 * @return The size of the file in bytes.
+	 */
+	public long getFileSize() {
+		return fileSize_;
+	}
+
+	@Override
+	public void close() throws IOException {
+		Utility.unmap(window_);
+		window_ = null;
+		channel_.close();
+	}
+
+	/**
+	 * Reads next line into line buffers.
+	 *
+	 * @return True if a line is read, false if the end of file is reached.
+	 * @throws IOException
+	 *             If exception occurs during reading file.
+	 */
+	private boolean readLine() throws IOException {
+
+		// reset line
+		length_ = 0;
+		boolean isRead = false;
+
+		// read till line end
+		while (true) {
+
+			// map next window
+			if (window_ == null || !window_.hasRemaining()) {
+				if (!mapNextWindow()) {
+					if (!isRead)
+						return false;
+					break;
+				}
+			}
+
+			// skip line feed of previous line end
+			if (skipLF_) {
+				skipLF_ = false;
+				if (window_.get(window_.position()) == '\n') {
+					window_.position(window_.position() + 1);
+					continue;
+				}
+			}
+			isRead = true;
+
+			// find line end
+			int start = window_.position(), limit = window_.limit(), end = start;
+			while (end < limit) {
+				byte b = window_.get(end);
+				if (b == '\n' || b == '\r') {
+					break;
+				}
+				end++;
+			}
+
+			// append to line
+			int count = end - start;
+			if (length_ + count > bytes_.length) {
+				int capacity = Math.max(bytes_.length * 2, length_ + count);
+				byte[] bytes = new byte[capacity];
+				System.arraycopy(bytes_, 0, bytes, 0, length_);
+				bytes_ = bytes;
+				char[] chars = new char[capacity];
+				System.arraycopy(chars_, 0, chars, 0, length_);
+				chars_ = chars;
+			}
+			window_.get(bytes_, length_, count);
+			for (int i = length_; i < length_ + count; i++) {
+				chars_[i] = (char) (bytes_[i] & 0xFF);
+			}
+			length_ += count;
+
+			// line end found
+			if (end < limit) {
+				skipLF_ = window_.get() == '\r';
+				break;
+			}
+		}
+
+		// line read
+		lineNumber_++;
+		return true;
+	}
+
+	/**
+	 * Returns true if the current line contains only white space characters.
+	 *
+	 * @return True if the current line is blank.
+	 */
+	private boolean isBlank() {
+		for (int i = 0; i < length_; i++) {
+			if (chars_[i] > ' ')
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Finds white space separated fields of the current line.
+	 *
+	 * @param fields
+	 *            Array to store start and end indices of fields.
+	 * @param maxFields
+	 *            Maximum number of fields to find.
+	 * @return Number of fields found.
+	 */
+	private int getFields(int[] fields, int maxFields) {
+		int numFields = 0, start = -1;
+		for (int i = 0; i <= length_ && numFields < maxFields; i++) {
+			boolean space = i == length_ || chars_[i] <= ' ';
+			if (space && start != -1) {
+				fields[2 * numFields] = start;
+				fields[2 * numFields + 1] = i;
+				numFields++;
+				start = -1;
+			}
+			else if (!space && start == -1) {
+				start = i;
+			}
+		}
+		return numFields;
+	}
+
+	/**
+	 * Maps the next window of the file.
+	 *
+	 * @return True if a window is mapped, false if the end of file is reached.
+	 * @throws IOException
+	 *             If exception occurs during mapping file.
+	 */
+	private boolean mapNextWindow() throws IOException {
+		long start = window_ == null ? 0L : windowStart_ + window_.limit();
+		if (start >= fileSize_)
+			return false;
+		Utility.unmap(window_);
+		windowStart_ = start;
+		window_ = channel_.map(MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, fileSize_ - start));
+		return true;
+	}
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Class for STH file writer. Flight headers and peaks are written in the standard STH format (i.e. 8 peaks per line, each right aligned in 10 characters with 2 decimal places). Values are
+ * formatted into a reused character buffer. The output is identical to formatting with <code>String.format("%10s", new DecimalFormat("0.00").format(value))</code>.
+ *
+ * @author Murat Artim
+ * @date 17 Oct 2026
+ * @time 17:02:45
+ */
+public class StressHistoryWriter implements AutoCloseable {
+
+	/** Number of peak columns per line. */
+	public static final int NUM_COLS = 8;
+
+	/** Column width. */
+	public static final int COLUMN_WIDTH = 10;
+
+	/** Number of spaces between number of peaks and flight name in flight header. */
+	private static final int NAME_OFFSET = 62;
+
+	/** Maximum absolute value formatted without decimal format. */
+	private static final double MAX_FAST_VALUE = 1e7;
+
+	/** Tolerance to detect rounding ties. Values closer to a tie are formatted with decimal format. */
+	private static final double TIE_TOLERANCE = 1e-6;
+
+	/** File writer. */
+	private final BufferedWriter writer_;
+
+	/** Decimal format. This is used only for values which cannot be formatted exactly with the fast path. */
+	private final DecimalFormat format_ = new DecimalFormat("0.00");
+
+	/** Format symbols. */
+	private final char zeroDigit_, decimalSeparator_, minusSign_;
+
+	/** Line buffer. */
+	private char[] line_ = new char[NUM_COLS * COLUMN_WIDTH];
+
+	/** Line length and number of peaks in current line. */
+	private int length_ = 0, numColumns_ = 0;
+
+	/**
+	 * Creates STH file writer.
+	 *
+	 * @param file
+	 *            Output STH file.
+	 * @throws IOException
+	 *             If file cannot be created.
+	 */
+	public StressHistoryWriter(Path file) throws IOException {
+		writer_ = Files.newBufferedWriter(file, Charset.defaultCharset());
+		DecimalFormatSymbols symbols = format_.getDecimalFormatSymbols();
+		zeroDigit_ = symbols.getZeroDigit();
+		decimalSeparator_ = symbols.getDecimalSeparator();
+		minusSign_ = symbols.getMinusSign();
+	}
+
+	/**
+	 * Writes the given line as it is. This is used for writing file headers.
+	 *
+	 * @param line
+	 *            Line to write.
+	 * @throws IOException
+	 *             If exception occurs during writing.
+	 */
+	public void writeLine(String line) throws IOException {
+		endFlight();
+		writer_.write(line);
+		writer_.newLine();
+	}
+
+	/**
+	 * Writes flight header. Any incomplete peak line of the previous flight is terminated.
+	 *
+	 * @param validity
+	 *            Flight validity.
+	 * @param blockSize
+	 *            Block size.
+	 * @param numPeaks
+	 *            Number of peaks of the flight.
+	 * @param name
+	 *            Flight name. <code>TF_</code> prefix is removed if present.
+	 * @param severity
+	 *            Flight severity.
+	 * @throws IOException
+	 *             If exception occurs during writing.
+	 */
+	public void writeFlightHeader(double validity, double blockSize, int numPeaks, String name, String severity) throws IOException {
+
+		// terminate previous flight
+		endFlight();
+
+		// write first line
+		appendColumn(validity);
+		appendColumn(blockSize);
+		writer_.write(line_, 0, length_);
+		writer_.newLine();
+		length_ = 0;
+
+		// write second line
+		String peaks = Integer.toString(numPeaks);
+		appendSpaces(COLUMN_WIDTH - peaks.length());
+		ensureCapacity(peaks.length());
+		peaks.getChars(0, peaks.length(), line_, length_);
+		length_ += peaks.length();
+		appendSpaces(NAME_OFFSET);
+		writer_.write(line_, 0, length_);
+		length_ = 0;
+		writer_.write(name.startsWith("TF_") ? name.substring(3) : name);
+		writer_.write(' ');
+		writer_.write(severity);
+		writer_.newLine();
+	}
+
+	/**
+	 * Writes a peak of the current flight. Lines are terminated after every {@link #NUM_COLS} peaks.
+	 *
+	 * @param peak
+	 *            Peak value.
+	 * @throws IOException
+	 *             If exception occurs during writing.
+	 */
+	public void writePeak(double peak) throws IOException {
+		appendColumn(peak);
+		numColumns_++;
+		if (numColumns_ == NUM_COLS) {
+			endFlight();
+		}
+	}
+
+	/**
+	 * Writes all peaks of the current flight.
+	 *
+	 * @param peaks
+	 *            Peak values.
+	 * @param numPeaks
+	 *            Number of peaks to write.
+	 * @throws IOException
+	 *             If exception occurs during writing.
+	 */
+	public void writePeaks(double[] peaks, int numPeaks) throws IOException {
+		for (int i = 0; i < numPeaks; i++) {
+			writePeak(peaks[i]);
+		}
+		endFlight();
+	}
+
+	/**
+	 * Terminates the incomplete peak line of the current flight (if any).
+	 *
+	 * @throws IOException
+	 *             If exception occurs during writing.
+	 */
+	public void endFlight() throws IOException {
+		if (numColumns_ == 0)
+			return;
+		writer_.write(line_, 0, length_);
+		writer_.newLine();
+		length_ = 0;
+		numColumns_ = 0;
+	}
+
+	/**
+	 * Formats the given value as a right aligned STH column. This can be used to write non-standard flight headers with {@link #writeLine(String)}.
+	 *
+	 * @param value
+	 *            Value to format.
+	 * @return The formatted column.
+	 */
+	public String formatColumn(double value) {
+		int start = length_;
+		appendColumn(value);
+		String column = new String(line_, start, length_ - start);
+		length_ = start;
+		return column;
+	}
+
+	/**
+	 * Returns the value which is read back from the file when the given value is written (i.e. the value rounded to 2 decimal places). Negative zeros are returned as zero.
+	 *
+	 * @param value
+	 *            Value to round.
+	 * @return The rounded value.
+	 */
+	public double getWrittenValue(double value) {
+		return getWrittenValue(value, format_);
+	}
+
+	/**
+	 * Returns the value which is read back from an STH file when the given value is written (i.e. the value rounded to 2 decimal places). Negative zeros are returned as zero. This can be used
+	 * to round values without creating a file writer.
+	 *
+	 * @param value
+	 *            Value to round.
+	 * @param format
+	 *            Decimal format with pattern <code>0.00</code>. Used only for values which cannot be rounded exactly with the fast path.
+	 * @return The rounded value.
+	 */
+	public static double getWrittenValue(double value, DecimalFormat format) {
+
+		// value cannot be rounded with fast path
+		double abs = Math.abs(value);
+		double scaled = abs * 100.0;
+		long integer = (long) scaled;
+		double fraction = scaled - integer;
+		if (!(abs < MAX_FAST_VALUE) || Math.abs(fraction - 0.5) < TIE_TOLERANCE)
+			return Double.parseDouble(format.format(value)) + 0.0;
+
+		// round to 2 decimal places
+		long rounded = fraction > 0.5 ? integer + 1 : integer;
+		if (rounded == 0L)
+			return 0.0;
+		return value < 0.0 ? -rounded / 100.0 : rounded / 100.0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			endFlight();
+		}
+		finally {
+			writer_.close();
+		}
+	}
+
+	/**
+	 * Appends the given value to line buffer as a right aligned column.
+	 *
+	 * @param value
+	 *            Value to append.
+	 */
+	private void appendColumn(double value) {
+
+		// value cannot be formatted with fast path
+		double abs = Math.abs(value);
+		double scaled = abs * 100.0;
+		long integer = (long) scaled;
+		double fraction = scaled - integer;
+		if (!(abs < MAX_FAST_VALUE) || Math.abs(fraction - 0.5) < TIE_TOLERANCE) {
+			String text = format_.format(value);
+			appendSpaces(COLUMN_WIDTH - text.length());
+			ensureCapacity(text.length());
+			text.getChars(0, text.length(), line_, length_);
+			length_ += text.length();
+			return;
+		}
+
+		// round to 2 decimal places
+		long rounded = fraction > 0.5 ? integer + 1 : integer;
+		boolean negative = Double.doubleToRawLongBits(value) < 0L;
+
+		// count integer digits
+		long whole = rounded / 100L;
+		int digits = 1;
+		for (long w = whole / 10L; w > 0L; w /= 10L) {
+			digits++;
+		}
+
+		// pad
+		int width = digits + 3 + (negative ? 1 : 0);
+		appendSpaces(COLUMN_WIDTH - width);
+		ensureCapacity(width);
+
+		// write digits from right to left
+		int end = length_ + width;
+		int i = end;
+		long decimals = rounded % 100L;
+		line_[--i] = (char) (zeroDigit_ + decimals % 10L);
+		line_[--i] = (char) (zeroDigit_ + decimals / 10L);
+		line_[--i] = decimalSeparator_;
+		do {
+			line_[--i] = (char) (zeroDigit_ + whole % 10L);
+			whole /= 10L;
+		}
+		while (whole > 0L);
+		if (negative) {
+			line_[--i] = minusSign_;
+		}
+		length_ = end;
+	}
+
+	/**
+	 * Appends the given number of spaces to line buffer.
+	 *
+	 * @param count
+	 *            Number of spaces. Nothing is appended if this is not positive.
+	 */
+	private void appendSpaces(int count) {
+		if (count <= 0)
+			return;
+		ensureCapacity(count);
+		for (int i = 0; i < count; i++) {
+			line_[length_++] = ' ';
+		}
+	}
+
+	/**
+	 * Ensures that the given number of characters can be appended to line buffer.
+	 *
+	 * @param count
+	 *            Number of characters to append.
+	 */
+	private void ensureCapacity(int count) {
+		if (length_ + count > line_.length) {
+			char[] line = new char[Math.max(line_.length * 2, length_ + count)];
+			System.arraycopy(line_, 0, line, 0, length_);
+			line_ = line;
+		}
+	}
+}
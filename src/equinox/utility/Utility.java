@@ -24,6 +24,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.nio.MappedByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.DirectoryStream;
@@ -92,6 +94,7 @@ import com.jcraft.jsch.Session;
 import com.zaxxer.hikari.HikariConfig;
 
 import equinox.Equinox;
+import equinox.data.LoadCaseStressCube;
 import equinox.data.Settings;
 import equinox.data.fileType.SpectrumItem;
 import equinox.plugin.FileType;
@@ -155,6 +158,13 @@ public class Utility {
 		// create pool
 		Equinox.DBC_POOL = new HikariEngine(config);
 
+		// clear caches of previous workspace
+		Equinox.SPECTRUM_CACHE.clear();
+		Equinox.FLIGHT_CACHE.clear();
+		Equinox.GEOMETRY_CACHE.clear();
+		Equinox.EQUIVALENT_STRESS_CACHE.clear();
+		LoadCaseStressCube.clear();
+
 		// check connection
 		try (Connection connection = Equinox.DBC_POOL.getConnection()) {
 			try (Statement statement = connection.createStatement()) {
@@ -846,6 +856,28 @@ public class Utility {
 		}
 	}
 
+	/**
+	 * Releases the given mapped buffer without waiting for garbage collection (so that the file can be deleted on Windows). Nothing is done if this is not supported by the running VM.
+	 *
+	 * @param buffer
+	 *            Buffer to release. Can be null.
+	 */
+	public static void unmap(MappedByteBuffer buffer) {
+		if (buffer == null)
+			return;
+		try {
+			Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+			cleanerMethod.setAccessible(true);
+			Object cleaner = cleanerMethod.invoke(buffer);
+			if (cleaner != null) {
+				cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+		}
+		catch (Exception e) {
+			// not supported (buffer is released by garbage collector)
+		}
+	}
+
 	/**
 	 * Creates and returns a working directory.
 	 *
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.viewer;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import equinox.data.ElementType;
+import equinox.data.ModelGeometry;
+import inf.v3d.obj.Object3D;
+import vtk.vtkCellArray;
+import vtk.vtkDoubleArray;
+import vtk.vtkExtractEdges;
+import vtk.vtkIdTypeArray;
+import vtk.vtkLODActor;
+import vtk.vtkPoints;
+import vtk.vtkPolyData;
+import vtk.vtkPolyDataMapper;
+import vtk.vtkQuadricClustering;
+import vtk.vtkUnsignedCharArray;
+
+/**
+ * Class for element mesh object to be displayed in the viewer. All given elements are merged into a single polygonal mesh where element grids are shared between cells. Arrays are passed to VTK in
+ * bulk, and a decimated copy of the mesh is rendered while the view is being rotated or zoomed in order to keep the viewer interactive. Cell colors can be changed without rebuilding the mesh.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 16:41:09
+ */
+public class ElementMesh extends Object3D {
+
+	/** Number of divisions of the decimated mesh along each axis. */
+	private static final int LOD_DIVISIONS = 64;
+
+	/** Number of colors of the lookup table. */
+	private static final int NUM_COLORS = 256;
+
+	/** Hue range of the lookup table (same as the default lookup table of 3D objects). */
+	private static final float MIN_HUE = 0.6666667f, MAX_HUE = 0f;
+
+	/** A/C model geometry. */
+	private final ModelGeometry geometry_;
+
+	/** Indices of elements in the order given. */
+	private final int[] elements_;
+
+	/** Extrusion widths of BEAM and ROD elements. */
+	private final double beamWidth_, rodWidth_;
+
+	/** Positions of elements of cells in the given element list. */
+	private final int[] cellElements_;
+
+	/** Mesh data. */
+	private final vtkPolyData polyData_ = new vtkPolyData();
+
+	/** Mapper of decimated mesh. */
+	private final vtkPolyDataMapper lodMapper_ = new vtkPolyDataMapper();
+
+	/** Mesh outlines (null if not created). */
+	private Outlines outlines_;
+
+	/**
+	 * Creates element mesh and registers it to the viewer. Elements of unsupported types or with grids which are not in the model are skipped.
+	 *
+	 * @param geometry
+	 *            A/C model geometry.
+	 * @param elements
+	 *            Indices of elements.
+	 * @param beamWidth
+	 *            Extrusion width of BEAM elements.
+	 * @param rodWidth
+	 *            Extrusion width of ROD elements.
+	 */
+	public ElementMesh(ModelGeometry geometry, ArrayList<Integer> elements, double beamWidth, double rodWidth) {
+
+		// set inputs
+		geometry_ = geometry;
+		elements_ = elements.stream().mapToInt(Integer::intValue).toArray();
+		beamWidth_ = beamWidth;
+		rodWidth_ = rodWidth;
+
+		// replace actor with level of detail actor
+		unregister();
+		actor_ = new vtkLODActor();
+		actor_.SetMapper(polyDataMapper_);
+
+		// initialize point indices of grids (extruded BEAM and ROD points are created per grid and side)
+		int numGrids = geometry.getNumberOfModelGrids();
+		int[] points = new int[numGrids], beamPoints = null, rodPoints = null;
+		Arrays.fill(points, -1);
+
+		// initialize arrays
+		double[] coords = new double[3 * Math.min(numGrids, 4 * elements_.length + 1)];
+		int[] cells = new int[5 * elements_.length];
+		int[] cellElements = new int[elements_.length];
+		int[] grids = new int[4], sides = { -1, 1, 1, -1 };
+		int numPoints = 0, numCells = 0, size = 0;
+
+		// loop over elements
+		for (int i = 0; i < elements_.length; i++) {
+
+			// get grid indices
+			int element = elements_[i];
+			int numElementGrids = geometry.getNumberOfGrids(element);
+			boolean valid = numElementGrids > 0;
+			for (int j = 0; j < numElementGrids && valid; j++) {
+				grids[j] = geometry.getGridIndex(geometry.getGridID(element, j));
+				valid = grids[j] >= 0;
+			}
+			if (!valid) {
+				continue;
+			}
+
+			// BEAM or ROD (extruded along y axis)
+			String type = geometry.getElementType(element);
+			if (type.equals(ElementType.BEAM) || type.equals(ElementType.ROD)) {
+				boolean isBeam = type.equals(ElementType.BEAM);
+				double width = isBeam ? beamWidth : rodWidth;
+				int[] extruded = isBeam ? beamPoints : rodPoints;
+				if (extruded == null) {
+					extruded = new int[2 * numGrids];
+					Arrays.fill(extruded, -1);
+					if (isBeam) {
+						beamPoints = extruded;
+					}
+					else {
+						rodPoints = extruded;
+					}
+				}
+				cells[size++] = 4;
+				for (int j = 0; j < 4; j++) {
+					int grid = grids[j < 2 ? 0 : 1];
+					int key = 2 * grid + (sides[j] < 0 ? 0 : 1);
+					if (extruded[key] < 0) {
+						coords = ensureCapacity(coords, 3 * (numPoints + 1));
+						coords[3 * numPoints] = geometry.getCoordinate(grid, 0);
+						coords[3 * numPoints + 1] = geometry.getCoordinate(grid, 1) + sides[j] * width;
+						coords[3 * numPoints + 2] = geometry.getCoordinate(grid, 2);
+						extruded[key] = numPoints++;
+					}
+					cells[size++] = extruded[key];
+				}
+			}
+
+			// other elements
+			else {
+				cells[size++] = numElementGrids;
+				for (int j = 0; j < numElementGrids; j++) {
+					int grid = grids[j];
+					if (points[grid] < 0) {
+						coords = ensureCapacity(coords, 3 * (numPoints + 1));
+						for (int axis = 0; axis < 3; axis++) {
+							coords[3 * numPoints + axis] = geometry.getCoordinate(grid, axis);
+						}
+						points[grid] = numPoints++;
+					}
+					cells[size++] = points[grid];
+				}
+			}
+
+			// add cell
+			cellElements[numCells++] = i;
+		}
+		cellElements_ = Arrays.copyOf(cellElements, numCells);
+
+		// create points
+		vtkDoubleArray coordArray = new vtkDoubleArray();
+		coordArray.SetNumberOfComponents(3);
+		coordArray.SetJavaArray(Arrays.copyOf(coords, 3 * numPoints));
+		vtkPoints pointSet = new vtkPoints();
+		pointSet.SetData(coordArray);
+
+		// create cells
+		vtkIdTypeArray cellArray = new vtkIdTypeArray();
+		cellArray.SetNumberOfValues(size);
+		for (int i = 0; i < size; i++) {
+			cellArray.SetValue(i, cells[i]);
+		}
+		vtkCellArray polys = new vtkCellArray();
+		polys.SetCells(numCells, cellArray);
+
+		// create mesh
+		polyData_.SetPoints(pointSet);
+		polyData_.SetPolys(polys);
+		polyDataMapper_.SetInput(polyData_);
+		polyDataMapper_.SetScalarVisibility(0);
+
+		// create decimated mesh
+		vtkQuadricClustering clustering = new vtkQuadricClustering();
+		clustering.SetInput(polyData_);
+		clustering.SetNumberOfDivisions(LOD_DIVISIONS, LOD_DIVISIONS, LOD_DIVISIONS);
+		clustering.CopyCellDataOn();
+		lodMapper_.SetInput(clustering.GetOutput());
+		lodMapper_.SetScalarVisibility(0);
+		((vtkLODActor) actor_).AddLODMapper(lodMapper_);
+
+		// register to viewer
+		register();
+	}
+
+	/**
+	 * Returns true if this mesh was created with the given inputs.
+	 *
+	 * @param geometry
+	 *            A/C model geometry.
+	 * @param elements
+	 *            Indices of elements.
+	 * @param beamWidth
+	 *            Extrusion width of BEAM elements.
+	 * @param rodWidth
+	 *            Extrusion width of ROD elements.
+	 * @return True if this mesh was created with the given inputs.
+	 */
+	public boolean isMeshOf(ModelGeometry geometry, ArrayList<Integer> elements, double beamWidth, double rodWidth) {
+		if (geometry_ != geometry || beamWidth_ != beamWidth || rodWidth_ != rodWidth || elements_.length != elements.size())
+			return false;
+		for (int i = 0; i < elements_.length; i++) {
+			if (elements_[i] != elements.get(i))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns true if outlines of this mesh are created.
+	 *
+	 * @return True if outlines of this mesh are created.
+	 */
+	public boolean hasOutlines() {
+		return outlines_ != null;
+	}
+
+	/**
+	 * Creates outlines of this mesh and registers them to the viewer.
+	 */
+	public void createOutlines() {
+		if (outlines_ == null) {
+			outlines_ = new Outlines(polyData_);
+		}
+	}
+
+	/**
+	 * Sets cell colors from the given element values. Values are mapped to colors with the default lookup table of 3D objects. Elements without values are colored black. The mesh is not rebuilt.
+	 *
+	 * @param values
+	 *            Element values in the order of elements given to the constructor. <code>NaN</code> for elements without values.
+	 * @param minVal
+	 *            Minimum value of the lookup table.
+	 * @param maxVal
+	 *            Maximum value of the lookup table.
+	 */
+	public void setColors(double[] values, double minVal, double maxVal) {
+
+		// create colors
+		byte[] colors = new byte[3 * cellElements_.length];
+		double scale = maxVal > minVal ? NUM_COLORS / (maxVal - minVal) : 0.0;
+		for (int i = 0; i < cellElements_.length; i++) {
+			double value = values[cellElements_[i]];
+			if (Double.isNaN(value)) {
+				continue;
+			}
+			int index = (int) Math.max(0.0, Math.min(NUM_COLORS - 1, Math.floor((value - minVal) * scale)));
+			int rgb = Color.HSBtoRGB(MIN_HUE + (MAX_HUE - MIN_HUE) * index / (NUM_COLORS - 1), 1f, 1f);
+			colors[3 * i] = (byte) (rgb >> 16);
+			colors[3 * i + 1] = (byte) (rgb >> 8);
+			colors[3 * i + 2] = (byte) rgb;
+		}
+
+		// set colors
+		vtkUnsignedCharArray colorArray = new vtkUnsignedCharArray();
+		colorArray.SetNumberOfComponents(3);
+		colorArray.SetJavaArray(colors);
+		polyData_.GetCellData().SetScalars(colorArray);
+		polyData_.Modified();
+		polyDataMapper_.SetScalarVisibility(1);
+		lodMapper_.SetScalarVisibility(1);
+	}
+
+	@Override
+	public void translate(double x, double y, double z) {
+		actor_.AddPosition(x, y, z);
+		if (outlines_ != null) {
+			outlines_.translate(x, y, z);
+		}
+	}
+
+	/**
+	 * Ensures that the given array has the given capacity.
+	 *
+	 * @param array
+	 *            Array.
+	 * @param capacity
+	 *            Required capacity.
+	 * @return The given array, or a larger copy of it.
+	 */
+	private static double[] ensureCapacity(double[] array, int capacity) {
+		if (array.length >= capacity)
+			return array;
+		return Arrays.copyOf(array, Math.max(capacity, 2 * array.length));
+	}
+
+	/**
+	 * Inner class for mesh outlines. Outlines are rendered with a level of detail actor so that they are also simplified while the view is being rotated or zoomed.
+	 *
+	 * @author Murat Artim
+	 * @date 18 Oct 2026
+	 * @time 16:41:09
+	 */
+	private static class Outlines extends Object3D {
+
+		/**
+		 * Creates mesh outlines and registers them to the viewer.
+		 *
+		 * @param polyData
+		 *            Mesh data.
+		 */
+		public Outlines(vtkPolyData polyData) {
+
+			// replace actor with level of detail actor
+			unregister();
+			actor_ = new vtkLODActor();
+			actor_.SetMapper(polyDataMapper_);
+
+			// extract edges
+			vtkExtractEdges edges = new vtkExtractEdges();
+			edges.SetInput(polyData);
+			polyDataMapper_.SetInput(edges.GetOutput());
+			polyDataMapper_.SetScalarVisibility(0);
+			setColor(0.0, 0.0, 0.0);
+
+			// register to viewer
+			register();
+		}
+
+		@Override
+		public void translate(double x, double y, double z) {
+			actor_.AddPosition(x, y, z);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link FlightCache}.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 22:05:13
+ */
+public class FlightCacheTest {
+
+	/** Database URL. */
+	private static final String URL = "jdbc:derby:memory:flightCacheTest;user=aurora";
+
+	/** Database connection. */
+	private Connection connection_;
+
+	/**
+	 * Creates peak tables of two stress sequences with two flights each.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		connection_ = DriverManager.getConnection(URL + ";create=true");
+		try (Statement statement = connection_.createStatement()) {
+			for (int sthID = 1; sthID <= 2; sthID++) {
+				statement.executeUpdate("CREATE TABLE AURORA.STH_PEAKS_" + sthID
+						+ "(FLIGHT_ID INT NOT NULL, PEAK_NUM INT NOT NULL, PEAK_VAL DOUBLE NOT NULL, ONEG_STRESS DOUBLE NOT NULL, INC_STRESS DOUBLE NOT NULL, DP_STRESS DOUBLE NOT NULL, DT_STRESS DOUBLE NOT NULL, ONEG_EVENT VARCHAR(50), INC_EVENT VARCHAR(100), SEGMENT VARCHAR(50), SEGMENT_NUM INT)");
+				String sql = "insert into sth_peaks_" + sthID + "(flight_id, peak_num, peak_val, oneg_stress, inc_stress, dp_stress, dt_stress, segment, segment_num) values(?, ?, ?, 0, 0, 0, 0, 'CRUISE', 1)";
+				try (PreparedStatement insert = connection_.prepareStatement(sql)) {
+					for (int flightID = 1; flightID <= 2; flightID++) {
+						for (int peakNum = 0; peakNum < 10; peakNum++) {
+							insert.setInt(1, flightID);
+							insert.setInt(2, peakNum);
+							insert.setDouble(3, sthID * 100.0 + flightID * 10.0 + peakNum);
+							insert.executeUpdate();
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Drops the in-memory database.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@After
+	public void tearDown() throws Exception {
+		connection_.close();
+		try {
+			DriverManager.getConnection("jdbc:derby:memory:flightCacheTest;drop=true");
+		}
+		catch (SQLException e) {
+			// database dropped
+		}
+	}
+
+	/**
+	 * Removing a stress sequence with cached (and recently accessed) flights must evict only its own flights.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testRemoveSTHWithCachedFlights() throws Exception {
+
+		// cache flights of both stress sequences and access them again (changes access order)
+		FlightCache cache = new FlightCache(Long.MAX_VALUE);
+		FlightCache.Peaks removed = cache.getPeaks(connection_, 1, 1);
+		cache.getPeaks(connection_, 1, 2);
+		FlightCache.Peaks kept = cache.getPeaks(connection_, 2, 1);
+		assertSame(removed, cache.getPeaks(connection_, 1, 1));
+		assertEquals(10, removed.getNumberOfPeaks());
+		assertEquals(3, cache.getNumberOfFlights());
+
+		// delete stress sequence
+		cache.remove(1);
+		assertEquals(1, cache.getNumberOfFlights());
+
+		// flights of other stress sequence are still cached
+		assertSame(kept, cache.getPeaks(connection_, 2, 1));
+
+		// flights of deleted stress sequence are decoded again
+		assertNotSame(removed, cache.getPeaks(connection_, 1, 1));
+	}
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import equinox.data.ui.QVLVPosition;
+
+/**
+ * Test class for {@link ModelSpatialIndex}. Element selections of the index on a synthetic mesh are compared against the brute-force SQL queries which were used before the index: for each element,
+ * the grids of the element satisfying the coordinate range or frame/stringer position condition are counted, and the element is selected if all of its grids satisfy the condition.
+ * <p>
+ * The mesh is a jittered structured grid with QUAD, SHEAR, TRIA, BEAM and ROD elements, non-contiguous grid and element IDs, grids without frame/stringer positions, an element referring to a
+ * missing grid and an element of unsupported type.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 02:47:36
+ */
+public class ModelSpatialIndexTest {
+
+	/** Database URL. */
+	private static final String URL = "jdbc:derby:memory:modelSpatialIndexTest;user=aurora";
+
+	/** A/C model ID. */
+	private static final int MODEL_ID = 1;
+
+	/** Number of grids along the axes of the structured grid. */
+	private static final int NX = 12, NY = 9, NZ = 3;
+
+	/** Grid spacing. */
+	private static final double SPACING = 10.0;
+
+	/** Number of random queries. */
+	private static final int NUM_QUERIES = 10;
+
+	/** Database connection. */
+	private Connection connection_;
+
+	/** Random number generator (seeded, so that the mesh and queries are reproducible). */
+	private final Random random_ = new Random(20181019L);
+
+	/**
+	 * Creates the synthetic mesh.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Before
+	public void setUp() throws Exception {
+
+		// create tables
+		connection_ = DriverManager.getConnection(URL + ";create=true");
+		try (Statement statement = connection_.createStatement()) {
+			statement.executeUpdate("CREATE TABLE AURORA.GRIDS_" + MODEL_ID + "(GID INT NOT NULL, X_COORD DOUBLE NOT NULL, Y_COORD DOUBLE NOT NULL, Z_COORD DOUBLE NOT NULL, QV_POS VARCHAR(20), LV_POS VARCHAR(20), PRIMARY KEY(GID))");
+			statement.executeUpdate("CREATE TABLE AURORA.ELEMENTS_" + MODEL_ID + "(EID INT NOT NULL, EL_TYPE VARCHAR(20) NOT NULL, PID INT NOT NULL, G1 INT, G2 INT, G3 INT, G4 INT, PRIMARY KEY(EID))");
+		}
+
+		// insert grids (coordinates are jittered, except for the first layer which lies exactly on the grid lines)
+		try (PreparedStatement insert = connection_.prepareStatement("insert into grids_" + MODEL_ID + " values(?, ?, ?, ?, ?, ?)")) {
+			for (int i = 0; i < NX; i++) {
+				for (int j = 0; j < NY; j++) {
+					for (int k = 0; k < NZ; k++) {
+						double jitter = k == 0 ? 0.0 : 0.4 * SPACING;
+						insert.setInt(1, getGridID(i, j, k));
+						insert.setDouble(2, i * SPACING + jitter * (random_.nextDouble() - 0.5));
+						insert.setDouble(3, j * SPACING + jitter * (random_.nextDouble() - 0.5));
+						insert.setDouble(4, k * SPACING + jitter * (random_.nextDouble() - 0.5));
+						insert.setString(5, k == NZ - 1 ? null : "FR" + i / 2);
+						insert.setString(6, k == NZ - 1 ? null : "STR" + j / 3);
+						insert.executeUpdate();
+					}
+				}
+			}
+		}
+
+		// insert elements
+		try (PreparedStatement insert = connection_.prepareStatement("insert into elements_" + MODEL_ID + " values(?, ?, 1, ?, ?, ?, ?)")) {
+			int eid = 1000;
+			for (int i = 0; i < NX - 1; i++) {
+				for (int j = 0; j < NY - 1; j++) {
+					for (int k = 0; k < NZ; k++) {
+
+						// skin (QUAD or 2 TRIAs)
+						if ((i + j) % 5 == 0) {
+							insertElement(insert, eid += 3, ElementType.TRIA, getGridID(i, j, k), getGridID(i + 1, j, k), getGridID(i + 1, j + 1, k), 0);
+							insertElement(insert, eid += 3, ElementType.TRIA, getGridID(i, j, k), getGridID(i + 1, j + 1, k), getGridID(i, j + 1, k), 0);
+						}
+						else {
+							insertElement(insert, eid += 3, ElementType.QUAD, getGridID(i, j, k), getGridID(i + 1, j, k), getGridID(i + 1, j + 1, k), getGridID(i, j + 1, k));
+						}
+
+						// stringers (BEAM) and frames (ROD)
+						insertElement(insert, eid += 3, ElementType.BEAM, getGridID(i, j, k), getGridID(i + 1, j, k), 0, 0);
+						insertElement(insert, eid += 3, ElementType.ROD, getGridID(i, j, k), getGridID(i, j + 1, k), 0, 0);
+
+						// webs (SHEAR)
+						if (k < NZ - 1) {
+							insertElement(insert, eid += 3, ElementType.SHEAR, getGridID(i, j, k), getGridID(i + 1, j, k), getGridID(i + 1, j, k + 1), getGridID(i, j, k + 1));
+						}
+					}
+				}
+			}
+
+			// element with missing grid and element of unsupported type
+			insertElement(insert, eid += 3, ElementType.BEAM, getGridID(0, 0, 0), 999999, 0, 0);
+			insertElement(insert, eid += 3, "HEXA", getGridID(0, 0, 0), getGridID(1, 0, 0), 0, 0);
+		}
+	}
+
+	/**
+	 * Drops the in-memory database.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@After
+	public void tearDown() throws Exception {
+		connection_.close();
+		try {
+			DriverManager.getConnection("jdbc:derby:memory:modelSpatialIndexTest;drop=true");
+		}
+		catch (SQLException e) {
+			// database dropped
+		}
+	}
+
+	/**
+	 * Tests random coordinate boxes. Some axes are left unbounded, as in the element group creation from coordinates, and some bounds are exactly on the coordinates of grids.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testBoxes() throws Exception {
+
+		// create index
+		ModelGeometry geometry = new ModelGeometry(connection_, MODEL_ID);
+		ModelSpatialIndex index = new ModelSpatialIndex(connection_, geometry);
+
+		// loop over queries
+		int numSelected = 0;
+		String[] columns = { "x_coord", "y_coord", "z_coord" };
+		double[] extents = { (NX - 1) * SPACING, (NY - 1) * SPACING, (NZ - 1) * SPACING };
+		for (int q = 0; q < NUM_QUERIES; q++) {
+
+			// create box and equivalent condition
+			double[] min = new double[3], max = new double[3];
+			String condition = "";
+			for (int axis = 0; axis < 3; axis++) {
+
+				// unbounded
+				if (random_.nextInt(4) == 0) {
+					min[axis] = Double.NEGATIVE_INFINITY;
+					max[axis] = Double.POSITIVE_INFINITY;
+					continue;
+				}
+
+				// bounded (on grid lines for every other query)
+				double from = extents[axis] * (1.2 * random_.nextDouble() - 0.1);
+				double to = from + extents[axis] * random_.nextDouble();
+				if (q % 2 == 0) {
+					from = Math.rint(from / SPACING) * SPACING;
+					to = Math.rint(to / SPACING) * SPACING;
+				}
+				min[axis] = from;
+				max[axis] = to;
+				condition += " and (" + columns[axis] + " >= " + from + " and " + columns[axis] + " <= " + to + ")";
+			}
+
+			// compare
+			int[] expected = selectBySQL(condition);
+			assertArrayEquals("Box query " + q + condition, expected, getElementIDs(geometry, index.getElements(index.getGridsInBox(min, max))));
+			numSelected += expected.length;
+		}
+
+		// queries should select elements
+		assertTrue(numSelected > 0);
+	}
+
+	/**
+	 * Tests random sets of frame/stringer positions, including positions which don't exist in the model.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testPositions() throws Exception {
+
+		// create index
+		ModelGeometry geometry = new ModelGeometry(connection_, MODEL_ID);
+		ModelSpatialIndex index = new ModelSpatialIndex(connection_, geometry);
+
+		// loop over queries
+		int numSelected = 0;
+		for (int q = 0; q < NUM_QUERIES; q++) {
+
+			// create positions and equivalent condition
+			List<QVLVPosition> positions = new ArrayList<>();
+			String condition = " and (";
+			int numPositions = 1 + random_.nextInt(12);
+			for (int p = 0; p < numPositions; p++) {
+				String frame = "FR" + random_.nextInt(NX / 2 + 1);
+				String stringer = "STR" + random_.nextInt(NY / 3 + 1);
+				positions.add(new QVLVPosition(frame, stringer));
+				condition += "(qv_pos = '" + frame + "' and lv_pos = '" + stringer + "') or ";
+			}
+			condition = condition.substring(0, condition.length() - " or ".length()) + ")";
+
+			// compare
+			int[] expected = selectBySQL(condition);
+			assertArrayEquals("Position query " + q + condition, expected, getElementIDs(geometry, index.getElements(index.getGridsAtPositions(positions))));
+			numSelected += expected.length;
+		}
+
+		// queries should select elements
+		assertTrue(numSelected > 0);
+	}
+
+	/**
+	 * Selects the elements whose grids all satisfy the given condition with the brute-force SQL queries of the element group creation tasks.
+	 *
+	 * @param condition
+	 *            Grid condition (appended to the grid ID condition).
+	 * @return IDs of selected elements in ascending order.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private int[] selectBySQL(String condition) throws Exception {
+
+		// prepare statements to count grids of elements satisfying the condition
+		String sql = "select gid from grids_" + MODEL_ID + " where (gid = ? or gid = ? or gid = ? or gid = ?)" + condition;
+		try (PreparedStatement queryQuadShear = connection_.prepareStatement(sql)) {
+			sql = "select gid from grids_" + MODEL_ID + " where (gid = ? or gid = ? or gid = ?)" + condition;
+			try (PreparedStatement queryTria = connection_.prepareStatement(sql)) {
+				sql = "select gid from grids_" + MODEL_ID + " where (gid = ? or gid = ?)" + condition;
+				try (PreparedStatement queryBeamRod = connection_.prepareStatement(sql)) {
+
+					// loop over elements
+					ArrayList<Integer> eids = new ArrayList<>();
+					try (Statement statement = connection_.createStatement()) {
+						try (ResultSet elements = statement.executeQuery("select eid, el_type, g1, g2, g3, g4 from elements_" + MODEL_ID + " order by eid")) {
+							while (elements.next()) {
+
+								// get query
+								String type = elements.getString("el_type");
+								PreparedStatement query = null;
+								int numGrids = 0;
+								if (type.equals(ElementType.QUAD) || type.equals(ElementType.SHEAR)) {
+									query = queryQuadShear;
+									numGrids = 4;
+								}
+								else if (type.equals(ElementType.TRIA)) {
+									query = queryTria;
+									numGrids = 3;
+								}
+								else if (type.equals(ElementType.BEAM) || type.equals(ElementType.ROD)) {
+									query = queryBeamRod;
+									numGrids = 2;
+								}
+								else {
+									continue;
+								}
+
+								// count grids
+								for (int i = 0; i < numGrids; i++) {
+									query.setInt(i + 1, elements.getInt("g" + (i + 1)));
+								}
+								int num = 0;
+								try (ResultSet grids = query.executeQuery()) {
+									while (grids.next()) {
+										num++;
+									}
+								}
+
+								// all grids satisfy the condition
+								if (num == numGrids) {
+									eids.add(elements.getInt("eid"));
+								}
+							}
+						}
+					}
+					return eids.stream().mapToInt(Integer::intValue).toArray();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the IDs of the given elements.
+	 *
+	 * @param geometry
+	 *            A/C model geometry.
+	 * @param elements
+	 *            Element indices.
+	 * @return Element IDs.
+	 */
+	private static int[] getElementIDs(ModelGeometry geometry, int[] elements) {
+		int[] eids = new int[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			eids[i] = geometry.getElementID(elements[i]);
+		}
+		return eids;
+	}
+
+	/**
+	 * Inserts element.
+	 *
+	 * @param insert
+	 *            Insert statement.
+	 * @param eid
+	 *            Element ID.
+	 * @param type
+	 *            Element type.
+	 * @param g1
+	 *            Grid ID 1.
+	 * @param g2
+	 *            Grid ID 2.
+	 * @param g3
+	 *            Grid ID 3 (0 if not used).
+	 * @param g4
+	 *            Grid ID 4 (0 if not used).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void insertElement(PreparedStatement insert, int eid, String type, int g1, int g2, int g3, int g4) throws Exception {
+		insert.setInt(1, eid);
+		insert.setString(2, type);
+		insert.setInt(3, g1);
+		insert.setInt(4, g2);
+		insert.setInt(5, g3);
+		insert.setInt(6, g4);
+		insert.executeUpdate();
+	}
+
+	/**
+	 * Returns the ID of the given grid of the structured grid.
+	 *
+	 * @param i
+	 *            Grid index along x axis.
+	 * @param j
+	 *            Grid index along y axis.
+	 * @param k
+	 *            Grid index along z axis.
+	 * @return Grid ID.
+	 */
+	private static int getGridID(int i, int j, int k) {
+		return 7 + 10 * ((i * NY + j) * NZ + k);
+	}
+}
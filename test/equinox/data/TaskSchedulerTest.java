@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import equinox.data.TaskScheduler.Lane;
+
+/**
+ * Test class for {@link TaskScheduler}.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 02:14:05
+ */
+public class TaskSchedulerTest {
+
+	/**
+	 * Tests that tasks invoked from a thread of the same lane are run in the calling thread, so that a lane whose threads all wait for their own sub tasks doesn't block.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testNestedInvokeAll() throws Exception {
+
+		// create scheduler with single sub task thread
+		TaskScheduler scheduler = new TaskScheduler(1, 1);
+
+		// invoke sub tasks from within sub task lane
+		Future<List<String>> outer = scheduler.getExecutor(Lane.SUBTASK).submit(() -> {
+			List<String> threads = new ArrayList<>();
+			for (Future<String> future : scheduler.invokeAll(Lane.SUBTASK, createTasks(3))) {
+				threads.add(future.get());
+			}
+			threads.add(Thread.currentThread().getName());
+			return threads;
+		});
+
+		// all tasks run in the lane thread
+		List<String> threads = outer.get(10L, TimeUnit.SECONDS);
+		assertEquals(4, threads.size());
+		for (String thread : threads) {
+			assertEquals(threads.get(3), thread);
+		}
+		scheduler.shutdown();
+	}
+
+	/**
+	 * Tests that tasks invoked from another lane are run in the given lane.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testInvokeAllFromOtherLane() throws Exception {
+
+		// create scheduler
+		TaskScheduler scheduler = new TaskScheduler(1, 1);
+
+		// invoke sub tasks from within analysis lane
+		Future<List<String>> outer = scheduler.getExecutor(Lane.ANALYSIS).submit(() -> {
+			List<String> threads = new ArrayList<>();
+			for (Future<String> future : scheduler.invokeAll(Lane.SUBTASK, createTasks(2))) {
+				threads.add(future.get());
+			}
+			threads.add(Thread.currentThread().getName());
+			return threads;
+		});
+
+		// sub tasks run in sub task lane
+		List<String> threads = outer.get(10L, TimeUnit.SECONDS);
+		assertEquals(threads.get(0), threads.get(1));
+		assertFalse(threads.get(2).equals(threads.get(0)));
+		scheduler.shutdown();
+	}
+
+	/**
+	 * Creates tasks returning the name of their executing thread.
+	 *
+	 * @param numTasks
+	 *            Number of tasks.
+	 * @return The tasks.
+	 */
+	private static List<Callable<String>> createTasks(int numTasks) {
+		List<Callable<String>> tasks = new ArrayList<>();
+		for (int i = 0; i < numTasks; i++) {
+			tasks.add(() -> Thread.currentThread().getName());
+		}
+		return tasks;
+	}
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import equinox.dataServer.remote.data.FatigueMaterial;
+import equinox.dataServer.remote.data.LinearMaterial;
+import equinox.dataServer.remote.data.Material;
+import equinox.dataServer.remote.data.PreffasMaterial;
+
+/**
+ * Test class for {@link EquivalentStressSolver}. Expected values are derived by hand from the equations of the inbuilt engine, for sequences whose rainflow cycles and crack opening stresses can
+ * be traced on paper. All peaks are exactly representable in single precision, so results are expected within a relative tolerance of {@link #TOLERANCE}.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 00:21:37
+ */
+public class EquivalentStressSolverTest {
+
+	/** Relative tolerance. */
+	private static final double TOLERANCE = 1.0e-9;
+
+	/** Fatigue material parameters. */
+	private static final double P = 4.5, Q = 0.6;
+
+	/** Propagation material parameters. */
+	private static final double A = 0.7, B = 0.25, M = 3.2, FTY = 400.0, FTU = 500.0;
+
+	/**
+	 * Tests fatigue equivalent stress of constant amplitude flights. The equivalent stress equals the damage stress of the single cycle of the flight.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testFatigueConstantAmplitude() throws Exception {
+		EquivalentStressSolver solver = new EquivalentStressSolver(createFatigueMaterial());
+		solver.addTypicalFlight(new double[] { 0.0, 150.0 }, 2);
+		assertTrue(solver.solve(new int[] { 1, 1, 1, 1, 1 }, 5, null));
+		assertRelative(getDamageStress(150.0, 0.0), solver.getFatigueEquivalentStress());
+		assertEquals(-1.0, solver.getPreffasEquivalentStress(), 0.0);
+		assertEquals(150.0, solver.getMaxStress(), 0.0);
+		assertEquals(0.0, solver.getMinStress(), 0.0);
+		assertEquals(10, solver.getTotalPeaks());
+	}
+
+	/**
+	 * Tests fatigue equivalent stress of variable amplitude flights. The first flight is restructured to <code>0 60 30 120 10 100 40 80 0</code> (peak 20 is not a reversal), which closes the
+	 * cycles 60/30, 80/40, 100/10 and 120/0. Compressive cycles of the second flight have no damage.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testFatigueVariableAmplitude() throws Exception {
+
+		// solve
+		EquivalentStressSolver solver = new EquivalentStressSolver(createFatigueMaterial());
+		solver.addTypicalFlight(new double[] { 10.0, 100.0, 40.0, 80.0, 0.0, 60.0, 30.0, 120.0, 20.0 }, 9);
+		solver.addTypicalFlight(new double[] { -50.0, -10.0, -40.0, 70.0, -80.0 }, 5);
+		assertTrue(solver.solve(new int[] { 1, 2, 1, 1 }, 4, null));
+
+		// damage of first flight
+		double damage1 = getDamage(60.0, 30.0) + getDamage(80.0, 40.0) + getDamage(100.0, 10.0) + getDamage(120.0, 0.0);
+
+		// damage of second flight (restructured to -80 -10 -40 70 -80)
+		double damage2 = getDamage(-10.0, -40.0) + getDamage(70.0, -80.0);
+
+		// compare
+		assertRelative(100.0 * Math.pow((3.0 * damage1 + damage2) / 4.0, 1.0 / P), solver.getFatigueEquivalentStress());
+		assertEquals(-80.0 / 120.0, solver.getRRatio(), 0.0);
+	}
+
+	/**
+	 * Tests preffas equivalent stress and linear efficiency of constant amplitude flights with tensile minimum. The opening stress of all cycles is <code>max - (A + B * R) * (max - min)</code>.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testPropagationTensileMinimum() throws Exception {
+		double u = A + B * 0.2;
+		assertPropagation(createPreffasMaterial(), 20.0, 100.0, u * 80.0);
+		assertPropagation(createLinearMaterial(), 20.0, 100.0, u * 80.0);
+	}
+
+	/**
+	 * Tests preffas equivalent stress and linear efficiency of constant amplitude flights with compressive minimum. The opening stress depends on the compressive minimum for preffas, whereas
+	 * linear propagation uses the previous minimum cut off at 0.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testPropagationCompressiveMinimum() throws Exception {
+		double u = A * (1.0 + 2.0 * (1.0 - A) / A * 60.0 / (FTY + FTU));
+		assertPropagation(createPreffasMaterial(), -60.0, 100.0, u * 100.0);
+		assertPropagation(createLinearMaterial(), -60.0, 100.0, u * 100.0);
+	}
+
+	/**
+	 * Solves a sequence of 8 constant amplitude flights with validity of 8 and compares the results.
+	 *
+	 * @param material
+	 *            Propagation material.
+	 * @param min
+	 *            Minimum stress of the flights.
+	 * @param max
+	 *            Maximum stress of the flights.
+	 * @param effectiveRange
+	 *            Expected effective stress range of preffas (maximum minus crack opening stress).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void assertPropagation(Material material, double min, double max, double effectiveRange) throws Exception {
+
+		// solve
+		EquivalentStressSolver solver = new EquivalentStressSolver(material);
+		solver.addTypicalFlight(new double[] { min, max }, 2);
+		assertTrue(solver.solve(new int[] { 1, 1, 1, 1, 1, 1, 1, 1 }, 8, null));
+
+		// effective stress range of linear propagation (previous minimum is cut off at 0)
+		double cutoff = Math.max(min, 0.0);
+		double linearRange = (A + B * cutoff / max) * (max - cutoff);
+
+		// compare
+		assertRelative(effectiveRange / (0.9 * (A + 0.1 * B)), solver.getPreffasEquivalentStress());
+		assertRelative(8.0 * Math.pow(linearRange, M), solver.getLinearEfficiency());
+		assertEquals(-1.0, solver.getFatigueEquivalentStress(), 0.0);
+	}
+
+	/**
+	 * Returns the damage of the given cycle, relative to the reference stress of 100.
+	 *
+	 * @param max
+	 *            Maximum stress.
+	 * @param min
+	 *            Minimum stress.
+	 * @return Damage of the cycle.
+	 */
+	private static double getDamage(double max, double min) {
+		return max < 0.0 ? 0.0 : Math.pow(getDamageStress(max, min) / 100.0, P);
+	}
+
+	/**
+	 * Returns the damage stress of the given cycle.
+	 *
+	 * @param max
+	 *            Maximum stress.
+	 * @param min
+	 *            Minimum stress.
+	 * @return Damage stress.
+	 */
+	private static double getDamageStress(double max, double min) {
+		return Math.pow((max - min) / 0.9, Q) * Math.pow(max, 1.0 - Q);
+	}
+
+	/**
+	 * Asserts that the given values are equal within the relative tolerance.
+	 *
+	 * @param expected
+	 *            Expected value.
+	 * @param actual
+	 *            Actual value.
+	 */
+	private static void assertRelative(double expected, double actual) {
+		assertEquals(expected, actual, Math.abs(expected) * TOLERANCE);
+	}
+
+	/**
+	 * Creates fatigue material.
+	 *
+	 * @return Fatigue material.
+	 */
+	private static FatigueMaterial createFatigueMaterial() {
+		FatigueMaterial material = new FatigueMaterial(1L);
+		material.setP(P);
+		material.setQ(Q);
+		return material;
+	}
+
+	/**
+	 * Creates preffas material.
+	 *
+	 * @return Preffas material.
+	 */
+	private static PreffasMaterial createPreffasMaterial() {
+		PreffasMaterial material = new PreffasMaterial(2L);
+		material.setA(A);
+		material.setB(B);
+		material.setM(M);
+		material.setFty(FTY);
+		material.setFtu(FTU);
+		return material;
+	}
+
+	/**
+	 * Creates linear propagation material.
+	 *
+	 * @return Linear propagation material.
+	 */
+	private static LinearMaterial createLinearMaterial() {
+		LinearMaterial material = new LinearMaterial(3L);
+		material.setA(A);
+		material.setB(B);
+		material.setM(M);
+		material.setFty(FTY);
+		material.setFtu(FTU);
+		return material;
+	}
+}
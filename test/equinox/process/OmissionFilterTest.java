@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.DecimalFormat;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import equinox.utility.StressHistoryReader;
+import equinox.utility.StressHistoryWriter;
+
+/**
+ * Test class for {@link OmissionFilter}. The filter is compared against the outputs of <code>resources/scripts/omission.pl</code> stored under <code>test/equinox/process/omission</code>. Each
+ * <code>omission.sth.L.rfort</code> file is the unmodified script output of <code>perl omission.pl omission.sth L</code>.
+ * <p>
+ * The input sequence contains random flights with plateaus and zero peaks, a single peak flight, a constant flight, flights without any cycle exceeding the omission level (including mid values
+ * which are rounding ties), monotonic flights and ranges exactly equal to the omission levels.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 23:58:41
+ */
+public class OmissionFilterTest {
+
+	/** Directory of test files. */
+	private static final Path DIRECTORY = Paths.get("test", "equinox", "process", "omission");
+
+	/** Input STH file. */
+	private static final Path INPUT = DIRECTORY.resolve("omission.sth");
+
+	/** Temporary folder. */
+	@Rule
+	public TemporaryFolder temp_ = new TemporaryFolder();
+
+	/**
+	 * Tests omission level of 0.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testZeroOmission() throws Exception {
+		assertScriptOutput(0.0);
+	}
+
+	/**
+	 * Tests omission level of 5.5.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testSmallOmission() throws Exception {
+		assertScriptOutput(5.5);
+	}
+
+	/**
+	 * Tests omission level of 20.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testLargeOmission() throws Exception {
+		assertScriptOutput(20.0);
+	}
+
+	/**
+	 * Asserts that both the output STH file and the in-memory output peaks of the filter are identical to the script output for the given omission level.
+	 *
+	 * @param omissionLevel
+	 *            Omission level.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private void assertScriptOutput(double omissionLevel) throws Exception {
+
+		// read expected output
+		List<String> expected = Files.readAllLines(DIRECTORY.resolve("omission.sth." + omissionLevel + ".rfort"), Charset.defaultCharset());
+
+		// filter STH file
+		OmissionFilter filter = new OmissionFilter(omissionLevel);
+		Path output = filter.filter(INPUT, temp_.getRoot().toPath().resolve("omission.sth.rfort"), null);
+		assertEquals(expected, Files.readAllLines(output, Charset.defaultCharset()));
+
+		// filter peaks of each flight
+		DecimalFormat format = new DecimalFormat("0.00");
+		int line = 4;
+		try (StressHistoryReader reader = new StressHistoryReader(INPUT)) {
+			while (reader.nextFlight()) {
+
+				// filter peaks
+				int numPeaks = reader.getNumberOfPeaks();
+				double[] peaks = new double[Math.max(numPeaks, 1)];
+				reader.readPeaks(peaks);
+				int numOutput = filter.filter(peaks, numPeaks, peaks);
+
+				// read expected peaks
+				line++;
+				String flight = "TFLIGHT_" + (reader.getFlightIndex() + 1);
+				assertEquals(flight, Integer.parseInt(expected.get(line++).trim().split("\\s+")[0]), numOutput);
+				for (int i = 0; i < numOutput; i += StressHistoryWriter.NUM_COLS) {
+					String[] values = expected.get(line++).trim().split("\\s+");
+					for (int j = 0; j < values.length; j++) {
+						assertEquals(flight + " peak " + (i + j), Double.parseDouble(values[j]), StressHistoryWriter.getWrittenValue(peaks[i + j], format), 0.0);
+					}
+				}
+			}
+		}
+		assertEquals(expected.size(), line);
+	}
+}
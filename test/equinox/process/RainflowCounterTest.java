@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.process;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link RainflowCounter}. The counter is compared against the outputs of <code>resources/scripts/rainflow.pl</code> stored under <code>test/equinox/process/rainflow</code>.
+ * <p>
+ * For each <code>X.sth</code> input, <code>X.sth.rflow</code> is the unmodified script output (<code>perl rainflow.pl X.sth DATIG</code>). <code>X.sth.matrix</code> lists the non-zero cells of the
+ * final Markov matrix of the script as <code>row column value</code> lines, with values written in <code>%.17g</code> format. It was dumped from a copy of the script with a print statement added right
+ * before the matrix is reduced to cycles.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 23:40:12
+ */
+public class RainflowCounterTest {
+
+	/** Directory of test files. */
+	private static final Path DIRECTORY = Paths.get("test", "equinox", "process", "rainflow");
+
+	/**
+	 * Tests multiple typical flights with different validities and block sizes.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testMixedFlights() throws Exception {
+		assertScriptOutput("mixed.sth");
+	}
+
+	/**
+	 * Tests long typical flights populating most of the matrix.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testLargeFlights() throws Exception {
+		assertScriptOutput("large.sth");
+	}
+
+	/**
+	 * Tests a sequence with only negative peaks and 0 maximum. All cells of the matrix are skipped by the script since they are entirely below 0.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testZeroMaximum() throws Exception {
+		assertEquals(0, assertScriptOutput("zero_max.sth"));
+	}
+
+	/**
+	 * Tests a sequence with only 0 peaks. The matrix is empty and no cycles are produced.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testAllZero() throws Exception {
+		assertEquals(0, assertScriptOutput("all_zero.sth"));
+	}
+
+	/**
+	 * Tests a sequence where the upper limit of the highest stress class is exactly 0. The script dies with division by zero for this sequence, so there is no script output to compare with. The
+	 * counter is expected to produce cycles with 0 maximum stress, which are then handled by {@link Rainflow}.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testExactZeroMaximum() throws Exception {
+
+		// count cycles
+		RainflowCounter counter = RainflowCounter.readSTH(DIRECTORY.resolve("exact_zero_max.sth"));
+		List<double[]> cycles = new ArrayList<>();
+		counter.count((numCycles, max, min) -> cycles.add(new double[] { numCycles, max, min }));
+
+		// there should be a cycle with 0 maximum
+		boolean zeroMax = false;
+		for (double[] cycle : cycles) {
+			assertTrue(cycle[1] <= 0.0);
+			assertTrue(cycle[2] < cycle[1]);
+			if (cycle[1] == 0.0) {
+				zeroMax = true;
+			}
+		}
+		assertTrue(zeroMax);
+		assertEquals(10.0, counter.getValidity(), 0.0);
+	}
+
+	/**
+	 * Tests that flights with less than 2 peaks don't contribute to the matrix (the script never terminates for such flights).
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testSinglePeakFlight() throws Exception {
+		RainflowCounter counter = new RainflowCounter();
+		counter.addFlight(5.0, 2.0, new double[] { 100.0 }, 1);
+		counter.addFlight(1.0, 1.0, new double[] { -50.0 }, 1);
+		for (double[] row : counter.getMarkovMatrix()) {
+			for (double cell : row) {
+				assertEquals(0.0, cell, 0.0);
+			}
+		}
+		assertEquals(0, counter.count((numCycles, max, min) -> true));
+		assertEquals(11.0, counter.getValidity(), 0.0);
+	}
+
+	/**
+	 * Asserts that the Markov matrix and the cycles of the counter are identical to the script outputs of the given STH file.
+	 *
+	 * @param sthFileName
+	 *            STH file name.
+	 * @return Number of cycles.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static int assertScriptOutput(String sthFileName) throws Exception {
+
+		// read STH file
+		RainflowCounter counter = RainflowCounter.readSTH(DIRECTORY.resolve(sthFileName));
+
+		// compare matrix cell by cell
+		double[][] expectedMatrix = new double[65][65];
+		for (String line : Files.readAllLines(DIRECTORY.resolve(sthFileName + ".matrix"), StandardCharsets.UTF_8)) {
+			String[] split = line.trim().split(" ");
+			expectedMatrix[Integer.parseInt(split[0])][Integer.parseInt(split[1])] = Double.parseDouble(split[2]);
+		}
+		double[][] matrix = counter.getMarkovMatrix();
+		for (int i = 1; i <= 64; i++) {
+			for (int j = 1; j <= 64; j++) {
+				assertEquals("Matrix cell [" + i + "][" + j + "]", expectedMatrix[i][j], matrix[i][j], 0.0);
+			}
+		}
+
+		// read expected cycles and validity
+		List<String> expectedCycles = new ArrayList<>();
+		String expectedValidity = null;
+		for (String line : Files.readAllLines(DIRECTORY.resolve(sthFileName + ".rflow"), StandardCharsets.UTF_8)) {
+			if (expectedValidity != null) {
+				break;
+			}
+			if (line.startsWith("          ")) {
+				expectedCycles.add(line);
+			}
+			else {
+				expectedValidity = line;
+			}
+		}
+
+		// format cycles as the script does
+		List<String> cycles = new ArrayList<>();
+		int numCycles = counter.count((n, max, min) -> cycles.add(String.format(Locale.US, "%10s%10.1f%10.2f%10.2f ", " ", n, max, min)));
+
+		// compare
+		assertEquals(expectedCycles, cycles);
+		assertEquals(expectedValidity, String.format(Locale.US, "%10d%10.1f", 1, counter.getValidity()));
+		return numCycles;
+	}
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.task;
+
+import java.io.BufferedWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import equinox.utility.BatchWriter;
+import equinox.utility.FieldScanner;
+
+/**
+ * Benchmark for loading STF files as {@link AddSTFFiles} does. A directory of synthetic STF files (100 stresses per file) is loaded into an embedded Derby database with the schema and statements
+ * of <code>AddSTFFiles</code> and <code>LoadSTFFile</code>, in 3 ways:
+ * <UL>
+ * <LI>a single writer inserting stresses with one <code>executeUpdate()</code> per row in auto-commit mode (as the task did before sharding),
+ * <LI>a single writer inserting stresses through {@link BatchWriter} in one transaction,
+ * <LI>parallel shard writers, each writing its own stress tables through {@link BatchWriter} in its own transaction with a savepoint per file (as the task does).
+ * </UL>
+ * The task itself cannot be run without the user interface, so the shard assignment of the task is replicated here. This is not a unit test; run it with:
+ *
+ * <pre>
+ * java -cp &lt;classpath&gt; equinox.task.AddSTFFilesBenchmark [numFiles] [numWriters]
+ * </pre>
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 03:05:42
+ */
+public class AddSTFFilesBenchmark {
+
+	/** Number of stresses per STF file. */
+	private static final int STRESSES_PER_FILE = 100;
+
+	/** Insert statement for STF files (same as AddSTFFiles). */
+	private static final String INSERT_FILE = "insert into stf_files(cdf_id, stress_table_id, name, is_2d, description, element_type, frame_rib_position, stringer_position, data_source, generation_source, delivery_ref_num, issue, eid, fatigue_material, preffas_material, linear_material) values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            Number of STF files (default 10000) and number of shard writers (default 4).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static void main(String[] args) throws Exception {
+
+		// get arguments
+		int numFiles = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int numWriters = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+		// use workspace database settings
+		System.setProperty("derby.storage.pageSize", "8192");
+		System.setProperty("derby.storage.pageCacheSize", "4000");
+
+		// create STF files and database
+		Path directory = Files.createTempDirectory("addSTFFilesBenchmark");
+		String url = "jdbc:derby:" + directory.resolve("db").toString() + ";user=aurora";
+		try (Connection connection = DriverManager.getConnection(url + ";create=true")) {
+			List<Path> stfFiles = createSTFFiles(Files.createDirectory(directory.resolve("stf")), numFiles);
+			try (Statement statement = connection.createStatement()) {
+				statement.executeUpdate(
+						"CREATE TABLE AURORA.STF_FILES(FILE_ID INT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1, INCREMENT BY 1), CDF_ID INT NOT NULL, STRESS_TABLE_ID INT NOT NULL, NAME VARCHAR(100) NOT NULL, IS_2D SMALLINT NOT NULL, FAT_MISSION VARCHAR(50), DESCRIPTION VARCHAR(200), ELEMENT_TYPE VARCHAR(50), FRAME_RIB_POSITION VARCHAR(50), STRINGER_POSITION VARCHAR(50), DATA_SOURCE VARCHAR(50), GENERATION_SOURCE VARCHAR(50), DELIVERY_REF_NUM VARCHAR(50), ISSUE VARCHAR(50), EID VARCHAR(50), FATIGUE_MATERIAL VARCHAR(500), PREFFAS_MATERIAL VARCHAR(500), LINEAR_MATERIAL VARCHAR(500), UNIQUE(CDF_ID, NAME), PRIMARY KEY(FILE_ID))");
+			}
+
+			// warm up
+			List<Path> warmUp = stfFiles.subList(0, Math.min(numFiles, 500));
+			run(url, warmUp, 1, 1, false);
+			run(url, warmUp, 2, 1, true);
+
+			// measure
+			double rows = run(url, stfFiles, 3, 1, false);
+			double batched = run(url, stfFiles, 4, 1, true);
+			double sharded = run(url, stfFiles, 5, numWriters, true);
+			System.out.println(numFiles + " STF files (" + STRESSES_PER_FILE + " stresses each):");
+			System.out.println(String.format("  row inserts, 1 writer: %.1f files/s", rows));
+			System.out.println(String.format("  batched, 1 writer: %.1f files/s", batched));
+			System.out.println(String.format("  batched, %d shard writers: %.1f files/s", numWriters, sharded));
+		}
+
+		// shut down and delete database
+		finally {
+			try {
+				DriverManager.getConnection("jdbc:derby:;shutdown=true");
+			}
+			catch (SQLException e) {
+				// database shut down
+			}
+			Files.walk(directory).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	/**
+	 * Creates synthetic STF files.
+	 *
+	 * @param directory
+	 *            Directory to create the files in.
+	 * @param numFiles
+	 *            Number of files.
+	 * @return Paths to created files.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static List<Path> createSTFFiles(Path directory, int numFiles) throws Exception {
+		List<Path> files = new ArrayList<>();
+		for (int i = 0; i < numFiles; i++) {
+			Path file = directory.resolve("PP_" + i + ".stf");
+			try (BufferedWriter writer = Files.newBufferedWriter(file, Charset.defaultCharset())) {
+				writer.write("# ISSY_CODE SX SY SXY");
+				writer.newLine();
+				for (int j = 0; j < STRESSES_PER_FILE; j++) {
+					writer.write(String.format("%d %.2f %.2f %.2f", 1000 + j, (i + j) % 97 * 1.25, j % 13 * -0.5, 0.0));
+					writer.newLine();
+				}
+			}
+			files.add(file);
+		}
+		return files;
+	}
+
+	/**
+	 * Loads the given STF files and returns the throughput.
+	 *
+	 * @param url
+	 *            Database URL.
+	 * @param stfFiles
+	 *            STF files.
+	 * @param cdfID
+	 *            CDF set ID of this run.
+	 * @param numWriters
+	 *            Number of shard writers.
+	 * @param batched
+	 *            True to insert stresses through {@link BatchWriter} in a transaction per writer, false to insert each row with <code>executeUpdate()</code> in auto-commit mode.
+	 * @return Loaded files per second.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static double run(String url, List<Path> stfFiles, int cdfID, int numWriters, boolean batched) throws Exception {
+
+		// compute number of stress tables (same as AddSTFFiles)
+		int numFiles = stfFiles.size();
+		int numTables = numFiles / AddSTFFiles.MAX_STF_FILES_PER_TABLE;
+		numTables += numFiles % AddSTFFiles.MAX_STF_FILES_PER_TABLE == 0 ? 0 : 1;
+		int writers = Math.max(1, Math.min(numWriters, numTables));
+
+		// create stress tables
+		int[] tableIDs = new int[numTables];
+		try (Connection connection = DriverManager.getConnection(url); Statement statement = connection.createStatement()) {
+			for (int i = 0; i < numTables; i++) {
+				tableIDs[i] = cdfID * 1000 + i;
+				statement.executeUpdate("CREATE TABLE AURORA.STF_STRESSES_" + tableIDs[i] + "(FILE_ID INT NOT NULL, ISSY_CODE VARCHAR(10) NOT NULL, STRESS_X DOUBLE NOT NULL, STRESS_Y DOUBLE NOT NULL, STRESS_XY DOUBLE NOT NULL)");
+				statement.executeUpdate("CREATE INDEX STF_SELSTRESS_" + tableIDs[i] + " ON AURORA.STF_STRESSES_" + tableIDs[i] + "(FILE_ID, ISSY_CODE)");
+			}
+		}
+
+		// run writers
+		long start = System.nanoTime();
+		ExecutorService executor = Executors.newFixedThreadPool(writers);
+		try {
+			List<Future<Void>> futures = new ArrayList<>();
+			for (int w = 0; w < writers; w++) {
+				int index = w;
+				futures.add(executor.submit(() -> {
+					write(url, stfFiles, cdfID, tableIDs, index, writers, batched);
+					return null;
+				}));
+			}
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		return numFiles / ((System.nanoTime() - start) / 1.0e9);
+	}
+
+	/**
+	 * Writes the stress tables of the given shard writer, in the same order as the shard writers of {@link AddSTFFiles}.
+	 *
+	 * @param url
+	 *            Database URL.
+	 * @param stfFiles
+	 *            STF files.
+	 * @param cdfID
+	 *            CDF set ID.
+	 * @param tableIDs
+	 *            Stress table IDs.
+	 * @param index
+	 *            Writer index.
+	 * @param numWriters
+	 *            Number of writers.
+	 * @param batched
+	 *            True to insert stresses through {@link BatchWriter} in a transaction, false to insert each row with <code>executeUpdate()</code> in auto-commit mode.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void write(String url, List<Path> stfFiles, int cdfID, int[] tableIDs, int index, int numWriters, boolean batched) throws Exception {
+		try (Connection connection = DriverManager.getConnection(url)) {
+			connection.setAutoCommit(!batched);
+			try (PreparedStatement insertFile = connection.prepareStatement(INSERT_FILE, Statement.RETURN_GENERATED_KEYS)) {
+				for (int table = index; table < tableIDs.length; table += numWriters) {
+					String sql = "insert into stf_stresses_" + tableIDs[table] + "(file_id, issy_code, stress_x, stress_y, stress_xy) values(?, ?, ?, ?, ?)";
+					try (PreparedStatement insertStresses = connection.prepareStatement(sql)) {
+						for (int i = table; i < stfFiles.size(); i += tableIDs.length) {
+							Savepoint savepoint = batched ? connection.setSavepoint() : null;
+							int fileID = insertFile(insertFile, cdfID, tableIDs[table], stfFiles.get(i));
+							insertStresses(insertStresses, fileID, stfFiles.get(i), batched);
+							if (savepoint != null) {
+								connection.releaseSavepoint(savepoint);
+							}
+						}
+					}
+				}
+			}
+			if (batched) {
+				connection.commit();
+			}
+		}
+	}
+
+	/**
+	 * Inserts the given STF file into files table.
+	 *
+	 * @param insertFile
+	 *            Statement for inserting STF files.
+	 * @param cdfID
+	 *            CDF set ID.
+	 * @param tableID
+	 *            Stress table ID.
+	 * @param stfFile
+	 *            STF file.
+	 * @return File ID.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static int insertFile(PreparedStatement insertFile, int cdfID, int tableID, Path stfFile) throws Exception {
+		insertFile.setInt(1, cdfID);
+		insertFile.setInt(2, tableID);
+		insertFile.setString(3, stfFile.getFileName().toString());
+		insertFile.setBoolean(4, false);
+		for (int i = 5; i <= 16; i++) {
+			insertFile.setNull(i, java.sql.Types.VARCHAR);
+		}
+		insertFile.executeUpdate();
+		try (ResultSet resultSet = insertFile.getGeneratedKeys()) {
+			resultSet.next();
+			return resultSet.getBigDecimal(1).intValue();
+		}
+	}
+
+	/**
+	 * Parses the given STF file and inserts its stresses, as <code>LoadSTFFile</code> does.
+	 *
+	 * @param insertStresses
+	 *            Statement for inserting STF stresses.
+	 * @param fileID
+	 *            File ID.
+	 * @param stfFile
+	 *            STF file.
+	 * @param batched
+	 *            True to insert through {@link BatchWriter}, false to insert each row with <code>executeUpdate()</code>.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void insertStresses(PreparedStatement insertStresses, int fileID, Path stfFile, boolean batched) throws Exception {
+		try (FieldScanner scanner = new FieldScanner(stfFile, Charset.defaultCharset()); BatchWriter writer = batched ? new BatchWriter(insertStresses) : null) {
+			while (scanner.nextLine()) {
+				if (scanner.getLineNumber() < 2) {
+					continue;
+				}
+				insertStresses.setInt(1, fileID);
+				insertStresses.setString(2, scanner.getField(0));
+				insertStresses.setDouble(3, scanner.getDouble(1));
+				insertStresses.setDouble(4, scanner.getDouble(2));
+				insertStresses.setDouble(5, scanner.getDouble(3));
+				if (writer == null) {
+					insertStresses.executeUpdate();
+				}
+				else {
+					writer.addBatch();
+				}
+			}
+		}
+	}
+}
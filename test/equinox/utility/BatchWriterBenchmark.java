@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+
+/**
+ * Benchmark for {@link BatchWriter}. Synthetic ANA peaks (500 peaks per flight) are inserted into an <code>ANA_PEAKS</code> table of an embedded Derby database, once with one
+ * <code>executeUpdate()</code> per row (as the loaders did before batching) and once through the batched writer. Both runs use the same statement as <code>LoadANAFile</code>. This is not a unit
+ * test; run it with:
+ *
+ * <pre>
+ * java -cp &lt;classpath&gt; equinox.utility.BatchWriterBenchmark [numPeaks] [batchSize] [transaction|autocommit]
+ * </pre>
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 10:24:51
+ */
+public class BatchWriterBenchmark {
+
+	/** Number of peaks per flight. */
+	private static final int PEAKS_PER_FLIGHT = 500;
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args
+	 *            Number of peaks (default 2000000), batch size (default {@link BatchWriter#DEFAULT_BATCH_SIZE}) and transaction mode (default <code>transaction</code>).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	public static void main(String[] args) throws Exception {
+
+		// get arguments
+		int numPeaks = args.length > 0 ? Integer.parseInt(args[0]) : 2000000;
+		int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : BatchWriter.DEFAULT_BATCH_SIZE;
+		boolean autoCommit = args.length > 2 && args[2].equals("autocommit");
+
+		// use workspace database settings
+		System.setProperty("derby.storage.pageSize", "8192");
+		System.setProperty("derby.storage.pageCacheSize", "4000");
+
+		// create database
+		Path directory = Files.createTempDirectory("batchWriterBenchmark");
+		String url = "jdbc:derby:" + directory.resolve("db").toString() + ";user=aurora";
+		try (Connection connection = DriverManager.getConnection(url + ";create=true")) {
+			connection.setAutoCommit(autoCommit);
+
+			// warm up
+			run(connection, "ANA_PEAKS_0", Math.min(numPeaks, 100000), 0);
+			run(connection, "ANA_PEAKS_1", Math.min(numPeaks, 100000), batchSize);
+
+			// measure
+			double before = run(connection, "ANA_PEAKS_2", numPeaks, 0);
+			double after = run(connection, "ANA_PEAKS_3", numPeaks, batchSize);
+			System.out.println((autoCommit ? "autocommit" : "transaction") + ", " + numPeaks + " peaks:");
+			System.out.println(String.format("  executeUpdate per row: %.0f rows/s", before));
+			System.out.println(String.format("  BatchWriter (batch size %d): %.0f rows/s", batchSize, after));
+		}
+
+		// shut down and delete database
+		finally {
+			try {
+				DriverManager.getConnection("jdbc:derby:;shutdown=true");
+			}
+			catch (SQLException e) {
+				// database shut down
+			}
+			Files.walk(directory).sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	/**
+	 * Creates ANA peaks table and inserts synthetic peaks.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param tableName
+	 *            Table name.
+	 * @param numPeaks
+	 *            Number of peaks to insert.
+	 * @param batchSize
+	 *            Batch size, or 0 to insert each row with <code>executeUpdate()</code>.
+	 * @return Inserted rows per second.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static double run(Connection connection, String tableName, int numPeaks, int batchSize) throws Exception {
+
+		// create table (same as LoadANAFile)
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate("CREATE TABLE AURORA." + tableName + "(FLIGHT_ID INT NOT NULL, PEAK_NUM INT NOT NULL, FOUR_DIGIT_CODE VARCHAR(4) NOT NULL, FOURTEEN_DIGIT_CODE VARCHAR(14) NOT NULL, DELTA_P DOUBLE NOT NULL, DELTA_T DOUBLE NOT NULL)");
+			statement.executeUpdate("CREATE INDEX AURORA.I_" + tableName + " ON AURORA." + tableName + "(FLIGHT_ID)");
+		}
+		if (!connection.getAutoCommit()) {
+			connection.commit();
+		}
+
+		// insert peaks
+		long start = System.nanoTime();
+		String sql = "insert into AURORA." + tableName + "(flight_id, peak_num, four_digit_code, fourteen_digit_code, delta_p, delta_t) values(?, ?, ?, ?, ?, ?)";
+		try (PreparedStatement addPeaks = connection.prepareStatement(sql); BatchWriter peakWriter = batchSize > 0 ? new BatchWriter(addPeaks, batchSize) : null) {
+			for (int i = 0; i < numPeaks; i++) {
+				addPeaks.setInt(1, i / PEAKS_PER_FLIGHT);
+				addPeaks.setInt(2, i % PEAKS_PER_FLIGHT);
+				addPeaks.setString(3, String.format("%04d", i % 1000));
+				addPeaks.setString(4, "00000000000000");
+				addPeaks.setDouble(5, i % 7 * 0.25);
+				addPeaks.setDouble(6, 0.0);
+				if (peakWriter == null) {
+					addPeaks.executeUpdate();
+				}
+				else {
+					peakWriter.addBatch();
+				}
+			}
+		}
+		if (!connection.getAutoCommit()) {
+			connection.commit();
+		}
+		return numPeaks / ((System.nanoTime() - start) / 1.0e9);
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link BatchWriter}.
+ *
+ * @author Murat Artim
+ * @date 18 Oct 2026
+ * @time 10:41:08
+ */
+public class BatchWriterTest {
+
+	/** Database URL. */
+	private static final String URL = "jdbc:derby:memory:batchWriterTest;user=aurora";
+
+	/** Database connection. */
+	private Connection connection_;
+
+	/**
+	 * Creates the test table.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		connection_ = DriverManager.getConnection(URL + ";create=true");
+		try (Statement statement = connection_.createStatement()) {
+			statement.executeUpdate("CREATE TABLE AURORA.ROWS_TEST(ID INT NOT NULL)");
+		}
+	}
+
+	/**
+	 * Drops the in-memory database.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@After
+	public void tearDown() throws Exception {
+		if (!connection_.getAutoCommit()) {
+			connection_.rollback();
+		}
+		connection_.close();
+		try {
+			DriverManager.getConnection("jdbc:derby:memory:batchWriterTest;drop=true");
+		}
+		catch (SQLException e) {
+			// database dropped
+		}
+	}
+
+	/**
+	 * Rows must be written when the batch size is reached, on flush and on close.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testWriteBatches() throws Exception {
+		try (PreparedStatement insert = connection_.prepareStatement("insert into rows_test(id) values(?)")) {
+			try (BatchWriter writer = new BatchWriter(insert, 10)) {
+
+				// batch size not reached
+				addRows(writer, 0, 9);
+				assertEquals(0L, writer.getWrittenRows());
+				assertEquals(0, countRows());
+
+				// batch size reached
+				addRows(writer, 9, 25);
+				assertEquals(20L, writer.getWrittenRows());
+				assertEquals(20, countRows());
+
+				// flush
+				writer.flush();
+				assertEquals(25L, writer.getWrittenRows());
+				assertEquals(25, countRows());
+
+				// remaining rows are written on close
+				addRows(writer, 25, 28);
+			}
+		}
+		assertEquals(28, countRows());
+	}
+
+	/**
+	 * The writer must not change the transaction mode of the connection, and uncommitted rows must be rolled back with the transaction.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testTransactionModeUnchanged() throws Exception {
+
+		// auto-commit mode
+		assertTrue(connection_.getAutoCommit());
+		try (PreparedStatement insert = connection_.prepareStatement("insert into rows_test(id) values(?)"); BatchWriter writer = new BatchWriter(insert, 10)) {
+			addRows(writer, 0, 15);
+			assertTrue(connection_.getAutoCommit());
+		}
+		assertTrue(connection_.getAutoCommit());
+		assertEquals(15, countRows());
+
+		// transaction
+		connection_.setAutoCommit(false);
+		try (PreparedStatement insert = connection_.prepareStatement("insert into rows_test(id) values(?)"); BatchWriter writer = new BatchWriter(insert, 10)) {
+			addRows(writer, 15, 40);
+		}
+		assertFalse(connection_.getAutoCommit());
+		connection_.rollback();
+		assertEquals(15, countRows());
+	}
+
+	/**
+	 * Adds rows with given IDs to the writer.
+	 *
+	 * @param writer
+	 *            Batch writer.
+	 * @param from
+	 *            First ID (inclusive).
+	 * @param to
+	 *            Last ID (exclusive).
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static void addRows(BatchWriter writer, int from, int to) throws Exception {
+		for (int i = from; i < to; i++) {
+			writer.getStatement().setInt(1, i);
+			writer.addBatch();
+		}
+	}
+
+	/**
+	 * Returns the number of rows in the test table.
+	 *
+	 * @return The number of rows in the test table.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private int countRows() throws Exception {
+		try (Statement statement = connection_.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery("select count(*) from rows_test")) {
+				resultSet.next();
+				return resultSet.getInt(1);
+			}
+		}
+	}
+}
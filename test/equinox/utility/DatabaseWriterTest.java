@@ -0,0 +1,246 @@
+/*
+ * Copyright 2018 Murat Artim (muratartim@gmail.com).
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package equinox.utility;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link DatabaseWriter}.
+ *
+ * @author Murat Artim
+ * @date 19 Oct 2026
+ * @time 02:31:17
+ */
+public class DatabaseWriterTest {
+
+	/** Database URL. */
+	private static final String URL = "jdbc:derby:memory:databaseWriterTest;user=aurora";
+
+	/** Database connection. */
+	private Connection connection_;
+
+	/**
+	 * Creates the test table.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Before
+	public void setUp() throws Exception {
+		connection_ = DriverManager.getConnection(URL + ";create=true");
+		try (Statement statement = connection_.createStatement()) {
+			statement.executeUpdate("CREATE TABLE AURORA.ROWS_TEST(SEQ INT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1, INCREMENT BY 1), PRODUCER INT NOT NULL, ID INT NOT NULL)");
+		}
+	}
+
+	/**
+	 * Drops the in-memory database.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@After
+	public void tearDown() throws Exception {
+		if (!connection_.getAutoCommit()) {
+			connection_.rollback();
+		}
+		connection_.close();
+		try {
+			DriverManager.getConnection("jdbc:derby:memory:databaseWriterTest;drop=true");
+		}
+		catch (SQLException e) {
+			// database dropped
+		}
+	}
+
+	/**
+	 * Writes of concurrent producers must all be executed on the single writer thread, in submission order of each producer.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testConcurrentProducers() throws Exception {
+
+		// submit batches from 4 producers
+		Set<String> threads = new HashSet<>();
+		ExecutorService producers = Executors.newFixedThreadPool(4);
+		try (DatabaseWriter writer = new DatabaseWriter(connection_, 2)) {
+			ArrayList<Future<?>> futures = new ArrayList<>();
+			for (int p = 0; p < 4; p++) {
+				int producer = p;
+				futures.add(producers.submit(() -> {
+					for (int batch = 0; batch < 25; batch++) {
+						int from = batch * 10;
+						writer.submit(connection -> {
+							threads.add(Thread.currentThread().getName());
+							addRows(connection, producer, from, from + 10);
+							return null;
+						});
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			writer.flush();
+		}
+		finally {
+			producers.shutdown();
+		}
+
+		// all writes executed on writer thread
+		assertEquals(1, threads.size());
+		assertTrue(threads.contains("Database writer"));
+
+		// rows of each producer are inserted in order
+		for (int p = 0; p < 4; p++) {
+			assertEquals(250, countRows(p));
+			try (Statement statement = connection_.createStatement()) {
+				try (ResultSet resultSet = statement.executeQuery("select id from rows_test where producer = " + p + " order by seq")) {
+					int expected = 0;
+					while (resultSet.next()) {
+						assertEquals(expected++, resultSet.getInt(1));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes submitted after a failed write must be skipped, and subsequent calls must throw the exception of the failed write.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testFailedWrite() throws Exception {
+		try (DatabaseWriter writer = new DatabaseWriter(connection_)) {
+
+			// submit writes around a failing write
+			writer.submit(connection -> addRows(connection, 0, 0, 5));
+			writer.submit(connection -> {
+				throw new Exception("Write failed.");
+			});
+			Future<Void> skipped = writer.submit(connection -> addRows(connection, 0, 5, 10));
+
+			// flush must throw the exception of the failed write
+			try {
+				writer.flush();
+				fail("Failed write was not propagated.");
+			}
+			catch (Exception e) {
+				assertEquals("Write failed.", e.getMessage());
+			}
+
+			// subsequent writes are rejected
+			assertNull(skipped.get());
+			try {
+				writer.submit(connection -> addRows(connection, 0, 10, 15));
+				fail("Write was accepted after a failed write.");
+			}
+			catch (Exception e) {
+				assertEquals("Write failed.", e.getMessage());
+			}
+		}
+		assertEquals(5, countRows(0));
+	}
+
+	/**
+	 * The writer must not change the transaction mode of the connection, so that the owner can roll back all writes after the writer is closed.
+	 *
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	@Test
+	public void testTransactionModeUnchanged() throws Exception {
+		connection_.setAutoCommit(false);
+		try (DatabaseWriter writer = new DatabaseWriter(connection_)) {
+			writer.submit(connection -> addRows(connection, 0, 0, 20));
+			assertEquals(Integer.valueOf(20), writer.execute(connection -> countRows(0)));
+		}
+		assertFalse(connection_.getAutoCommit());
+		connection_.rollback();
+		assertEquals(0, countRows(0));
+	}
+
+	/**
+	 * Adds rows with given IDs to the test table.
+	 *
+	 * @param connection
+	 *            Database connection.
+	 * @param producer
+	 *            Producer of rows.
+	 * @param from
+	 *            First ID (inclusive).
+	 * @param to
+	 *            Last ID (exclusive).
+	 * @return Null.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private static Void addRows(Connection connection, int producer, int from, int to) throws Exception {
+		try (PreparedStatement insert = connection.prepareStatement("insert into rows_test(producer, id) values(?, ?)")) {
+			insert.setInt(1, producer);
+			for (int i = from; i < to; i++) {
+				insert.setInt(2, i);
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the number of rows of the given producer in the test table.
+	 *
+	 * @param producer
+	 *            Producer of rows.
+	 * @return The number of rows of the given producer in the test table.
+	 * @throws Exception
+	 *             If exception occurs during process.
+	 */
+	private int countRows(int producer) throws Exception {
+		try (Statement statement = connection_.createStatement()) {
+			try (ResultSet resultSet = statement.executeQuery("select count(*) from rows_test where producer = " + producer)) {
+				resultSet.next();
+				return resultSet.getInt(1);
+			}
+		}
+	}
+}